@@ -4,6 +4,7 @@ plugins {
     java
 
     id("com.consentframework.consentmanagement.checkstyle-config") version "1.1.0"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 repositories {
@@ -31,18 +32,26 @@ dependencies {
     implementation(libs.guava)
     implementation("com.amazonaws:aws-lambda-java-core:1.2.3")
     implementation("com.fasterxml.jackson.core:jackson-databind:2.17.1")
+    implementation("com.fasterxml.jackson.module:jackson-module-blackbird:2.17.1")
     implementation("jakarta.annotation:jakarta.annotation-api:3.0.0")
 
     // Logging
     val log4j2Version = "2.23.1"
     implementation("org.apache.logging.log4j:log4j-api:$log4j2Version")
     implementation("org.apache.logging.log4j:log4j-core:$log4j2Version")
+    implementation("com.lmax:disruptor:3.4.4")
 
     // DynamoDB client
     val dynamoDbClientVersion = "2.26.7"
     implementation("software.amazon.awssdk:dynamodb:$dynamoDbClientVersion")
     implementation("software.amazon.awssdk:dynamodb-enhanced:$dynamoDbClientVersion")
 
+    // In-memory consent caching
+    implementation("com.github.ben-manes.caffeine:caffeine:3.1.8")
+
+    // Lambda SnapStart runtime hooks
+    implementation("org.crac:crac:1.4.0")
+
     // Smithy
     implementation("software.amazon.smithy:smithy-utils:1.49.0")
 
@@ -75,9 +84,26 @@ java {
     }
 }
 
+// Microbenchmarks for code that runs on every Lambda invocation, run with `./gradlew jmh`
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    // Report allocation rate alongside throughput
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    // Allow running a subset of benchmarks, eg. `./gradlew jmh -Pjmh.includes=ConsentValidatorBenchmark`
+    (project.findProperty("jmh.includes") as String?)?.let { includes.add(it) }
+}
+
+// Fixed page token signing key for local runs only, paginated list requests fail without one
+val localPageTokenSigningKey = "Y29uc2VudC1tYW5hZ2VtZW50LWFwaS10ZXN0LXBhZ2UtdG9rZW4ta2V5"
+
 tasks {
     withType<Test> {
         useJUnitPlatform()
+        environment("PAGE_TOKEN_SIGNING_KEY", localPageTokenSigningKey)
         finalizedBy(jacocoTestReport)
     }
 
@@ -109,6 +135,20 @@ tasks.register<Zip>("packageJar") {
     }
 }
 
+// Measure per-stage cold start cost of the API service in fresh JVMs, against an in-process DynamoDB stand-in
+tasks.register<JavaExec>("coldStartBenchmark") {
+    description = "Reports cold start time and loaded classes per initialization stage for each API route"
+    group = "benchmark"
+    dependsOn(tasks.named("jmhClasses"))
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("com.consentframework.consentmanagement.api.ConsentManagementApiColdStartHarness")
+    environment("PAGE_TOKEN_SIGNING_KEY", localPageTokenSigningKey)
+    args(
+        layout.buildDirectory.file("reports/cold-start/cold-start.csv").get().asFile.path,
+        project.findProperty("coldStart.forks") as String? ?: "5"
+    )
+}
+
 tasks.clean {
   delete("$rootDir/bin")
   delete("$rootDir/build")
@@ -0,0 +1,226 @@
+package com.consentframework.consentmanagement.api;
+
+import com.consentframework.consentmanagement.api.benchmarks.BenchmarkConsents;
+import com.consentframework.consentmanagement.api.benchmarks.coldstart.ColdStartStage;
+import com.consentframework.consentmanagement.api.benchmarks.coldstart.LocalDynamoDbHttpClient;
+import com.consentframework.consentmanagement.api.domain.constants.ApiHttpResource;
+import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.usecases.utils.ConsentManagementApiCodecs;
+import com.consentframework.shared.api.domain.constants.ApiResponseParameterName;
+import com.consentframework.shared.api.domain.constants.HttpMethod;
+import com.consentframework.shared.api.domain.constants.HttpStatusCode;
+import org.apache.logging.log4j.LogManager;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cold start harness for ConsentManagementApiService.
+ *
+ * For each API route, launches fresh JVMs that initialize the service stage by stage against an in-process
+ * DynamoDB stand-in, and reports the time and number of classes loaded by each stage through the first
+ * completed response.  Run with `./gradlew coldStartBenchmark`.
+ */
+public final class ConsentManagementApiColdStartHarness {
+    static final String CHILD_ARGUMENT = "--child";
+    static final String RESULT_PREFIX = "COLD_START_RESULT";
+    static final String DEFAULT_OUTPUT_PATH = "build/reports/cold-start/cold-start.csv";
+    static final int DEFAULT_FORKS_PER_ROUTE = 5;
+
+    private static final Map<String, RouteRequest> ROUTES = new LinkedHashMap<String, RouteRequest>();
+
+    static {
+        ROUTES.put("GetServiceUserConsent", new RouteRequest(HttpMethod.GET, ApiHttpResource.SERVICE_USER_CONSENT, null));
+        ROUTES.put("ListServiceUserConsents", new RouteRequest(HttpMethod.GET, ApiHttpResource.SERVICE_USER_CONSENTS, null));
+        ROUTES.put("CreateServiceUserConsent", new RouteRequest(HttpMethod.POST, ApiHttpResource.SERVICE_USER_CONSENTS,
+            "{\"status\":\"ACTIVE\",\"consentType\":\"BenchmarkConsentType\"}"));
+        ROUTES.put("UpdateServiceUserConsent", new RouteRequest(HttpMethod.POST, ApiHttpResource.SERVICE_USER_CONSENT,
+            "{\"consentVersion\":2,\"status\":\"REVOKED\",\"consentType\":\"BenchmarkConsentType\"}"));
+    }
+
+    private ConsentManagementApiColdStartHarness() {}
+
+    /**
+     * Run the cold start harness.
+     *
+     * @param args either `[outputCsvPath] [forksPerRoute]` to measure all routes, or `--child routeName`
+     * @throws Exception exception thrown if a measurement fails
+     */
+    public static void main(final String[] args) throws Exception {
+        if (args.length == 2 && CHILD_ARGUMENT.equals(args[0])) {
+            measureColdStart(args[1]);
+            return;
+        }
+
+        final Path outputPath = Paths.get(args.length > 0 ? args[0] : DEFAULT_OUTPUT_PATH);
+        final int forksPerRoute = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_FORKS_PER_ROUTE;
+
+        final List<String[]> summaryRows = new ArrayList<String[]>();
+        for (final String route : ROUTES.keySet()) {
+            final Map<String, List<long[]>> stageResults = new LinkedHashMap<String, List<long[]>>();
+            for (int fork = 0; fork < forksPerRoute; fork++) {
+                runChildJvm(route, stageResults);
+            }
+            stageResults.forEach((stage, results) -> summaryRows.add(new String[] {
+                route,
+                stage,
+                String.format("%.2f", median(results, 0) / 1_000_000.0),
+                String.valueOf(median(results, 1))
+            }));
+        }
+
+        printSummary(summaryRows, forksPerRoute);
+        writeCsv(outputPath, summaryRows);
+    }
+
+    /**
+     * Initialize the service stage by stage in this JVM, and print one result line per stage.
+     */
+    private static void measureColdStart(final String route) {
+        final ClassLoadingMXBean classLoadingBean = ManagementFactory.getClassLoadingMXBean();
+        final long jvmUptimeNanos = ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000L;
+        printResult(route, ColdStartStage.JVM, jvmUptimeNanos, classLoadingBean.getTotalLoadedClassCount());
+
+        final StageTimer timer = new StageTimer(route, classLoadingBean);
+
+        timer.start();
+        LogManager.getLogger(ConsentManagementApiService.class);
+        timer.stop(ColdStartStage.LOG4J2);
+
+        timer.start();
+        ConsentManagementApiCodecs.OBJECT_MAPPER.getFactory();
+        timer.stop(ColdStartStage.JACKSON_JSON_MAPPER);
+
+        timer.start();
+        final DynamoDbClient dynamoDbClient = DynamoDbClient.builder()
+            .httpClient(new LocalDynamoDbHttpClient())
+            .endpointOverride(URI.create("http://localhost:8000"))
+            .region(Region.US_EAST_1)
+            .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("local", "local")))
+            .build();
+        timer.stop(ColdStartStage.SDK_CLIENT);
+
+        timer.start();
+        final ServiceUserConsentRepository consentRepository =
+            ConsentManagementApiService.constructDynamoDbConsentRepository(dynamoDbClient);
+        timer.stop(ColdStartStage.TABLE_SCHEMA);
+
+        timer.start();
+        final ConsentManagementApiService service = new ConsentManagementApiService(consentRepository);
+        timer.stop(ColdStartStage.SERVICE);
+
+        timer.start();
+        final RouteRequest routeRequest = ROUTES.get(route);
+        final Map<String, Object> response = service.handleRequest(
+            BenchmarkConsents.buildApiRequest(routeRequest.httpMethod(), routeRequest.resource(), routeRequest.body()), null);
+        timer.stop(ColdStartStage.FIRST_RESPONSE);
+
+        final Object statusCode = response.get(ApiResponseParameterName.STATUS_CODE.getValue());
+        if (!HttpStatusCode.SUCCESS.getValue().equals(statusCode)) {
+            throw new IllegalStateException(String.format("Route %s returned status code %s: %s", route, statusCode, response));
+        }
+    }
+
+    private static void runChildJvm(final String route, final Map<String, List<long[]>> stageResults)
+            throws IOException, InterruptedException {
+        final Path javaExecutable = Paths.get(System.getProperty("java.home"), "bin", "java");
+        final Process process = new ProcessBuilder(javaExecutable.toString(), "-cp", System.getProperty("java.class.path"),
+                ConsentManagementApiColdStartHarness.class.getName(), CHILD_ARGUMENT, route)
+            .redirectErrorStream(true)
+            .start();
+
+        final List<String> output = new ArrayList<String>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                output.add(line);
+                if (line.startsWith(RESULT_PREFIX)) {
+                    final String[] fields = line.split(",");
+                    stageResults.computeIfAbsent(fields[2], stage -> new ArrayList<long[]>())
+                        .add(new long[] {Long.parseLong(fields[3]), Long.parseLong(fields[4])});
+                }
+            }
+        }
+
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException(String.format("Cold start measurement failed for route %s:%n%s",
+                route, String.join(System.lineSeparator(), output)));
+        }
+    }
+
+    private static long median(final List<long[]> results, final int fieldIndex) {
+        final long[] values = results.stream().mapToLong(result -> result[fieldIndex]).sorted().toArray();
+        return values[values.length / 2];
+    }
+
+    private static void printResult(final String route, final ColdStartStage stage, final long elapsedNanos, final long loadedClasses) {
+        System.out.println(String.join(",", RESULT_PREFIX, route, stage.getValue(), String.valueOf(elapsedNanos),
+            String.valueOf(loadedClasses)));
+    }
+
+    private static void printSummary(final List<String[]> summaryRows, final int forksPerRoute) {
+        System.out.println(String.format("Cold start breakdown, median of %d JVM forks per route:", forksPerRoute));
+        System.out.println(String.format("%-26s %-18s %12s %14s", "route", "stage", "millis", "loadedClasses"));
+        for (final String[] row : summaryRows) {
+            System.out.println(String.format("%-26s %-18s %12s %14s", row[0], row[1], row[2], row[3]));
+        }
+    }
+
+    private static void writeCsv(final Path outputPath, final List<String[]> summaryRows) throws IOException {
+        if (outputPath.getParent() != null) {
+            Files.createDirectories(outputPath.getParent());
+        }
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(outputPath, StandardCharsets.UTF_8))) {
+            writer.println("route,stage,medianMillis,medianLoadedClasses");
+            summaryRows.forEach(row -> writer.println(String.join(",", row)));
+        }
+        System.out.println("Wrote cold start report to " + outputPath.toAbsolutePath());
+    }
+
+    /**
+     * API request issued as the first request to a freshly initialized service.
+     */
+    private record RouteRequest(HttpMethod httpMethod, ApiHttpResource resource, String body) {}
+
+    /**
+     * Measures elapsed time and newly loaded classes of consecutive initialization stages.
+     */
+    private static final class StageTimer {
+        private final String route;
+        private final ClassLoadingMXBean classLoadingBean;
+        private long startNanos;
+        private long startLoadedClasses;
+
+        StageTimer(final String route, final ClassLoadingMXBean classLoadingBean) {
+            this.route = route;
+            this.classLoadingBean = classLoadingBean;
+        }
+
+        void start() {
+            startLoadedClasses = classLoadingBean.getTotalLoadedClassCount();
+            startNanos = System.nanoTime();
+        }
+
+        void stop(final ColdStartStage stage) {
+            final long elapsedNanos = System.nanoTime() - startNanos;
+            printResult(route, stage, elapsedNanos, classLoadingBean.getTotalLoadedClassCount() - startLoadedClasses);
+        }
+    }
+}
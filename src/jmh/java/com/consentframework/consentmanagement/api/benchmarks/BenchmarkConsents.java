@@ -0,0 +1,150 @@
+package com.consentframework.consentmanagement.api.benchmarks;
+
+import com.consentframework.consentmanagement.api.domain.constants.ApiHttpResource;
+import com.consentframework.consentmanagement.api.domain.constants.ApiPathParameterName;
+import com.consentframework.consentmanagement.api.infrastructure.constants.DynamoDbServiceUserConsentAttributeName;
+import com.consentframework.consentmanagement.api.infrastructure.mappers.DynamoDbServiceUserConsentMapper;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
+import com.consentframework.shared.api.domain.constants.HttpMethod;
+import com.consentframework.shared.api.domain.entities.ApiRequest;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Utility class building consent fixtures of configurable size for benchmarks.
+ */
+public final class BenchmarkConsents {
+    public static final String SERVICE_ID = "BenchmarkServiceId";
+    public static final String USER_ID = "BenchmarkUserId";
+    public static final String CONSENT_ID = "6f1e6c1a-2b7d-4d55-9a53-3c4f3f0d9a11";
+    public static final String CONSENT_TYPE = "BenchmarkConsentType";
+    public static final OffsetDateTime EXPIRY_TIME = OffsetDateTime.of(2030, 1, 1, 12, 30, 0, 0, ZoneOffset.UTC);
+
+    public static final String CONSENTS_PATH = String.format("/v1/consent-management/services/%s/users/%s/consents",
+        SERVICE_ID, USER_ID);
+    public static final String CONSENT_PATH = String.format("%s/%s", CONSENTS_PATH, CONSENT_ID);
+
+    public static final Map<String, String> CONSENTS_PATH_PARAMETERS = Map.of(
+        ApiPathParameterName.SERVICE_ID.getValue(), SERVICE_ID,
+        ApiPathParameterName.USER_ID.getValue(), USER_ID);
+    public static final Map<String, String> CONSENT_PATH_PARAMETERS = Map.of(
+        ApiPathParameterName.SERVICE_ID.getValue(), SERVICE_ID,
+        ApiPathParameterName.USER_ID.getValue(), USER_ID,
+        ApiPathParameterName.CONSENT_ID.getValue(), CONSENT_ID);
+
+    private BenchmarkConsents() {}
+
+    /**
+     * Build an active consent with all fields set and the given number of consentData entries.
+     *
+     * @param consentDataSize number of consentData entries
+     * @return consent fixture
+     */
+    public static Consent buildConsent(final int consentDataSize) {
+        return buildConsent(CONSENT_ID, consentDataSize);
+    }
+
+    /**
+     * Build an active consent with all fields set and the given number of consentData entries.
+     *
+     * @param consentId consent ID
+     * @param consentDataSize number of consentData entries
+     * @return consent fixture
+     */
+    public static Consent buildConsent(final String consentId, final int consentDataSize) {
+        return new Consent()
+            .serviceId(SERVICE_ID)
+            .userId(USER_ID)
+            .consentId(consentId)
+            .consentVersion(1)
+            .status(ConsentStatus.ACTIVE)
+            .consentType(CONSENT_TYPE)
+            .consentData(buildConsentData(consentDataSize))
+            .expiryTime(EXPIRY_TIME);
+    }
+
+    /**
+     * Build a page of consents for the benchmark service/user pair.
+     *
+     * @param pageSize number of consents on the page
+     * @param consentDataSize number of consentData entries per consent
+     * @return list of consent fixtures
+     */
+    public static List<Consent> buildConsents(final int pageSize, final int consentDataSize) {
+        final List<Consent> consents = new ArrayList<Consent>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            consents.add(buildConsent(String.format("BenchmarkConsentId%05d", i), consentDataSize));
+        }
+        return consents;
+    }
+
+    /**
+     * Build consentData map with the given number of entries.
+     *
+     * @param consentDataSize number of entries
+     * @return consentData map
+     */
+    public static Map<String, String> buildConsentData(final int consentDataSize) {
+        final Map<String, String> consentData = new HashMap<String, String>();
+        for (int i = 0; i < consentDataSize; i++) {
+            consentData.put(String.format("consentDataKey%03d", i), String.format("Consent data value number %03d", i));
+        }
+        return consentData;
+    }
+
+    /**
+     * Build the DynamoDB attribute value map representation of a consent, as returned by low-level DynamoDB APIs.
+     *
+     * @param consent consent fixture
+     * @return DynamoDB attribute value map
+     */
+    public static Map<String, AttributeValue> toAttributeValueMap(final Consent consent) {
+        final Map<String, AttributeValue> consentData = new HashMap<String, AttributeValue>();
+        consent.getConsentData().forEach((key, value) -> consentData.put(key, AttributeValue.fromS(value)));
+
+        final Map<String, AttributeValue> attributes = new HashMap<String, AttributeValue>();
+        attributes.put(DynamoDbServiceUserConsentAttributeName.ID.getValue(), AttributeValue.fromS(
+            DynamoDbServiceUserConsentMapper.toDynamoDbId(consent.getServiceId(), consent.getUserId(), consent.getConsentId())));
+        attributes.put(DynamoDbServiceUserConsentAttributeName.SERVICE_ID.getValue(), AttributeValue.fromS(consent.getServiceId()));
+        attributes.put(DynamoDbServiceUserConsentAttributeName.USER_ID.getValue(), AttributeValue.fromS(consent.getUserId()));
+        attributes.put(DynamoDbServiceUserConsentAttributeName.CONSENT_ID.getValue(), AttributeValue.fromS(consent.getConsentId()));
+        attributes.put(DynamoDbServiceUserConsentAttributeName.CONSENT_VERSION.getValue(),
+            AttributeValue.fromN(consent.getConsentVersion().toString()));
+        attributes.put(DynamoDbServiceUserConsentAttributeName.CONSENT_STATUS.getValue(),
+            AttributeValue.fromS(consent.getStatus().getValue()));
+        attributes.put(DynamoDbServiceUserConsentAttributeName.CONSENT_TYPE.getValue(), AttributeValue.fromS(consent.getConsentType()));
+        attributes.put(DynamoDbServiceUserConsentAttributeName.CONSENT_DATA.getValue(), AttributeValue.fromM(consentData));
+        attributes.put(DynamoDbServiceUserConsentAttributeName.EXPIRY_TIME.getValue(),
+            AttributeValue.fromS(consent.getExpiryTime().toString()));
+        return attributes;
+    }
+
+    /**
+     * Build API request for the given resource, HTTP method, and body.
+     *
+     * @param httpMethod HTTP method
+     * @param resource API resource
+     * @param body request body, may be null
+     * @return API request
+     */
+    public static ApiRequest buildApiRequest(final HttpMethod httpMethod, final ApiHttpResource resource, final String body) {
+        final boolean isConsentResource = ApiHttpResource.SERVICE_USER_CONSENT.equals(resource);
+        return new ApiRequest(
+            httpMethod.name(),
+            resource.getValue(),
+            isConsentResource ? CONSENT_PATH : CONSENTS_PATH,
+            isConsentResource ? CONSENT_PATH_PARAMETERS : CONSENTS_PATH_PARAMETERS,
+            null,
+            null,
+            false,
+            body
+        );
+    }
+}
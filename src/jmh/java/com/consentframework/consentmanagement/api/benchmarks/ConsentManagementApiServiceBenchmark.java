@@ -0,0 +1,131 @@
+package com.consentframework.consentmanagement.api.benchmarks;
+
+import com.consentframework.consentmanagement.api.ConsentManagementApiService;
+import com.consentframework.consentmanagement.api.ConsentManagementApiStreamService;
+import com.consentframework.consentmanagement.api.JSON;
+import com.consentframework.consentmanagement.api.domain.constants.ApiHttpResource;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.CreateServiceUserConsentRequestContent;
+import com.consentframework.consentmanagement.api.models.UpdateServiceUserConsentRequestContent;
+import com.consentframework.shared.api.domain.constants.HttpMethod;
+import com.consentframework.shared.api.domain.entities.ApiRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks ConsentManagementApiService request routing and handling for each single consent API operation,
+ * backed by a repository with fixed results so that only our own per-invocation code is measured.
+ * ListServiceUserConsents is benchmarked per page size by ListServiceUserConsentsBenchmark.
+ *
+ * Streaming benchmarks include parsing the serialized API Gateway event, which the Lambda runtime does
+ * before invoking the non-streaming entry point, so their results are not directly comparable.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ConsentManagementApiServiceBenchmark {
+    @Param({"0", "10", "100"})
+    private int consentDataSize;
+
+    private ConsentManagementApiService service;
+    private ApiRequest getRequest;
+    private ApiRequest createRequest;
+    private ApiRequest updateRequest;
+
+    private ConsentManagementApiStreamService streamService;
+    private byte[] createEvent;
+    private final ByteArrayOutputStream responseStream = new ByteArrayOutputStream();
+
+    /**
+     * Build service and API requests for the configured consent size.
+     *
+     * @throws JsonProcessingException exception thrown if unable to serialize request bodies
+     */
+    @Setup
+    public void setup() throws JsonProcessingException {
+        final Consent consent = BenchmarkConsents.buildConsent(consentDataSize);
+        service = new ConsentManagementApiService(new FixedServiceUserConsentRepository(consent, List.of()));
+
+        final ObjectMapper objectMapper = new JSON().getMapper();
+        final String createRequestBody = objectMapper.writeValueAsString(new CreateServiceUserConsentRequestContent()
+            .status(consent.getStatus())
+            .consentType(consent.getConsentType())
+            .consentData(consent.getConsentData())
+            .expiryTime(consent.getExpiryTime()));
+        final String updateRequestBody = objectMapper.writeValueAsString(new UpdateServiceUserConsentRequestContent()
+            .consentVersion(consent.getConsentVersion() + 1)
+            .status(consent.getStatus())
+            .consentType(consent.getConsentType())
+            .consentData(consent.getConsentData())
+            .expiryTime(consent.getExpiryTime()));
+
+        getRequest = BenchmarkConsents.buildApiRequest(HttpMethod.GET, ApiHttpResource.SERVICE_USER_CONSENT, null);
+        createRequest = BenchmarkConsents.buildApiRequest(HttpMethod.POST, ApiHttpResource.SERVICE_USER_CONSENTS, createRequestBody);
+        updateRequest = BenchmarkConsents.buildApiRequest(HttpMethod.POST, ApiHttpResource.SERVICE_USER_CONSENT, updateRequestBody);
+
+        streamService = new ConsentManagementApiStreamService(service);
+        createEvent = objectMapper.writeValueAsBytes(createRequest);
+    }
+
+    /**
+     * Benchmark GetServiceUserConsent request.
+     *
+     * @return API response
+     */
+    @Benchmark
+    public Map<String, Object> getServiceUserConsent() {
+        return service.handleRequest(getRequest, null);
+    }
+
+    /**
+     * Benchmark CreateServiceUserConsent request.
+     *
+     * @return API response
+     */
+    @Benchmark
+    public Map<String, Object> createServiceUserConsent() {
+        return service.handleRequest(createRequest, null);
+    }
+
+    /**
+     * Benchmark UpdateServiceUserConsent request.
+     *
+     * @return API response
+     */
+    @Benchmark
+    public Map<String, Object> updateServiceUserConsent() {
+        return service.handleRequest(updateRequest, null);
+    }
+
+    /**
+     * Benchmark CreateServiceUserConsent request through the streaming entry point.
+     *
+     * @return response size in bytes
+     * @throws IOException exception thrown if unable to handle the event
+     */
+    @Benchmark
+    public int createServiceUserConsentFromStream() throws IOException {
+        return handleEvent(createEvent);
+    }
+
+    private int handleEvent(final byte[] event) throws IOException {
+        responseStream.reset();
+        streamService.handleRequest(new ByteArrayInputStream(event), responseStream, null);
+        return responseStream.size();
+    }
+}
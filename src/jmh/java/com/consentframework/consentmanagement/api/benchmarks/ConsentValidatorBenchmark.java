@@ -0,0 +1,48 @@
+package com.consentframework.consentmanagement.api.benchmarks;
+
+import com.consentframework.consentmanagement.api.domain.validators.ConsentValidator;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks Consent validation, run before every repository write.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ConsentValidatorBenchmark {
+    @Param({"0", "10", "100"})
+    private int consentDataSize;
+
+    private Consent consent;
+
+    /**
+     * Build consent fixture for the configured consent size.
+     */
+    @Setup
+    public void setup() {
+        consent = BenchmarkConsents.buildConsent(consentDataSize);
+    }
+
+    /**
+     * Benchmark validating a valid consent.
+     *
+     * @return validated consent
+     * @throws BadRequestException exception thrown if consent is invalid
+     */
+    @Benchmark
+    public Consent validate() throws BadRequestException {
+        ConsentValidator.validate(consent);
+        return consent;
+    }
+}
@@ -0,0 +1,72 @@
+package com.consentframework.consentmanagement.api.benchmarks;
+
+import com.consentframework.consentmanagement.api.infrastructure.mappers.DynamoDbServiceUserConsentMapper;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.shared.api.infrastructure.entities.DynamoDbServiceUserConsent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks mappings between Consent objects and their DynamoDB representations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DynamoDbServiceUserConsentMapperBenchmark {
+    @Param({"0", "10", "100"})
+    private int consentDataSize;
+
+    private Consent consent;
+    private DynamoDbServiceUserConsent ddbConsent;
+    private Map<String, AttributeValue> ddbConsentAttributes;
+
+    /**
+     * Build consent fixtures for the configured consent size.
+     */
+    @Setup
+    public void setup() {
+        consent = BenchmarkConsents.buildConsent(consentDataSize);
+        ddbConsent = DynamoDbServiceUserConsentMapper.toDynamoDbServiceUserConsent(consent);
+        ddbConsentAttributes = BenchmarkConsents.toAttributeValueMap(consent);
+    }
+
+    /**
+     * Benchmark mapping a Consent to a DynamoDB item, as done on every write.
+     *
+     * @return DynamoDB consent item
+     */
+    @Benchmark
+    public DynamoDbServiceUserConsent toDynamoDbServiceUserConsent() {
+        return DynamoDbServiceUserConsentMapper.toDynamoDbServiceUserConsent(consent);
+    }
+
+    /**
+     * Benchmark mapping a DynamoDB item to a Consent, as done on every read.
+     *
+     * @return Consent
+     */
+    @Benchmark
+    public Consent dynamoDbItemToConsent() {
+        return DynamoDbServiceUserConsentMapper.dynamoDbItemToConsent(ddbConsent);
+    }
+
+    /**
+     * Benchmark mapping a DynamoDB attribute value map to a Consent.
+     *
+     * @return Consent
+     */
+    @Benchmark
+    public Consent dynamoDbAttributeMapToConsent() {
+        return DynamoDbServiceUserConsentMapper.dynamoDbAttributeMapToConsent(ddbConsentAttributes);
+    }
+}
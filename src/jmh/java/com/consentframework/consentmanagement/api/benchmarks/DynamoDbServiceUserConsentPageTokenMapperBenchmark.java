@@ -0,0 +1,94 @@
+package com.consentframework.consentmanagement.api.benchmarks;
+
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentFilter;
+import com.consentframework.consentmanagement.api.infrastructure.mappers.DynamoDbServiceUserConsentMapper;
+import com.consentframework.consentmanagement.api.infrastructure.mappers.DynamoDbServiceUserConsentPageTokenMapper;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
+import com.consentframework.shared.api.infrastructure.entities.DynamoDbServiceUserConsent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks conversions between DynamoDB pagination keys and API page tokens.
+ *
+ * Requires the PAGE_TOKEN_SIGNING_KEY environment variable, as tokens are signed with the configured key.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DynamoDbServiceUserConsentPageTokenMapperBenchmark {
+    private static final String INDEX_NAME = DynamoDbServiceUserConsent.CONSENT_BY_SERVICE_USER_GSI_NAME;
+    private static final ServiceUserConsentFilter FILTER = ServiceUserConsentFilter.NONE;
+
+    private Map<String, AttributeValue> lastEvaluatedKey;
+    private String pageToken;
+
+    /**
+     * Verify the signing key is configured, and build last evaluated key as returned by a ConsentsByServiceUser index query.
+     *
+     * @throws BadRequestException exception thrown if unable to build page token
+     * @throws InternalServiceException exception thrown if the signing key is missing or invalid
+     */
+    @Setup
+    public void setup() throws BadRequestException, InternalServiceException {
+        DynamoDbServiceUserConsentPageTokenMapper.verifySigningKey();
+        lastEvaluatedKey = Map.of(
+            DynamoDbServiceUserConsent.PARTITION_KEY, AttributeValue.fromS(DynamoDbServiceUserConsentMapper.toDynamoDbId(
+                BenchmarkConsents.SERVICE_ID, BenchmarkConsents.USER_ID, BenchmarkConsents.CONSENT_ID)),
+            "serviceId", AttributeValue.fromS(BenchmarkConsents.SERVICE_ID),
+            "userId", AttributeValue.fromS(BenchmarkConsents.USER_ID));
+        pageToken = DynamoDbServiceUserConsentPageTokenMapper.toPageToken(BenchmarkConsents.SERVICE_ID,
+            BenchmarkConsents.USER_ID, INDEX_NAME, FILTER, lastEvaluatedKey);
+    }
+
+    /**
+     * Benchmark encoding a DynamoDB last evaluated key as an API page token.
+     *
+     * @return API page token
+     * @throws BadRequestException exception thrown if unable to encode page token
+     * @throws InternalServiceException exception thrown if the signing key is missing or invalid
+     */
+    @Benchmark
+    public String toPageToken() throws BadRequestException, InternalServiceException {
+        return DynamoDbServiceUserConsentPageTokenMapper.toPageToken(BenchmarkConsents.SERVICE_ID,
+            BenchmarkConsents.USER_ID, INDEX_NAME, FILTER, lastEvaluatedKey);
+    }
+
+    /**
+     * Benchmark decoding an API page token into a DynamoDB exclusive start key.
+     *
+     * @return DynamoDB exclusive start key
+     * @throws BadRequestException exception thrown if unable to decode page token
+     * @throws InternalServiceException exception thrown if the signing key is missing or invalid
+     */
+    @Benchmark
+    public Map<String, AttributeValue> toDynamoDbPageToken() throws BadRequestException, InternalServiceException {
+        return DynamoDbServiceUserConsentPageTokenMapper.toDynamoDbPageToken(BenchmarkConsents.SERVICE_ID,
+            BenchmarkConsents.USER_ID, INDEX_NAME, FILTER, pageToken);
+    }
+
+    /**
+     * Benchmark a full page token round trip, as done by paginated list requests.
+     *
+     * @return DynamoDB exclusive start key
+     * @throws BadRequestException exception thrown if unable to encode or decode page token
+     * @throws InternalServiceException exception thrown if the signing key is missing or invalid
+     */
+    @Benchmark
+    public Map<String, AttributeValue> roundTrip() throws BadRequestException, InternalServiceException {
+        final String roundTripPageToken = DynamoDbServiceUserConsentPageTokenMapper.toPageToken(BenchmarkConsents.SERVICE_ID,
+            BenchmarkConsents.USER_ID, INDEX_NAME, FILTER, lastEvaluatedKey);
+        return DynamoDbServiceUserConsentPageTokenMapper.toDynamoDbPageToken(BenchmarkConsents.SERVICE_ID, BenchmarkConsents.USER_ID,
+            INDEX_NAME, FILTER, roundTripPageToken);
+    }
+}
@@ -0,0 +1,69 @@
+package com.consentframework.consentmanagement.api.benchmarks;
+
+import com.consentframework.consentmanagement.api.infrastructure.mappers.DynamoDbServiceUserConsentMapper;
+import com.consentframework.consentmanagement.api.infrastructure.schemas.DynamoDbServiceUserConsentTableSchema;
+import com.consentframework.shared.api.infrastructure.entities.DynamoDbServiceUserConsent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks item conversions of the static ServiceUserConsent table schema against the reflective
+ * TableSchema.fromImmutableClass schema, as done for every getItem, putItem and query result item.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DynamoDbServiceUserConsentTableSchemaBenchmark {
+    @Param({"0", "10", "100"})
+    private int consentDataSize;
+
+    @Param({"static", "reflective"})
+    private String schemaType;
+
+    private TableSchema<DynamoDbServiceUserConsent> tableSchema;
+    private DynamoDbServiceUserConsent ddbConsent;
+    private Map<String, AttributeValue> ddbConsentAttributes;
+
+    /**
+     * Build table schema and consent fixtures for the configured schema type and consent size.
+     */
+    @Setup
+    public void setup() {
+        tableSchema = "static".equals(schemaType)
+            ? DynamoDbServiceUserConsentTableSchema.TABLE_SCHEMA
+            : TableSchema.fromImmutableClass(DynamoDbServiceUserConsent.class);
+        ddbConsent = DynamoDbServiceUserConsentMapper.toDynamoDbServiceUserConsent(BenchmarkConsents.buildConsent(consentDataSize));
+        ddbConsentAttributes = tableSchema.itemToMap(ddbConsent, true);
+    }
+
+    /**
+     * Benchmark converting a consent item to attribute values, as done on every putItem.
+     *
+     * @return DynamoDB attribute value map
+     */
+    @Benchmark
+    public Map<String, AttributeValue> itemToMap() {
+        return tableSchema.itemToMap(ddbConsent, true);
+    }
+
+    /**
+     * Benchmark converting attribute values to a consent item, as done for every getItem and query result item.
+     *
+     * @return DynamoDB consent item
+     */
+    @Benchmark
+    public DynamoDbServiceUserConsent mapToItem() {
+        return tableSchema.mapToItem(ddbConsentAttributes);
+    }
+}
@@ -0,0 +1,114 @@
+package com.consentframework.consentmanagement.api.benchmarks;
+
+import com.consentframework.consentmanagement.api.domain.validators.ConsentValidator;
+import com.consentframework.consentmanagement.api.infrastructure.mappers.DynamoDbServiceUserConsentPatchMapper;
+import com.consentframework.consentmanagement.api.infrastructure.repositories.DynamoDbServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
+import com.consentframework.shared.api.infrastructure.entities.DynamoDbServiceUserConsent;
+import com.consentframework.shared.api.infrastructure.mappers.DynamoDbConsentExpiryTimeConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValuesOnConditionCheckFailure;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks building the PutItem request of a consent update, as done on every write, with the precomputed
+ * condition expressions, id encoder and cached expiry hours of the repository against the previous path formatting
+ * each of them per write. Run with the gc profiler to compare allocations per write (gc.alloc.rate.norm).
+ *
+ * Writes go to a table stub capturing the request, so only the request path of the repository is measured.
+ * The formatted path skips the repository's metrics and logging, so its allocations are understated if anything.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DynamoDbServiceUserConsentWritePathBenchmark {
+    @Param({"0", "10", "100"})
+    private int consentDataSize;
+
+    @Param({"precomputed", "formatted"})
+    private String writePath;
+
+    private Consent consent;
+    private DynamoDbTable<DynamoDbServiceUserConsent> consentTable;
+    private DynamoDbServiceUserConsentRepository repository;
+    private Object lastPutRequest;
+
+    /**
+     * Build repository over a table stub and the consent fixture for the configured consent size.
+     */
+    @SuppressWarnings("unchecked")
+    @Setup
+    public void setup() {
+        consent = BenchmarkConsents.buildConsent(consentDataSize);
+        consentTable = (DynamoDbTable<DynamoDbServiceUserConsent>) Proxy.newProxyInstance(DynamoDbTable.class.getClassLoader(),
+            new Class<?>[] {DynamoDbTable.class}, (proxy, method, args) -> {
+                if ("putItem".equals(method.getName())) {
+                    lastPutRequest = args[0];
+                }
+                return null;
+            });
+        repository = new DynamoDbServiceUserConsentRepository(null, null, consentTable);
+    }
+
+    /**
+     * Benchmark updating a consent, as done on every write.
+     *
+     * @return PutItem request submitted to the table
+     * @throws Exception exception thrown if the consent is invalid
+     */
+    @Benchmark
+    public Object updateServiceUserConsent() throws Exception {
+        if ("precomputed".equals(writePath)) {
+            repository.updateServiceUserConsent(consent);
+        } else {
+            ConsentValidator.validate(consent);
+            consentTable.putItem(buildFormattedUpdatePutRequest(consent));
+        }
+        return lastPutRequest;
+    }
+
+    private static PutItemEnhancedRequest<DynamoDbServiceUserConsent> buildFormattedUpdatePutRequest(final Consent consent) {
+        final String id = String.format("%s|%s|%s", consent.getServiceId(), consent.getUserId(), consent.getConsentId());
+        final DynamoDbServiceUserConsent.Builder itemBuilder = DynamoDbServiceUserConsent.builder()
+            .id(id)
+            .serviceId(consent.getServiceId())
+            .userId(consent.getUserId())
+            .consentId(consent.getConsentId())
+            .consentVersion(consent.getConsentVersion())
+            .consentStatus(consent.getStatus().getValue())
+            .consentType(consent.getConsentType())
+            .consentData(consent.getConsentData());
+        if (consent.getExpiryTime() != null) {
+            itemBuilder.expiryTime(DynamoDbConsentExpiryTimeConverter.toExpiryTimeString(consent.getExpiryTime()));
+        }
+        if (ConsentStatus.ACTIVE.equals(consent.getStatus()) && consent.getExpiryTime() != null) {
+            itemBuilder.expiryHour(DynamoDbConsentExpiryTimeConverter.toExpiryHour(consent.getExpiryTime()));
+            itemBuilder.expiryTimeId(DynamoDbConsentExpiryTimeConverter.toExpiryTimeId(consent.getExpiryTime(), id));
+        }
+
+        final Expression conditionExpression = Expression.builder()
+            .expression(DynamoDbServiceUserConsentPatchMapper.VERSION_MATCHES_CONDITION)
+            .putExpressionValue(DynamoDbServiceUserConsentPatchMapper.EXPECTED_CONSENT_VERSION,
+                AttributeValue.fromN(Integer.toString(consent.getConsentVersion() - 1)))
+            .build();
+        return PutItemEnhancedRequest.builder(DynamoDbServiceUserConsent.class)
+            .item(itemBuilder.build())
+            .conditionExpression(conditionExpression)
+            .returnValuesOnConditionCheckFailure(ReturnValuesOnConditionCheckFailure.ALL_OLD)
+            .build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.consentframework.consentmanagement.api.benchmarks;
+
+import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.domain.validators.ConsentValidator;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.pagination.ListPage;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * ServiceUserConsentRepository returning fixed results, so that benchmarks measure
+ * the request path of the service without any data store cost.
+ */
+public class FixedServiceUserConsentRepository implements ServiceUserConsentRepository {
+    private final Consent consent;
+    private final ListPage<Consent> consentsPage;
+
+    /**
+     * Construct repository returning fixed results.
+     *
+     * @param consent consent returned for every get request
+     * @param consents consents returned for every list request
+     */
+    public FixedServiceUserConsentRepository(final Consent consent, final List<Consent> consents) {
+        this.consent = consent;
+        this.consentsPage = new ListPage<Consent>(consents, Optional.empty());
+    }
+
+    /**
+     * Validate consent without storing it.
+     */
+    @Override
+    public void createServiceUserConsent(final Consent consent) throws BadRequestException {
+        ConsentValidator.validate(consent);
+    }
+
+    /**
+     * Validate consents without storing them.
+     */
+    @Override
+    public void createServiceUserConsents(final List<Consent> consents) throws BadRequestException {
+        for (final Consent consent : consents) {
+            ConsentValidator.validate(consent);
+        }
+    }
+
+    /**
+     * Return fixed consent.
+     */
+    @Override
+    public Consent getServiceUserConsent(final String serviceId, final String userId, final String consentId) {
+        return consent;
+    }
+
+    /**
+     * Validate consent without storing it.
+     */
+    @Override
+    public void updateServiceUserConsent(final Consent consent) throws BadRequestException {
+        ConsentValidator.validate(consent);
+    }
+
+    /**
+     * Return fixed page of consents.
+     */
+    @Override
+    public ListPage<Consent> listServiceUserConsents(final String serviceId, final String userId,
+            final Integer limit, final String pageToken) {
+        return consentsPage;
+    }
+}
@@ -0,0 +1,88 @@
+package com.consentframework.consentmanagement.api.benchmarks;
+
+import com.consentframework.consentmanagement.api.ConsentManagementApiService;
+import com.consentframework.consentmanagement.api.ConsentManagementApiStreamService;
+import com.consentframework.consentmanagement.api.JSON;
+import com.consentframework.consentmanagement.api.domain.constants.ApiHttpResource;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.shared.api.domain.constants.HttpMethod;
+import com.consentframework.shared.api.domain.entities.ApiRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks ConsentManagementApiService ListServiceUserConsents request handling per page size,
+ * backed by a repository with fixed results so that only our own per-invocation code is measured.
+ *
+ * The streaming benchmark includes parsing the serialized API Gateway event, which the Lambda runtime does
+ * before invoking the non-streaming entry point, so their results are not directly comparable.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ListServiceUserConsentsBenchmark {
+    @Param({"0", "10", "100"})
+    private int consentDataSize;
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ConsentManagementApiService service;
+    private ApiRequest listRequest;
+
+    private ConsentManagementApiStreamService streamService;
+    private byte[] listEvent;
+    private final ByteArrayOutputStream responseStream = new ByteArrayOutputStream();
+
+    /**
+     * Build service and API request for the configured consent and page sizes.
+     *
+     * @throws JsonProcessingException exception thrown if unable to serialize the API Gateway event
+     */
+    @Setup
+    public void setup() throws JsonProcessingException {
+        final Consent consent = BenchmarkConsents.buildConsent(consentDataSize);
+        service = new ConsentManagementApiService(new FixedServiceUserConsentRepository(consent,
+            BenchmarkConsents.buildConsents(pageSize, consentDataSize)));
+        listRequest = BenchmarkConsents.buildApiRequest(HttpMethod.GET, ApiHttpResource.SERVICE_USER_CONSENTS, null);
+
+        streamService = new ConsentManagementApiStreamService(service);
+        listEvent = new JSON().getMapper().writeValueAsBytes(listRequest);
+    }
+
+    /**
+     * Benchmark ListServiceUserConsents request.
+     *
+     * @return API response
+     */
+    @Benchmark
+    public Map<String, Object> listServiceUserConsents() {
+        return service.handleRequest(listRequest, null);
+    }
+
+    /**
+     * Benchmark ListServiceUserConsents request through the streaming entry point.
+     *
+     * @return response size in bytes
+     * @throws IOException exception thrown if unable to handle the event
+     */
+    @Benchmark
+    public int listServiceUserConsentsFromStream() throws IOException {
+        responseStream.reset();
+        streamService.handleRequest(new ByteArrayInputStream(listEvent), responseStream, null);
+        return responseStream.size();
+    }
+}
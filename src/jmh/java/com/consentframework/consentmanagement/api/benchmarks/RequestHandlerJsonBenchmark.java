@@ -0,0 +1,210 @@
+package com.consentframework.consentmanagement.api.benchmarks;
+
+import com.consentframework.consentmanagement.api.JSON;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.CreateServiceUserConsentRequestContent;
+import com.consentframework.consentmanagement.api.models.CreateServiceUserConsentResponseContent;
+import com.consentframework.consentmanagement.api.models.GetServiceUserConsentResponseContent;
+import com.consentframework.consentmanagement.api.models.ListServiceUserConsentResponseContent;
+import com.consentframework.consentmanagement.api.models.UpdateServiceUserConsentRequestContent;
+import com.consentframework.consentmanagement.api.usecases.utils.ApiGatewayProxyResponseWriter;
+import com.consentframework.consentmanagement.api.usecases.utils.ConsentManagementApiCodecs;
+import com.consentframework.shared.api.domain.constants.ApiResponseParameterName;
+import com.consentframework.shared.api.domain.constants.HttpStatusCode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the JSON (de)serialization performed by each of the API request handlers.
+ *
+ * Benchmarks using a plain model package mapper are the baseline for the codec benchmarks, which use the
+ * pre-bound readers and writers of ConsentManagementApiCodecs that the request handlers use.
+ *
+ * The list response envelope benchmarks compare bytes allocated per response (gc.alloc.rate.norm) between
+ * building a response map that the Lambda runtime serializes again, and streaming the response with
+ * ApiGatewayProxyResponseWriter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RequestHandlerJsonBenchmark {
+    @Param({"0", "10", "100"})
+    private int consentDataSize;
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private String createRequestBody;
+    private String updateRequestBody;
+    private CreateServiceUserConsentResponseContent createResponseContent;
+    private GetServiceUserConsentResponseContent getResponseContent;
+    private ListServiceUserConsentResponseContent listResponseContent;
+    private ApiGatewayProxyResponseWriter responseWriter;
+
+    /**
+     * Build request bodies and response contents for the configured consent and page sizes.
+     *
+     * @throws JsonProcessingException exception thrown if unable to serialize request bodies
+     */
+    @Setup
+    public void setup() throws JsonProcessingException {
+        objectMapper = new JSON().getMapper();
+
+        final Consent consent = BenchmarkConsents.buildConsent(consentDataSize);
+        createRequestBody = objectMapper.writeValueAsString(new CreateServiceUserConsentRequestContent()
+            .status(consent.getStatus())
+            .consentType(consent.getConsentType())
+            .consentData(consent.getConsentData())
+            .expiryTime(consent.getExpiryTime()));
+        updateRequestBody = objectMapper.writeValueAsString(new UpdateServiceUserConsentRequestContent()
+            .consentVersion(consent.getConsentVersion() + 1)
+            .status(consent.getStatus())
+            .consentType(consent.getConsentType())
+            .consentData(consent.getConsentData())
+            .expiryTime(consent.getExpiryTime()));
+
+        createResponseContent = new CreateServiceUserConsentResponseContent().consentId(consent.getConsentId());
+        getResponseContent = new GetServiceUserConsentResponseContent().data(consent);
+        listResponseContent = new ListServiceUserConsentResponseContent()
+            .data(BenchmarkConsents.buildConsents(pageSize, consentDataSize));
+        responseWriter = new ApiGatewayProxyResponseWriter(objectMapper);
+    }
+
+    /**
+     * Benchmark parsing CreateServiceUserConsent request content.
+     *
+     * @return parsed request content
+     * @throws JsonProcessingException exception thrown if unable to parse request body
+     */
+    @Benchmark
+    public CreateServiceUserConsentRequestContent readCreateRequest() throws JsonProcessingException {
+        return objectMapper.readValue(createRequestBody, CreateServiceUserConsentRequestContent.class);
+    }
+
+    /**
+     * Benchmark parsing CreateServiceUserConsent request content with a new mapper per request.
+     *
+     * @return parsed request content
+     * @throws JsonProcessingException exception thrown if unable to parse request body
+     */
+    @Benchmark
+    public CreateServiceUserConsentRequestContent readCreateRequestWithNewMapper() throws JsonProcessingException {
+        return new JSON().getMapper().readValue(createRequestBody, CreateServiceUserConsentRequestContent.class);
+    }
+
+    /**
+     * Benchmark parsing CreateServiceUserConsent request content with its pre-bound reader.
+     *
+     * @return parsed request content
+     * @throws JsonProcessingException exception thrown if unable to parse request body
+     */
+    @Benchmark
+    public CreateServiceUserConsentRequestContent readCreateRequestWithCodecs() throws JsonProcessingException {
+        return ConsentManagementApiCodecs.CREATE_REQUEST_CONTENT_READER.readValue(createRequestBody);
+    }
+
+    /**
+     * Benchmark parsing UpdateServiceUserConsent request content.
+     *
+     * @return parsed request content
+     * @throws JsonProcessingException exception thrown if unable to parse request body
+     */
+    @Benchmark
+    public UpdateServiceUserConsentRequestContent readUpdateRequest() throws JsonProcessingException {
+        return objectMapper.readValue(updateRequestBody, UpdateServiceUserConsentRequestContent.class);
+    }
+
+    /**
+     * Benchmark serializing CreateServiceUserConsent response content.
+     *
+     * @return serialized response content
+     * @throws JsonProcessingException exception thrown if unable to serialize response content
+     */
+    @Benchmark
+    public String writeCreateResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(createResponseContent);
+    }
+
+    /**
+     * Benchmark serializing GetServiceUserConsent response content.
+     *
+     * @return serialized response content
+     * @throws JsonProcessingException exception thrown if unable to serialize response content
+     */
+    @Benchmark
+    public String writeGetResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(getResponseContent);
+    }
+
+    /**
+     * Benchmark serializing ListServiceUserConsents response content.
+     *
+     * @return serialized response content
+     * @throws JsonProcessingException exception thrown if unable to serialize response content
+     */
+    @Benchmark
+    public String writeListResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(listResponseContent);
+    }
+
+    /**
+     * Benchmark serializing GetServiceUserConsent response content with its pre-bound writer.
+     *
+     * @return serialized response content
+     * @throws JsonProcessingException exception thrown if unable to serialize response content
+     */
+    @Benchmark
+    public String writeGetResponseWithCodecs() throws JsonProcessingException {
+        return ConsentManagementApiCodecs.GET_RESPONSE_CONTENT_WRITER.writeValueAsString(getResponseContent);
+    }
+
+    /**
+     * Benchmark serializing ListServiceUserConsents response content with its pre-bound writer.
+     *
+     * @return serialized response content
+     * @throws JsonProcessingException exception thrown if unable to serialize response content
+     */
+    @Benchmark
+    public String writeListResponseWithCodecs() throws JsonProcessingException {
+        return ConsentManagementApiCodecs.LIST_RESPONSE_CONTENT_WRITER.writeValueAsString(listResponseContent);
+    }
+
+    /**
+     * Benchmark building a ListServiceUserConsents response map and serializing it as the Lambda runtime does,
+     * escaping the already serialized body string.
+     *
+     * @throws IOException exception thrown if unable to serialize response
+     */
+    @Benchmark
+    public void writeListResponseEnvelopeFromMap() throws IOException {
+        final Map<String, Object> response = new HashMap<String, Object>();
+        response.put(ApiResponseParameterName.STATUS_CODE.getValue(), HttpStatusCode.SUCCESS.getValue());
+        response.put(ApiResponseParameterName.BODY.getValue(), objectMapper.writeValueAsString(listResponseContent));
+        objectMapper.writeValue(OutputStream.nullOutputStream(), response);
+    }
+
+    /**
+     * Benchmark streaming a ListServiceUserConsents response with ApiGatewayProxyResponseWriter.
+     *
+     * @throws IOException exception thrown if unable to serialize response
+     */
+    @Benchmark
+    public void streamListResponseEnvelope() throws IOException {
+        responseWriter.writeSuccessResponse(listResponseContent, OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,29 @@
+package com.consentframework.consentmanagement.api.benchmarks.coldstart;
+
+/**
+ * Initialization stages measured by the cold start harness, in the order they run.
+ */
+public enum ColdStartStage {
+    JVM("jvm"),
+    LOG4J2("log4j2"),
+    JACKSON_JSON_MAPPER("jacksonJsonMapper"),
+    SDK_CLIENT("sdkClient"),
+    TABLE_SCHEMA("tableSchema"),
+    SERVICE("service"),
+    FIRST_RESPONSE("firstResponse");
+
+    private final String value;
+
+    private ColdStartStage(final String value) {
+        this.value = value;
+    }
+
+    /**
+     * Return stage name.
+     *
+     * @return stage name
+     */
+    public String getValue() {
+        return value;
+    }
+}
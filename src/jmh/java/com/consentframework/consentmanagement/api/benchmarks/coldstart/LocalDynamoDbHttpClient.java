@@ -0,0 +1,84 @@
+package com.consentframework.consentmanagement.api.benchmarks.coldstart;
+
+import com.consentframework.consentmanagement.api.benchmarks.BenchmarkConsents;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.ExecutableHttpRequest;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * In-process stand-in for DynamoDB, answering DynamoDB JSON protocol requests with canned responses.
+ *
+ * Requests still go through the full SDK client stack (signing, marshalling, retries, unmarshalling),
+ * so cold start measurements include SDK initialization without depending on network or a local DynamoDB process.
+ */
+public class LocalDynamoDbHttpClient implements SdkHttpClient {
+    static final String TARGET_HEADER = "X-Amz-Target";
+    static final String TARGET_PREFIX = "DynamoDB_20120810.";
+
+    private static final String CONSENT_ITEM = String.format("{"
+        + "\"id\":{\"S\":\"%s|%s|%s\"},"
+        + "\"serviceId\":{\"S\":\"%s\"},"
+        + "\"userId\":{\"S\":\"%s\"},"
+        + "\"consentId\":{\"S\":\"%s\"},"
+        + "\"consentVersion\":{\"N\":\"1\"},"
+        + "\"consentStatus\":{\"S\":\"ACTIVE\"},"
+        + "\"consentType\":{\"S\":\"%s\"},"
+        + "\"consentData\":{\"M\":{\"consentDataKey000\":{\"S\":\"Consent data value number 000\"}}}"
+        + "}",
+        BenchmarkConsents.SERVICE_ID, BenchmarkConsents.USER_ID, BenchmarkConsents.CONSENT_ID,
+        BenchmarkConsents.SERVICE_ID, BenchmarkConsents.USER_ID, BenchmarkConsents.CONSENT_ID,
+        BenchmarkConsents.CONSENT_TYPE);
+
+    /**
+     * Prepare canned response for the DynamoDB operation targeted by the request.
+     */
+    @Override
+    public ExecutableHttpRequest prepareRequest(final HttpExecuteRequest request) {
+        final String operation = request.httpRequest()
+            .firstMatchingHeader(TARGET_HEADER)
+            .map(target -> target.substring(TARGET_PREFIX.length()))
+            .orElse("");
+        final byte[] responseBody = buildResponseBody(operation).getBytes(StandardCharsets.UTF_8);
+
+        return new ExecutableHttpRequest() {
+            @Override
+            public HttpExecuteResponse call() {
+                final SdkHttpResponse response = SdkHttpResponse.builder()
+                    .statusCode(200)
+                    .putHeader("Content-Type", "application/x-amz-json-1.0")
+                    .putHeader("Content-Length", String.valueOf(responseBody.length))
+                    .build();
+                return HttpExecuteResponse.builder()
+                    .response(response)
+                    .responseBody(AbortableInputStream.create(new ByteArrayInputStream(responseBody)))
+                    .build();
+            }
+
+            @Override
+            public void abort() {}
+        };
+    }
+
+    /**
+     * Nothing to release.
+     */
+    @Override
+    public void close() {}
+
+    private static String buildResponseBody(final String operation) {
+        switch (operation) {
+            case "GetItem":
+                return String.format("{\"Item\":%s}", CONSENT_ITEM);
+            case "Query":
+                return String.format("{\"Count\":1,\"ScannedCount\":1,\"Items\":[%s]}", CONSENT_ITEM);
+            default:
+                return "{}";
+        }
+    }
+}
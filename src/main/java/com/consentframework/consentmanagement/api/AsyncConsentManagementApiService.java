@@ -0,0 +1,174 @@
+package com.consentframework.consentmanagement.api;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.consentframework.consentmanagement.api.domain.constants.ApiHttpResource;
+import com.consentframework.consentmanagement.api.domain.repositories.AsyncServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.infrastructure.interceptors.DynamoDbTelemetryInterceptor;
+import com.consentframework.consentmanagement.api.infrastructure.repositories.DynamoDbAsyncServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.infrastructure.repositories.DynamoDbServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.infrastructure.schemas.DynamoDbServiceUserConsentTableSchema;
+import com.consentframework.consentmanagement.api.usecases.activities.AsyncCreateServiceUserConsentActivity;
+import com.consentframework.consentmanagement.api.usecases.activities.AsyncGetServiceUserConsentActivity;
+import com.consentframework.consentmanagement.api.usecases.activities.AsyncListServiceUserConsentsActivity;
+import com.consentframework.consentmanagement.api.usecases.activities.AsyncUpdateServiceUserConsentActivity;
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiMetrics;
+import com.consentframework.consentmanagement.api.usecases.requesthandlers.AsyncCreateServiceUserConsentRequestHandler;
+import com.consentframework.consentmanagement.api.usecases.requesthandlers.AsyncGetServiceUserConsentRequestHandler;
+import com.consentframework.consentmanagement.api.usecases.requesthandlers.AsyncListServiceUserConsentsRequestHandler;
+import com.consentframework.consentmanagement.api.usecases.requesthandlers.AsyncUpdateServiceUserConsentRequestHandler;
+import com.consentframework.consentmanagement.api.usecases.requesthandlers.StreamingApiRequestHandler;
+import com.consentframework.consentmanagement.api.usecases.utils.ApiRequestLogFormatter;
+import com.consentframework.shared.api.domain.constants.HttpMethod;
+import com.consentframework.shared.api.domain.entities.ApiRequest;
+import com.consentframework.shared.api.infrastructure.entities.DynamoDbServiceUserConsent;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Non-blocking entry point for the service, keeping DynamoDB calls in flight without blocking a thread per request.
+ *
+ * Container deployments and multi-request runtimes can compose on handleRequestAsync, while handleRequest
+ * only waits for the final response. Lambda invocations of handleRequest are measured by ApiMetrics, though only
+ * per route, since request handling stages complete on asynchronous client threads. DynamoDB call telemetry is
+ * still attributed to the invocation that made each call.
+ *
+ * Every route of ConsentManagementApiService is supported. Routes without a non-blocking request handler are
+ * dispatched through the ConsentManagementApiService routing table, backed by a blocking consent repository
+ * without the consent cache, since non-blocking writes would not invalidate it, and run on virtual threads as part
+ * of the invocation that received them.
+ */
+public class AsyncConsentManagementApiService implements RequestHandler<ApiRequest, Map<String, Object>> {
+    private static final Logger logger = LogManager.getLogger(AsyncConsentManagementApiService.class);
+
+    static final Executor BLOCKING_ROUTE_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final AsyncServiceUserConsentRepository consentRepository;
+    private final ConsentManagementApiService blockingRouteService;
+
+    /**
+     * Instantiate non-blocking API service.
+     */
+    public AsyncConsentManagementApiService() {
+        this(DynamoDbEnhancedAsyncClient.builder()
+            .dynamoDbClient(DynamoDbAsyncClient.builder()
+                .overrideConfiguration(configuration -> configuration.addExecutionInterceptor(new DynamoDbTelemetryInterceptor()))
+                .build())
+            .build(),
+            ConsentManagementApiService.createDynamoDbClient());
+    }
+
+    /**
+     * Instantiate non-blocking API service backed by DynamoDB.
+     *
+     * @param dynamoDbEnhancedAsyncClient asynchronous DynamoDB enhanced client
+     * @param dynamoDbClient DynamoDB client for routes without a non-blocking request handler
+     */
+    public AsyncConsentManagementApiService(final DynamoDbEnhancedAsyncClient dynamoDbEnhancedAsyncClient,
+            final DynamoDbClient dynamoDbClient) {
+        this(AsyncConsentManagementApiService.constructDynamoDbAsyncConsentRepository(dynamoDbEnhancedAsyncClient),
+            ConsentManagementApiService.constructDynamoDbConsentRepository(dynamoDbClient));
+    }
+
+    /**
+     * Instantiate non-blocking API service with consent repositories.
+     *
+     * @param consentRepository non-blocking consent repository
+     * @param blockingConsentRepository consent repository for routes without a non-blocking request handler
+     */
+    public AsyncConsentManagementApiService(final AsyncServiceUserConsentRepository consentRepository,
+            final ServiceUserConsentRepository blockingConsentRepository) {
+        this.consentRepository = consentRepository;
+        this.blockingRouteService = new ConsentManagementApiService(blockingConsentRepository);
+    }
+
+    /**
+     * Route requests to appropriate request handler and wait for their response.
+     *
+     * @param request API request
+     * @return API response
+     */
+    @Override
+    public Map<String, Object> handleRequest(final ApiRequest request, final Context context) {
+        if (request == null || context == null) {
+            return handleRequestAsync(request).join();
+        }
+
+        ApiMetrics.startInvocation(request.httpMethod(), request.resource(), context.getAwsRequestId(),
+            request.body() == null ? 0 : request.body().length());
+        try {
+            final Map<String, Object> response = handleRequestAsync(request).join();
+            ApiMetrics.recordResponse(response);
+            return response;
+        } finally {
+            ApiMetrics.finishInvocation();
+        }
+    }
+
+    /**
+     * Route requests to appropriate request handler without waiting for their response.
+     *
+     * @param request API request
+     * @return future of API response
+     */
+    public CompletableFuture<Map<String, Object>> handleRequestAsync(final ApiRequest request) {
+        if (request == null) {
+            return CompletableFuture.completedFuture(ConsentManagementApiService.buildUnsupportedOperationResponse(request));
+        }
+
+        logger.info("AsyncLambdaRequestHandler received request: {}", () -> ApiRequestLogFormatter.format(request));
+
+        if (ApiHttpResource.SERVICE_USER_CONSENTS.getValue().equals(request.resource())) {
+            if (HttpMethod.GET.name().equals(request.httpMethod())) {
+                final AsyncListServiceUserConsentsActivity activity = new AsyncListServiceUserConsentsActivity(consentRepository);
+                return new AsyncListServiceUserConsentsRequestHandler(activity).handleRequestAsync(request);
+            }
+            if (HttpMethod.POST.name().equals(request.httpMethod())) {
+                final AsyncCreateServiceUserConsentActivity activity = new AsyncCreateServiceUserConsentActivity(consentRepository);
+                return new AsyncCreateServiceUserConsentRequestHandler(activity).handleRequestAsync(request);
+            }
+        } else if (ApiHttpResource.SERVICE_USER_CONSENT.getValue().equals(request.resource())) {
+            if (HttpMethod.GET.name().equals(request.httpMethod())) {
+                final AsyncGetServiceUserConsentActivity activity = new AsyncGetServiceUserConsentActivity(consentRepository);
+                return new AsyncGetServiceUserConsentRequestHandler(activity).handleRequestAsync(request);
+            }
+            if (HttpMethod.POST.name().equals(request.httpMethod())) {
+                final AsyncUpdateServiceUserConsentActivity activity = new AsyncUpdateServiceUserConsentActivity(consentRepository);
+                return new AsyncUpdateServiceUserConsentRequestHandler(activity).handleRequestAsync(request);
+            }
+        }
+
+        final StreamingApiRequestHandler blockingRequestHandler = blockingRouteService.routeRequest(request);
+        if (blockingRequestHandler != null) {
+            return CompletableFuture.supplyAsync(ApiMetrics.inCurrentInvocation(() -> blockingRequestHandler.handleRequest(request)),
+                BLOCKING_ROUTE_EXECUTOR);
+        }
+        return CompletableFuture.completedFuture(ConsentManagementApiService.buildUnsupportedOperationResponse(request));
+    }
+
+    /**
+     * Construct a DynamoDbAsyncServiceUserConsentRepository instance,
+     * querying the status and consent type index for filtered lists once STATUS_TYPE_INDEX_BACKFILLED is true.
+     *
+     * @param dynamoDbEnhancedAsyncClient asynchronous DynamoDB enhanced client
+     * @return non-blocking DynamoDB ServiceUserConsent repository
+     */
+    static DynamoDbAsyncServiceUserConsentRepository constructDynamoDbAsyncConsentRepository(
+            final DynamoDbEnhancedAsyncClient dynamoDbEnhancedAsyncClient) {
+        final DynamoDbAsyncTable<DynamoDbServiceUserConsent> dynamoDbTable = dynamoDbEnhancedAsyncClient.table(
+            DynamoDbServiceUserConsent.TABLE_NAME, DynamoDbServiceUserConsentTableSchema.TABLE_SCHEMA);
+        final boolean statusTypeIndexBackfilled = Boolean.parseBoolean(
+            System.getenv(DynamoDbServiceUserConsentRepository.STATUS_TYPE_INDEX_BACKFILLED_ENVIRONMENT_VARIABLE));
+        return new DynamoDbAsyncServiceUserConsentRepository(dynamoDbTable, statusTypeIndexBackfilled);
+    }
+}
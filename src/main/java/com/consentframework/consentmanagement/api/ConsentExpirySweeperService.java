@@ -0,0 +1,143 @@
+package com.consentframework.consentmanagement.api;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.consentframework.consentmanagement.api.infrastructure.exporters.ConsumedCapacityThrottle;
+import com.consentframework.consentmanagement.api.infrastructure.sweepers.DynamoDbConsentExpirySweeper;
+import com.consentframework.consentmanagement.api.infrastructure.sweepers.DynamoDbExpirySweepCheckpointStore;
+import com.consentframework.consentmanagement.api.infrastructure.sweepers.ExpirySweepResult;
+import com.consentframework.shared.api.infrastructure.entities.DynamoDbServiceUserConsent;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Scheduled entry point expiring active consents whose expiry time has passed, invoked by a recurring schedule
+ * such as an hourly EventBridge rule, whose event content is ignored.
+ *
+ * Capacity budgets, write concurrency, the catch up window and the checkpoint table are configured with environment
+ * variables. Sweeps stop querying new pages shortly before the invocation times out, and fail the invocation if any
+ * expiry hour could not be swept, so that failures are retried and alarmed on.
+ */
+public class ConsentExpirySweeperService implements RequestHandler<Map<String, Object>, Map<String, Object>> {
+    public static final String CHECKPOINT_TABLE_NAME_ENVIRONMENT_VARIABLE = "EXPIRY_SWEEP_CHECKPOINT_TABLE_NAME";
+    public static final String READ_CAPACITY_ENVIRONMENT_VARIABLE = "EXPIRY_SWEEP_READ_CAPACITY_UNITS_PER_SECOND";
+    public static final String WRITE_CAPACITY_ENVIRONMENT_VARIABLE = "EXPIRY_SWEEP_WRITE_CAPACITY_UNITS_PER_SECOND";
+    public static final String MAX_CONCURRENT_WRITES_ENVIRONMENT_VARIABLE = "EXPIRY_SWEEP_MAX_CONCURRENT_WRITES";
+    public static final String MAX_CATCH_UP_HOURS_ENVIRONMENT_VARIABLE = "EXPIRY_SWEEP_MAX_CATCH_UP_HOURS";
+
+    // Expiring a consent writes the item and both indexes, so a million expirations an hour need about 1000 WCU
+    public static final double DEFAULT_READ_CAPACITY_UNITS_PER_SECOND = 200;
+    public static final double DEFAULT_WRITE_CAPACITY_UNITS_PER_SECOND = 1000;
+
+    static final long REMAINING_TIME_MARGIN_MILLIS = 30_000;
+    static final String FAILED_HOURS_MESSAGE = "Unable to sweep %d expiry hours, swept through %s";
+
+    private final DynamoDbConsentExpirySweeper sweeper;
+
+    /**
+     * Instantiate consent expiry sweeper service, configured by environment variables.
+     */
+    public ConsentExpirySweeperService() {
+        this(constructSweeper(ConsentManagementApiService.createDynamoDbClient(), System::getenv));
+    }
+
+    /**
+     * Instantiate consent expiry sweeper service with the given sweeper.
+     *
+     * @param sweeper consent expiry sweeper
+     */
+    public ConsentExpirySweeperService(final DynamoDbConsentExpirySweeper sweeper) {
+        this.sweeper = sweeper;
+    }
+
+    /**
+     * Expire due consents in all expiry hours since the last sweep.
+     *
+     * @param event scheduled event, unused
+     * @param context Lambda context
+     * @return sweep outcome
+     */
+    @Override
+    public Map<String, Object> handleRequest(final Map<String, Object> event, final Context context) {
+        final ExpirySweepResult result = sweeper.sweep(
+            () -> context == null || context.getRemainingTimeInMillis() > REMAINING_TIME_MARGIN_MILLIS);
+        if (result.failedHours() > 0) {
+            throw new IllegalStateException(String.format(FAILED_HOURS_MESSAGE, result.failedHours(), result.sweptThroughHour()));
+        }
+
+        return Map.of(
+            "sweptHours", result.sweptHours(),
+            "expiredConsents", result.expiredConsents(),
+            "skippedConsents", result.skippedConsents(),
+            "sweptThroughHour", result.sweptThroughHour().toString());
+    }
+
+    /**
+     * Construct consent expiry sweeper configured by environment variables, with defaults for missing or invalid values.
+     *
+     * @param dynamoDbClient DynamoDB client
+     * @param environment environment variable lookup
+     * @return consent expiry sweeper
+     */
+    static DynamoDbConsentExpirySweeper constructSweeper(final DynamoDbClient dynamoDbClient, final UnaryOperator<String> environment) {
+        final String checkpointTableName = environment.apply(CHECKPOINT_TABLE_NAME_ENVIRONMENT_VARIABLE);
+        return new DynamoDbConsentExpirySweeper(
+            dynamoDbClient,
+            DynamoDbServiceUserConsent.TABLE_NAME,
+            new DynamoDbExpirySweepCheckpointStore(dynamoDbClient,
+                checkpointTableName == null || checkpointTableName.isBlank()
+                    ? DynamoDbExpirySweepCheckpointStore.DEFAULT_TABLE_NAME
+                    : checkpointTableName.trim()),
+            new ConsumedCapacityThrottle(parseCapacityUnits(environment.apply(READ_CAPACITY_ENVIRONMENT_VARIABLE),
+                DEFAULT_READ_CAPACITY_UNITS_PER_SECOND)),
+            new ConsumedCapacityThrottle(parseCapacityUnits(environment.apply(WRITE_CAPACITY_ENVIRONMENT_VARIABLE),
+                DEFAULT_WRITE_CAPACITY_UNITS_PER_SECOND)),
+            parseCount(environment.apply(MAX_CONCURRENT_WRITES_ENVIRONMENT_VARIABLE), 1,
+                DynamoDbConsentExpirySweeper.DEFAULT_MAX_CONCURRENT_WRITES),
+            parseCount(environment.apply(MAX_CATCH_UP_HOURS_ENVIRONMENT_VARIABLE), 0,
+                DynamoDbConsentExpirySweeper.DEFAULT_MAX_CATCH_UP_HOURS),
+            Clock.systemUTC());
+    }
+
+    /**
+     * Parse configured capacity units per second, falling back to the default if it is missing or not positive.
+     *
+     * @param capacityUnits configured capacity units per second
+     * @param defaultCapacityUnits default capacity units per second
+     * @return capacity units per second
+     */
+    static double parseCapacityUnits(final String capacityUnits, final double defaultCapacityUnits) {
+        if (capacityUnits == null) {
+            return defaultCapacityUnits;
+        }
+        try {
+            final double parsedCapacityUnits = Double.parseDouble(capacityUnits.trim());
+            return parsedCapacityUnits > 0 && Double.isFinite(parsedCapacityUnits) ? parsedCapacityUnits : defaultCapacityUnits;
+        } catch (final NumberFormatException numberFormatException) {
+            return defaultCapacityUnits;
+        }
+    }
+
+    /**
+     * Parse configured count, falling back to the default if it is missing, invalid or below the minimum.
+     *
+     * @param count configured count
+     * @param minCount minimum count
+     * @param defaultCount default count
+     * @return count
+     */
+    static int parseCount(final String count, final int minCount, final int defaultCount) {
+        if (count == null) {
+            return defaultCount;
+        }
+        try {
+            final int parsedCount = Integer.parseInt(count.trim());
+            return parsedCount < minCount ? defaultCount : parsedCount;
+        } catch (final NumberFormatException numberFormatException) {
+            return defaultCount;
+        }
+    }
+}
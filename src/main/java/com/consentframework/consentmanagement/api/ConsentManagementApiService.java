@@ -4,46 +4,108 @@ import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.consentframework.consentmanagement.api.domain.constants.ApiHttpResource;
 import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.infrastructure.interceptors.DynamoDbTelemetryInterceptor;
+import com.consentframework.consentmanagement.api.infrastructure.repositories.CachingServiceUserConsentRepository;
 import com.consentframework.consentmanagement.api.infrastructure.repositories.DynamoDbServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.infrastructure.repositories.ServiceUserConsentCache;
+import com.consentframework.consentmanagement.api.infrastructure.schemas.DynamoDbServiceUserConsentTableSchema;
+import com.consentframework.consentmanagement.api.usecases.activities.BatchCreateServiceUserConsentsActivity;
+import com.consentframework.consentmanagement.api.usecases.activities.BatchGetServiceUserConsentsActivity;
 import com.consentframework.consentmanagement.api.usecases.activities.CreateServiceUserConsentActivity;
+import com.consentframework.consentmanagement.api.usecases.activities.ExportServiceUserConsentsActivity;
 import com.consentframework.consentmanagement.api.usecases.activities.GetServiceUserConsentActivity;
 import com.consentframework.consentmanagement.api.usecases.activities.ListServiceUserConsentsActivity;
+import com.consentframework.consentmanagement.api.usecases.activities.PatchServiceUserConsentActivity;
 import com.consentframework.consentmanagement.api.usecases.activities.UpdateServiceUserConsentActivity;
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiMetrics;
+import com.consentframework.consentmanagement.api.usecases.requesthandlers.BatchCreateServiceUserConsentsRequestHandler;
+import com.consentframework.consentmanagement.api.usecases.requesthandlers.BatchGetServiceUserConsentsRequestHandler;
 import com.consentframework.consentmanagement.api.usecases.requesthandlers.CreateServiceUserConsentRequestHandler;
+import com.consentframework.consentmanagement.api.usecases.requesthandlers.ExportServiceUserConsentsRequestHandler;
 import com.consentframework.consentmanagement.api.usecases.requesthandlers.GetServiceUserConsentRequestHandler;
 import com.consentframework.consentmanagement.api.usecases.requesthandlers.ListServiceUserConsentsRequestHandler;
+import com.consentframework.consentmanagement.api.usecases.requesthandlers.PatchServiceUserConsentRequestHandler;
+import com.consentframework.consentmanagement.api.usecases.requesthandlers.StreamingApiRequestHandler;
 import com.consentframework.consentmanagement.api.usecases.requesthandlers.UpdateServiceUserConsentRequestHandler;
+import com.consentframework.consentmanagement.api.usecases.utils.ApiRequestLogFormatter;
+import com.consentframework.consentmanagement.api.usecases.utils.ConsentIdGenerator;
 import com.consentframework.shared.api.domain.constants.ApiResponseParameterName;
 import com.consentframework.shared.api.domain.constants.HttpMethod;
 import com.consentframework.shared.api.domain.constants.HttpStatusCode;
 import com.consentframework.shared.api.domain.entities.ApiRequest;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
 import com.consentframework.shared.api.domain.requesthandlers.ApiRequestHandler;
 import com.consentframework.shared.api.infrastructure.entities.DynamoDbServiceUserConsent;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.crac.Core;
+import org.crac.Resource;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Entry point for the service, handles requests for an AWS Lambda function.
+ *
+ * When constructed with its own DynamoDB client, the service registers itself as a CRaC resource so that
+ * Lambda SnapStart snapshots are taken with request handling already initialized.
+ *
+ * Services backed by DynamoDB share a consent cache held in static state, so that it persists across
+ * warm invocations, and is sized from the function's memory limit on the first request.
+ *
+ * Lambda invocations, unlike priming requests, which have no Lambda context, are measured by ApiMetrics,
+ * including the telemetry of DynamoDB calls made by the service's own DynamoDB client.
  */
-public class ConsentManagementApiService implements RequestHandler<ApiRequest, Map<String, Object>> {
+public class ConsentManagementApiService implements RequestHandler<ApiRequest, Map<String, Object>>, Resource {
     private static final Logger logger = LogManager.getLogger(ConsentManagementApiService.class);
 
     static final String UNSUPPORTED_OPERATION_MESSAGE = "Unsupported resource operation, received resource '%s' and operation '%s'";
+    static final String PATCH_HTTP_METHOD = "PATCH";
+
+    private static final TableSchema<DynamoDbServiceUserConsent> CONSENT_TABLE_SCHEMA =
+        DynamoDbServiceUserConsentTableSchema.TABLE_SCHEMA;
+
+    static final ServiceUserConsentCache CONSENT_CACHE = new ServiceUserConsentCache(ServiceUserConsentCache.MIN_MAXIMUM_SIZE);
 
     private ServiceUserConsentRepository consentRepository;
+    private ServiceUserConsentCache consentCache;
+    private Supplier<DynamoDbClient> dynamoDbClientFactory;
+    private DynamoDbClient dynamoDbClient;
 
     /**
      * Instantiate API service.
      */
     public ConsentManagementApiService() {
-        final DynamoDbEnhancedClient dynamoDbEnhancedClient = DynamoDbEnhancedClient.create();
-        consentRepository = ConsentManagementApiService.constructDynamoDbConsentRepository(dynamoDbEnhancedClient);
+        this(ConsentManagementApiService::createDynamoDbClient);
+    }
+
+    /**
+     * Instantiate API service backed by DynamoDB clients from the given factory, recreating the client
+     * after restoring from a JVM snapshot.
+     *
+     * @param dynamoDbClientFactory DynamoDB client factory
+     */
+    ConsentManagementApiService(final Supplier<DynamoDbClient> dynamoDbClientFactory) {
+        this(dynamoDbClientFactory.get());
+        this.dynamoDbClientFactory = dynamoDbClientFactory;
+        Core.getGlobalContext().register(this);
+    }
+
+    /**
+     * Instantiate API service backed by DynamoDB, with reads served from the shared consent cache.
+     *
+     * @param dynamoDbClient DynamoDB client
+     */
+    public ConsentManagementApiService(final DynamoDbClient dynamoDbClient) {
+        this(new CachingServiceUserConsentRepository(constructDynamoDbConsentRepository(dynamoDbClient), CONSENT_CACHE));
+        this.consentCache = CONSENT_CACHE;
+        this.dynamoDbClient = dynamoDbClient;
     }
 
     /**
@@ -67,35 +129,150 @@ public class ConsentManagementApiService implements RequestHandler<ApiRequest, M
             return buildUnsupportedOperationResponse(request);
         }
 
-        logger.info("LambdaRequestHandler received request: " + request.toString());
+        logger.info("LambdaRequestHandler received request: {}", () -> ApiRequestLogFormatter.format(request));
+
+        final boolean measured = context != null;
+        if (measured) {
+            ApiMetrics.startInvocation(request.httpMethod(), request.resource(), context.getAwsRequestId(),
+                request.body() == null ? 0 : request.body().length());
+        }
+        try {
+            resizeConsentCache(context);
+
+            final StreamingApiRequestHandler requestHandler = routeRequest(request);
+            final Map<String, Object> response = requestHandler == null
+                ? buildUnsupportedOperationResponse(request)
+                : requestHandler.handleRequest(request);
+            if (measured) {
+                ApiMetrics.recordResponse(response);
+            }
+            return response;
+        } finally {
+            if (measured) {
+                ApiMetrics.finishInvocation();
+            }
+        }
+    }
+
+    /**
+     * Size the shared consent cache from the function's memory limit, if the service uses it.
+     *
+     * @param context Lambda context
+     */
+    void resizeConsentCache(final Context context) {
+        if (consentCache != null && context != null) {
+            consentCache.resizeForMemoryLimit(context.getMemoryLimitInMB());
+        }
+    }
 
+    /**
+     * Find the request handler for the requested resource and operation.
+     *
+     * @param request API request
+     * @return request handler, or null if the resource operation is unsupported
+     */
+    StreamingApiRequestHandler routeRequest(final ApiRequest request) {
         if (ApiHttpResource.SERVICE_USER_CONSENTS.getValue().equals(request.resource())) {
             if (HttpMethod.GET.name().equals(request.httpMethod())) {
                 final ListServiceUserConsentsActivity activity = new ListServiceUserConsentsActivity(consentRepository);
-                return new ListServiceUserConsentsRequestHandler(activity).handleRequest(request);
+                return new ListServiceUserConsentsRequestHandler(activity);
             }
             if (HttpMethod.POST.name().equals(request.httpMethod())) {
                 final CreateServiceUserConsentActivity activity = new CreateServiceUserConsentActivity(consentRepository);
-                return new CreateServiceUserConsentRequestHandler(activity).handleRequest(request);
+                return new CreateServiceUserConsentRequestHandler(activity);
             }
         } else if (ApiHttpResource.SERVICE_USER_CONSENT.getValue().equals(request.resource())) {
             if (HttpMethod.GET.name().equals(request.httpMethod())) {
                 final GetServiceUserConsentActivity activity = new GetServiceUserConsentActivity(consentRepository);
-                return new GetServiceUserConsentRequestHandler(activity).handleRequest(request);
+                return new GetServiceUserConsentRequestHandler(activity);
             }
             if (HttpMethod.POST.name().equals(request.httpMethod())) {
                 final UpdateServiceUserConsentActivity activity = new UpdateServiceUserConsentActivity(consentRepository);
-                return new UpdateServiceUserConsentRequestHandler(activity).handleRequest(request);
+                return new UpdateServiceUserConsentRequestHandler(activity);
+            }
+            if (PATCH_HTTP_METHOD.equals(request.httpMethod())) {
+                final PatchServiceUserConsentActivity activity = new PatchServiceUserConsentActivity(consentRepository);
+                return new PatchServiceUserConsentRequestHandler(activity);
+            }
+        } else if (ApiHttpResource.SERVICE_USER_CONSENTS_BATCH_CREATE.getValue().equals(request.resource())) {
+            if (HttpMethod.POST.name().equals(request.httpMethod())) {
+                final BatchCreateServiceUserConsentsActivity activity = new BatchCreateServiceUserConsentsActivity(consentRepository);
+                return new BatchCreateServiceUserConsentsRequestHandler(activity);
+            }
+        } else if (ApiHttpResource.SERVICE_USER_CONSENTS_BATCH_GET.getValue().equals(request.resource())) {
+            if (HttpMethod.POST.name().equals(request.httpMethod())) {
+                final BatchGetServiceUserConsentsActivity activity = new BatchGetServiceUserConsentsActivity(consentRepository);
+                return new BatchGetServiceUserConsentsRequestHandler(activity);
+            }
+        } else if (ApiHttpResource.SERVICE_USER_CONSENTS_EXPORT.getValue().equals(request.resource())) {
+            if (HttpMethod.GET.name().equals(request.httpMethod())) {
+                final ExportServiceUserConsentsActivity activity = new ExportServiceUserConsentsActivity(consentRepository);
+                return new ExportServiceUserConsentsRequestHandler(activity);
             }
         }
 
-        return buildUnsupportedOperationResponse(request);
+        return null;
+    }
+
+    /**
+     * Prime request handling before a JVM snapshot is taken, by running every route against a no-op
+     * repository and converting a sample consent through the DynamoDB table schema.
+     *
+     * @param context CRaC context
+     * @throws BadRequestException exception thrown if unable to convert the sample consent
+     * @throws InternalServiceException exception thrown if unable to sign the sample page token
+     */
+    @Override
+    public void beforeCheckpoint(final org.crac.Context<? extends Resource> context)
+            throws BadRequestException, InternalServiceException {
+        final int primedRoutes = ConsentManagementApiServicePrimer.primeRequestHandling();
+        ConsentManagementApiServicePrimer.primeDynamoDbMapping(CONSENT_TABLE_SCHEMA);
+        logger.info(String.format("Primed %d of %d API routes before checkpoint", primedRoutes,
+            ConsentManagementApiServicePrimer.PRIMING_REQUESTS.size()));
+    }
+
+    /**
+     * Reseed consent ID generation, clear cached consents, and replace the DynamoDB client after restoring from
+     * a JVM snapshot, since connections in the snapshot are no longer usable, cached consents may be arbitrarily
+     * old, and restored JVMs would otherwise share random state. The first invocation after restoring is
+     * reported as a cold start.
+     *
+     * @param context CRaC context
+     */
+    @Override
+    public void afterRestore(final org.crac.Context<? extends Resource> context) {
+        ConsentIdGenerator.reseed();
+        ApiMetrics.markColdStart();
+
+        if (dynamoDbClientFactory != null) {
+            final DynamoDbClient restoredDynamoDbClient = dynamoDbClientFactory.get();
+            consentCache.invalidateAll();
+            consentRepository = new CachingServiceUserConsentRepository(
+                constructDynamoDbConsentRepository(restoredDynamoDbClient), consentCache);
+            dynamoDbClient.close();
+            dynamoDbClient = restoredDynamoDbClient;
+        }
     }
 
-    private Map<String, Object> buildUnsupportedOperationResponse(final ApiRequest request) {
+    /**
+     * Build bad request response for requests to unsupported resources or operations.
+     *
+     * @param request API request
+     * @return API error response
+     */
+    static Map<String, Object> buildUnsupportedOperationResponse(final ApiRequest request) {
         final String requestResource = request == null ? null : request.resource();
         final String requestHttpMethod = request == null ? null : request.httpMethod();
-        final String errorMessage = String.format(UNSUPPORTED_OPERATION_MESSAGE, requestResource, requestHttpMethod);
+        return buildBadRequestResponse(String.format(UNSUPPORTED_OPERATION_MESSAGE, requestResource, requestHttpMethod));
+    }
+
+    /**
+     * Build bad request response for requests that cannot be routed to a request handler.
+     *
+     * @param errorMessage error message
+     * @return API error response
+     */
+    static Map<String, Object> buildBadRequestResponse(final String errorMessage) {
         logger.warn(errorMessage);
 
         final Map<String, Object> apiErrorResponse = new HashMap<String, Object>();
@@ -105,14 +282,29 @@ public class ConsentManagementApiService implements RequestHandler<ApiRequest, M
     }
 
     /**
-     * Construct a DynamoDbServiceUserConsentRepository instance.
+     * Create a DynamoDB client that records DynamoDB call telemetry.
+     *
+     * @return DynamoDB client
+     */
+    static DynamoDbClient createDynamoDbClient() {
+        return DynamoDbClient.builder()
+            .overrideConfiguration(configuration -> configuration.addExecutionInterceptor(new DynamoDbTelemetryInterceptor()))
+            .build();
+    }
+
+    /**
+     * Construct a DynamoDbServiceUserConsentRepository instance,
+     * querying the status and consent type index for filtered lists once STATUS_TYPE_INDEX_BACKFILLED is true.
      *
-     * @param dynamoDbEnhancedClient DynamoDB enhanced client
+     * @param dynamoDbClient DynamoDB client
      * @return DynamoDB ServiceUserConsent repository
      */
-    static DynamoDbServiceUserConsentRepository constructDynamoDbConsentRepository(final DynamoDbEnhancedClient dynamoDbEnhancedClient) {
+    static DynamoDbServiceUserConsentRepository constructDynamoDbConsentRepository(final DynamoDbClient dynamoDbClient) {
+        final DynamoDbEnhancedClient dynamoDbEnhancedClient = DynamoDbEnhancedClient.builder().dynamoDbClient(dynamoDbClient).build();
         final DynamoDbTable<DynamoDbServiceUserConsent> dynamoDbTable = dynamoDbEnhancedClient.table(
-            DynamoDbServiceUserConsent.TABLE_NAME, TableSchema.fromImmutableClass(DynamoDbServiceUserConsent.class));
-        return new DynamoDbServiceUserConsentRepository(dynamoDbTable);
+            DynamoDbServiceUserConsent.TABLE_NAME, CONSENT_TABLE_SCHEMA);
+        final boolean statusTypeIndexBackfilled = Boolean.parseBoolean(
+            System.getenv(DynamoDbServiceUserConsentRepository.STATUS_TYPE_INDEX_BACKFILLED_ENVIRONMENT_VARIABLE));
+        return new DynamoDbServiceUserConsentRepository(dynamoDbClient, dynamoDbEnhancedClient, dynamoDbTable, statusTypeIndexBackfilled);
     }
 }
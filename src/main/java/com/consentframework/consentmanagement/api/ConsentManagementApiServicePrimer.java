@@ -0,0 +1,150 @@
+package com.consentframework.consentmanagement.api;
+
+import com.consentframework.consentmanagement.api.domain.constants.ApiHttpResource;
+import com.consentframework.consentmanagement.api.domain.constants.ApiPathParameterName;
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentFilter;
+import com.consentframework.consentmanagement.api.infrastructure.constants.DynamoDbServiceUserConsentAttributeName;
+import com.consentframework.consentmanagement.api.infrastructure.mappers.DynamoDbServiceUserConsentMapper;
+import com.consentframework.consentmanagement.api.infrastructure.mappers.DynamoDbServiceUserConsentPageTokenMapper;
+import com.consentframework.consentmanagement.api.infrastructure.repositories.NoOpServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
+import com.consentframework.shared.api.domain.constants.ApiResponseParameterName;
+import com.consentframework.shared.api.domain.constants.HttpMethod;
+import com.consentframework.shared.api.domain.constants.HttpStatusCode;
+import com.consentframework.shared.api.domain.entities.ApiRequest;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
+import com.consentframework.shared.api.infrastructure.entities.DynamoDbServiceUserConsent;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exercises lazily initialized code paths of the service, so that their one-time initialization cost
+ * (class loading, Jackson serializer caches, table schema introspection) is paid before a JVM snapshot
+ * is taken rather than on the first request after restore.
+ */
+final class ConsentManagementApiServicePrimer {
+    private static final Logger logger = LogManager.getLogger(ConsentManagementApiServicePrimer.class);
+
+    static final String PRIMING_SERVICE_ID = "PrimingServiceId";
+    static final String PRIMING_USER_ID = "PrimingUserId";
+    static final String PRIMING_CONSENT_ID = "PrimingConsentId";
+    static final String PRIMING_CONSENT_TYPE = "PrimingConsentType";
+    static final String PRIMING_FAILURE_MESSAGE = "Priming request %s %s returned status code %s";
+
+    private static final String CONSENTS_PATH = String.format("/v1/consent-management/services/%s/users/%s/consents",
+        PRIMING_SERVICE_ID, PRIMING_USER_ID);
+    private static final String CONSENT_PATH = String.format("%s/%s", CONSENTS_PATH, PRIMING_CONSENT_ID);
+    private static final String BATCH_CREATE_CONSENTS_PATH = String.format("%s/batch-create", CONSENTS_PATH);
+    private static final String BATCH_GET_CONSENTS_PATH = String.format("%s/batch-get", CONSENTS_PATH);
+    private static final String EXPORT_CONSENTS_PATH = String.format("%s/export", CONSENTS_PATH);
+    private static final Map<String, String> CONSENTS_PATH_PARAMETERS = Map.of(
+        ApiPathParameterName.SERVICE_ID.getValue(), PRIMING_SERVICE_ID,
+        ApiPathParameterName.USER_ID.getValue(), PRIMING_USER_ID
+    );
+    private static final Map<String, String> CONSENT_PATH_PARAMETERS = Map.of(
+        ApiPathParameterName.SERVICE_ID.getValue(), PRIMING_SERVICE_ID,
+        ApiPathParameterName.USER_ID.getValue(), PRIMING_USER_ID,
+        ApiPathParameterName.CONSENT_ID.getValue(), PRIMING_CONSENT_ID
+    );
+    private static final String CONSENT_CONTENT = String.format(
+        "\"status\":\"ACTIVE\",\"consentType\":\"%s\",\"consentData\":{\"primingKey\":\"primingValue\"},"
+            + "\"expiryTime\":\"2100-01-01T00:00:00Z\"", PRIMING_CONSENT_TYPE);
+
+    static final List<ApiRequest> PRIMING_REQUESTS = List.of(
+        buildPrimingRequest(HttpMethod.GET, ApiHttpResource.SERVICE_USER_CONSENT, CONSENT_PATH, CONSENT_PATH_PARAMETERS, null),
+        buildPrimingRequest(HttpMethod.GET, ApiHttpResource.SERVICE_USER_CONSENTS, CONSENTS_PATH, CONSENTS_PATH_PARAMETERS, null),
+        buildPrimingRequest(HttpMethod.POST, ApiHttpResource.SERVICE_USER_CONSENTS, CONSENTS_PATH, CONSENTS_PATH_PARAMETERS,
+            String.format("{%s}", CONSENT_CONTENT)),
+        buildPrimingRequest(HttpMethod.POST, ApiHttpResource.SERVICE_USER_CONSENT, CONSENT_PATH, CONSENT_PATH_PARAMETERS,
+            String.format("{\"consentVersion\":2,%s}", CONSENT_CONTENT)),
+        buildPrimingRequest(ConsentManagementApiService.PATCH_HTTP_METHOD, ApiHttpResource.SERVICE_USER_CONSENT, CONSENT_PATH,
+            CONSENT_PATH_PARAMETERS, "{\"consentVersion\":2,\"status\":\"REVOKED\",\"expiryTime\":null}"),
+        buildPrimingRequest(HttpMethod.POST, ApiHttpResource.SERVICE_USER_CONSENTS_BATCH_CREATE, BATCH_CREATE_CONSENTS_PATH,
+            CONSENTS_PATH_PARAMETERS, String.format("{\"consents\":[{%s}]}", CONSENT_CONTENT)),
+        buildPrimingRequest(HttpMethod.POST, ApiHttpResource.SERVICE_USER_CONSENTS_BATCH_GET, BATCH_GET_CONSENTS_PATH,
+            CONSENTS_PATH_PARAMETERS, String.format("{\"consentIds\":[\"%s\"]}", PRIMING_CONSENT_ID)),
+        buildPrimingRequest(HttpMethod.GET, ApiHttpResource.SERVICE_USER_CONSENTS_EXPORT, EXPORT_CONSENTS_PATH,
+            CONSENTS_PATH_PARAMETERS, null)
+    );
+
+    private ConsentManagementApiServicePrimer() {}
+
+    /**
+     * Run a request through every API route against a repository that does not call any data store.
+     *
+     * @return number of priming requests that completed successfully
+     */
+    static int primeRequestHandling() {
+        final ConsentManagementApiService primingService = new ConsentManagementApiService(new NoOpServiceUserConsentRepository());
+
+        int successfulRequests = 0;
+        for (final ApiRequest request : PRIMING_REQUESTS) {
+            final Map<String, Object> response = primingService.handleRequest(request, null);
+            final Object statusCode = response.get(ApiResponseParameterName.STATUS_CODE.getValue());
+            if (HttpStatusCode.SUCCESS.getValue().equals(statusCode)) {
+                successfulRequests++;
+            } else {
+                logger.warn(String.format(PRIMING_FAILURE_MESSAGE, request.httpMethod(), request.resource(), statusCode));
+            }
+        }
+        return successfulRequests;
+    }
+
+    /**
+     * Convert a sample consent to a DynamoDB item and back through the table schema and DynamoDB mappers,
+     * and a sample page token through the page token mapper if the signing key is configured.
+     *
+     * @param tableSchema ServiceUserConsent table schema
+     * @return sample consent after the round trip
+     * @throws BadRequestException exception thrown if unable to convert the sample page token
+     * @throws InternalServiceException exception thrown if unable to sign the sample page token
+     */
+    static Consent primeDynamoDbMapping(final TableSchema<DynamoDbServiceUserConsent> tableSchema)
+            throws BadRequestException, InternalServiceException {
+        final Consent sampleConsent = new Consent()
+            .serviceId(PRIMING_SERVICE_ID)
+            .userId(PRIMING_USER_ID)
+            .consentId(PRIMING_CONSENT_ID)
+            .consentVersion(1)
+            .status(ConsentStatus.ACTIVE)
+            .consentType(PRIMING_CONSENT_TYPE)
+            .consentData(Map.of("primingKey", "primingValue"))
+            .expiryTime(OffsetDateTime.of(2100, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+
+        final DynamoDbServiceUserConsent sampleItem = DynamoDbServiceUserConsentMapper.toDynamoDbServiceUserConsent(sampleConsent);
+        final Map<String, AttributeValue> sampleAttributes = tableSchema.itemToMap(sampleItem, true);
+
+        if (DynamoDbServiceUserConsentPageTokenMapper.isSigningKeyConfigured()) {
+            final Map<String, AttributeValue> sampleLastEvaluatedKey = tableSchema.itemToMap(sampleItem, List.of(
+                DynamoDbServiceUserConsentAttributeName.ID.getValue(),
+                DynamoDbServiceUserConsentAttributeName.SERVICE_ID.getValue(),
+                DynamoDbServiceUserConsentAttributeName.USER_ID.getValue()));
+            final String samplePageToken = DynamoDbServiceUserConsentPageTokenMapper.toPageToken(PRIMING_SERVICE_ID, PRIMING_USER_ID,
+                DynamoDbServiceUserConsent.CONSENT_BY_SERVICE_USER_GSI_NAME, ServiceUserConsentFilter.NONE, sampleLastEvaluatedKey);
+            DynamoDbServiceUserConsentPageTokenMapper.toDynamoDbPageToken(PRIMING_SERVICE_ID, PRIMING_USER_ID,
+                DynamoDbServiceUserConsent.CONSENT_BY_SERVICE_USER_GSI_NAME, ServiceUserConsentFilter.NONE, samplePageToken);
+        }
+        DynamoDbServiceUserConsentMapper.dynamoDbAttributeMapToConsent(sampleAttributes);
+
+        return DynamoDbServiceUserConsentMapper.dynamoDbItemToConsent(tableSchema.mapToItem(sampleAttributes));
+    }
+
+    private static ApiRequest buildPrimingRequest(final HttpMethod httpMethod, final ApiHttpResource resource, final String path,
+            final Map<String, String> pathParameters, final String body) {
+        return buildPrimingRequest(httpMethod.name(), resource, path, pathParameters, body);
+    }
+
+    private static ApiRequest buildPrimingRequest(final String httpMethod, final ApiHttpResource resource, final String path,
+            final Map<String, String> pathParameters, final String body) {
+        return new ApiRequest(httpMethod, resource.getValue(), path, pathParameters, null, null, false, body);
+    }
+}
@@ -0,0 +1,97 @@
+package com.consentframework.consentmanagement.api;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiMetrics;
+import com.consentframework.consentmanagement.api.usecases.requesthandlers.StreamingApiRequestHandler;
+import com.consentframework.consentmanagement.api.usecases.utils.ApiGatewayEventParser;
+import com.consentframework.consentmanagement.api.usecases.utils.ApiGatewayProxyResponseWriter;
+import com.consentframework.consentmanagement.api.usecases.utils.ApiRequestLogFormatter;
+import com.consentframework.consentmanagement.api.usecases.utils.ConsentManagementApiCodecs;
+import com.consentframework.shared.api.domain.entities.ApiRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Streaming entry point for the service, handles API Gateway proxy events as raw Lambda input and output streams.
+ *
+ * Events are parsed in a single pass, skipping fields that are not needed, and request bodies are read straight
+ * into the routed operation's request content. Responses are written directly to the output stream, so neither
+ * the Lambda runtime serializer nor the response body string and map are involved.
+ *
+ * Requests are routed and handled by a ConsentManagementApiService, so both entry points share the consent cache,
+ * JVM snapshot priming and ApiMetrics instrumentation, with response status codes and sizes recorded by the
+ * response writer. Every parsed event is measured, with no request ID if there is no Lambda context. Instances are not
+ * thread-safe, matching the Lambda runtime's one request at a time model.
+ */
+public class ConsentManagementApiStreamService implements RequestStreamHandler {
+    private static final Logger logger = LogManager.getLogger(ConsentManagementApiStreamService.class);
+
+    static final String INVALID_EVENT_MESSAGE = "Unable to parse API Gateway event: %s";
+
+    private final ConsentManagementApiService service;
+    private final ApiGatewayEventParser eventParser;
+    private final ApiGatewayProxyResponseWriter responseWriter;
+
+    /**
+     * Instantiate streaming API service.
+     */
+    public ConsentManagementApiStreamService() {
+        this(new ConsentManagementApiService());
+    }
+
+    /**
+     * Instantiate streaming API service routing requests through the given API service.
+     *
+     * @param service API service
+     */
+    public ConsentManagementApiStreamService(final ConsentManagementApiService service) {
+        this.service = service;
+        this.eventParser = new ApiGatewayEventParser(ConsentManagementApiCodecs.OBJECT_MAPPER.getFactory());
+        this.responseWriter = new ApiGatewayProxyResponseWriter(ConsentManagementApiCodecs.OBJECT_MAPPER);
+    }
+
+    /**
+     * Parse API Gateway event, route it to the appropriate request handler, and write its response.
+     *
+     * @param inputStream stream to read the API Gateway event from
+     * @param outputStream stream to write the API response to
+     * @param context Lambda context
+     * @throws IOException exception thrown if unable to read from or write to the streams
+     */
+    @Override
+    public void handleRequest(final InputStream inputStream, final OutputStream outputStream, final Context context)
+            throws IOException {
+        final ApiGatewayEventParser.Event event;
+        try {
+            event = eventParser.parse(inputStream);
+        } catch (final JsonProcessingException jsonProcessingException) {
+            final String errorMessage = String.format(INVALID_EVENT_MESSAGE, jsonProcessingException.getOriginalMessage());
+            responseWriter.writeResponse(ConsentManagementApiService.buildBadRequestResponse(errorMessage), outputStream);
+            return;
+        }
+
+        final ApiRequest request = event.request();
+        logger.info("LambdaRequestHandler received request: {}", () -> ApiRequestLogFormatter.format(request));
+
+        ApiMetrics.startInvocation(request.httpMethod(), request.resource(), context == null ? null : context.getAwsRequestId(),
+            event.body().length());
+        try {
+            service.resizeConsentCache(context);
+
+            final StreamingApiRequestHandler requestHandler = service.routeRequest(request);
+            if (requestHandler == null) {
+                responseWriter.writeResponse(ConsentManagementApiService.buildUnsupportedOperationResponse(request), outputStream);
+                return;
+            }
+            requestHandler.handleRequest(request, event.body(), responseWriter, outputStream);
+        } finally {
+            ApiMetrics.finishInvocation();
+        }
+    }
+}
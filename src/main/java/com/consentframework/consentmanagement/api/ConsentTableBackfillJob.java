@@ -0,0 +1,64 @@
+package com.consentframework.consentmanagement.api;
+
+import com.consentframework.consentmanagement.api.infrastructure.exporters.ConsumedCapacityThrottle;
+import com.consentframework.consentmanagement.api.infrastructure.exporters.DynamoDbServiceUserConsentIndexBackfiller;
+import com.consentframework.consentmanagement.api.infrastructure.exporters.DynamoDbServiceUserConsentTableExporter;
+import com.consentframework.shared.api.infrastructure.entities.DynamoDbServiceUserConsent;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.io.IOException;
+
+/**
+ * Command line entry point backfilling the index keys of ServiceUserConsent items written before the status and
+ * consent type index, and migrating them to the compact item format.
+ *
+ * Usage: ConsentTableBackfillJob [totalSegments] [readCapacityUnitsPerSecond] [writeCapacityUnitsPerSecond]. Once the
+ * job has completed, filtered lists can query the status and consent type index by setting the
+ * STATUS_TYPE_INDEX_BACKFILLED environment variable of the API to true.
+ */
+public final class ConsentTableBackfillJob {
+    static final String USAGE_MESSAGE =
+        "Usage: ConsentTableBackfillJob [totalSegments] [readCapacityUnitsPerSecond] [writeCapacityUnitsPerSecond]";
+    static final double DEFAULT_READ_CAPACITY_UNITS_PER_SECOND = 1000;
+    static final double DEFAULT_WRITE_CAPACITY_UNITS_PER_SECOND = 500;
+
+    private ConsentTableBackfillJob() {}
+
+    /**
+     * Backfill the ServiceUserConsent table index keys.
+     *
+     * @param args optionally total segments, read capacity units per second and write capacity units per second
+     * @throws IOException exception thrown if interrupted while backfilling
+     */
+    public static void main(final String[] args) throws IOException {
+        try (DynamoDbClient dynamoDbClient = ConsentManagementApiService.createDynamoDbClient()) {
+            run(args, dynamoDbClient);
+        }
+    }
+
+    /**
+     * Backfill the ServiceUserConsent table index keys with the given DynamoDB client.
+     *
+     * @param args optionally total segments, read capacity units per second and write capacity units per second
+     * @param dynamoDbClient DynamoDB client
+     * @return number of consents updated
+     * @throws IOException exception thrown if interrupted while backfilling
+     */
+    static long run(final String[] args, final DynamoDbClient dynamoDbClient) throws IOException {
+        if (args.length > 3) {
+            throw new IllegalArgumentException(USAGE_MESSAGE);
+        }
+        final int totalSegments = args.length > 0
+            ? Integer.parseInt(args[0])
+            : DynamoDbServiceUserConsentTableExporter.DEFAULT_TOTAL_SEGMENTS;
+        final double readCapacityUnitsPerSecond = args.length > 1 ? Double.parseDouble(args[1]) : DEFAULT_READ_CAPACITY_UNITS_PER_SECOND;
+        final double writeCapacityUnitsPerSecond = args.length > 2
+            ? Double.parseDouble(args[2])
+            : DEFAULT_WRITE_CAPACITY_UNITS_PER_SECOND;
+
+        final DynamoDbServiceUserConsentIndexBackfiller backfiller = new DynamoDbServiceUserConsentIndexBackfiller(dynamoDbClient,
+            DynamoDbServiceUserConsent.TABLE_NAME, totalSegments, DynamoDbServiceUserConsentTableExporter.DEFAULT_SCAN_PAGE_SIZE,
+            new ConsumedCapacityThrottle(readCapacityUnitsPerSecond), new ConsumedCapacityThrottle(writeCapacityUnitsPerSecond));
+        return backfiller.backfill();
+    }
+}
@@ -0,0 +1,59 @@
+package com.consentframework.consentmanagement.api;
+
+import com.consentframework.consentmanagement.api.infrastructure.exporters.ConsumedCapacityThrottle;
+import com.consentframework.consentmanagement.api.infrastructure.exporters.DynamoDbServiceUserConsentTableExporter;
+import com.consentframework.shared.api.infrastructure.entities.DynamoDbServiceUserConsent;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Command line entry point exporting a snapshot of the ServiceUserConsent table to local shard files, for analytics
+ * and reconciliation jobs.
+ *
+ * Usage: ConsentTableExportJob outputDirectory [totalSegments] [readCapacityUnitsPerSecond]. Running the job again
+ * with the same output directory and total segments resumes an interrupted export.
+ */
+public final class ConsentTableExportJob {
+    static final String USAGE_MESSAGE = "Usage: ConsentTableExportJob outputDirectory [totalSegments] [readCapacityUnitsPerSecond]";
+    static final double DEFAULT_READ_CAPACITY_UNITS_PER_SECOND = 1000;
+
+    private ConsentTableExportJob() {}
+
+    /**
+     * Export the ServiceUserConsent table.
+     *
+     * @param args output directory, and optionally total segments and read capacity units per second
+     * @throws IOException exception thrown if unable to write to the output directory
+     */
+    public static void main(final String[] args) throws IOException {
+        try (DynamoDbClient dynamoDbClient = ConsentManagementApiService.createDynamoDbClient()) {
+            run(args, dynamoDbClient);
+        }
+    }
+
+    /**
+     * Export the ServiceUserConsent table with the given DynamoDB client.
+     *
+     * @param args output directory, and optionally total segments and read capacity units per second
+     * @param dynamoDbClient DynamoDB client
+     * @return number of consents exported
+     * @throws IOException exception thrown if unable to write to the output directory
+     */
+    static long run(final String[] args, final DynamoDbClient dynamoDbClient) throws IOException {
+        if (args.length < 1 || args.length > 3) {
+            throw new IllegalArgumentException(USAGE_MESSAGE);
+        }
+        final Path outputDirectory = Path.of(args[0]);
+        final int totalSegments = args.length > 1
+            ? Integer.parseInt(args[1])
+            : DynamoDbServiceUserConsentTableExporter.DEFAULT_TOTAL_SEGMENTS;
+        final double readCapacityUnitsPerSecond = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_READ_CAPACITY_UNITS_PER_SECOND;
+
+        final DynamoDbServiceUserConsentTableExporter exporter = new DynamoDbServiceUserConsentTableExporter(dynamoDbClient,
+            DynamoDbServiceUserConsent.TABLE_NAME, totalSegments, DynamoDbServiceUserConsentTableExporter.DEFAULT_SCAN_PAGE_SIZE,
+            DynamoDbServiceUserConsentTableExporter.DEFAULT_ITEMS_PER_SHARD, new ConsumedCapacityThrottle(readCapacityUnitsPerSecond));
+        return exporter.export(outputDirectory);
+    }
+}
@@ -5,7 +5,10 @@ package com.consentframework.consentmanagement.api.domain.constants;
  */
 public enum ApiHttpResource {
     SERVICE_USER_CONSENT("/v1/consent-management/services/{serviceId}/users/{userId}/consents/{consentId}"),
-    SERVICE_USER_CONSENTS("/v1/consent-management/services/{serviceId}/users/{userId}/consents");
+    SERVICE_USER_CONSENTS("/v1/consent-management/services/{serviceId}/users/{userId}/consents"),
+    SERVICE_USER_CONSENTS_BATCH_CREATE("/v1/consent-management/services/{serviceId}/users/{userId}/consents/batch-create"),
+    SERVICE_USER_CONSENTS_BATCH_GET("/v1/consent-management/services/{serviceId}/users/{userId}/consents/batch-get"),
+    SERVICE_USER_CONSENTS_EXPORT("/v1/consent-management/services/{serviceId}/users/{userId}/consents/export");
 
     private final String value;
 
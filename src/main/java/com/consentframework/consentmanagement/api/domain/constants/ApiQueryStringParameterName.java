@@ -5,7 +5,9 @@ package com.consentframework.consentmanagement.api.domain.constants;
  */
 public enum ApiQueryStringParameterName {
     LIMIT("limit"),
-    PAGE_TOKEN("pageToken");
+    PAGE_TOKEN("pageToken"),
+    STATUS("status"),
+    CONSENT_TYPE("consentType");
 
     private final String value;
 
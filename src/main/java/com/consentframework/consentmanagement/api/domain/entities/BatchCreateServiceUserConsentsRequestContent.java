@@ -0,0 +1,12 @@
+package com.consentframework.consentmanagement.api.domain.entities;
+
+import com.consentframework.consentmanagement.api.models.CreateServiceUserConsentRequestContent;
+
+import java.util.List;
+
+/**
+ * BatchCreateServiceUserConsents API request body.
+ *
+ * @param consents consents to create for the service-user pair, each in the CreateServiceUserConsent request format
+ */
+public record BatchCreateServiceUserConsentsRequestContent(List<CreateServiceUserConsentRequestContent> consents) {}
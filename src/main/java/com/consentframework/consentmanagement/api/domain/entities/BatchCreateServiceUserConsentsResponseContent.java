@@ -0,0 +1,10 @@
+package com.consentframework.consentmanagement.api.domain.entities;
+
+import java.util.List;
+
+/**
+ * BatchCreateServiceUserConsents API response body.
+ *
+ * @param consentIds IDs of the created consents, in the order the consents were requested
+ */
+public record BatchCreateServiceUserConsentsResponseContent(List<String> consentIds) {}
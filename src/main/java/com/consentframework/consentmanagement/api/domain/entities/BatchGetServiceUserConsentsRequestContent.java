@@ -0,0 +1,10 @@
+package com.consentframework.consentmanagement.api.domain.entities;
+
+import java.util.List;
+
+/**
+ * BatchGetServiceUserConsents API request body.
+ *
+ * @param consentIds IDs of the consents to retrieve for the service-user pair
+ */
+public record BatchGetServiceUserConsentsRequestContent(List<String> consentIds) {}
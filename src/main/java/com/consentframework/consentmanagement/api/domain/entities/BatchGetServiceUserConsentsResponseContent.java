@@ -0,0 +1,13 @@
+package com.consentframework.consentmanagement.api.domain.entities;
+
+import com.consentframework.consentmanagement.api.models.Consent;
+
+import java.util.List;
+
+/**
+ * BatchGetServiceUserConsents API response body.
+ *
+ * @param data retrieved consents, in the order they were requested
+ * @param missingConsentIds requested consent IDs with no stored consent
+ */
+public record BatchGetServiceUserConsentsResponseContent(List<Consent> data, List<String> missingConsentIds) {}
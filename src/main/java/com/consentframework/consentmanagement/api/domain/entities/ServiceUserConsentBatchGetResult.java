@@ -0,0 +1,13 @@
+package com.consentframework.consentmanagement.api.domain.entities;
+
+import com.consentframework.consentmanagement.api.models.Consent;
+
+import java.util.List;
+
+/**
+ * Result of retrieving a batch of consents for a service-user pair.
+ *
+ * @param consents retrieved consents, in the order they were requested
+ * @param missingConsentIds requested consent IDs with no stored consent
+ */
+public record ServiceUserConsentBatchGetResult(List<Consent> consents, List<String> missingConsentIds) {}
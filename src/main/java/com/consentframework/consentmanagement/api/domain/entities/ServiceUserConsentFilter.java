@@ -0,0 +1,36 @@
+package com.consentframework.consentmanagement.api.domain.entities;
+
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
+
+import java.util.Objects;
+
+/**
+ * Filter on the consents listed for a service-user pair.
+ *
+ * @param status consent status to match, null to match any status
+ * @param consentType consent type to match, null to match any consent type
+ */
+public record ServiceUserConsentFilter(ConsentStatus status, String consentType) {
+    public static final ServiceUserConsentFilter NONE = new ServiceUserConsentFilter(null, null);
+
+    /**
+     * Whether the filter matches every consent.
+     *
+     * @return true if neither status nor consent type is filtered on, otherwise false
+     */
+    public boolean isEmpty() {
+        return status == null && consentType == null;
+    }
+
+    /**
+     * Whether a consent matches the filter.
+     *
+     * @param consent consent
+     * @return true if the consent has the filtered status and consent type, otherwise false
+     */
+    public boolean matches(final Consent consent) {
+        return (status == null || status.equals(consent.getStatus()))
+            && (consentType == null || Objects.equals(consentType, consent.getConsentType()));
+    }
+}
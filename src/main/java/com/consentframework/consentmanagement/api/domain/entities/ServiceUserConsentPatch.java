@@ -0,0 +1,50 @@
+package com.consentframework.consentmanagement.api.domain.entities;
+
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Partial update of a consent, with JSON merge patch semantics for each optional field:
+ * a null field is left unchanged, an empty Optional removes the field, and a present Optional sets it.
+ *
+ * @param serviceId service identifier
+ * @param userId user identifier
+ * @param consentId consent ID, specific to the service-user pair
+ * @param consentVersion new consent version, one more than the stored consent version
+ * @param status consent status change, null if unchanged
+ * @param consentType consent type change, null if unchanged
+ * @param consentData consent data change, null if unchanged, replaces the whole map if present
+ * @param expiryTime expiry time change, null if unchanged
+ */
+public record ServiceUserConsentPatch(
+    String serviceId,
+    String userId,
+    String consentId,
+    Integer consentVersion,
+    Optional<ConsentStatus> status,
+    Optional<String> consentType,
+    Optional<Map<String, String>> consentData,
+    Optional<OffsetDateTime> expiryTime
+) {
+    /**
+     * Apply patch to a stored consent.
+     *
+     * @param storedConsent consent to patch, not modified
+     * @return new consent with the patch applied
+     */
+    public Consent applyTo(final Consent storedConsent) {
+        return new Consent()
+            .serviceId(storedConsent.getServiceId())
+            .userId(storedConsent.getUserId())
+            .consentId(storedConsent.getConsentId())
+            .consentVersion(consentVersion)
+            .status(status == null ? storedConsent.getStatus() : status.orElse(null))
+            .consentType(consentType == null ? storedConsent.getConsentType() : consentType.orElse(null))
+            .consentData(consentData == null ? storedConsent.getConsentData() : consentData.orElse(null))
+            .expiryTime(expiryTime == null ? storedConsent.getExpiryTime() : expiryTime.orElse(null));
+    }
+}
@@ -0,0 +1,86 @@
+package com.consentframework.consentmanagement.api.domain.repositories;
+
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentFilter;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.shared.api.domain.pagination.ListPage;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking interface specifying supported integrations with service user consent data.
+ *
+ * Operations return without waiting for the data store, and their futures complete exceptionally with the
+ * same exceptions thrown by the equivalent ServiceUserConsentRepository operations.
+ */
+public interface AsyncServiceUserConsentRepository {
+    /**
+     * Save new consent to repository if does not yet exist.
+     *
+     * @param consent Consent object to save to the repository
+     * @return future completed once the consent is saved, or completed exceptionally with a BadRequestException
+     *     if consent violates model constraints, ConflictingResourceException if consent already exists with same key,
+     *     or InternalServiceException if unexpected server error creating consent
+     */
+    CompletableFuture<Void> createServiceUserConsent(final Consent consent);
+
+    /**
+     * Retrieve consent from repository if exists.
+     *
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @param consentId consent ID, specific to the service-user pair
+     * @return future of specific consent for the service-user-consent ID tuple, or completed exceptionally with
+     *     a ResourceNotFoundException if no such consent exists, or InternalServiceException if unexpected error querying repository
+     */
+    CompletableFuture<Consent> getServiceUserConsent(final String serviceId, final String userId, final String consentId);
+
+    /**
+     * Update existing consent with new data.
+     *
+     * @param consent Consent object to save to the repository
+     * @return future completed once the consent is saved, or completed exceptionally with a BadRequestException
+     *     if consent violates model constraints, ConflictingResourceException if stored consent has conflicting data,
+     *     ResourceNotFoundException if no such consent exists, or InternalServiceException if unexpected server-side error
+     */
+    CompletableFuture<Void> updateServiceUserConsent(final Consent consent);
+
+    /**
+     * List user's consents for a given service.
+     *
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @param limit maximum number of consents to retrieve
+     * @param pageToken pagination token for backend consents query
+     * @return future of page of matching Consents with next page token if applicable, or completed exceptionally
+     *     with a BadRequestException if receive invalid input, or InternalServiceException if unexpected error querying repository
+     */
+    CompletableFuture<ListPage<Consent>> listServiceUserConsents(final String serviceId, final String userId,
+        final Integer limit, final String pageToken);
+
+    /**
+     * List user's consents for a given service that match a consent filter.
+     *
+     * The default implementation filters each page of all consents, so that pages may hold fewer consents than the limit
+     * even if more match, repositories backed by data stores with indexed filtering should override it.
+     *
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @param filter consent filter
+     * @param limit maximum number of consents to retrieve
+     * @param pageToken pagination token for backend consents query
+     * @return future of page of matching Consents with next page token if applicable, or completed exceptionally
+     *     with a BadRequestException if receive invalid input, or InternalServiceException if unexpected error querying repository
+     */
+    default CompletableFuture<ListPage<Consent>> listServiceUserConsents(final String serviceId, final String userId,
+            final ServiceUserConsentFilter filter, final Integer limit, final String pageToken) {
+        final CompletableFuture<ListPage<Consent>> page = listServiceUserConsents(serviceId, userId, limit, pageToken);
+        if (filter == null || filter.isEmpty()) {
+            return page;
+        }
+        return page.thenApply(consentsPage -> new ListPage<Consent>(consentsPage.resultsOnPage()
+            .stream()
+            .filter(filter::matches)
+            .collect(Collectors.toList()), consentsPage.nextPageToken()));
+    }
+}
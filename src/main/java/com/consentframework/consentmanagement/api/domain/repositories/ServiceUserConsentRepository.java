@@ -1,5 +1,10 @@
 package com.consentframework.consentmanagement.api.domain.repositories;
 
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentBatchGetResult;
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentFilter;
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentPatch;
+import com.consentframework.consentmanagement.api.domain.validators.ConsentValidator;
+import com.consentframework.consentmanagement.api.domain.validators.ServiceUserConsentPatchValidator;
 import com.consentframework.consentmanagement.api.models.Consent;
 import com.consentframework.shared.api.domain.exceptions.BadRequestException;
 import com.consentframework.shared.api.domain.exceptions.ConflictingResourceException;
@@ -7,12 +12,21 @@ import com.consentframework.shared.api.domain.exceptions.InternalServiceExceptio
 import com.consentframework.shared.api.domain.exceptions.ResourceNotFoundException;
 import com.consentframework.shared.api.domain.pagination.ListPage;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 /**
  * Interface specifying supported integrations with service user consent data.
  */
 public interface ServiceUserConsentRepository {
     public static final String CONSENT_ALREADY_EXISTS_MESSAGE = "Consent already exists with serviceId: %s, userId: %s, consentId: %s";
     public static final String CONSENT_NOT_FOUND_MESSAGE = "No consent found with serviceId: %s, userId: %s, consentId: %s";
+    public static final String EXPORT_PAGE_FAILURE_MESSAGE = "Unable to export consents with serviceId: %s, userId: %s";
+    public static final int EXPORT_PAGE_SIZE = 100;
 
     /**
      * Save new consent to repository if does not yet exist.
@@ -25,6 +39,17 @@ public interface ServiceUserConsentRepository {
     void createServiceUserConsent(final Consent consent) throws BadRequestException, ConflictingResourceException,
         InternalServiceException;
 
+    /**
+     * Save new consents to repository, only if none of them exist yet.
+     *
+     * @param consents Consent objects to save to the repository
+     * @throws BadRequestException exception thrown if any consent violates model constraints
+     * @throws ConflictingResourceException exception thrown if any consent already exists with same key, in which case none are saved
+     * @throws InternalServiceException exception thrown if unexpected server error creating consents
+     */
+    void createServiceUserConsents(final List<Consent> consents) throws BadRequestException, ConflictingResourceException,
+        InternalServiceException;
+
     /**
      * Retrieve consent from repository if exists.
      *
@@ -50,6 +75,31 @@ public interface ServiceUserConsentRepository {
     void updateServiceUserConsent(final Consent consent) throws BadRequestException, ConflictingResourceException,
         ResourceNotFoundException, InternalServiceException;
 
+    /**
+     * Partially update existing consent, only if the stored consent has the previous consentVersion.
+     *
+     * The default implementation retrieves the stored consent and saves the patched consent, repositories backed by
+     * data stores with partial update support should override it.
+     *
+     * @param patch consent patch
+     * @return updated consent
+     * @throws BadRequestException exception thrown if patch violates model constraints
+     * @throws ConflictingResourceException exception thrown if stored consent is not the previous consentVersion
+     * @throws InternalServiceException exception thrown if unexpected server-side error updating consent
+     * @throws ResourceNotFoundException exception thrown if no such consent exists
+     */
+    default Consent patchServiceUserConsent(final ServiceUserConsentPatch patch) throws BadRequestException,
+            ConflictingResourceException, InternalServiceException, ResourceNotFoundException {
+        ServiceUserConsentPatchValidator.validate(patch);
+
+        final Consent storedConsent = getServiceUserConsent(patch.serviceId(), patch.userId(), patch.consentId());
+        final Consent patchedConsent = patch.applyTo(storedConsent);
+        ServiceUserConsentPatchValidator.validatePatchedConsent(patchedConsent);
+        ConsentValidator.validateNextConsentVersion(storedConsent, patchedConsent);
+        updateServiceUserConsent(patchedConsent);
+        return patchedConsent;
+    }
+
     /**
      * List user's consents for a given service.
      *
@@ -59,7 +109,97 @@ public interface ServiceUserConsentRepository {
      * @param pageToken pagination token for backend consents query
      * @return page of matching Consents with next page token if applicable
      * @throws BadRequestException exception thrown when receive invalid input
+     * @throws InternalServiceException exception thrown if unexpected error querying repository
      */
     ListPage<Consent> listServiceUserConsents(final String serviceId, final String userId,
-        final Integer limit, final String pageToken) throws BadRequestException;
+        final Integer limit, final String pageToken) throws BadRequestException, InternalServiceException;
+
+    /**
+     * List user's consents for a given service that match a consent filter.
+     *
+     * The default implementation filters each page of all consents, so that pages may hold fewer consents than the limit
+     * even if more match, repositories backed by data stores with indexed filtering should override it.
+     *
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @param filter consent filter
+     * @param limit maximum number of consents to retrieve
+     * @param pageToken pagination token for backend consents query
+     * @return page of matching Consents with next page token if applicable
+     * @throws BadRequestException exception thrown when receive invalid input
+     * @throws InternalServiceException exception thrown if unexpected error querying repository
+     */
+    default ListPage<Consent> listServiceUserConsents(final String serviceId, final String userId, final ServiceUserConsentFilter filter,
+            final Integer limit, final String pageToken) throws BadRequestException, InternalServiceException {
+        final ListPage<Consent> page = listServiceUserConsents(serviceId, userId, limit, pageToken);
+        if (filter == null || filter.isEmpty()) {
+            return page;
+        }
+        final List<Consent> matchingConsents = page.resultsOnPage()
+            .stream()
+            .filter(filter::matches)
+            .collect(Collectors.toList());
+        return new ListPage<Consent>(matchingConsents, page.nextPageToken());
+    }
+
+    /**
+     * Export all of a user's consents for a given service, retrieving them a page at a time as the returned stream
+     * is consumed, so that memory is bounded by the page size rather than the number of consents.
+     *
+     * The default implementation follows list page tokens, repositories backed by data stores with lazy
+     * pagination should override it.
+     *
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @return stream of the user's consents, to close once consumed, which throws IllegalStateException
+     *     if unable to retrieve a page
+     * @throws BadRequestException exception thrown when receive invalid input
+     */
+    default Stream<Consent> exportServiceUserConsents(final String serviceId, final String userId) throws BadRequestException {
+        final ListPage<Consent> firstPage;
+        try {
+            firstPage = listServiceUserConsents(serviceId, userId, EXPORT_PAGE_SIZE, null);
+        } catch (final InternalServiceException internalServiceException) {
+            throw new IllegalStateException(String.format(EXPORT_PAGE_FAILURE_MESSAGE, serviceId, userId), internalServiceException);
+        }
+        return Stream.iterate(firstPage, Objects::nonNull, page -> listNextExportPage(serviceId, userId, page))
+            .flatMap(page -> page.resultsOnPage().stream());
+    }
+
+    private ListPage<Consent> listNextExportPage(final String serviceId, final String userId, final ListPage<Consent> page) {
+        if (page.nextPageToken().isEmpty()) {
+            return null;
+        }
+        try {
+            return listServiceUserConsents(serviceId, userId, EXPORT_PAGE_SIZE, page.nextPageToken().get());
+        } catch (final BadRequestException | InternalServiceException exception) {
+            throw new IllegalStateException(String.format(EXPORT_PAGE_FAILURE_MESSAGE, serviceId, userId), exception);
+        }
+    }
+
+    /**
+     * Retrieve a batch of consents for a service-user pair, reporting missing consents rather than failing.
+     *
+     * The default implementation retrieves each consent individually, repositories backed by data stores
+     * with batch read support should override it.
+     *
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @param consentIds consent IDs, specific to the service-user pair, duplicates are only retrieved once
+     * @return retrieved consents and missing consent IDs, each in the order they were requested
+     * @throws InternalServiceException exception thrown if unexpected error querying repository
+     */
+    default ServiceUserConsentBatchGetResult batchGetServiceUserConsents(final String serviceId, final String userId,
+            final List<String> consentIds) throws InternalServiceException {
+        final List<Consent> consents = new ArrayList<Consent>();
+        final List<String> missingConsentIds = new ArrayList<String>();
+        for (final String consentId : new LinkedHashSet<String>(consentIds)) {
+            try {
+                consents.add(getServiceUserConsent(serviceId, userId, consentId));
+            } catch (final ResourceNotFoundException resourceNotFoundException) {
+                missingConsentIds.add(consentId);
+            }
+        }
+        return new ServiceUserConsentBatchGetResult(consents, missingConsentIds);
+    }
 }
@@ -0,0 +1,39 @@
+package com.consentframework.consentmanagement.api.domain.validators;
+
+import com.consentframework.consentmanagement.api.domain.entities.BatchCreateServiceUserConsentsRequestContent;
+import com.consentframework.consentmanagement.api.models.CreateServiceUserConsentRequestContent;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+
+/**
+ * Validator for BatchCreateServiceUserConsents API request body.
+ */
+public final class BatchCreateServiceUserConsentsRequestValidator {
+    // TransactWriteItems accepts at most 100 actions per transaction
+    public static final int MAX_CONSENTS = 100;
+
+    public static final String MISSING_CONSENTS_MESSAGE = "Missing required inputs, must provide at least one consent";
+    public static final String TOO_MANY_CONSENTS_MESSAGE = "Too many consents, received %d but at most %d are supported";
+
+    /**
+     * No constructor needed since this is a utility class.
+     */
+    private BatchCreateServiceUserConsentsRequestValidator() {}
+
+    /**
+     * Validate that request content has between one and MAX_CONSENTS consents, each with all required fields.
+     *
+     * @param requestContent batch create consents request body
+     * @throws BadRequestException exception thrown if consents are missing, too many, or missing required fields
+     */
+    public static void validate(final BatchCreateServiceUserConsentsRequestContent requestContent) throws BadRequestException {
+        if (requestContent == null || requestContent.consents() == null || requestContent.consents().isEmpty()) {
+            throw new BadRequestException(MISSING_CONSENTS_MESSAGE);
+        }
+        if (requestContent.consents().size() > MAX_CONSENTS) {
+            throw new BadRequestException(String.format(TOO_MANY_CONSENTS_MESSAGE, requestContent.consents().size(), MAX_CONSENTS));
+        }
+        for (final CreateServiceUserConsentRequestContent consentContent : requestContent.consents()) {
+            CreateServiceUserConsentRequestValidator.validate(consentContent);
+        }
+    }
+}
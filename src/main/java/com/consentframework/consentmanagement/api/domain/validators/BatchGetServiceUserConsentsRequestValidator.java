@@ -0,0 +1,41 @@
+package com.consentframework.consentmanagement.api.domain.validators;
+
+import com.consentframework.consentmanagement.api.domain.entities.BatchGetServiceUserConsentsRequestContent;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+
+/**
+ * Validator for BatchGetServiceUserConsents API request body.
+ */
+public final class BatchGetServiceUserConsentsRequestValidator {
+    public static final int MAX_CONSENT_IDS = 100;
+
+    public static final String MISSING_CONSENT_IDS_MESSAGE = "Missing required inputs, must provide at least one consentId";
+    public static final String TOO_MANY_CONSENT_IDS_MESSAGE = "Too many consentIds, received %d but at most %d are supported";
+    public static final String BLANK_CONSENT_ID_MESSAGE = "Invalid consentIds, must not contain null or blank values";
+
+    /**
+     * No constructor needed since this is a utility class.
+     */
+    private BatchGetServiceUserConsentsRequestValidator() {}
+
+    /**
+     * Validate that request content has between one and MAX_CONSENT_IDS non-blank consent IDs.
+     *
+     * @param requestContent batch get consents request body
+     * @throws BadRequestException exception thrown if consent IDs are missing, blank, or too many
+     */
+    public static void validate(final BatchGetServiceUserConsentsRequestContent requestContent) throws BadRequestException {
+        if (requestContent == null || requestContent.consentIds() == null || requestContent.consentIds().isEmpty()) {
+            throw new BadRequestException(MISSING_CONSENT_IDS_MESSAGE);
+        }
+        if (requestContent.consentIds().size() > MAX_CONSENT_IDS) {
+            throw new BadRequestException(String.format(TOO_MANY_CONSENT_IDS_MESSAGE, requestContent.consentIds().size(),
+                MAX_CONSENT_IDS));
+        }
+        for (final String consentId : requestContent.consentIds()) {
+            if (consentId == null || consentId.isBlank()) {
+                throw new BadRequestException(BLANK_CONSENT_ID_MESSAGE);
+            }
+        }
+    }
+}
@@ -5,6 +5,8 @@ import com.consentframework.shared.api.domain.exceptions.BadRequestException;
 import com.consentframework.shared.api.domain.exceptions.ConflictingResourceException;
 import software.amazon.smithy.utils.StringUtils;
 
+import java.util.Map;
+
 /**
  * Utility class for validating Consent objects before
  * pushing them to a backend repository.
@@ -16,8 +18,14 @@ public final class ConsentValidator {
     public static final String CONSENT_ID_BLANK_MESSAGE = "consentId must not be blank";
     public static final String CONSENT_VERSION_NULL_MESSAGE = "consentVersion must not be null";
     public static final String STATUS_NULL_MESSAGE = "status must not be null";
+    public static final String CONSENT_TYPE_BLANK_MESSAGE = "consentType must not be blank";
+    public static final String CONSENT_DATA_TOO_MANY_ENTRIES_MESSAGE = "consentData must not have more than %d entries, received %d";
+    public static final String CONSENT_DATA_ENTRY_TOO_LONG_MESSAGE = "consentData keys and values must not be longer than %d characters";
     public static final String VERSION_CONFLICT_MESSAGE = "Expected consent version %d, received %d, indicating state conflict";
 
+    public static final int MAX_CONSENT_DATA_ENTRIES = 100;
+    public static final int MAX_CONSENT_DATA_ENTRY_LENGTH = 1024;
+
     private ConsentValidator() {}
 
     /**
@@ -45,6 +53,42 @@ public final class ConsentValidator {
         if (consent.getStatus() == null) {
             throw new BadRequestException(STATUS_NULL_MESSAGE);
         }
+        validateConsentType(consent.getConsentType());
+        validateConsentData(consent.getConsentData());
+    }
+
+    /**
+     * Validate optional consentType is not blank if present.
+     *
+     * @param consentType consent type, null if not set
+     * @throws BadRequestException exception thrown if consentType is blank
+     */
+    public static void validateConsentType(final String consentType) throws BadRequestException {
+        if (consentType != null && StringUtils.isBlank(consentType)) {
+            throw new BadRequestException(CONSENT_TYPE_BLANK_MESSAGE);
+        }
+    }
+
+    /**
+     * Validate optional consentData is within the entry count and entry length limits if present.
+     *
+     * @param consentData consent data, null if not set
+     * @throws BadRequestException exception thrown if consentData is oversized
+     */
+    public static void validateConsentData(final Map<String, String> consentData) throws BadRequestException {
+        if (consentData == null) {
+            return;
+        }
+        if (consentData.size() > MAX_CONSENT_DATA_ENTRIES) {
+            throw new BadRequestException(String.format(CONSENT_DATA_TOO_MANY_ENTRIES_MESSAGE, MAX_CONSENT_DATA_ENTRIES,
+                consentData.size()));
+        }
+        for (final Map.Entry<String, String> entry : consentData.entrySet()) {
+            if (entry.getKey().length() > MAX_CONSENT_DATA_ENTRY_LENGTH
+                    || (entry.getValue() != null && entry.getValue().length() > MAX_CONSENT_DATA_ENTRY_LENGTH)) {
+                throw new BadRequestException(String.format(CONSENT_DATA_ENTRY_TOO_LONG_MESSAGE, MAX_CONSENT_DATA_ENTRY_LENGTH));
+            }
+        }
     }
 
     /**
@@ -58,7 +102,7 @@ public final class ConsentValidator {
             throws ConflictingResourceException {
         final Integer expectedNextVersion = existingConsent.getConsentVersion() + 1;
         final Integer receivedVersion = updatedConsent.getConsentVersion();
-        if (receivedVersion != expectedNextVersion) {
+        if (!expectedNextVersion.equals(receivedVersion)) {
             throw new ConflictingResourceException(String.format(VERSION_CONFLICT_MESSAGE, expectedNextVersion.longValue(),
                 receivedVersion.longValue()));
         }
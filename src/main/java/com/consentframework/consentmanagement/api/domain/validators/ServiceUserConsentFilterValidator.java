@@ -0,0 +1,31 @@
+package com.consentframework.consentmanagement.api.domain.validators;
+
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentFilter;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+
+/**
+ * Validator for ServiceUserConsentFilter objects.
+ *
+ * Consents are filtered by status, optionally narrowed down to a consent type, so that repositories can serve
+ * filters from keys ordered by status then consent type. A consent type can only be filtered on with a status.
+ */
+public final class ServiceUserConsentFilterValidator {
+    public static final String CONSENT_TYPE_WITHOUT_STATUS_MESSAGE = "consentType filter requires a status filter";
+
+    /**
+     * No constructor needed since this is a utility class.
+     */
+    private ServiceUserConsentFilterValidator() {}
+
+    /**
+     * Validate filter narrows down a status filter, if it filters on consent type.
+     *
+     * @param filter consent filter
+     * @throws BadRequestException exception thrown if filter is on consent type without status
+     */
+    public static void validate(final ServiceUserConsentFilter filter) throws BadRequestException {
+        if (filter != null && filter.status() == null && filter.consentType() != null) {
+            throw new BadRequestException(CONSENT_TYPE_WITHOUT_STATUS_MESSAGE);
+        }
+    }
+}
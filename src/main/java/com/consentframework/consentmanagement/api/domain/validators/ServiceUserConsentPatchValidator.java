@@ -0,0 +1,85 @@
+package com.consentframework.consentmanagement.api.domain.validators;
+
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentPatch;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import software.amazon.smithy.utils.StringUtils;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+
+/**
+ * Validator for ServiceUserConsentPatch objects, applying the Consent model constraints to the patched fields.
+ */
+public final class ServiceUserConsentPatchValidator {
+    public static final String PATCH_NULL_MESSAGE = "consent patch must not be null";
+    public static final String STATUS_REMOVED_MESSAGE = "status must not be removed";
+    public static final String EXPIRY_TIME_PAST_MESSAGE = "expiryTime must be in the future for an active consent";
+
+    /**
+     * No constructor needed since this is a utility class.
+     */
+    private ServiceUserConsentPatchValidator() {}
+
+    /**
+     * Validate patch identifies a consent, has a new consent version, does not remove required fields,
+     * and sets fields satisfying the Consent model constraints.
+     *
+     * Patches are validated before being applied, without the stored consent, so a patch setting an expiryTime
+     * that has already passed must also set a status other than ACTIVE.
+     *
+     * @param patch consent patch
+     * @throws BadRequestException exception thrown if patch violates model constraints
+     */
+    public static void validate(final ServiceUserConsentPatch patch) throws BadRequestException {
+        if (patch == null) {
+            throw new BadRequestException(PATCH_NULL_MESSAGE);
+        }
+        if (StringUtils.isBlank(patch.serviceId())) {
+            throw new BadRequestException(ConsentValidator.SERVICE_ID_BLANK_MESSAGE);
+        }
+        if (StringUtils.isBlank(patch.userId())) {
+            throw new BadRequestException(ConsentValidator.USER_ID_BLANK_MESSAGE);
+        }
+        if (StringUtils.isBlank(patch.consentId())) {
+            throw new BadRequestException(ConsentValidator.CONSENT_ID_BLANK_MESSAGE);
+        }
+        if (patch.consentVersion() == null) {
+            throw new BadRequestException(ConsentValidator.CONSENT_VERSION_NULL_MESSAGE);
+        }
+        if (patch.status() != null && patch.status().isEmpty()) {
+            throw new BadRequestException(STATUS_REMOVED_MESSAGE);
+        }
+        if (patch.consentType() != null && patch.consentType().isPresent()) {
+            ConsentValidator.validateConsentType(patch.consentType().get());
+        }
+        if (patch.consentData() != null && patch.consentData().isPresent()) {
+            ConsentValidator.validateConsentData(patch.consentData().get());
+        }
+        if (patch.expiryTime() != null && patch.expiryTime().isPresent()) {
+            final ConsentStatus patchedStatus = patch.status() == null ? ConsentStatus.ACTIVE : patch.status().get();
+            validateExpiryTime(patchedStatus, patch.expiryTime().get());
+        }
+    }
+
+    /**
+     * Validate consent resulting from applying a patch to the stored consent satisfies the Consent model constraints,
+     * and does not keep an ACTIVE status past its expiryTime.
+     *
+     * @param patchedConsent consent after applying the patch
+     * @throws BadRequestException exception thrown if patched consent violates model constraints
+     */
+    public static void validatePatchedConsent(final Consent patchedConsent) throws BadRequestException {
+        ConsentValidator.validate(patchedConsent);
+        if (patchedConsent.getExpiryTime() != null) {
+            validateExpiryTime(patchedConsent.getStatus(), patchedConsent.getExpiryTime());
+        }
+    }
+
+    private static void validateExpiryTime(final ConsentStatus status, final OffsetDateTime expiryTime) throws BadRequestException {
+        if (ConsentStatus.ACTIVE.equals(status) && !expiryTime.toInstant().isAfter(Instant.now())) {
+            throw new BadRequestException(EXPIRY_TIME_PAST_MESSAGE);
+        }
+    }
+}
@@ -2,6 +2,10 @@ package com.consentframework.consentmanagement.api.infrastructure.constants;
 
 /**
  * Attribute names for the ServiceUserConsent DynamoDB table.
+ *
+ * Items are written in the compact item format, with short names for non-key attributes. Legacy names are
+ * still read, from items written before the compact format, until they are next written. Key attributes
+ * keep their names, since the table and its indexes are keyed on them.
  */
 public enum DynamoDbServiceUserConsentAttributeName {
     ID("id"),
@@ -14,7 +18,15 @@ public enum DynamoDbServiceUserConsentAttributeName {
     CONSENT_DATA("consentData"),
     EXPIRY_HOUR("expiryHour"),
     EXPIRY_TIME("expiryTime"),
-    EXPIRY_TIME_ID("expiryTimeId");
+    EXPIRY_TIME_ID("expiryTimeId"),
+    SERVICE_USER_ID("serviceUserId"),
+    STATUS_TYPE_ID("statusTypeId"),
+    ITEM_FORMAT("f"),
+    COMPACT_CONSENT_VERSION("v"),
+    COMPACT_CONSENT_STATUS("s"),
+    COMPACT_CONSENT_TYPE("t"),
+    COMPACT_CONSENT_DATA("d"),
+    COMPACT_EXPIRY_TIME("e");
 
     private final String value;
 
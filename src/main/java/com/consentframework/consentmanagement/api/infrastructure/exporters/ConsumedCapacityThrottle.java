@@ -0,0 +1,137 @@
+package com.consentframework.consentmanagement.api.infrastructure.exporters;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.dynamodb.model.RequestLimitExceededException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Throttle shared by concurrent DynamoDB callers, pacing requests so that the read or write capacity they consume
+ * stays under a target rate of capacity units per second.
+ *
+ * Capacity is paid for after each request, since it is only known from the response, by delaying whichever request
+ * comes next. The rate adapts to the table's headroom: it is halved whenever a request is throttled by DynamoDB,
+ * and recovers by a small step after every request that is not, up to the target rate. Throttled requests are retried
+ * with exponential backoff.
+ */
+public final class ConsumedCapacityThrottle {
+    private static final Logger logger = LogManager.getLogger(ConsumedCapacityThrottle.class);
+
+    static final int MAX_THROTTLED_ATTEMPTS = 10;
+    static final long BASE_THROTTLED_BACKOFF_MILLIS = 100;
+    static final long MAX_THROTTLED_BACKOFF_MILLIS = 10_000;
+    static final double RATE_INCREASE_FRACTION = 0.01;
+    static final double MIN_RATE_FRACTION = 0.01;
+
+    private final double maxUnitsPerSecond;
+    private final LongSupplier nanoClock;
+    private double unitsPerSecond;
+    private long nextAvailableNanos;
+
+    /**
+     * Construct consumed capacity throttle.
+     *
+     * @param maxUnitsPerSecond target capacity units consumed per second, across all callers
+     */
+    public ConsumedCapacityThrottle(final double maxUnitsPerSecond) {
+        this(maxUnitsPerSecond, System::nanoTime);
+    }
+
+    /**
+     * Construct consumed capacity throttle with the given clock.
+     *
+     * @param maxUnitsPerSecond target capacity units consumed per second, across all callers
+     * @param nanoClock monotonic clock, in nanoseconds
+     */
+    ConsumedCapacityThrottle(final double maxUnitsPerSecond, final LongSupplier nanoClock) {
+        if (!(maxUnitsPerSecond > 0)) {
+            throw new IllegalArgumentException("Capacity units per second must be positive, but was " + maxUnitsPerSecond);
+        }
+        this.maxUnitsPerSecond = maxUnitsPerSecond;
+        this.nanoClock = nanoClock;
+        this.unitsPerSecond = maxUnitsPerSecond;
+        this.nextAvailableNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Pay for capacity consumed by a request, waiting until earlier requests have been paid for.
+     *
+     * @param consumedUnits capacity units consumed by the request
+     * @throws InterruptedException exception thrown if interrupted while waiting
+     */
+    public void acquire(final double consumedUnits) throws InterruptedException {
+        final long waitNanos = reserve(consumedUnits);
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Send a DynamoDB request, paying for the capacity it consumed, and retrying it with exponential backoff
+     * while it is throttled.
+     *
+     * @param <T> response type
+     * @param call DynamoDB request to send, returning its response
+     * @param consumedCapacity consumed capacity of a response, or null if not returned
+     * @param requestDescription description of the request, for logging throttled attempts
+     * @return response of the first unthrottled attempt
+     * @throws InterruptedException exception thrown if interrupted while waiting for capacity or backing off
+     */
+    public <T> T callWithRetries(final Supplier<T> call, final Function<T, ConsumedCapacity> consumedCapacity,
+            final String requestDescription) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                final T response = call.get();
+                final ConsumedCapacity responseConsumedCapacity = consumedCapacity.apply(response);
+                acquire(responseConsumedCapacity == null || responseConsumedCapacity.capacityUnits() == null
+                    ? 0
+                    : responseConsumedCapacity.capacityUnits());
+                return response;
+            } catch (final ProvisionedThroughputExceededException | RequestLimitExceededException throttledException) {
+                recordThrottled();
+                if (attempt >= MAX_THROTTLED_ATTEMPTS) {
+                    throw throttledException;
+                }
+                logger.warn("{} throttled on attempt {}, reducing rate to {} units per second", requestDescription, attempt,
+                    getUnitsPerSecond());
+                TimeUnit.MILLISECONDS.sleep(Math.min(MAX_THROTTLED_BACKOFF_MILLIS, BASE_THROTTLED_BACKOFF_MILLIS << attempt));
+            }
+        }
+    }
+
+    /**
+     * Record that a request was throttled by DynamoDB, halving the rate.
+     */
+    public synchronized void recordThrottled() {
+        unitsPerSecond = Math.max(maxUnitsPerSecond * MIN_RATE_FRACTION, unitsPerSecond / 2);
+    }
+
+    /**
+     * Get the current rate.
+     *
+     * @return capacity units per second
+     */
+    public synchronized double getUnitsPerSecond() {
+        return unitsPerSecond;
+    }
+
+    /**
+     * Reserve capacity consumed by a request, and increase the rate after the unthrottled request.
+     *
+     * @param consumedUnits capacity units consumed by the request
+     * @return nanoseconds to wait before the reservation starts
+     */
+    synchronized long reserve(final double consumedUnits) {
+        final long nowNanos = nanoClock.getAsLong();
+        final long startNanos = Math.max(nowNanos, nextAvailableNanos);
+        nextAvailableNanos = startNanos + (long) (Math.max(0, consumedUnits) / unitsPerSecond * TimeUnit.SECONDS.toNanos(1));
+        unitsPerSecond = Math.min(maxUnitsPerSecond, unitsPerSecond + maxUnitsPerSecond * RATE_INCREASE_FRACTION);
+        return startNanos - nowNanos;
+    }
+}
@@ -0,0 +1,119 @@
+package com.consentframework.consentmanagement.api.infrastructure.exporters;
+
+import com.consentframework.consentmanagement.api.infrastructure.mappers.DynamoDbServiceUserConsentMapper;
+import com.consentframework.consentmanagement.api.infrastructure.mappers.DynamoDbServiceUserConsentPatchMapper;
+import com.consentframework.consentmanagement.api.models.Consent;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Backfills the index keys of ServiceUserConsent items written before their indexes, scanning the table in parallel
+ * segments as the table exporter does.
+ *
+ * Each scanned item is reconciled as patched items are, setting its serviceUserId, statusTypeId and expiry index keys
+ * and migrating it to the compact item format, only if its consentVersion is unchanged. Items updated concurrently
+ * are skipped, since writes store all index keys. Items already reconciled are not written, so the backfill can be
+ * run again from the start if interrupted, with writes paced by their own ConsumedCapacityThrottle.
+ */
+public class DynamoDbServiceUserConsentIndexBackfiller {
+    private static final Logger logger = LogManager.getLogger(DynamoDbServiceUserConsentIndexBackfiller.class);
+
+    private final DynamoDbClient dynamoDbClient;
+    private final String tableName;
+    private final int totalSegments;
+    private final ConsumedCapacityThrottle writeThrottle;
+    private final ParallelTableScanner scanner;
+
+    /**
+     * Construct ServiceUserConsent index backfiller.
+     *
+     * @param dynamoDbClient DynamoDB client
+     * @param tableName ServiceUserConsent table name
+     * @param totalSegments number of segments to scan in parallel
+     * @param scanPageSize maximum number of items to scan per request
+     * @param readThrottle throttle pacing scan requests across all segments
+     * @param writeThrottle throttle pacing update requests across all segments
+     */
+    public DynamoDbServiceUserConsentIndexBackfiller(final DynamoDbClient dynamoDbClient, final String tableName, final int totalSegments,
+            final int scanPageSize, final ConsumedCapacityThrottle readThrottle, final ConsumedCapacityThrottle writeThrottle) {
+        if (totalSegments < 1 || scanPageSize < 1) {
+            throw new IllegalArgumentException(String.format("Total segments %d and scan page size %d must be positive",
+                totalSegments, scanPageSize));
+        }
+        this.dynamoDbClient = dynamoDbClient;
+        this.tableName = tableName;
+        this.totalSegments = totalSegments;
+        this.writeThrottle = writeThrottle;
+        this.scanner = new ParallelTableScanner(dynamoDbClient, tableName, totalSegments, scanPageSize, readThrottle);
+    }
+
+    /**
+     * Backfill the index keys of all items in the table.
+     *
+     * @return number of items updated
+     * @throws IOException exception thrown if interrupted while waiting for capacity
+     */
+    public long backfill() throws IOException {
+        final long updatedItems = scanner.scanSegments(this::backfillSegment);
+        logger.info("Backfilled index keys of {} consents from {} segments of table {}", updatedItems, totalSegments, tableName);
+        return updatedItems;
+    }
+
+    /**
+     * Backfill the index keys of items in a table scan segment.
+     *
+     * @param segment scan segment
+     * @return number of items updated in the segment
+     * @throws IOException exception thrown if interrupted while waiting for capacity
+     */
+    long backfillSegment(final int segment) throws IOException {
+        long scannedItems = 0;
+        long updatedItems = 0;
+        Map<String, AttributeValue> exclusiveStartKey = null;
+        do {
+            final ScanResponse scanResponse = scanner.scan(segment, exclusiveStartKey);
+            for (final Map<String, AttributeValue> item : scanResponse.items()) {
+                scannedItems++;
+                final Consent consent = DynamoDbServiceUserConsentMapper.dynamoDbAttributeMapToConsent(item);
+                final Optional<UpdateItemRequest> reconcileRequest = DynamoDbServiceUserConsentPatchMapper
+                    .toReconcileUpdateItemRequest(tableName, consent, item);
+                if (reconcileRequest.isPresent() && update(segment, reconcileRequest.get())) {
+                    updatedItems++;
+                }
+            }
+            exclusiveStartKey = ParallelTableScanner.nextExclusiveStartKey(scanResponse);
+        } while (exclusiveStartKey != null);
+
+        logger.info("Backfilled index keys of {} of {} consents scanned from segment {}", updatedItems, scannedItems, segment);
+        return updatedItems;
+    }
+
+    private boolean update(final int segment, final UpdateItemRequest reconcileRequest) throws InterruptedIOException {
+        final UpdateItemRequest updateItemRequest = reconcileRequest.toBuilder()
+            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+            .build();
+        try {
+            writeThrottle.callWithRetries(() -> dynamoDbClient.updateItem(updateItemRequest), UpdateItemResponse::consumedCapacity,
+                "Backfill of segment " + segment);
+            return true;
+        } catch (final ConditionalCheckFailedException conditionFailedException) {
+            logger.debug("Skipped backfilling consent {}, updated since scanned", updateItemRequest.key());
+            return false;
+        } catch (final InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while backfilling segment " + segment);
+        }
+    }
+}
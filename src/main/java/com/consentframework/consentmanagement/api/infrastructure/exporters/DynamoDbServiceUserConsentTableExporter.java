@@ -0,0 +1,209 @@
+package com.consentframework.consentmanagement.api.infrastructure.exporters;
+
+import com.consentframework.consentmanagement.api.infrastructure.constants.DynamoDbServiceUserConsentAttributeName;
+import com.consentframework.consentmanagement.api.infrastructure.mappers.DynamoDbServiceUserConsentMapper;
+import com.consentframework.consentmanagement.api.usecases.utils.ConsentManagementApiCodecs;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports a snapshot of the ServiceUserConsent table to local files, scanning the table in parallel segments.
+ *
+ * Each segment is scanned on its own fork-join pool worker, with eventually consistent reads paced by a shared
+ * ConsumedCapacityThrottle so that the export leaves read capacity for live traffic. Scanned items are written as
+ * newline delimited Consent JSON to gzip compressed shard files, through buffered file channels.
+ *
+ * A shard file is only moved into place once it is complete and synced, after which the segment's checkpoint is
+ * updated with the last item scanned into it. Exporting again into the same directory resumes each segment from
+ * its checkpoint, discarding any partially written shard file, and skips segments that are already complete.
+ */
+public class DynamoDbServiceUserConsentTableExporter {
+    private static final Logger logger = LogManager.getLogger(DynamoDbServiceUserConsentTableExporter.class);
+
+    public static final int DEFAULT_TOTAL_SEGMENTS = 16;
+    public static final int DEFAULT_SCAN_PAGE_SIZE = 1000;
+    public static final int DEFAULT_ITEMS_PER_SHARD = 100_000;
+
+    static final String SHARD_FILE_FORMAT = "consents-%05d-%05d.ndjson.gz";
+    static final String CHECKPOINT_FILE_FORMAT = "segment-%05d.checkpoint.json";
+    static final String IN_PROGRESS_SUFFIX = ".inprogress";
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final String ID_ATTRIBUTE = DynamoDbServiceUserConsentAttributeName.ID.getValue();
+    private static final ObjectWriter CONSENT_WRITER = ConsentManagementApiCodecs.CONSENT_WRITER
+        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    private static final ObjectWriter CHECKPOINT_WRITER = ConsentManagementApiCodecs.OBJECT_MAPPER.writerFor(ScanSegmentCheckpoint.class);
+
+    private final String tableName;
+    private final int totalSegments;
+    private final int itemsPerShard;
+    private final ParallelTableScanner scanner;
+
+    /**
+     * Construct ServiceUserConsent table exporter.
+     *
+     * @param dynamoDbClient DynamoDB client
+     * @param tableName ServiceUserConsent table name
+     * @param totalSegments number of segments to scan in parallel, which must stay the same when resuming an export
+     * @param scanPageSize maximum number of items to scan per request
+     * @param itemsPerShard number of items after which to start a new shard file, checked after each scanned page
+     * @param throttle throttle pacing scan requests across all segments
+     */
+    public DynamoDbServiceUserConsentTableExporter(final DynamoDbClient dynamoDbClient, final String tableName, final int totalSegments,
+            final int scanPageSize, final int itemsPerShard, final ConsumedCapacityThrottle throttle) {
+        if (totalSegments < 1 || scanPageSize < 1 || itemsPerShard < 1) {
+            throw new IllegalArgumentException(String.format("Total segments %d, scan page size %d and items per shard %d must be positive",
+                totalSegments, scanPageSize, itemsPerShard));
+        }
+        this.tableName = tableName;
+        this.totalSegments = totalSegments;
+        this.itemsPerShard = itemsPerShard;
+        this.scanner = new ParallelTableScanner(dynamoDbClient, tableName, totalSegments, scanPageSize, throttle);
+    }
+
+    /**
+     * Export the table to shard files in the output directory, resuming from any checkpoints already in it.
+     *
+     * @param outputDirectory directory to write shard and checkpoint files to, created if it does not exist
+     * @return total number of items exported, including items exported before resuming
+     * @throws IOException exception thrown if unable to write or read files in the output directory
+     */
+    public long export(final Path outputDirectory) throws IOException {
+        Files.createDirectories(outputDirectory);
+
+        final long exportedItems = scanner.scanSegments(segment -> exportSegment(outputDirectory, segment));
+        logger.info("Exported {} consents from {} segments of table {} to {}", exportedItems, totalSegments, tableName,
+            outputDirectory);
+        return exportedItems;
+    }
+
+    /**
+     * Export a table scan segment, resuming from its checkpoint.
+     *
+     * @param outputDirectory directory to write shard and checkpoint files to
+     * @param segment scan segment
+     * @return number of items exported from the segment
+     * @throws IOException exception thrown if unable to write or read files in the output directory
+     */
+    long exportSegment(final Path outputDirectory, final int segment) throws IOException {
+        final Path checkpointPath = outputDirectory.resolve(String.format(CHECKPOINT_FILE_FORMAT, segment));
+        ScanSegmentCheckpoint checkpoint = Files.exists(checkpointPath)
+            ? ConsentManagementApiCodecs.OBJECT_MAPPER.readValue(checkpointPath.toFile(), ScanSegmentCheckpoint.class)
+            : ScanSegmentCheckpoint.START;
+        if (checkpoint.complete()) {
+            return checkpoint.exportedItems();
+        }
+
+        // Discard any shard file left partially written by an interrupted export
+        final Path nextShardPath = outputDirectory.resolve(String.format(SHARD_FILE_FORMAT, segment, checkpoint.nextShard()));
+        Files.deleteIfExists(nextShardPath.resolveSibling(nextShardPath.getFileName() + IN_PROGRESS_SUFFIX));
+
+        Map<String, AttributeValue> exclusiveStartKey = checkpoint.lastEvaluatedId() == null
+            ? null
+            : Map.of(ID_ATTRIBUTE, AttributeValue.fromS(checkpoint.lastEvaluatedId()));
+        ShardWriter shardWriter = null;
+        try {
+            do {
+                final ScanResponse scanResponse = scanner.scan(segment, exclusiveStartKey);
+                for (final Map<String, AttributeValue> item : scanResponse.items()) {
+                    if (shardWriter == null) {
+                        shardWriter = new ShardWriter(outputDirectory.resolve(String.format(SHARD_FILE_FORMAT, segment,
+                            checkpoint.nextShard())));
+                    }
+                    shardWriter.write(item);
+                }
+                exclusiveStartKey = ParallelTableScanner.nextExclusiveStartKey(scanResponse);
+
+                final boolean complete = exclusiveStartKey == null;
+                if (complete || shardWriter != null && shardWriter.items >= itemsPerShard) {
+                    int nextShard = checkpoint.nextShard();
+                    long exportedItems = checkpoint.exportedItems();
+                    if (shardWriter != null) {
+                        shardWriter.commit();
+                        nextShard++;
+                        exportedItems += shardWriter.items;
+                        shardWriter = null;
+                    }
+                    checkpoint = new ScanSegmentCheckpoint(nextShard,
+                        complete ? null : exclusiveStartKey.get(ID_ATTRIBUTE).s(), exportedItems, complete);
+                    writeCheckpoint(checkpointPath, checkpoint);
+                }
+            } while (exclusiveStartKey != null);
+        } finally {
+            if (shardWriter != null) {
+                shardWriter.close();
+            }
+        }
+
+        logger.info("Exported {} consents from segment {}", checkpoint.exportedItems(), segment);
+        return checkpoint.exportedItems();
+    }
+
+    private static void writeCheckpoint(final Path checkpointPath, final ScanSegmentCheckpoint checkpoint) throws IOException {
+        final Path inProgressPath = checkpointPath.resolveSibling(checkpointPath.getFileName() + IN_PROGRESS_SUFFIX);
+        Files.write(inProgressPath, CHECKPOINT_WRITER.writeValueAsBytes(checkpoint));
+        Files.move(inProgressPath, checkpointPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Writes items to a shard file, under an in progress name until committed.
+     */
+    private static final class ShardWriter implements Closeable {
+        private final Path shardPath;
+        private final Path inProgressPath;
+        private final FileChannel channel;
+        private final GZIPOutputStream compressedOutput;
+        private final JsonGenerator generator;
+        private long items;
+
+        ShardWriter(final Path shardPath) throws IOException {
+            this.shardPath = shardPath;
+            this.inProgressPath = shardPath.resolveSibling(shardPath.getFileName() + IN_PROGRESS_SUFFIX);
+            this.channel = FileChannel.open(inProgressPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+            this.compressedOutput = new GZIPOutputStream(
+                new BufferedOutputStream(Channels.newOutputStream(channel), WRITE_BUFFER_SIZE), WRITE_BUFFER_SIZE);
+            this.generator = ConsentManagementApiCodecs.OBJECT_MAPPER.getFactory().createGenerator(compressedOutput);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        void write(final Map<String, AttributeValue> item) throws IOException {
+            CONSENT_WRITER.writeValue(generator, DynamoDbServiceUserConsentMapper.dynamoDbAttributeMapToConsent(item));
+            generator.writeRaw('\n');
+            items++;
+        }
+
+        void commit() throws IOException {
+            generator.close();
+            compressedOutput.finish();
+            compressedOutput.flush();
+            channel.force(true);
+            compressedOutput.close();
+            Files.move(inProgressPath, shardPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        @Override
+        public void close() throws IOException {
+            compressedOutput.close();
+        }
+    }
+}
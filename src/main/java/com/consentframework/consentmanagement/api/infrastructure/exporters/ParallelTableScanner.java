@@ -0,0 +1,135 @@
+package com.consentframework.consentmanagement.api.infrastructure.exporters;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Scans a DynamoDB table in parallel segments, each on its own fork-join pool worker, with eventually consistent
+ * reads paced by a shared ConsumedCapacityThrottle, and throttled scan requests retried with exponential backoff.
+ */
+final class ParallelTableScanner {
+    private static final Logger logger = LogManager.getLogger(ParallelTableScanner.class);
+
+    private final DynamoDbClient dynamoDbClient;
+    private final String tableName;
+    private final int totalSegments;
+    private final int scanPageSize;
+    private final ConsumedCapacityThrottle throttle;
+
+    /**
+     * Construct parallel table scanner.
+     *
+     * @param dynamoDbClient DynamoDB client
+     * @param tableName table name
+     * @param totalSegments number of segments to scan in parallel
+     * @param scanPageSize maximum number of items to scan per request
+     * @param throttle throttle pacing scan requests across all segments
+     */
+    ParallelTableScanner(final DynamoDbClient dynamoDbClient, final String tableName, final int totalSegments,
+            final int scanPageSize, final ConsumedCapacityThrottle throttle) {
+        this.dynamoDbClient = dynamoDbClient;
+        this.tableName = tableName;
+        this.totalSegments = totalSegments;
+        this.scanPageSize = scanPageSize;
+        this.throttle = throttle;
+    }
+
+    /**
+     * Run a task for each scan segment in parallel, and wait for all of them to complete.
+     *
+     * @param segmentTask task scanning a segment, returning the number of items it processed
+     * @return total number of items processed across segments
+     * @throws IOException exception thrown by any segment task
+     */
+    long scanSegments(final SegmentTask segmentTask) throws IOException {
+        final List<ForkJoinTask<Long>> segmentScans = new ArrayList<ForkJoinTask<Long>>(totalSegments);
+        try (ForkJoinPool pool = new ForkJoinPool(totalSegments)) {
+            for (int segment = 0; segment < totalSegments; segment++) {
+                final int scanSegment = segment;
+                segmentScans.add(pool.submit(() -> {
+                    try {
+                        return segmentTask.run(scanSegment);
+                    } catch (final IOException ioException) {
+                        throw new UncheckedIOException(ioException);
+                    }
+                }));
+            }
+
+            long processedItems = 0;
+            for (final ForkJoinTask<Long> segmentScan : segmentScans) {
+                processedItems += segmentScan.join();
+            }
+            return processedItems;
+        } catch (final UncheckedIOException uncheckedIOException) {
+            throw uncheckedIOException.getCause();
+        }
+    }
+
+    /**
+     * Scan a page of a segment, waiting for read capacity and retrying throttled requests.
+     *
+     * @param segment scan segment
+     * @param exclusiveStartKey key of the last item scanned in the segment, or null to scan from its start
+     * @return scan response
+     * @throws InterruptedIOException exception thrown if interrupted while waiting for read capacity
+     */
+    ScanResponse scan(final int segment, final Map<String, AttributeValue> exclusiveStartKey) throws InterruptedIOException {
+        final ScanRequest scanRequest = ScanRequest.builder()
+            .tableName(tableName)
+            .segment(segment)
+            .totalSegments(totalSegments)
+            .limit(scanPageSize)
+            .exclusiveStartKey(exclusiveStartKey)
+            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+            .build();
+
+        try {
+            return throttle.callWithRetries(() -> dynamoDbClient.scan(scanRequest), ScanResponse::consumedCapacity,
+                "Scan of segment " + segment);
+        } catch (final InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while scanning segment " + segment);
+        }
+    }
+
+    /**
+     * Get the key to resume scanning a segment from, after a scanned page.
+     *
+     * @param scanResponse scan response
+     * @return key of the last item scanned, or null if the segment is complete
+     */
+    static Map<String, AttributeValue> nextExclusiveStartKey(final ScanResponse scanResponse) {
+        return scanResponse.hasLastEvaluatedKey() && !scanResponse.lastEvaluatedKey().isEmpty()
+            ? scanResponse.lastEvaluatedKey()
+            : null;
+    }
+
+    /**
+     * Task scanning a single segment.
+     */
+    @FunctionalInterface
+    interface SegmentTask {
+        /**
+         * Scan a segment.
+         *
+         * @param segment scan segment
+         * @return number of items processed from the segment
+         * @throws IOException exception thrown if unable to process the segment
+         */
+        long run(int segment) throws IOException;
+    }
+}
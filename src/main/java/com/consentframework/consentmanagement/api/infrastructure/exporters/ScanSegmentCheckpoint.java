@@ -0,0 +1,13 @@
+package com.consentframework.consentmanagement.api.infrastructure.exporters;
+
+/**
+ * Progress of a table scan segment export, as of its last completed shard file.
+ *
+ * @param nextShard number of the next shard file to write
+ * @param lastEvaluatedId id of the last item scanned into a completed shard file, or null if none yet
+ * @param exportedItems number of items written to completed shard files
+ * @param complete whether the whole segment has been exported
+ */
+public record ScanSegmentCheckpoint(int nextShard, String lastEvaluatedId, long exportedItems, boolean complete) {
+    public static final ScanSegmentCheckpoint START = new ScanSegmentCheckpoint(0, null, 0, false);
+}
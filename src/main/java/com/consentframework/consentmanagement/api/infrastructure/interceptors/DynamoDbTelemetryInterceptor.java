@@ -0,0 +1,229 @@
+package com.consentframework.consentmanagement.api.infrastructure.interceptors;
+
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiMetrics;
+import com.consentframework.consentmanagement.api.usecases.metrics.DynamoDbCall;
+import com.consentframework.consentmanagement.api.usecases.metrics.InvocationMetrics;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.SdkResponse;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactGetItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * DynamoDB client interceptor recording the attempts, throttling, per-attempt latency and consumed capacity of every
+ * DynamoDB call with ApiMetrics.
+ *
+ * Requests are sent with ReturnConsumedCapacity TOTAL unless they already ask for consumed capacity, which includes
+ * the capacity consumed by the consents by service user index. Calls are attributed to the invocation started on the
+ * thread that makes them, so calls completed on asynchronous client threads are attributed too. The SDK does not
+ * surface why an attempt was retried, so throttled attempts that succeed on retry are reported as retries, while
+ * calls that fail because they were throttled are reported as throttles.
+ */
+public class DynamoDbTelemetryInterceptor implements ExecutionInterceptor {
+    private static final Logger logger = LogManager.getLogger(DynamoDbTelemetryInterceptor.class);
+
+    static final String RETURN_CONSUMED_CAPACITY_FIELD = "ReturnConsumedCapacity";
+    static final String CONSUMED_CAPACITY_FIELD = "ConsumedCapacity";
+    static final Set<String> READ_OPERATIONS = Set.of("GetItem", "BatchGetItem", "Query", "Scan", "TransactGetItems");
+
+    private static final ExecutionAttribute<CallTelemetry> CALL_TELEMETRY = new ExecutionAttribute<CallTelemetry>("DynamoDbCallTelemetry");
+
+    /**
+     * Attribute call to the invocation started on the calling thread.
+     *
+     * @param context execution context
+     * @param executionAttributes execution attributes
+     */
+    @Override
+    public void beforeExecution(final Context.BeforeExecution context, final ExecutionAttributes executionAttributes) {
+        executionAttributes.putAttribute(CALL_TELEMETRY, new CallTelemetry(ApiMetrics.currentInvocation()));
+    }
+
+    /**
+     * Ask DynamoDB to return consumed capacity.
+     *
+     * @param context execution context
+     * @param executionAttributes execution attributes
+     * @return request returning consumed capacity
+     */
+    @Override
+    public SdkRequest modifyRequest(final Context.ModifyRequest context, final ExecutionAttributes executionAttributes) {
+        return withConsumedCapacity(context.request());
+    }
+
+    /**
+     * Start timing attempt.
+     *
+     * @param context execution context
+     * @param executionAttributes execution attributes
+     */
+    @Override
+    public void beforeTransmission(final Context.BeforeTransmission context, final ExecutionAttributes executionAttributes) {
+        getCallTelemetry(executionAttributes).startAttempt();
+    }
+
+    /**
+     * Finish timing attempt.
+     *
+     * @param context execution context
+     * @param executionAttributes execution attributes
+     */
+    @Override
+    public void afterTransmission(final Context.AfterTransmission context, final ExecutionAttributes executionAttributes) {
+        getCallTelemetry(executionAttributes).finishAttempt();
+    }
+
+    /**
+     * Record successful call.
+     *
+     * @param context execution context
+     * @param executionAttributes execution attributes
+     */
+    @Override
+    public void afterExecution(final Context.AfterExecution context, final ExecutionAttributes executionAttributes) {
+        recordCall(executionAttributes, context.response(), false);
+    }
+
+    /**
+     * Record failed call.
+     *
+     * @param context execution context
+     * @param executionAttributes execution attributes
+     */
+    @Override
+    public void onExecutionFailure(final Context.FailedExecution context, final ExecutionAttributes executionAttributes) {
+        final boolean throttled = context.exception() instanceof AwsServiceException serviceException
+            && serviceException.isThrottlingException();
+        final DynamoDbCall call = recordCall(executionAttributes, context.response().orElse(null), throttled);
+        if (throttled) {
+            logger.warn("DynamoDB {} call throttled after {} attempts", call.operation(), call.attempts());
+        }
+    }
+
+    /**
+     * Ask DynamoDB to return total consumed capacity, if the request supports it and does not already ask for it.
+     *
+     * @param request DynamoDB request
+     * @return request returning consumed capacity
+     */
+    static SdkRequest withConsumedCapacity(final SdkRequest request) {
+        if (request.getValueForField(RETURN_CONSUMED_CAPACITY_FIELD, String.class).isPresent()) {
+            return request;
+        }
+        final ReturnConsumedCapacity total = ReturnConsumedCapacity.TOTAL;
+        return switch (request) {
+            case GetItemRequest getItemRequest -> getItemRequest.toBuilder().returnConsumedCapacity(total).build();
+            case PutItemRequest putItemRequest -> putItemRequest.toBuilder().returnConsumedCapacity(total).build();
+            case UpdateItemRequest updateItemRequest -> updateItemRequest.toBuilder().returnConsumedCapacity(total).build();
+            case DeleteItemRequest deleteItemRequest -> deleteItemRequest.toBuilder().returnConsumedCapacity(total).build();
+            case QueryRequest queryRequest -> queryRequest.toBuilder().returnConsumedCapacity(total).build();
+            case ScanRequest scanRequest -> scanRequest.toBuilder().returnConsumedCapacity(total).build();
+            case BatchGetItemRequest batchGetItemRequest -> batchGetItemRequest.toBuilder().returnConsumedCapacity(total).build();
+            case BatchWriteItemRequest batchWriteItemRequest -> batchWriteItemRequest.toBuilder().returnConsumedCapacity(total).build();
+            case TransactGetItemsRequest transactGetItemsRequest ->
+                transactGetItemsRequest.toBuilder().returnConsumedCapacity(total).build();
+            case TransactWriteItemsRequest transactWriteItemsRequest ->
+                transactWriteItemsRequest.toBuilder().returnConsumedCapacity(total).build();
+            default -> request;
+        };
+    }
+
+    private static DynamoDbCall recordCall(final ExecutionAttributes executionAttributes, final SdkResponse response,
+            final boolean throttled) {
+        final String operation = executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+        final CallTelemetry callTelemetry = getCallTelemetry(executionAttributes);
+        callTelemetry.finishAttempt();
+
+        double readCapacityUnits = 0;
+        double writeCapacityUnits = 0;
+        final Object consumedCapacity = response == null ? null : response.getValueForField(CONSUMED_CAPACITY_FIELD, Object.class)
+            .orElse(null);
+        final List<?> consumedCapacities = switch (consumedCapacity) {
+            case ConsumedCapacity tableCapacity -> List.of(tableCapacity);
+            case List<?> tableCapacities -> tableCapacities;
+            case null, default -> List.of();
+        };
+        for (final Object capacity : consumedCapacities) {
+            if (capacity instanceof ConsumedCapacity tableCapacity) {
+                readCapacityUnits += getReadCapacityUnits(operation, tableCapacity);
+                writeCapacityUnits += getWriteCapacityUnits(operation, tableCapacity);
+            }
+        }
+
+        final DynamoDbCall call = new DynamoDbCall(operation, callTelemetry.attempts, callTelemetry.attemptNanos, throttled,
+            readCapacityUnits, writeCapacityUnits);
+        ApiMetrics.recordDynamoDbCall(callTelemetry.invocationMetrics, call);
+        return call;
+    }
+
+    private static double getReadCapacityUnits(final String operation, final ConsumedCapacity capacity) {
+        if (capacity.readCapacityUnits() != null || capacity.writeCapacityUnits() != null) {
+            return capacity.readCapacityUnits() == null ? 0 : capacity.readCapacityUnits();
+        }
+        return READ_OPERATIONS.contains(operation) && capacity.capacityUnits() != null ? capacity.capacityUnits() : 0;
+    }
+
+    private static double getWriteCapacityUnits(final String operation, final ConsumedCapacity capacity) {
+        if (capacity.readCapacityUnits() != null || capacity.writeCapacityUnits() != null) {
+            return capacity.writeCapacityUnits() == null ? 0 : capacity.writeCapacityUnits();
+        }
+        return !READ_OPERATIONS.contains(operation) && capacity.capacityUnits() != null ? capacity.capacityUnits() : 0;
+    }
+
+    private static CallTelemetry getCallTelemetry(final ExecutionAttributes executionAttributes) {
+        CallTelemetry callTelemetry = executionAttributes.getAttribute(CALL_TELEMETRY);
+        if (callTelemetry == null) {
+            callTelemetry = new CallTelemetry(ApiMetrics.currentInvocation());
+            executionAttributes.putAttribute(CALL_TELEMETRY, callTelemetry);
+        }
+        return callTelemetry;
+    }
+
+    /**
+     * Attempts of a single DynamoDB call, which the SDK makes one at a time.
+     */
+    private static final class CallTelemetry {
+        private final InvocationMetrics invocationMetrics;
+        private int attempts;
+        private long attemptStartNanos;
+        private long attemptNanos;
+        private boolean attemptInProgress;
+
+        private CallTelemetry(final InvocationMetrics invocationMetrics) {
+            this.invocationMetrics = invocationMetrics;
+        }
+
+        private void startAttempt() {
+            attempts++;
+            attemptStartNanos = System.nanoTime();
+            attemptInProgress = true;
+        }
+
+        private void finishAttempt() {
+            if (attemptInProgress) {
+                attemptNanos += System.nanoTime() - attemptStartNanos;
+                attemptInProgress = false;
+            }
+        }
+    }
+}
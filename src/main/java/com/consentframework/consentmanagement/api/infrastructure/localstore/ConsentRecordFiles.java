@@ -0,0 +1,111 @@
+package com.consentframework.consentmanagement.api.infrastructure.localstore;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Record format shared by the local consent store's log segments and snapshots.
+ *
+ * Each record is framed by a header holding the payload length and the payload's CRC-32C checksum, so that a
+ * record torn by a crash mid-write, or zero-filled space after the last record, is detected when reading and
+ * treated as the end of the file.
+ */
+final class ConsentRecordFiles {
+    static final int HEADER_BYTES = 2 * Integer.BYTES;
+    static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+    static final long MAX_MAPPED_WINDOW_BYTES = 256L * 1024 * 1024;
+
+    private ConsentRecordFiles() {}
+
+    /**
+     * Frame record payloads for appending to a file.
+     *
+     * @param payloads record payloads
+     * @return buffer holding the framed records, ready to be written
+     */
+    static ByteBuffer frame(final List<byte[]> payloads) {
+        int framedBytes = 0;
+        for (final byte[] payload : payloads) {
+            if (payload.length == 0 || payload.length > MAX_RECORD_BYTES) {
+                throw new IllegalArgumentException("Record payload must be 1 to " + MAX_RECORD_BYTES + " bytes, but was "
+                    + payload.length);
+            }
+            framedBytes += HEADER_BYTES + payload.length;
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocate(framedBytes);
+        for (final byte[] payload : payloads) {
+            buffer.putInt(payload.length).putInt(checksum(payload)).put(payload);
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Read a file's records in order, mapping the file into memory a window at a time, and stopping at the first
+     * record that is incomplete or fails its checksum.
+     *
+     * @param channel file channel to read from
+     * @param recordConsumer consumer of each valid record's payload
+     * @return length of the file's valid records, after which any remaining bytes are not valid records
+     * @throws IOException exception thrown if unable to read the file
+     */
+    static long readRecords(final FileChannel channel, final Consumer<byte[]> recordConsumer) throws IOException {
+        final long fileSize = channel.size();
+        long position = 0;
+        while (position < fileSize) {
+            final long windowSize = Math.min(MAX_MAPPED_WINDOW_BYTES, fileSize - position);
+            final MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+            final int validBytes = readWindowRecords(window, recordConsumer);
+            if (position + windowSize == fileSize || validBytes == 0) {
+                return position + validBytes;
+            }
+            // The window may have ended mid-record, so map the next window from the first record not yet read
+            position += validBytes;
+        }
+        return position;
+    }
+
+    /**
+     * Sync a directory, so that files created, renamed or deleted in it survive a crash. Not all platforms support
+     * syncing directories, in which case this is skipped.
+     *
+     * @param directory directory to sync
+     */
+    static void syncDirectory(final Path directory) {
+        try (FileChannel directoryChannel = FileChannel.open(directory)) {
+            directoryChannel.force(true);
+        } catch (final IOException unsupportedException) {
+            // Directories cannot be opened or synced on some platforms, which instead persist metadata on file sync
+        }
+    }
+
+    private static int readWindowRecords(final ByteBuffer window, final Consumer<byte[]> recordConsumer) {
+        int position = 0;
+        while (window.limit() - position >= HEADER_BYTES) {
+            final int payloadLength = window.getInt(position);
+            if (payloadLength <= 0 || payloadLength > MAX_RECORD_BYTES || window.limit() - position - HEADER_BYTES < payloadLength) {
+                break;
+            }
+            final byte[] payload = new byte[payloadLength];
+            window.get(position + HEADER_BYTES, payload);
+            if (checksum(payload) != window.getInt(position + Integer.BYTES)) {
+                break;
+            }
+            recordConsumer.accept(payload);
+            position += HEADER_BYTES + payloadLength;
+        }
+        return position;
+    }
+
+    private static int checksum(final byte[] payload) {
+        final CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
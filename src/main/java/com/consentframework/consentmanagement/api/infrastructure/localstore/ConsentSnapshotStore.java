@@ -0,0 +1,164 @@
+package com.consentframework.consentmanagement.api.infrastructure.localstore;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+
+/**
+ * Snapshots of the local consent store, each holding the latest version of every consent written to the log's
+ * segments before a given segment, so that restarting only replays the segments from that one on.
+ *
+ * A snapshot is written to an in-progress file that is synced and then atomically renamed into place, so that a
+ * snapshot file is only ever seen complete, and loading one maps it into memory rather than reading it through a
+ * buffer. An in-progress file left by a crash is deleted when the next snapshot is written.
+ */
+public class ConsentSnapshotStore {
+    private static final Logger logger = LogManager.getLogger(ConsentSnapshotStore.class);
+
+    static final String SNAPSHOT_FILE_PREFIX = "snapshot-";
+    static final String SNAPSHOT_FILE_SUFFIX = ".dat";
+    static final String SNAPSHOT_FILE_FORMAT = SNAPSHOT_FILE_PREFIX + "%020d" + SNAPSHOT_FILE_SUFFIX;
+    static final String IN_PROGRESS_SUFFIX = ".inprogress";
+    static final String CORRUPT_SNAPSHOT_MESSAGE = "Consent snapshot %s is corrupt after byte %d of %d";
+
+    private static final int WRITE_BUFFER_SIZE = 1024 * 1024;
+
+    private final Path directory;
+
+    /**
+     * Construct consent snapshot store.
+     *
+     * @param directory directory holding the snapshot files
+     */
+    public ConsentSnapshotStore(final Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Get the number of the segment the latest snapshot was taken before.
+     *
+     * @return segment number of the latest snapshot, or empty if there are no snapshots
+     * @throws IOException exception thrown if unable to list snapshots
+     */
+    public OptionalLong latestSnapshot() throws IOException {
+        final List<Long> snapshotNumbers = listSnapshotNumbers();
+        return snapshotNumbers.isEmpty() ? OptionalLong.empty() : OptionalLong.of(snapshotNumbers.get(snapshotNumbers.size() - 1));
+    }
+
+    /**
+     * Write a snapshot, replacing any earlier snapshot taken before the same segment.
+     *
+     * @param segmentNumber number of the segment the snapshot is taken before
+     * @param payloads record payloads to write to the snapshot
+     * @return number of records written
+     * @throws IOException exception thrown if unable to write the snapshot
+     */
+    public long write(final long segmentNumber, final Iterator<byte[]> payloads) throws IOException {
+        final Path snapshotPath = snapshotPath(segmentNumber);
+        final Path inProgressPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + IN_PROGRESS_SUFFIX);
+        long writtenRecords = 0;
+        try (FileChannel channel = FileChannel.open(inProgressPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            final List<byte[]> bufferedPayloads = new ArrayList<byte[]>();
+            int bufferedBytes = 0;
+            while (payloads.hasNext()) {
+                final byte[] payload = payloads.next();
+                bufferedPayloads.add(payload);
+                bufferedBytes += ConsentRecordFiles.HEADER_BYTES + payload.length;
+                if (bufferedBytes >= WRITE_BUFFER_SIZE) {
+                    writeFully(channel, ConsentRecordFiles.frame(bufferedPayloads));
+                    writtenRecords += bufferedPayloads.size();
+                    bufferedPayloads.clear();
+                    bufferedBytes = 0;
+                }
+            }
+            writeFully(channel, ConsentRecordFiles.frame(bufferedPayloads));
+            writtenRecords += bufferedPayloads.size();
+            channel.force(true);
+        }
+        Files.move(inProgressPath, snapshotPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        ConsentRecordFiles.syncDirectory(directory);
+        logger.info("Wrote consent snapshot of {} records before log segment {}", writtenRecords, segmentNumber);
+        return writtenRecords;
+    }
+
+    /**
+     * Load a snapshot's records, mapping the snapshot file into memory.
+     *
+     * @param segmentNumber number of the segment the snapshot was taken before
+     * @param recordConsumer consumer of each record's payload
+     * @throws IOException exception thrown if unable to read the snapshot, or it is corrupt
+     */
+    public void load(final long segmentNumber, final Consumer<byte[]> recordConsumer) throws IOException {
+        final Path snapshotPath = snapshotPath(segmentNumber);
+        try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            final long validBytes = ConsentRecordFiles.readRecords(channel, recordConsumer);
+            if (validBytes < channel.size()) {
+                throw new IOException(String.format(CORRUPT_SNAPSHOT_MESSAGE, snapshotPath, validBytes, channel.size()));
+            }
+        }
+    }
+
+    /**
+     * Delete snapshots taken before a given segment, and any in-progress snapshot files, once a later snapshot
+     * is durable.
+     *
+     * @param segmentNumber segment number of the earliest snapshot to keep
+     * @throws IOException exception thrown if unable to list or delete snapshots
+     */
+    public void deleteSnapshotsBefore(final long segmentNumber) throws IOException {
+        for (final long number : listSnapshotNumbers()) {
+            if (number < segmentNumber) {
+                Files.deleteIfExists(snapshotPath(number));
+            }
+        }
+        try (DirectoryStream<Path> inProgressFiles = Files.newDirectoryStream(directory,
+                SNAPSHOT_FILE_PREFIX + "*" + IN_PROGRESS_SUFFIX)) {
+            for (final Path inProgressFile : inProgressFiles) {
+                Files.deleteIfExists(inProgressFile);
+            }
+        }
+        ConsentRecordFiles.syncDirectory(directory);
+    }
+
+    Path snapshotPath(final long segmentNumber) {
+        return directory.resolve(String.format(SNAPSHOT_FILE_FORMAT, segmentNumber));
+    }
+
+    private List<Long> listSnapshotNumbers() throws IOException {
+        final List<Long> snapshotNumbers = new ArrayList<Long>();
+        try (DirectoryStream<Path> snapshots = Files.newDirectoryStream(directory, SNAPSHOT_FILE_PREFIX + "*" + SNAPSHOT_FILE_SUFFIX)) {
+            for (final Path snapshot : snapshots) {
+                final String fileName = snapshot.getFileName().toString();
+                try {
+                    snapshotNumbers.add(Long.parseLong(fileName.substring(SNAPSHOT_FILE_PREFIX.length(),
+                        fileName.length() - SNAPSHOT_FILE_SUFFIX.length())));
+                } catch (final NumberFormatException unrelatedFileException) {
+                    logger.warn("Ignoring unexpected file {} in consent snapshot directory", fileName);
+                }
+            }
+        }
+        Collections.sort(snapshotNumbers);
+        return snapshotNumbers;
+    }
+
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
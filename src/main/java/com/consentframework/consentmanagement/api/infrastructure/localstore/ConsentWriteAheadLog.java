@@ -0,0 +1,306 @@
+package com.consentframework.consentmanagement.api.infrastructure.localstore;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Append-only write-ahead log of consent records, split into numbered segment files.
+ *
+ * Appends return once their records are synced to disk. Syncs use group commit: records are written to the current
+ * segment in append order, and whichever appender finds no sync in progress syncs everything written so far on
+ * behalf of all waiting appenders, while later appenders write their records and wait for the next sync. Under
+ * concurrent load, each sync therefore covers many appends.
+ *
+ * The log is rotated to a new segment when it is compacted, after which older segments can be deleted once their
+ * records are covered by a snapshot. Any failure to write or sync leaves the log failed, since the segment may no
+ * longer hold complete records, and later appends fail until the log is reopened and recovered.
+ */
+public class ConsentWriteAheadLog implements Closeable {
+    private static final Logger logger = LogManager.getLogger(ConsentWriteAheadLog.class);
+
+    static final String SEGMENT_FILE_PREFIX = "consents-";
+    static final String SEGMENT_FILE_SUFFIX = ".log";
+    static final String SEGMENT_FILE_FORMAT = SEGMENT_FILE_PREFIX + "%020d" + SEGMENT_FILE_SUFFIX;
+    static final String LOG_FAILED_MESSAGE = "Consent log in %s failed, and must be reopened";
+    static final String LOG_CLOSED_MESSAGE = "Consent log in %s is closed";
+
+    private final Path directory;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition syncCompleted = lock.newCondition();
+    private FileChannel segmentChannel;
+    private long segmentNumber;
+    private long segmentBytes;
+    private long writtenBytes;
+    private long syncedBytes;
+    private boolean syncInProgress;
+    private IOException failure;
+    private boolean closed;
+
+    /**
+     * Open consent log for appending to the end of a segment, which should already have been recovered.
+     *
+     * @param directory directory holding the log's segment files
+     * @param segmentNumber number of the segment to append to, created if it does not exist
+     * @throws IOException exception thrown if unable to open the segment
+     */
+    public ConsentWriteAheadLog(final Path directory, final long segmentNumber) throws IOException {
+        this.directory = directory;
+        this.segmentNumber = segmentNumber;
+        this.segmentChannel = openSegment(directory, segmentNumber);
+        this.segmentBytes = segmentChannel.size();
+    }
+
+    /**
+     * Append records to the log, returning once they are synced to disk.
+     *
+     * @param payloads record payloads to append, in order
+     * @throws IOException exception thrown if unable to write or sync the records, or the log has failed or is closed
+     */
+    public void append(final List<byte[]> payloads) throws IOException {
+        final ByteBuffer records = ConsentRecordFiles.frame(payloads);
+        final long appendedBytes;
+        lock.lock();
+        try {
+            checkWritable();
+            final int recordBytes = records.remaining();
+            try {
+                while (records.hasRemaining()) {
+                    segmentChannel.write(records);
+                }
+            } catch (final IOException writeException) {
+                failure = writeException;
+                throw writeException;
+            }
+            segmentBytes += recordBytes;
+            writtenBytes += recordBytes;
+            appendedBytes = writtenBytes;
+        } finally {
+            lock.unlock();
+        }
+        awaitSynced(appendedBytes);
+    }
+
+    /**
+     * Sync the current segment and continue the log in a new segment.
+     *
+     * @return number of the new segment, which holds all records appended after rotating
+     * @throws IOException exception thrown if unable to sync the current segment or create the new one
+     */
+    public long rotate() throws IOException {
+        lock.lock();
+        try {
+            checkWritable();
+            syncWrittenBytes();
+            final FileChannel nextSegmentChannel;
+            try {
+                nextSegmentChannel = openSegment(directory, segmentNumber + 1);
+            } catch (final IOException openException) {
+                failure = openException;
+                throw openException;
+            }
+            ConsentRecordFiles.syncDirectory(directory);
+            segmentChannel.close();
+            segmentChannel = nextSegmentChannel;
+            segmentNumber++;
+            segmentBytes = 0;
+            return segmentNumber;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the number of bytes in the current segment.
+     *
+     * @return current segment size, in bytes
+     */
+    public long segmentBytes() {
+        lock.lock();
+        try {
+            return segmentBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sync and close the log. Appends waiting for a sync when the log is closed are synced before it closes.
+     *
+     * @throws IOException exception thrown if unable to sync or close the current segment
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            try {
+                if (failure == null) {
+                    syncWrittenBytes();
+                }
+            } finally {
+                closed = true;
+                segmentChannel.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replay the records of the log's segments from a given segment on, in order, truncating any torn or corrupt
+     * records at the end of each segment, so that the last segment can be appended to again.
+     *
+     * @param directory directory holding the log's segment files
+     * @param firstSegmentNumber number of the first segment to replay, earlier segments are skipped
+     * @param recordConsumer consumer of each replayed record's payload
+     * @return number of the last segment replayed, or the first segment number if there are none
+     * @throws IOException exception thrown if unable to read or truncate a segment
+     */
+    public static long recover(final Path directory, final long firstSegmentNumber, final Consumer<byte[]> recordConsumer)
+            throws IOException {
+        long lastSegmentNumber = firstSegmentNumber;
+        for (final long number : listSegmentNumbers(directory)) {
+            if (number < firstSegmentNumber) {
+                continue;
+            }
+            try (FileChannel channel = FileChannel.open(segmentPath(directory, number), StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                final long validBytes = ConsentRecordFiles.readRecords(channel, recordConsumer);
+                if (validBytes < channel.size()) {
+                    logger.warn("Truncating {} bytes of incomplete or corrupt records from consent log segment {}",
+                        channel.size() - validBytes, number);
+                    channel.truncate(validBytes);
+                    channel.force(true);
+                }
+            }
+            lastSegmentNumber = number;
+        }
+        return lastSegmentNumber;
+    }
+
+    /**
+     * Delete the log's segments before a given segment, once a snapshot covers their records.
+     *
+     * @param directory directory holding the log's segment files
+     * @param segmentNumber number of the first segment to keep
+     * @throws IOException exception thrown if unable to list or delete segments
+     */
+    public static void deleteSegmentsBefore(final Path directory, final long segmentNumber) throws IOException {
+        for (final long number : listSegmentNumbers(directory)) {
+            if (number < segmentNumber) {
+                Files.deleteIfExists(segmentPath(directory, number));
+            }
+        }
+        ConsentRecordFiles.syncDirectory(directory);
+    }
+
+    static Path segmentPath(final Path directory, final long segmentNumber) {
+        return directory.resolve(String.format(SEGMENT_FILE_FORMAT, segmentNumber));
+    }
+
+    static List<Long> listSegmentNumbers(final Path directory) throws IOException {
+        final List<Long> segmentNumbers = new ArrayList<Long>();
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory, SEGMENT_FILE_PREFIX + "*" + SEGMENT_FILE_SUFFIX)) {
+            for (final Path segment : segments) {
+                final String fileName = segment.getFileName().toString();
+                try {
+                    segmentNumbers.add(Long.parseLong(fileName.substring(SEGMENT_FILE_PREFIX.length(),
+                        fileName.length() - SEGMENT_FILE_SUFFIX.length())));
+                } catch (final NumberFormatException unrelatedFileException) {
+                    logger.warn("Ignoring unexpected file {} in consent log directory", fileName);
+                }
+            }
+        }
+        Collections.sort(segmentNumbers);
+        return segmentNumbers;
+    }
+
+    private void awaitSynced(final long appendedBytes) throws IOException {
+        lock.lock();
+        try {
+            while (syncedBytes < appendedBytes) {
+                checkNotFailed();
+                if (syncInProgress) {
+                    syncCompleted.awaitUninterruptibly();
+                    continue;
+                }
+
+                // Sync everything written so far, outside the lock so that other appenders can write meanwhile
+                syncInProgress = true;
+                final long syncingBytes = writtenBytes;
+                final FileChannel syncingChannel = segmentChannel;
+                lock.unlock();
+                IOException syncException = null;
+                try {
+                    syncingChannel.force(false);
+                } catch (final IOException forceException) {
+                    syncException = forceException;
+                } finally {
+                    lock.lock();
+                }
+                syncInProgress = false;
+                if (syncException == null) {
+                    syncedBytes = Math.max(syncedBytes, syncingBytes);
+                } else {
+                    failure = syncException;
+                }
+                syncCompleted.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void syncWrittenBytes() throws IOException {
+        while (syncInProgress) {
+            syncCompleted.awaitUninterruptibly();
+        }
+        checkNotFailed();
+        try {
+            segmentChannel.force(false);
+        } catch (final IOException forceException) {
+            failure = forceException;
+            syncCompleted.signalAll();
+            throw forceException;
+        }
+        syncedBytes = writtenBytes;
+        syncCompleted.signalAll();
+    }
+
+    private void checkWritable() throws IOException {
+        if (closed) {
+            throw new IOException(String.format(LOG_CLOSED_MESSAGE, directory));
+        }
+        checkNotFailed();
+    }
+
+    private void checkNotFailed() throws IOException {
+        if (failure != null) {
+            throw new IOException(String.format(LOG_FAILED_MESSAGE, directory), failure);
+        }
+    }
+
+    private static FileChannel openSegment(final Path directory, final long segmentNumber) throws IOException {
+        final FileChannel channel = FileChannel.open(segmentPath(directory, segmentNumber), StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        return channel;
+    }
+}
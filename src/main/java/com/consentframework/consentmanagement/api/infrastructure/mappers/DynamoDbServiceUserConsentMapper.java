@@ -8,15 +8,44 @@ import com.consentframework.shared.api.infrastructure.mappers.DynamoDbConsentExp
 import software.amazon.awssdk.enhanced.dynamodb.Key;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
+import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import java.util.AbstractMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Utility methods for mappings between ServiceUserConsent DynamoDB items and Consent objects.
+ *
+ * Attribute value maps may be in either item format, see DynamoDbServiceUserConsentTableSchema.
  */
 public final class DynamoDbServiceUserConsentMapper {
+    public static final int COMPACT_ITEM_FORMAT = 2;
+
+    // Attribute names of items written before the compact item format, removed when the item is next written
+    public static final List<String> LEGACY_ATTRIBUTE_NAMES = Stream.of(
+            DynamoDbServiceUserConsentAttributeName.CONSENT_ID,
+            DynamoDbServiceUserConsentAttributeName.CONSENT_VERSION,
+            DynamoDbServiceUserConsentAttributeName.CONSENT_STATUS,
+            DynamoDbServiceUserConsentAttributeName.CONSENT_TYPE,
+            DynamoDbServiceUserConsentAttributeName.CONSENT_DATA,
+            DynamoDbServiceUserConsentAttributeName.EXPIRY_TIME)
+        .map(DynamoDbServiceUserConsentAttributeName::getValue)
+        .toList();
+
+    static final String KEY_SEPARATOR = "|";
+    static final int EXPIRY_HOUR_CACHE_SIZE = 1024;
+
+    private static final long SECONDS_PER_HOUR = 3600L;
+
+    // Formatted expiryHour values by epoch hour, so that writes of consents expiring in the same hour share one
+    // formatted value. Entries are immutable and replaced whole, so unsynchronized access at worst reformats.
+    private static final ExpiryHourEntry[] EXPIRY_HOUR_CACHE = new ExpiryHourEntry[EXPIRY_HOUR_CACHE_SIZE];
+
     private DynamoDbServiceUserConsentMapper() {}
 
     /**
@@ -69,24 +98,24 @@ public final class DynamoDbServiceUserConsentMapper {
             .consentData(consent.getConsentData());
 
         if (consent.getExpiryTime() != null) {
-            final String expiryTimeString = DynamoDbConsentExpiryTimeConverter.toExpiryTimeString(consent.getExpiryTime());
+            final OffsetDateTime expiryTime = normalizeExpiryTime(consent.getExpiryTime());
+            final String expiryTimeString = DynamoDbConsentExpiryTimeConverter.toExpiryTimeString(expiryTime);
             dbConsentBuilder.expiryTime(expiryTimeString);
-        }
 
-        if (ConsentStatus.ACTIVE.equals(consent.getStatus()) && consent.getExpiryTime() != null) {
-            dbConsentBuilder.expiryHour(DynamoDbConsentExpiryTimeConverter.toExpiryHour(consent.getExpiryTime()));
-            dbConsentBuilder.expiryTimeId(DynamoDbConsentExpiryTimeConverter.toExpiryTimeId(consent.getExpiryTime(), consentPartitionKey));
-        } else {
-            dbConsentBuilder.expiryHour(null);
-            dbConsentBuilder.expiryTimeId(null);
+            if (ConsentStatus.ACTIVE.equals(consent.getStatus())) {
+                dbConsentBuilder.expiryHour(toExpiryHour(expiryTime));
+                dbConsentBuilder.expiryTimeId(toExpiryTimeId(expiryTimeString, consentPartitionKey));
+            }
         }
 
         return dbConsentBuilder.build();
     }
 
     /**
-     * Convert ServiceUserConsent DynamoDB attribute value map to Consent object.
+     * Convert ServiceUserConsent DynamoDB attribute value map to Consent object, eg. a scanned item,
+     * leaving fields null for any attributes the item does not have.
      *
+     * @param ddbConsentItem DynamoDB attribute value map
      * @return normalized Consent data model
      */
     public static Consent dynamoDbAttributeMapToConsent(final Map<String, AttributeValue> ddbConsentItem) {
@@ -94,14 +123,24 @@ public final class DynamoDbServiceUserConsentMapper {
             return null;
         }
 
+        final String serviceId = parseString(ddbConsentItem.get(DynamoDbServiceUserConsentAttributeName.SERVICE_ID.getValue()));
+        final String userId = parseString(ddbConsentItem.get(DynamoDbServiceUserConsentAttributeName.USER_ID.getValue()));
+        final String legacyConsentId = parseString(ddbConsentItem.get(DynamoDbServiceUserConsentAttributeName.CONSENT_ID.getValue()));
+        final String consentId = legacyConsentId != null ? legacyConsentId : toConsentId(
+            parseString(ddbConsentItem.get(DynamoDbServiceUserConsentAttributeName.ID.getValue())), serviceId, userId);
+        final String statusString = parseString(getAttribute(ddbConsentItem,
+            DynamoDbServiceUserConsentAttributeName.COMPACT_CONSENT_STATUS, DynamoDbServiceUserConsentAttributeName.CONSENT_STATUS));
         return new Consent()
-            .serviceId(parseStringAttribute(ddbConsentItem, DynamoDbServiceUserConsentAttributeName.SERVICE_ID))
-            .userId(parseStringAttribute(ddbConsentItem, DynamoDbServiceUserConsentAttributeName.USER_ID))
-            .consentId(parseStringAttribute(ddbConsentItem, DynamoDbServiceUserConsentAttributeName.CONSENT_ID))
-            .consentVersion(parseIntegerAttribute(ddbConsentItem, DynamoDbServiceUserConsentAttributeName.CONSENT_VERSION))
-            .status(parseConsentStatus(ddbConsentItem))
-            .consentType(parseStringAttribute(ddbConsentItem, DynamoDbServiceUserConsentAttributeName.CONSENT_TYPE))
-            .consentData(parseConsentData(ddbConsentItem))
+            .serviceId(serviceId)
+            .userId(userId)
+            .consentId(consentId)
+            .consentVersion(parseInteger(getAttribute(ddbConsentItem,
+                DynamoDbServiceUserConsentAttributeName.COMPACT_CONSENT_VERSION, DynamoDbServiceUserConsentAttributeName.CONSENT_VERSION)))
+            .status(statusString == null ? null : ConsentStatus.fromValue(statusString))
+            .consentType(parseString(getAttribute(ddbConsentItem,
+                DynamoDbServiceUserConsentAttributeName.COMPACT_CONSENT_TYPE, DynamoDbServiceUserConsentAttributeName.CONSENT_TYPE)))
+            .consentData(parseConsentData(getAttribute(ddbConsentItem,
+                DynamoDbServiceUserConsentAttributeName.COMPACT_CONSENT_DATA, DynamoDbServiceUserConsentAttributeName.CONSENT_DATA)))
             .expiryTime(parseExpiryTime(ddbConsentItem));
     }
 
@@ -128,35 +167,204 @@ public final class DynamoDbServiceUserConsentMapper {
      * @return combined DynamoDB item id
      */
     public static String toDynamoDbId(final String serviceId, final String userId, final String consentId) {
-        return String.format("%s|%s|%s", serviceId, userId, consentId);
+        final String serviceIdPart = String.valueOf(serviceId);
+        final String userIdPart = String.valueOf(userId);
+        final String consentIdPart = String.valueOf(consentId);
+        return new StringBuilder(serviceIdPart.length() + userIdPart.length() + consentIdPart.length() + 2 * KEY_SEPARATOR.length())
+            .append(serviceIdPart)
+            .append(KEY_SEPARATOR)
+            .append(userIdPart)
+            .append(KEY_SEPARATOR)
+            .append(consentIdPart)
+            .toString();
+    }
+
+    /**
+     * Build ServiceUserConsent DynamoDB expiryHour value, the partition key of the active consents by expiry hour index.
+     *
+     * Equivalent to DynamoDbConsentExpiryTimeConverter.toExpiryHour of the UTC expiry time, reusing the value
+     * formatted for recent writes expiring in the same hour.
+     *
+     * @param expiryTime consent expiry time
+     * @return expiry hour value
+     */
+    static String toExpiryHour(final OffsetDateTime expiryTime) {
+        final long epochHour = Math.floorDiv(expiryTime.toEpochSecond(), SECONDS_PER_HOUR);
+        final int cacheIndex = (int) Math.floorMod(epochHour, EXPIRY_HOUR_CACHE_SIZE);
+        final ExpiryHourEntry cachedEntry = EXPIRY_HOUR_CACHE[cacheIndex];
+        if (cachedEntry != null && cachedEntry.epochHour() == epochHour) {
+            return cachedEntry.expiryHour();
+        }
+
+        final String expiryHour = DynamoDbConsentExpiryTimeConverter.toExpiryHour(expiryTime.withOffsetSameInstant(ZoneOffset.UTC));
+        EXPIRY_HOUR_CACHE[cacheIndex] = new ExpiryHourEntry(epochHour, expiryHour);
+        return expiryHour;
+    }
+
+    /**
+     * Build ServiceUserConsent DynamoDB expiryTimeId value, the sort key of the active consents by expiry hour index.
+     *
+     * Equivalent to DynamoDbConsentExpiryTimeConverter.toExpiryTimeId, given the already formatted expiry time.
+     *
+     * @param expiryTimeString expiry time formatted by DynamoDbConsentExpiryTimeConverter.toExpiryTimeString
+     * @param id DynamoDB item id
+     * @return expiry time ID value
+     */
+    static String toExpiryTimeId(final String expiryTimeString, final String id) {
+        return new StringBuilder(expiryTimeString.length() + KEY_SEPARATOR.length() + id.length())
+            .append(expiryTimeString)
+            .append(KEY_SEPARATOR)
+            .append(id)
+            .toString();
+    }
+
+    /**
+     * Build ServiceUserConsent DynamoDB serviceUserId value, the partition key of the consents by service user,
+     * status and type index.
+     *
+     * @param serviceId service ID
+     * @param userId user ID
+     * @return combined service user ID, or null if either ID is null
+     */
+    public static String toServiceUserId(final String serviceId, final String userId) {
+        if (serviceId == null || userId == null) {
+            return null;
+        }
+        return serviceId + KEY_SEPARATOR + userId;
+    }
+
+    /**
+     * Build ServiceUserConsent DynamoDB statusTypeId value, the sort key of the consents by service user, status
+     * and type index.
+     *
+     * @param consentStatus consent status value
+     * @param consentType consent type, may be null
+     * @param consentId consent ID
+     * @return combined status, type and consent ID, or null if status is null
+     */
+    public static String toStatusTypeId(final String consentStatus, final String consentType, final String consentId) {
+        if (consentStatus == null) {
+            return null;
+        }
+        return consentStatus + KEY_SEPARATOR + escapeKeySeparator(consentType == null ? "" : consentType) + KEY_SEPARATOR + consentId;
+    }
+
+    /**
+     * Build the statusTypeId prefix shared by all consents with a status, and consent type if given.
+     *
+     * Separators within consent types are escaped, so that the prefix of a consent type does not also match
+     * consent types it is a prefix of.
+     *
+     * @param status consent status
+     * @param consentType consent type, null to match any consent type
+     * @return statusTypeId prefix
+     */
+    public static String toStatusTypeIdPrefix(final ConsentStatus status, final String consentType) {
+        final String statusPrefix = status.getValue() + KEY_SEPARATOR;
+        return consentType == null ? statusPrefix : statusPrefix + escapeKeySeparator(consentType) + KEY_SEPARATOR;
+    }
+
+    private static String escapeKeySeparator(final String keyPart) {
+        return keyPart.replace("\\", "\\\\").replace(KEY_SEPARATOR, "\\" + KEY_SEPARATOR);
+    }
+
+    /**
+     * Derive the consentId of an item that does not store it from its id.
+     *
+     * @param id DynamoDB item id
+     * @param serviceId service ID
+     * @param userId user ID
+     * @return consent ID, or null if the id is not prefixed by the service and user IDs
+     */
+    public static String toConsentId(final String id, final String serviceId, final String userId) {
+        final String serviceUserId = toServiceUserId(serviceId, userId);
+        if (id == null || serviceUserId == null || !id.startsWith(serviceUserId + KEY_SEPARATOR)) {
+            return null;
+        }
+        return id.substring(serviceUserId.length() + KEY_SEPARATOR.length());
+    }
+
+    /**
+     * Check whether a DynamoDB attribute value map is in the compact item format, without any legacy attributes.
+     *
+     * @param ddbConsentItem DynamoDB attribute value map, may be null
+     * @return true if the item has the item format attribute and no legacy attributes
+     */
+    public static boolean isCompactItemFormat(final Map<String, AttributeValue> ddbConsentItem) {
+        return ddbConsentItem != null
+            && ddbConsentItem.containsKey(DynamoDbServiceUserConsentAttributeName.ITEM_FORMAT.getValue())
+            && LEGACY_ATTRIBUTE_NAMES.stream().noneMatch(ddbConsentItem::containsKey);
+    }
+
+    /**
+     * Normalize an expiry time to the precision and offset of the epoch milliseconds stored by compact items,
+     * truncated to milliseconds in UTC, so that the expiry index keys derived from it when writing match those
+     * derived from the stored expiry time when reconciling.
+     *
+     * @param expiryTime expiry time
+     * @return UTC expiry time truncated to milliseconds
+     */
+    public static OffsetDateTime normalizeExpiryTime(final OffsetDateTime expiryTime) {
+        return expiryTime.withOffsetSameInstant(ZoneOffset.UTC).truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    /**
+     * Convert an expiry time string to the epoch milliseconds stored by compact items.
+     *
+     * @param expiryTime expiry time string, may be null
+     * @return epoch milliseconds, or null if expiry time is null
+     */
+    public static Long toExpiryTimeMillis(final String expiryTime) {
+        return expiryTime == null ? null : OffsetDateTime.parse(expiryTime).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Convert epoch milliseconds stored by compact items to an ISO-8601 UTC expiry time string.
+     *
+     * @param expiryTimeMillis epoch milliseconds, may be null
+     * @return expiry time string, or null if epoch milliseconds are null
+     */
+    public static String fromExpiryTimeMillis(final Long expiryTimeMillis) {
+        return expiryTimeMillis == null ? null : toExpiryTime(expiryTimeMillis).toString();
+    }
+
+    private static OffsetDateTime toExpiryTime(final long expiryTimeMillis) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(expiryTimeMillis), ZoneOffset.UTC);
     }
 
-    private static String parseStringAttribute(final Map<String, AttributeValue> ddbConsentItem,
-           final DynamoDbServiceUserConsentAttributeName attributeName) {
-        return ddbConsentItem.get(attributeName.getValue()).s();
+    private static AttributeValue getAttribute(final Map<String, AttributeValue> ddbConsentItem,
+            final DynamoDbServiceUserConsentAttributeName compactAttributeName,
+            final DynamoDbServiceUserConsentAttributeName legacyAttributeName) {
+        final AttributeValue compactAttributeValue = ddbConsentItem.get(compactAttributeName.getValue());
+        return compactAttributeValue != null ? compactAttributeValue : ddbConsentItem.get(legacyAttributeName.getValue());
     }
 
-    private static Integer parseIntegerAttribute(final Map<String, AttributeValue> ddbConsentItem,
-            final DynamoDbServiceUserConsentAttributeName attributeName) {
-        return Integer.parseInt(ddbConsentItem.get(attributeName.getValue()).n());
+    private static String parseString(final AttributeValue attributeValue) {
+        return attributeValue == null ? null : attributeValue.s();
     }
 
-    private static ConsentStatus parseConsentStatus(final Map<String, AttributeValue> ddbConsentItem) {
-        final String statusString = parseStringAttribute(ddbConsentItem, DynamoDbServiceUserConsentAttributeName.CONSENT_STATUS);
-        return ConsentStatus.fromValue(statusString);
+    private static Integer parseInteger(final AttributeValue attributeValue) {
+        return attributeValue == null || attributeValue.n() == null ? null : Integer.valueOf(attributeValue.n());
     }
 
-    private static Map<String, String> parseConsentData(final Map<String, AttributeValue> ddbConsentItem) {
-        final Map<String, AttributeValue> consentDataMap = ddbConsentItem.get(
-            DynamoDbServiceUserConsentAttributeName.CONSENT_DATA.getValue()).m();
-        return consentDataMap.entrySet()
+    private static Map<String, String> parseConsentData(final AttributeValue consentDataAttribute) {
+        if (consentDataAttribute == null || !consentDataAttribute.hasM()) {
+            return null;
+        }
+        return consentDataAttribute.m().entrySet()
             .stream()
             .map(entry -> new AbstractMap.SimpleEntry<String, String>(entry.getKey(), entry.getValue().s()))
             .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
     }
 
     private static OffsetDateTime parseExpiryTime(final Map<String, AttributeValue> ddbConsentItem) {
-        final String expiryTimeString = parseStringAttribute(ddbConsentItem, DynamoDbServiceUserConsentAttributeName.EXPIRY_TIME);
-        return OffsetDateTime.parse(expiryTimeString);
+        final AttributeValue expiryTimeMillis = ddbConsentItem.get(DynamoDbServiceUserConsentAttributeName.COMPACT_EXPIRY_TIME.getValue());
+        if (expiryTimeMillis != null && expiryTimeMillis.n() != null) {
+            return toExpiryTime(Long.parseLong(expiryTimeMillis.n()));
+        }
+        final String expiryTimeString = parseString(ddbConsentItem.get(DynamoDbServiceUserConsentAttributeName.EXPIRY_TIME.getValue()));
+        return expiryTimeString == null ? null : OffsetDateTime.parse(expiryTimeString);
     }
+
+    private record ExpiryHourEntry(long epochHour, String expiryHour) {}
 }
@@ -1,65 +1,265 @@
 package com.consentframework.consentmanagement.api.infrastructure.mappers;
 
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentFilter;
+import com.consentframework.consentmanagement.api.infrastructure.constants.DynamoDbServiceUserConsentAttributeName;
 import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import software.amazon.awssdk.enhanced.dynamodb.document.EnhancedDocument;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
-import java.io.UncheckedIOException;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 
 /**
- * Utility methods for mapping between ServiceUserConsent DynamoDB page tokens and JSON string page tokens.
+ * Utility methods for mapping between ServiceUserConsent DynamoDB page tokens and API page tokens.
  *
  * The DynamoDB Java client represents pagination tokens as a map from String to AttributeValue objects,
- * and for the Consent Management REST API to provide paginated API methods, we need to convert to JSON strings
+ * and for the Consent Management REST API to provide paginated API methods, we need to convert them to strings
  * that can be passed over HTTP.
+ *
+ * API page tokens are a version byte and the last evaluated key's string attributes, each as its position in
+ * KEY_ATTRIBUTE_NAMES and its length-prefixed UTF-8 value, followed by a truncated HMAC-SHA256 signature over
+ * the service and user the page belongs to, the index and filter of the query, and the preceding bytes, all base64url
+ * encoded without padding. Tokens are verified before their attributes are read, so that tampered tokens and tokens
+ * issued for another service user or query are rejected without being parsed or reaching DynamoDB.
+ *
+ * The signing key is read from the PAGE_TOKEN_SIGNING_KEY environment variable, as a base64 encoded key of at least
+ * 32 bytes, shared by every instance so that page tokens are accepted by any of them. If it is missing or invalid,
+ * only converting page tokens fails, with an InternalServiceException, so that requests which neither pass nor
+ * return a page token are still served.
  */
 public final class DynamoDbServiceUserConsentPageTokenMapper {
     private static final Logger logger = LogManager.getLogger(DynamoDbServiceUserConsentPageTokenMapper.class);
 
+    public static final String SIGNING_KEY_ENVIRONMENT_VARIABLE = "PAGE_TOKEN_SIGNING_KEY";
+    public static final int MIN_SIGNING_KEY_LENGTH = 32;
+    public static final String INVALID_SIGNING_KEY_MESSAGE = SIGNING_KEY_ENVIRONMENT_VARIABLE
+        + " must be set to a base64 encoded key of at least " + MIN_SIGNING_KEY_LENGTH + " bytes";
+
     static final String INVALID_PAGE_TOKEN_MESSAGE = "Unable to parse page token %s";
+    static final byte TOKEN_VERSION = 1;
+    static final int SIGNATURE_LENGTH = 16;
+    static final int MAX_ATTRIBUTE_VALUE_LENGTH = 0xFFFF;
+
+    // Attributes that make up the table and index keys, and so may appear in a last evaluated key
+    static final List<String> KEY_ATTRIBUTE_NAMES = Stream.of(
+            DynamoDbServiceUserConsentAttributeName.ID,
+            DynamoDbServiceUserConsentAttributeName.SERVICE_ID,
+            DynamoDbServiceUserConsentAttributeName.USER_ID,
+            DynamoDbServiceUserConsentAttributeName.SERVICE_USER_ID,
+            DynamoDbServiceUserConsentAttributeName.STATUS_TYPE_ID,
+            DynamoDbServiceUserConsentAttributeName.EXPIRY_HOUR,
+            DynamoDbServiceUserConsentAttributeName.EXPIRY_TIME_ID)
+        .map(DynamoDbServiceUserConsentAttributeName::getValue)
+        .toList();
+
+    private static final String SIGNING_ALGORITHM = "HmacSHA256";
+    private static final SecretKeySpec SIGNING_KEY = loadSigningKey(System.getenv(SIGNING_KEY_ENVIRONMENT_VARIABLE));
+    private static final ThreadLocal<Mac> SIGNER = ThreadLocal.withInitial(DynamoDbServiceUserConsentPageTokenMapper::createSigner);
 
     private DynamoDbServiceUserConsentPageTokenMapper() {}
 
     /**
-     * Convert JSON string page token to an attribute value map that can be passed to DynamoDB.
+     * Check whether the page token signing key is configured.
      *
-     * @param pageToken JSON string pagination token
+     * @return true if the signing key is configured and valid
+     */
+    public static boolean isSigningKeyConfigured() {
+        return SIGNING_KEY != null;
+    }
+
+    /**
+     * Verify the page token signing key is configured, eg. before benchmarking page token conversion.
+     *
+     * @throws IllegalStateException exception thrown if the signing key is missing or invalid
+     */
+    public static void verifySigningKey() {
+        if (!isSigningKeyConfigured()) {
+            throw new IllegalStateException(INVALID_SIGNING_KEY_MESSAGE);
+        }
+    }
+
+    /**
+     * Convert API page token to an attribute value map that can be passed to DynamoDB.
+     *
+     * @param serviceId service identifier of the page being requested
+     * @param userId user identifier of the page being requested
+     * @param indexName name of the index being queried
+     * @param filter consent filter of the query, null if unfiltered
+     * @param pageToken API pagination token
      * @return DynamoDB attribute value map representation of the page token, or null if input is null
-     * @throws BadRequestException exception thrown if unable to parse page token
+     * @throws BadRequestException exception thrown if page token is invalid, or was issued for another service user or query
+     * @throws InternalServiceException exception thrown if the signing key is missing or invalid
      */
-    public static Map<String, AttributeValue> toDynamoDbPageToken(final String pageToken) throws BadRequestException {
+    public static Map<String, AttributeValue> toDynamoDbPageToken(final String serviceId, final String userId, final String indexName,
+            final ServiceUserConsentFilter filter, final String pageToken) throws BadRequestException, InternalServiceException {
         if (pageToken == null) {
             return null;
         }
 
+        final byte[] token;
         try {
-            return EnhancedDocument.fromJson(pageToken).toMap();
-        } catch (final IllegalArgumentException | UncheckedIOException e) {
-            logger.error("Unable to parse String pageToken, expected JSON string but was {}, error: {}", pageToken, e.getMessage(), e);
+            token = Base64.getUrlDecoder().decode(pageToken);
+        } catch (final IllegalArgumentException invalidBase64Exception) {
+            throw logAndGetInvalidPageTokenException(pageToken);
+        }
+
+        final int payloadLength = token.length - SIGNATURE_LENGTH;
+        if (payloadLength <= 1 || token[0] != TOKEN_VERSION) {
             throw logAndGetInvalidPageTokenException(pageToken);
         }
+        final byte[] expectedSignature = sign(serviceId, userId, indexName, filter, token, payloadLength);
+        if (!MessageDigest.isEqual(Arrays.copyOf(expectedSignature, SIGNATURE_LENGTH),
+                Arrays.copyOfRange(token, payloadLength, token.length))) {
+            throw logAndGetInvalidPageTokenException(pageToken);
+        }
+
+        final Map<String, AttributeValue> lastEvaluatedKey = new HashMap<String, AttributeValue>();
+        int position = 1;
+        while (position < payloadLength) {
+            if (position + 3 > payloadLength) {
+                throw logAndGetInvalidPageTokenException(pageToken);
+            }
+            final int attributeIndex = token[position] & 0xFF;
+            final int valueLength = ((token[position + 1] & 0xFF) << 8) | (token[position + 2] & 0xFF);
+            position += 3;
+            if (attributeIndex >= KEY_ATTRIBUTE_NAMES.size() || position + valueLength > payloadLength) {
+                throw logAndGetInvalidPageTokenException(pageToken);
+            }
+            lastEvaluatedKey.put(KEY_ATTRIBUTE_NAMES.get(attributeIndex),
+                AttributeValue.fromS(new String(token, position, valueLength, StandardCharsets.UTF_8)));
+            position += valueLength;
+        }
+        return lastEvaluatedKey;
     }
 
     /**
-     * Convert DynamoDB attribute value map page token to a JSON string.
+     * Convert DynamoDB attribute value map page token to an API page token.
      *
+     * @param serviceId service identifier of the page the token continues
+     * @param userId user identifier of the page the token continues
+     * @param indexName name of the index queried
+     * @param filter consent filter of the query, null if unfiltered
      * @param pageToken DynamoDB attribute value map representation of page token
-     * @return JSON string representation of page token, or null if input is null
-     * @throws BadRequestException exception thrown if unable to parse page token
+     * @return API page token, or null if input is null
+     * @throws BadRequestException exception thrown if page token has attributes that are not string key attributes
+     * @throws InternalServiceException exception thrown if the signing key is missing or invalid
      */
-    public static String toJsonStringPageToken(final Map<String, AttributeValue> pageToken) throws BadRequestException {
+    public static String toPageToken(final String serviceId, final String userId, final String indexName,
+            final ServiceUserConsentFilter filter, final Map<String, AttributeValue> pageToken)
+            throws BadRequestException, InternalServiceException {
         if (pageToken == null) {
             return null;
         }
 
+        final ByteArrayOutputStream token = new ByteArrayOutputStream();
+        token.write(TOKEN_VERSION);
+        for (final Map.Entry<String, AttributeValue> attribute : pageToken.entrySet()) {
+            final int attributeIndex = KEY_ATTRIBUTE_NAMES.indexOf(attribute.getKey());
+            if (attributeIndex < 0 || attribute.getValue() == null || attribute.getValue().s() == null) {
+                logger.error("Unable to encode Map<String, AttributeValue> pageToken {}, unexpected attribute {}",
+                    pageToken, attribute.getKey());
+                throw logAndGetInvalidPageTokenException(pageToken.toString());
+            }
+            final byte[] value = attribute.getValue().s().getBytes(StandardCharsets.UTF_8);
+            if (value.length > MAX_ATTRIBUTE_VALUE_LENGTH) {
+                throw logAndGetInvalidPageTokenException(pageToken.toString());
+            }
+            token.write(attributeIndex);
+            token.write(value.length >>> 8);
+            token.write(value.length);
+            token.writeBytes(value);
+        }
+
+        final byte[] payload = token.toByteArray();
+        token.write(sign(serviceId, userId, indexName, filter, payload, payload.length), 0, SIGNATURE_LENGTH);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.toByteArray());
+    }
+
+    /**
+     * Parse configured signing key.
+     *
+     * @param signingKey base64 encoded signing key
+     * @return signing key
+     * @throws IllegalStateException exception thrown if the signing key is missing, not base64 encoded, or too short
+     */
+    static byte[] parseSigningKey(final String signingKey) {
+        if (signingKey == null) {
+            throw new IllegalStateException(INVALID_SIGNING_KEY_MESSAGE);
+        }
+        final byte[] parsedSigningKey;
+        try {
+            parsedSigningKey = Base64.getDecoder().decode(signingKey.trim());
+        } catch (final IllegalArgumentException invalidBase64Exception) {
+            throw new IllegalStateException(INVALID_SIGNING_KEY_MESSAGE, invalidBase64Exception);
+        }
+        if (parsedSigningKey.length < MIN_SIGNING_KEY_LENGTH) {
+            throw new IllegalStateException(INVALID_SIGNING_KEY_MESSAGE);
+        }
+        return parsedSigningKey;
+    }
+
+    private static SecretKeySpec loadSigningKey(final String signingKey) {
+        try {
+            return new SecretKeySpec(parseSigningKey(signingKey), SIGNING_ALGORITHM);
+        } catch (final IllegalStateException invalidSigningKeyException) {
+            // Surfaced when converting page tokens, rather than failing class initialization
+            logger.error(invalidSigningKeyException.getMessage());
+            return null;
+        }
+    }
+
+    private static byte[] sign(final String serviceId, final String userId, final String indexName, final ServiceUserConsentFilter filter,
+            final byte[] payload, final int payloadLength) throws InternalServiceException {
+        if (!isSigningKeyConfigured()) {
+            logger.error(INVALID_SIGNING_KEY_MESSAGE);
+            throw new InternalServiceException(INVALID_SIGNING_KEY_MESSAGE);
+        }
+        final Mac signer = SIGNER.get();
+        updateWithLengthPrefix(signer, serviceId);
+        updateWithLengthPrefix(signer, userId);
+        updateWithLengthPrefix(signer, indexName);
+        updateWithOptionalValue(signer, filter == null || filter.status() == null ? null : filter.status().getValue());
+        updateWithOptionalValue(signer, filter == null ? null : filter.consentType());
+        signer.update(payload, 0, payloadLength);
+        return signer.doFinal();
+    }
+
+    private static void updateWithOptionalValue(final Mac signer, final String value) {
+        // Presence byte, so that an unset value is distinct from any set value
+        signer.update(value == null ? (byte) 0 : (byte) 1);
+        if (value != null) {
+            updateWithLengthPrefix(signer, value);
+        }
+    }
+
+    private static void updateWithLengthPrefix(final Mac signer, final String value) {
+        final byte[] valueBytes = String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+        signer.update(new byte[] {
+            (byte) (valueBytes.length >>> 24), (byte) (valueBytes.length >>> 16), (byte) (valueBytes.length >>> 8), (byte) valueBytes.length
+        });
+        signer.update(valueBytes);
+    }
+
+    private static Mac createSigner() {
+        verifySigningKey();
         try {
-            return EnhancedDocument.fromAttributeValueMap(pageToken).toJson();
-        } catch (final IllegalArgumentException | NullPointerException | UncheckedIOException e) {
-            logger.error("Unable to parse Map<String, AttributeValue> pageToken {}, error: {}", pageToken.toString(), e.getMessage(), e);
-            throw logAndGetInvalidPageTokenException(pageToken.toString());
+            final Mac signer = Mac.getInstance(SIGNING_ALGORITHM);
+            signer.init(SIGNING_KEY);
+            return signer;
+        } catch (final GeneralSecurityException securityException) {
+            throw new IllegalStateException("Unable to initialize page token signer", securityException);
         }
     }
 
@@ -0,0 +1,276 @@
+package com.consentframework.consentmanagement.api.infrastructure.mappers;
+
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentPatch;
+import com.consentframework.consentmanagement.api.infrastructure.constants.DynamoDbServiceUserConsentAttributeName;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
+import com.consentframework.shared.api.infrastructure.entities.DynamoDbServiceUserConsent;
+import com.consentframework.shared.api.infrastructure.mappers.DynamoDbConsentExpiryTimeConverter;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValuesOnConditionCheckFailure;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Utility methods for mapping ServiceUserConsentPatch objects to DynamoDB UpdateItem requests.
+ *
+ * Requests only write patched attributes, and the expiryHour, expiryTimeId and statusTypeId index keys when they
+ * can be derived from the patch alone. Otherwise they depend on stored attributes, and are reconciled from the
+ * updated item, along with the serviceUserId index key missing from items written before its index.
+ *
+ * Patched attributes are written with compact attribute names, removing their legacy names. Any other legacy
+ * attributes of the updated item are migrated to the compact item format when reconciling it, as are those of
+ * stored items whose status is updated.
+ */
+public final class DynamoDbServiceUserConsentPatchMapper {
+    static final String ID = DynamoDbServiceUserConsentAttributeName.ID.getValue();
+    static final String ITEM_FORMAT = DynamoDbServiceUserConsentAttributeName.ITEM_FORMAT.getValue();
+    static final String CONSENT_VERSION = DynamoDbServiceUserConsentAttributeName.COMPACT_CONSENT_VERSION.getValue();
+    static final String CONSENT_STATUS = DynamoDbServiceUserConsentAttributeName.COMPACT_CONSENT_STATUS.getValue();
+    static final String CONSENT_TYPE = DynamoDbServiceUserConsentAttributeName.COMPACT_CONSENT_TYPE.getValue();
+    static final String CONSENT_DATA = DynamoDbServiceUserConsentAttributeName.COMPACT_CONSENT_DATA.getValue();
+    static final String EXPIRY_TIME = DynamoDbServiceUserConsentAttributeName.COMPACT_EXPIRY_TIME.getValue();
+    static final String LEGACY_CONSENT_VERSION = DynamoDbServiceUserConsentAttributeName.CONSENT_VERSION.getValue();
+    static final String LEGACY_CONSENT_STATUS = DynamoDbServiceUserConsentAttributeName.CONSENT_STATUS.getValue();
+    static final String LEGACY_CONSENT_TYPE = DynamoDbServiceUserConsentAttributeName.CONSENT_TYPE.getValue();
+    static final String LEGACY_CONSENT_DATA = DynamoDbServiceUserConsentAttributeName.CONSENT_DATA.getValue();
+    static final String LEGACY_EXPIRY_TIME = DynamoDbServiceUserConsentAttributeName.EXPIRY_TIME.getValue();
+    static final String EXPIRY_HOUR = DynamoDbServiceUserConsentAttributeName.EXPIRY_HOUR.getValue();
+    static final String EXPIRY_TIME_ID = DynamoDbServiceUserConsentAttributeName.EXPIRY_TIME_ID.getValue();
+    static final String SERVICE_USER_ID = DynamoDbServiceUserConsentAttributeName.SERVICE_USER_ID.getValue();
+    static final String STATUS_TYPE_ID = DynamoDbServiceUserConsentAttributeName.STATUS_TYPE_ID.getValue();
+
+    public static final String EXPECTED_CONSENT_VERSION = ":expectedConsentVersion";
+    public static final String VERSION_MATCHES_CONDITION = String.format("attribute_exists(%s) AND (%s = %s OR %s = %s)",
+        ID, CONSENT_VERSION, EXPECTED_CONSENT_VERSION, LEGACY_CONSENT_VERSION, EXPECTED_CONSENT_VERSION);
+
+    private DynamoDbServiceUserConsentPatchMapper() {}
+
+    /**
+     * Build UpdateItem request applying a patch, only if the stored consent has the previous consentVersion.
+     *
+     * The updated item is returned on success, and the stored item on condition check failure.
+     *
+     * @param tableName consent table name
+     * @param patch consent patch
+     * @return UpdateItem request
+     */
+    public static UpdateItemRequest toUpdateItemRequest(final String tableName, final ServiceUserConsentPatch patch) {
+        final String partitionKey = DynamoDbServiceUserConsentMapper.toDynamoDbId(patch.serviceId(), patch.userId(), patch.consentId());
+        final UpdateExpressionBuilder updateExpression = new UpdateExpressionBuilder()
+            .replace(CONSENT_VERSION, LEGACY_CONSENT_VERSION, Optional.of(patch.consentVersion()),
+                consentVersion -> AttributeValue.fromN(consentVersion.toString()))
+            .replace(CONSENT_STATUS, LEGACY_CONSENT_STATUS, patch.status(), status -> AttributeValue.fromS(status.getValue()))
+            .replace(CONSENT_TYPE, LEGACY_CONSENT_TYPE, patch.consentType(), AttributeValue::fromS)
+            .replace(CONSENT_DATA, LEGACY_CONSENT_DATA, patch.consentData(),
+                DynamoDbServiceUserConsentPatchMapper::toConsentDataAttributeValue)
+            .replace(EXPIRY_TIME, LEGACY_EXPIRY_TIME, patch.expiryTime(),
+                DynamoDbServiceUserConsentPatchMapper::toExpiryTimeAttributeValue);
+
+        final boolean deactivated = patch.status() != null
+            && patch.status().filter(status -> !ConsentStatus.ACTIVE.equals(status)).isPresent();
+        final boolean expiryTimeRemoved = patch.expiryTime() != null && patch.expiryTime().isEmpty();
+        final boolean activeWithExpiryTime = patch.status() != null && patch.status().filter(ConsentStatus.ACTIVE::equals).isPresent()
+            && patch.expiryTime() != null && patch.expiryTime().isPresent();
+        if (deactivated || expiryTimeRemoved) {
+            updateExpression.remove(EXPIRY_HOUR).remove(EXPIRY_TIME_ID);
+        } else if (activeWithExpiryTime) {
+            final OffsetDateTime expiryTime = DynamoDbServiceUserConsentMapper.normalizeExpiryTime(patch.expiryTime().get());
+            final String expiryTimeString = DynamoDbConsentExpiryTimeConverter.toExpiryTimeString(expiryTime);
+            updateExpression
+                .set(EXPIRY_HOUR, AttributeValue.fromS(DynamoDbServiceUserConsentMapper.toExpiryHour(expiryTime)))
+                .set(EXPIRY_TIME_ID, AttributeValue.fromS(DynamoDbServiceUserConsentMapper.toExpiryTimeId(expiryTimeString, partitionKey)));
+        }
+        if (patch.status() != null && patch.status().isPresent() && patch.consentType() != null) {
+            updateExpression.set(STATUS_TYPE_ID, AttributeValue.fromS(DynamoDbServiceUserConsentMapper.toStatusTypeId(
+                patch.status().get().getValue(), patch.consentType().orElse(null), patch.consentId())));
+        }
+
+        return updateExpression.toRequestBuilder(tableName, partitionKey, patch.consentVersion() - 1)
+            .returnValues(ReturnValue.ALL_NEW)
+            .returnValuesOnConditionCheckFailure(ReturnValuesOnConditionCheckFailure.ALL_OLD)
+            .build();
+    }
+
+    /**
+     * Build UpdateItem request setting the expiryHour and expiryTimeId, and serviceUserId and statusTypeId index keys
+     * derived from a patched consent, if they differ from the updated item, and migrating the updated item to the compact item
+     * format if it still has legacy attributes, only if the consent has not been updated since.
+     *
+     * @param tableName consent table name
+     * @param patchedConsent consent after applying the patch
+     * @param updatedItem DynamoDB item after applying the patch
+     * @return UpdateItem request if the index keys or item format need to change, otherwise empty
+     */
+    public static Optional<UpdateItemRequest> toReconcileUpdateItemRequest(final String tableName, final Consent patchedConsent,
+            final Map<String, AttributeValue> updatedItem) {
+        final DynamoDbServiceUserConsent expectedItem = DynamoDbServiceUserConsentMapper.toDynamoDbServiceUserConsent(patchedConsent);
+        final UpdateExpressionBuilder updateExpression = new UpdateExpressionBuilder();
+        if (!reconcile(updateExpression, patchedConsent, expectedItem, updatedItem)) {
+            return Optional.empty();
+        }
+        return Optional.of(updateExpression.toRequestBuilder(tableName, expectedItem.id(), patchedConsent.getConsentVersion()).build());
+    }
+
+    /**
+     * Build UpdateItem request writing a new consentVersion of a stored consent with a new status, setting the index keys
+     * derived from the updated consent as reconciling does, only if the stored consent is still the same consentVersion.
+     *
+     * Items in the compact item format only have their consentVersion, status and index keys written, so the stored item
+     * may be projected from an index. Legacy items are migrated to the compact item format, so all of their attributes
+     * are rewritten from the stored item, which must then be the full item.
+     *
+     * @param tableName consent table name
+     * @param storedConsent consent converted from the stored item
+     * @param status new consent status
+     * @param storedItem stored DynamoDB item
+     * @return UpdateItem request
+     */
+    public static UpdateItemRequest toStatusUpdateItemRequest(final String tableName, final Consent storedConsent,
+            final ConsentStatus status, final Map<String, AttributeValue> storedItem) {
+        final Consent updatedConsent = new Consent()
+            .serviceId(storedConsent.getServiceId())
+            .userId(storedConsent.getUserId())
+            .consentId(storedConsent.getConsentId())
+            .consentVersion(storedConsent.getConsentVersion() + 1)
+            .status(status)
+            .consentType(storedConsent.getConsentType())
+            .consentData(storedConsent.getConsentData())
+            .expiryTime(storedConsent.getExpiryTime());
+        final DynamoDbServiceUserConsent expectedItem = DynamoDbServiceUserConsentMapper.toDynamoDbServiceUserConsent(updatedConsent);
+
+        final UpdateExpressionBuilder updateExpression = new UpdateExpressionBuilder()
+            .set(CONSENT_VERSION, AttributeValue.fromN(Integer.toString(updatedConsent.getConsentVersion())));
+        if (DynamoDbServiceUserConsentMapper.isCompactItemFormat(storedItem)) {
+            updateExpression.set(CONSENT_STATUS, AttributeValue.fromS(expectedItem.consentStatus()));
+        }
+        reconcile(updateExpression, updatedConsent, expectedItem, storedItem);
+        return updateExpression.toRequestBuilder(tableName, expectedItem.id(), storedConsent.getConsentVersion()).build();
+    }
+
+    private static boolean reconcile(final UpdateExpressionBuilder updateExpression, final Consent consent,
+            final DynamoDbServiceUserConsent expectedItem, final Map<String, AttributeValue> item) {
+        final Optional<String> expiryHour = Optional.ofNullable(expectedItem.expiryHour());
+        final Optional<String> expiryTimeId = Optional.ofNullable(expectedItem.expiryTimeId());
+        final Optional<String> statusTypeId = Optional.ofNullable(DynamoDbServiceUserConsentMapper.toStatusTypeId(
+            expectedItem.consentStatus(), expectedItem.consentType(), expectedItem.consentId()));
+        final boolean expiryIndexKeysMatch = expiryHour.equals(getStringAttribute(item, EXPIRY_HOUR))
+            && expiryTimeId.equals(getStringAttribute(item, EXPIRY_TIME_ID));
+        final Optional<String> serviceUserId = Optional.of(DynamoDbServiceUserConsentMapper.toServiceUserId(
+            expectedItem.serviceId(), expectedItem.userId()));
+        final boolean statusTypeIdMatches = statusTypeId.equals(getStringAttribute(item, STATUS_TYPE_ID));
+        final boolean serviceUserIdMatches = serviceUserId.equals(getStringAttribute(item, SERVICE_USER_ID));
+        final boolean compactItemFormat = DynamoDbServiceUserConsentMapper.isCompactItemFormat(item);
+        if (expiryIndexKeysMatch && serviceUserIdMatches && statusTypeIdMatches && compactItemFormat) {
+            return false;
+        }
+
+        if (!expiryIndexKeysMatch) {
+            updateExpression
+                .put(EXPIRY_HOUR, expiryHour, AttributeValue::fromS)
+                .put(EXPIRY_TIME_ID, expiryTimeId, AttributeValue::fromS);
+        }
+        if (!serviceUserIdMatches) {
+            updateExpression.put(SERVICE_USER_ID, serviceUserId, AttributeValue::fromS);
+        }
+        if (!statusTypeIdMatches) {
+            updateExpression.put(STATUS_TYPE_ID, statusTypeId, AttributeValue::fromS);
+        }
+        if (!compactItemFormat) {
+            updateExpression
+                .set(ITEM_FORMAT, AttributeValue.fromN(Integer.toString(DynamoDbServiceUserConsentMapper.COMPACT_ITEM_FORMAT)))
+                .set(CONSENT_STATUS, AttributeValue.fromS(expectedItem.consentStatus()))
+                .put(CONSENT_TYPE, Optional.ofNullable(expectedItem.consentType()), AttributeValue::fromS)
+                .put(CONSENT_DATA, Optional.ofNullable(expectedItem.consentData()),
+                    DynamoDbServiceUserConsentPatchMapper::toConsentDataAttributeValue)
+                .put(EXPIRY_TIME, Optional.ofNullable(consent.getExpiryTime()),
+                    DynamoDbServiceUserConsentPatchMapper::toExpiryTimeAttributeValue);
+            if (item != null) {
+                DynamoDbServiceUserConsentMapper.LEGACY_ATTRIBUTE_NAMES.stream()
+                    .filter(item::containsKey)
+                    .forEach(updateExpression::remove);
+            }
+        }
+        return true;
+    }
+
+    private static Optional<String> getStringAttribute(final Map<String, AttributeValue> item, final String attributeName) {
+        final AttributeValue attributeValue = item == null ? null : item.get(attributeName);
+        return attributeValue == null ? Optional.empty() : Optional.ofNullable(attributeValue.s());
+    }
+
+    private static AttributeValue toExpiryTimeAttributeValue(final OffsetDateTime expiryTime) {
+        return AttributeValue.fromN(Long.toString(DynamoDbServiceUserConsentMapper.normalizeExpiryTime(expiryTime)
+            .toInstant()
+            .toEpochMilli()));
+    }
+
+    private static AttributeValue toConsentDataAttributeValue(final Map<String, String> consentData) {
+        return AttributeValue.fromM(consentData.entrySet()
+            .stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, entry -> AttributeValue.fromS(entry.getValue()))));
+    }
+
+    /**
+     * Accumulates SET and REMOVE actions of an update expression, with one value placeholder per attribute.
+     */
+    private static final class UpdateExpressionBuilder {
+        private final List<String> setActions = new ArrayList<String>();
+        private final List<String> removeActions = new ArrayList<String>();
+        private final Map<String, AttributeValue> expressionValues = new HashMap<String, AttributeValue>();
+
+        UpdateExpressionBuilder set(final String attributeName, final AttributeValue value) {
+            final String placeholder = ":" + attributeName;
+            setActions.add(String.format("%s = %s", attributeName, placeholder));
+            expressionValues.put(placeholder, value);
+            return this;
+        }
+
+        UpdateExpressionBuilder remove(final String attributeName) {
+            removeActions.add(attributeName);
+            return this;
+        }
+
+        <T> UpdateExpressionBuilder put(final String attributeName, final Optional<T> change,
+                final Function<T, AttributeValue> toAttributeValue) {
+            if (change == null) {
+                return this;
+            }
+            return change.isPresent() ? set(attributeName, toAttributeValue.apply(change.get())) : remove(attributeName);
+        }
+
+        <T> UpdateExpressionBuilder replace(final String attributeName, final String legacyAttributeName, final Optional<T> change,
+                final Function<T, AttributeValue> toAttributeValue) {
+            if (change == null) {
+                return this;
+            }
+            return put(attributeName, change, toAttributeValue).remove(legacyAttributeName);
+        }
+
+        UpdateItemRequest.Builder toRequestBuilder(final String tableName, final String partitionKey, final int expectedConsentVersion) {
+            final List<String> clauses = new ArrayList<String>();
+            if (!setActions.isEmpty()) {
+                clauses.add("SET " + String.join(", ", setActions));
+            }
+            if (!removeActions.isEmpty()) {
+                clauses.add("REMOVE " + String.join(", ", removeActions));
+            }
+            expressionValues.put(EXPECTED_CONSENT_VERSION, AttributeValue.fromN(Integer.toString(expectedConsentVersion)));
+            return UpdateItemRequest.builder()
+                .tableName(tableName)
+                .key(Map.of(ID, AttributeValue.fromS(partitionKey)))
+                .updateExpression(String.join(" ", clauses))
+                .conditionExpression(VERSION_MATCHES_CONDITION)
+                .expressionAttributeValues(expressionValues);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.consentframework.consentmanagement.api.infrastructure.repositories;
+
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentBatchGetResult;
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentFilter;
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentPatch;
+import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.ConflictingResourceException;
+import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
+import com.consentframework.shared.api.domain.exceptions.ResourceNotFoundException;
+import com.consentframework.shared.api.domain.pagination.ListPage;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * ServiceUserConsentRepository decorator serving consent reads from a ServiceUserConsentCache.
+ *
+ * Successful writes populate the cache with the written consentVersion, and failed updates invalidate
+ * the cached consent since it is known to be out of date. The cache holds its own copies of consents,
+ * so callers may modify the consents they write or retrieve.
+ */
+public class CachingServiceUserConsentRepository implements ServiceUserConsentRepository {
+    private final ServiceUserConsentRepository consentRepository;
+    private final ServiceUserConsentCache consentCache;
+
+    /**
+     * Construct caching repository.
+     *
+     * @param consentRepository underlying consent repository
+     * @param consentCache consent cache
+     */
+    public CachingServiceUserConsentRepository(final ServiceUserConsentRepository consentRepository,
+            final ServiceUserConsentCache consentCache) {
+        this.consentRepository = consentRepository;
+        this.consentCache = consentCache;
+    }
+
+    /**
+     * Save new consent to the underlying repository and cache it.
+     *
+     * @param consent Consent object to save to the repository
+     * @throws BadRequestException exception thrown if consent violates model constraints
+     * @throws ConflictingResourceException exception thrown if consent already exists with same key
+     * @throws InternalServiceException exception thrown if unexpected server error creating consent
+     */
+    @Override
+    public void createServiceUserConsent(final Consent consent) throws BadRequestException, ConflictingResourceException,
+            InternalServiceException {
+        consentRepository.createServiceUserConsent(consent);
+        consentCache.put(consent);
+    }
+
+    /**
+     * Save new consents to the underlying repository and cache them.
+     *
+     * @param consents Consent objects to save to the repository
+     * @throws BadRequestException exception thrown if any consent violates model constraints
+     * @throws ConflictingResourceException exception thrown if any consent already exists with same key
+     * @throws InternalServiceException exception thrown if unexpected server error creating consents
+     */
+    @Override
+    public void createServiceUserConsents(final List<Consent> consents) throws BadRequestException, ConflictingResourceException,
+            InternalServiceException {
+        consentRepository.createServiceUserConsents(consents);
+        consents.forEach(consentCache::put);
+    }
+
+    /**
+     * Retrieve consent from the cache, falling back to the underlying repository on cache misses.
+     *
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @param consentId consent ID, specific to the service-user pair
+     * @return specific consent for the service-user-consent ID tuple if exists
+     * @throws InternalServiceException exception thrown if unexpected error querying repository
+     * @throws ResourceNotFoundException exception thrown if no such consent exists
+     */
+    @Override
+    public Consent getServiceUserConsent(final String serviceId, final String userId, final String consentId)
+            throws InternalServiceException, ResourceNotFoundException {
+        final ServiceUserConsentCache.Entry cachedEntry = consentCache.getIfPresent(serviceId, userId, consentId);
+        if (cachedEntry != null) {
+            if (cachedEntry.isMissing()) {
+                throw new ResourceNotFoundException(String.format(CONSENT_NOT_FOUND_MESSAGE, serviceId, userId, consentId));
+            }
+            return cachedEntry.consent();
+        }
+
+        final Consent consent;
+        try {
+            consent = consentRepository.getServiceUserConsent(serviceId, userId, consentId);
+        } catch (final ResourceNotFoundException resourceNotFoundException) {
+            consentCache.putMissing(serviceId, userId, consentId);
+            throw resourceNotFoundException;
+        }
+        consentCache.put(consent);
+        return consent;
+    }
+
+    /**
+     * Update consent in the underlying repository, caching the updated consent if successful
+     * and invalidating the cached consent if it is out of date.
+     *
+     * @param consent Consent object to save to the repository
+     * @throws BadRequestException exception thrown if consent violates model constraints
+     * @throws ConflictingResourceException exception thrown if stored consent has conflicting data
+     * @throws InternalServiceException exception thrown if unexpected server-side error updating consent
+     * @throws ResourceNotFoundException exception thrown if no such consent exists
+     */
+    @Override
+    public void updateServiceUserConsent(final Consent consent) throws BadRequestException, ConflictingResourceException,
+            ResourceNotFoundException, InternalServiceException {
+        try {
+            consentRepository.updateServiceUserConsent(consent);
+        } catch (final ConflictingResourceException | ResourceNotFoundException staleConsentException) {
+            consentCache.invalidate(consent.getServiceId(), consent.getUserId(), consent.getConsentId());
+            throw staleConsentException;
+        }
+        consentCache.put(consent);
+    }
+
+    /**
+     * Partially update consent in the underlying repository, caching the updated consent if successful
+     * and invalidating the cached consent if it is out of date.
+     *
+     * @param patch consent patch
+     * @return updated consent
+     * @throws BadRequestException exception thrown if patch violates model constraints
+     * @throws ConflictingResourceException exception thrown if stored consent is not the previous consentVersion
+     * @throws InternalServiceException exception thrown if unexpected server-side error updating consent
+     * @throws ResourceNotFoundException exception thrown if no such consent exists
+     */
+    @Override
+    public Consent patchServiceUserConsent(final ServiceUserConsentPatch patch) throws BadRequestException,
+            ConflictingResourceException, InternalServiceException, ResourceNotFoundException {
+        final Consent patchedConsent;
+        try {
+            patchedConsent = consentRepository.patchServiceUserConsent(patch);
+        } catch (final ConflictingResourceException | ResourceNotFoundException staleConsentException) {
+            consentCache.invalidate(patch.serviceId(), patch.userId(), patch.consentId());
+            throw staleConsentException;
+        }
+        consentCache.put(patchedConsent);
+        return patchedConsent;
+    }
+
+    /**
+     * List user's consents for a given service from the underlying repository, without caching.
+     *
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @param limit maximum number of consents to retrieve
+     * @param pageToken pagination token for backend consents query
+     * @return page of matching Consents with next page token if applicable
+     * @throws BadRequestException exception thrown when receive invalid input
+     * @throws InternalServiceException exception thrown if unexpected error querying repository
+     */
+    @Override
+    public ListPage<Consent> listServiceUserConsents(final String serviceId, final String userId,
+            final Integer limit, final String pageToken) throws BadRequestException, InternalServiceException {
+        return consentRepository.listServiceUserConsents(serviceId, userId, limit, pageToken);
+    }
+
+    /**
+     * List user's consents for a given service that match a consent filter from the underlying repository, without caching.
+     *
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @param filter consent filter
+     * @param limit maximum number of consents to retrieve
+     * @param pageToken pagination token for backend consents query
+     * @return page of matching Consents with next page token if applicable
+     * @throws BadRequestException exception thrown when receive invalid input
+     * @throws InternalServiceException exception thrown if unexpected error querying repository
+     */
+    @Override
+    public ListPage<Consent> listServiceUserConsents(final String serviceId, final String userId, final ServiceUserConsentFilter filter,
+            final Integer limit, final String pageToken) throws BadRequestException, InternalServiceException {
+        return consentRepository.listServiceUserConsents(serviceId, userId, filter, limit, pageToken);
+    }
+
+    /**
+     * Export all of a user's consents for a given service from the underlying repository, without caching.
+     *
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @return stream of the user's consents, to close once consumed
+     * @throws BadRequestException exception thrown when receive invalid input
+     */
+    @Override
+    public Stream<Consent> exportServiceUserConsents(final String serviceId, final String userId) throws BadRequestException {
+        return consentRepository.exportServiceUserConsents(serviceId, userId);
+    }
+
+    /**
+     * Retrieve a batch of consents, serving cached consents from the cache and retrieving the rest
+     * from the underlying repository in a single batch.
+     *
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @param consentIds consent IDs, specific to the service-user pair, duplicates are only retrieved once
+     * @return retrieved consents and missing consent IDs, each in the order they were requested
+     * @throws InternalServiceException exception thrown if unexpected error querying repository
+     */
+    @Override
+    public ServiceUserConsentBatchGetResult batchGetServiceUserConsents(final String serviceId, final String userId,
+            final List<String> consentIds) throws InternalServiceException {
+        final Map<String, ServiceUserConsentCache.Entry> entriesByConsentId = new LinkedHashMap<String, ServiceUserConsentCache.Entry>();
+        final List<String> uncachedConsentIds = new ArrayList<String>();
+        for (final String consentId : new LinkedHashSet<String>(consentIds)) {
+            final ServiceUserConsentCache.Entry cachedEntry = consentCache.getIfPresent(serviceId, userId, consentId);
+            entriesByConsentId.put(consentId, cachedEntry);
+            if (cachedEntry == null) {
+                uncachedConsentIds.add(consentId);
+            }
+        }
+
+        if (!uncachedConsentIds.isEmpty()) {
+            final ServiceUserConsentBatchGetResult uncachedResult = consentRepository.batchGetServiceUserConsents(
+                serviceId, userId, uncachedConsentIds);
+            for (final Consent consent : uncachedResult.consents()) {
+                consentCache.put(consent);
+                entriesByConsentId.put(consent.getConsentId(), new ServiceUserConsentCache.Entry(consent));
+            }
+            for (final String missingConsentId : uncachedResult.missingConsentIds()) {
+                consentCache.putMissing(serviceId, userId, missingConsentId);
+                entriesByConsentId.put(missingConsentId, new ServiceUserConsentCache.Entry(null));
+            }
+        }
+
+        final List<Consent> consents = new ArrayList<Consent>();
+        final List<String> missingConsentIds = new ArrayList<String>();
+        entriesByConsentId.forEach((consentId, entry) -> {
+            if (entry == null || entry.isMissing()) {
+                missingConsentIds.add(consentId);
+            } else {
+                consents.add(entry.consent());
+            }
+        });
+        return new ServiceUserConsentBatchGetResult(consents, missingConsentIds);
+    }
+}
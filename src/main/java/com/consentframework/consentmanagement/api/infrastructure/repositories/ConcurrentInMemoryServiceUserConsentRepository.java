@@ -0,0 +1,411 @@
+package com.consentframework.consentmanagement.api.infrastructure.repositories;
+
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentFilter;
+import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.domain.validators.ConsentValidator;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.ConflictingResourceException;
+import com.consentframework.shared.api.domain.exceptions.ResourceNotFoundException;
+import com.consentframework.shared.api.domain.pagination.ListPage;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Thread-safe in-memory implementation of ServiceUserConsentRepository, for local load testing, edge deployments
+ * and as an L1 store in front of another repository.
+ *
+ * Consents are held in a ConcurrentHashMap, and each write is an atomic compare-and-set of one consent against the
+ * version it replaces, so writes to different consents do not contend and reads never block. Each service-user pair
+ * has a sorted index of its consent IDs, so that list pages are resumed after the last listed consent ID and stay
+ * stable under concurrent writes, and active consents with an expiry time are indexed in expiry order. Indexes are
+ * updated within the same per-consent atomic write.
+ *
+ * Consents are stored and returned as is, so they must not be modified after being saved or retrieved.
+ */
+public class ConcurrentInMemoryServiceUserConsentRepository implements ServiceUserConsentRepository {
+    public static final int DEFAULT_INITIAL_CAPACITY = 1024;
+
+    static final String INVALID_PAGE_TOKEN_MESSAGE = "Invalid page token: %s";
+    static final String INVALID_LIMIT_MESSAGE = "Invalid limit: %d, expected a positive value";
+
+    private static final Base64.Encoder PAGE_TOKEN_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder PAGE_TOKEN_DECODER = Base64.getUrlDecoder();
+    private static final Comparator<ExpiryIndexEntry> EXPIRY_ORDER = Comparator.comparing(ExpiryIndexEntry::expiryTime)
+        .thenComparing(entry -> entry.key().serviceId())
+        .thenComparing(entry -> entry.key().userId())
+        .thenComparing(entry -> entry.key().consentId());
+
+    private final ConcurrentHashMap<ConsentKey, Consent> consents;
+    private final ConcurrentHashMap<ServiceUserKey, NavigableSet<String>> consentIdsByServiceUser;
+    private final NavigableSet<ExpiryIndexEntry> activeConsentsByExpiryTime = new ConcurrentSkipListSet<ExpiryIndexEntry>(EXPIRY_ORDER);
+
+    /**
+     * Construct concurrent in-memory consent repository.
+     */
+    public ConcurrentInMemoryServiceUserConsentRepository() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Construct concurrent in-memory consent repository sized for the expected number of consents, so that it
+     * does not need to resize while being filled.
+     *
+     * @param expectedConsents expected number of consents
+     */
+    public ConcurrentInMemoryServiceUserConsentRepository(final int expectedConsents) {
+        this.consents = new ConcurrentHashMap<ConsentKey, Consent>(expectedConsents);
+        this.consentIdsByServiceUser = new ConcurrentHashMap<ServiceUserKey, NavigableSet<String>>(expectedConsents);
+    }
+
+    /**
+     * Add consent to in-memory store if does not yet exist.
+     *
+     * @param consent Consent object to save to the repository
+     * @throws BadRequestException exception thrown if consent violates model constraints
+     * @throws ConflictingResourceException exception thrown if consent already exists with same key
+     */
+    @Override
+    public void createServiceUserConsent(final Consent consent) throws BadRequestException, ConflictingResourceException {
+        ConsentValidator.validate(consent);
+        if (!storeIfAbsent(consent)) {
+            throw conflictingConsentException(consent);
+        }
+    }
+
+    /**
+     * Add consents to in-memory store, only if none of them exist yet.
+     *
+     * Consents are added one at a time and removed again if any of them already exists, so concurrent readers
+     * may briefly see consents of a batch that is not saved.
+     *
+     * @param consents Consent objects to save to the repository
+     * @throws BadRequestException exception thrown if any consent violates model constraints
+     * @throws ConflictingResourceException exception thrown if any consent already exists with same key, in which case none are saved
+     */
+    @Override
+    public void createServiceUserConsents(final List<Consent> consents) throws BadRequestException, ConflictingResourceException {
+        validateBatch(consents);
+
+        final List<Consent> storedConsents = new ArrayList<Consent>(consents.size());
+        for (final Consent consent : consents) {
+            if (!storeIfAbsent(consent)) {
+                storedConsents.forEach(this::removeStored);
+                throw conflictingConsentException(consent);
+            }
+            storedConsents.add(consent);
+        }
+    }
+
+    /**
+     * Retrieve consent from in-memory store if exists.
+     *
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @param consentId consent ID, specific to the service-user pair
+     * @return specific consent for the service-user-consent ID tuple if exists
+     * @throws ResourceNotFoundException exception thrown if no such consent exists
+     */
+    @Override
+    public Consent getServiceUserConsent(final String serviceId, final String userId, final String consentId)
+            throws ResourceNotFoundException {
+        final Consent consent = consents.get(new ConsentKey(serviceId, userId, consentId));
+        if (consent == null) {
+            throw new ResourceNotFoundException(String.format(CONSENT_NOT_FOUND_MESSAGE, serviceId, userId, consentId));
+        }
+        return consent;
+    }
+
+    /**
+     * Update existing consent, only if the stored consent has the previous consentVersion.
+     *
+     * @param consent Consent object to save to the repository
+     * @throws BadRequestException exception thrown if consent violates model constraints
+     * @throws ConflictingResourceException exception thrown if stored consent is not the previous consentVersion
+     * @throws ResourceNotFoundException exception thrown if no such consent exists
+     */
+    @Override
+    public void updateServiceUserConsent(final Consent consent) throws BadRequestException, ConflictingResourceException,
+            ResourceNotFoundException {
+        ConsentValidator.validate(consent);
+
+        final AtomicReference<Consent> previousConsent = new AtomicReference<Consent>();
+        consents.computeIfPresent(ConsentKey.of(consent), (key, storedConsent) -> {
+            previousConsent.set(storedConsent);
+            if (storedConsent.getConsentVersion() + 1 != consent.getConsentVersion()) {
+                return storedConsent;
+            }
+            updateExpiryIndex(key, storedConsent, consent);
+            return consent;
+        });
+
+        if (previousConsent.get() == null) {
+            throw new ResourceNotFoundException(String.format(CONSENT_NOT_FOUND_MESSAGE,
+                consent.getServiceId(), consent.getUserId(), consent.getConsentId()));
+        }
+        ConsentValidator.validateNextConsentVersion(previousConsent.get(), consent);
+    }
+
+    /**
+     * List user's consents for a given service, in consent ID order.
+     *
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @param limit maximum number of consents to retrieve, null for no limit
+     * @param pageToken pagination token from the previous page
+     * @return page of consents stored for the service/user pair
+     * @throws BadRequestException exception thrown when receive invalid limit or page token
+     */
+    @Override
+    public ListPage<Consent> listServiceUserConsents(final String serviceId, final String userId,
+            final Integer limit, final String pageToken) throws BadRequestException {
+        return listServiceUserConsents(serviceId, userId, ServiceUserConsentFilter.NONE, limit, pageToken);
+    }
+
+    /**
+     * List user's consents for a given service matching a filter, in consent ID order, filling pages up to the limit.
+     *
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @param filter consent filter
+     * @param limit maximum number of consents to retrieve, null for no limit
+     * @param pageToken pagination token from the previous page
+     * @return page of matching consents stored for the service/user pair
+     * @throws BadRequestException exception thrown when receive invalid limit or page token
+     */
+    @Override
+    public ListPage<Consent> listServiceUserConsents(final String serviceId, final String userId, final ServiceUserConsentFilter filter,
+            final Integer limit, final String pageToken) throws BadRequestException {
+        if (limit != null && limit < 1) {
+            throw new BadRequestException(String.format(INVALID_LIMIT_MESSAGE, limit));
+        }
+        final String exclusiveStartConsentId = parsePageToken(pageToken);
+        final NavigableSet<String> consentIds = consentIdsByServiceUser.get(new ServiceUserKey(serviceId, userId));
+        if (consentIds == null) {
+            return new ListPage<Consent>(List.of(), Optional.empty());
+        }
+
+        final int pageSize = limit == null ? Integer.MAX_VALUE : limit;
+        final Iterator<String> pageConsentIds = (exclusiveStartConsentId == null
+            ? consentIds
+            : consentIds.tailSet(exclusiveStartConsentId, false)).iterator();
+        final List<Consent> pageConsents = new ArrayList<Consent>(Math.min(pageSize, consentIds.size()));
+        String lastConsentId = null;
+        while (pageConsents.size() < pageSize && pageConsentIds.hasNext()) {
+            lastConsentId = pageConsentIds.next();
+            final Consent consent = consents.get(new ConsentKey(serviceId, userId, lastConsentId));
+            if (consent != null && (filter == null || filter.matches(consent))) {
+                pageConsents.add(consent);
+            }
+        }
+
+        final Optional<String> nextPageToken = pageConsentIds.hasNext()
+            ? Optional.of(PAGE_TOKEN_ENCODER.encodeToString(lastConsentId.getBytes(StandardCharsets.UTF_8)))
+            : Optional.empty();
+        return new ListPage<Consent>(pageConsents, nextPageToken);
+    }
+
+    /**
+     * Export all of a user's consents for a given service, in consent ID order, iterating over the index as the
+     * returned stream is consumed.
+     *
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @return stream of the user's consents, reflecting writes made while it is consumed
+     */
+    @Override
+    public Stream<Consent> exportServiceUserConsents(final String serviceId, final String userId) {
+        final NavigableSet<String> consentIds = consentIdsByServiceUser.get(new ServiceUserKey(serviceId, userId));
+        if (consentIds == null) {
+            return Stream.empty();
+        }
+        return consentIds.stream()
+            .map(consentId -> consents.get(new ConsentKey(serviceId, userId, consentId)))
+            .filter(Objects::nonNull);
+    }
+
+    /**
+     * List active consents whose expiry time is not after a given time, in expiry time order.
+     *
+     * @param expiryTime latest expiry time to list
+     * @param limit maximum number of consents to retrieve
+     * @return active consents expiring by the given time
+     */
+    public List<Consent> listActiveConsentsExpiringBy(final Instant expiryTime, final int limit) {
+        final List<Consent> expiringConsents = new ArrayList<Consent>();
+        for (final ExpiryIndexEntry entry : activeConsentsByExpiryTime) {
+            if (expiringConsents.size() >= limit || entry.expiryTime().isAfter(expiryTime)) {
+                break;
+            }
+            final Consent consent = consents.get(entry.key());
+            if (consent != null) {
+                expiringConsents.add(consent);
+            }
+        }
+        return expiringConsents;
+    }
+
+    /**
+     * Get the number of stored consents.
+     *
+     * @return number of stored consents
+     */
+    public int size() {
+        return consents.size();
+    }
+
+    /**
+     * Restore a previously saved consent without validating it, such as when replaying persisted writes, keeping
+     * whichever of it and any stored consent with the same key has the later version.
+     *
+     * @param consent previously saved consent
+     */
+    void restoreServiceUserConsent(final Consent consent) {
+        consentIdsByServiceUser.computeIfAbsent(new ServiceUserKey(consent.getServiceId(), consent.getUserId()),
+            serviceUserKey -> new ConcurrentSkipListSet<String>()).add(consent.getConsentId());
+
+        consents.compute(ConsentKey.of(consent), (key, storedConsent) -> {
+            if (storedConsent != null && storedConsent.getConsentVersion() >= consent.getConsentVersion()) {
+                return storedConsent;
+            }
+            updateExpiryIndex(key, storedConsent, consent);
+            return consent;
+        });
+    }
+
+    /**
+     * Check that consents can be created, without creating them, such as before persisting them.
+     *
+     * @param newConsents Consent objects to create
+     * @throws BadRequestException exception thrown if any consent violates model constraints
+     * @throws ConflictingResourceException exception thrown if any consent already exists with same key, or is repeated
+     */
+    void validateNewConsents(final List<Consent> newConsents) throws BadRequestException, ConflictingResourceException {
+        validateBatch(newConsents);
+        for (final Consent consent : newConsents) {
+            if (consents.containsKey(ConsentKey.of(consent))) {
+                throw conflictingConsentException(consent);
+            }
+        }
+    }
+
+    /**
+     * Stream all stored consents, in no particular order, reflecting each consent's latest version as of some point
+     * after the stream is created.
+     *
+     * @return stream of all stored consents
+     */
+    Stream<Consent> streamAllConsents() {
+        return consents.values().stream();
+    }
+
+    private boolean storeIfAbsent(final Consent consent) {
+        final ConsentKey consentKey = ConsentKey.of(consent);
+        // Index the consent ID first, so that listing sees every stored consent, listing skips IDs without a consent
+        consentIdsByServiceUser.computeIfAbsent(new ServiceUserKey(consent.getServiceId(), consent.getUserId()),
+            serviceUserKey -> new ConcurrentSkipListSet<String>()).add(consent.getConsentId());
+
+        final AtomicReference<Consent> storedConsent = new AtomicReference<Consent>();
+        consents.compute(consentKey, (key, existingConsent) -> {
+            if (existingConsent != null) {
+                return existingConsent;
+            }
+            updateExpiryIndex(key, null, consent);
+            storedConsent.set(consent);
+            return consent;
+        });
+        return storedConsent.get() != null;
+    }
+
+    private void removeStored(final Consent consent) {
+        consents.computeIfPresent(ConsentKey.of(consent), (key, storedConsent) -> {
+            if (storedConsent != consent) {
+                return storedConsent;
+            }
+            updateExpiryIndex(key, storedConsent, null);
+            return null;
+        });
+    }
+
+    private void updateExpiryIndex(final ConsentKey key, final Consent previousConsent, final Consent consent) {
+        final ExpiryIndexEntry previousEntry = ExpiryIndexEntry.of(key, previousConsent);
+        final ExpiryIndexEntry entry = ExpiryIndexEntry.of(key, consent);
+        if (Objects.equals(previousEntry, entry)) {
+            return;
+        }
+        if (previousEntry != null) {
+            activeConsentsByExpiryTime.remove(previousEntry);
+        }
+        if (entry != null) {
+            activeConsentsByExpiryTime.add(entry);
+        }
+    }
+
+    private static void validateBatch(final List<Consent> batch) throws BadRequestException, ConflictingResourceException {
+        final Set<ConsentKey> batchKeys = new HashSet<ConsentKey>();
+        for (final Consent consent : batch) {
+            ConsentValidator.validate(consent);
+            if (!batchKeys.add(ConsentKey.of(consent))) {
+                throw conflictingConsentException(consent);
+            }
+        }
+    }
+
+    private static String parsePageToken(final String pageToken) throws BadRequestException {
+        if (pageToken == null) {
+            return null;
+        }
+        try {
+            return new String(PAGE_TOKEN_DECODER.decode(pageToken), StandardCharsets.UTF_8);
+        } catch (final IllegalArgumentException invalidBase64Exception) {
+            throw new BadRequestException(String.format(INVALID_PAGE_TOKEN_MESSAGE, pageToken));
+        }
+    }
+
+    private static ConflictingResourceException conflictingConsentException(final Consent consent) {
+        return new ConflictingResourceException(String.format(CONSENT_ALREADY_EXISTS_MESSAGE,
+            consent.getServiceId(), consent.getUserId(), consent.getConsentId()));
+    }
+
+    /**
+     * Key of a stored consent.
+     */
+    private record ConsentKey(String serviceId, String userId, String consentId) {
+        static ConsentKey of(final Consent consent) {
+            return new ConsentKey(consent.getServiceId(), consent.getUserId(), consent.getConsentId());
+        }
+    }
+
+    /**
+     * Key of a service-user pair's consent ID index.
+     */
+    private record ServiceUserKey(String serviceId, String userId) {}
+
+    /**
+     * Entry of the active consents by expiry time index.
+     */
+    private record ExpiryIndexEntry(Instant expiryTime, ConsentKey key) {
+        static ExpiryIndexEntry of(final ConsentKey key, final Consent consent) {
+            if (consent == null || !ConsentStatus.ACTIVE.equals(consent.getStatus()) || consent.getExpiryTime() == null) {
+                return null;
+            }
+            return new ExpiryIndexEntry(consent.getExpiryTime().toInstant(), key);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.consentframework.consentmanagement.api.infrastructure.repositories;
+
+/**
+ * Consent operation described by log and exception messages, only formatted once a message including it is built,
+ * so that requests logging their context at debug level do not format it while debug logging is disabled.
+ *
+ * @param operation operation on the consent, eg. "updating"
+ * @param serviceId service ID
+ * @param userId user ID
+ * @param consentId consent ID
+ */
+record ConsentOperationContext(String operation, String serviceId, String userId, String consentId) {
+    @Override
+    public String toString() {
+        return String.format("%s consent with serviceId: '%s', userId: '%s', consentId: '%s'", operation, serviceId, userId, consentId);
+    }
+}
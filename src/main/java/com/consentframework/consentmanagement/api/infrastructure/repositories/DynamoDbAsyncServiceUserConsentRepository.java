@@ -0,0 +1,299 @@
+package com.consentframework.consentmanagement.api.infrastructure.repositories;
+
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentFilter;
+import com.consentframework.consentmanagement.api.domain.repositories.AsyncServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.domain.validators.ConsentValidator;
+import com.consentframework.consentmanagement.api.infrastructure.mappers.DynamoDbServiceUserConsentMapper;
+import com.consentframework.consentmanagement.api.infrastructure.mappers.DynamoDbServiceUserConsentPageTokenMapper;
+import com.consentframework.consentmanagement.api.infrastructure.schemas.DynamoDbServiceUserConsentTableSchema;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.usecases.utils.CompletableFutureUtils;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.ConflictingResourceException;
+import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
+import com.consentframework.shared.api.domain.exceptions.ResourceNotFoundException;
+import com.consentframework.shared.api.domain.pagination.ListPage;
+import com.consentframework.shared.api.infrastructure.entities.DynamoDbServiceUserConsent;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.GetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking DynamoDB implementation of AsyncServiceUserConsentRepository.
+ *
+ * Filtered lists query the same indexes as DynamoDbServiceUserConsentRepository, filtering each page of the service
+ * and user index in memory until the status and consent type index is backfilled.
+ */
+public class DynamoDbAsyncServiceUserConsentRepository implements AsyncServiceUserConsentRepository {
+    private static final Logger logger = LogManager.getLogger(DynamoDbAsyncServiceUserConsentRepository.class);
+
+    private final DynamoDbAsyncTable<DynamoDbServiceUserConsent> consentTable;
+    private final boolean statusTypeIndexBackfilled;
+
+    /**
+     * Construct non-blocking DynamoDB consent repository, filtering lists in memory until the status and consent type
+     * index is backfilled.
+     *
+     * @param consentTable asynchronous DynamoDB consent table
+     */
+    public DynamoDbAsyncServiceUserConsentRepository(final DynamoDbAsyncTable<DynamoDbServiceUserConsent> consentTable) {
+        this(consentTable, false);
+    }
+
+    /**
+     * Construct non-blocking DynamoDB consent repository.
+     *
+     * @param consentTable asynchronous DynamoDB consent table
+     * @param statusTypeIndexBackfilled whether all items have been backfilled into the status and consent type index,
+     *     so that filtered lists can query it
+     */
+    public DynamoDbAsyncServiceUserConsentRepository(final DynamoDbAsyncTable<DynamoDbServiceUserConsent> consentTable,
+            final boolean statusTypeIndexBackfilled) {
+        this.consentTable = consentTable;
+        this.statusTypeIndexBackfilled = statusTypeIndexBackfilled;
+    }
+
+    /**
+     * Add consent to DynamoDB table if does not yet exist.
+     *
+     * @param consent Consent object to save to the repository
+     * @return future completed once the consent is saved
+     */
+    @Override
+    public CompletableFuture<Void> createServiceUserConsent(final Consent consent) {
+        try {
+            ConsentValidator.validate(consent);
+        } catch (final BadRequestException badRequestException) {
+            return CompletableFuture.failedFuture(badRequestException);
+        }
+
+        final ConsentOperationContext consentContext = new ConsentOperationContext("creating", consent.getServiceId(),
+            consent.getUserId(), consent.getConsentId());
+        logger.debug("Submitting CreateServiceUserConsent request for {}", consentContext);
+        return putConsent(consent, DynamoDbServiceUserConsentRepository.CONSENT_NOT_EXISTS_EXPRESSION, consentContext)
+            .thenRun(() -> logger.debug("Successfully created {}", consentContext));
+    }
+
+    /**
+     * Retrieve consent from DynamoDB if exists.
+     *
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @param consentId consent ID, specific to the service-user pair
+     * @return future of specific consent for the service-user-consent ID tuple
+     */
+    @Override
+    public CompletableFuture<Consent> getServiceUserConsent(final String serviceId, final String userId, final String consentId) {
+        final ConsentOperationContext consentContext = new ConsentOperationContext("retrieving", serviceId, userId, consentId);
+        logger.debug("Submitting GetServiceUserConsent request for {}", consentContext);
+
+        final Key partitionKey = DynamoDbServiceUserConsentMapper.toServiceUserConsentPartitionKey(serviceId, userId, consentId);
+        final GetItemEnhancedRequest getItemRequest = GetItemEnhancedRequest.builder()
+            .key(partitionKey)
+            .consistentRead(true)
+            .build();
+
+        return consentTable.getItem(getItemRequest).handle((consentItem, throwable) -> {
+            if (throwable != null) {
+                throw normalizeDynamoDbError(throwable, consentContext);
+            }
+            if (consentItem == null) {
+                throw new CompletionException(new ResourceNotFoundException(String.format(
+                    ServiceUserConsentRepository.CONSENT_NOT_FOUND_MESSAGE, serviceId, userId, consentId)));
+            }
+            logger.debug("Successfully retrieved {}, converting to Consent data model", consentContext);
+            return DynamoDbServiceUserConsentMapper.dynamoDbItemToConsent(consentItem);
+        });
+    }
+
+    /**
+     * Update existing consent with new data, only if the stored consent has the previous consentVersion.
+     *
+     * @param consent Consent object to save to the repository
+     * @return future completed once the consent is saved, or failed with ResourceNotFoundException if no such consent
+     *     exists or ConflictingResourceException if the stored consent is not the previous consentVersion
+     */
+    @Override
+    public CompletableFuture<Void> updateServiceUserConsent(final Consent consent) {
+        try {
+            ConsentValidator.validate(consent);
+        } catch (final BadRequestException badRequestException) {
+            return CompletableFuture.failedFuture(badRequestException);
+        }
+
+        final ConsentOperationContext consentContext = new ConsentOperationContext("updating", consent.getServiceId(),
+            consent.getUserId(), consent.getConsentId());
+        logger.debug("Submitting UpdateServiceUserConsent request for {}", consentContext);
+        return consentTable.putItem(DynamoDbServiceUserConsentRepository.buildUpdatePutRequest(consent))
+            .exceptionally(throwable -> {
+                final Throwable cause = CompletableFutureUtils.unwrap(throwable);
+                if (cause instanceof ConditionalCheckFailedException conditionFailedException) {
+                    throw new CompletionException(DynamoDbServiceUserConsentRepository.toUpdateConditionCheckFailure(
+                        conditionFailedException, consent, consentContext));
+                }
+                throw normalizeDynamoDbError(throwable, consentContext);
+            })
+            .thenRun(() -> logger.debug("Successfully updated {}", consentContext));
+    }
+
+    /**
+     * List user's consents for a given service.
+     *
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @param limit maximum number of consents to retrieve
+     * @param pageToken pagination token for backend consents query
+     * @return future of page of matching consents stored for the service/user pair
+     */
+    @Override
+    public CompletableFuture<ListPage<Consent>> listServiceUserConsents(final String serviceId, final String userId,
+            final Integer limit, final String pageToken) {
+        return queryConsentsPage(serviceId, userId, DynamoDbServiceUserConsent.CONSENT_BY_SERVICE_USER_GSI_NAME,
+            ServiceUserConsentFilter.NONE, toServiceUserQueryConditional(serviceId, userId), limit, pageToken);
+    }
+
+    /**
+     * List user's consents for a given service matching a filter, querying the status and consent type index
+     * by key prefix rather than filtering query results.
+     *
+     * Until the index is backfilled, items written before it are missing from it, so each page of the service and user
+     * index is filtered instead, and pages may hold fewer consents than the limit even if more match.
+     *
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @param filter consent status and consent type filter
+     * @param limit maximum number of consents to retrieve
+     * @param pageToken pagination token for backend consents query
+     * @return future of page of matching consents stored for the service/user pair
+     */
+    @Override
+    public CompletableFuture<ListPage<Consent>> listServiceUserConsents(final String serviceId, final String userId,
+            final ServiceUserConsentFilter filter, final Integer limit, final String pageToken) {
+        if (filter == null || filter.isEmpty()) {
+            return listServiceUserConsents(serviceId, userId, limit, pageToken);
+        }
+        if (!statusTypeIndexBackfilled) {
+            return queryConsentsPage(serviceId, userId, DynamoDbServiceUserConsent.CONSENT_BY_SERVICE_USER_GSI_NAME, filter,
+                toServiceUserQueryConditional(serviceId, userId), limit, pageToken)
+                .thenApply(page -> new ListPage<Consent>(page.resultsOnPage()
+                    .stream()
+                    .filter(filter::matches)
+                    .collect(Collectors.toList()), page.nextPageToken()));
+        }
+
+        final Key queryKey = Key.builder()
+            .partitionValue(DynamoDbServiceUserConsentMapper.toServiceUserId(serviceId, userId))
+            .sortValue(DynamoDbServiceUserConsentMapper.toStatusTypeIdPrefix(filter.status(), filter.consentType()))
+            .build();
+        return queryConsentsPage(serviceId, userId, DynamoDbServiceUserConsentTableSchema.CONSENTS_BY_SERVICE_USER_STATUS_TYPE_GSI_NAME,
+            filter, QueryConditional.sortBeginsWith(queryKey), limit, pageToken);
+    }
+
+    private CompletableFuture<ListPage<Consent>> queryConsentsPage(final String serviceId, final String userId, final String indexName,
+            final ServiceUserConsentFilter filter, final QueryConditional queryConditional, final Integer limit, final String pageToken) {
+        final Map<String, AttributeValue> exclusiveStartKey;
+        try {
+            exclusiveStartKey = DynamoDbServiceUserConsentPageTokenMapper.toDynamoDbPageToken(serviceId, userId, indexName, filter,
+                pageToken);
+        } catch (final BadRequestException | InternalServiceException pageTokenException) {
+            return CompletableFuture.failedFuture(pageTokenException);
+        }
+
+        final QueryEnhancedRequest queryRequest = QueryEnhancedRequest.builder()
+            .queryConditional(queryConditional)
+            .exclusiveStartKey(exclusiveStartKey)
+            .limit(limit)
+            .build();
+
+        final SdkPublisher<Page<DynamoDbServiceUserConsent>> queryResults = consentTable
+            .index(indexName)
+            .query(queryRequest);
+        if (queryResults == null) {
+            return CompletableFuture.completedFuture(DynamoDbServiceUserConsentRepository.EMPTY_CONSENTS_PAGE);
+        }
+
+        final AtomicReference<Page<DynamoDbServiceUserConsent>> firstPageResults = new AtomicReference<Page<DynamoDbServiceUserConsent>>();
+        return queryResults.limit(1)
+            .subscribe(firstPageResults::set)
+            .handle((ignored, throwable) -> {
+                if (throwable != null) {
+                    throw normalizeDynamoDbError(throwable, String.format("listing consents with serviceId: '%s', userId: '%s'",
+                        serviceId, userId));
+                }
+                return toConsentsPage(serviceId, userId, indexName, filter, firstPageResults.get());
+            });
+    }
+
+    private static QueryConditional toServiceUserQueryConditional(final String serviceId, final String userId) {
+        return QueryConditional.keyEqualTo(Key.builder().partitionValue(userId).sortValue(serviceId).build());
+    }
+
+    private CompletableFuture<Void> putConsent(final Consent consent, final Expression conditionExpression,
+            final ConsentOperationContext consentContext) {
+        final DynamoDbServiceUserConsent ddbConsent = DynamoDbServiceUserConsentMapper.toDynamoDbServiceUserConsent(consent);
+        final PutItemEnhancedRequest<DynamoDbServiceUserConsent> putRequest = PutItemEnhancedRequest
+            .builder(DynamoDbServiceUserConsent.class)
+            .item(ddbConsent)
+            .conditionExpression(conditionExpression)
+            .build();
+
+        return consentTable.putItem(putRequest).exceptionally(throwable -> {
+            if (CompletableFutureUtils.unwrap(throwable) instanceof ConditionalCheckFailedException) {
+                final String errorMessage = String.format("Error %s, consent already exists", consentContext);
+                logger.warn(errorMessage, throwable);
+                throw new CompletionException(new ConflictingResourceException(errorMessage));
+            }
+            throw normalizeDynamoDbError(throwable, consentContext);
+        });
+    }
+
+    private static ListPage<Consent> toConsentsPage(final String serviceId, final String userId, final String indexName,
+            final ServiceUserConsentFilter filter, final Page<DynamoDbServiceUserConsent> page) {
+        if (page == null) {
+            return DynamoDbServiceUserConsentRepository.EMPTY_CONSENTS_PAGE;
+        }
+
+        final List<Consent> consents = page.items()
+            .stream()
+            .map(ddbConsent -> DynamoDbServiceUserConsentMapper.dynamoDbItemToConsent(ddbConsent))
+            .collect(Collectors.toList());
+        try {
+            final String lastEvaluatedKeyString = DynamoDbServiceUserConsentPageTokenMapper.toPageToken(serviceId, userId,
+                indexName, filter, page.lastEvaluatedKey());
+            return new ListPage<Consent>(consents, Optional.ofNullable(lastEvaluatedKeyString));
+        } catch (final BadRequestException | InternalServiceException pageTokenException) {
+            throw new CompletionException(pageTokenException);
+        }
+    }
+
+    private static CompletionException normalizeDynamoDbError(final Throwable throwable, final Object exceptionContext) {
+        final Throwable cause = CompletableFutureUtils.unwrap(throwable);
+        if (!(cause instanceof DynamoDbException)) {
+            return CompletableFutureUtils.wrap(cause);
+        }
+
+        final String errorMessage = String.format("Received DynamoDbException %s: %s", exceptionContext, cause.getMessage());
+        logger.error(errorMessage, cause);
+        return new CompletionException(new InternalServiceException(errorMessage, (DynamoDbException) cause));
+    }
+}
@@ -1,10 +1,19 @@
 package com.consentframework.consentmanagement.api.infrastructure.repositories;
 
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentBatchGetResult;
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentFilter;
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentPatch;
 import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
 import com.consentframework.consentmanagement.api.domain.validators.ConsentValidator;
+import com.consentframework.consentmanagement.api.domain.validators.ServiceUserConsentPatchValidator;
+import com.consentframework.consentmanagement.api.infrastructure.constants.DynamoDbServiceUserConsentAttributeName;
 import com.consentframework.consentmanagement.api.infrastructure.mappers.DynamoDbServiceUserConsentMapper;
 import com.consentframework.consentmanagement.api.infrastructure.mappers.DynamoDbServiceUserConsentPageTokenMapper;
+import com.consentframework.consentmanagement.api.infrastructure.mappers.DynamoDbServiceUserConsentPatchMapper;
+import com.consentframework.consentmanagement.api.infrastructure.schemas.DynamoDbServiceUserConsentTableSchema;
 import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiMetrics;
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiStage;
 import com.consentframework.shared.api.domain.exceptions.BadRequestException;
 import com.consentframework.shared.api.domain.exceptions.ConflictingResourceException;
 import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
@@ -14,40 +23,121 @@ import com.consentframework.shared.api.infrastructure.entities.DynamoDbServiceUs
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Expression;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetResultPage;
 import software.amazon.awssdk.enhanced.dynamodb.model.GetItemEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.Page;
 import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.ReadBatch;
+import software.amazon.awssdk.enhanced.dynamodb.model.TransactPutItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.TransactWriteItemsEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
 import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValuesOnConditionCheckFailure;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * DynamoDB implementation of ServiceUserConsentRepository.
+ *
+ * DynamoDB calls, consent validation and mapping are timed as ApiMetrics stages.
+ *
+ * Exports prefetch the next query page on a virtual thread while the current page is consumed.
+ *
+ * Filtered lists query the status and consent type index once it has been backfilled for items written before it,
+ * and until then filter each page of the service and user index in memory.
  */
 public class DynamoDbServiceUserConsentRepository implements ServiceUserConsentRepository {
     private static final Logger logger = LogManager.getLogger(DynamoDbServiceUserConsentRepository.class);
 
+    public static final String STATUS_TYPE_INDEX_BACKFILLED_ENVIRONMENT_VARIABLE = "STATUS_TYPE_INDEX_BACKFILLED";
+
     static final String CONSENT_EXISTS_CONDITION = "attribute_exists(id)";
     static final String CONSENT_NOT_EXISTS_CONDITION = "attribute_not_exists(id)";
+    static final String EXPECTED_PREVIOUS_CONSENT_VERSION = DynamoDbServiceUserConsentPatchMapper.EXPECTED_CONSENT_VERSION;
+    static final String CONSENT_VERSION_MATCHES_CONDITION = DynamoDbServiceUserConsentPatchMapper.VERSION_MATCHES_CONDITION;
+    // Condition expressions are immutable, so constant ones are built once rather than for every write
+    static final Expression CONSENT_NOT_EXISTS_EXPRESSION = Expression.builder().expression(CONSENT_NOT_EXISTS_CONDITION).build();
+    // Most updates are of early consent versions, so their version conditions are prebuilt
+    static final int PREBUILT_VERSION_EXPRESSIONS = 16;
+    private static final Expression[] CONSENT_VERSION_MATCHES_EXPRESSIONS = IntStream.range(0, PREBUILT_VERSION_EXPRESSIONS)
+        .mapToObj(DynamoDbServiceUserConsentRepository::buildConsentVersionMatchesExpression)
+        .toArray(Expression[]::new);
     static final ListPage<Consent> EMPTY_CONSENTS_PAGE = new ListPage<Consent>(List.of(), Optional.empty());
 
+    // BatchGetItem accepts at most 100 keys per request
+    static final int BATCH_GET_MAX_KEYS = 100;
+    static final int BATCH_GET_MAX_ATTEMPTS = 5;
+    static final long BATCH_GET_BASE_BACKOFF_MILLIS = 25L;
+    // TransactWriteItems accepts at most 100 actions per transaction
+    static final int TRANSACT_WRITE_MAX_ITEMS = 100;
+    static final String TRANSACT_WRITE_TOO_MANY_ITEMS_MESSAGE = "Unable to create %d consents in one transaction, at most %d are supported";
+    static final String CONDITIONAL_CHECK_FAILED_REASON_CODE = "ConditionalCheckFailed";
+    static final String BATCH_GET_UNPROCESSED_KEYS_MESSAGE =
+        "Unable to retrieve %d consents with serviceId: '%s', userId: '%s' after %d BatchGetItem attempts";
+
+    static final Executor EXPORT_PREFETCH_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final DynamoDbClient dynamoDbClient;
+    private final DynamoDbEnhancedClient dynamoDbEnhancedClient;
     private final DynamoDbTable<DynamoDbServiceUserConsent> consentTable;
+    private final boolean statusTypeIndexBackfilled;
+
+    /**
+     * Construct DynamoDB consent repository, filtering lists in memory until the status and consent type index
+     * is backfilled.
+     *
+     * @param dynamoDbClient DynamoDB client, used for update expressions not supported by the enhanced client
+     * @param dynamoDbEnhancedClient DynamoDB enhanced client, used for batch operations
+     * @param consentTable DynamoDB consent table
+     */
+    public DynamoDbServiceUserConsentRepository(final DynamoDbClient dynamoDbClient, final DynamoDbEnhancedClient dynamoDbEnhancedClient,
+            final DynamoDbTable<DynamoDbServiceUserConsent> consentTable) {
+        this(dynamoDbClient, dynamoDbEnhancedClient, consentTable, false);
+    }
 
     /**
      * Construct DynamoDB consent repository.
+     *
+     * @param dynamoDbClient DynamoDB client, used for update expressions not supported by the enhanced client
+     * @param dynamoDbEnhancedClient DynamoDB enhanced client, used for batch operations
+     * @param consentTable DynamoDB consent table
+     * @param statusTypeIndexBackfilled whether all items have been backfilled into the status and consent type index,
+     *     so that filtered lists can query it
      */
-    public DynamoDbServiceUserConsentRepository(final DynamoDbTable<DynamoDbServiceUserConsent> consentTable) {
+    public DynamoDbServiceUserConsentRepository(final DynamoDbClient dynamoDbClient, final DynamoDbEnhancedClient dynamoDbEnhancedClient,
+            final DynamoDbTable<DynamoDbServiceUserConsent> consentTable, final boolean statusTypeIndexBackfilled) {
+        this.dynamoDbClient = dynamoDbClient;
+        this.dynamoDbEnhancedClient = dynamoDbEnhancedClient;
         this.consentTable = consentTable;
+        this.statusTypeIndexBackfilled = statusTypeIndexBackfilled;
     }
 
     /**
@@ -61,13 +151,78 @@ public class DynamoDbServiceUserConsentRepository implements ServiceUserConsentR
     @Override
     public void createServiceUserConsent(final Consent consent) throws BadRequestException, ConflictingResourceException,
             InternalServiceException {
-        ConsentValidator.validate(consent);
+        validate(consent);
+
+        final ConsentOperationContext consentContext = new ConsentOperationContext("creating", consent.getServiceId(),
+            consent.getUserId(), consent.getConsentId());
+        logger.debug("Submitting CreateServiceUserConsent request for {}", consentContext);
+        putConsent(consent, CONSENT_NOT_EXISTS_EXPRESSION, consentContext);
+        logger.debug("Successfully created {}", consentContext);
+    }
+
+    /**
+     * Add consents to DynamoDB table in a single transaction, only if none of them exist yet.
+     *
+     * @param consents Consent objects to save to the repository
+     * @throws BadRequestException exception thrown if any consent violates model constraints or too many consents are given
+     * @throws ConflictingResourceException exception thrown if any consent already exists with same key, in which case none are saved
+     * @throws InternalServiceException exception thrown if unexpected server error creating consents
+     */
+    @Override
+    public void createServiceUserConsents(final List<Consent> consents) throws BadRequestException, ConflictingResourceException,
+            InternalServiceException {
+        if (consents.isEmpty()) {
+            return;
+        }
+        if (consents.size() > TRANSACT_WRITE_MAX_ITEMS) {
+            throw new BadRequestException(String.format(TRANSACT_WRITE_TOO_MANY_ITEMS_MESSAGE, consents.size(), TRANSACT_WRITE_MAX_ITEMS));
+        }
+
+        final TransactWriteItemsEnhancedRequest.Builder transactionBuilder = TransactWriteItemsEnhancedRequest.builder();
+        for (final Consent consent : consents) {
+            validate(consent);
+            transactionBuilder.addPutItem(consentTable, TransactPutItemEnhancedRequest.builder(DynamoDbServiceUserConsent.class)
+                .item(ApiMetrics.time(ApiStage.MAPPING, () -> DynamoDbServiceUserConsentMapper.toDynamoDbServiceUserConsent(consent)))
+                .conditionExpression(CONSENT_NOT_EXISTS_EXPRESSION)
+                .build());
+        }
 
-        final String consentContext = String.format("creating consent with serviceId: '%s', userId: '%s', consentId: '%s'",
-            consent.getServiceId(), consent.getUserId(), consent.getConsentId());
-        logger.info(String.format("Submitting CreateServiceUserConsent request for %s", consentContext));
-        putConsent(consent, CONSENT_NOT_EXISTS_CONDITION, consentContext);
-        logger.info(String.format("Successfully created %s", consentContext));
+        final String serviceId = consents.get(0).getServiceId();
+        final String userId = consents.get(0).getUserId();
+        logger.debug("Submitting BatchCreateServiceUserConsents transaction for creating {} consents with serviceId: '{}', userId: '{}'",
+            consents.size(), serviceId, userId);
+        try {
+            ApiMetrics.run(ApiStage.DYNAMODB, () -> dynamoDbEnhancedClient.transactWriteItems(transactionBuilder.build()));
+        } catch (final TransactionCanceledException transactionCanceledException) {
+            final String consentsContext = String.format("creating %d consents with serviceId: '%s', userId: '%s'",
+                consents.size(), serviceId, userId);
+            final List<String> conflictingConsentIds = getConflictingConsentIds(consents, transactionCanceledException);
+            if (conflictingConsentIds.isEmpty()) {
+                throw logAndGetNormalizedServiceError(transactionCanceledException, consentsContext);
+            }
+            final String errorMessage = String.format("Error %s, consents already exist with consentIds: %s",
+                consentsContext, conflictingConsentIds);
+            logger.warn(errorMessage, transactionCanceledException);
+            throw new ConflictingResourceException(errorMessage);
+        } catch (final DynamoDbException ddbException) {
+            throw logAndGetNormalizedServiceError(ddbException, String.format("creating %d consents with serviceId: '%s', userId: '%s'",
+                consents.size(), serviceId, userId));
+        }
+        logger.debug("Successfully committed transaction creating {} consents with serviceId: '{}', userId: '{}'",
+            consents.size(), serviceId, userId);
+    }
+
+    private List<String> getConflictingConsentIds(final List<Consent> consents,
+            final TransactionCanceledException transactionCanceledException) {
+        // Cancellation reasons are listed in the same order as the transaction's actions
+        final List<CancellationReason> cancellationReasons = transactionCanceledException.cancellationReasons();
+        final List<String> conflictingConsentIds = new ArrayList<String>();
+        for (int i = 0; i < cancellationReasons.size() && i < consents.size(); i++) {
+            if (CONDITIONAL_CHECK_FAILED_REASON_CODE.equals(cancellationReasons.get(i).code())) {
+                conflictingConsentIds.add(consents.get(i).getConsentId());
+            }
+        }
+        return conflictingConsentIds;
     }
 
     /**
@@ -83,51 +238,317 @@ public class DynamoDbServiceUserConsentRepository implements ServiceUserConsentR
     @Override
     public Consent getServiceUserConsent(final String serviceId, final String userId, final String consentId)
             throws InternalServiceException, ResourceNotFoundException {
-        final String consentContext = String.format("consent with serviceId: '%s', userId: '%s', consentId: '%s'",
-            serviceId, userId, consentId);
-        logger.info(String.format("Submitting GetServiceUserConsent request for %s", consentContext));
+        final ConsentOperationContext consentContext = new ConsentOperationContext("retrieving", serviceId, userId, consentId);
+        logger.debug("Submitting GetServiceUserConsent request for {}", consentContext);
         final GetItemEnhancedRequest getItemRequest = buildGetItemRequest(serviceId, userId, consentId);
-        final DynamoDbServiceUserConsent consentItem = getServiceUserConsent(getItemRequest, serviceId, userId, consentId);
+        final DynamoDbServiceUserConsent consentItem = getServiceUserConsent(getItemRequest, consentContext);
 
-        logger.info(String.format("Successfully retrieved %s, converting to Consent data model", consentContext));
-        return DynamoDbServiceUserConsentMapper.dynamoDbItemToConsent(consentItem);
+        logger.debug("Successfully retrieved {}, converting to Consent data model", consentContext);
+        return ApiMetrics.time(ApiStage.MAPPING, () -> DynamoDbServiceUserConsentMapper.dynamoDbItemToConsent(consentItem));
     }
 
-    private DynamoDbServiceUserConsent getServiceUserConsent(final GetItemEnhancedRequest getItemRequest, final String serviceId,
-            final String userId, final String consentId) throws InternalServiceException, ResourceNotFoundException {
+    private DynamoDbServiceUserConsent getServiceUserConsent(final GetItemEnhancedRequest getItemRequest,
+            final ConsentOperationContext consentContext) throws InternalServiceException, ResourceNotFoundException {
         final DynamoDbServiceUserConsent consentItem;
         try {
-            consentItem = consentTable.getItem(getItemRequest);
+            consentItem = ApiMetrics.time(ApiStage.DYNAMODB, () -> consentTable.getItem(getItemRequest));
         } catch (final DynamoDbException ddbException) {
-            final String exceptionContext = String.format("retrieving consent with serviceId: '%s', userId: '%s', consentId: '%s'",
-                serviceId, userId, consentId);
-            throw logAndGetNormalizedServiceError(ddbException, exceptionContext);
+            throw logAndGetNormalizedServiceError(ddbException, consentContext);
         }
         if (consentItem == null) {
-            throw new ResourceNotFoundException(String.format(CONSENT_NOT_FOUND_MESSAGE, serviceId, userId, consentId));
+            throw new ResourceNotFoundException(String.format(CONSENT_NOT_FOUND_MESSAGE, consentContext.serviceId(),
+                consentContext.userId(), consentContext.consentId()));
         }
         return consentItem;
     }
 
     /**
-     * Update existing consent with new data.
+     * Retrieve a batch of consents with strongly consistent BatchGetItem requests of up to 100 keys each,
+     * retrying unprocessed keys with exponential backoff.
+     *
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @param consentIds consent IDs, specific to the service-user pair, duplicates are only retrieved once
+     * @return retrieved consents and missing consent IDs, each in the order they were requested
+     * @throws InternalServiceException exception thrown if receive error from DynamoDB or keys remain unprocessed after retries
+     */
+    @Override
+    public ServiceUserConsentBatchGetResult batchGetServiceUserConsents(final String serviceId, final String userId,
+            final List<String> consentIds) throws InternalServiceException {
+        final List<String> uniqueConsentIds = new ArrayList<String>(new LinkedHashSet<String>(consentIds));
+        logger.debug("Submitting BatchGetServiceUserConsents request for {} consents with serviceId: '{}', userId: '{}'",
+            uniqueConsentIds.size(), serviceId, userId);
+
+        final Map<String, Consent> retrievedConsents = new HashMap<String, Consent>();
+        for (int chunkStart = 0; chunkStart < uniqueConsentIds.size(); chunkStart += BATCH_GET_MAX_KEYS) {
+            final List<String> chunkConsentIds = uniqueConsentIds.subList(chunkStart,
+                Math.min(chunkStart + BATCH_GET_MAX_KEYS, uniqueConsentIds.size()));
+            batchGetConsentChunk(serviceId, userId, chunkConsentIds, retrievedConsents);
+        }
+
+        final List<Consent> consents = new ArrayList<Consent>(retrievedConsents.size());
+        final List<String> missingConsentIds = new ArrayList<String>();
+        for (final String consentId : uniqueConsentIds) {
+            final Consent consent = retrievedConsents.get(consentId);
+            if (consent == null) {
+                missingConsentIds.add(consentId);
+            } else {
+                consents.add(consent);
+            }
+        }
+
+        logger.debug("Successfully retrieved {} consents with serviceId: '{}', userId: '{}', {} not found",
+            consents.size(), serviceId, userId, missingConsentIds.size());
+        return new ServiceUserConsentBatchGetResult(consents, missingConsentIds);
+    }
+
+    private void batchGetConsentChunk(final String serviceId, final String userId, final List<String> consentIds,
+            final Map<String, Consent> retrievedConsents) throws InternalServiceException {
+        // Unprocessed keys are returned by DynamoDB ID, so track which consent ID each pending key belongs to
+        Map<String, String> pendingConsentIdsByDynamoDbId = new LinkedHashMap<String, String>();
+        for (final String consentId : consentIds) {
+            pendingConsentIdsByDynamoDbId.put(DynamoDbServiceUserConsentMapper.toDynamoDbId(serviceId, userId, consentId), consentId);
+        }
+
+        for (int attempt = 0; attempt < BATCH_GET_MAX_ATTEMPTS; attempt++) {
+            if (attempt > 0) {
+                sleepBeforeRetry(attempt, serviceId, userId);
+            }
+
+            final BatchGetResultPage resultPage = batchGetItem(serviceId, userId, pendingConsentIdsByDynamoDbId.values());
+            final long mappingStartNanos = ApiMetrics.startTimer();
+            for (final DynamoDbServiceUserConsent consentItem : resultPage.resultsForTable(consentTable)) {
+                retrievedConsents.put(consentItem.consentId(), DynamoDbServiceUserConsentMapper.dynamoDbItemToConsent(consentItem));
+            }
+            ApiMetrics.recordStage(ApiStage.MAPPING, mappingStartNanos);
+
+            final Map<String, String> unprocessedConsentIdsByDynamoDbId = new LinkedHashMap<String, String>();
+            for (final Key unprocessedKey : resultPage.unprocessedKeysForTable(consentTable)) {
+                final String dynamoDbId = unprocessedKey.partitionKeyValue().s();
+                unprocessedConsentIdsByDynamoDbId.put(dynamoDbId, pendingConsentIdsByDynamoDbId.get(dynamoDbId));
+            }
+            if (unprocessedConsentIdsByDynamoDbId.isEmpty()) {
+                return;
+            }
+            logger.warn("BatchGetItem attempt {} left {} consents unprocessed with serviceId: '{}', userId: '{}'",
+                attempt + 1, unprocessedConsentIdsByDynamoDbId.size(), serviceId, userId);
+            pendingConsentIdsByDynamoDbId = unprocessedConsentIdsByDynamoDbId;
+        }
+
+        final String errorMessage = String.format(BATCH_GET_UNPROCESSED_KEYS_MESSAGE, pendingConsentIdsByDynamoDbId.size(),
+            serviceId, userId, BATCH_GET_MAX_ATTEMPTS);
+        logger.error(errorMessage);
+        throw new InternalServiceException(errorMessage);
+    }
+
+    private BatchGetResultPage batchGetItem(final String serviceId, final String userId, final Iterable<String> consentIds)
+            throws InternalServiceException {
+        final ReadBatch.Builder<DynamoDbServiceUserConsent> readBatchBuilder = ReadBatch.builder(DynamoDbServiceUserConsent.class)
+            .mappedTableResource(consentTable);
+        for (final String consentId : consentIds) {
+            readBatchBuilder.addGetItem(buildGetItemRequest(serviceId, userId, consentId));
+        }
+        final BatchGetItemEnhancedRequest batchGetRequest = BatchGetItemEnhancedRequest.builder()
+            .readBatches(readBatchBuilder.build())
+            .build();
+
+        try {
+            // Only take the first page, since later pages would immediately resubmit unprocessed keys without backoff
+            return ApiMetrics.time(ApiStage.DYNAMODB, () -> dynamoDbEnhancedClient.batchGetItem(batchGetRequest).iterator().next());
+        } catch (final DynamoDbException ddbException) {
+            final String exceptionContext = String.format("batch retrieving consents with serviceId: '%s', userId: '%s'",
+                serviceId, userId);
+            throw logAndGetNormalizedServiceError(ddbException, exceptionContext);
+        }
+    }
+
+    private void sleepBeforeRetry(final int attempt, final String serviceId, final String userId) throws InternalServiceException {
+        // Full jitter, so concurrent callers throttled together do not retry together
+        final long backoffMillis = ThreadLocalRandom.current().nextLong((BATCH_GET_BASE_BACKOFF_MILLIS << attempt) + 1);
+        try {
+            Thread.sleep(backoffMillis);
+        } catch (final InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            final String errorMessage = String.format("Interrupted retrying BatchGetItem for consents with serviceId: '%s', userId: '%s'",
+                serviceId, userId);
+            logger.error(errorMessage, interruptedException);
+            throw new InternalServiceException(errorMessage, interruptedException);
+        }
+    }
+
+    /**
+     * Update existing consent with new data, only if the stored consent has the previous consentVersion.
+     *
+     * The version check is part of the PutItem condition, and the stored consent is returned when the condition
+     * fails, so that missing consents and version conflicts are distinguished without a second read.
      *
      * @param consent Consent object to save to the repository
      * @throws BadRequestException exception thrown if consent violates model constraints
-     * @throws ConflictingResourceException exception thrown if stored consent has conflicting data
+     * @throws ConflictingResourceException exception thrown if stored consent is not the previous consentVersion
      * @throws InternalServiceException exception thrown if receive unexpected server-side exception
      * @throws ResourceNotFoundException exception thrown if no such consent exists
      */
     @Override
     public void updateServiceUserConsent(final Consent consent) throws BadRequestException, ConflictingResourceException,
             InternalServiceException, ResourceNotFoundException {
-        ConsentValidator.validate(consent);
+        validate(consent);
 
-        final String consentContext = String.format("updating consent with serviceId: '%s', userId: '%s', consentId: '%s'",
-            consent.getServiceId(), consent.getUserId(), consent.getConsentId());
-        logger.info(String.format("Submitting UpdateServiceUserConsent request for %s", consentContext));
-        putConsent(consent, CONSENT_EXISTS_CONDITION, consentContext);
-        logger.info(String.format("Successfully updated %s", consentContext));
+        final ConsentOperationContext consentContext = new ConsentOperationContext("updating", consent.getServiceId(),
+            consent.getUserId(), consent.getConsentId());
+        logger.debug("Submitting UpdateServiceUserConsent request for {}", consentContext);
+        try {
+            final PutItemEnhancedRequest<DynamoDbServiceUserConsent> putRequest = buildUpdatePutRequest(consent);
+            ApiMetrics.run(ApiStage.DYNAMODB, () -> consentTable.putItem(putRequest));
+        } catch (final ConditionalCheckFailedException conditionFailedException) {
+            throw toVersionConflictOrThrowNotFound(conditionFailedException, consent.getServiceId(), consent.getUserId(),
+                consent.getConsentId(), consent.getConsentVersion(), consentContext);
+        } catch (final DynamoDbException ddbException) {
+            throw logAndGetNormalizedServiceError(ddbException, consentContext);
+        }
+        logger.debug("Successfully updated {}", consentContext);
+    }
+
+    /**
+     * Partially update existing consent with a single UpdateItem request, only if the stored consent has the
+     * previous consentVersion.
+     *
+     * Only patched attributes and the expiry index keys derived from them are written, and the updated consent
+     * is returned by the same request. If the index keys depend on unpatched attributes, a second conditional
+     * UpdateItem request corrects them.
+     *
+     * @param patch consent patch
+     * @return updated consent
+     * @throws BadRequestException exception thrown if patch violates model constraints
+     * @throws ConflictingResourceException exception thrown if stored consent is not the previous consentVersion
+     * @throws InternalServiceException exception thrown if receive unexpected server-side exception
+     * @throws ResourceNotFoundException exception thrown if no such consent exists
+     */
+    @Override
+    public Consent patchServiceUserConsent(final ServiceUserConsentPatch patch) throws BadRequestException, ConflictingResourceException,
+            InternalServiceException, ResourceNotFoundException {
+        final long validationStartNanos = ApiMetrics.startTimer();
+        ServiceUserConsentPatchValidator.validate(patch);
+        ApiMetrics.recordStage(ApiStage.VALIDATION, validationStartNanos);
+
+        final ConsentOperationContext consentContext = new ConsentOperationContext("patching", patch.serviceId(), patch.userId(),
+            patch.consentId());
+        logger.debug("Submitting PatchServiceUserConsent request for {}", consentContext);
+        final Map<String, AttributeValue> updatedItem;
+        try {
+            final UpdateItemRequest updateItemRequest = DynamoDbServiceUserConsentPatchMapper.toUpdateItemRequest(
+                consentTable.tableName(), patch);
+            updatedItem = ApiMetrics.time(ApiStage.DYNAMODB, () -> dynamoDbClient.updateItem(updateItemRequest)).attributes();
+        } catch (final ConditionalCheckFailedException conditionFailedException) {
+            throw toVersionConflictOrThrowNotFound(conditionFailedException, patch.serviceId(), patch.userId(),
+                patch.consentId(), patch.consentVersion(), consentContext);
+        } catch (final DynamoDbException ddbException) {
+            throw logAndGetNormalizedServiceError(ddbException, consentContext);
+        }
+
+        final Consent patchedConsent = ApiMetrics.time(ApiStage.MAPPING, () -> DynamoDbServiceUserConsentMapper.dynamoDbItemToConsent(
+            DynamoDbServiceUserConsentTableSchema.TABLE_SCHEMA.mapToItem(updatedItem)));
+        final Optional<UpdateItemRequest> reconcileUpdate = DynamoDbServiceUserConsentPatchMapper
+            .toReconcileUpdateItemRequest(consentTable.tableName(), patchedConsent, updatedItem);
+        if (reconcileUpdate.isPresent()) {
+            reconcileUpdatedItem(reconcileUpdate.get(), consentContext);
+        }
+        logger.debug("Successfully patched {}", consentContext);
+        return patchedConsent;
+    }
+
+    private void reconcileUpdatedItem(final UpdateItemRequest updateItemRequest, final ConsentOperationContext consentContext)
+            throws InternalServiceException {
+        try {
+            ApiMetrics.time(ApiStage.DYNAMODB, () -> dynamoDbClient.updateItem(updateItemRequest));
+        } catch (final ConditionalCheckFailedException conditionFailedException) {
+            // A newer version was written since, which set its own index keys and item format
+            logger.warn("Skipped reconciling index keys {}, consent was updated concurrently", consentContext);
+        } catch (final DynamoDbException ddbException) {
+            throw logAndGetNormalizedServiceError(ddbException, consentContext);
+        }
+    }
+
+    /**
+     * Build PutItem request updating a consent only if the stored consent has the previous consentVersion,
+     * returning the stored consent if the condition fails.
+     *
+     * @param consent updated consent
+     * @return PutItem request
+     */
+    static PutItemEnhancedRequest<DynamoDbServiceUserConsent> buildUpdatePutRequest(final Consent consent) {
+        return PutItemEnhancedRequest.builder(DynamoDbServiceUserConsent.class)
+            .item(ApiMetrics.time(ApiStage.MAPPING, () -> DynamoDbServiceUserConsentMapper.toDynamoDbServiceUserConsent(consent)))
+            .conditionExpression(consentVersionMatchesExpression(consent.getConsentVersion() - 1))
+            .returnValuesOnConditionCheckFailure(ReturnValuesOnConditionCheckFailure.ALL_OLD)
+            .build();
+    }
+
+    /**
+     * Get condition expression matching a stored consentVersion, prebuilt for early consent versions.
+     *
+     * @param expectedConsentVersion expected stored consentVersion
+     * @return condition expression
+     */
+    static Expression consentVersionMatchesExpression(final int expectedConsentVersion) {
+        return expectedConsentVersion >= 0 && expectedConsentVersion < PREBUILT_VERSION_EXPRESSIONS
+            ? CONSENT_VERSION_MATCHES_EXPRESSIONS[expectedConsentVersion]
+            : buildConsentVersionMatchesExpression(expectedConsentVersion);
+    }
+
+    private static Expression buildConsentVersionMatchesExpression(final int expectedConsentVersion) {
+        return Expression.builder()
+            .expression(CONSENT_VERSION_MATCHES_CONDITION)
+            .putExpressionValue(EXPECTED_PREVIOUS_CONSENT_VERSION, AttributeValue.fromN(Integer.toString(expectedConsentVersion)))
+            .build();
+    }
+
+    /**
+     * Convert a failed update condition to a not found or version conflict exception, based on the stored
+     * consent returned with the condition failure.
+     *
+     * @param conditionFailedException condition failure, holding the stored consent if it exists
+     * @param consent updated consent
+     * @param consentContext update context for error messages
+     * @return ResourceNotFoundException if no consent is stored, otherwise ConflictingResourceException
+     */
+    static Exception toUpdateConditionCheckFailure(final ConditionalCheckFailedException conditionFailedException,
+            final Consent consent, final ConsentOperationContext consentContext) {
+        final Map<String, AttributeValue> storedItem = conditionFailedException.item();
+        if (storedItem == null || storedItem.isEmpty()) {
+            return buildNotFoundException(consent.getServiceId(), consent.getUserId(), consent.getConsentId(), consentContext);
+        }
+        return buildVersionConflictException(storedItem, consent.getConsentVersion(), consentContext);
+    }
+
+    private static ConflictingResourceException toVersionConflictOrThrowNotFound(
+            final ConditionalCheckFailedException conditionFailedException, final String serviceId, final String userId,
+            final String consentId, final Integer consentVersion, final ConsentOperationContext consentContext)
+            throws ResourceNotFoundException {
+        final Map<String, AttributeValue> storedItem = conditionFailedException.item();
+        if (storedItem == null || storedItem.isEmpty()) {
+            throw buildNotFoundException(serviceId, userId, consentId, consentContext);
+        }
+        return buildVersionConflictException(storedItem, consentVersion, consentContext);
+    }
+
+    private static ResourceNotFoundException buildNotFoundException(final String serviceId, final String userId, final String consentId,
+            final ConsentOperationContext consentContext) {
+        final String errorMessage = String.format(CONSENT_NOT_FOUND_MESSAGE, serviceId, userId, consentId);
+        logger.warn("Error {}, {}", consentContext, errorMessage);
+        return new ResourceNotFoundException(errorMessage);
+    }
+
+    private static ConflictingResourceException buildVersionConflictException(final Map<String, AttributeValue> storedItem,
+            final Integer consentVersion, final ConsentOperationContext consentContext) {
+        final AttributeValue storedVersion = storedItem.getOrDefault(
+            DynamoDbServiceUserConsentAttributeName.COMPACT_CONSENT_VERSION.getValue(),
+            storedItem.get(DynamoDbServiceUserConsentAttributeName.CONSENT_VERSION.getValue()));
+        final String errorMessage = storedVersion == null || storedVersion.n() == null
+            ? String.format("Error %s, stored consent has no consentVersion", consentContext)
+            : String.format("Error %s, %s", consentContext, String.format(ConsentValidator.VERSION_CONFLICT_MESSAGE,
+                Long.parseLong(storedVersion.n()) + 1, consentVersion.longValue()));
+        logger.warn(errorMessage);
+        return new ConflictingResourceException(errorMessage);
     }
 
     /**
@@ -139,41 +560,145 @@ public class DynamoDbServiceUserConsentRepository implements ServiceUserConsentR
      * @param pageToken pagination token for backend consents query
      * @return page of matching consents stored for the service/user pair
      * @throws BadRequestException exception thrown when receive invalid input
+     * @throws InternalServiceException exception thrown if receive error from DynamoDB when querying consents
      */
     @Override
     public ListPage<Consent> listServiceUserConsents(final String serviceId, final String userId,
-            final Integer limit, final String pageToken) throws BadRequestException {
-        final QueryEnhancedRequest queryRequest = buildListServiceUserConsentsQueryRequest(serviceId, userId, limit, pageToken);
+            final Integer limit, final String pageToken) throws BadRequestException, InternalServiceException {
+        final QueryEnhancedRequest queryRequest = buildListServiceUserConsentsQueryRequest(serviceId, userId, limit,
+            DynamoDbServiceUserConsentPageTokenMapper.toDynamoDbPageToken(serviceId, userId,
+                DynamoDbServiceUserConsent.CONSENT_BY_SERVICE_USER_GSI_NAME, ServiceUserConsentFilter.NONE, pageToken));
+        return queryConsentsPage(serviceId, userId, DynamoDbServiceUserConsent.CONSENT_BY_SERVICE_USER_GSI_NAME,
+            ServiceUserConsentFilter.NONE, queryRequest);
+    }
 
+    /**
+     * List user's consents for a given service matching a filter, querying the status and consent type index
+     * by key prefix rather than filtering query results.
+     *
+     * Until the index is backfilled, items written before it are missing from it, so each page of the service and user
+     * index is filtered instead, and pages may hold fewer consents than the limit even if more match.
+     *
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @param filter consent status and consent type filter
+     * @param limit maximum number of consents to retrieve
+     * @param pageToken pagination token for backend consents query
+     * @return page of matching consents stored for the service/user pair
+     * @throws BadRequestException exception thrown when receive invalid input
+     * @throws InternalServiceException exception thrown if receive error from DynamoDB when querying consents
+     */
+    @Override
+    public ListPage<Consent> listServiceUserConsents(final String serviceId, final String userId, final ServiceUserConsentFilter filter,
+            final Integer limit, final String pageToken) throws BadRequestException, InternalServiceException {
+        if (filter == null || filter.isEmpty()) {
+            return listServiceUserConsents(serviceId, userId, limit, pageToken);
+        }
+        if (!statusTypeIndexBackfilled) {
+            final QueryEnhancedRequest queryRequest = buildListServiceUserConsentsQueryRequest(serviceId, userId, limit,
+                DynamoDbServiceUserConsentPageTokenMapper.toDynamoDbPageToken(serviceId, userId,
+                    DynamoDbServiceUserConsent.CONSENT_BY_SERVICE_USER_GSI_NAME, filter, pageToken));
+            final ListPage<Consent> page = queryConsentsPage(serviceId, userId, DynamoDbServiceUserConsent.CONSENT_BY_SERVICE_USER_GSI_NAME,
+                filter, queryRequest);
+            final List<Consent> matchingConsents = page.resultsOnPage()
+                .stream()
+                .filter(filter::matches)
+                .collect(Collectors.toList());
+            return new ListPage<Consent>(matchingConsents, page.nextPageToken());
+        }
+
+        final Key queryKey = Key.builder()
+            .partitionValue(DynamoDbServiceUserConsentMapper.toServiceUserId(serviceId, userId))
+            .sortValue(DynamoDbServiceUserConsentMapper.toStatusTypeIdPrefix(filter.status(), filter.consentType()))
+            .build();
+        final QueryEnhancedRequest queryRequest = QueryEnhancedRequest.builder()
+            .queryConditional(QueryConditional.sortBeginsWith(queryKey))
+            .exclusiveStartKey(DynamoDbServiceUserConsentPageTokenMapper.toDynamoDbPageToken(serviceId, userId,
+                DynamoDbServiceUserConsentTableSchema.CONSENTS_BY_SERVICE_USER_STATUS_TYPE_GSI_NAME, filter, pageToken))
+            .limit(limit)
+            .build();
+        return queryConsentsPage(serviceId, userId, DynamoDbServiceUserConsentTableSchema.CONSENTS_BY_SERVICE_USER_STATUS_TYPE_GSI_NAME,
+            filter, queryRequest);
+    }
+
+    /**
+     * Export all of a user's consents for a given service, lazily iterating over query pages, with the next page
+     * fetched while the current one is consumed, so that at most two pages are held at a time.
+     *
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @return stream of the user's consents, to close once consumed, which throws IllegalStateException
+     *     if unable to retrieve a page
+     * @throws BadRequestException exception thrown when receive invalid input
+     */
+    @Override
+    public Stream<Consent> exportServiceUserConsents(final String serviceId, final String userId) throws BadRequestException {
+        final QueryEnhancedRequest queryRequest = buildListServiceUserConsentsQueryRequest(serviceId, userId, EXPORT_PAGE_SIZE, null);
         final SdkIterable<Page<DynamoDbServiceUserConsent>> queryResults = consentTable
             .index(DynamoDbServiceUserConsent.CONSENT_BY_SERVICE_USER_GSI_NAME)
             .query(queryRequest);
-
         if (queryResults == null) {
-            return EMPTY_CONSENTS_PAGE;
+            return Stream.empty();
+        }
+
+        // Query pages are only requested as the iterator advances
+        final Iterator<Page<DynamoDbServiceUserConsent>> queryPages = queryResults.iterator();
+        final PrefetchingPageIterator<Page<DynamoDbServiceUserConsent>> prefetchingPages =
+            new PrefetchingPageIterator<Page<DynamoDbServiceUserConsent>>(() -> {
+                try {
+                    return queryPages.hasNext() ? queryPages.next() : null;
+                } catch (final DynamoDbException ddbException) {
+                    throw new IllegalStateException(logAndGetNormalizedServiceError(ddbException,
+                        String.format("exporting consents with serviceId: '%s', userId: '%s'", serviceId, userId)));
+                }
+            }, EXPORT_PREFETCH_EXECUTOR);
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(prefetchingPages, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(prefetchingPages::close)
+            .flatMap(page -> ApiMetrics.time(ApiStage.MAPPING, () -> page.items()
+                .stream()
+                .map(ddbConsent -> DynamoDbServiceUserConsentMapper.dynamoDbItemToConsent(ddbConsent))
+                .collect(Collectors.toList()))
+                .stream());
+    }
+
+    private ListPage<Consent> queryConsentsPage(final String serviceId, final String userId, final String indexName,
+            final ServiceUserConsentFilter filter, final QueryEnhancedRequest queryRequest)
+            throws BadRequestException, InternalServiceException {
+        // Query results are paginated lazily, so the query is only sent when the first page is requested
+        final long queryStartNanos = ApiMetrics.startTimer();
+        final Optional<Page<DynamoDbServiceUserConsent>> firstPageResults;
+        try {
+            final SdkIterable<Page<DynamoDbServiceUserConsent>> queryResults = consentTable
+                .index(indexName)
+                .query(queryRequest);
+            firstPageResults = queryResults == null ? Optional.empty() : queryResults.stream().findFirst();
+        } catch (final DynamoDbException ddbException) {
+            throw logAndGetNormalizedServiceError(ddbException, String.format("listing consents with serviceId: '%s', userId: '%s'",
+                serviceId, userId));
+        } finally {
+            ApiMetrics.recordStage(ApiStage.DYNAMODB, queryStartNanos);
         }
-        final Optional<Page<DynamoDbServiceUserConsent>> firstPageResults = queryResults
-            .stream()
-            .findFirst();
         if (!firstPageResults.isPresent()) {
             return EMPTY_CONSENTS_PAGE;
         }
 
-        final List<Consent> consents = firstPageResults.get()
+        final List<Consent> consents = ApiMetrics.time(ApiStage.MAPPING, () -> firstPageResults.get()
             .items()
             .stream()
             .map(ddbConsent -> DynamoDbServiceUserConsentMapper.dynamoDbItemToConsent(ddbConsent))
-            .collect(Collectors.toList());
+            .collect(Collectors.toList()));
         final Map<String, AttributeValue> lastEvaluatedKey = firstPageResults.get().lastEvaluatedKey();
-        final String lastEvaluatedKeyString = DynamoDbServiceUserConsentPageTokenMapper.toJsonStringPageToken(lastEvaluatedKey);
+        final String lastEvaluatedKeyString = DynamoDbServiceUserConsentPageTokenMapper.toPageToken(serviceId, userId, indexName, filter,
+            lastEvaluatedKey);
         return new ListPage<Consent>(consents, Optional.ofNullable(lastEvaluatedKeyString));
     }
 
-    private void putConsent(final Consent consent, final String conditionExpression, final String consentContext)
+    private void putConsent(final Consent consent, final Expression conditionExpression, final ConsentOperationContext consentContext)
             throws ConflictingResourceException, InternalServiceException {
         final PutItemEnhancedRequest<DynamoDbServiceUserConsent> putRequest = buildPutRequest(consent, conditionExpression);
         try {
-            consentTable.putItem(putRequest);
+            ApiMetrics.run(ApiStage.DYNAMODB, () -> consentTable.putItem(putRequest));
         } catch (final ConditionalCheckFailedException conditionFailedException) {
             final String errorMessage = String.format("Error %s, consent already exists", consentContext);
             logger.warn(errorMessage, conditionFailedException);
@@ -183,11 +708,13 @@ public class DynamoDbServiceUserConsentRepository implements ServiceUserConsentR
         }
     }
 
-    private PutItemEnhancedRequest<DynamoDbServiceUserConsent> buildPutRequest(final Consent consent, final String conditionExpression) {
-        final DynamoDbServiceUserConsent ddbConsent = DynamoDbServiceUserConsentMapper.toDynamoDbServiceUserConsent(consent);
+    private PutItemEnhancedRequest<DynamoDbServiceUserConsent> buildPutRequest(final Consent consent,
+            final Expression conditionExpression) {
+        final DynamoDbServiceUserConsent ddbConsent = ApiMetrics.time(ApiStage.MAPPING,
+            () -> DynamoDbServiceUserConsentMapper.toDynamoDbServiceUserConsent(consent));
         return PutItemEnhancedRequest.builder(DynamoDbServiceUserConsent.class)
             .item(ddbConsent)
-            .conditionExpression(Expression.builder().expression(conditionExpression).build())
+            .conditionExpression(conditionExpression)
             .build();
     }
 
@@ -200,14 +727,12 @@ public class DynamoDbServiceUserConsentRepository implements ServiceUserConsentR
     }
 
     private QueryEnhancedRequest buildListServiceUserConsentsQueryRequest(final String serviceId, final String userId, final Integer limit,
-            final String pageToken) throws BadRequestException {
+            final Map<String, AttributeValue> exclusiveStartKey) {
         final Key queryKey = Key.builder()
             .partitionValue(userId)
             .sortValue(serviceId)
             .build();
 
-        final Map<String, AttributeValue> exclusiveStartKey = DynamoDbServiceUserConsentPageTokenMapper.toDynamoDbPageToken(pageToken);
-
         return QueryEnhancedRequest.builder()
             .queryConditional(QueryConditional.keyEqualTo(queryKey))
             .exclusiveStartKey(exclusiveStartKey)
@@ -215,7 +740,13 @@ public class DynamoDbServiceUserConsentRepository implements ServiceUserConsentR
             .build();
     }
 
-    private InternalServiceException logAndGetNormalizedServiceError(final DynamoDbException ddbException, final String exceptionContext) {
+    private static void validate(final Consent consent) throws BadRequestException {
+        final long startNanos = ApiMetrics.startTimer();
+        ConsentValidator.validate(consent);
+        ApiMetrics.recordStage(ApiStage.VALIDATION, startNanos);
+    }
+
+    private InternalServiceException logAndGetNormalizedServiceError(final DynamoDbException ddbException, final Object exceptionContext) {
         final String errorMessage = String.format("Received DynamoDbException %s: %s", exceptionContext, ddbException.getMessage());
         logger.error(errorMessage, ddbException);
         return new InternalServiceException(errorMessage, ddbException);
@@ -0,0 +1,397 @@
+package com.consentframework.consentmanagement.api.infrastructure.repositories;
+
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentFilter;
+import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.domain.validators.ConsentValidator;
+import com.consentframework.consentmanagement.api.infrastructure.localstore.ConsentSnapshotStore;
+import com.consentframework.consentmanagement.api.infrastructure.localstore.ConsentWriteAheadLog;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.usecases.utils.ConsentManagementApiCodecs;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.ConflictingResourceException;
+import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
+import com.consentframework.shared.api.domain.exceptions.ResourceNotFoundException;
+import com.consentframework.shared.api.domain.pagination.ListPage;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Persistent local implementation of ServiceUserConsentRepository, for self-hosted and offline deployments that
+ * do not use DynamoDB.
+ *
+ * Consents are served from a ConcurrentInMemoryServiceUserConsentRepository. Each write is checked against the stored
+ * consents and appended to a ConsentWriteAheadLog while holding a lock striped by consent key, and is only applied
+ * once the log is synced, so reads never observe a write that is not persisted. Concurrent writes to different
+ * consents share log syncs through group commit. A write that fails to be logged is not applied, and leaves the
+ * log failed until the repository is reopened.
+ *
+ * Once the log's current segment grows past the compaction threshold, a background thread rotates the log,
+ * writes a snapshot of every consent's latest version, and deletes the log segments and snapshot it supersedes.
+ * Opening the repository maps the latest snapshot and replays only the log segments written since, truncating any
+ * record torn by a crash. Replay keeps each consent's latest version, so records may be replayed in any order.
+ */
+public class LogStructuredServiceUserConsentRepository implements ServiceUserConsentRepository, Closeable {
+    private static final Logger logger = LogManager.getLogger(LogStructuredServiceUserConsentRepository.class);
+
+    public static final long DEFAULT_COMPACTION_THRESHOLD_BYTES = 64L * 1024 * 1024;
+
+    static final String PERSIST_FAILURE_MESSAGE = "Unable to persist %d consents to the consent log";
+    static final String INVALID_RECORD_MESSAGE = "Unable to read consent record from %s";
+
+    private static final long CLOSE_TIMEOUT_SECONDS = 60;
+    private static final int WRITE_LOCK_STRIPES = 256;
+
+    private final Path directory;
+    private final long compactionThresholdBytes;
+    private final ConcurrentInMemoryServiceUserConsentRepository inMemoryRepository;
+    private final ConsentSnapshotStore snapshotStore;
+    private final ConsentWriteAheadLog log;
+    private final ExecutorService compactionExecutor = Executors.newSingleThreadExecutor(
+        Thread.ofPlatform().name("consent-log-compaction").daemon().factory());
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+    private final Object compactionLock = new Object();
+    private final ReentrantLock[] writeLocks = new ReentrantLock[WRITE_LOCK_STRIPES];
+    // Held shared from logging a write until it is applied, and exclusively while rotating the log
+    private final ReadWriteLock publishLock = new ReentrantReadWriteLock();
+
+    /**
+     * Open log-structured consent repository, recovering any consents persisted to the directory.
+     *
+     * @param directory directory holding the consent log and snapshots, created if it does not exist
+     * @throws IOException exception thrown if unable to recover or open the consent log
+     */
+    public LogStructuredServiceUserConsentRepository(final Path directory) throws IOException {
+        this(directory, DEFAULT_COMPACTION_THRESHOLD_BYTES);
+    }
+
+    /**
+     * Open log-structured consent repository with the given compaction threshold, recovering any consents persisted
+     * to the directory.
+     *
+     * @param directory directory holding the consent log and snapshots, created if it does not exist
+     * @param compactionThresholdBytes size of the log's current segment at which it is compacted
+     * @throws IOException exception thrown if unable to recover or open the consent log
+     */
+    public LogStructuredServiceUserConsentRepository(final Path directory, final long compactionThresholdBytes) throws IOException {
+        this(directory, compactionThresholdBytes, ConsentWriteAheadLog::new);
+    }
+
+    /**
+     * Open log-structured consent repository with the given compaction threshold and consent log, recovering any
+     * consents persisted to the directory.
+     *
+     * @param directory directory holding the consent log and snapshots, created if it does not exist
+     * @param compactionThresholdBytes size of the log's current segment at which it is compacted
+     * @param logOpener opens the consent log for appending, once recovered
+     * @throws IOException exception thrown if unable to recover or open the consent log
+     */
+    LogStructuredServiceUserConsentRepository(final Path directory, final long compactionThresholdBytes,
+            final ConsentLogOpener logOpener) throws IOException {
+        Files.createDirectories(directory);
+        for (int stripe = 0; stripe < WRITE_LOCK_STRIPES; stripe++) {
+            writeLocks[stripe] = new ReentrantLock();
+        }
+        this.directory = directory;
+        this.compactionThresholdBytes = compactionThresholdBytes;
+        this.inMemoryRepository = new ConcurrentInMemoryServiceUserConsentRepository();
+        this.snapshotStore = new ConsentSnapshotStore(directory);
+
+        final OptionalLong snapshotSegmentNumber = snapshotStore.latestSnapshot();
+        if (snapshotSegmentNumber.isPresent()) {
+            snapshotStore.load(snapshotSegmentNumber.getAsLong(), this::restore);
+        }
+        final long firstSegmentNumber = snapshotSegmentNumber.orElse(0);
+        final long lastSegmentNumber = ConsentWriteAheadLog.recover(directory, firstSegmentNumber, this::restore);
+        this.log = logOpener.open(directory, lastSegmentNumber);
+
+        // Clean up after any compaction interrupted by a crash once its snapshot was written
+        ConsentWriteAheadLog.deleteSegmentsBefore(directory, firstSegmentNumber);
+        snapshotStore.deleteSnapshotsBefore(firstSegmentNumber);
+        logger.info("Recovered {} consents from {}, as of log segment {}", inMemoryRepository.size(), directory, lastSegmentNumber);
+    }
+
+    /**
+     * Save new consent, returning once it is persisted, and only then making it visible to reads.
+     *
+     * @param consent Consent object to save to the repository
+     * @throws BadRequestException exception thrown if consent violates model constraints
+     * @throws ConflictingResourceException exception thrown if consent already exists with same key
+     * @throws InternalServiceException exception thrown if unable to persist the consent
+     */
+    @Override
+    public void createServiceUserConsent(final Consent consent) throws BadRequestException, ConflictingResourceException,
+            InternalServiceException {
+        createServiceUserConsents(Collections.singletonList(consent));
+    }
+
+    /**
+     * Save new consents, only if none of them exist yet, returning once they are persisted, and only then making
+     * them visible to reads.
+     *
+     * @param consents Consent objects to save to the repository
+     * @throws BadRequestException exception thrown if any consent violates model constraints
+     * @throws ConflictingResourceException exception thrown if any consent already exists with same key, in which case none are saved
+     * @throws InternalServiceException exception thrown if unable to persist the consents
+     */
+    @Override
+    public void createServiceUserConsents(final List<Consent> consents) throws BadRequestException, ConflictingResourceException,
+            InternalServiceException {
+        final List<ReentrantLock> locks = lockWrites(consents);
+        try {
+            inMemoryRepository.validateNewConsents(consents);
+            publishLock.readLock().lock();
+            try {
+                persist(consents);
+                // Writes to the same consents hold their write locks, so the checked write is applied without conflict
+                inMemoryRepository.createServiceUserConsents(consents);
+            } finally {
+                publishLock.readLock().unlock();
+            }
+        } finally {
+            unlockWrites(locks);
+        }
+        scheduleCompactionIfNeeded();
+    }
+
+    /**
+     * Retrieve consent if exists.
+     *
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @param consentId consent ID, specific to the service-user pair
+     * @return specific consent for the service-user-consent ID tuple if exists
+     * @throws ResourceNotFoundException exception thrown if no such consent exists
+     */
+    @Override
+    public Consent getServiceUserConsent(final String serviceId, final String userId, final String consentId)
+            throws ResourceNotFoundException {
+        return inMemoryRepository.getServiceUserConsent(serviceId, userId, consentId);
+    }
+
+    /**
+     * Update existing consent, only if the stored consent has the previous consentVersion, returning once the
+     * update is persisted, and only then making it visible to reads.
+     *
+     * @param consent Consent object to save to the repository
+     * @throws BadRequestException exception thrown if consent violates model constraints
+     * @throws ConflictingResourceException exception thrown if stored consent is not the previous consentVersion
+     * @throws InternalServiceException exception thrown if unable to persist the consent
+     * @throws ResourceNotFoundException exception thrown if no such consent exists
+     */
+    @Override
+    public void updateServiceUserConsent(final Consent consent) throws BadRequestException, ConflictingResourceException,
+            InternalServiceException, ResourceNotFoundException {
+        ConsentValidator.validate(consent);
+        final List<ReentrantLock> locks = lockWrites(List.of(consent));
+        try {
+            ConsentValidator.validateNextConsentVersion(inMemoryRepository.getServiceUserConsent(consent.getServiceId(),
+                consent.getUserId(), consent.getConsentId()), consent);
+            publishLock.readLock().lock();
+            try {
+                persist(List.of(consent));
+                inMemoryRepository.updateServiceUserConsent(consent);
+            } finally {
+                publishLock.readLock().unlock();
+            }
+        } finally {
+            unlockWrites(locks);
+        }
+        scheduleCompactionIfNeeded();
+    }
+
+    /**
+     * List user's consents for a given service, in consent ID order.
+     *
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @param limit maximum number of consents to retrieve, null for no limit
+     * @param pageToken pagination token from the previous page
+     * @return page of consents stored for the service/user pair
+     * @throws BadRequestException exception thrown when receive invalid limit or page token
+     */
+    @Override
+    public ListPage<Consent> listServiceUserConsents(final String serviceId, final String userId,
+            final Integer limit, final String pageToken) throws BadRequestException {
+        return inMemoryRepository.listServiceUserConsents(serviceId, userId, limit, pageToken);
+    }
+
+    /**
+     * List user's consents for a given service matching a filter, in consent ID order, filling pages up to the limit.
+     *
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @param filter consent filter
+     * @param limit maximum number of consents to retrieve, null for no limit
+     * @param pageToken pagination token from the previous page
+     * @return page of matching consents stored for the service/user pair
+     * @throws BadRequestException exception thrown when receive invalid limit or page token
+     */
+    @Override
+    public ListPage<Consent> listServiceUserConsents(final String serviceId, final String userId, final ServiceUserConsentFilter filter,
+            final Integer limit, final String pageToken) throws BadRequestException {
+        return inMemoryRepository.listServiceUserConsents(serviceId, userId, filter, limit, pageToken);
+    }
+
+    /**
+     * Export all of a user's consents for a given service, in consent ID order.
+     *
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @return stream of the user's consents
+     */
+    @Override
+    public Stream<Consent> exportServiceUserConsents(final String serviceId, final String userId) {
+        return inMemoryRepository.exportServiceUserConsents(serviceId, userId);
+    }
+
+    /**
+     * Get the number of stored consents.
+     *
+     * @return number of stored consents
+     */
+    public int size() {
+        return inMemoryRepository.size();
+    }
+
+    /**
+     * Compact the consent log, snapshotting every consent's latest version so that earlier log segments and
+     * snapshots can be deleted. Writes continue during compaction, into a new log segment.
+     *
+     * @throws IOException exception thrown if unable to rotate the log or write the snapshot
+     */
+    public void compact() throws IOException {
+        synchronized (compactionLock) {
+            // Writes are applied before releasing the publish lock, so every write logged before rotating is applied
+            // before the snapshot is taken, and is in the snapshot, or a later version is
+            final long snapshotSegmentNumber;
+            publishLock.writeLock().lock();
+            try {
+                snapshotSegmentNumber = log.rotate();
+            } finally {
+                publishLock.writeLock().unlock();
+            }
+            final Stream<byte[]> payloads = inMemoryRepository.streamAllConsents().map(LogStructuredServiceUserConsentRepository::encode);
+            snapshotStore.write(snapshotSegmentNumber, payloads.iterator());
+            ConsentWriteAheadLog.deleteSegmentsBefore(directory, snapshotSegmentNumber);
+            snapshotStore.deleteSnapshotsBefore(snapshotSegmentNumber);
+        }
+    }
+
+    /**
+     * Close the repository, waiting for any compaction in progress and syncing the consent log.
+     *
+     * @throws IOException exception thrown if unable to sync or close the consent log
+     */
+    @Override
+    public void close() throws IOException {
+        compactionExecutor.shutdown();
+        try {
+            if (!compactionExecutor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Closing consent log in {} before compaction completed", directory);
+            }
+        } catch (final InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+        }
+        log.close();
+    }
+
+    private void persist(final List<Consent> writtenConsents) throws InternalServiceException {
+        final List<byte[]> payloads = new ArrayList<byte[]>(writtenConsents.size());
+        for (final Consent consent : writtenConsents) {
+            payloads.add(encode(consent));
+        }
+        try {
+            log.append(payloads);
+        } catch (final IOException ioException) {
+            throw new InternalServiceException(String.format(PERSIST_FAILURE_MESSAGE, writtenConsents.size()), ioException);
+        }
+    }
+
+    private List<ReentrantLock> lockWrites(final List<Consent> consents) {
+        // Locks are taken in stripe order, so that concurrent batches cannot deadlock
+        final SortedSet<Integer> stripes = new TreeSet<Integer>();
+        for (final Consent consent : consents) {
+            if (consent != null) {
+                stripes.add(Math.floorMod(Objects.hash(consent.getServiceId(), consent.getUserId(), consent.getConsentId()),
+                    WRITE_LOCK_STRIPES));
+            }
+        }
+        final List<ReentrantLock> locks = new ArrayList<ReentrantLock>(stripes.size());
+        for (final Integer stripe : stripes) {
+            writeLocks[stripe].lock();
+            locks.add(writeLocks[stripe]);
+        }
+        return locks;
+    }
+
+    private static void unlockWrites(final List<ReentrantLock> locks) {
+        for (final ReentrantLock lock : locks) {
+            lock.unlock();
+        }
+    }
+
+    private void scheduleCompactionIfNeeded() {
+        if (log.segmentBytes() < compactionThresholdBytes || !compactionScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            compactionExecutor.execute(() -> {
+                try {
+                    compact();
+                } catch (final IOException | RuntimeException compactionException) {
+                    logger.warn("Unable to compact consent log in {}", directory, compactionException);
+                } finally {
+                    compactionScheduled.set(false);
+                }
+            });
+        } catch (final RuntimeException rejectedException) {
+            // The repository is closing, so the log is compacted when next opened instead
+            compactionScheduled.set(false);
+        }
+    }
+
+    private void restore(final byte[] payload) {
+        try {
+            inMemoryRepository.restoreServiceUserConsent(ConsentManagementApiCodecs.CONSENT_READER.readValue(payload));
+        } catch (final IOException ioException) {
+            throw new UncheckedIOException(String.format(INVALID_RECORD_MESSAGE, directory), ioException);
+        }
+    }
+
+    /**
+     * Opens the consent log for appending to a recovered segment.
+     */
+    @FunctionalInterface
+    interface ConsentLogOpener {
+        ConsentWriteAheadLog open(Path directory, long segmentNumber) throws IOException;
+    }
+
+    private static byte[] encode(final Consent consent) {
+        try {
+            return ConsentManagementApiCodecs.CONSENT_WRITER.writeValueAsBytes(consent);
+        } catch (final IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+    }
+}
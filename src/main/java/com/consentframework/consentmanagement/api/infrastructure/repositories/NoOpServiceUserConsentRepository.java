@@ -0,0 +1,95 @@
+package com.consentframework.consentmanagement.api.infrastructure.repositories;
+
+import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.domain.validators.ConsentValidator;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.pagination.ListPage;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * ServiceUserConsentRepository that does not store any data, used to exercise request handling
+ * code paths without calling a data store, eg. when priming the service before a JVM snapshot.
+ *
+ * Writes are validated and discarded, and reads return a placeholder active consent with version 1.
+ */
+public class NoOpServiceUserConsentRepository implements ServiceUserConsentRepository {
+    static final String PLACEHOLDER_CONSENT_TYPE = "NoOpConsentType";
+    static final String PLACEHOLDER_CONSENT_ID = "NoOpConsentId";
+
+    /**
+     * Validate consent without storing it.
+     *
+     * @param consent Consent object to validate
+     * @throws BadRequestException exception thrown if consent violates model constraints
+     */
+    @Override
+    public void createServiceUserConsent(final Consent consent) throws BadRequestException {
+        ConsentValidator.validate(consent);
+    }
+
+    /**
+     * Validate consents without storing them.
+     *
+     * @param consents Consent objects to validate
+     * @throws BadRequestException exception thrown if any consent violates model constraints
+     */
+    @Override
+    public void createServiceUserConsents(final List<Consent> consents) throws BadRequestException {
+        for (final Consent consent : consents) {
+            ConsentValidator.validate(consent);
+        }
+    }
+
+    /**
+     * Return placeholder consent with the requested identifiers.
+     *
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @param consentId consent ID, specific to the service-user pair
+     * @return placeholder consent
+     */
+    @Override
+    public Consent getServiceUserConsent(final String serviceId, final String userId, final String consentId) {
+        return buildPlaceholderConsent(serviceId, userId, consentId);
+    }
+
+    /**
+     * Validate consent without storing it.
+     *
+     * @param consent Consent object to validate
+     * @throws BadRequestException exception thrown if consent violates model constraints
+     */
+    @Override
+    public void updateServiceUserConsent(final Consent consent) throws BadRequestException {
+        ConsentValidator.validate(consent);
+    }
+
+    /**
+     * Return single page containing one placeholder consent for the service-user pair.
+     *
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @param limit maximum number of consents to retrieve
+     * @param pageToken pagination token for backend consents query
+     * @return page of one placeholder consent without a next page token
+     */
+    @Override
+    public ListPage<Consent> listServiceUserConsents(final String serviceId, final String userId,
+            final Integer limit, final String pageToken) {
+        return new ListPage<Consent>(List.of(buildPlaceholderConsent(serviceId, userId, PLACEHOLDER_CONSENT_ID)), Optional.empty());
+    }
+
+    private static Consent buildPlaceholderConsent(final String serviceId, final String userId, final String consentId) {
+        return new Consent()
+            .serviceId(serviceId)
+            .userId(userId)
+            .consentId(consentId)
+            .consentVersion(1)
+            .status(ConsentStatus.ACTIVE)
+            .consentType(PLACEHOLDER_CONSENT_TYPE);
+    }
+}
@@ -0,0 +1,96 @@
+package com.consentframework.consentmanagement.api.infrastructure.repositories;
+
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiMetrics;
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiStage;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Iterator over pages fetched one page ahead on another thread, so that the next page is retrieved while
+ * the current one is processed, with at most one page fetched and not yet returned.
+ *
+ * Pages are fetched as part of the invocation started on the constructing thread, so that their DynamoDB calls
+ * are attributed to it, and time spent waiting for a page to be fetched is recorded as the DynamoDB stage.
+ * Exceptions thrown fetching a page are rethrown when the page is reached.
+ *
+ * @param <T> page type
+ */
+final class PrefetchingPageIterator<T> implements Iterator<T>, AutoCloseable {
+    private final Supplier<T> pageFetcher;
+    private final Executor executor;
+    private CompletableFuture<T> nextPage;
+
+    /**
+     * Construct prefetching page iterator, and start fetching the first page.
+     *
+     * @param pageFetcher fetches the next page, or returns null if there are no more pages
+     * @param executor executor to fetch pages on
+     */
+    PrefetchingPageIterator(final Supplier<T> pageFetcher, final Executor executor) {
+        this.pageFetcher = ApiMetrics.inCurrentInvocation(pageFetcher);
+        this.executor = executor;
+        this.nextPage = CompletableFuture.supplyAsync(this.pageFetcher, executor);
+    }
+
+    /**
+     * Whether there is another page, waiting for it to be fetched if needed.
+     *
+     * @return true if there is another page, otherwise false
+     */
+    @Override
+    public boolean hasNext() {
+        return awaitNextPage() != null;
+    }
+
+    /**
+     * Return the next page, waiting for it to be fetched if needed, and start fetching the page after it.
+     *
+     * @return next page
+     */
+    @Override
+    public T next() {
+        final T page = awaitNextPage();
+        if (page == null) {
+            throw new NoSuchElementException();
+        }
+        nextPage = CompletableFuture.supplyAsync(pageFetcher, executor);
+        return page;
+    }
+
+    /**
+     * Stop waiting for the page being fetched, whose result is discarded.
+     */
+    @Override
+    public void close() {
+        nextPage.cancel(false);
+    }
+
+    private T awaitNextPage() {
+        if (nextPage.isDone()) {
+            return join();
+        }
+
+        final long startNanos = ApiMetrics.startTimer();
+        try {
+            return join();
+        } finally {
+            ApiMetrics.recordStage(ApiStage.DYNAMODB, startNanos);
+        }
+    }
+
+    private T join() {
+        try {
+            return nextPage.join();
+        } catch (final CompletionException completionException) {
+            if (completionException.getCause() instanceof RuntimeException fetchException) {
+                throw fetchException;
+            }
+            throw completionException;
+        }
+    }
+}
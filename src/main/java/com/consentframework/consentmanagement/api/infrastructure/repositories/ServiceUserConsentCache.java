@@ -0,0 +1,234 @@
+package com.consentframework.consentmanagement.api.infrastructure.repositories;
+
+import com.consentframework.consentmanagement.api.infrastructure.mappers.DynamoDbServiceUserConsentMapper;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+
+/**
+ * Bounded in-memory cache of service user consents, keyed by their DynamoDB partition key.
+ *
+ * Entries are evicted by size using W-TinyLFU, and expire after a short TTL or at the consent's expiryTime,
+ * whichever comes first. Consents known not to exist are cached with a shorter TTL.
+ *
+ * Consents are copied into and out of the cache, so that callers modifying the consents they cache or retrieve
+ * cannot change the cached consent.
+ */
+public class ServiceUserConsentCache {
+    public static final long MIN_MAXIMUM_SIZE = 1_000L;
+    static final long ENTRIES_PER_MEMORY_MB = 32L;
+    static final Duration CONSENT_TTL = Duration.ofSeconds(30);
+    static final Duration MISSING_CONSENT_TTL = Duration.ofSeconds(5);
+
+    /**
+     * Cached lookup result, holding either a consent or a marker that the consent does not exist.
+     *
+     * @param consent cached consent, null if the consent does not exist
+     */
+    public record Entry(Consent consent) {
+        /**
+         * Whether the consent was found not to exist.
+         *
+         * @return true if the entry caches a missing consent
+         */
+        public boolean isMissing() {
+            return consent == null;
+        }
+    }
+
+    private final Cache<String, Entry> cache;
+    private final Clock clock;
+
+    /**
+     * Construct cache holding up to the given number of entries.
+     *
+     * @param maximumSize maximum number of cached entries
+     */
+    public ServiceUserConsentCache(final long maximumSize) {
+        this(maximumSize, Ticker.systemTicker(), Clock.systemUTC());
+    }
+
+    /**
+     * Construct cache with the given time sources.
+     *
+     * Maintenance runs on the calling thread, since Lambda freezes background threads between invocations.
+     *
+     * @param maximumSize maximum number of cached entries
+     * @param ticker time source for entry expiration
+     * @param clock time source compared against consent expiry times
+     */
+    ServiceUserConsentCache(final long maximumSize, final Ticker ticker, final Clock clock) {
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new ConsentExpiry())
+            .executor(Runnable::run)
+            .ticker(ticker)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Compute maximum cache size for a Lambda function with the given memory limit.
+     *
+     * @param memoryLimitInMb function memory limit in MB
+     * @return maximum number of cached entries
+     */
+    public static long maximumSizeForMemoryLimit(final int memoryLimitInMb) {
+        return Math.max(MIN_MAXIMUM_SIZE, memoryLimitInMb * ENTRIES_PER_MEMORY_MB);
+    }
+
+    /**
+     * Resize the cache for a Lambda function with the given memory limit.
+     *
+     * @param memoryLimitInMb function memory limit in MB
+     */
+    public void resizeForMemoryLimit(final int memoryLimitInMb) {
+        final long maximumSize = maximumSizeForMemoryLimit(memoryLimitInMb);
+        cache.policy().eviction().ifPresent(eviction -> {
+            if (eviction.getMaximum() != maximumSize) {
+                eviction.setMaximum(maximumSize);
+            }
+        });
+    }
+
+    /**
+     * Retrieve maximum number of cached entries.
+     *
+     * @return maximum cache size
+     */
+    public long maximumSize() {
+        return cache.policy().eviction().orElseThrow().getMaximum();
+    }
+
+    /**
+     * Retrieve cached entry for a consent, recording a hit or miss.
+     *
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @param consentId consent ID, specific to the service-user pair
+     * @return cached entry, or null if not cached
+     */
+    public Entry getIfPresent(final String serviceId, final String userId, final String consentId) {
+        final Entry cachedEntry = cache.getIfPresent(DynamoDbServiceUserConsentMapper.toDynamoDbId(serviceId, userId, consentId));
+        return cachedEntry == null || cachedEntry.isMissing() ? cachedEntry : new Entry(copyOf(cachedEntry.consent()));
+    }
+
+    /**
+     * Cache a consent, unless a newer consentVersion is already cached.
+     *
+     * An equal or newer cached consent is left as is, keeping its expiry, so that writing back a consent that was
+     * read from the cache does not extend how long it is served for.
+     *
+     * @param consent consent to cache
+     */
+    public void put(final Consent consent) {
+        final String key = DynamoDbServiceUserConsentMapper.toDynamoDbId(
+            consent.getServiceId(), consent.getUserId(), consent.getConsentId());
+        final Entry newEntry = new Entry(copyOf(consent));
+        final Entry currentEntry = cache.policy().getIfPresentQuietly(key);
+        if (currentEntry != null && isSameOrNewerVersion(currentEntry, newEntry)) {
+            return;
+        }
+        cache.asMap().merge(key, newEntry, (cachedEntry, replacementEntry) ->
+            isNewerVersion(cachedEntry, replacementEntry) ? cachedEntry : replacementEntry);
+    }
+
+    /**
+     * Cache that a consent does not exist.
+     *
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @param consentId consent ID, specific to the service-user pair
+     */
+    public void putMissing(final String serviceId, final String userId, final String consentId) {
+        cache.put(DynamoDbServiceUserConsentMapper.toDynamoDbId(serviceId, userId, consentId), new Entry(null));
+    }
+
+    /**
+     * Remove a consent from the cache.
+     *
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @param consentId consent ID, specific to the service-user pair
+     */
+    public void invalidate(final String serviceId, final String userId, final String consentId) {
+        cache.invalidate(DynamoDbServiceUserConsentMapper.toDynamoDbId(serviceId, userId, consentId));
+    }
+
+    /**
+     * Remove all consents from the cache.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Retrieve cache hit, miss and eviction counters.
+     *
+     * @return cache statistics
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private static boolean isNewerVersion(final Entry cachedEntry, final Entry newEntry) {
+        return !cachedEntry.isMissing()
+            && cachedEntry.consent().getConsentVersion() > newEntry.consent().getConsentVersion();
+    }
+
+    private static boolean isSameOrNewerVersion(final Entry cachedEntry, final Entry newEntry) {
+        return isNewerVersion(cachedEntry, newEntry) || newEntry.consent().equals(cachedEntry.consent());
+    }
+
+    private static Consent copyOf(final Consent consent) {
+        return new Consent()
+            .serviceId(consent.getServiceId())
+            .userId(consent.getUserId())
+            .consentId(consent.getConsentId())
+            .consentVersion(consent.getConsentVersion())
+            .status(consent.getStatus())
+            .consentType(consent.getConsentType())
+            .consentData(consent.getConsentData() == null ? null : new HashMap<String, String>(consent.getConsentData()))
+            .expiryTime(consent.getExpiryTime());
+    }
+
+    /**
+     * Expires entries after their TTL, or at the consent's expiryTime if sooner.
+     */
+    private class ConsentExpiry implements Expiry<String, Entry> {
+        @Override
+        public long expireAfterCreate(final String key, final Entry entry, final long currentTime) {
+            if (entry.isMissing()) {
+                return MISSING_CONSENT_TTL.toNanos();
+            }
+            final OffsetDateTime expiryTime = entry.consent().getExpiryTime();
+            if (expiryTime == null) {
+                return CONSENT_TTL.toNanos();
+            }
+            final Duration untilExpiry = Duration.between(clock.instant(), expiryTime.toInstant());
+            if (untilExpiry.isNegative()) {
+                return 0L;
+            }
+            return untilExpiry.compareTo(CONSENT_TTL) < 0 ? untilExpiry.toNanos() : CONSENT_TTL.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(final String key, final Entry entry, final long currentTime, final long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(final String key, final Entry entry, final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
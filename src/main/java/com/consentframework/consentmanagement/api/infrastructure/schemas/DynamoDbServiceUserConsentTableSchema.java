@@ -0,0 +1,229 @@
+package com.consentframework.consentmanagement.api.infrastructure.schemas;
+
+import com.consentframework.consentmanagement.api.infrastructure.constants.DynamoDbServiceUserConsentAttributeName;
+import com.consentframework.consentmanagement.api.infrastructure.mappers.DynamoDbServiceUserConsentMapper;
+import com.consentframework.shared.api.infrastructure.entities.DynamoDbServiceUserConsent;
+import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticImmutableTableSchema;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Statically defined DynamoDB table schema for ServiceUserConsent items.
+ *
+ * Built from explicit getters and setters rather than reflection, so that it is cheaper to construct at startup
+ * and to convert items with.
+ *
+ * Items are written in the compact item format: non-key attributes have short names, the expiry time is stored
+ * as epoch milliseconds, and the consentId is not stored, since it is part of the id. Items written before the
+ * compact format are still read, and are rewritten in the compact format the next time they are written.
+ *
+ * Items are also written with the serviceUserId and statusTypeId keys of the consents by service user, status
+ * and type index, derived from other attributes, so that listed consents can be filtered by key rather than
+ * after being read. Derived keys are ignored when reading items.
+ */
+public final class DynamoDbServiceUserConsentTableSchema {
+    public static final String ACTIVE_CONSENTS_BY_EXPIRY_HOUR_GSI_NAME = "ActiveConsentsByExpiryHour";
+    public static final String CONSENTS_BY_SERVICE_USER_STATUS_TYPE_GSI_NAME = "ConsentsByServiceUserStatusType";
+
+    public static final TableSchema<DynamoDbServiceUserConsent> TABLE_SCHEMA =
+        StaticImmutableTableSchema.builder(DynamoDbServiceUserConsent.class, ItemBuilder.class)
+            .newItemBuilder(ItemBuilder::new, ItemBuilder::build)
+            .addAttribute(String.class, attribute -> attribute
+                .name(DynamoDbServiceUserConsentAttributeName.ID.getValue())
+                .getter(DynamoDbServiceUserConsent::id)
+                .setter(ItemBuilder::id)
+                .tags(StaticAttributeTags.primaryPartitionKey()))
+            .addAttribute(String.class, attribute -> attribute
+                .name(DynamoDbServiceUserConsentAttributeName.SERVICE_ID.getValue())
+                .getter(DynamoDbServiceUserConsent::serviceId)
+                .setter(ItemBuilder::serviceId)
+                .tags(StaticAttributeTags.secondarySortKey(DynamoDbServiceUserConsent.CONSENT_BY_SERVICE_USER_GSI_NAME)))
+            .addAttribute(String.class, attribute -> attribute
+                .name(DynamoDbServiceUserConsentAttributeName.USER_ID.getValue())
+                .getter(DynamoDbServiceUserConsent::userId)
+                .setter(ItemBuilder::userId)
+                .tags(StaticAttributeTags.secondaryPartitionKey(DynamoDbServiceUserConsent.CONSENT_BY_SERVICE_USER_GSI_NAME)))
+            .addAttribute(Integer.class, attribute -> attribute
+                .name(DynamoDbServiceUserConsentAttributeName.ITEM_FORMAT.getValue())
+                .getter(item -> DynamoDbServiceUserConsentMapper.COMPACT_ITEM_FORMAT)
+                .setter((builder, itemFormat) -> { }))
+            .addAttribute(Integer.class, attribute -> attribute
+                .name(DynamoDbServiceUserConsentAttributeName.COMPACT_CONSENT_VERSION.getValue())
+                .getter(DynamoDbServiceUserConsent::consentVersion)
+                .setter(ItemBuilder::consentVersion))
+            .addAttribute(String.class, attribute -> attribute
+                .name(DynamoDbServiceUserConsentAttributeName.COMPACT_CONSENT_STATUS.getValue())
+                .getter(DynamoDbServiceUserConsent::consentStatus)
+                .setter(ItemBuilder::consentStatus))
+            .addAttribute(String.class, attribute -> attribute
+                .name(DynamoDbServiceUserConsentAttributeName.COMPACT_CONSENT_TYPE.getValue())
+                .getter(DynamoDbServiceUserConsent::consentType)
+                .setter(ItemBuilder::consentType))
+            .addAttribute(EnhancedType.mapOf(String.class, String.class), attribute -> attribute
+                .name(DynamoDbServiceUserConsentAttributeName.COMPACT_CONSENT_DATA.getValue())
+                .getter(DynamoDbServiceUserConsent::consentData)
+                .setter(ItemBuilder::consentData))
+            .addAttribute(Long.class, attribute -> attribute
+                .name(DynamoDbServiceUserConsentAttributeName.COMPACT_EXPIRY_TIME.getValue())
+                .getter(item -> DynamoDbServiceUserConsentMapper.toExpiryTimeMillis(item.expiryTime()))
+                .setter((builder, expiryTimeMillis) -> builder.expiryTime(
+                    DynamoDbServiceUserConsentMapper.fromExpiryTimeMillis(expiryTimeMillis))))
+            .addAttribute(String.class, attribute -> attribute
+                .name(DynamoDbServiceUserConsentAttributeName.EXPIRY_HOUR.getValue())
+                .getter(DynamoDbServiceUserConsent::expiryHour)
+                .setter(ItemBuilder::expiryHour)
+                .tags(StaticAttributeTags.secondaryPartitionKey(ACTIVE_CONSENTS_BY_EXPIRY_HOUR_GSI_NAME)))
+            .addAttribute(String.class, attribute -> attribute
+                .name(DynamoDbServiceUserConsentAttributeName.EXPIRY_TIME_ID.getValue())
+                .getter(DynamoDbServiceUserConsent::expiryTimeId)
+                .setter(ItemBuilder::expiryTimeId)
+                .tags(StaticAttributeTags.secondarySortKey(ACTIVE_CONSENTS_BY_EXPIRY_HOUR_GSI_NAME)))
+            .addAttribute(String.class, attribute -> attribute
+                .name(DynamoDbServiceUserConsentAttributeName.SERVICE_USER_ID.getValue())
+                .getter(item -> DynamoDbServiceUserConsentMapper.toServiceUserId(item.serviceId(), item.userId()))
+                .setter((builder, serviceUserId) -> { })
+                .tags(StaticAttributeTags.secondaryPartitionKey(CONSENTS_BY_SERVICE_USER_STATUS_TYPE_GSI_NAME)))
+            .addAttribute(String.class, attribute -> attribute
+                .name(DynamoDbServiceUserConsentAttributeName.STATUS_TYPE_ID.getValue())
+                .getter(item -> DynamoDbServiceUserConsentMapper.toStatusTypeId(item.consentStatus(), item.consentType(), item.consentId()))
+                .setter((builder, statusTypeId) -> { })
+                .tags(StaticAttributeTags.secondarySortKey(CONSENTS_BY_SERVICE_USER_STATUS_TYPE_GSI_NAME)))
+            // Legacy attributes are only read, compact attributes take precedence if an item has both
+            .addAttribute(String.class, attribute -> attribute
+                .name(DynamoDbServiceUserConsentAttributeName.CONSENT_ID.getValue())
+                .getter(item -> null)
+                .setter(ItemBuilder::legacyConsentId))
+            .addAttribute(Integer.class, attribute -> attribute
+                .name(DynamoDbServiceUserConsentAttributeName.CONSENT_VERSION.getValue())
+                .getter(item -> null)
+                .setter(ItemBuilder::legacyConsentVersion))
+            .addAttribute(String.class, attribute -> attribute
+                .name(DynamoDbServiceUserConsentAttributeName.CONSENT_STATUS.getValue())
+                .getter(item -> null)
+                .setter(ItemBuilder::legacyConsentStatus))
+            .addAttribute(String.class, attribute -> attribute
+                .name(DynamoDbServiceUserConsentAttributeName.CONSENT_TYPE.getValue())
+                .getter(item -> null)
+                .setter(ItemBuilder::legacyConsentType))
+            .addAttribute(EnhancedType.mapOf(String.class, String.class), attribute -> attribute
+                .name(DynamoDbServiceUserConsentAttributeName.CONSENT_DATA.getValue())
+                .getter(item -> null)
+                .setter(ItemBuilder::legacyConsentData))
+            .addAttribute(String.class, attribute -> attribute
+                .name(DynamoDbServiceUserConsentAttributeName.EXPIRY_TIME.getValue())
+                .getter(item -> null)
+                .setter(ItemBuilder::legacyExpiryTime))
+            .build();
+
+    private DynamoDbServiceUserConsentTableSchema() {}
+
+    /**
+     * Accumulates attributes read from either item format, and derives the consentId from the id when the item
+     * does not store it.
+     */
+    private static final class ItemBuilder {
+        private String id;
+        private String serviceId;
+        private String userId;
+        private String consentId;
+        private Integer consentVersion;
+        private String consentStatus;
+        private String consentType;
+        private Map<String, String> consentData;
+        private String expiryTime;
+        private String expiryHour;
+        private String expiryTimeId;
+
+        void id(final String id) {
+            this.id = id;
+        }
+
+        void serviceId(final String serviceId) {
+            this.serviceId = serviceId;
+        }
+
+        void userId(final String userId) {
+            this.userId = userId;
+        }
+
+        void consentVersion(final Integer consentVersion) {
+            this.consentVersion = consentVersion;
+        }
+
+        void consentStatus(final String consentStatus) {
+            this.consentStatus = consentStatus;
+        }
+
+        void consentType(final String consentType) {
+            this.consentType = consentType;
+        }
+
+        void consentData(final Map<String, String> consentData) {
+            this.consentData = consentData;
+        }
+
+        void expiryTime(final String expiryTime) {
+            this.expiryTime = expiryTime;
+        }
+
+        void expiryHour(final String expiryHour) {
+            this.expiryHour = expiryHour;
+        }
+
+        void expiryTimeId(final String expiryTimeId) {
+            this.expiryTimeId = expiryTimeId;
+        }
+
+        void legacyConsentId(final String legacyConsentId) {
+            consentId = legacyConsentId;
+        }
+
+        void legacyConsentVersion(final Integer legacyConsentVersion) {
+            consentVersion = consentVersion == null ? legacyConsentVersion : consentVersion;
+        }
+
+        void legacyConsentStatus(final String legacyConsentStatus) {
+            consentStatus = consentStatus == null ? legacyConsentStatus : consentStatus;
+        }
+
+        void legacyConsentType(final String legacyConsentType) {
+            consentType = consentType == null ? legacyConsentType : consentType;
+        }
+
+        void legacyConsentData(final Map<String, String> legacyConsentData) {
+            consentData = consentData == null ? legacyConsentData : consentData;
+        }
+
+        void legacyExpiryTime(final String legacyExpiryTime) {
+            expiryTime = expiryTime == null ? legacyExpiryTime : expiryTime;
+        }
+
+        DynamoDbServiceUserConsent build() {
+            // Only set attributes the item has, as when the enhanced client populates the entity builder itself
+            final DynamoDbServiceUserConsent.Builder builder = DynamoDbServiceUserConsent.builder();
+            setIfPresent(id, builder::id);
+            setIfPresent(serviceId, builder::serviceId);
+            setIfPresent(userId, builder::userId);
+            setIfPresent(consentId == null ? DynamoDbServiceUserConsentMapper.toConsentId(id, serviceId, userId) : consentId,
+                builder::consentId);
+            setIfPresent(consentVersion, builder::consentVersion);
+            setIfPresent(consentStatus, builder::consentStatus);
+            setIfPresent(consentType, builder::consentType);
+            setIfPresent(consentData, builder::consentData);
+            setIfPresent(expiryTime, builder::expiryTime);
+            setIfPresent(expiryHour, builder::expiryHour);
+            setIfPresent(expiryTimeId, builder::expiryTimeId);
+            return builder.build();
+        }
+
+        private static <T> void setIfPresent(final T value, final Consumer<T> setter) {
+            if (value != null) {
+                setter.accept(value);
+            }
+        }
+    }
+}
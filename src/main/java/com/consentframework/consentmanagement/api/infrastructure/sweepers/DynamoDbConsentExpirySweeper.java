@@ -0,0 +1,304 @@
+package com.consentframework.consentmanagement.api.infrastructure.sweepers;
+
+import com.consentframework.consentmanagement.api.infrastructure.constants.DynamoDbServiceUserConsentAttributeName;
+import com.consentframework.consentmanagement.api.infrastructure.exporters.ConsumedCapacityThrottle;
+import com.consentframework.consentmanagement.api.infrastructure.mappers.DynamoDbServiceUserConsentMapper;
+import com.consentframework.consentmanagement.api.infrastructure.mappers.DynamoDbServiceUserConsentPatchMapper;
+import com.consentframework.consentmanagement.api.infrastructure.schemas.DynamoDbServiceUserConsentTableSchema;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
+import com.consentframework.shared.api.infrastructure.mappers.DynamoDbConsentExpiryTimeConverter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Expires active consents whose expiry time has passed, by querying the active consents by expiry hour index.
+ *
+ * Each sweep covers the hour buckets from the one after its checkpoint through the current hour, so that buckets
+ * missed by earlier sweeps are caught up on, sweeping each bucket on its own virtual thread. Due consents are
+ * updated to EXPIRED with a new consentVersion, only if the stored consent still has the queried consentVersion,
+ * by concurrent writes bounded in number and paced by a write capacity budget. Queries are paced by a read
+ * capacity budget.
+ *
+ * Expired consents are written in the compact item format with all of their index keys reconciled, reading the full
+ * item of consents still in the legacy item format first, since their attributes are all rewritten by the migration.
+ *
+ * Expired consents no longer have expiry index keys, so a bucket only holds consents still to be swept, and
+ * sweeping a bucket again after an interrupted sweep is safe. The checkpoint is advanced through the last past hour
+ * that all earlier buckets have been swept completely, and only saves queries of empty buckets.
+ */
+public class DynamoDbConsentExpirySweeper {
+    private static final Logger logger = LogManager.getLogger(DynamoDbConsentExpirySweeper.class);
+
+    public static final int DEFAULT_MAX_CONCURRENT_WRITES = 64;
+    public static final int DEFAULT_MAX_CATCH_UP_HOURS = 168;
+
+    static final int QUERY_PAGE_SIZE = 1000;
+    static final String EXPIRY_HOUR_VALUE = ":expiryHour";
+    static final String EXPIRY_HOUR_KEY_CONDITION = String.format("%s = %s",
+        DynamoDbServiceUserConsentAttributeName.EXPIRY_HOUR.getValue(), EXPIRY_HOUR_VALUE);
+    // Projects attributes of both item formats, since unmigrated items may still be in the index
+    static final String PROJECTION_EXPRESSION = String.join(", ",
+        DynamoDbServiceUserConsentAttributeName.ID.getValue(),
+        DynamoDbServiceUserConsentAttributeName.ITEM_FORMAT.getValue(),
+        DynamoDbServiceUserConsentAttributeName.SERVICE_ID.getValue(),
+        DynamoDbServiceUserConsentAttributeName.USER_ID.getValue(),
+        DynamoDbServiceUserConsentAttributeName.SERVICE_USER_ID.getValue(),
+        DynamoDbServiceUserConsentAttributeName.STATUS_TYPE_ID.getValue(),
+        DynamoDbServiceUserConsentAttributeName.EXPIRY_HOUR.getValue(),
+        DynamoDbServiceUserConsentAttributeName.EXPIRY_TIME_ID.getValue(),
+        DynamoDbServiceUserConsentAttributeName.COMPACT_CONSENT_VERSION.getValue(),
+        DynamoDbServiceUserConsentAttributeName.COMPACT_CONSENT_TYPE.getValue(),
+        DynamoDbServiceUserConsentAttributeName.COMPACT_EXPIRY_TIME.getValue(),
+        DynamoDbServiceUserConsentAttributeName.CONSENT_ID.getValue(),
+        DynamoDbServiceUserConsentAttributeName.CONSENT_VERSION.getValue(),
+        DynamoDbServiceUserConsentAttributeName.CONSENT_TYPE.getValue(),
+        DynamoDbServiceUserConsentAttributeName.EXPIRY_TIME.getValue());
+
+    private final DynamoDbClient dynamoDbClient;
+    private final String tableName;
+    private final DynamoDbExpirySweepCheckpointStore checkpointStore;
+    private final ConsumedCapacityThrottle readThrottle;
+    private final ConsumedCapacityThrottle writeThrottle;
+    private final Semaphore writePermits;
+    private final int maxCatchUpHours;
+    private final Clock clock;
+
+    /**
+     * Construct consent expiry sweeper.
+     *
+     * @param dynamoDbClient DynamoDB client
+     * @param tableName ServiceUserConsent table name
+     * @param checkpointStore store of the expiry hour swept through
+     * @param readThrottle throttle pacing expiry index queries
+     * @param writeThrottle throttle pacing consent updates
+     * @param maxConcurrentWrites maximum number of consent updates in flight across all hour buckets
+     * @param maxCatchUpHours maximum number of past hour buckets to sweep, bounding the catch up after a long outage
+     * @param clock clock, determining which consents are due
+     */
+    public DynamoDbConsentExpirySweeper(final DynamoDbClient dynamoDbClient, final String tableName,
+            final DynamoDbExpirySweepCheckpointStore checkpointStore, final ConsumedCapacityThrottle readThrottle,
+            final ConsumedCapacityThrottle writeThrottle, final int maxConcurrentWrites, final int maxCatchUpHours, final Clock clock) {
+        if (maxConcurrentWrites < 1 || maxCatchUpHours < 0) {
+            throw new IllegalArgumentException(String.format(
+                "Max concurrent writes %d must be positive and max catch up hours %d must not be negative",
+                maxConcurrentWrites, maxCatchUpHours));
+        }
+        this.dynamoDbClient = dynamoDbClient;
+        this.tableName = tableName;
+        this.checkpointStore = checkpointStore;
+        this.readThrottle = readThrottle;
+        this.writeThrottle = writeThrottle;
+        this.writePermits = new Semaphore(maxConcurrentWrites);
+        this.maxCatchUpHours = maxCatchUpHours;
+        this.clock = clock;
+    }
+
+    /**
+     * Expire due consents in all hour buckets since the checkpoint, and advance the checkpoint.
+     *
+     * @param hasTimeRemaining whether to query further pages, buckets left unfinished are swept again by the next sweep
+     * @return sweep outcome
+     */
+    public ExpirySweepResult sweep(final BooleanSupplier hasTimeRemaining) {
+        final Instant now = clock.instant();
+        final Instant currentHour = now.truncatedTo(ChronoUnit.HOURS);
+        final Instant earliestHour = currentHour.minus(maxCatchUpHours, ChronoUnit.HOURS);
+        final Optional<Instant> checkpoint = checkpointStore.load();
+        Instant firstHour = checkpoint.map(hour -> hour.plus(1, ChronoUnit.HOURS)).orElse(earliestHour);
+        if (firstHour.isBefore(earliestHour)) {
+            logger.warn("Expiry sweep checkpoint {} is more than {} hours old, skipping expiry hours before {}",
+                checkpoint.get(), maxCatchUpHours, earliestHour);
+            firstHour = earliestHour;
+        }
+
+        final List<Instant> hours = new ArrayList<Instant>();
+        for (Instant hour = firstHour; !hour.isAfter(currentHour); hour = hour.plus(1, ChronoUnit.HOURS)) {
+            hours.add(hour);
+        }
+
+        int sweptHours = 0;
+        int failedHours = 0;
+        long expiredConsents = 0;
+        long skippedConsents = 0;
+        Instant sweptThroughHour = firstHour.minus(1, ChronoUnit.HOURS);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final List<Future<HourSweep>> hourSweeps = new ArrayList<Future<HourSweep>>(hours.size());
+            for (final Instant hour : hours) {
+                hourSweeps.add(executor.submit(() -> sweepHour(hour, now, hasTimeRemaining, executor)));
+            }
+
+            boolean sweptThroughEarlierHours = true;
+            for (int index = 0; index < hours.size(); index++) {
+                final Instant hour = hours.get(index);
+                final HourSweep hourSweep = awaitHourSweep(hour, hourSweeps.get(index));
+                if (hourSweep == null) {
+                    failedHours++;
+                } else {
+                    expiredConsents += hourSweep.expiredConsents();
+                    skippedConsents += hourSweep.skippedConsents();
+                    sweptHours += hourSweep.complete() ? 1 : 0;
+                }
+
+                sweptThroughEarlierHours &= hourSweep != null && hourSweep.complete() && hour.isBefore(currentHour);
+                if (sweptThroughEarlierHours) {
+                    sweptThroughHour = hour;
+                }
+            }
+        }
+
+        if (checkpoint.map(sweptThroughHour::isAfter).orElse(true)) {
+            checkpointStore.save(sweptThroughHour);
+        }
+        logger.info("Expired {} consents and skipped {} concurrently updated consents in {} of {} expiry hours, {} failed, "
+            + "swept through {}", expiredConsents, skippedConsents, sweptHours, hours.size(), failedHours, sweptThroughHour);
+        return new ExpirySweepResult(sweptHours, failedHours, expiredConsents, skippedConsents, sweptThroughHour);
+    }
+
+    private HourSweep sweepHour(final Instant hour, final Instant now, final BooleanSupplier hasTimeRemaining,
+            final ExecutorService executor) throws InterruptedException, ExecutionException {
+        final String expiryHour = DynamoDbConsentExpiryTimeConverter.toExpiryHour(hour.atOffset(ZoneOffset.UTC));
+        long expiredConsents = 0;
+        long skippedConsents = 0;
+        Map<String, AttributeValue> exclusiveStartKey = null;
+        do {
+            if (!hasTimeRemaining.getAsBoolean()) {
+                return new HourSweep(expiredConsents, skippedConsents, false);
+            }
+
+            final QueryResponse queryResponse = query(expiryHour, exclusiveStartKey);
+            final List<Future<Boolean>> expirations = new ArrayList<Future<Boolean>>(queryResponse.items().size());
+            for (final Map<String, AttributeValue> item : queryResponse.items()) {
+                final Consent consent = DynamoDbServiceUserConsentMapper.dynamoDbAttributeMapToConsent(item);
+                // Consents in the current hour bucket may not be due yet
+                if (consent.getExpiryTime() == null || consent.getExpiryTime().toInstant().isAfter(now)) {
+                    continue;
+                }
+                writePermits.acquire();
+                expirations.add(executor.submit(() -> {
+                    try {
+                        return expire(consent, item);
+                    } finally {
+                        writePermits.release();
+                    }
+                }));
+            }
+            for (final Future<Boolean> expiration : expirations) {
+                if (expiration.get()) {
+                    expiredConsents++;
+                } else {
+                    skippedConsents++;
+                }
+            }
+
+            exclusiveStartKey = queryResponse.hasLastEvaluatedKey() && !queryResponse.lastEvaluatedKey().isEmpty()
+                ? queryResponse.lastEvaluatedKey()
+                : null;
+        } while (exclusiveStartKey != null);
+        return new HourSweep(expiredConsents, skippedConsents, true);
+    }
+
+    private QueryResponse query(final String expiryHour, final Map<String, AttributeValue> exclusiveStartKey)
+            throws InterruptedException {
+        final QueryRequest queryRequest = QueryRequest.builder()
+            .tableName(tableName)
+            .indexName(DynamoDbServiceUserConsentTableSchema.ACTIVE_CONSENTS_BY_EXPIRY_HOUR_GSI_NAME)
+            .keyConditionExpression(EXPIRY_HOUR_KEY_CONDITION)
+            .expressionAttributeValues(Map.of(EXPIRY_HOUR_VALUE, AttributeValue.fromS(expiryHour)))
+            .projectionExpression(PROJECTION_EXPRESSION)
+            .limit(QUERY_PAGE_SIZE)
+            .exclusiveStartKey(exclusiveStartKey)
+            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+            .build();
+        return readThrottle.callWithRetries(() -> dynamoDbClient.query(queryRequest), QueryResponse::consumedCapacity,
+            "Query of expiry hour " + expiryHour);
+    }
+
+    private boolean expire(final Consent consent, final Map<String, AttributeValue> item) throws InterruptedException {
+        final Map<String, AttributeValue> storedItem = DynamoDbServiceUserConsentMapper.isCompactItemFormat(item)
+            ? item
+            : getFullItem(item);
+        final Consent storedConsent = DynamoDbServiceUserConsentMapper.dynamoDbAttributeMapToConsent(storedItem);
+        if (storedConsent == null || !Objects.equals(consent.getConsentVersion(), storedConsent.getConsentVersion())) {
+            logSkippedConsent(consent);
+            return false;
+        }
+
+        final UpdateItemRequest updateItemRequest = DynamoDbServiceUserConsentPatchMapper.toStatusUpdateItemRequest(tableName,
+                storedConsent, ConsentStatus.EXPIRED, storedItem)
+            .toBuilder()
+            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+            .build();
+        try {
+            writeThrottle.callWithRetries(() -> dynamoDbClient.updateItem(updateItemRequest), UpdateItemResponse::consumedCapacity,
+                "Expiry of consent " + storedConsent.getConsentId());
+            return true;
+        } catch (final ConditionalCheckFailedException conditionalCheckFailedException) {
+            logSkippedConsent(consent);
+            return false;
+        }
+    }
+
+    private Map<String, AttributeValue> getFullItem(final Map<String, AttributeValue> item) throws InterruptedException {
+        final GetItemRequest getItemRequest = GetItemRequest.builder()
+            .tableName(tableName)
+            .key(Map.of(DynamoDbServiceUserConsentAttributeName.ID.getValue(),
+                item.get(DynamoDbServiceUserConsentAttributeName.ID.getValue())))
+            .consistentRead(true)
+            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+            .build();
+        final GetItemResponse getItemResponse = readThrottle.callWithRetries(() -> dynamoDbClient.getItem(getItemRequest),
+            GetItemResponse::consumedCapacity, "Read of consent item " + getItemRequest.key());
+        return getItemResponse.hasItem() && !getItemResponse.item().isEmpty() ? getItemResponse.item() : null;
+    }
+
+    private static void logSkippedConsent(final Consent consent) {
+        // A newer version was written since it was queried, which set its own expiry index keys
+        logger.debug("Skipped expiring consent with serviceId: '{}', userId: '{}', consentId: '{}', consent was updated concurrently",
+            consent.getServiceId(), consent.getUserId(), consent.getConsentId());
+    }
+
+    private static HourSweep awaitHourSweep(final Instant hour, final Future<HourSweep> hourSweep) {
+        try {
+            return hourSweep.get();
+        } catch (final ExecutionException executionException) {
+            logger.error(String.format("Unable to sweep expiry hour %s", hour), executionException.getCause());
+            return null;
+        } catch (final InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            logger.error("Interrupted while sweeping expiry hour {}", hour);
+            return null;
+        }
+    }
+
+    /**
+     * Outcome of sweeping an expiry hour bucket.
+     */
+    private record HourSweep(long expiredConsents, long skippedConsents, boolean complete) {}
+}
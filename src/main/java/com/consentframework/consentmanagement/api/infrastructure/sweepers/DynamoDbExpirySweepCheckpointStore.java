@@ -0,0 +1,82 @@
+package com.consentframework.consentmanagement.api.infrastructure.sweepers;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Stores the expiry hour that consent expiry sweeps have swept through, as a single item in a DynamoDB table.
+ *
+ * The checkpoint only moves forwards, so that an overlapping sweep that started earlier cannot move it back.
+ */
+public class DynamoDbExpirySweepCheckpointStore {
+    private static final Logger logger = LogManager.getLogger(DynamoDbExpirySweepCheckpointStore.class);
+
+    public static final String DEFAULT_TABLE_NAME = "ConsentExpirySweepCheckpoint";
+
+    static final String ID = "id";
+    static final String SWEPT_THROUGH_HOUR = "sweptThroughHour";
+    static final String CHECKPOINT_ID = "ServiceUserConsentExpirySweep";
+    static final String NEW_SWEPT_THROUGH_HOUR = ":" + SWEPT_THROUGH_HOUR;
+    static final String ADVANCES_CHECKPOINT_CONDITION = String.format("attribute_not_exists(%s) OR %s < %s",
+        ID, SWEPT_THROUGH_HOUR, NEW_SWEPT_THROUGH_HOUR);
+
+    private final DynamoDbClient dynamoDbClient;
+    private final String tableName;
+
+    /**
+     * Construct expiry sweep checkpoint store.
+     *
+     * @param dynamoDbClient DynamoDB client
+     * @param tableName checkpoint table name, with string partition key "id"
+     */
+    public DynamoDbExpirySweepCheckpointStore(final DynamoDbClient dynamoDbClient, final String tableName) {
+        this.dynamoDbClient = dynamoDbClient;
+        this.tableName = tableName;
+    }
+
+    /**
+     * Load the start of the last expiry hour swept through.
+     *
+     * @return start of the last expiry hour swept through, empty if no sweep has completed an hour yet
+     */
+    public Optional<Instant> load() {
+        final GetItemResponse getItemResponse = dynamoDbClient.getItem(GetItemRequest.builder()
+            .tableName(tableName)
+            .key(Map.of(ID, AttributeValue.fromS(CHECKPOINT_ID)))
+            .consistentRead(true)
+            .build());
+        if (!getItemResponse.hasItem() || !getItemResponse.item().containsKey(SWEPT_THROUGH_HOUR)) {
+            return Optional.empty();
+        }
+        return Optional.of(Instant.ofEpochSecond(Long.parseLong(getItemResponse.item().get(SWEPT_THROUGH_HOUR).n())));
+    }
+
+    /**
+     * Save the start of the last expiry hour swept through, unless a later hour has already been saved.
+     *
+     * @param sweptThroughHour start of the last expiry hour swept through
+     */
+    public void save(final Instant sweptThroughHour) {
+        final AttributeValue sweptThroughHourValue = AttributeValue.fromN(Long.toString(sweptThroughHour.getEpochSecond()));
+        try {
+            dynamoDbClient.putItem(PutItemRequest.builder()
+                .tableName(tableName)
+                .item(Map.of(ID, AttributeValue.fromS(CHECKPOINT_ID), SWEPT_THROUGH_HOUR, sweptThroughHourValue))
+                .conditionExpression(ADVANCES_CHECKPOINT_CONDITION)
+                .expressionAttributeValues(Map.of(NEW_SWEPT_THROUGH_HOUR, sweptThroughHourValue))
+                .build());
+        } catch (final ConditionalCheckFailedException conditionalCheckFailedException) {
+            logger.info("Skipped saving expiry sweep checkpoint {}, a concurrent sweep saved a later hour", sweptThroughHour);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.consentframework.consentmanagement.api.infrastructure.sweepers;
+
+import java.time.Instant;
+
+/**
+ * Outcome of a consent expiry sweep.
+ *
+ * @param sweptHours number of expiry hour buckets swept completely
+ * @param failedHours number of expiry hour buckets that could not be swept, to be retried by the next sweep
+ * @param expiredConsents number of consents updated to EXPIRED
+ * @param skippedConsents number of consents skipped because they were updated concurrently
+ * @param sweptThroughHour start of the last expiry hour that all earlier hours have been swept through, or null if none
+ */
+public record ExpirySweepResult(int sweptHours, int failedHours, long expiredConsents, long skippedConsents, Instant sweptThroughHour) {}
@@ -0,0 +1,51 @@
+package com.consentframework.consentmanagement.api.usecases.activities;
+
+import com.consentframework.consentmanagement.api.domain.repositories.AsyncServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.domain.validators.CreateServiceUserConsentRequestValidator;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.CreateServiceUserConsentRequestContent;
+import com.consentframework.consentmanagement.api.models.CreateServiceUserConsentResponseContent;
+import com.consentframework.consentmanagement.api.usecases.utils.ConsentIdGenerator;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking CreateServiceUserConsent API activity.
+ */
+public class AsyncCreateServiceUserConsentActivity {
+    private final AsyncServiceUserConsentRepository consentRepository;
+
+    /**
+     * Constructor for non-blocking create consent activity.
+     *
+     * @param consentRepository consent data store
+     */
+    public AsyncCreateServiceUserConsentActivity(final AsyncServiceUserConsentRepository consentRepository) {
+        this.consentRepository = consentRepository;
+    }
+
+    /**
+     * Handle request to create a new ServiceUserConsent.
+     *
+     * @param serviceId service obtaining consent
+     * @param userId user providing consent
+     * @param request consent data
+     * @return future of response including the UUID of the created consent, completed exceptionally with a
+     *     BadRequestException if provided invalid input, ConflictingResourceException if data store has conflicting data,
+     *     or InternalServiceException if unexpected server error creating consent
+     */
+    public CompletableFuture<CreateServiceUserConsentResponseContent> handleRequest(final String serviceId, final String userId,
+            final CreateServiceUserConsentRequestContent request) {
+        try {
+            CreateServiceUserConsentRequestValidator.validate(request);
+        } catch (final BadRequestException badRequestException) {
+            return CompletableFuture.failedFuture(badRequestException);
+        }
+
+        final String consentId = ConsentIdGenerator.nextConsentId();
+        final Consent consent = CreateServiceUserConsentActivity.buildNewConsent(serviceId, userId, consentId, request);
+        return consentRepository.createServiceUserConsent(consent)
+            .thenApply(ignored -> new CreateServiceUserConsentResponseContent().consentId(consentId));
+    }
+}
@@ -0,0 +1,37 @@
+package com.consentframework.consentmanagement.api.usecases.activities;
+
+import com.consentframework.consentmanagement.api.domain.repositories.AsyncServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.models.GetServiceUserConsentResponseContent;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking GetServiceUserConsent API activity.
+ */
+public class AsyncGetServiceUserConsentActivity {
+    private final AsyncServiceUserConsentRepository consentRepository;
+
+    /**
+     * Constructor for non-blocking get consent activity.
+     *
+     * @param consentRepository consent data store
+     */
+    public AsyncGetServiceUserConsentActivity(final AsyncServiceUserConsentRepository consentRepository) {
+        this.consentRepository = consentRepository;
+    }
+
+    /**
+     * Handle request to retrieve a given ServiceUserConsent.
+     *
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @param consentId consent ID, specific to the service-user pair
+     * @return future of specific consent for the service-user-consent ID tuple, completed exceptionally with
+     *     a ResourceNotFoundException if no such consent exists, or InternalServiceException if unexpected error querying repository
+     */
+    public CompletableFuture<GetServiceUserConsentResponseContent> handleRequest(final String serviceId, final String userId,
+            final String consentId) {
+        return consentRepository.getServiceUserConsent(serviceId, userId, consentId)
+            .thenApply(retrievedConsent -> new GetServiceUserConsentResponseContent().data(retrievedConsent));
+    }
+}
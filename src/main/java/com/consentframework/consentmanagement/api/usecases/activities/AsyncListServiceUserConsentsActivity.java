@@ -0,0 +1,70 @@
+package com.consentframework.consentmanagement.api.usecases.activities;
+
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentFilter;
+import com.consentframework.consentmanagement.api.domain.repositories.AsyncServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.domain.validators.ServiceUserConsentFilterValidator;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.ListServiceUserConsentResponseContent;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.pagination.ListPage;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking ListServiceUserConsents API activity.
+ */
+public class AsyncListServiceUserConsentsActivity {
+    private final AsyncServiceUserConsentRepository consentRepository;
+
+    /**
+     * Constructor for non-blocking list consent activity.
+     *
+     * @param consentRepository consent data store
+     */
+    public AsyncListServiceUserConsentsActivity(final AsyncServiceUserConsentRepository consentRepository) {
+        this.consentRepository = consentRepository;
+    }
+
+    /**
+     * Handle request to list ServiceUserConsents for a given service and user pair.
+     *
+     * @param serviceId service obtaining consent
+     * @param userId user providing consent
+     * @param limit maximum number of consents to retrieve
+     * @param pageToken pagination token for backend consents query
+     * @return future of page of matching Consents with next page token if applicable, completed exceptionally
+     *     with a BadRequestException if receive invalid input
+     */
+    public CompletableFuture<ListServiceUserConsentResponseContent> handleRequest(final String serviceId, final String userId,
+            final Integer limit, final String pageToken) {
+        return handleRequest(serviceId, userId, ServiceUserConsentFilter.NONE, limit, pageToken);
+    }
+
+    /**
+     * Handle request to list ServiceUserConsents for a given service and user pair matching a filter.
+     *
+     * @param serviceId service obtaining consent
+     * @param userId user providing consent
+     * @param filter consent status and consent type filter
+     * @param limit maximum number of consents to retrieve
+     * @param pageToken pagination token for backend consents query
+     * @return future of page of matching Consents with next page token if applicable, completed exceptionally
+     *     with a BadRequestException if receive invalid input
+     */
+    public CompletableFuture<ListServiceUserConsentResponseContent> handleRequest(final String serviceId, final String userId,
+            final ServiceUserConsentFilter filter, final Integer limit, final String pageToken) {
+        try {
+            ServiceUserConsentFilterValidator.validate(filter);
+        } catch (final BadRequestException badRequestException) {
+            return CompletableFuture.failedFuture(badRequestException);
+        }
+
+        final CompletableFuture<ListPage<Consent>> consentsPage = filter == null || filter.isEmpty()
+            ? consentRepository.listServiceUserConsents(serviceId, userId, limit, pageToken)
+            : consentRepository.listServiceUserConsents(serviceId, userId, filter, limit, pageToken);
+        return consentsPage
+            .thenApply(paginatedConsents -> new ListServiceUserConsentResponseContent()
+                .data(paginatedConsents.resultsOnPage())
+                .nextPageToken(paginatedConsents.nextPageToken().orElse(null)));
+    }
+}
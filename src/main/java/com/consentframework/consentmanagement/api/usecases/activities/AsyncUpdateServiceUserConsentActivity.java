@@ -0,0 +1,54 @@
+package com.consentframework.consentmanagement.api.usecases.activities;
+
+import com.consentframework.consentmanagement.api.domain.repositories.AsyncServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.UpdateServiceUserConsentRequestContent;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking UpdateServiceUserConsent API activity.
+ */
+public class AsyncUpdateServiceUserConsentActivity {
+    private final AsyncServiceUserConsentRepository consentRepository;
+
+    /**
+     * Constructor for non-blocking update consent activity.
+     *
+     * @param consentRepository consent data store
+     */
+    public AsyncUpdateServiceUserConsentActivity(final AsyncServiceUserConsentRepository consentRepository) {
+        this.consentRepository = consentRepository;
+    }
+
+    /**
+     * Handle request to update an existing ServiceUserConsent.
+     *
+     * @param serviceId service obtaining consent
+     * @param userId user providing consent
+     * @param consentId consent to update
+     * @param updatedContent updated consent data
+     * @return future completed once the consent is updated, completed exceptionally with a BadRequestException if provided
+     *     invalid input, ConflictingResourceException if data store has conflicting data, InternalServiceException if
+     *     unexpected server error updating consent, or ResourceNotFoundException if consent does not exist
+     */
+    public CompletableFuture<Void> handleRequest(final String serviceId, final String userId, final String consentId,
+            final UpdateServiceUserConsentRequestContent updatedContent) {
+        if (updatedContent == null) {
+            return CompletableFuture.failedFuture(new BadRequestException(UpdateServiceUserConsentActivity.MISSING_CONSENT_DATA_MESSAGE));
+        }
+
+        final Consent updatedConsent = new Consent()
+            .serviceId(serviceId)
+            .userId(userId)
+            .consentId(consentId)
+            .consentVersion(updatedContent.getConsentVersion())
+            .status(updatedContent.getStatus())
+            .consentType(updatedContent.getConsentType())
+            .consentData(updatedContent.getConsentData())
+            .expiryTime(updatedContent.getExpiryTime());
+
+        return consentRepository.updateServiceUserConsent(updatedConsent);
+    }
+}
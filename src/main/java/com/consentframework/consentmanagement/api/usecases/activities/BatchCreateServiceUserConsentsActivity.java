@@ -0,0 +1,67 @@
+package com.consentframework.consentmanagement.api.usecases.activities;
+
+import com.consentframework.consentmanagement.api.domain.entities.BatchCreateServiceUserConsentsRequestContent;
+import com.consentframework.consentmanagement.api.domain.entities.BatchCreateServiceUserConsentsResponseContent;
+import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.domain.validators.BatchCreateServiceUserConsentsRequestValidator;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.CreateServiceUserConsentRequestContent;
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiMetrics;
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiStage;
+import com.consentframework.consentmanagement.api.usecases.utils.ConsentIdGenerator;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.ConflictingResourceException;
+import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BatchCreateServiceUserConsents API activity.
+ */
+public class BatchCreateServiceUserConsentsActivity {
+    private final ServiceUserConsentRepository consentRepository;
+
+    /**
+     * Constructor for batch create consents activity.
+     *
+     * @param consentRepository consent data store
+     */
+    public BatchCreateServiceUserConsentsActivity(final ServiceUserConsentRepository consentRepository) {
+        this.consentRepository = consentRepository;
+    }
+
+    /**
+     * Handle request to create several new ServiceUserConsents at once, either creating all of them or none.
+     *
+     * @param serviceId service obtaining consent
+     * @param userId user providing consent
+     * @param request consents data
+     * @return response including the UUIDs of the created consents, in the order they were requested
+     * @throws BadRequestException exception thrown if provided invalid input
+     * @throws ConflictingResourceException exception thrown if data store has conflicting data
+     * @throws InternalServiceException exception thrown when unexpected server error creating consents
+     */
+    public BatchCreateServiceUserConsentsResponseContent handleRequest(final String serviceId, final String userId,
+            final BatchCreateServiceUserConsentsRequestContent request)
+            throws BadRequestException, ConflictingResourceException, InternalServiceException {
+        final long startNanos = ApiMetrics.startTimer();
+        try {
+            BatchCreateServiceUserConsentsRequestValidator.validate(request);
+
+            final List<Consent> consents = new ArrayList<Consent>(request.consents().size());
+            final List<String> consentIds = new ArrayList<String>(request.consents().size());
+            for (final CreateServiceUserConsentRequestContent consentContent : request.consents()) {
+                final String consentId = ConsentIdGenerator.nextConsentId();
+                consents.add(CreateServiceUserConsentActivity.buildNewConsent(serviceId, userId, consentId, consentContent));
+                consentIds.add(consentId);
+            }
+
+            consentRepository.createServiceUserConsents(consents);
+
+            return new BatchCreateServiceUserConsentsResponseContent(consentIds);
+        } finally {
+            ApiMetrics.recordStage(ApiStage.ACTIVITY, startNanos);
+        }
+    }
+}
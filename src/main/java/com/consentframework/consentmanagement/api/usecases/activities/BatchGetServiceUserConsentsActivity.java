@@ -0,0 +1,51 @@
+package com.consentframework.consentmanagement.api.usecases.activities;
+
+import com.consentframework.consentmanagement.api.domain.entities.BatchGetServiceUserConsentsRequestContent;
+import com.consentframework.consentmanagement.api.domain.entities.BatchGetServiceUserConsentsResponseContent;
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentBatchGetResult;
+import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.domain.validators.BatchGetServiceUserConsentsRequestValidator;
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiMetrics;
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiStage;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
+
+/**
+ * BatchGetServiceUserConsents API activity.
+ */
+public class BatchGetServiceUserConsentsActivity {
+    private final ServiceUserConsentRepository consentRepository;
+
+    /**
+     * Constructor for batch get consents activity.
+     *
+     * @param consentRepository consent data store
+     */
+    public BatchGetServiceUserConsentsActivity(final ServiceUserConsentRepository consentRepository) {
+        this.consentRepository = consentRepository;
+    }
+
+    /**
+     * Handle request to retrieve a batch of consents for a service-user pair.
+     *
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @param requestContent request body listing the consent IDs to retrieve
+     * @return retrieved consents and requested consent IDs that were not found
+     * @throws BadRequestException exception thrown if request content is invalid
+     * @throws InternalServiceException exception thrown if unexpected error querying repository
+     */
+    public BatchGetServiceUserConsentsResponseContent handleRequest(final String serviceId, final String userId,
+            final BatchGetServiceUserConsentsRequestContent requestContent) throws BadRequestException, InternalServiceException {
+        final long startNanos = ApiMetrics.startTimer();
+        try {
+            BatchGetServiceUserConsentsRequestValidator.validate(requestContent);
+
+            final ServiceUserConsentBatchGetResult batchGetResult = consentRepository.batchGetServiceUserConsents(serviceId, userId,
+                requestContent.consentIds());
+            return new BatchGetServiceUserConsentsResponseContent(batchGetResult.consents(), batchGetResult.missingConsentIds());
+        } finally {
+            ApiMetrics.recordStage(ApiStage.ACTIVITY, startNanos);
+        }
+    }
+}
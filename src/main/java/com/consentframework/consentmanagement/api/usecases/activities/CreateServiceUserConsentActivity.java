@@ -5,12 +5,13 @@ import com.consentframework.consentmanagement.api.domain.validators.CreateServic
 import com.consentframework.consentmanagement.api.models.Consent;
 import com.consentframework.consentmanagement.api.models.CreateServiceUserConsentRequestContent;
 import com.consentframework.consentmanagement.api.models.CreateServiceUserConsentResponseContent;
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiMetrics;
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiStage;
+import com.consentframework.consentmanagement.api.usecases.utils.ConsentIdGenerator;
 import com.consentframework.shared.api.domain.exceptions.BadRequestException;
 import com.consentframework.shared.api.domain.exceptions.ConflictingResourceException;
 import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
 
-import java.util.UUID;
-
 /**
  * CreateServiceUserConsent API activity.
  */
@@ -40,10 +41,32 @@ public class CreateServiceUserConsentActivity {
     public CreateServiceUserConsentResponseContent handleRequest(final String serviceId, final String userId,
             final CreateServiceUserConsentRequestContent request)
             throws BadRequestException, ConflictingResourceException, InternalServiceException {
-        CreateServiceUserConsentRequestValidator.validate(request);
+        final long startNanos = ApiMetrics.startTimer();
+        try {
+            CreateServiceUserConsentRequestValidator.validate(request);
+
+            final String consentId = ConsentIdGenerator.nextConsentId();
+            consentRepository.createServiceUserConsent(buildNewConsent(serviceId, userId, consentId, request));
+
+            return new CreateServiceUserConsentResponseContent()
+                .consentId(consentId);
+        } finally {
+            ApiMetrics.recordStage(ApiStage.ACTIVITY, startNanos);
+        }
+    }
 
-        final String consentId = UUID.randomUUID().toString();
-        final Consent consent = new Consent()
+    /**
+     * Build the first version of a consent from validated create request content.
+     *
+     * @param serviceId service obtaining consent
+     * @param userId user providing consent
+     * @param consentId generated consent ID
+     * @param request consent data
+     * @return new consent
+     */
+    static Consent buildNewConsent(final String serviceId, final String userId, final String consentId,
+            final CreateServiceUserConsentRequestContent request) {
+        return new Consent()
             .serviceId(serviceId)
             .userId(userId)
             .consentId(consentId)
@@ -52,10 +75,5 @@ public class CreateServiceUserConsentActivity {
             .consentData(request.getConsentData())
             .expiryTime(request.getExpiryTime())
             .status(request.getStatus());
-
-        consentRepository.createServiceUserConsent(consent);
-
-        return new CreateServiceUserConsentResponseContent()
-            .consentId(consentId);
     }
 }
@@ -0,0 +1,42 @@
+package com.consentframework.consentmanagement.api.usecases.activities;
+
+import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiMetrics;
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiStage;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+
+import java.util.stream.Stream;
+
+/**
+ * ExportServiceUserConsents API activity.
+ */
+public class ExportServiceUserConsentsActivity {
+    private final ServiceUserConsentRepository consentRepository;
+
+    /**
+     * Constructor for export consents activity.
+     *
+     * @param consentRepository consent data store
+     */
+    public ExportServiceUserConsentsActivity(final ServiceUserConsentRepository consentRepository) {
+        this.consentRepository = consentRepository;
+    }
+
+    /**
+     * Handle request to export all ServiceUserConsents for a given service and user pair.
+     *
+     * @param serviceId service obtaining consent
+     * @param userId user providing consent
+     * @return stream of the user's consents, retrieved lazily as it is consumed, to close once consumed
+     * @throws BadRequestException exception thrown when receive invalid input
+     */
+    public Stream<Consent> handleRequest(final String serviceId, final String userId) throws BadRequestException {
+        final long startNanos = ApiMetrics.startTimer();
+        try {
+            return consentRepository.exportServiceUserConsents(serviceId, userId);
+        } finally {
+            ApiMetrics.recordStage(ApiStage.ACTIVITY, startNanos);
+        }
+    }
+}
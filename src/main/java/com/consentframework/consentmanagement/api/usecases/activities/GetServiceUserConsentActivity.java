@@ -3,6 +3,8 @@ package com.consentframework.consentmanagement.api.usecases.activities;
 import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
 import com.consentframework.consentmanagement.api.models.Consent;
 import com.consentframework.consentmanagement.api.models.GetServiceUserConsentResponseContent;
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiMetrics;
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiStage;
 import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
 import com.consentframework.shared.api.domain.exceptions.ResourceNotFoundException;
 
@@ -33,9 +35,14 @@ public class GetServiceUserConsentActivity {
      */
     public GetServiceUserConsentResponseContent handleRequest(final String serviceId, final String userId, final String consentId)
             throws InternalServiceException, ResourceNotFoundException {
-        final Consent retrievedConsent = consentRepository.getServiceUserConsent(serviceId, userId, consentId);
+        final long startNanos = ApiMetrics.startTimer();
+        try {
+            final Consent retrievedConsent = consentRepository.getServiceUserConsent(serviceId, userId, consentId);
 
-        return new GetServiceUserConsentResponseContent()
-            .data(retrievedConsent);
+            return new GetServiceUserConsentResponseContent()
+                .data(retrievedConsent);
+        } finally {
+            ApiMetrics.recordStage(ApiStage.ACTIVITY, startNanos);
+        }
     }
 }
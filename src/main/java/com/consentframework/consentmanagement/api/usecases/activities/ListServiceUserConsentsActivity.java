@@ -1,9 +1,14 @@
 package com.consentframework.consentmanagement.api.usecases.activities;
 
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentFilter;
 import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.domain.validators.ServiceUserConsentFilterValidator;
 import com.consentframework.consentmanagement.api.models.Consent;
 import com.consentframework.consentmanagement.api.models.ListServiceUserConsentResponseContent;
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiMetrics;
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiStage;
 import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
 import com.consentframework.shared.api.domain.pagination.ListPage;
 
 /**
@@ -30,16 +35,43 @@ public class ListServiceUserConsentsActivity {
      * @param pageToken pagination token for backend consents query
      * @return page of matching Consents with next page token if applicable
      * @throws BadRequestException exception thrown when receive invalid input
+     * @throws InternalServiceException exception thrown if unexpected error querying repository
      */
     public ListServiceUserConsentResponseContent handleRequest(final String serviceId, final String userId,
-            final Integer limit, final String pageToken) throws BadRequestException {
-        final ListPage<Consent> paginatedConsents = this.consentRepository.listServiceUserConsents(serviceId, userId, limit, pageToken);
+            final Integer limit, final String pageToken) throws BadRequestException, InternalServiceException {
+        return handleRequest(serviceId, userId, ServiceUserConsentFilter.NONE, limit, pageToken);
+    }
 
-        final String nextPageToken = parseNextPageToken(paginatedConsents);
+    /**
+     * Handle request to list ServiceUserConsents for a given service and user pair matching a filter.
+     *
+     * @param serviceId service obtaining consent
+     * @param userId user providing consent
+     * @param filter consent status and consent type filter
+     * @param limit maximum number of consents to retrieve
+     * @param pageToken pagination token for backend consents query
+     * @return page of matching Consents with next page token if applicable
+     * @throws BadRequestException exception thrown when receive invalid input
+     * @throws InternalServiceException exception thrown if unexpected error querying repository
+     */
+    public ListServiceUserConsentResponseContent handleRequest(final String serviceId, final String userId,
+            final ServiceUserConsentFilter filter, final Integer limit, final String pageToken)
+            throws BadRequestException, InternalServiceException {
+        final long startNanos = ApiMetrics.startTimer();
+        try {
+            ServiceUserConsentFilterValidator.validate(filter);
+            final ListPage<Consent> paginatedConsents = filter == null || filter.isEmpty()
+                ? this.consentRepository.listServiceUserConsents(serviceId, userId, limit, pageToken)
+                : this.consentRepository.listServiceUserConsents(serviceId, userId, filter, limit, pageToken);
+
+            final String nextPageToken = parseNextPageToken(paginatedConsents);
 
-        return new ListServiceUserConsentResponseContent()
-            .data(paginatedConsents.resultsOnPage())
-            .nextPageToken(nextPageToken);
+            return new ListServiceUserConsentResponseContent()
+                .data(paginatedConsents.resultsOnPage())
+                .nextPageToken(nextPageToken);
+        } finally {
+            ApiMetrics.recordStage(ApiStage.ACTIVITY, startNanos);
+        }
     }
 
     private String parseNextPageToken(final ListPage<Consent> paginatedConsents) {
@@ -0,0 +1,47 @@
+package com.consentframework.consentmanagement.api.usecases.activities;
+
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentPatch;
+import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiMetrics;
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiStage;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.ConflictingResourceException;
+import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
+import com.consentframework.shared.api.domain.exceptions.ResourceNotFoundException;
+
+/**
+ * PatchServiceUserConsent API activity.
+ */
+public class PatchServiceUserConsentActivity {
+    private final ServiceUserConsentRepository consentRepository;
+
+    /**
+     * Constructor for patch consent activity.
+     *
+     * @param consentRepository consent data store
+     */
+    public PatchServiceUserConsentActivity(final ServiceUserConsentRepository consentRepository) {
+        this.consentRepository = consentRepository;
+    }
+
+    /**
+     * Handle request to partially update an existing ServiceUserConsent.
+     *
+     * @param patch consent patch
+     * @return updated consent
+     * @throws BadRequestException exception thrown if provided invalid input
+     * @throws ConflictingResourceException exception thrown if stored consent is not the previous consentVersion
+     * @throws InternalServiceException exception thrown if unexpected server error updating consent
+     * @throws ResourceNotFoundException exception thrown if consent does not exist
+     */
+    public Consent handleRequest(final ServiceUserConsentPatch patch)
+            throws BadRequestException, ConflictingResourceException, InternalServiceException, ResourceNotFoundException {
+        final long startNanos = ApiMetrics.startTimer();
+        try {
+            return consentRepository.patchServiceUserConsent(patch);
+        } finally {
+            ApiMetrics.recordStage(ApiStage.ACTIVITY, startNanos);
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.consentframework.consentmanagement.api.usecases.activities;
 import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
 import com.consentframework.consentmanagement.api.models.Consent;
 import com.consentframework.consentmanagement.api.models.UpdateServiceUserConsentRequestContent;
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiMetrics;
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiStage;
 import com.consentframework.shared.api.domain.exceptions.BadRequestException;
 import com.consentframework.shared.api.domain.exceptions.ConflictingResourceException;
 import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
@@ -40,20 +42,25 @@ public class UpdateServiceUserConsentActivity {
     public void handleRequest(final String serviceId, final String userId, final String consentId,
             final UpdateServiceUserConsentRequestContent updatedContent)
             throws BadRequestException, ConflictingResourceException, InternalServiceException, ResourceNotFoundException {
-        if (updatedContent == null) {
-            throw new BadRequestException(MISSING_CONSENT_DATA_MESSAGE);
-        }
+        final long startNanos = ApiMetrics.startTimer();
+        try {
+            if (updatedContent == null) {
+                throw new BadRequestException(MISSING_CONSENT_DATA_MESSAGE);
+            }
 
-        final Consent updatedConsent = new Consent()
-            .serviceId(serviceId)
-            .userId(userId)
-            .consentId(consentId)
-            .consentVersion(updatedContent.getConsentVersion())
-            .status(updatedContent.getStatus())
-            .consentType(updatedContent.getConsentType())
-            .consentData(updatedContent.getConsentData())
-            .expiryTime(updatedContent.getExpiryTime());
+            final Consent updatedConsent = new Consent()
+                .serviceId(serviceId)
+                .userId(userId)
+                .consentId(consentId)
+                .consentVersion(updatedContent.getConsentVersion())
+                .status(updatedContent.getStatus())
+                .consentType(updatedContent.getConsentType())
+                .consentData(updatedContent.getConsentData())
+                .expiryTime(updatedContent.getExpiryTime());
 
-        consentRepository.updateServiceUserConsent(updatedConsent);
+            consentRepository.updateServiceUserConsent(updatedConsent);
+        } finally {
+            ApiMetrics.recordStage(ApiStage.ACTIVITY, startNanos);
+        }
     }
 }
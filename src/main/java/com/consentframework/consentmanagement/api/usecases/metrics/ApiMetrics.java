@@ -0,0 +1,219 @@
+package com.consentframework.consentmanagement.api.usecases.metrics;
+
+import com.consentframework.shared.api.domain.constants.ApiResponseParameterName;
+import com.fasterxml.jackson.core.JsonFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Records per-route API metrics, flushed once per invocation as a CloudWatch Embedded Metric Format log line,
+ * which CloudWatch Logs extracts into metrics without any network calls or agent.
+ *
+ * Metrics are recorded for the invocation started on the current thread, so that request handling stages can be
+ * timed wherever they run, without passing a recorder through every layer. Recording is a no-op on threads
+ * without a started invocation, eg. in tests, while priming request handling, or on asynchronous client threads.
+ *
+ * EMF log lines are written by this class' logger, which log4j2.xml sends synchronously to the console without any layout.
+ * DynamoDB calls are also aggregated per route and operation since the JVM started, see getDynamoDbStatistics.
+ */
+public final class ApiMetrics {
+    private static final Logger logger = LogManager.getLogger(ApiMetrics.class);
+
+    public static final String UNATTRIBUTED_ROUTE = "Unattributed";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final ThreadLocal<InvocationMetrics> CURRENT_INVOCATION = new ThreadLocal<InvocationMetrics>();
+    private static final ConcurrentMap<DynamoDbOperationStatistics.Key, DynamoDbOperationStatistics> DYNAMODB_STATISTICS =
+        new ConcurrentHashMap<DynamoDbOperationStatistics.Key, DynamoDbOperationStatistics>();
+    private static volatile boolean coldStart = true;
+
+    private ApiMetrics() {}
+
+    /**
+     * Start recording metrics for an invocation on the current thread.
+     *
+     * @param httpMethod request HTTP method
+     * @param resource request resource
+     * @param requestId Lambda request ID, may be null
+     * @param requestBodySize request body size
+     */
+    public static void startInvocation(final String httpMethod, final String resource, final String requestId,
+            final long requestBodySize) {
+        final boolean isColdStart = coldStart;
+        coldStart = false;
+        CURRENT_INVOCATION.set(new InvocationMetrics(httpMethod + " " + resource, requestId, isColdStart, requestBodySize));
+    }
+
+    /**
+     * Flush the current thread's invocation metrics as an EMF log line, and stop recording.
+     *
+     * @return flushed invocation metrics, or null if no invocation was started
+     */
+    public static InvocationMetrics finishInvocation() {
+        final InvocationMetrics invocationMetrics = CURRENT_INVOCATION.get();
+        if (invocationMetrics == null) {
+            return null;
+        }
+        CURRENT_INVOCATION.remove();
+
+        logger.info(invocationMetrics.toEmfJson(JSON_FACTORY, System.currentTimeMillis()));
+        return invocationMetrics;
+    }
+
+    /**
+     * Get the invocation started on the current thread, eg. to attribute work completed on other threads to it.
+     *
+     * @return current invocation metrics, or null if no invocation was started
+     */
+    public static InvocationMetrics currentInvocation() {
+        return CURRENT_INVOCATION.get();
+    }
+
+    /**
+     * Wrap an operation to run on another thread as part of the invocation started on the current thread,
+     * so that the stages and DynamoDB calls it records are attributed to that invocation.
+     *
+     * @param <T> operation result type
+     * @param operation operation
+     * @return operation running as part of the current invocation, or as is if no invocation was started
+     */
+    public static <T> Supplier<T> inCurrentInvocation(final Supplier<T> operation) {
+        final InvocationMetrics invocationMetrics = CURRENT_INVOCATION.get();
+        if (invocationMetrics == null) {
+            return operation;
+        }
+        return () -> {
+            final InvocationMetrics previousInvocationMetrics = CURRENT_INVOCATION.get();
+            CURRENT_INVOCATION.set(invocationMetrics);
+            try {
+                return operation.get();
+            } finally {
+                if (previousInvocationMetrics == null) {
+                    CURRENT_INVOCATION.remove();
+                } else {
+                    CURRENT_INVOCATION.set(previousInvocationMetrics);
+                }
+            }
+        };
+    }
+
+    /**
+     * Report the next invocation as a cold start, eg. after restoring from a JVM snapshot.
+     */
+    public static void markColdStart() {
+        coldStart = true;
+    }
+
+    /**
+     * Start timing a request handling stage.
+     *
+     * @return stage start time, to pass to {@link #recordStage(ApiStage, long)}
+     */
+    public static long startTimer() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Record time spent in a request handling stage since it started.
+     *
+     * @param stage request handling stage
+     * @param startNanos stage start time from {@link #startTimer()}
+     */
+    public static void recordStage(final ApiStage stage, final long startNanos) {
+        final InvocationMetrics invocationMetrics = CURRENT_INVOCATION.get();
+        if (invocationMetrics != null) {
+            invocationMetrics.recordStage(stage, System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Run and time a request handling stage.
+     *
+     * @param <T> stage result type
+     * @param stage request handling stage
+     * @param operation stage operation
+     * @return stage result
+     */
+    public static <T> T time(final ApiStage stage, final Supplier<T> operation) {
+        final long startNanos = startTimer();
+        try {
+            return operation.get();
+        } finally {
+            recordStage(stage, startNanos);
+        }
+    }
+
+    /**
+     * Run and time a request handling stage without a result.
+     *
+     * @param stage request handling stage
+     * @param operation stage operation
+     */
+    public static void run(final ApiStage stage, final Runnable operation) {
+        final long startNanos = startTimer();
+        try {
+            operation.run();
+        } finally {
+            recordStage(stage, startNanos);
+        }
+    }
+
+    /**
+     * Record the current invocation's API response.
+     *
+     * @param statusCode response status code
+     * @param bodySize response body size
+     */
+    public static void recordResponse(final int statusCode, final long bodySize) {
+        final InvocationMetrics invocationMetrics = CURRENT_INVOCATION.get();
+        if (invocationMetrics != null) {
+            invocationMetrics.recordResponse(statusCode, bodySize);
+        }
+    }
+
+    /**
+     * Record the current invocation's API response.
+     *
+     * @param response API response
+     */
+    public static void recordResponse(final Map<String, Object> response) {
+        if (CURRENT_INVOCATION.get() == null || response == null) {
+            return;
+        }
+        final Object statusCode = response.get(ApiResponseParameterName.STATUS_CODE.getValue());
+        final Object body = response.get(ApiResponseParameterName.BODY.getValue());
+        recordResponse(statusCode instanceof Number number ? number.intValue() : InvocationMetrics.UNHANDLED_ERROR_STATUS_CODE,
+            body instanceof String bodyString ? bodyString.length() : 0);
+    }
+
+    /**
+     * Record a DynamoDB call, adding it to its invocation's metrics and to its route and operation's statistics.
+     *
+     * @param invocationMetrics invocation the call was made for, or null if made outside of an invocation
+     * @param call DynamoDB call
+     */
+    public static void recordDynamoDbCall(final InvocationMetrics invocationMetrics, final DynamoDbCall call) {
+        final String route = invocationMetrics == null ? UNATTRIBUTED_ROUTE : invocationMetrics.getRoute();
+        DYNAMODB_STATISTICS.computeIfAbsent(new DynamoDbOperationStatistics.Key(route, call.operation()),
+            key -> new DynamoDbOperationStatistics()).record(call);
+        if (invocationMetrics != null) {
+            invocationMetrics.recordDynamoDbCall(call);
+        }
+    }
+
+    /**
+     * Get DynamoDB call statistics per API route and DynamoDB operation since the JVM started, with calls made
+     * outside of an invocation attributed to the unattributed route.
+     *
+     * @return live, unmodifiable view of DynamoDB call statistics
+     */
+    public static Map<DynamoDbOperationStatistics.Key, DynamoDbOperationStatistics> getDynamoDbStatistics() {
+        return Collections.unmodifiableMap(DYNAMODB_STATISTICS);
+    }
+}
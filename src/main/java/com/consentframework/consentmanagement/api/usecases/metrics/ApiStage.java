@@ -0,0 +1,33 @@
+package com.consentframework.consentmanagement.api.usecases.metrics;
+
+/**
+ * Request handling stages timed by ApiMetrics.
+ *
+ * Stages can be nested, eg. DynamoDB calls, validation and mapping all run within an activity, so that the time
+ * spent in our own activity code is the activity latency less that of the stages within it. DynamoDB attempts are
+ * recorded by the DynamoDB client within DynamoDB calls, excluding the backoff between retried attempts.
+ */
+public enum ApiStage {
+    ACTIVITY("ActivityLatency"),
+    VALIDATION("ValidationLatency"),
+    MAPPING("MappingLatency"),
+    DYNAMODB("DynamoDbLatency"),
+    DYNAMODB_ATTEMPT("DynamoDbAttemptLatency"),
+    JSON_READ("JsonReadLatency"),
+    JSON_WRITE("JsonWriteLatency");
+
+    private final String value;
+
+    private ApiStage(final String value) {
+        this.value = value;
+    }
+
+    /**
+     * Return stage latency metric name.
+     *
+     * @return metric name
+     */
+    public String getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,14 @@
+package com.consentframework.consentmanagement.api.usecases.metrics;
+
+/**
+ * Outcome of a DynamoDB API call, over all of its attempts.
+ *
+ * @param operation DynamoDB operation name, eg. "Query"
+ * @param attempts number of attempts made, including the first
+ * @param attemptNanos time spent in attempts, excluding the backoff between them
+ * @param throttled whether the call failed because it was throttled
+ * @param consumedReadCapacityUnits read capacity units consumed by the call
+ * @param consumedWriteCapacityUnits write capacity units consumed by the call
+ */
+public record DynamoDbCall(String operation, int attempts, long attemptNanos, boolean throttled,
+    double consumedReadCapacityUnits, double consumedWriteCapacityUnits) {}
@@ -0,0 +1,108 @@
+package com.consentframework.consentmanagement.api.usecases.metrics;
+
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running totals of the DynamoDB calls made for one operation of one API route, since the JVM started.
+ *
+ * Totals are updated concurrently without locking, so reading several of them is not an atomic snapshot.
+ */
+public final class DynamoDbOperationStatistics {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder throttledCalls = new LongAdder();
+    private final LongAdder attemptNanos = new LongAdder();
+    private final DoubleAdder consumedReadCapacityUnits = new DoubleAdder();
+    private final DoubleAdder consumedWriteCapacityUnits = new DoubleAdder();
+
+    /**
+     * API route and DynamoDB operation that statistics are aggregated by.
+     *
+     * @param route API route, eg. "GET /v1/consent-management/services/{serviceId}/users/{userId}/consents"
+     * @param operation DynamoDB operation name, eg. "Query"
+     */
+    public record Key(String route, String operation) {}
+
+    DynamoDbOperationStatistics() {}
+
+    /**
+     * Add a DynamoDB call to the totals.
+     *
+     * @param call DynamoDB call
+     */
+    void record(final DynamoDbCall call) {
+        calls.increment();
+        attempts.add(call.attempts());
+        attemptNanos.add(call.attemptNanos());
+        if (call.throttled()) {
+            throttledCalls.increment();
+        }
+        consumedReadCapacityUnits.add(call.consumedReadCapacityUnits());
+        consumedWriteCapacityUnits.add(call.consumedWriteCapacityUnits());
+    }
+
+    /**
+     * Get number of calls.
+     *
+     * @return number of calls
+     */
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    /**
+     * Get number of attempts, including retries.
+     *
+     * @return number of attempts
+     */
+    public long getAttempts() {
+        return attempts.sum();
+    }
+
+    /**
+     * Get number of calls that failed because they were throttled.
+     *
+     * @return number of throttled calls
+     */
+    public long getThrottledCalls() {
+        return throttledCalls.sum();
+    }
+
+    /**
+     * Get average attempt latency.
+     *
+     * @return average attempt latency in milliseconds, or 0 if no attempts were made
+     */
+    public double getAverageAttemptLatencyMillis() {
+        final long attemptCount = attempts.sum();
+        return attemptCount == 0 ? 0 : attemptNanos.sum() / NANOS_PER_MILLI / attemptCount;
+    }
+
+    /**
+     * Get consumed read capacity units.
+     *
+     * @return consumed read capacity units
+     */
+    public double getConsumedReadCapacityUnits() {
+        return consumedReadCapacityUnits.sum();
+    }
+
+    /**
+     * Get consumed write capacity units.
+     *
+     * @return consumed write capacity units
+     */
+    public double getConsumedWriteCapacityUnits() {
+        return consumedWriteCapacityUnits.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DynamoDbOperationStatistics[calls=%d, attempts=%d, throttledCalls=%d, averageAttemptLatencyMillis=%.3f, "
+            + "consumedReadCapacityUnits=%.1f, consumedWriteCapacityUnits=%.1f]", getCalls(), getAttempts(), getThrottledCalls(),
+            getAverageAttemptLatencyMillis(), getConsumedReadCapacityUnits(), getConsumedWriteCapacityUnits());
+    }
+}
@@ -0,0 +1,286 @@
+package com.consentframework.consentmanagement.api.usecases.metrics;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+
+/**
+ * Metrics recorded while handling a single API request, rendered as one CloudWatch Embedded Metric Format (EMF) log line.
+ *
+ * Stage latencies are summed over the invocation, so each metric has one value per invocation, and CloudWatch
+ * aggregates the values of all invocations of a route into its latency distribution and percentiles. DynamoDB calls
+ * add their attempts, throttling and consumed capacity, so that the cost of each route's access patterns is visible.
+ */
+public final class InvocationMetrics {
+    static final String NAMESPACE = "ConsentManagementApi";
+    static final String ROUTE_DIMENSION = "Route";
+    static final String REQUEST_ID_PROPERTY = "RequestId";
+    static final String STATUS_CODE_PROPERTY = "StatusCode";
+    static final String LATENCY_METRIC = "Latency";
+    static final String COLD_START_METRIC = "ColdStart";
+    static final String REQUEST_BODY_SIZE_METRIC = "RequestBodySize";
+    static final String RESPONSE_BODY_SIZE_METRIC = "ResponseBodySize";
+    static final String DYNAMODB_CALLS_METRIC = "DynamoDbCalls";
+    static final String DYNAMODB_RETRIES_METRIC = "DynamoDbRetries";
+    static final String DYNAMODB_THROTTLES_METRIC = "DynamoDbThrottles";
+    static final String CONSUMED_READ_CAPACITY_METRIC = "ConsumedReadCapacityUnits";
+    static final String CONSUMED_WRITE_CAPACITY_METRIC = "ConsumedWriteCapacityUnits";
+    static final int[] STATUS_CLASSES = {2, 4, 5};
+    static final String[] STATUS_METRICS = {"Status2xx", "Status4xx", "Status5xx"};
+
+    // Invocations that fail without a response are reported by the Lambda runtime as errors
+    static final int UNHANDLED_ERROR_STATUS_CODE = 500;
+
+    private static final String MILLISECONDS = "Milliseconds";
+    private static final String BYTES = "Bytes";
+    private static final String COUNT = "Count";
+    private static final String NONE = "None";
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final String route;
+    private final String requestId;
+    private final boolean coldStart;
+    private final long startNanos;
+    private final long requestBodySize;
+    private final long[] stageNanos = new long[ApiStage.values().length];
+    private final int[] stageCounts = new int[ApiStage.values().length];
+    private int statusCode = UNHANDLED_ERROR_STATUS_CODE;
+    private long responseBodySize;
+    private int dynamoDbCalls;
+    private int dynamoDbRetries;
+    private int dynamoDbThrottles;
+    private double consumedReadCapacityUnits;
+    private double consumedWriteCapacityUnits;
+
+    /**
+     * Start recording invocation metrics.
+     *
+     * @param route API route, eg. "GET /v1/consent-management/services/{serviceId}/users/{userId}/consents"
+     * @param requestId Lambda request ID, may be null
+     * @param coldStart whether the invocation is the first of its execution environment
+     * @param requestBodySize request body size
+     */
+    InvocationMetrics(final String route, final String requestId, final boolean coldStart, final long requestBodySize) {
+        this.route = route;
+        this.requestId = requestId;
+        this.coldStart = coldStart;
+        this.requestBodySize = requestBodySize;
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Add time spent in a request handling stage.
+     *
+     * @param stage request handling stage
+     * @param elapsedNanos time spent in the stage
+     */
+    void recordStage(final ApiStage stage, final long elapsedNanos) {
+        stageNanos[stage.ordinal()] += elapsedNanos;
+        stageCounts[stage.ordinal()]++;
+    }
+
+    /**
+     * Add a DynamoDB call, with its attempts recorded as the DynamoDB attempt stage.
+     *
+     * @param call DynamoDB call
+     */
+    void recordDynamoDbCall(final DynamoDbCall call) {
+        dynamoDbCalls++;
+        dynamoDbRetries += Math.max(call.attempts() - 1, 0);
+        if (call.throttled()) {
+            dynamoDbThrottles++;
+        }
+        consumedReadCapacityUnits += call.consumedReadCapacityUnits();
+        consumedWriteCapacityUnits += call.consumedWriteCapacityUnits();
+        stageNanos[ApiStage.DYNAMODB_ATTEMPT.ordinal()] += call.attemptNanos();
+        stageCounts[ApiStage.DYNAMODB_ATTEMPT.ordinal()] += call.attempts();
+    }
+
+    /**
+     * Record the API response.
+     *
+     * @param responseStatusCode response status code
+     * @param responseBodySize response body size
+     */
+    void recordResponse(final int responseStatusCode, final long responseBodySize) {
+        this.statusCode = responseStatusCode;
+        this.responseBodySize = responseBodySize;
+    }
+
+    /**
+     * Render invocation metrics as an EMF log line.
+     *
+     * @param jsonFactory JSON factory
+     * @param timestampMillis metrics timestamp
+     * @return EMF JSON string
+     */
+    String toEmfJson(final JsonFactory jsonFactory, final long timestampMillis) {
+        final double latencyMillis = (System.nanoTime() - startNanos) / NANOS_PER_MILLI;
+        final StringWriter writer = new StringWriter(512);
+        try (JsonGenerator generator = jsonFactory.createGenerator(writer)) {
+            generator.writeStartObject();
+            writeMetadata(generator, timestampMillis);
+
+            generator.writeStringField(ROUTE_DIMENSION, route);
+            if (requestId != null) {
+                generator.writeStringField(REQUEST_ID_PROPERTY, requestId);
+            }
+            generator.writeNumberField(STATUS_CODE_PROPERTY, statusCode);
+            generator.writeNumberField(LATENCY_METRIC, latencyMillis);
+            generator.writeNumberField(COLD_START_METRIC, coldStart ? 1 : 0);
+            generator.writeNumberField(REQUEST_BODY_SIZE_METRIC, requestBodySize);
+            generator.writeNumberField(RESPONSE_BODY_SIZE_METRIC, responseBodySize);
+            for (int i = 0; i < STATUS_CLASSES.length; i++) {
+                generator.writeNumberField(STATUS_METRICS[i], statusCode / 100 == STATUS_CLASSES[i] ? 1 : 0);
+            }
+            for (final ApiStage stage : ApiStage.values()) {
+                if (stageCounts[stage.ordinal()] > 0) {
+                    generator.writeNumberField(stage.getValue(), stageNanos[stage.ordinal()] / NANOS_PER_MILLI);
+                }
+            }
+            if (dynamoDbCalls > 0) {
+                generator.writeNumberField(DYNAMODB_CALLS_METRIC, dynamoDbCalls);
+                generator.writeNumberField(DYNAMODB_RETRIES_METRIC, dynamoDbRetries);
+                generator.writeNumberField(DYNAMODB_THROTTLES_METRIC, dynamoDbThrottles);
+                generator.writeNumberField(CONSUMED_READ_CAPACITY_METRIC, consumedReadCapacityUnits);
+                generator.writeNumberField(CONSUMED_WRITE_CAPACITY_METRIC, consumedWriteCapacityUnits);
+            }
+            generator.writeEndObject();
+        } catch (final IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+        return writer.toString();
+    }
+
+    private void writeMetadata(final JsonGenerator generator, final long timestampMillis) throws IOException {
+        generator.writeObjectFieldStart("_aws");
+        generator.writeNumberField("Timestamp", timestampMillis);
+        generator.writeArrayFieldStart("CloudWatchMetrics");
+        generator.writeStartObject();
+        generator.writeStringField("Namespace", NAMESPACE);
+
+        generator.writeArrayFieldStart("Dimensions");
+        generator.writeStartArray();
+        generator.writeString(ROUTE_DIMENSION);
+        generator.writeEndArray();
+        generator.writeEndArray();
+
+        generator.writeArrayFieldStart("Metrics");
+        writeMetricDefinition(generator, LATENCY_METRIC, MILLISECONDS);
+        writeMetricDefinition(generator, COLD_START_METRIC, COUNT);
+        writeMetricDefinition(generator, REQUEST_BODY_SIZE_METRIC, BYTES);
+        writeMetricDefinition(generator, RESPONSE_BODY_SIZE_METRIC, BYTES);
+        for (final String statusMetric : STATUS_METRICS) {
+            writeMetricDefinition(generator, statusMetric, COUNT);
+        }
+        for (final ApiStage stage : ApiStage.values()) {
+            if (stageCounts[stage.ordinal()] > 0) {
+                writeMetricDefinition(generator, stage.getValue(), MILLISECONDS);
+            }
+        }
+        if (dynamoDbCalls > 0) {
+            writeMetricDefinition(generator, DYNAMODB_CALLS_METRIC, COUNT);
+            writeMetricDefinition(generator, DYNAMODB_RETRIES_METRIC, COUNT);
+            writeMetricDefinition(generator, DYNAMODB_THROTTLES_METRIC, COUNT);
+            writeMetricDefinition(generator, CONSUMED_READ_CAPACITY_METRIC, NONE);
+            writeMetricDefinition(generator, CONSUMED_WRITE_CAPACITY_METRIC, NONE);
+        }
+        generator.writeEndArray();
+
+        generator.writeEndObject();
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    private static void writeMetricDefinition(final JsonGenerator generator, final String name, final String unit) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("Name", name);
+        generator.writeStringField("Unit", unit);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Get API route.
+     *
+     * @return API route
+     */
+    public String getRoute() {
+        return route;
+    }
+
+    /**
+     * Whether the invocation is the first of its execution environment.
+     *
+     * @return true if the invocation is a cold start, otherwise false
+     */
+    public boolean isColdStart() {
+        return coldStart;
+    }
+
+    /**
+     * Get response status code, or 500 if no response was recorded.
+     *
+     * @return response status code
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Get number of times a request handling stage was recorded.
+     *
+     * @param stage request handling stage
+     * @return number of times the stage was recorded
+     */
+    public int getStageCount(final ApiStage stage) {
+        return stageCounts[stage.ordinal()];
+    }
+
+    /**
+     * Get number of DynamoDB calls.
+     *
+     * @return number of DynamoDB calls
+     */
+    public int getDynamoDbCalls() {
+        return dynamoDbCalls;
+    }
+
+    /**
+     * Get number of retried DynamoDB attempts.
+     *
+     * @return number of retried DynamoDB attempts
+     */
+    public int getDynamoDbRetries() {
+        return dynamoDbRetries;
+    }
+
+    /**
+     * Get number of DynamoDB calls that failed because they were throttled.
+     *
+     * @return number of throttled DynamoDB calls
+     */
+    public int getDynamoDbThrottles() {
+        return dynamoDbThrottles;
+    }
+
+    /**
+     * Get DynamoDB read capacity units consumed.
+     *
+     * @return consumed read capacity units
+     */
+    public double getConsumedReadCapacityUnits() {
+        return consumedReadCapacityUnits;
+    }
+
+    /**
+     * Get DynamoDB write capacity units consumed.
+     *
+     * @return consumed write capacity units
+     */
+    public double getConsumedWriteCapacityUnits() {
+        return consumedWriteCapacityUnits;
+    }
+}
@@ -0,0 +1,115 @@
+package com.consentframework.consentmanagement.api.usecases.requesthandlers;
+
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiMetrics;
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiStage;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * API request body, held as the string, characters or bytes it was received as, so that it can be read
+ * straight into request content without first being copied into a string.
+ */
+public final class ApiRequestBody {
+    private final String text;
+    private final char[] characters;
+    private final int offset;
+    private final int length;
+    private final byte[] bytes;
+
+    private ApiRequestBody(final String text, final char[] characters, final int offset, final int length, final byte[] bytes) {
+        this.text = text;
+        this.characters = characters;
+        this.offset = offset;
+        this.length = length;
+        this.bytes = bytes;
+    }
+
+    /**
+     * Wrap request body string.
+     *
+     * @param text request body, may be null
+     * @return request body
+     */
+    public static ApiRequestBody of(final String text) {
+        return new ApiRequestBody(text, null, 0, 0, null);
+    }
+
+    /**
+     * Wrap request body characters, without copying them.
+     *
+     * @param characters character array containing the request body
+     * @param offset offset of the request body in the array
+     * @param length length of the request body
+     * @return request body
+     */
+    public static ApiRequestBody of(final char[] characters, final int offset, final int length) {
+        return new ApiRequestBody(null, characters, offset, length, null);
+    }
+
+    /**
+     * Wrap request body bytes, eg. of a base64 decoded body, without copying them.
+     *
+     * @param bytes UTF-8 encoded request body
+     * @return request body
+     */
+    public static ApiRequestBody of(final byte[] bytes) {
+        return new ApiRequestBody(null, null, 0, 0, bytes);
+    }
+
+    /**
+     * Whether the request has no body.
+     *
+     * @return true if the request has no body, otherwise false
+     */
+    public boolean isEmpty() {
+        return text == null && characters == null && bytes == null;
+    }
+
+    /**
+     * Request body length, in characters if received as a string or characters, otherwise in bytes.
+     *
+     * @return request body length, or 0 if the request has no body
+     */
+    public int length() {
+        if (text != null) {
+            return text.length();
+        }
+        if (characters != null) {
+            return length;
+        }
+        return bytes == null ? 0 : bytes.length;
+    }
+
+    /**
+     * Read request body as request content, timed as the JSON read stage.
+     *
+     * @param <T> request content type
+     * @param contentReader reader bound to the request content type
+     * @return request content
+     * @throws JsonProcessingException exception thrown if body is not valid request content
+     * @throws IllegalArgumentException exception thrown if the request has no body
+     */
+    public <T> T readValue(final ObjectReader contentReader) throws JsonProcessingException {
+        final long startNanos = ApiMetrics.startTimer();
+        try {
+            if (text != null || isEmpty()) {
+                return contentReader.readValue(text);
+            }
+            try (JsonParser parser = characters != null
+                    ? contentReader.createParser(characters, offset, length)
+                    : contentReader.createParser(bytes)) {
+                return contentReader.readValue(parser);
+            } catch (final JsonProcessingException jsonProcessingException) {
+                throw jsonProcessingException;
+            } catch (final IOException ioException) {
+                throw new UncheckedIOException(ioException);
+            }
+        } finally {
+            ApiMetrics.recordStage(ApiStage.JSON_READ, startNanos);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.consentframework.consentmanagement.api.usecases.requesthandlers;
+
+import java.util.Map;
+
+/**
+ * Outcome of handling an API request, before it is rendered as a response: either success content
+ * still to be serialized, or an already built error response.
+ *
+ * @param <T> success content type
+ * @param content success content, null if request failed or succeeded without content
+ * @param errorResponse error response, null if request succeeded
+ */
+public record ApiRequestOutcome<T>(T content, Map<String, Object> errorResponse) {
+    /**
+     * Build outcome of a successful request.
+     *
+     * @param <T> success content type
+     * @param content success content
+     * @return success outcome
+     */
+    public static <T> ApiRequestOutcome<T> success(final T content) {
+        return new ApiRequestOutcome<T>(content, null);
+    }
+
+    /**
+     * Build outcome of a failed request.
+     *
+     * @param <T> success content type
+     * @param errorResponse error response
+     * @return failure outcome
+     */
+    public static <T> ApiRequestOutcome<T> failure(final Map<String, Object> errorResponse) {
+        return new ApiRequestOutcome<T>(null, errorResponse);
+    }
+
+    /**
+     * Whether the request succeeded.
+     *
+     * @return true if the request succeeded, otherwise false
+     */
+    public boolean isSuccess() {
+        return errorResponse == null;
+    }
+}
@@ -0,0 +1,76 @@
+package com.consentframework.consentmanagement.api.usecases.requesthandlers;
+
+import com.consentframework.consentmanagement.api.usecases.utils.CompletableFutureUtils;
+import com.consentframework.shared.api.domain.entities.ApiRequest;
+import com.consentframework.shared.api.domain.requesthandlers.ApiRequestHandler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * API request handler that composes on non-blocking activities, only waiting for the final response when
+ * called through the synchronous handleRequest method.
+ */
+public abstract class AsyncApiRequestHandler extends ApiRequestHandler {
+    /**
+     * Construct non-blocking API request handler.
+     *
+     * @param requiredPathParameters path parameters required by the API operation
+     */
+    protected AsyncApiRequestHandler(final List<String> requiredPathParameters) {
+        super(requiredPathParameters);
+    }
+
+    /**
+     * Handle API request without blocking on the data store.
+     *
+     * @param request API request
+     * @return future of API response, completed with an error response rather than exceptionally if the request fails
+     */
+    public abstract CompletableFuture<Map<String, Object>> handleRequestAsync(final ApiRequest request);
+
+    /**
+     * Handle API request, waiting for the response.
+     *
+     * @param request API request
+     * @return API response
+     */
+    @Override
+    public Map<String, Object> handleRequest(final ApiRequest request) {
+        return handleRequestAsync(request).join();
+    }
+
+    /**
+     * Serialize response content to a JSON string from within a dependent stage.
+     *
+     * @param responseContentWriter writer bound to the response content type
+     * @param responseContent response content
+     * @return JSON string
+     * @throws CompletionException exception wrapping JsonProcessingException if unable to serialize response content
+     */
+    protected String toJsonStringInStage(final ObjectWriter responseContentWriter, final Object responseContent) {
+        try {
+            return responseContentWriter.writeValueAsString(responseContent);
+        } catch (final JsonProcessingException jsonProcessingException) {
+            throw new CompletionException(jsonProcessingException);
+        }
+    }
+
+    /**
+     * Build error response for the exception a request future completed with.
+     *
+     * @param throwable exception received from the request future
+     * @return API error response
+     */
+    protected Map<String, Object> logAndBuildErrorResponseFromStage(final Throwable throwable) {
+        final Throwable cause = CompletableFutureUtils.unwrap(throwable);
+        if (cause instanceof Exception) {
+            return logAndBuildErrorResponse((Exception) cause);
+        }
+        throw CompletableFutureUtils.wrap(cause);
+    }
+}
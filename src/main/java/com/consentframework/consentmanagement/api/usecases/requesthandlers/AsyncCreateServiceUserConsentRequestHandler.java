@@ -0,0 +1,73 @@
+package com.consentframework.consentmanagement.api.usecases.requesthandlers;
+
+import com.consentframework.consentmanagement.api.domain.constants.ApiPathParameterName;
+import com.consentframework.consentmanagement.api.models.CreateServiceUserConsentRequestContent;
+import com.consentframework.consentmanagement.api.usecases.activities.AsyncCreateServiceUserConsentActivity;
+import com.consentframework.consentmanagement.api.usecases.utils.ConsentManagementApiCodecs;
+import com.consentframework.consentmanagement.api.usecases.utils.SuccessLogSampler;
+import com.consentframework.shared.api.domain.entities.ApiRequest;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.parsers.ApiPathParameterParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking CreateServiceUserConsent API request handler.
+ */
+public class AsyncCreateServiceUserConsentRequestHandler extends AsyncApiRequestHandler {
+    private static final Logger logger = LogManager.getLogger(AsyncCreateServiceUserConsentRequestHandler.class);
+    private static final SuccessLogSampler SUCCESS_LOG_SAMPLER = SuccessLogSampler.fromEnvironment();
+
+    private final AsyncCreateServiceUserConsentActivity createConsentActivity;
+
+    /**
+     * Construct non-blocking CreateServiceUserConsent API request handler.
+     *
+     * @param createConsentActivity non-blocking CreateServiceUserConsent API activity
+     */
+    public AsyncCreateServiceUserConsentRequestHandler(final AsyncCreateServiceUserConsentActivity createConsentActivity) {
+        super(ApiPathParameterName.CONSENTS_PATH_PARAMETERS);
+        this.createConsentActivity = createConsentActivity;
+    }
+
+    /**
+     * Handle CreateServiceUserConsent API requests.
+     *
+     * @param request API request
+     * @return future of API response
+     */
+    @Override
+    public CompletableFuture<Map<String, Object>> handleRequestAsync(final ApiRequest request) {
+        final String serviceId;
+        final String userId;
+        try {
+            serviceId = ApiPathParameterParser.parsePathParameter(request, ApiPathParameterName.SERVICE_ID.getValue());
+            userId = ApiPathParameterParser.parsePathParameter(request, ApiPathParameterName.USER_ID.getValue());
+        } catch (final BadRequestException badRequestException) {
+            return CompletableFuture.completedFuture(logAndBuildMissingPathParamResponse(badRequestException));
+        }
+
+        final CreateServiceUserConsentRequestContent requestContent;
+        try {
+            requestContent = ConsentManagementApiCodecs.CREATE_REQUEST_CONTENT_READER.readValue(request.body());
+        } catch (final JsonProcessingException jsonProcessingException) {
+            return CompletableFuture.completedFuture(logAndBuildJsonProcessingErrorResponse(jsonProcessingException));
+        }
+
+        logger.debug("Creating consent for serviceId: {}, userId: {}", serviceId, userId);
+        return createConsentActivity.handleRequest(serviceId, userId, requestContent)
+            .thenApply(responseContent -> {
+                final String responseContentString = toJsonStringInStage(
+                    ConsentManagementApiCodecs.CREATE_RESPONSE_CONTENT_WRITER, responseContent);
+                if (SUCCESS_LOG_SAMPLER.shouldLog()) {
+                    logger.info("Successfully created consent for serviceId: {}, userId: {}", serviceId, userId);
+                }
+                return buildApiSuccessResponse(responseContentString);
+            })
+            .exceptionally(this::logAndBuildErrorResponseFromStage);
+    }
+}
@@ -0,0 +1,66 @@
+package com.consentframework.consentmanagement.api.usecases.requesthandlers;
+
+import com.consentframework.consentmanagement.api.domain.constants.ApiPathParameterName;
+import com.consentframework.consentmanagement.api.usecases.activities.AsyncGetServiceUserConsentActivity;
+import com.consentframework.consentmanagement.api.usecases.utils.ConsentManagementApiCodecs;
+import com.consentframework.consentmanagement.api.usecases.utils.SuccessLogSampler;
+import com.consentframework.shared.api.domain.entities.ApiRequest;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.parsers.ApiPathParameterParser;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking GetServiceUserConsent API request handler.
+ */
+public class AsyncGetServiceUserConsentRequestHandler extends AsyncApiRequestHandler {
+    private static final Logger logger = LogManager.getLogger(AsyncGetServiceUserConsentRequestHandler.class);
+    private static final SuccessLogSampler SUCCESS_LOG_SAMPLER = SuccessLogSampler.fromEnvironment();
+
+    private final AsyncGetServiceUserConsentActivity getConsentActivity;
+
+    /**
+     * Construct non-blocking GetServiceUserConsent API request handler.
+     *
+     * @param getConsentActivity non-blocking GetServiceUserConsent API activity
+     */
+    public AsyncGetServiceUserConsentRequestHandler(final AsyncGetServiceUserConsentActivity getConsentActivity) {
+        super(ApiPathParameterName.CONSENT_PATH_PARAMETERS);
+        this.getConsentActivity = getConsentActivity;
+    }
+
+    /**
+     * Handle GetServiceUserConsent API requests.
+     *
+     * @param request API request
+     * @return future of API response
+     */
+    @Override
+    public CompletableFuture<Map<String, Object>> handleRequestAsync(final ApiRequest request) {
+        final String serviceId;
+        final String userId;
+        final String consentId;
+        try {
+            serviceId = ApiPathParameterParser.parsePathParameter(request, ApiPathParameterName.SERVICE_ID.getValue());
+            userId = ApiPathParameterParser.parsePathParameter(request, ApiPathParameterName.USER_ID.getValue());
+            consentId = ApiPathParameterParser.parsePathParameter(request, ApiPathParameterName.CONSENT_ID.getValue());
+        } catch (final BadRequestException badRequestException) {
+            return CompletableFuture.completedFuture(logAndBuildMissingPathParamResponse(badRequestException));
+        }
+
+        logger.debug("Retrieving consent for path: {}", request.path());
+        return getConsentActivity.handleRequest(serviceId, userId, consentId)
+            .thenApply(responseContent -> {
+                final String responseBodyString = toJsonStringInStage(
+                    ConsentManagementApiCodecs.GET_RESPONSE_CONTENT_WRITER, responseContent);
+                if (SUCCESS_LOG_SAMPLER.shouldLog()) {
+                    logger.info("Successfully retrieved consent for path: {}", request.path());
+                }
+                return buildApiSuccessResponse(responseBodyString);
+            })
+            .exceptionally(this::logAndBuildErrorResponseFromStage);
+    }
+}
@@ -0,0 +1,80 @@
+package com.consentframework.consentmanagement.api.usecases.requesthandlers;
+
+import com.consentframework.consentmanagement.api.domain.constants.ApiPathParameterName;
+import com.consentframework.consentmanagement.api.domain.constants.ApiQueryStringParameterName;
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentFilter;
+import com.consentframework.consentmanagement.api.usecases.activities.AsyncListServiceUserConsentsActivity;
+import com.consentframework.consentmanagement.api.usecases.utils.ConsentManagementApiCodecs;
+import com.consentframework.consentmanagement.api.usecases.utils.SuccessLogSampler;
+import com.consentframework.shared.api.domain.entities.ApiRequest;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.parsers.ApiPathParameterParser;
+import com.consentframework.shared.api.domain.parsers.ApiQueryStringParameterParser;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking ListServiceUserConsents API request handler.
+ */
+public class AsyncListServiceUserConsentsRequestHandler extends AsyncApiRequestHandler {
+    private static final Logger logger = LogManager.getLogger(AsyncListServiceUserConsentsRequestHandler.class);
+    private static final SuccessLogSampler SUCCESS_LOG_SAMPLER = SuccessLogSampler.fromEnvironment();
+
+    private final AsyncListServiceUserConsentsActivity listConsentsActivity;
+
+    /**
+     * Construct non-blocking ListServiceUserConsents API request handler.
+     *
+     * @param listConsentsActivity non-blocking ListServiceUserConsents API activity
+     */
+    public AsyncListServiceUserConsentsRequestHandler(final AsyncListServiceUserConsentsActivity listConsentsActivity) {
+        super(ApiPathParameterName.CONSENTS_PATH_PARAMETERS);
+        this.listConsentsActivity = listConsentsActivity;
+    }
+
+    /**
+     * Handle ListServiceUserConsents API requests.
+     *
+     * @param request API request
+     * @return future of API response
+     */
+    @Override
+    public CompletableFuture<Map<String, Object>> handleRequestAsync(final ApiRequest request) {
+        final String serviceId;
+        final String userId;
+        try {
+            serviceId = ApiPathParameterParser.parsePathParameter(request, ApiPathParameterName.SERVICE_ID.getValue());
+            userId = ApiPathParameterParser.parsePathParameter(request, ApiPathParameterName.USER_ID.getValue());
+        } catch (final BadRequestException badRequestException) {
+            return CompletableFuture.completedFuture(logAndBuildMissingPathParamResponse(badRequestException));
+        }
+
+        final Integer limit;
+        final String pageToken;
+        final ServiceUserConsentFilter filter;
+        try {
+            limit = ApiQueryStringParameterParser.parseIntQueryStringParameter(request, ApiQueryStringParameterName.LIMIT.getValue());
+            pageToken = ApiQueryStringParameterParser.parseStringQueryStringParameter(request,
+                ApiQueryStringParameterName.PAGE_TOKEN.getValue());
+            filter = ListServiceUserConsentsRequestHandler.parseFilter(request);
+        } catch (final BadRequestException badRequestException) {
+            return CompletableFuture.completedFuture(logAndBuildErrorResponse(badRequestException));
+        }
+
+        logger.debug("Retrieving consents for path: {}", request.path());
+        return listConsentsActivity.handleRequest(serviceId, userId, filter, limit, pageToken)
+            .thenApply(responseContent -> {
+                final String responseBodyString = toJsonStringInStage(
+                    ConsentManagementApiCodecs.LIST_RESPONSE_CONTENT_WRITER, responseContent);
+                if (SUCCESS_LOG_SAMPLER.shouldLog()) {
+                    logger.info("Successfully retrieved {} consents for path: {}, limit: {}, pageToken: {}",
+                        responseContent.getData().size(), request.path(), limit, pageToken);
+                }
+                return buildApiSuccessResponse(responseBodyString);
+            })
+            .exceptionally(this::logAndBuildErrorResponseFromStage);
+    }
+}
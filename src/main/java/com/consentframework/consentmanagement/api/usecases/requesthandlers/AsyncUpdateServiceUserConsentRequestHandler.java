@@ -0,0 +1,73 @@
+package com.consentframework.consentmanagement.api.usecases.requesthandlers;
+
+import com.consentframework.consentmanagement.api.domain.constants.ApiPathParameterName;
+import com.consentframework.consentmanagement.api.models.UpdateServiceUserConsentRequestContent;
+import com.consentframework.consentmanagement.api.usecases.activities.AsyncUpdateServiceUserConsentActivity;
+import com.consentframework.consentmanagement.api.usecases.utils.ConsentManagementApiCodecs;
+import com.consentframework.consentmanagement.api.usecases.utils.SuccessLogSampler;
+import com.consentframework.shared.api.domain.entities.ApiRequest;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.parsers.ApiPathParameterParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking UpdateServiceUserConsent API request handler.
+ */
+public class AsyncUpdateServiceUserConsentRequestHandler extends AsyncApiRequestHandler {
+    private static final Logger logger = LogManager.getLogger(AsyncUpdateServiceUserConsentRequestHandler.class);
+    private static final SuccessLogSampler SUCCESS_LOG_SAMPLER = SuccessLogSampler.fromEnvironment();
+
+    private final AsyncUpdateServiceUserConsentActivity activity;
+
+    /**
+     * Construct non-blocking UpdateServiceUserConsent API request handler.
+     *
+     * @param activity non-blocking update consent activity
+     */
+    public AsyncUpdateServiceUserConsentRequestHandler(final AsyncUpdateServiceUserConsentActivity activity) {
+        super(ApiPathParameterName.CONSENT_PATH_PARAMETERS);
+        this.activity = activity;
+    }
+
+    /**
+     * Handle UpdateServiceUserConsent API request.
+     *
+     * @param request API request
+     * @return future of API response
+     */
+    @Override
+    public CompletableFuture<Map<String, Object>> handleRequestAsync(final ApiRequest request) {
+        final String serviceId;
+        final String userId;
+        final String consentId;
+        try {
+            serviceId = ApiPathParameterParser.parsePathParameter(request, ApiPathParameterName.SERVICE_ID.getValue());
+            userId = ApiPathParameterParser.parsePathParameter(request, ApiPathParameterName.USER_ID.getValue());
+            consentId = ApiPathParameterParser.parsePathParameter(request, ApiPathParameterName.CONSENT_ID.getValue());
+        } catch (final BadRequestException badRequestException) {
+            return CompletableFuture.completedFuture(logAndBuildMissingPathParamResponse(badRequestException));
+        }
+
+        final UpdateServiceUserConsentRequestContent updatedContent;
+        try {
+            updatedContent = ConsentManagementApiCodecs.UPDATE_REQUEST_CONTENT_READER.readValue(request.body());
+        } catch (final JsonProcessingException jsonProcessingException) {
+            return CompletableFuture.completedFuture(logAndBuildJsonProcessingErrorResponse(jsonProcessingException));
+        }
+
+        logger.debug("Updating consent for path: {}", request.path());
+        return activity.handleRequest(serviceId, userId, consentId, updatedContent)
+            .thenApply(ignored -> {
+                if (SUCCESS_LOG_SAMPLER.shouldLog()) {
+                    logger.info("Successfully updated consent for path: {}", request.path());
+                }
+                return buildApiSuccessResponse(null);
+            })
+            .exceptionally(this::logAndBuildErrorResponseFromStage);
+    }
+}
@@ -0,0 +1,76 @@
+package com.consentframework.consentmanagement.api.usecases.requesthandlers;
+
+import com.consentframework.consentmanagement.api.domain.constants.ApiPathParameterName;
+import com.consentframework.consentmanagement.api.domain.entities.BatchCreateServiceUserConsentsRequestContent;
+import com.consentframework.consentmanagement.api.domain.entities.BatchCreateServiceUserConsentsResponseContent;
+import com.consentframework.consentmanagement.api.usecases.activities.BatchCreateServiceUserConsentsActivity;
+import com.consentframework.consentmanagement.api.usecases.utils.ConsentManagementApiCodecs;
+import com.consentframework.consentmanagement.api.usecases.utils.SuccessLogSampler;
+import com.consentframework.shared.api.domain.entities.ApiRequest;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.ConflictingResourceException;
+import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
+import com.consentframework.shared.api.domain.parsers.ApiPathParameterParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * BatchCreateServiceUserConsents API request handler.
+ */
+public class BatchCreateServiceUserConsentsRequestHandler extends StreamingApiRequestHandler {
+    private static final Logger logger = LogManager.getLogger(BatchCreateServiceUserConsentsRequestHandler.class);
+    private static final SuccessLogSampler SUCCESS_LOG_SAMPLER = SuccessLogSampler.fromEnvironment();
+
+    private BatchCreateServiceUserConsentsActivity batchCreateConsentsActivity;
+
+    /**
+     * Construct BatchCreateServiceUserConsents API request handler.
+     *
+     * @param batchCreateConsentsActivity BatchCreateServiceUserConsents API activity
+     */
+    public BatchCreateServiceUserConsentsRequestHandler(final BatchCreateServiceUserConsentsActivity batchCreateConsentsActivity) {
+        super(ApiPathParameterName.CONSENTS_PATH_PARAMETERS, ConsentManagementApiCodecs.BATCH_CREATE_RESPONSE_CONTENT_WRITER);
+        this.batchCreateConsentsActivity = batchCreateConsentsActivity;
+    }
+
+    /**
+     * Handle BatchCreateServiceUserConsents API requests.
+     *
+     * @param request API request
+     * @param body API request body
+     * @return request outcome
+     */
+    @Override
+    public ApiRequestOutcome<BatchCreateServiceUserConsentsResponseContent> handleRequest(final ApiRequest request,
+            final ApiRequestBody body) {
+        final String serviceId;
+        final String userId;
+        try {
+            serviceId = ApiPathParameterParser.parsePathParameter(request, ApiPathParameterName.SERVICE_ID.getValue());
+            userId = ApiPathParameterParser.parsePathParameter(request, ApiPathParameterName.USER_ID.getValue());
+        } catch (final BadRequestException badRequestException) {
+            return ApiRequestOutcome.failure(logAndBuildMissingPathParamResponse(badRequestException));
+        }
+
+        final BatchCreateServiceUserConsentsRequestContent requestContent;
+        try {
+            requestContent = body.readValue(ConsentManagementApiCodecs.BATCH_CREATE_REQUEST_CONTENT_READER);
+        } catch (final JsonProcessingException jsonProcessingException) {
+            return ApiRequestOutcome.failure(logAndBuildJsonProcessingErrorResponse(jsonProcessingException));
+        }
+
+        logger.debug("Batch creating consents for serviceId: {}, userId: {}", serviceId, userId);
+        final BatchCreateServiceUserConsentsResponseContent responseContent;
+        try {
+            responseContent = batchCreateConsentsActivity.handleRequest(serviceId, userId, requestContent);
+        } catch (final BadRequestException | ConflictingResourceException | InternalServiceException exception) {
+            return ApiRequestOutcome.failure(logAndBuildErrorResponse(exception));
+        }
+
+        if (SUCCESS_LOG_SAMPLER.shouldLog()) {
+            logger.info("Successfully batch created consents for serviceId: {}, userId: {}", serviceId, userId);
+        }
+        return ApiRequestOutcome.success(responseContent);
+    }
+}
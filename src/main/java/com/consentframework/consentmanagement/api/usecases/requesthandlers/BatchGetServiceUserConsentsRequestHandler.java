@@ -0,0 +1,75 @@
+package com.consentframework.consentmanagement.api.usecases.requesthandlers;
+
+import com.consentframework.consentmanagement.api.domain.constants.ApiPathParameterName;
+import com.consentframework.consentmanagement.api.domain.entities.BatchGetServiceUserConsentsRequestContent;
+import com.consentframework.consentmanagement.api.domain.entities.BatchGetServiceUserConsentsResponseContent;
+import com.consentframework.consentmanagement.api.usecases.activities.BatchGetServiceUserConsentsActivity;
+import com.consentframework.consentmanagement.api.usecases.utils.ConsentManagementApiCodecs;
+import com.consentframework.consentmanagement.api.usecases.utils.SuccessLogSampler;
+import com.consentframework.shared.api.domain.entities.ApiRequest;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
+import com.consentframework.shared.api.domain.parsers.ApiPathParameterParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * BatchGetServiceUserConsents API request handler.
+ */
+public class BatchGetServiceUserConsentsRequestHandler extends StreamingApiRequestHandler {
+    private static final Logger logger = LogManager.getLogger(BatchGetServiceUserConsentsRequestHandler.class);
+    private static final SuccessLogSampler SUCCESS_LOG_SAMPLER = SuccessLogSampler.fromEnvironment();
+
+    private BatchGetServiceUserConsentsActivity batchGetConsentsActivity;
+
+    /**
+     * Construct BatchGetServiceUserConsents API request handler.
+     *
+     * @param batchGetConsentsActivity BatchGetServiceUserConsents API activity
+     */
+    public BatchGetServiceUserConsentsRequestHandler(final BatchGetServiceUserConsentsActivity batchGetConsentsActivity) {
+        super(ApiPathParameterName.CONSENTS_PATH_PARAMETERS, ConsentManagementApiCodecs.BATCH_GET_RESPONSE_CONTENT_WRITER);
+        this.batchGetConsentsActivity = batchGetConsentsActivity;
+    }
+
+    /**
+     * Handle BatchGetServiceUserConsents API requests.
+     *
+     * @param request API request
+     * @param body API request body
+     * @return request outcome
+     */
+    @Override
+    public ApiRequestOutcome<BatchGetServiceUserConsentsResponseContent> handleRequest(final ApiRequest request,
+            final ApiRequestBody body) {
+        final String serviceId;
+        final String userId;
+        try {
+            serviceId = ApiPathParameterParser.parsePathParameter(request, ApiPathParameterName.SERVICE_ID.getValue());
+            userId = ApiPathParameterParser.parsePathParameter(request, ApiPathParameterName.USER_ID.getValue());
+        } catch (final BadRequestException badRequestException) {
+            return ApiRequestOutcome.failure(logAndBuildMissingPathParamResponse(badRequestException));
+        }
+
+        final BatchGetServiceUserConsentsRequestContent requestContent;
+        try {
+            requestContent = body.readValue(ConsentManagementApiCodecs.BATCH_GET_REQUEST_CONTENT_READER);
+        } catch (final JsonProcessingException jsonProcessingException) {
+            return ApiRequestOutcome.failure(logAndBuildJsonProcessingErrorResponse(jsonProcessingException));
+        }
+
+        logger.debug("Batch retrieving consents for path: {}", request.path());
+        final BatchGetServiceUserConsentsResponseContent responseContent;
+        try {
+            responseContent = batchGetConsentsActivity.handleRequest(serviceId, userId, requestContent);
+        } catch (final BadRequestException | InternalServiceException exception) {
+            return ApiRequestOutcome.failure(logAndBuildErrorResponse(exception));
+        }
+
+        if (SUCCESS_LOG_SAMPLER.shouldLog()) {
+            logger.info("Successfully batch retrieved consents for path: {}", request.path());
+        }
+        return ApiRequestOutcome.success(responseContent);
+    }
+}
@@ -1,31 +1,28 @@
 package com.consentframework.consentmanagement.api.usecases.requesthandlers;
 
-import com.consentframework.consentmanagement.api.JSON;
 import com.consentframework.consentmanagement.api.domain.constants.ApiPathParameterName;
 import com.consentframework.consentmanagement.api.models.CreateServiceUserConsentRequestContent;
 import com.consentframework.consentmanagement.api.models.CreateServiceUserConsentResponseContent;
 import com.consentframework.consentmanagement.api.usecases.activities.CreateServiceUserConsentActivity;
+import com.consentframework.consentmanagement.api.usecases.utils.ConsentManagementApiCodecs;
+import com.consentframework.consentmanagement.api.usecases.utils.SuccessLogSampler;
 import com.consentframework.shared.api.domain.entities.ApiRequest;
 import com.consentframework.shared.api.domain.exceptions.BadRequestException;
 import com.consentframework.shared.api.domain.exceptions.ConflictingResourceException;
 import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
 import com.consentframework.shared.api.domain.parsers.ApiPathParameterParser;
-import com.consentframework.shared.api.domain.requesthandlers.ApiRequestHandler;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.Map;
-
 /**
  * CreateServiceUserConsent API request handler.
  */
-public class CreateServiceUserConsentRequestHandler extends ApiRequestHandler {
+public class CreateServiceUserConsentRequestHandler extends StreamingApiRequestHandler {
     static final String INVALID_CONSENT_REQUEST_CONTENT_MESSAGE = "Unable to parse CreateServiceUserConsent request content";
 
     private static final Logger logger = LogManager.getLogger(CreateServiceUserConsentRequestHandler.class);
-    private static final ObjectMapper objectMapper = new JSON().getMapper();
+    private static final SuccessLogSampler SUCCESS_LOG_SAMPLER = SuccessLogSampler.fromEnvironment();
 
     private CreateServiceUserConsentActivity createConsentActivity;
 
@@ -35,7 +32,7 @@ public class CreateServiceUserConsentRequestHandler extends ApiRequestHandler {
      * @param createConsentActivity CreateServiceUserConsent API activity
      */
     public CreateServiceUserConsentRequestHandler(final CreateServiceUserConsentActivity createConsentActivity) {
-        super(ApiPathParameterName.CONSENTS_PATH_PARAMETERS);
+        super(ApiPathParameterName.CONSENTS_PATH_PARAMETERS, ConsentManagementApiCodecs.CREATE_RESPONSE_CONTENT_WRITER);
         this.createConsentActivity = createConsentActivity;
     }
 
@@ -43,35 +40,37 @@ public class CreateServiceUserConsentRequestHandler extends ApiRequestHandler {
      * Handle CreateServiceUserConsent API requests.
      *
      * @param request API request
-     * @return API response
+     * @param body API request body
+     * @return request outcome
      */
     @Override
-    public Map<String, Object> handleRequest(final ApiRequest request) {
+    public ApiRequestOutcome<CreateServiceUserConsentResponseContent> handleRequest(final ApiRequest request,
+            final ApiRequestBody body) {
         final String serviceId;
         final String userId;
         try {
             serviceId = ApiPathParameterParser.parsePathParameter(request, ApiPathParameterName.SERVICE_ID.getValue());
             userId = ApiPathParameterParser.parsePathParameter(request, ApiPathParameterName.USER_ID.getValue());
         } catch (final BadRequestException badRequestException) {
-            return logAndBuildMissingPathParamResponse(badRequestException);
+            return ApiRequestOutcome.failure(logAndBuildMissingPathParamResponse(badRequestException));
         }
 
-        final String responseContentString;
+        final CreateServiceUserConsentResponseContent responseContent;
         try {
-            final CreateServiceUserConsentRequestContent requestContent = new JSON().getMapper()
-                .readValue(request.body(), CreateServiceUserConsentRequestContent.class);
+            final CreateServiceUserConsentRequestContent requestContent =
+                body.readValue(ConsentManagementApiCodecs.CREATE_REQUEST_CONTENT_READER);
 
-            logger.info(String.format("Creating consent for serviceId: %s, userId: %s", serviceId, userId));
-            final CreateServiceUserConsentResponseContent responseContent = createConsentActivity.handleRequest(
-                serviceId, userId, requestContent);
-            responseContentString = toJsonString(objectMapper, responseContent);
+            logger.debug("Creating consent for serviceId: {}, userId: {}", serviceId, userId);
+            responseContent = createConsentActivity.handleRequest(serviceId, userId, requestContent);
         } catch (final JsonProcessingException jsonProcessingException) {
-            return logAndBuildJsonProcessingErrorResponse(jsonProcessingException);
+            return ApiRequestOutcome.failure(logAndBuildJsonProcessingErrorResponse(jsonProcessingException));
         } catch (final BadRequestException | ConflictingResourceException | InternalServiceException exception) {
-            return logAndBuildErrorResponse(exception);
+            return ApiRequestOutcome.failure(logAndBuildErrorResponse(exception));
         }
 
-        logger.info(String.format("Successfully created consent for serviceId: %s, userId: %s", serviceId, userId));
-        return buildApiSuccessResponse(responseContentString);
+        if (SUCCESS_LOG_SAMPLER.shouldLog()) {
+            logger.info("Successfully created consent for serviceId: {}, userId: {}", serviceId, userId);
+        }
+        return ApiRequestOutcome.success(responseContent);
     }
 }
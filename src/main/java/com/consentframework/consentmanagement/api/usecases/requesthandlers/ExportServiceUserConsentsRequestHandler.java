@@ -0,0 +1,141 @@
+package com.consentframework.consentmanagement.api.usecases.requesthandlers;
+
+import com.consentframework.consentmanagement.api.domain.constants.ApiPathParameterName;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.usecases.activities.ExportServiceUserConsentsActivity;
+import com.consentframework.consentmanagement.api.usecases.utils.ApiGatewayProxyResponseWriter;
+import com.consentframework.consentmanagement.api.usecases.utils.ConsentManagementApiCodecs;
+import com.consentframework.shared.api.domain.entities.ApiRequest;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
+import com.consentframework.shared.api.domain.parsers.ApiPathParameterParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * ExportServiceUserConsents API request handler, responds with all of a user's consents as newline delimited JSON.
+ *
+ * When writing to an output stream, consents are serialized as they are retrieved, so memory use is bounded
+ * by the repository's page size rather than the number of consents. The first page is retrieved before the
+ * response is written, so that a failure retrieving it still produces an error response; a failure retrieving
+ * a later page can no longer change the written status code, so fails the invocation instead.
+ */
+public class ExportServiceUserConsentsRequestHandler extends StreamingApiRequestHandler {
+    private static final Logger logger = LogManager.getLogger(ExportServiceUserConsentsRequestHandler.class);
+
+    static final String EXPORT_FAILURE_MESSAGE = "Unable to export consents for path: %s";
+
+    private ExportServiceUserConsentsActivity exportConsentsActivity;
+
+    /**
+     * Construct ExportServiceUserConsents API request handler.
+     *
+     * @param exportConsentsActivity ExportServiceUserConsents API activity
+     */
+    public ExportServiceUserConsentsRequestHandler(final ExportServiceUserConsentsActivity exportConsentsActivity) {
+        super(ApiPathParameterName.CONSENTS_PATH_PARAMETERS, ConsentManagementApiCodecs.CONSENT_WRITER);
+        this.exportConsentsActivity = exportConsentsActivity;
+    }
+
+    /**
+     * Handle ExportServiceUserConsents API requests.
+     *
+     * @param request API request
+     * @param body API request body, unused
+     * @return request outcome, with a stream of consents to close once consumed
+     */
+    @Override
+    public ApiRequestOutcome<Stream<Consent>> handleRequest(final ApiRequest request, final ApiRequestBody body) {
+        final String serviceId;
+        final String userId;
+        try {
+            serviceId = ApiPathParameterParser.parsePathParameter(request, ApiPathParameterName.SERVICE_ID.getValue());
+            userId = ApiPathParameterParser.parsePathParameter(request, ApiPathParameterName.USER_ID.getValue());
+        } catch (final BadRequestException badRequestException) {
+            return ApiRequestOutcome.failure(logAndBuildMissingPathParamResponse(badRequestException));
+        }
+
+        try {
+            logger.debug("Exporting consents for path: {}", request.path());
+            return ApiRequestOutcome.success(exportConsentsActivity.handleRequest(serviceId, userId));
+        } catch (final BadRequestException exception) {
+            return ApiRequestOutcome.failure(logAndBuildErrorResponse(exception));
+        } catch (final IllegalStateException exportException) {
+            return ApiRequestOutcome.failure(logAndBuildErrorResponse(toInternalServiceException(request, exportException)));
+        }
+    }
+
+    /**
+     * Handle ExportServiceUserConsents API request, building the full newline delimited JSON response body.
+     *
+     * @param request API request
+     * @return API response
+     */
+    @Override
+    public Map<String, Object> handleRequest(final ApiRequest request) {
+        final ApiRequestOutcome<Stream<Consent>> outcome = handleRequest(request,
+            ApiRequestBody.of(request == null ? null : request.body()));
+        if (!outcome.isSuccess()) {
+            return outcome.errorResponse();
+        }
+
+        final StringBuilder responseBody = new StringBuilder();
+        try (Stream<Consent> consents = outcome.content()) {
+            final Iterator<Consent> consentIterator = consents.iterator();
+            while (consentIterator.hasNext()) {
+                responseBody.append(ConsentManagementApiCodecs.CONSENT_WRITER.writeValueAsString(consentIterator.next()))
+                    .append(ApiGatewayProxyResponseWriter.NDJSON_LINE_SEPARATOR);
+            }
+        } catch (final IllegalStateException exportException) {
+            return logAndBuildErrorResponse(toInternalServiceException(request, exportException));
+        } catch (final JsonProcessingException jsonProcessingException) {
+            return logAndBuildErrorResponse(jsonProcessingException);
+        }
+        return buildApiSuccessResponse(responseBody.toString());
+    }
+
+    /**
+     * Handle ExportServiceUserConsents API request, writing consents to the output stream as they are retrieved.
+     *
+     * @param request API request
+     * @param body API request body, unused
+     * @param responseWriter API Gateway proxy response writer
+     * @param outputStream stream to write the API response to
+     * @throws IOException exception thrown if unable to write to the output stream
+     */
+    @Override
+    public void handleRequest(final ApiRequest request, final ApiRequestBody body, final ApiGatewayProxyResponseWriter responseWriter,
+            final OutputStream outputStream) throws IOException {
+        final ApiRequestOutcome<Stream<Consent>> outcome = handleRequest(request, body);
+        if (!outcome.isSuccess()) {
+            responseWriter.writeResponse(outcome.errorResponse(), outputStream);
+            return;
+        }
+
+        try (Stream<Consent> consents = outcome.content()) {
+            final Iterator<Consent> consentIterator = consents.iterator();
+            try {
+                consentIterator.hasNext();
+            } catch (final IllegalStateException exportException) {
+                responseWriter.writeResponse(logAndBuildErrorResponse(toInternalServiceException(request, exportException)), outputStream);
+                return;
+            }
+            responseWriter.writeNdjsonSuccessResponse(consentIterator, ConsentManagementApiCodecs.CONSENT_WRITER, outputStream);
+        }
+    }
+
+    private static InternalServiceException toInternalServiceException(final ApiRequest request,
+            final IllegalStateException exportException) {
+        if (exportException.getCause() instanceof InternalServiceException internalServiceException) {
+            return internalServiceException;
+        }
+        return new InternalServiceException(String.format(EXPORT_FAILURE_MESSAGE, request.path()), exportException);
+    }
+}
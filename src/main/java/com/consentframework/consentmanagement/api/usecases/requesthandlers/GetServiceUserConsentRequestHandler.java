@@ -1,28 +1,24 @@
 package com.consentframework.consentmanagement.api.usecases.requesthandlers;
 
-import com.consentframework.consentmanagement.api.JSON;
 import com.consentframework.consentmanagement.api.domain.constants.ApiPathParameterName;
 import com.consentframework.consentmanagement.api.models.GetServiceUserConsentResponseContent;
 import com.consentframework.consentmanagement.api.usecases.activities.GetServiceUserConsentActivity;
+import com.consentframework.consentmanagement.api.usecases.utils.ConsentManagementApiCodecs;
+import com.consentframework.consentmanagement.api.usecases.utils.SuccessLogSampler;
 import com.consentframework.shared.api.domain.entities.ApiRequest;
 import com.consentframework.shared.api.domain.exceptions.BadRequestException;
 import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
 import com.consentframework.shared.api.domain.exceptions.ResourceNotFoundException;
 import com.consentframework.shared.api.domain.parsers.ApiPathParameterParser;
-import com.consentframework.shared.api.domain.requesthandlers.ApiRequestHandler;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.Map;
-
 /**
  * GetServiceUserConsent API request handler.
  */
-public class GetServiceUserConsentRequestHandler extends ApiRequestHandler {
+public class GetServiceUserConsentRequestHandler extends StreamingApiRequestHandler {
     private static final Logger logger = LogManager.getLogger(GetServiceUserConsentRequestHandler.class);
-    private static final ObjectMapper objectMapper = new JSON().getMapper();
+    private static final SuccessLogSampler SUCCESS_LOG_SAMPLER = SuccessLogSampler.fromEnvironment();
 
     private GetServiceUserConsentActivity getConsentActivity;
 
@@ -32,7 +28,7 @@ public class GetServiceUserConsentRequestHandler extends ApiRequestHandler {
      * @param getConsentActivity GetServiceUserConsent API activity
      */
     public GetServiceUserConsentRequestHandler(final GetServiceUserConsentActivity getConsentActivity) {
-        super(ApiPathParameterName.CONSENT_PATH_PARAMETERS);
+        super(ApiPathParameterName.CONSENT_PATH_PARAMETERS, ConsentManagementApiCodecs.GET_RESPONSE_CONTENT_WRITER);
         this.getConsentActivity = getConsentActivity;
     }
 
@@ -40,10 +36,11 @@ public class GetServiceUserConsentRequestHandler extends ApiRequestHandler {
      * Handle GetServiceUserConsent API requests.
      *
      * @param request API request
-     * @return API response
+     * @param body API request body, unused
+     * @return request outcome
      */
     @Override
-    public Map<String, Object> handleRequest(final ApiRequest request) {
+    public ApiRequestOutcome<GetServiceUserConsentResponseContent> handleRequest(final ApiRequest request, final ApiRequestBody body) {
         final String serviceId;
         final String userId;
         final String consentId;
@@ -52,19 +49,20 @@ public class GetServiceUserConsentRequestHandler extends ApiRequestHandler {
             userId = ApiPathParameterParser.parsePathParameter(request, ApiPathParameterName.USER_ID.getValue());
             consentId = ApiPathParameterParser.parsePathParameter(request, ApiPathParameterName.CONSENT_ID.getValue());
         } catch (final BadRequestException badRequestException) {
-            return logAndBuildMissingPathParamResponse(badRequestException);
+            return ApiRequestOutcome.failure(logAndBuildMissingPathParamResponse(badRequestException));
         }
 
-        logger.info("Retrieving consent for path: " + request.path());
-        final String responseBodyString;
+        logger.debug("Retrieving consent for path: {}", request.path());
+        final GetServiceUserConsentResponseContent responseContent;
         try {
-            final GetServiceUserConsentResponseContent responseContent = getConsentActivity.handleRequest(serviceId, userId, consentId);
-            responseBodyString = toJsonString(objectMapper, responseContent);
-        } catch (final InternalServiceException | JsonProcessingException | ResourceNotFoundException exception) {
-            return logAndBuildErrorResponse(exception);
+            responseContent = getConsentActivity.handleRequest(serviceId, userId, consentId);
+        } catch (final InternalServiceException | ResourceNotFoundException exception) {
+            return ApiRequestOutcome.failure(logAndBuildErrorResponse(exception));
         }
 
-        logger.info("Successfully retrieved consent for path: " + request.path());
-        return buildApiSuccessResponse(responseBodyString);
+        if (SUCCESS_LOG_SAMPLER.shouldLog()) {
+            logger.info("Successfully retrieved consent for path: {}", request.path());
+        }
+        return ApiRequestOutcome.success(responseContent);
     }
 }
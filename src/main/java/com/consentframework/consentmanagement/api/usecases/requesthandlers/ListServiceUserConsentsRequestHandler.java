@@ -1,28 +1,29 @@
 package com.consentframework.consentmanagement.api.usecases.requesthandlers;
 
-import com.consentframework.consentmanagement.api.JSON;
 import com.consentframework.consentmanagement.api.domain.constants.ApiPathParameterName;
 import com.consentframework.consentmanagement.api.domain.constants.ApiQueryStringParameterName;
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentFilter;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
 import com.consentframework.consentmanagement.api.models.ListServiceUserConsentResponseContent;
 import com.consentframework.consentmanagement.api.usecases.activities.ListServiceUserConsentsActivity;
+import com.consentframework.consentmanagement.api.usecases.utils.ConsentManagementApiCodecs;
+import com.consentframework.consentmanagement.api.usecases.utils.SuccessLogSampler;
 import com.consentframework.shared.api.domain.entities.ApiRequest;
 import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
 import com.consentframework.shared.api.domain.parsers.ApiPathParameterParser;
 import com.consentframework.shared.api.domain.parsers.ApiQueryStringParameterParser;
-import com.consentframework.shared.api.domain.requesthandlers.ApiRequestHandler;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.Map;
-
 /**
  * ListServiceUserConsents API request handler.
  */
-public class ListServiceUserConsentsRequestHandler extends ApiRequestHandler {
+public class ListServiceUserConsentsRequestHandler extends StreamingApiRequestHandler {
     private static final Logger logger = LogManager.getLogger(ListServiceUserConsentsRequestHandler.class);
-    private static final ObjectMapper objectMapper = new JSON().getMapper();
+    private static final SuccessLogSampler SUCCESS_LOG_SAMPLER = SuccessLogSampler.fromEnvironment();
+
+    static final String INVALID_STATUS_MESSAGE = "Invalid status filter: %s";
 
     private ListServiceUserConsentsActivity listConsentsActivity;
 
@@ -32,7 +33,7 @@ public class ListServiceUserConsentsRequestHandler extends ApiRequestHandler {
      * @param listConsentsActivity ListServiceUserConsents API activity
      */
     public ListServiceUserConsentsRequestHandler(final ListServiceUserConsentsActivity listConsentsActivity) {
-        super(ApiPathParameterName.CONSENTS_PATH_PARAMETERS);
+        super(ApiPathParameterName.CONSENTS_PATH_PARAMETERS, ConsentManagementApiCodecs.LIST_RESPONSE_CONTENT_WRITER);
         this.listConsentsActivity = listConsentsActivity;
     }
 
@@ -40,38 +41,64 @@ public class ListServiceUserConsentsRequestHandler extends ApiRequestHandler {
      * Handle ListServiceUserConsents API requests.
      *
      * @param request API request
-     * @return API response
+     * @param body API request body, unused
+     * @return request outcome
      */
     @Override
-    public Map<String, Object> handleRequest(final ApiRequest request) {
+    public ApiRequestOutcome<ListServiceUserConsentResponseContent> handleRequest(final ApiRequest request, final ApiRequestBody body) {
         final String serviceId;
         final String userId;
         try {
             serviceId = ApiPathParameterParser.parsePathParameter(request, ApiPathParameterName.SERVICE_ID.getValue());
             userId = ApiPathParameterParser.parsePathParameter(request, ApiPathParameterName.USER_ID.getValue());
         } catch (final BadRequestException badRequestException) {
-            return logAndBuildMissingPathParamResponse(badRequestException);
+            return ApiRequestOutcome.failure(logAndBuildMissingPathParamResponse(badRequestException));
         }
 
         final Integer limit;
         final String pageToken;
+        final ServiceUserConsentFilter filter;
         final ListServiceUserConsentResponseContent responseContent;
-        final String responseBodyString;
         try {
             limit = ApiQueryStringParameterParser.parseIntQueryStringParameter(request, ApiQueryStringParameterName.LIMIT.getValue());
             pageToken = ApiQueryStringParameterParser.parseStringQueryStringParameter(request,
                 ApiQueryStringParameterName.PAGE_TOKEN.getValue());
+            filter = parseFilter(request);
 
-            logger.info("Retrieving consents for path: " + request.path());
+            logger.debug("Retrieving consents for path: {}", request.path());
             responseContent = listConsentsActivity.handleRequest(
-                serviceId, userId, limit, pageToken);
-            responseBodyString = toJsonString(objectMapper, responseContent);
-        } catch (final BadRequestException | JsonProcessingException exception) {
-            return logAndBuildErrorResponse(exception);
+                serviceId, userId, filter, limit, pageToken);
+        } catch (final BadRequestException | InternalServiceException exception) {
+            return ApiRequestOutcome.failure(logAndBuildErrorResponse(exception));
         }
 
-        logger.info(String.format("Successfully retrieved %d consents for path: %s, limit: %d, pageToken: %s",
-            responseContent.getData().size(), request.path(), limit, pageToken));
-        return buildApiSuccessResponse(responseBodyString);
+        if (SUCCESS_LOG_SAMPLER.shouldLog()) {
+            logger.info("Successfully retrieved {} consents for path: {}, limit: {}, pageToken: {}",
+                responseContent.getData().size(), request.path(), limit, pageToken);
+        }
+        return ApiRequestOutcome.success(responseContent);
+    }
+
+    /**
+     * Parse consent filter from the status and consentType query string parameters.
+     *
+     * @param request API request
+     * @return consent filter, empty if neither parameter is set
+     * @throws BadRequestException exception thrown if the status is not a consent status
+     */
+    static ServiceUserConsentFilter parseFilter(final ApiRequest request) throws BadRequestException {
+        final String status = ApiQueryStringParameterParser.parseStringQueryStringParameter(request,
+            ApiQueryStringParameterName.STATUS.getValue());
+        final String consentType = ApiQueryStringParameterParser.parseStringQueryStringParameter(request,
+            ApiQueryStringParameterName.CONSENT_TYPE.getValue());
+        if (status == null && consentType == null) {
+            return ServiceUserConsentFilter.NONE;
+        }
+
+        try {
+            return new ServiceUserConsentFilter(status == null ? null : ConsentStatus.fromValue(status), consentType);
+        } catch (final IllegalArgumentException invalidStatusException) {
+            throw new BadRequestException(String.format(INVALID_STATUS_MESSAGE, status));
+        }
     }
 }
@@ -0,0 +1,84 @@
+package com.consentframework.consentmanagement.api.usecases.requesthandlers;
+
+import com.consentframework.consentmanagement.api.domain.constants.ApiPathParameterName;
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentPatch;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.usecases.activities.PatchServiceUserConsentActivity;
+import com.consentframework.consentmanagement.api.usecases.utils.ConsentManagementApiCodecs;
+import com.consentframework.consentmanagement.api.usecases.utils.ServiceUserConsentPatchParser;
+import com.consentframework.consentmanagement.api.usecases.utils.SuccessLogSampler;
+import com.consentframework.shared.api.domain.entities.ApiRequest;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.ConflictingResourceException;
+import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
+import com.consentframework.shared.api.domain.exceptions.ResourceNotFoundException;
+import com.consentframework.shared.api.domain.parsers.ApiPathParameterParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * PatchServiceUserConsent API request handler, applying a JSON merge patch to an existing consent
+ * and returning the updated consent.
+ */
+public class PatchServiceUserConsentRequestHandler extends StreamingApiRequestHandler {
+    private static final Logger logger = LogManager.getLogger(PatchServiceUserConsentRequestHandler.class);
+    private static final SuccessLogSampler SUCCESS_LOG_SAMPLER = SuccessLogSampler.fromEnvironment();
+
+    private PatchServiceUserConsentActivity activity;
+
+    /**
+     * Construct PatchServiceUserConsent API request handler.
+     *
+     * @param activity patch consent activity
+     */
+    public PatchServiceUserConsentRequestHandler(final PatchServiceUserConsentActivity activity) {
+        super(ApiPathParameterName.CONSENT_PATH_PARAMETERS, ConsentManagementApiCodecs.CONSENT_WRITER);
+        this.activity = activity;
+    }
+
+    /**
+     * Handle PatchServiceUserConsent API request.
+     *
+     * @param request API request
+     * @param body API request body
+     * @return request outcome
+     */
+    @Override
+    public ApiRequestOutcome<Consent> handleRequest(final ApiRequest request, final ApiRequestBody body) {
+        final String serviceId;
+        final String userId;
+        final String consentId;
+        try {
+            serviceId = ApiPathParameterParser.parsePathParameter(request, ApiPathParameterName.SERVICE_ID.getValue());
+            userId = ApiPathParameterParser.parsePathParameter(request, ApiPathParameterName.USER_ID.getValue());
+            consentId = ApiPathParameterParser.parsePathParameter(request, ApiPathParameterName.CONSENT_ID.getValue());
+        } catch (final BadRequestException badRequestException) {
+            return ApiRequestOutcome.failure(logAndBuildMissingPathParamResponse(badRequestException));
+        }
+
+        final JsonNode patchContent;
+        try {
+            patchContent = body.isEmpty() ? null : body.readValue(ConsentManagementApiCodecs.JSON_NODE_READER);
+        } catch (final JsonProcessingException jsonProcessingException) {
+            return ApiRequestOutcome.failure(logAndBuildJsonProcessingErrorResponse(jsonProcessingException));
+        }
+
+        logger.debug("Patching consent for path: {}", request.path());
+        final Consent patchedConsent;
+        try {
+            final ServiceUserConsentPatch patch = ServiceUserConsentPatchParser.parse(ConsentManagementApiCodecs.OBJECT_MAPPER,
+                serviceId, userId, consentId, patchContent);
+            patchedConsent = activity.handleRequest(patch);
+        } catch (final BadRequestException | ConflictingResourceException | InternalServiceException
+                | ResourceNotFoundException exception) {
+            return ApiRequestOutcome.failure(logAndBuildErrorResponse(exception));
+        }
+
+        if (SUCCESS_LOG_SAMPLER.shouldLog()) {
+            logger.info("Successfully patched consent for path: {}", request.path());
+        }
+        return ApiRequestOutcome.success(patchedConsent);
+    }
+}
@@ -0,0 +1,109 @@
+package com.consentframework.consentmanagement.api.usecases.requesthandlers;
+
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiMetrics;
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiStage;
+import com.consentframework.consentmanagement.api.usecases.utils.ApiGatewayProxyResponseWriter;
+import com.consentframework.shared.api.domain.entities.ApiRequest;
+import com.consentframework.shared.api.domain.requesthandlers.ApiRequestHandler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * API request handler that produces an ApiRequestOutcome, so that the same request handling can either build
+ * a response map, or read the request body and write the response directly from and to the Lambda streams.
+ * Serializing success responses is timed as the JSON write stage.
+ */
+public abstract class StreamingApiRequestHandler extends ApiRequestHandler {
+    private final ObjectWriter responseContentWriter;
+
+    /**
+     * Construct streaming API request handler.
+     *
+     * @param requiredPathParameters path parameters required by the API operation
+     * @param responseContentWriter writer bound to the API operation's response content type
+     */
+    protected StreamingApiRequestHandler(final List<String> requiredPathParameters, final ObjectWriter responseContentWriter) {
+        super(requiredPathParameters);
+        this.responseContentWriter = responseContentWriter;
+    }
+
+    /**
+     * Handle API request, with its body read separately from the request.
+     *
+     * @param request API request, whose body is ignored
+     * @param body API request body
+     * @return request outcome, with success content still to be serialized
+     */
+    public abstract ApiRequestOutcome<?> handleRequest(final ApiRequest request, final ApiRequestBody body);
+
+    /**
+     * Handle API request.
+     *
+     * @param request API request
+     * @return API response
+     */
+    @Override
+    public Map<String, Object> handleRequest(final ApiRequest request) {
+        final ApiRequestOutcome<?> outcome = handleRequest(request, ApiRequestBody.of(request == null ? null : request.body()));
+        if (!outcome.isSuccess()) {
+            return outcome.errorResponse();
+        }
+
+        final String responseBodyString;
+        final long startNanos = ApiMetrics.startTimer();
+        try {
+            responseBodyString = outcome.content() == null ? null : responseContentWriter.writeValueAsString(outcome.content());
+        } catch (final JsonProcessingException jsonProcessingException) {
+            return logAndBuildErrorResponse(jsonProcessingException);
+        } finally {
+            ApiMetrics.recordStage(ApiStage.JSON_WRITE, startNanos);
+        }
+        return buildApiSuccessResponse(responseBodyString);
+    }
+
+    /**
+     * Handle API request, writing the API response directly to an output stream.
+     *
+     * @param request API request
+     * @param responseWriter API Gateway proxy response writer
+     * @param outputStream stream to write the API response to
+     * @throws IOException exception thrown if unable to write to the output stream
+     */
+    public void handleRequest(final ApiRequest request, final ApiGatewayProxyResponseWriter responseWriter,
+            final OutputStream outputStream) throws IOException {
+        handleRequest(request, ApiRequestBody.of(request == null ? null : request.body()), responseWriter, outputStream);
+    }
+
+    /**
+     * Handle API request, with its body read separately from the request, writing the API response directly
+     * to an output stream without building an intermediate response body string and response map.
+     *
+     * @param request API request, whose body is ignored
+     * @param body API request body
+     * @param responseWriter API Gateway proxy response writer
+     * @param outputStream stream to write the API response to
+     * @throws IOException exception thrown if unable to write to the output stream
+     */
+    public void handleRequest(final ApiRequest request, final ApiRequestBody body, final ApiGatewayProxyResponseWriter responseWriter,
+            final OutputStream outputStream) throws IOException {
+        final ApiRequestOutcome<?> outcome = handleRequest(request, body);
+        if (!outcome.isSuccess()) {
+            responseWriter.writeResponse(outcome.errorResponse(), outputStream);
+            return;
+        }
+
+        final long startNanos = ApiMetrics.startTimer();
+        try {
+            responseWriter.writeSuccessResponse(outcome.content(), responseContentWriter, outputStream);
+        } catch (final JsonProcessingException jsonProcessingException) {
+            responseWriter.writeResponse(logAndBuildErrorResponse(jsonProcessingException), outputStream);
+        } finally {
+            ApiMetrics.recordStage(ApiStage.JSON_WRITE, startNanos);
+        }
+    }
+}
@@ -1,27 +1,26 @@
 package com.consentframework.consentmanagement.api.usecases.requesthandlers;
 
-import com.consentframework.consentmanagement.api.JSON;
 import com.consentframework.consentmanagement.api.domain.constants.ApiPathParameterName;
 import com.consentframework.consentmanagement.api.models.UpdateServiceUserConsentRequestContent;
 import com.consentframework.consentmanagement.api.usecases.activities.UpdateServiceUserConsentActivity;
+import com.consentframework.consentmanagement.api.usecases.utils.ConsentManagementApiCodecs;
+import com.consentframework.consentmanagement.api.usecases.utils.SuccessLogSampler;
 import com.consentframework.shared.api.domain.entities.ApiRequest;
 import com.consentframework.shared.api.domain.exceptions.BadRequestException;
 import com.consentframework.shared.api.domain.exceptions.ConflictingResourceException;
 import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
 import com.consentframework.shared.api.domain.exceptions.ResourceNotFoundException;
 import com.consentframework.shared.api.domain.parsers.ApiPathParameterParser;
-import com.consentframework.shared.api.domain.requesthandlers.ApiRequestHandler;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.Map;
-
 /**
  * UpdateServiceUserConsent API request handler.
  */
-public class UpdateServiceUserConsentRequestHandler extends ApiRequestHandler {
+public class UpdateServiceUserConsentRequestHandler extends StreamingApiRequestHandler {
     private static final Logger logger = LogManager.getLogger(UpdateServiceUserConsentRequestHandler.class);
+    private static final SuccessLogSampler SUCCESS_LOG_SAMPLER = SuccessLogSampler.fromEnvironment();
 
     private UpdateServiceUserConsentActivity activity;
 
@@ -31,15 +30,19 @@ public class UpdateServiceUserConsentRequestHandler extends ApiRequestHandler {
      * @param activity update consent activity
      */
     public UpdateServiceUserConsentRequestHandler(final UpdateServiceUserConsentActivity activity) {
-        super(ApiPathParameterName.CONSENT_PATH_PARAMETERS);
+        super(ApiPathParameterName.CONSENT_PATH_PARAMETERS, ConsentManagementApiCodecs.OBJECT_WRITER);
         this.activity = activity;
     }
 
     /**
      * Handle UpdateServiceUserConsent API request.
+     *
+     * @param request API request
+     * @param body API request body
+     * @return request outcome, without success content
      */
     @Override
-    public Map<String, Object> handleRequest(final ApiRequest request) {
+    public ApiRequestOutcome<Void> handleRequest(final ApiRequest request, final ApiRequestBody body) {
         final String serviceId;
         final String userId;
         final String consentId;
@@ -48,22 +51,24 @@ public class UpdateServiceUserConsentRequestHandler extends ApiRequestHandler {
             userId = ApiPathParameterParser.parsePathParameter(request, ApiPathParameterName.USER_ID.getValue());
             consentId = ApiPathParameterParser.parsePathParameter(request, ApiPathParameterName.CONSENT_ID.getValue());
         } catch (final BadRequestException badRequestException) {
-            return logAndBuildMissingPathParamResponse(badRequestException);
+            return ApiRequestOutcome.failure(logAndBuildMissingPathParamResponse(badRequestException));
         }
 
         try {
-            final UpdateServiceUserConsentRequestContent updatedContent = new JSON().getMapper()
-                .readValue(request.body(), UpdateServiceUserConsentRequestContent.class);
-            logger.info("Updating consent for path: " + request.path());
+            final UpdateServiceUserConsentRequestContent updatedContent =
+                body.readValue(ConsentManagementApiCodecs.UPDATE_REQUEST_CONTENT_READER);
+            logger.debug("Updating consent for path: {}", request.path());
             activity.handleRequest(serviceId, userId, consentId, updatedContent);
         } catch (final JsonProcessingException jsonProcessingException) {
-            return logAndBuildJsonProcessingErrorResponse(jsonProcessingException);
+            return ApiRequestOutcome.failure(logAndBuildJsonProcessingErrorResponse(jsonProcessingException));
         } catch (final BadRequestException | ConflictingResourceException | InternalServiceException
                 | ResourceNotFoundException conflictException) {
-            return logAndBuildErrorResponse(conflictException);
+            return ApiRequestOutcome.failure(logAndBuildErrorResponse(conflictException));
         }
 
-        logger.info("Successfully updated consent for path: " + request.path());
-        return buildApiSuccessResponse(null);
+        if (SUCCESS_LOG_SAMPLER.shouldLog()) {
+            logger.info("Successfully updated consent for path: {}", request.path());
+        }
+        return ApiRequestOutcome.success(null);
     }
 }
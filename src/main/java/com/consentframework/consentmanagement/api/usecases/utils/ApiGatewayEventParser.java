@@ -0,0 +1,158 @@
+package com.consentframework.consentmanagement.api.usecases.utils;
+
+import com.consentframework.consentmanagement.api.usecases.requesthandlers.ApiRequestBody;
+import com.consentframework.shared.api.domain.entities.ApiRequest;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parses API Gateway proxy events from an input stream in a single streaming pass.
+ *
+ * Only the fields needed to route and handle requests are read, while headers, request context and other fields
+ * are skipped without being materialized. The body is kept as the characters of the JSON string it was sent as,
+ * to be read straight into request content, and is decoded to bytes instead if the event is base64 encoded.
+ */
+public final class ApiGatewayEventParser {
+    public static final String EVENT_NOT_OBJECT_MESSAGE = "API Gateway event must be a JSON object";
+    public static final String FIELD_NOT_OBJECT_MESSAGE = "API Gateway event field %s must be a JSON object";
+    public static final String INVALID_BASE64_BODY_MESSAGE = "API Gateway event body is not valid base64";
+
+    static final String HTTP_METHOD = "httpMethod";
+    static final String RESOURCE = "resource";
+    static final String PATH = "path";
+    static final String PATH_PARAMETERS = "pathParameters";
+    static final String QUERY_STRING_PARAMETERS = "queryStringParameters";
+    static final String IS_BASE64_ENCODED = "isBase64Encoded";
+    static final String BODY = "body";
+
+    private final JsonFactory jsonFactory;
+
+    /**
+     * Construct API Gateway event parser.
+     *
+     * @param jsonFactory JSON factory used to create parsers
+     */
+    public ApiGatewayEventParser(final JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * Parse API Gateway proxy event.
+     *
+     * @param inputStream stream to read the event from, left open
+     * @return parsed event, whose API request has no body
+     * @throws IOException exception thrown if the event is not a valid API Gateway proxy event, or unable to read the stream
+     */
+    public Event parse(final InputStream inputStream) throws IOException {
+        String httpMethod = null;
+        String resource = null;
+        String path = null;
+        Map<String, String> pathParameters = null;
+        Map<String, Object> queryStringParameters = null;
+        boolean isBase64Encoded = false;
+        char[] body = null;
+
+        try (JsonParser parser = jsonFactory.createParser(inputStream)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, EVENT_NOT_OBJECT_MESSAGE);
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String fieldName = parser.currentName();
+                final JsonToken valueToken = parser.nextToken();
+                switch (fieldName) {
+                    case HTTP_METHOD -> httpMethod = parser.getValueAsString();
+                    case RESOURCE -> resource = parser.getValueAsString();
+                    case PATH -> path = parser.getValueAsString();
+                    case PATH_PARAMETERS -> pathParameters = readObject(parser, fieldName, JsonParser::getValueAsString);
+                    case QUERY_STRING_PARAMETERS ->
+                        queryStringParameters = readObject(parser, fieldName, ApiGatewayEventParser::readScalar);
+                    case IS_BASE64_ENCODED -> isBase64Encoded = valueToken == JsonToken.VALUE_TRUE;
+                    case BODY -> body = valueToken == JsonToken.VALUE_STRING ? copyTextCharacters(parser) : null;
+                    default -> parser.skipChildren();
+                }
+            }
+
+            final ApiRequest request = new ApiRequest(httpMethod, resource, path, pathParameters, queryStringParameters, null,
+                isBase64Encoded, null);
+            return new Event(request, toRequestBody(parser, body, isBase64Encoded));
+        }
+    }
+
+    private static <V> Map<String, V> readObject(final JsonParser parser, final String fieldName, final ValueReader<V> valueReader)
+            throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, String.format(FIELD_NOT_OBJECT_MESSAGE, fieldName));
+        }
+        final Map<String, V> values = new HashMap<String, V>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String name = parser.currentName();
+            parser.nextToken();
+            values.put(name, valueReader.read(parser));
+            parser.skipChildren();
+        }
+        return values;
+    }
+
+    /**
+     * Read scalar value as the same type a Map of Objects would be deserialized with.
+     */
+    private static Object readScalar(final JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getNumberValue();
+            case VALUE_TRUE, VALUE_FALSE -> parser.getBooleanValue();
+            default -> parser.getValueAsString();
+        };
+    }
+
+    private static char[] copyTextCharacters(final JsonParser parser) throws IOException {
+        final int offset = parser.getTextOffset();
+        return Arrays.copyOfRange(parser.getTextCharacters(), offset, offset + parser.getTextLength());
+    }
+
+    private static ApiRequestBody toRequestBody(final JsonParser parser, final char[] body, final boolean isBase64Encoded)
+            throws JsonParseException {
+        if (body == null) {
+            return ApiRequestBody.of((String) null);
+        }
+        if (!isBase64Encoded) {
+            return ApiRequestBody.of(body, 0, body.length);
+        }
+        try {
+            return ApiRequestBody.of(Base64.getDecoder().decode(new String(body)));
+        } catch (final IllegalArgumentException invalidBase64Exception) {
+            throw new JsonParseException(parser, INVALID_BASE64_BODY_MESSAGE, invalidBase64Exception);
+        }
+    }
+
+    /**
+     * API Gateway proxy event, with the request body held separately from the API request.
+     *
+     * @param request API request, without a body
+     * @param body API request body
+     */
+    public record Event(ApiRequest request, ApiRequestBody body) {}
+
+    /**
+     * Reads the value at the parser's current token.
+     *
+     * @param <V> value type
+     */
+    @FunctionalInterface
+    private interface ValueReader<V> {
+        V read(JsonParser parser) throws IOException;
+    }
+}
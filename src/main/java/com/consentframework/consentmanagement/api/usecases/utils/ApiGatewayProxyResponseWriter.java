@@ -0,0 +1,207 @@
+package com.consentframework.consentmanagement.api.usecases.utils;
+
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiMetrics;
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiStage;
+import com.consentframework.shared.api.domain.constants.ApiResponseParameterName;
+import com.consentframework.shared.api.domain.constants.HttpStatusCode;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Writes API Gateway proxy responses directly to an output stream.
+ *
+ * Success response content is serialized into a reusable buffer, then written into the response envelope as
+ * an escaped JSON string with a single JsonGenerator, without building an intermediate body string or response map.
+ * Content is fully serialized before anything is written, so a serialization failure leaves the output stream untouched.
+ *
+ * NDJSON success responses are the exception: items are serialized one at a time as the body is written,
+ * so that only one item is held in memory, and a failure partway through leaves a partially written response.
+ *
+ * Written responses are recorded with ApiMetrics.
+ *
+ * Instances are not thread-safe, since they reuse the body buffer between responses.
+ */
+public final class ApiGatewayProxyResponseWriter {
+    static final int INITIAL_BODY_BUFFER_SIZE = 8 * 1024;
+    static final int MAX_RETAINED_BODY_BUFFER_SIZE = 1024 * 1024;
+
+    private static final String STATUS_CODE = ApiResponseParameterName.STATUS_CODE.getValue();
+    private static final String BODY = ApiResponseParameterName.BODY.getValue();
+    static final String HEADERS = "headers";
+    static final String CONTENT_TYPE_HEADER = "Content-Type";
+    static final String NDJSON_CONTENT_TYPE = "application/x-ndjson";
+    static final String NDJSON_LINE_SEPARATOR = "\n";
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter responseWriter;
+    private final BodyBuffer bodyBuffer = new BodyBuffer();
+
+    /**
+     * Construct response writer.
+     *
+     * @param objectMapper JSON object mapper used to serialize response content
+     */
+    public ApiGatewayProxyResponseWriter(final ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.responseWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Write success response, with the content serialized as the JSON string body.
+     *
+     * @param content response content, or null for responses without a body
+     * @param outputStream stream to write the response to, left open
+     * @throws IOException exception thrown if unable to serialize content or write to the stream
+     */
+    public void writeSuccessResponse(final Object content, final OutputStream outputStream) throws IOException {
+        writeSuccessResponse(content, responseWriter, outputStream);
+    }
+
+    /**
+     * Write success response, with the content serialized as the JSON string body by a writer bound to its type.
+     *
+     * @param content response content, or null for responses without a body
+     * @param contentWriter writer used to serialize the response content
+     * @param outputStream stream to write the response to, left open
+     * @throws IOException exception thrown if unable to serialize content or write to the stream
+     */
+    public void writeSuccessResponse(final Object content, final ObjectWriter contentWriter, final OutputStream outputStream)
+            throws IOException {
+        bodyBuffer.reset();
+        try {
+            if (content != null) {
+                contentWriter.writeValue(bodyBuffer, content);
+            }
+
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.writeStartObject();
+                generator.writeNumberField(STATUS_CODE, HttpStatusCode.SUCCESS.getValue());
+                generator.writeFieldName(BODY);
+                if (content == null) {
+                    generator.writeNull();
+                } else {
+                    generator.writeUTF8String(bodyBuffer.buffer(), 0, bodyBuffer.size());
+                }
+                generator.writeEndObject();
+            }
+            ApiMetrics.recordResponse(HttpStatusCode.SUCCESS.getValue(), content == null ? 0 : bodyBuffer.size());
+        } finally {
+            bodyBuffer.release(MAX_RETAINED_BODY_BUFFER_SIZE);
+        }
+    }
+
+    /**
+     * Write success response, with the items serialized as newline delimited JSON into the string body, one item
+     * at a time as they are iterated over.
+     *
+     * @param items response items, retrieved lazily as the body is written
+     * @param itemWriter writer used to serialize each item
+     * @param outputStream stream to write the response to, left open
+     * @throws IOException exception thrown if unable to serialize an item or write to the stream
+     */
+    public void writeNdjsonSuccessResponse(final Iterator<?> items, final ObjectWriter itemWriter, final OutputStream outputStream)
+            throws IOException {
+        final NdjsonBodyReader bodyReader = new NdjsonBodyReader(items, itemWriter);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeNumberField(STATUS_CODE, HttpStatusCode.SUCCESS.getValue());
+            generator.writeObjectFieldStart(HEADERS);
+            generator.writeStringField(CONTENT_TYPE_HEADER, NDJSON_CONTENT_TYPE);
+            generator.writeEndObject();
+            generator.writeFieldName(BODY);
+            generator.writeString(bodyReader, -1);
+            generator.writeEndObject();
+        }
+        ApiMetrics.recordResponse(HttpStatusCode.SUCCESS.getValue(), bodyReader.length());
+    }
+
+    /**
+     * Write an already built response, eg. an error response.
+     *
+     * @param response API response
+     * @param outputStream stream to write the response to, left open
+     * @throws IOException exception thrown if unable to write to the stream
+     */
+    public void writeResponse(final Map<String, Object> response, final OutputStream outputStream) throws IOException {
+        responseWriter.writeValue(outputStream, response);
+        ApiMetrics.recordResponse(response);
+    }
+
+    /**
+     * Reader over the newline delimited JSON serialization of items, serializing each item once the previous
+     * one has been read, timed as the JSON write stage.
+     */
+    private static final class NdjsonBodyReader extends Reader {
+        private final Iterator<?> items;
+        private final ObjectWriter itemWriter;
+        private String line = "";
+        private int position;
+        private long length;
+
+        NdjsonBodyReader(final Iterator<?> items, final ObjectWriter itemWriter) {
+            this.items = items;
+            this.itemWriter = itemWriter;
+        }
+
+        @Override
+        public int read(final char[] buffer, final int offset, final int maxLength) throws IOException {
+            while (position == line.length()) {
+                if (!items.hasNext()) {
+                    return -1;
+                }
+                final Object item = items.next();
+                final long startNanos = ApiMetrics.startTimer();
+                try {
+                    line = itemWriter.writeValueAsString(item) + NDJSON_LINE_SEPARATOR;
+                } finally {
+                    ApiMetrics.recordStage(ApiStage.JSON_WRITE, startNanos);
+                }
+                position = 0;
+                length += line.length();
+            }
+
+            final int readLength = Math.min(maxLength, line.length() - position);
+            line.getChars(position, position + readLength, buffer, offset);
+            position += readLength;
+            return readLength;
+        }
+
+        long length() {
+            return length;
+        }
+
+        @Override
+        public void close() { }
+    }
+
+    /**
+     * ByteArrayOutputStream exposing its buffer, so that its contents can be written without copying.
+     */
+    private static final class BodyBuffer extends ByteArrayOutputStream {
+        BodyBuffer() {
+            super(INITIAL_BODY_BUFFER_SIZE);
+        }
+
+        byte[] buffer() {
+            return buf;
+        }
+
+        void release(final int maxRetainedSize) {
+            reset();
+            if (buf.length > maxRetainedSize) {
+                buf = new byte[INITIAL_BODY_BUFFER_SIZE];
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.consentframework.consentmanagement.api.usecases.utils;
+
+import com.consentframework.shared.api.domain.entities.ApiRequest;
+
+/**
+ * Formats API requests for logging.
+ *
+ * Unlike ApiRequest.toString(), request headers are left out and the request body is redacted down to its length,
+ * since bodies hold consent data and can be large, so log lines stay small and free of consent data.
+ */
+public final class ApiRequestLogFormatter {
+    static final String REDACTED_BODY_FORMAT = "<redacted, %d characters>";
+
+    private ApiRequestLogFormatter() {}
+
+    /**
+     * Format API request for logging.
+     *
+     * @param request API request
+     * @return API request log string
+     */
+    public static String format(final ApiRequest request) {
+        if (request == null) {
+            return "null";
+        }
+        return new StringBuilder(128)
+            .append("ApiRequest[httpMethod=").append(request.httpMethod())
+            .append(", resource=").append(request.resource())
+            .append(", path=").append(request.path())
+            .append(", pathParameters=").append(request.pathParameters())
+            .append(", queryStringParameters=").append(request.queryStringParameters())
+            .append(", body=").append(request.body() == null ? null : String.format(REDACTED_BODY_FORMAT, request.body().length()))
+            .append(']')
+            .toString();
+    }
+}
@@ -0,0 +1,37 @@
+package com.consentframework.consentmanagement.api.usecases.utils;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Utility methods for composing CompletableFutures.
+ */
+public final class CompletableFutureUtils {
+    private CompletableFutureUtils() {}
+
+    /**
+     * Return the exception a future was completed with, unwrapping the CompletionException or ExecutionException
+     * wrappers added when the exception passes through dependent stages.
+     *
+     * @param throwable exception received from a completed future
+     * @return underlying exception
+     */
+    public static Throwable unwrap(final Throwable throwable) {
+        Throwable cause = throwable;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    /**
+     * Wrap an exception so that it can be thrown from within a dependent stage, without adding nested wrappers.
+     *
+     * @param throwable exception to complete a future with
+     * @return CompletionException wrapping the underlying exception
+     */
+    public static CompletionException wrap(final Throwable throwable) {
+        final Throwable cause = unwrap(throwable);
+        return new CompletionException(cause);
+    }
+}
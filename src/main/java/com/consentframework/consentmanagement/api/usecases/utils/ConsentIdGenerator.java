@@ -0,0 +1,47 @@
+package com.consentframework.consentmanagement.api.usecases.utils;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Generates random consent IDs.
+ *
+ * Unlike UUID.randomUUID(), whose random generator is fixed for the lifetime of the JVM, the random generator
+ * can be replaced with {@link #reseed()}, so that JVMs restored from the same snapshot do not generate the same IDs.
+ */
+public final class ConsentIdGenerator {
+    private static volatile SecureRandom random = new SecureRandom();
+
+    private ConsentIdGenerator() {}
+
+    /**
+     * Generate a random (version 4) UUID string to use as a consent ID.
+     *
+     * @return random consent ID
+     */
+    public static String nextConsentId() {
+        final byte[] randomBytes = new byte[16];
+        random.nextBytes(randomBytes);
+
+        // Set version 4 and IETF variant bits, matching UUID.randomUUID()
+        randomBytes[6] = (byte) ((randomBytes[6] & 0x0f) | 0x40);
+        randomBytes[8] = (byte) ((randomBytes[8] & 0x3f) | 0x80);
+
+        long mostSignificantBits = 0;
+        long leastSignificantBits = 0;
+        for (int i = 0; i < 8; i++) {
+            mostSignificantBits = (mostSignificantBits << 8) | (randomBytes[i] & 0xff);
+        }
+        for (int i = 8; i < 16; i++) {
+            leastSignificantBits = (leastSignificantBits << 8) | (randomBytes[i] & 0xff);
+        }
+        return new UUID(mostSignificantBits, leastSignificantBits).toString();
+    }
+
+    /**
+     * Replace the random generator with a newly seeded instance, eg. after restoring from a JVM snapshot.
+     */
+    public static void reseed() {
+        random = new SecureRandom();
+    }
+}
@@ -0,0 +1,52 @@
+package com.consentframework.consentmanagement.api.usecases.utils;
+
+import com.consentframework.consentmanagement.api.JSON;
+import com.consentframework.consentmanagement.api.domain.entities.BatchCreateServiceUserConsentsRequestContent;
+import com.consentframework.consentmanagement.api.domain.entities.BatchCreateServiceUserConsentsResponseContent;
+import com.consentframework.consentmanagement.api.domain.entities.BatchGetServiceUserConsentsRequestContent;
+import com.consentframework.consentmanagement.api.domain.entities.BatchGetServiceUserConsentsResponseContent;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.CreateServiceUserConsentRequestContent;
+import com.consentframework.consentmanagement.api.models.CreateServiceUserConsentResponseContent;
+import com.consentframework.consentmanagement.api.models.GetServiceUserConsentResponseContent;
+import com.consentframework.consentmanagement.api.models.ListServiceUserConsentResponseContent;
+import com.consentframework.consentmanagement.api.models.UpdateServiceUserConsentRequestContent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/**
+ * Shared JSON codecs for the consent API models, created once per JVM.
+ *
+ * The object mapper keeps the model package's configuration and adds the Blackbird module, which replaces
+ * reflective property access with generated lambdas. Readers and writers are pre-bound to each model type,
+ * so that requests neither look up nor construct serializers and deserializers. All codecs are immutable
+ * and thread-safe.
+ */
+public final class ConsentManagementApiCodecs {
+    public static final ObjectMapper OBJECT_MAPPER = new JSON().getMapper().registerModule(new BlackbirdModule());
+
+    public static final ObjectReader JSON_NODE_READER = OBJECT_MAPPER.readerFor(JsonNode.class);
+    public static final ObjectReader CREATE_REQUEST_CONTENT_READER = OBJECT_MAPPER.readerFor(CreateServiceUserConsentRequestContent.class);
+    public static final ObjectReader UPDATE_REQUEST_CONTENT_READER = OBJECT_MAPPER.readerFor(UpdateServiceUserConsentRequestContent.class);
+    public static final ObjectReader BATCH_CREATE_REQUEST_CONTENT_READER =
+        OBJECT_MAPPER.readerFor(BatchCreateServiceUserConsentsRequestContent.class);
+    public static final ObjectReader BATCH_GET_REQUEST_CONTENT_READER =
+        OBJECT_MAPPER.readerFor(BatchGetServiceUserConsentsRequestContent.class);
+    public static final ObjectReader CONSENT_READER = OBJECT_MAPPER.readerFor(Consent.class);
+
+    public static final ObjectWriter OBJECT_WRITER = OBJECT_MAPPER.writer();
+    public static final ObjectWriter CREATE_RESPONSE_CONTENT_WRITER =
+        OBJECT_MAPPER.writerFor(CreateServiceUserConsentResponseContent.class);
+    public static final ObjectWriter GET_RESPONSE_CONTENT_WRITER = OBJECT_MAPPER.writerFor(GetServiceUserConsentResponseContent.class);
+    public static final ObjectWriter LIST_RESPONSE_CONTENT_WRITER = OBJECT_MAPPER.writerFor(ListServiceUserConsentResponseContent.class);
+    public static final ObjectWriter BATCH_CREATE_RESPONSE_CONTENT_WRITER =
+        OBJECT_MAPPER.writerFor(BatchCreateServiceUserConsentsResponseContent.class);
+    public static final ObjectWriter BATCH_GET_RESPONSE_CONTENT_WRITER =
+        OBJECT_MAPPER.writerFor(BatchGetServiceUserConsentsResponseContent.class);
+    public static final ObjectWriter CONSENT_WRITER = OBJECT_MAPPER.writerFor(Consent.class);
+
+    private ConsentManagementApiCodecs() {}
+}
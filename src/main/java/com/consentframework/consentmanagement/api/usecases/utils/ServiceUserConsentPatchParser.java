@@ -0,0 +1,106 @@
+package com.consentframework.consentmanagement.api.usecases.utils;
+
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentPatch;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.time.OffsetDateTime;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Parses JSON merge patch request content into ServiceUserConsentPatch objects.
+ *
+ * Request content is parsed from a JSON tree rather than a model class, since merge patch semantics
+ * depend on distinguishing fields that are absent (unchanged) from fields that are null (removed).
+ */
+public final class ServiceUserConsentPatchParser {
+    public static final String CONTENT_NOT_OBJECT_MESSAGE = "Consent patch must be a JSON object";
+    public static final String UNSUPPORTED_FIELD_MESSAGE = "Unsupported consent patch field: %s";
+    public static final String INVALID_FIELD_MESSAGE = "Invalid consent patch field value for %s";
+
+    static final String CONSENT_VERSION = "consentVersion";
+    static final String STATUS = "status";
+    static final String CONSENT_TYPE = "consentType";
+    static final String CONSENT_DATA = "consentData";
+    static final String EXPIRY_TIME = "expiryTime";
+    private static final Set<String> SUPPORTED_FIELDS = Set.of(CONSENT_VERSION, STATUS, CONSENT_TYPE, CONSENT_DATA, EXPIRY_TIME);
+
+    private static final TypeReference<Map<String, String>> CONSENT_DATA_TYPE = new TypeReference<Map<String, String>>() {};
+
+    private ServiceUserConsentPatchParser() {}
+
+    /**
+     * Parse merge patch request content for a consent.
+     *
+     * @param objectMapper JSON object mapper
+     * @param serviceId service identifier
+     * @param userId user identifier
+     * @param consentId consent ID, specific to the service-user pair
+     * @param content merge patch request content
+     * @return consent patch
+     * @throws BadRequestException exception thrown if content is not a merge patch of supported consent fields
+     */
+    public static ServiceUserConsentPatch parse(final ObjectMapper objectMapper, final String serviceId, final String userId,
+            final String consentId, final JsonNode content) throws BadRequestException {
+        if (content == null || !content.isObject()) {
+            throw new BadRequestException(CONTENT_NOT_OBJECT_MESSAGE);
+        }
+        final Iterator<String> fieldNames = content.fieldNames();
+        while (fieldNames.hasNext()) {
+            final String fieldName = fieldNames.next();
+            if (!SUPPORTED_FIELDS.contains(fieldName)) {
+                throw new BadRequestException(String.format(UNSUPPORTED_FIELD_MESSAGE, fieldName));
+            }
+        }
+
+        final JsonNode consentVersionNode = content.get(CONSENT_VERSION);
+        if (consentVersionNode != null && !consentVersionNode.isNull() && !consentVersionNode.canConvertToInt()) {
+            throw new BadRequestException(String.format(INVALID_FIELD_MESSAGE, CONSENT_VERSION));
+        }
+        final Integer consentVersion = consentVersionNode == null || consentVersionNode.isNull() ? null : consentVersionNode.intValue();
+
+        return new ServiceUserConsentPatch(
+            serviceId,
+            userId,
+            consentId,
+            consentVersion,
+            parseField(objectMapper, content, STATUS, ConsentStatus.class),
+            parseField(objectMapper, content, CONSENT_TYPE, String.class),
+            parseField(objectMapper, content, CONSENT_DATA, CONSENT_DATA_TYPE),
+            parseField(objectMapper, content, EXPIRY_TIME, OffsetDateTime.class)
+        );
+    }
+
+    private static <T> Optional<T> parseField(final ObjectMapper objectMapper, final JsonNode content, final String fieldName,
+            final Class<T> fieldType) throws BadRequestException {
+        return parseField(objectMapper, content, fieldName, objectMapper.getTypeFactory().constructType(fieldType));
+    }
+
+    private static <T> Optional<T> parseField(final ObjectMapper objectMapper, final JsonNode content, final String fieldName,
+            final TypeReference<T> fieldType) throws BadRequestException {
+        return parseField(objectMapper, content, fieldName, objectMapper.getTypeFactory().constructType(fieldType));
+    }
+
+    private static <T> Optional<T> parseField(final ObjectMapper objectMapper, final JsonNode content, final String fieldName,
+            final JavaType fieldType) throws BadRequestException {
+        final JsonNode fieldNode = content.get(fieldName);
+        if (fieldNode == null) {
+            return null;
+        }
+        if (fieldNode.isNull()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.convertValue(fieldNode, fieldType));
+        } catch (final IllegalArgumentException invalidValueException) {
+            throw new BadRequestException(String.format(INVALID_FIELD_MESSAGE, fieldName));
+        }
+    }
+}
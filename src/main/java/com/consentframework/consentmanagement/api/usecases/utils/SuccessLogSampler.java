@@ -0,0 +1,74 @@
+package com.consentframework.consentmanagement.api.usecases.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Samples success logs, so that a route logs only every nth successful request.
+ *
+ * The sample interval is read from the SUCCESS_LOG_SAMPLE_INTERVAL environment variable, and defaults to logging
+ * every successful request. Only success logs are sampled, warnings and errors are always logged.
+ */
+public final class SuccessLogSampler {
+    public static final String SAMPLE_INTERVAL_ENVIRONMENT_VARIABLE = "SUCCESS_LOG_SAMPLE_INTERVAL";
+    public static final int DEFAULT_SAMPLE_INTERVAL = 1;
+
+    private final int sampleInterval;
+    private final AtomicLong successCount = new AtomicLong();
+
+    /**
+     * Construct success log sampler.
+     *
+     * @param sampleInterval number of successful requests per logged request, at least 1
+     */
+    public SuccessLogSampler(final int sampleInterval) {
+        if (sampleInterval < 1) {
+            throw new IllegalArgumentException("Success log sample interval must be at least 1, but was " + sampleInterval);
+        }
+        this.sampleInterval = sampleInterval;
+    }
+
+    /**
+     * Construct success log sampler with the sample interval configured for the function.
+     *
+     * @return success log sampler
+     */
+    public static SuccessLogSampler fromEnvironment() {
+        return new SuccessLogSampler(parseSampleInterval(System.getenv(SAMPLE_INTERVAL_ENVIRONMENT_VARIABLE)));
+    }
+
+    /**
+     * Parse configured sample interval, falling back to the default if it is missing or invalid.
+     *
+     * @param sampleInterval configured sample interval
+     * @return sample interval
+     */
+    static int parseSampleInterval(final String sampleInterval) {
+        if (sampleInterval == null) {
+            return DEFAULT_SAMPLE_INTERVAL;
+        }
+        try {
+            final int parsedSampleInterval = Integer.parseInt(sampleInterval.trim());
+            return parsedSampleInterval < 1 ? DEFAULT_SAMPLE_INTERVAL : parsedSampleInterval;
+        } catch (final NumberFormatException numberFormatException) {
+            return DEFAULT_SAMPLE_INTERVAL;
+        }
+    }
+
+    /**
+     * Record a successful request, and return whether it should be logged.
+     *
+     * @return true if the successful request should be logged, otherwise false
+     */
+    public boolean shouldLog() {
+        return sampleInterval == 1 || successCount.getAndIncrement() % sampleInterval == 0;
+    }
+
+    /**
+     * Get sample interval.
+     *
+     * @return number of successful requests per logged request
+     */
+    public int getSampleInterval() {
+        return sampleInterval;
+    }
+}
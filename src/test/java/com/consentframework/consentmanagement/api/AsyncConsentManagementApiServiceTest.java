@@ -0,0 +1,229 @@
+package com.consentframework.consentmanagement.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.consentframework.consentmanagement.api.domain.constants.ApiHttpResource;
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentPatch;
+import com.consentframework.consentmanagement.api.domain.repositories.AsyncServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.infrastructure.repositories.InMemoryAsyncServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.infrastructure.repositories.InMemoryServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.consentmanagement.api.testcommon.utils.TestUtils;
+import com.consentframework.consentmanagement.api.usecases.requesthandlers.RequestHandlerTest;
+import com.consentframework.shared.api.domain.constants.HttpMethod;
+import com.consentframework.shared.api.domain.constants.HttpStatusCode;
+import com.consentframework.shared.api.domain.entities.ApiRequest;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.ConflictingResourceException;
+import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+class AsyncConsentManagementApiServiceTest extends RequestHandlerTest {
+    private static final List<String> HTTP_METHODS = List.of(HttpMethod.GET.name(), HttpMethod.POST.name(), "PUT", "DELETE",
+        ConsentManagementApiService.PATCH_HTTP_METHOD);
+
+    private InMemoryAsyncServiceUserConsentRepository consentRepository;
+    private InMemoryServiceUserConsentRepository blockingConsentRepository;
+    private AsyncConsentManagementApiService service;
+
+    @BeforeEach
+    void setup() {
+        consentRepository = spy(new InMemoryAsyncServiceUserConsentRepository());
+        blockingConsentRepository = spy(new InMemoryServiceUserConsentRepository());
+        service = new AsyncConsentManagementApiService(consentRepository, blockingConsentRepository);
+    }
+
+    @Test
+    void testConstructWithDynamoDbEnhancedAsyncClient() {
+        final DynamoDbEnhancedAsyncClient mockEnhancedClient = mock(DynamoDbEnhancedAsyncClient.class);
+        assertNotNull(AsyncConsentManagementApiService.constructDynamoDbAsyncConsentRepository(mockEnhancedClient));
+        assertNotNull(new AsyncConsentManagementApiService(mockEnhancedClient, mock(DynamoDbClient.class)));
+    }
+
+    @Test
+    void testRoutesMatchBlockingService() {
+        final ConsentManagementApiService blockingService = new ConsentManagementApiService(new InMemoryServiceUserConsentRepository());
+        for (final ApiHttpResource resource : ApiHttpResource.values()) {
+            for (final String httpMethod : HTTP_METHODS) {
+                final ApiRequest request = buildApiRequest(httpMethod, resource, null);
+                final boolean isBlockingRoute = blockingService.routeRequest(request) != null;
+                final boolean isAsyncRoute = !ConsentManagementApiService.buildUnsupportedOperationResponse(request)
+                    .equals(service.handleRequestAsync(request).join());
+                assertEquals(isBlockingRoute, isAsyncRoute, String.format("%s %s", httpMethod, resource));
+            }
+        }
+    }
+
+    @Test
+    void testHandleGetRequest() {
+        consentRepository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS).join();
+
+        final ApiRequest request = buildApiRequest(HttpMethod.GET, ApiHttpResource.SERVICE_USER_CONSENT, null);
+        final Map<String, Object> response = service.handleRequestAsync(request).join();
+        assertSuccessResponse(response);
+
+        verify(consentRepository).getServiceUserConsent(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+            TestConstants.TEST_CONSENT_ID);
+    }
+
+    @Test
+    void testHandleGetRequestWhenInternalServiceException() {
+        final AsyncServiceUserConsentRepository mockRepository = mock(AsyncServiceUserConsentRepository.class);
+        final String testExceptionMessage = "TestInternalServiceException";
+        when(mockRepository.getServiceUserConsent(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+            TestConstants.TEST_CONSENT_ID)).thenReturn(CompletableFuture.failedFuture(new InternalServiceException(testExceptionMessage)));
+        final AsyncConsentManagementApiService mockService = new AsyncConsentManagementApiService(mockRepository,
+            blockingConsentRepository);
+
+        final ApiRequest request = buildApiRequest(HttpMethod.GET, ApiHttpResource.SERVICE_USER_CONSENT, null);
+        final Map<String, Object> response = mockService.handleRequest(request, null);
+        assertExceptionResponse(HttpStatusCode.INTERNAL_SERVER_ERROR, testExceptionMessage, response);
+    }
+
+    @Test
+    void testHandleListRequest() {
+        final ApiRequest request = buildApiRequest(HttpMethod.GET, ApiHttpResource.SERVICE_USER_CONSENTS, null);
+        final Map<String, Object> response = service.handleRequest(request, null);
+        assertSuccessResponse(response);
+
+        verify(consentRepository).listServiceUserConsents(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, null, null);
+    }
+
+    @Test
+    void testHandleListRequestWithLambdaContext() {
+        final Context context = mock(Context.class);
+        when(context.getAwsRequestId()).thenReturn("testRequestId");
+
+        final ApiRequest request = buildApiRequest(HttpMethod.GET, ApiHttpResource.SERVICE_USER_CONSENTS, null);
+        final Map<String, Object> response = service.handleRequest(request, context);
+        assertSuccessResponse(response);
+
+        verify(context).getAwsRequestId();
+    }
+
+    @Test
+    void testHandleCreateRequest() throws JsonProcessingException {
+        final String requestContentString = TestUtils.toCreateRequestContentString(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS);
+        final ApiRequest request = buildApiRequest(HttpMethod.POST, ApiHttpResource.SERVICE_USER_CONSENTS, requestContentString);
+        final Map<String, Object> response = service.handleRequest(request, null);
+        assertSuccessResponse(response);
+
+        verify(consentRepository).createServiceUserConsent(any(Consent.class));
+    }
+
+    @Test
+    void testHandleUpdateRequest() throws JsonProcessingException {
+        consentRepository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS).join();
+
+        final Consent updatedConsent = TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS).consentVersion(2);
+        final String updateRequestBody = TestUtils.toUpdateRequestContentString(updatedConsent);
+        final ApiRequest request = buildApiRequest(HttpMethod.POST, ApiHttpResource.SERVICE_USER_CONSENT, updateRequestBody);
+
+        final Map<String, Object> response = service.handleRequest(request, null);
+        assertSuccessResponse(response);
+
+        verify(consentRepository).updateServiceUserConsent(any(Consent.class));
+    }
+
+    @Test
+    void testHandlePatchRequest() throws BadRequestException, ConflictingResourceException, InternalServiceException {
+        blockingConsentRepository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS);
+
+        final ApiRequest request = buildApiRequest(ConsentManagementApiService.PATCH_HTTP_METHOD, ApiHttpResource.SERVICE_USER_CONSENT,
+            "{\"consentVersion\":2,\"status\":\"REVOKED\"}");
+        final Map<String, Object> response = service.handleRequestAsync(request).join();
+        assertSuccessResponse(response);
+
+        verify(blockingConsentRepository).patchServiceUserConsent(any(ServiceUserConsentPatch.class));
+    }
+
+    @Test
+    void testHandleBatchGetRequestWithLambdaContext() throws InternalServiceException {
+        final Context context = mock(Context.class);
+        when(context.getAwsRequestId()).thenReturn("testRequestId");
+
+        final ApiRequest request = buildApiRequest(HttpMethod.POST.name(), ApiHttpResource.SERVICE_USER_CONSENTS_BATCH_GET,
+            String.format("{\"consentIds\":[\"%s\"]}", TestConstants.TEST_CONSENT_ID));
+        final Map<String, Object> response = service.handleRequest(request, context);
+        assertSuccessResponse(response);
+
+        verify(blockingConsentRepository).batchGetServiceUserConsents(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+            List.of(TestConstants.TEST_CONSENT_ID));
+    }
+
+    @Test
+    protected void testHandleNullRequest() {
+        final Map<String, Object> response = service.handleRequest(null, null);
+        final String expectedErrorMessage = String.format(ConsentManagementApiService.UNSUPPORTED_OPERATION_MESSAGE, null, null);
+        assertExceptionResponse(HttpStatusCode.BAD_REQUEST, expectedErrorMessage, response);
+    }
+
+    @Test
+    protected void testHandleRequestMissingPathParameters() {
+        final ApiRequest request = new ApiRequest(HttpMethod.GET.name(), ApiHttpResource.SERVICE_USER_CONSENT.getValue(),
+            TestConstants.TEST_CONSENT_PATH, null, null, null, false, null);
+
+        final Map<String, Object> response = service.handleRequest(request, null);
+        assertMissingConsentPathParametersResponse(response);
+    }
+
+    @Test
+    void testHandleUnsupportedConsentOperation() {
+        validateHandlesUnsupportedResourceOperation(ApiHttpResource.SERVICE_USER_CONSENT.getValue());
+    }
+
+    @Test
+    void testHandleUnsupportedConsentsOperation() {
+        validateHandlesUnsupportedResourceOperation(ApiHttpResource.SERVICE_USER_CONSENTS.getValue());
+    }
+
+    @Test
+    void testHandleUnsupportedResource() {
+        validateHandlesUnsupportedResourceOperation("/v1/consent-management/unsupported-resource");
+    }
+
+    private void validateHandlesUnsupportedResourceOperation(final String httpResourceString) {
+        final String unsupportedHttpOperation = "DELETE";
+        final ApiRequest request = new ApiRequest(unsupportedHttpOperation, httpResourceString, TestConstants.TEST_CONSENT_PATH,
+            TestConstants.TEST_CONSENT_PATH_PARAMS, null, null, false, null);
+
+        final Map<String, Object> response = service.handleRequestAsync(request).join();
+        final String expectedErrorMessage = String.format(ConsentManagementApiService.UNSUPPORTED_OPERATION_MESSAGE,
+            httpResourceString, unsupportedHttpOperation);
+        assertExceptionResponse(HttpStatusCode.BAD_REQUEST, expectedErrorMessage, response);
+    }
+
+    private ApiRequest buildApiRequest(final HttpMethod httpMethod, final ApiHttpResource resource, final String body) {
+        return buildApiRequest(httpMethod.name(), resource, body);
+    }
+
+    private ApiRequest buildApiRequest(final String httpMethod, final ApiHttpResource resource, final String body) {
+        final boolean isConsentResource = ApiHttpResource.SERVICE_USER_CONSENT.equals(resource);
+        return new ApiRequest(
+            httpMethod,
+            resource.getValue(),
+            isConsentResource ? TestConstants.TEST_CONSENT_PATH : TestConstants.TEST_CONSENTS_PATH,
+            isConsentResource ? TestConstants.TEST_CONSENT_PATH_PARAMS : TestConstants.TEST_CONSENTS_PATH_PARAMS,
+            null,
+            null,
+            false,
+            body
+        );
+    }
+}
@@ -0,0 +1,106 @@
+package com.consentframework.consentmanagement.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.consentframework.consentmanagement.api.infrastructure.sweepers.DynamoDbConsentExpirySweeper;
+import com.consentframework.consentmanagement.api.infrastructure.sweepers.ExpirySweepResult;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+class ConsentExpirySweeperServiceTest {
+    private static final Instant TEST_SWEPT_THROUGH_HOUR = Instant.parse("2024-06-01T09:00:00Z");
+
+    private final DynamoDbConsentExpirySweeper sweeper = mock(DynamoDbConsentExpirySweeper.class);
+    private final ConsentExpirySweeperService service = new ConsentExpirySweeperService(sweeper);
+
+    @Test
+    void testHandleRequest() {
+        when(sweeper.sweep(any(BooleanSupplier.class))).thenReturn(new ExpirySweepResult(2, 0, 5, 1, TEST_SWEPT_THROUGH_HOUR));
+
+        final Map<String, Object> response = service.handleRequest(Map.of(), null);
+
+        assertEquals(2, response.get("sweptHours"));
+        assertEquals(5L, response.get("expiredConsents"));
+        assertEquals(1L, response.get("skippedConsents"));
+        assertEquals(TEST_SWEPT_THROUGH_HOUR.toString(), response.get("sweptThroughHour"));
+    }
+
+    @Test
+    void testHandleRequestStopsBeforeTimeout() {
+        final Context context = mock(Context.class);
+        when(context.getRemainingTimeInMillis()).thenReturn((int) ConsentExpirySweeperService.REMAINING_TIME_MARGIN_MILLIS);
+        final ArgumentCaptor<BooleanSupplier> hasTimeRemainingCaptor = ArgumentCaptor.forClass(BooleanSupplier.class);
+        when(sweeper.sweep(hasTimeRemainingCaptor.capture())).thenReturn(new ExpirySweepResult(0, 0, 0, 0, TEST_SWEPT_THROUGH_HOUR));
+
+        service.handleRequest(Map.of(), context);
+
+        assertFalse(hasTimeRemainingCaptor.getValue().getAsBoolean());
+        when(context.getRemainingTimeInMillis()).thenReturn((int) ConsentExpirySweeperService.REMAINING_TIME_MARGIN_MILLIS + 1);
+        assertTrue(hasTimeRemainingCaptor.getValue().getAsBoolean());
+    }
+
+    @Test
+    void testHandleRequestWithFailedHours() {
+        when(sweeper.sweep(any(BooleanSupplier.class))).thenReturn(new ExpirySweepResult(1, 2, 0, 0, TEST_SWEPT_THROUGH_HOUR));
+
+        final IllegalStateException exception = assertThrows(IllegalStateException.class, () -> service.handleRequest(Map.of(), null));
+        assertEquals(String.format(ConsentExpirySweeperService.FAILED_HOURS_MESSAGE, 2, TEST_SWEPT_THROUGH_HOUR), exception.getMessage());
+    }
+
+    @Test
+    void testConstructSweeper() {
+        final Map<String, String> environment = Map.of(
+            ConsentExpirySweeperService.CHECKPOINT_TABLE_NAME_ENVIRONMENT_VARIABLE, "TestCheckpointTable",
+            ConsentExpirySweeperService.WRITE_CAPACITY_ENVIRONMENT_VARIABLE, "500",
+            ConsentExpirySweeperService.MAX_CONCURRENT_WRITES_ENVIRONMENT_VARIABLE, "invalid");
+
+        assertNotNull(ConsentExpirySweeperService.constructSweeper(mock(DynamoDbClient.class), environment::get));
+        assertNotNull(ConsentExpirySweeperService.constructSweeper(mock(DynamoDbClient.class), name -> null));
+    }
+
+    @Nested
+    class ParseCapacityUnitsTest {
+        @Test
+        void testParseValidCapacityUnits() {
+            assertEquals(250.5, ConsentExpirySweeperService.parseCapacityUnits(" 250.5 ", 100));
+        }
+
+        @Test
+        void testParseMissingOrInvalidCapacityUnits() {
+            assertEquals(100, ConsentExpirySweeperService.parseCapacityUnits(null, 100));
+            assertEquals(100, ConsentExpirySweeperService.parseCapacityUnits("invalid", 100));
+            assertEquals(100, ConsentExpirySweeperService.parseCapacityUnits("0", 100));
+            assertEquals(100, ConsentExpirySweeperService.parseCapacityUnits("Infinity", 100));
+        }
+    }
+
+    @Nested
+    class ParseCountTest {
+        @Test
+        void testParseValidCount() {
+            assertEquals(0, ConsentExpirySweeperService.parseCount("0", 0, 24));
+            assertEquals(32, ConsentExpirySweeperService.parseCount(" 32 ", 1, 64));
+        }
+
+        @Test
+        void testParseMissingOrInvalidCount() {
+            assertEquals(64, ConsentExpirySweeperService.parseCount(null, 1, 64));
+            assertEquals(64, ConsentExpirySweeperService.parseCount("invalid", 1, 64));
+            assertEquals(64, ConsentExpirySweeperService.parseCount("0", 1, 64));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.consentframework.consentmanagement.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.consentframework.consentmanagement.api.infrastructure.schemas.DynamoDbServiceUserConsentTableSchema;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+class ConsentManagementApiServicePrimerTest {
+    @Test
+    void testPrimeRequestHandlingSucceedsForEveryRoute() {
+        assertEquals(ConsentManagementApiServicePrimer.PRIMING_REQUESTS.size(), ConsentManagementApiServicePrimer.primeRequestHandling());
+    }
+
+    @Test
+    void testPrimeDynamoDbMappingRoundTripsSampleConsent() throws BadRequestException, InternalServiceException {
+        final Consent consent = ConsentManagementApiServicePrimer.primeDynamoDbMapping(DynamoDbServiceUserConsentTableSchema.TABLE_SCHEMA);
+
+        assertEquals(ConsentManagementApiServicePrimer.PRIMING_SERVICE_ID, consent.getServiceId());
+        assertEquals(ConsentManagementApiServicePrimer.PRIMING_USER_ID, consent.getUserId());
+        assertEquals(ConsentManagementApiServicePrimer.PRIMING_CONSENT_ID, consent.getConsentId());
+        assertEquals(1, consent.getConsentVersion());
+        assertEquals(ConsentStatus.ACTIVE, consent.getStatus());
+        assertEquals(ConsentManagementApiServicePrimer.PRIMING_CONSENT_TYPE, consent.getConsentType());
+        assertEquals(Map.of("primingKey", "primingValue"), consent.getConsentData());
+    }
+}
@@ -1,18 +1,30 @@
 package com.consentframework.consentmanagement.api;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
+import com.amazonaws.services.lambda.runtime.Context;
 import com.consentframework.consentmanagement.api.domain.constants.ApiHttpResource;
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentPatch;
 import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
 import com.consentframework.consentmanagement.api.infrastructure.repositories.InMemoryServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.infrastructure.repositories.ServiceUserConsentCache;
 import com.consentframework.consentmanagement.api.models.Consent;
 import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
 import com.consentframework.consentmanagement.api.testcommon.utils.TestUtils;
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiMetrics;
+import com.consentframework.consentmanagement.api.usecases.metrics.InvocationMetrics;
 import com.consentframework.consentmanagement.api.usecases.requesthandlers.RequestHandlerTest;
 import com.consentframework.shared.api.domain.constants.HttpMethod;
 import com.consentframework.shared.api.domain.constants.HttpStatusCode;
@@ -26,8 +38,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 class ConsentManagementApiServiceTest extends RequestHandlerTest {
@@ -35,7 +49,7 @@ class ConsentManagementApiServiceTest extends RequestHandlerTest {
     private ConsentManagementApiService service;
 
     @Mock
-    private DynamoDbEnhancedClient mockDynamoDbEnhancedClient;
+    private DynamoDbClient mockDynamoDbClient;
 
     @BeforeEach
     void setup() {
@@ -46,11 +60,69 @@ class ConsentManagementApiServiceTest extends RequestHandlerTest {
 
     @Test
     void testConstructWithDynamoDbRepository() {
-        consentRepository = ConsentManagementApiService.constructDynamoDbConsentRepository(mockDynamoDbEnhancedClient);
+        consentRepository = ConsentManagementApiService.constructDynamoDbConsentRepository(mockDynamoDbClient);
         final ConsentManagementApiService service = new ConsentManagementApiService(consentRepository);
         assertNotNull(service);
     }
 
+    @Test
+    void testConstructWithDynamoDbClient() {
+        final ConsentManagementApiService service = new ConsentManagementApiService(mockDynamoDbClient);
+        assertNotNull(service);
+    }
+
+    @Test
+    void testHandleRequestResizesConsentCacheFromMemoryLimit() {
+        final ConsentManagementApiService service = new ConsentManagementApiService(mockDynamoDbClient);
+        final Context context = mock(Context.class);
+        when(context.getMemoryLimitInMB()).thenReturn(1024);
+
+        service.handleRequest(new ApiRequest("DELETE", ApiHttpResource.SERVICE_USER_CONSENT.getValue(),
+            TestConstants.TEST_CONSENT_PATH, TestConstants.TEST_CONSENT_PATH_PARAMS, null, null, false, null), context);
+
+        assertEquals(ServiceUserConsentCache.maximumSizeForMemoryLimit(1024), ConsentManagementApiService.CONSENT_CACHE.maximumSize());
+    }
+
+    @Test
+    void testHandleRequestWithoutContextIsNotMeasured() {
+        ApiMetrics.startInvocation(HttpMethod.GET.name(), ApiHttpResource.SERVICE_USER_CONSENT.getValue(), null, 0);
+        final InvocationMetrics startedInvocation = ApiMetrics.currentInvocation();
+        try {
+            service.handleRequest(new ApiRequest("DELETE", ApiHttpResource.SERVICE_USER_CONSENT.getValue(),
+                TestConstants.TEST_CONSENT_PATH, TestConstants.TEST_CONSENT_PATH_PARAMS, null, null, false, null), null);
+
+            assertSame(startedInvocation, ApiMetrics.currentInvocation());
+        } finally {
+            ApiMetrics.finishInvocation();
+        }
+    }
+
+    @Test
+    void testBeforeCheckpointDoesNotCallRepository() throws BadRequestException, InternalServiceException {
+        service.beforeCheckpoint(null);
+        verifyNoInteractions(consentRepository);
+    }
+
+    @Test
+    void testAfterRestoreReplacesDynamoDbClient() {
+        final DynamoDbClient checkpointedClient = mock(DynamoDbClient.class);
+        final DynamoDbClient restoredClient = mock(DynamoDbClient.class);
+        final Iterator<DynamoDbClient> dynamoDbClients = List.of(checkpointedClient, restoredClient).iterator();
+        final ConsentManagementApiService service = new ConsentManagementApiService(dynamoDbClients::next);
+
+        service.afterRestore(null);
+
+        verify(checkpointedClient).close();
+        verify(restoredClient, never()).close();
+        assertFalse(dynamoDbClients.hasNext());
+    }
+
+    @Test
+    void testAfterRestoreWithProvidedRepository() {
+        service.afterRestore(null);
+        verifyNoInteractions(consentRepository);
+    }
+
     @Test
     void testHandleGetRequest() throws BadRequestException, ConflictingResourceException,
             InternalServiceException, ResourceNotFoundException {
@@ -100,7 +172,7 @@ class ConsentManagementApiServiceTest extends RequestHandlerTest {
     }
 
     @Test
-    void testHandleListRequest() throws BadRequestException {
+    void testHandleListRequest() throws BadRequestException, InternalServiceException {
         final ApiRequest request = new ApiRequest(
             HttpMethod.GET.name(),
             ApiHttpResource.SERVICE_USER_CONSENTS.getValue(),
@@ -118,6 +190,31 @@ class ConsentManagementApiServiceTest extends RequestHandlerTest {
             null, null);
     }
 
+    @Test
+    void testHandleListRequestWhenInternalServiceException() throws BadRequestException, InternalServiceException {
+        final ServiceUserConsentRepository mockRepository = mock(ServiceUserConsentRepository.class);
+        final ConsentManagementApiService mockService = new ConsentManagementApiService(mockRepository);
+
+        final String testExceptionMessage = "TestInternalServiceException";
+        doThrow(new InternalServiceException(testExceptionMessage))
+            .when(mockRepository)
+            .listServiceUserConsents(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, null, null);
+
+        final ApiRequest request = new ApiRequest(
+            HttpMethod.GET.name(),
+            ApiHttpResource.SERVICE_USER_CONSENTS.getValue(),
+            TestConstants.TEST_CONSENTS_PATH,
+            TestConstants.TEST_CONSENTS_PATH_PARAMS,
+            null,
+            null,
+            false,
+            null
+        );
+
+        final Map<String, Object> response = mockService.handleRequest(request, null);
+        assertExceptionResponse(HttpStatusCode.INTERNAL_SERVER_ERROR, testExceptionMessage, response);
+    }
+
     @Test
     void testHandleCreateRequest() throws BadRequestException, ConflictingResourceException, InternalServiceException,
             JsonProcessingException {
@@ -164,6 +261,89 @@ class ConsentManagementApiServiceTest extends RequestHandlerTest {
         verify(consentRepository).updateServiceUserConsent(any(Consent.class));
     }
 
+    @Test
+    void testHandlePatchRequest() throws BadRequestException, ConflictingResourceException, InternalServiceException {
+        consentRepository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS);
+
+        final ApiRequest request = new ApiRequest(
+            ConsentManagementApiService.PATCH_HTTP_METHOD,
+            ApiHttpResource.SERVICE_USER_CONSENT.getValue(),
+            TestConstants.TEST_CONSENT_PATH,
+            TestConstants.TEST_CONSENT_PATH_PARAMS,
+            null,
+            null,
+            false,
+            "{\"consentVersion\":2,\"status\":\"REVOKED\"}"
+        );
+
+        final Map<String, Object> response = service.handleRequest(request, null);
+        assertSuccessResponse(response);
+
+        verify(consentRepository).patchServiceUserConsent(any(ServiceUserConsentPatch.class));
+    }
+
+    @Test
+    void testHandleBatchCreateRequest() throws BadRequestException, ConflictingResourceException, InternalServiceException,
+            JsonProcessingException {
+        final String requestContentString = String.format("{\"consents\":[%s]}",
+            TestUtils.toCreateRequestContentString(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS));
+        final ApiRequest request = new ApiRequest(
+            HttpMethod.POST.name(),
+            ApiHttpResource.SERVICE_USER_CONSENTS_BATCH_CREATE.getValue(),
+            String.format("%s/batch-create", TestConstants.TEST_CONSENTS_PATH),
+            TestConstants.TEST_CONSENTS_PATH_PARAMS,
+            null,
+            null,
+            false,
+            requestContentString
+        );
+        final Map<String, Object> response = service.handleRequest(request, null);
+        assertSuccessResponse(response);
+
+        verify(consentRepository).createServiceUserConsents(anyList());
+    }
+
+    @Test
+    void testHandleBatchGetRequest() throws BadRequestException, ConflictingResourceException, InternalServiceException {
+        consentRepository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS);
+
+        final ApiRequest request = new ApiRequest(
+            HttpMethod.POST.name(),
+            ApiHttpResource.SERVICE_USER_CONSENTS_BATCH_GET.getValue(),
+            String.format("%s/batch-get", TestConstants.TEST_CONSENTS_PATH),
+            TestConstants.TEST_CONSENTS_PATH_PARAMS,
+            null,
+            null,
+            false,
+            String.format("{\"consentIds\":[\"%s\"]}", TestConstants.TEST_CONSENT_ID)
+        );
+        final Map<String, Object> response = service.handleRequest(request, null);
+        assertSuccessResponse(response);
+
+        verify(consentRepository).batchGetServiceUserConsents(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+            List.of(TestConstants.TEST_CONSENT_ID));
+    }
+
+    @Test
+    void testHandleExportRequest() throws BadRequestException, ConflictingResourceException, InternalServiceException {
+        consentRepository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS);
+
+        final ApiRequest request = new ApiRequest(
+            HttpMethod.GET.name(),
+            ApiHttpResource.SERVICE_USER_CONSENTS_EXPORT.getValue(),
+            String.format("%s/export", TestConstants.TEST_CONSENTS_PATH),
+            TestConstants.TEST_CONSENTS_PATH_PARAMS,
+            null,
+            null,
+            false,
+            null
+        );
+        final Map<String, Object> response = service.handleRequest(request, null);
+        assertSuccessResponse(response);
+
+        verify(consentRepository).exportServiceUserConsents(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID);
+    }
+
     @Test
     protected void testHandleNullRequest() throws Exception {
         final Map<String, Object> response = service.handleRequest(null, null);
@@ -190,6 +370,16 @@ class ConsentManagementApiServiceTest extends RequestHandlerTest {
         validateHandlesUnsupportedResourceOperation(ApiHttpResource.SERVICE_USER_CONSENTS.getValue());
     }
 
+    @Test
+    void testHandleUnsupportedBatchCreateOperation() {
+        validateHandlesUnsupportedResourceOperation(ApiHttpResource.SERVICE_USER_CONSENTS_BATCH_CREATE.getValue());
+    }
+
+    @Test
+    void testHandleUnsupportedBatchGetOperation() {
+        validateHandlesUnsupportedResourceOperation(ApiHttpResource.SERVICE_USER_CONSENTS_BATCH_GET.getValue());
+    }
+
     @Test
     void testHandleUnsupportedResource() {
         validateHandlesUnsupportedResourceOperation("/v1/consent-management/unsupported-resource");
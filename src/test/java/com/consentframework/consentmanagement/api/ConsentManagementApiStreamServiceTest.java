@@ -0,0 +1,270 @@
+package com.consentframework.consentmanagement.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.consentframework.consentmanagement.api.domain.constants.ApiHttpResource;
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentPatch;
+import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.infrastructure.repositories.InMemoryServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.infrastructure.repositories.ServiceUserConsentCache;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.consentmanagement.api.testcommon.utils.TestUtils;
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiMetrics;
+import com.consentframework.consentmanagement.api.usecases.metrics.InvocationMetrics;
+import com.consentframework.consentmanagement.api.usecases.requesthandlers.RequestHandlerTest;
+import com.consentframework.consentmanagement.api.usecases.utils.ApiGatewayEventParser;
+import com.consentframework.shared.api.domain.constants.ApiResponseParameterName;
+import com.consentframework.shared.api.domain.constants.HttpMethod;
+import com.consentframework.shared.api.domain.constants.HttpStatusCode;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.ConflictingResourceException;
+import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
+import com.consentframework.shared.api.domain.exceptions.ResourceNotFoundException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class ConsentManagementApiStreamServiceTest extends RequestHandlerTest {
+    private final ObjectMapper objectMapper = new JSON().getMapper();
+
+    private ServiceUserConsentRepository consentRepository;
+    private ConsentManagementApiStreamService service;
+
+    @BeforeEach
+    void setup() {
+        consentRepository = spy(new InMemoryServiceUserConsentRepository());
+        service = new ConsentManagementApiStreamService(new ConsentManagementApiService(consentRepository));
+    }
+
+    @Test
+    void testHandleGetRequest() throws BadRequestException, ConflictingResourceException, InternalServiceException,
+            IOException, ResourceNotFoundException {
+        final Consent existingConsent = TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS;
+        consentRepository.createServiceUserConsent(existingConsent);
+
+        final Map<String, Object> response = handleEvent(buildEvent(HttpMethod.GET.name(), ApiHttpResource.SERVICE_USER_CONSENT,
+            TestConstants.TEST_CONSENT_PATH_PARAMS, null));
+
+        assertSuccessResponse(response);
+        assertEquals(objectMapper.writeValueAsString(existingConsent), getResponseBody(response));
+        verify(consentRepository).getServiceUserConsent(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+            TestConstants.TEST_CONSENT_ID);
+    }
+
+    @Test
+    void testHandleListRequest() throws BadRequestException, InternalServiceException, IOException {
+        final Map<String, Object> event = buildEvent(HttpMethod.GET.name(), ApiHttpResource.SERVICE_USER_CONSENTS,
+            TestConstants.TEST_CONSENTS_PATH_PARAMS, null);
+        event.put("queryStringParameters", Map.of("limit", 2));
+
+        final Map<String, Object> response = handleEvent(event);
+
+        assertSuccessResponse(response);
+        verify(consentRepository).listServiceUserConsents(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, 2, null);
+    }
+
+    @Test
+    void testHandleCreateRequest() throws BadRequestException, ConflictingResourceException, InternalServiceException,
+            IOException {
+        final String requestContentString = TestUtils.toCreateRequestContentString(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS);
+
+        final Map<String, Object> response = handleEvent(buildEvent(HttpMethod.POST.name(), ApiHttpResource.SERVICE_USER_CONSENTS,
+            TestConstants.TEST_CONSENTS_PATH_PARAMS, requestContentString));
+
+        assertSuccessResponse(response);
+        verify(consentRepository).createServiceUserConsent(any(Consent.class));
+    }
+
+    @Test
+    void testHandleBase64EncodedCreateRequest() throws BadRequestException, ConflictingResourceException, InternalServiceException,
+            IOException {
+        final String requestContentString = TestUtils.toCreateRequestContentString(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS);
+        final String encodedRequestContent = Base64.getEncoder().encodeToString(requestContentString.getBytes(StandardCharsets.UTF_8));
+        final Map<String, Object> event = buildEvent(HttpMethod.POST.name(), ApiHttpResource.SERVICE_USER_CONSENTS,
+            TestConstants.TEST_CONSENTS_PATH_PARAMS, encodedRequestContent);
+        event.put("isBase64Encoded", true);
+
+        final Map<String, Object> response = handleEvent(event);
+
+        assertSuccessResponse(response);
+        verify(consentRepository).createServiceUserConsent(any(Consent.class));
+    }
+
+    @Test
+    void testHandleUpdateRequest() throws BadRequestException, ConflictingResourceException, InternalServiceException,
+            IOException, ResourceNotFoundException {
+        consentRepository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS);
+        final Consent updatedConsent = TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS).consentVersion(2);
+
+        final Map<String, Object> response = handleEvent(buildEvent(HttpMethod.POST.name(), ApiHttpResource.SERVICE_USER_CONSENT,
+            TestConstants.TEST_CONSENT_PATH_PARAMS, TestUtils.toUpdateRequestContentString(updatedConsent)));
+
+        assertSuccessResponse(response);
+        verify(consentRepository).updateServiceUserConsent(any(Consent.class));
+    }
+
+    @Test
+    void testHandlePatchRequest() throws BadRequestException, ConflictingResourceException, InternalServiceException,
+            IOException, ResourceNotFoundException {
+        consentRepository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS);
+
+        final Map<String, Object> response = handleEvent(buildEvent(ConsentManagementApiService.PATCH_HTTP_METHOD,
+            ApiHttpResource.SERVICE_USER_CONSENT, TestConstants.TEST_CONSENT_PATH_PARAMS, "{\"consentVersion\":2,\"status\":\"REVOKED\"}"));
+
+        assertSuccessResponse(response);
+        verify(consentRepository).patchServiceUserConsent(any(ServiceUserConsentPatch.class));
+    }
+
+    @Test
+    void testHandleBatchCreateRequest() throws BadRequestException, ConflictingResourceException, InternalServiceException,
+            IOException {
+        final String requestContentString = String.format("{\"consents\":[%s]}",
+            TestUtils.toCreateRequestContentString(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS));
+
+        final Map<String, Object> response = handleEvent(buildEvent(HttpMethod.POST.name(),
+            ApiHttpResource.SERVICE_USER_CONSENTS_BATCH_CREATE, TestConstants.TEST_CONSENTS_PATH_PARAMS, requestContentString));
+
+        assertSuccessResponse(response);
+        verify(consentRepository).createServiceUserConsents(anyList());
+    }
+
+    @Test
+    void testHandleBatchGetRequest() throws BadRequestException, ConflictingResourceException, InternalServiceException,
+            IOException {
+        consentRepository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS);
+
+        final Map<String, Object> response = handleEvent(buildEvent(HttpMethod.POST.name(),
+            ApiHttpResource.SERVICE_USER_CONSENTS_BATCH_GET, TestConstants.TEST_CONSENTS_PATH_PARAMS,
+            String.format("{\"consentIds\":[\"%s\"]}", TestConstants.TEST_CONSENT_ID)));
+
+        assertSuccessResponse(response);
+        verify(consentRepository).batchGetServiceUserConsents(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+            List.of(TestConstants.TEST_CONSENT_ID));
+    }
+
+    @Test
+    void testHandleRequestWithInvalidRequestContent() throws IOException {
+        final Map<String, Object> response = handleEvent(buildEvent(HttpMethod.POST.name(), ApiHttpResource.SERVICE_USER_CONSENTS,
+            TestConstants.TEST_CONSENTS_PATH_PARAMS, "{\"invalid\""));
+
+        assertEquals(HttpStatusCode.BAD_REQUEST.getValue(), response.get(ApiResponseParameterName.STATUS_CODE.getValue()));
+    }
+
+    @Test
+    void testHandleUnsupportedOperation() throws IOException {
+        final Map<String, Object> response = handleEvent(buildEvent("DELETE", ApiHttpResource.SERVICE_USER_CONSENT,
+            TestConstants.TEST_CONSENT_PATH_PARAMS, null));
+
+        final String expectedErrorMessage = String.format(ConsentManagementApiService.UNSUPPORTED_OPERATION_MESSAGE,
+            ApiHttpResource.SERVICE_USER_CONSENT.getValue(), "DELETE");
+        assertExceptionResponse(HttpStatusCode.BAD_REQUEST, expectedErrorMessage, response);
+    }
+
+    @Test
+    void testHandleInvalidEvent() throws IOException {
+        final Map<String, Object> response = handleEvent("[]");
+
+        final String expectedErrorMessage = String.format(ConsentManagementApiStreamService.INVALID_EVENT_MESSAGE,
+            ApiGatewayEventParser.EVENT_NOT_OBJECT_MESSAGE);
+        assertExceptionResponse(HttpStatusCode.BAD_REQUEST, expectedErrorMessage, response);
+    }
+
+    @Test
+    void testHandleRequestWithoutContextIsMeasured() throws Exception {
+        final List<InvocationMetrics> invocations = new ArrayList<InvocationMetrics>();
+        doAnswer(invocation -> {
+            invocations.add(ApiMetrics.currentInvocation());
+            return invocation.callRealMethod();
+        }).when(consentRepository).getServiceUserConsent(any(), any(), any());
+
+        handleEvent(buildEvent(HttpMethod.GET.name(), ApiHttpResource.SERVICE_USER_CONSENT, TestConstants.TEST_CONSENT_PATH_PARAMS, null));
+
+        assertEquals(1, invocations.size());
+        assertEquals(HttpMethod.GET.name() + " " + ApiHttpResource.SERVICE_USER_CONSENT.getValue(), invocations.get(0).getRoute());
+        assertNull(ApiMetrics.currentInvocation());
+    }
+
+    @Test
+    void testHandleRequestResizesConsentCacheFromMemoryLimit() throws IOException {
+        final ConsentManagementApiStreamService dynamoDbService = new ConsentManagementApiStreamService(
+            new ConsentManagementApiService(mock(DynamoDbClient.class)));
+        final Context context = mock(Context.class);
+        when(context.getMemoryLimitInMB()).thenReturn(2048);
+
+        dynamoDbService.handleRequest(toInputStream(objectMapper.writeValueAsString(buildEvent("DELETE",
+            ApiHttpResource.SERVICE_USER_CONSENT, TestConstants.TEST_CONSENT_PATH_PARAMS, null))), new ByteArrayOutputStream(), context);
+
+        assertEquals(ServiceUserConsentCache.maximumSizeForMemoryLimit(2048), ConsentManagementApiService.CONSENT_CACHE.maximumSize());
+    }
+
+    @Test
+    @Override
+    protected void testHandleNullRequest() throws Exception {
+        final Map<String, Object> response = handleEvent("null");
+
+        final String expectedErrorMessage = String.format(ConsentManagementApiStreamService.INVALID_EVENT_MESSAGE,
+            ApiGatewayEventParser.EVENT_NOT_OBJECT_MESSAGE);
+        assertExceptionResponse(HttpStatusCode.BAD_REQUEST, expectedErrorMessage, response);
+    }
+
+    @Test
+    @Override
+    protected void testHandleRequestMissingPathParameters() throws Exception {
+        final Map<String, Object> response = handleEvent(buildEvent(HttpMethod.GET.name(), ApiHttpResource.SERVICE_USER_CONSENT,
+            null, null));
+
+        assertMissingConsentPathParametersResponse(response);
+    }
+
+    private Map<String, Object> buildEvent(final String httpMethod, final ApiHttpResource resource,
+            final Map<String, String> pathParameters, final String body) {
+        final Map<String, Object> event = new HashMap<String, Object>();
+        event.put("resource", resource.getValue());
+        event.put("path", TestConstants.TEST_CONSENT_PATH);
+        event.put("httpMethod", httpMethod);
+        event.put("headers", Map.of("Content-Type", "application/json"));
+        event.put("multiValueHeaders", Map.of("Content-Type", List.of("application/json")));
+        event.put("requestContext", Map.of("stage", "test", "identity", Map.of("sourceIp", "127.0.0.1")));
+        event.put("pathParameters", pathParameters);
+        event.put("queryStringParameters", null);
+        event.put("body", body);
+        event.put("isBase64Encoded", false);
+        return event;
+    }
+
+    private Map<String, Object> handleEvent(final Map<String, Object> event) throws IOException {
+        return handleEvent(objectMapper.writeValueAsString(event));
+    }
+
+    private Map<String, Object> handleEvent(final String event) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        service.handleRequest(toInputStream(event), outputStream, null);
+        return objectMapper.readValue(outputStream.toByteArray(), new TypeReference<Map<String, Object>>() {});
+    }
+
+    private static ByteArrayInputStream toInputStream(final String event) {
+        return new ByteArrayInputStream(event.getBytes(StandardCharsets.UTF_8));
+    }
+}
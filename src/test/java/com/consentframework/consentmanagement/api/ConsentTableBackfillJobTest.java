@@ -0,0 +1,48 @@
+package com.consentframework.consentmanagement.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+
+import java.io.IOException;
+
+class ConsentTableBackfillJobTest {
+    private final DynamoDbClient dynamoDbClient = mock(DynamoDbClient.class);
+
+    @Test
+    void testRunWithAllArguments() throws IOException {
+        when(dynamoDbClient.scan(any(ScanRequest.class))).thenReturn(ScanResponse.builder().build());
+
+        final long updatedItems = ConsentTableBackfillJob.run(new String[] {"2", "50", "25"}, dynamoDbClient);
+
+        assertEquals(0, updatedItems);
+        verify(dynamoDbClient, times(2)).scan(any(ScanRequest.class));
+    }
+
+    @Test
+    void testRunWithDefaultArguments() throws IOException {
+        when(dynamoDbClient.scan(any(ScanRequest.class))).thenReturn(ScanResponse.builder().build());
+
+        ConsentTableBackfillJob.run(new String[] {}, dynamoDbClient);
+
+        verify(dynamoDbClient, times(16)).scan(any(ScanRequest.class));
+    }
+
+    @Test
+    void testRunWithInvalidArguments() {
+        final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> ConsentTableBackfillJob.run(new String[] {"2", "50", "25", "Extra"}, dynamoDbClient));
+        assertEquals(ConsentTableBackfillJob.USAGE_MESSAGE, exception.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () -> ConsentTableBackfillJob.run(new String[] {"0"}, dynamoDbClient));
+    }
+}
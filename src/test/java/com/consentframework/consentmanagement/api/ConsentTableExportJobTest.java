@@ -0,0 +1,57 @@
+package com.consentframework.consentmanagement.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class ConsentTableExportJobTest {
+    @TempDir
+    private Path outputDirectory;
+
+    private final DynamoDbClient dynamoDbClient = mock(DynamoDbClient.class);
+
+    @Test
+    void testRunWithAllArguments() throws IOException {
+        when(dynamoDbClient.scan(any(ScanRequest.class))).thenReturn(ScanResponse.builder().build());
+
+        final long exportedItems = ConsentTableExportJob.run(new String[] {outputDirectory.toString(), "2", "50"}, dynamoDbClient);
+
+        assertEquals(0, exportedItems);
+        verify(dynamoDbClient, times(2)).scan(any(ScanRequest.class));
+        assertTrue(Files.exists(outputDirectory.resolve("segment-00001.checkpoint.json")));
+    }
+
+    @Test
+    void testRunWithDefaultArguments() throws IOException {
+        when(dynamoDbClient.scan(any(ScanRequest.class))).thenReturn(ScanResponse.builder().build());
+
+        ConsentTableExportJob.run(new String[] {outputDirectory.toString()}, dynamoDbClient);
+
+        verify(dynamoDbClient, times(16)).scan(any(ScanRequest.class));
+    }
+
+    @Test
+    void testRunWithInvalidArguments() {
+        final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> ConsentTableExportJob.run(new String[] {}, dynamoDbClient));
+        assertEquals(ConsentTableExportJob.USAGE_MESSAGE, exception.getMessage());
+
+        assertThrows(IllegalArgumentException.class,
+            () -> ConsentTableExportJob.run(new String[] {outputDirectory.toString(), "0"}, dynamoDbClient));
+    }
+}
@@ -0,0 +1,69 @@
+package com.consentframework.consentmanagement.api.domain.validators;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.consentframework.consentmanagement.api.domain.entities.BatchCreateServiceUserConsentsRequestContent;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
+import com.consentframework.consentmanagement.api.models.CreateServiceUserConsentRequestContent;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+class BatchCreateServiceUserConsentsRequestValidatorTest {
+    private static final CreateServiceUserConsentRequestContent VALID_CONSENT_CONTENT = new CreateServiceUserConsentRequestContent()
+        .status(ConsentStatus.ACTIVE)
+        .consentData(TestConstants.TEST_CONSENT_DATA_MAP);
+
+    @Test
+    void testValidateWhenNullRequestBody() {
+        final BadRequestException thrownException = assertThrows(BadRequestException.class, () ->
+            BatchCreateServiceUserConsentsRequestValidator.validate(null));
+
+        assertEquals(BatchCreateServiceUserConsentsRequestValidator.MISSING_CONSENTS_MESSAGE, thrownException.getMessage());
+    }
+
+    @Test
+    void testValidateWhenEmptyConsents() {
+        final BadRequestException thrownException = assertThrows(BadRequestException.class, () ->
+            BatchCreateServiceUserConsentsRequestValidator.validate(new BatchCreateServiceUserConsentsRequestContent(List.of())));
+
+        assertEquals(BatchCreateServiceUserConsentsRequestValidator.MISSING_CONSENTS_MESSAGE, thrownException.getMessage());
+    }
+
+    @Test
+    void testValidateWhenTooManyConsents() {
+        final int consentCount = BatchCreateServiceUserConsentsRequestValidator.MAX_CONSENTS + 1;
+        final BatchCreateServiceUserConsentsRequestContent requestContent = new BatchCreateServiceUserConsentsRequestContent(
+            Collections.nCopies(consentCount, VALID_CONSENT_CONTENT));
+
+        final BadRequestException thrownException = assertThrows(BadRequestException.class, () ->
+            BatchCreateServiceUserConsentsRequestValidator.validate(requestContent));
+
+        final String expectedErrorMessage = String.format(BatchCreateServiceUserConsentsRequestValidator.TOO_MANY_CONSENTS_MESSAGE,
+            consentCount, BatchCreateServiceUserConsentsRequestValidator.MAX_CONSENTS);
+        assertEquals(expectedErrorMessage, thrownException.getMessage());
+    }
+
+    @Test
+    void testValidateWhenConsentMissingStatus() {
+        final CreateServiceUserConsentRequestContent consentWithoutStatus = new CreateServiceUserConsentRequestContent()
+            .consentData(TestConstants.TEST_CONSENT_DATA_MAP);
+        final BatchCreateServiceUserConsentsRequestContent requestContent = new BatchCreateServiceUserConsentsRequestContent(
+            List.of(VALID_CONSENT_CONTENT, consentWithoutStatus));
+
+        final BadRequestException thrownException = assertThrows(BadRequestException.class, () ->
+            BatchCreateServiceUserConsentsRequestValidator.validate(requestContent));
+
+        assertEquals(CreateServiceUserConsentRequestValidator.MISSING_REQUIRED_FIELDS_MESSAGE, thrownException.getMessage());
+    }
+
+    @Test
+    void testValidateWhenValid() throws BadRequestException {
+        BatchCreateServiceUserConsentsRequestValidator.validate(
+            new BatchCreateServiceUserConsentsRequestContent(List.of(VALID_CONSENT_CONTENT, VALID_CONSENT_CONTENT)));
+    }
+}
@@ -0,0 +1,79 @@
+package com.consentframework.consentmanagement.api.domain.validators;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.consentframework.consentmanagement.api.domain.entities.BatchGetServiceUserConsentsRequestContent;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+class BatchGetServiceUserConsentsRequestValidatorTest {
+    @Test
+    void testValidateWhenNullRequestBody() {
+        final BadRequestException thrownException = assertThrows(BadRequestException.class, () ->
+            BatchGetServiceUserConsentsRequestValidator.validate(null));
+
+        assertEquals(BatchGetServiceUserConsentsRequestValidator.MISSING_CONSENT_IDS_MESSAGE, thrownException.getMessage());
+    }
+
+    @Test
+    void testValidateWhenMissingConsentIds() {
+        final BadRequestException thrownException = assertThrows(BadRequestException.class, () ->
+            BatchGetServiceUserConsentsRequestValidator.validate(new BatchGetServiceUserConsentsRequestContent(null)));
+
+        assertEquals(BatchGetServiceUserConsentsRequestValidator.MISSING_CONSENT_IDS_MESSAGE, thrownException.getMessage());
+    }
+
+    @Test
+    void testValidateWhenEmptyConsentIds() {
+        final BadRequestException thrownException = assertThrows(BadRequestException.class, () ->
+            BatchGetServiceUserConsentsRequestValidator.validate(new BatchGetServiceUserConsentsRequestContent(List.of())));
+
+        assertEquals(BatchGetServiceUserConsentsRequestValidator.MISSING_CONSENT_IDS_MESSAGE, thrownException.getMessage());
+    }
+
+    @Test
+    void testValidateWhenTooManyConsentIds() {
+        final int consentIdCount = BatchGetServiceUserConsentsRequestValidator.MAX_CONSENT_IDS + 1;
+        final List<String> consentIds = new ArrayList<String>(Collections.nCopies(consentIdCount, TestConstants.TEST_CONSENT_ID));
+
+        final BadRequestException thrownException = assertThrows(BadRequestException.class, () ->
+            BatchGetServiceUserConsentsRequestValidator.validate(new BatchGetServiceUserConsentsRequestContent(consentIds)));
+
+        final String expectedErrorMessage = String.format(BatchGetServiceUserConsentsRequestValidator.TOO_MANY_CONSENT_IDS_MESSAGE,
+            consentIdCount, BatchGetServiceUserConsentsRequestValidator.MAX_CONSENT_IDS);
+        assertEquals(expectedErrorMessage, thrownException.getMessage());
+    }
+
+    @Test
+    void testValidateWhenNullConsentId() {
+        final List<String> consentIds = Arrays.asList(TestConstants.TEST_CONSENT_ID, null);
+
+        final BadRequestException thrownException = assertThrows(BadRequestException.class, () ->
+            BatchGetServiceUserConsentsRequestValidator.validate(new BatchGetServiceUserConsentsRequestContent(consentIds)));
+
+        assertEquals(BatchGetServiceUserConsentsRequestValidator.BLANK_CONSENT_ID_MESSAGE, thrownException.getMessage());
+    }
+
+    @Test
+    void testValidateWhenBlankConsentId() {
+        final List<String> consentIds = List.of(TestConstants.TEST_CONSENT_ID, " ");
+
+        final BadRequestException thrownException = assertThrows(BadRequestException.class, () ->
+            BatchGetServiceUserConsentsRequestValidator.validate(new BatchGetServiceUserConsentsRequestContent(consentIds)));
+
+        assertEquals(BatchGetServiceUserConsentsRequestValidator.BLANK_CONSENT_ID_MESSAGE, thrownException.getMessage());
+    }
+
+    @Test
+    void testValidateWhenValid() throws BadRequestException {
+        BatchGetServiceUserConsentsRequestValidator.validate(
+            new BatchGetServiceUserConsentsRequestContent(List.of(TestConstants.TEST_CONSENT_ID)));
+    }
+}
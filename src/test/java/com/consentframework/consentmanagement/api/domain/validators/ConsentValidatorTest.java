@@ -9,6 +9,9 @@ import com.consentframework.consentmanagement.api.testcommon.utils.TestUtils;
 import com.consentframework.shared.api.domain.exceptions.BadRequestException;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashMap;
+import java.util.Map;
+
 class ConsentValidatorTest {
     @Test
     void testValidateValidConsent() throws BadRequestException {
@@ -66,4 +69,39 @@ class ConsentValidatorTest {
             ConsentValidator.validate(testConsent));
         assertEquals(ConsentValidator.STATUS_NULL_MESSAGE, thrownException.getMessage());
     }
+
+    @Test
+    void testValidateWhenBlankConsentType() {
+        final Consent testConsent = TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS).consentType(" ");
+
+        final BadRequestException thrownException = assertThrows(BadRequestException.class, () ->
+            ConsentValidator.validate(testConsent));
+        assertEquals(ConsentValidator.CONSENT_TYPE_BLANK_MESSAGE, thrownException.getMessage());
+    }
+
+    @Test
+    void testValidateWhenTooManyConsentDataEntries() {
+        final Map<String, String> consentData = new HashMap<String, String>();
+        for (int i = 0; i <= ConsentValidator.MAX_CONSENT_DATA_ENTRIES; i++) {
+            consentData.put("TestKey" + i, "TestValue");
+        }
+        final Consent testConsent = TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS).consentData(consentData);
+
+        final BadRequestException thrownException = assertThrows(BadRequestException.class, () ->
+            ConsentValidator.validate(testConsent));
+        final String expectedMessage = String.format(ConsentValidator.CONSENT_DATA_TOO_MANY_ENTRIES_MESSAGE,
+            ConsentValidator.MAX_CONSENT_DATA_ENTRIES, ConsentValidator.MAX_CONSENT_DATA_ENTRIES + 1);
+        assertEquals(expectedMessage, thrownException.getMessage());
+    }
+
+    @Test
+    void testValidateWhenConsentDataValueTooLong() {
+        final Consent testConsent = TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS)
+            .consentData(Map.of("TestKey", "v".repeat(ConsentValidator.MAX_CONSENT_DATA_ENTRY_LENGTH + 1)));
+
+        final BadRequestException thrownException = assertThrows(BadRequestException.class, () ->
+            ConsentValidator.validate(testConsent));
+        assertEquals(String.format(ConsentValidator.CONSENT_DATA_ENTRY_TOO_LONG_MESSAGE, ConsentValidator.MAX_CONSENT_DATA_ENTRY_LENGTH),
+            thrownException.getMessage());
+    }
 }
@@ -0,0 +1,33 @@
+package com.consentframework.consentmanagement.api.domain.validators;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentFilter;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+class ServiceUserConsentFilterValidatorTest {
+    @Test
+    void testValidateNullOrEmptyFilter() {
+        assertDoesNotThrow(() -> ServiceUserConsentFilterValidator.validate(null));
+        assertDoesNotThrow(() -> ServiceUserConsentFilterValidator.validate(ServiceUserConsentFilter.NONE));
+    }
+
+    @Test
+    void testValidateStatusFilter() {
+        assertDoesNotThrow(() -> ServiceUserConsentFilterValidator.validate(new ServiceUserConsentFilter(ConsentStatus.ACTIVE, null)));
+        assertDoesNotThrow(() -> ServiceUserConsentFilterValidator.validate(
+            new ServiceUserConsentFilter(ConsentStatus.ACTIVE, TestConstants.TEST_CONSENT_TYPE)));
+    }
+
+    @Test
+    void testValidateConsentTypeWithoutStatus() {
+        final BadRequestException thrownException = assertThrows(BadRequestException.class, () ->
+            ServiceUserConsentFilterValidator.validate(new ServiceUserConsentFilter(null, TestConstants.TEST_CONSENT_TYPE)));
+        assertEquals(ServiceUserConsentFilterValidator.CONSENT_TYPE_WITHOUT_STATUS_MESSAGE, thrownException.getMessage());
+    }
+}
@@ -0,0 +1,104 @@
+package com.consentframework.consentmanagement.api.domain.validators;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentPatch;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.consentmanagement.api.testcommon.utils.TestUtils;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Optional;
+
+class ServiceUserConsentPatchValidatorTest {
+    private static final OffsetDateTime PAST_EXPIRY_TIME = OffsetDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    @Test
+    void testValidateNullPatch() {
+        validateThrowsBadRequest(null, ServiceUserConsentPatchValidator.PATCH_NULL_MESSAGE);
+    }
+
+    @Test
+    void testValidateBlankIdentifiers() {
+        validateThrowsBadRequest(new ServiceUserConsentPatch(" ", TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID, 2,
+            null, null, null, null), ConsentValidator.SERVICE_ID_BLANK_MESSAGE);
+        validateThrowsBadRequest(new ServiceUserConsentPatch(TestConstants.TEST_SERVICE_ID, null, TestConstants.TEST_CONSENT_ID, 2,
+            null, null, null, null), ConsentValidator.USER_ID_BLANK_MESSAGE);
+        validateThrowsBadRequest(new ServiceUserConsentPatch(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, "", 2,
+            null, null, null, null), ConsentValidator.CONSENT_ID_BLANK_MESSAGE);
+    }
+
+    @Test
+    void testValidateNullConsentVersion() {
+        validateThrowsBadRequest(new ServiceUserConsentPatch(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+            TestConstants.TEST_CONSENT_ID, null, null, null, null, null), ConsentValidator.CONSENT_VERSION_NULL_MESSAGE);
+    }
+
+    @Test
+    void testValidateRemovedStatus() {
+        validateThrowsBadRequest(new ServiceUserConsentPatch(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+            TestConstants.TEST_CONSENT_ID, 2, Optional.empty(), null, null, null), ServiceUserConsentPatchValidator.STATUS_REMOVED_MESSAGE);
+    }
+
+    @Test
+    void testValidateBlankConsentType() {
+        validateThrowsBadRequest(new ServiceUserConsentPatch(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+            TestConstants.TEST_CONSENT_ID, 2, null, Optional.of(""), null, null), ConsentValidator.CONSENT_TYPE_BLANK_MESSAGE);
+    }
+
+    @Test
+    void testValidateOversizedConsentData() {
+        final Map<String, String> consentData = Map.of("TestKey", "v".repeat(ConsentValidator.MAX_CONSENT_DATA_ENTRY_LENGTH + 1));
+        validateThrowsBadRequest(new ServiceUserConsentPatch(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+            TestConstants.TEST_CONSENT_ID, 2, null, null, Optional.of(consentData), null),
+            String.format(ConsentValidator.CONSENT_DATA_ENTRY_TOO_LONG_MESSAGE, ConsentValidator.MAX_CONSENT_DATA_ENTRY_LENGTH));
+    }
+
+    @Test
+    void testValidatePastExpiryTime() {
+        validateThrowsBadRequest(new ServiceUserConsentPatch(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+            TestConstants.TEST_CONSENT_ID, 2, null, null, null, Optional.of(PAST_EXPIRY_TIME)),
+            ServiceUserConsentPatchValidator.EXPIRY_TIME_PAST_MESSAGE);
+        validateThrowsBadRequest(new ServiceUserConsentPatch(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+            TestConstants.TEST_CONSENT_ID, 2, Optional.of(ConsentStatus.ACTIVE), null, null, Optional.of(PAST_EXPIRY_TIME)),
+            ServiceUserConsentPatchValidator.EXPIRY_TIME_PAST_MESSAGE);
+    }
+
+    @Test
+    void testValidatePastExpiryTimeOfInactiveConsent() {
+        assertDoesNotThrow(() -> ServiceUserConsentPatchValidator.validate(new ServiceUserConsentPatch(TestConstants.TEST_SERVICE_ID,
+            TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID, 2, Optional.of(ConsentStatus.EXPIRED), null, null,
+            Optional.of(PAST_EXPIRY_TIME))));
+    }
+
+    @Test
+    void testValidatePatchedConsentPastExpiryTime() {
+        final Consent patchedConsent = TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS).expiryTime(PAST_EXPIRY_TIME);
+        final BadRequestException thrownException = assertThrows(BadRequestException.class, () ->
+            ServiceUserConsentPatchValidator.validatePatchedConsent(patchedConsent));
+        assertEquals(ServiceUserConsentPatchValidator.EXPIRY_TIME_PAST_MESSAGE, thrownException.getMessage());
+
+        assertDoesNotThrow(() -> ServiceUserConsentPatchValidator.validatePatchedConsent(
+            TestUtils.clone(patchedConsent).status(ConsentStatus.REVOKED)));
+    }
+
+    @Test
+    void testValidatePatch() {
+        assertDoesNotThrow(() -> ServiceUserConsentPatchValidator.validate(new ServiceUserConsentPatch(TestConstants.TEST_SERVICE_ID,
+            TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID, 2, Optional.of(ConsentStatus.REVOKED), Optional.empty(),
+            null, null)));
+    }
+
+    private void validateThrowsBadRequest(final ServiceUserConsentPatch patch, final String expectedMessage) {
+        final BadRequestException thrownException = assertThrows(BadRequestException.class, () ->
+            ServiceUserConsentPatchValidator.validate(patch));
+        assertEquals(expectedMessage, thrownException.getMessage());
+    }
+}
@@ -0,0 +1,112 @@
+package com.consentframework.consentmanagement.api.infrastructure.exporters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class ConsumedCapacityThrottleTest {
+    private static final double TEST_MAX_UNITS_PER_SECOND = 100;
+    private static final double DELTA = 1e-9;
+
+    private final AtomicLong nanoClock = new AtomicLong();
+    private final ConsumedCapacityThrottle throttle = new ConsumedCapacityThrottle(TEST_MAX_UNITS_PER_SECOND, nanoClock::get);
+
+    @Test
+    void testFirstRequestDoesNotWait() {
+        assertEquals(0, throttle.reserve(50));
+    }
+
+    @Test
+    void testPacesRequestsByConsumedCapacity() {
+        throttle.reserve(50);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), throttle.reserve(10));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(600), throttle.reserve(0));
+    }
+
+    @Test
+    void testDoesNotWaitOnceCapacityIsPaidFor() {
+        throttle.reserve(50);
+        nanoClock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertEquals(0, throttle.reserve(50));
+    }
+
+    @Test
+    void testRecordThrottledHalvesRate() {
+        throttle.recordThrottled();
+        assertEquals(TEST_MAX_UNITS_PER_SECOND / 2, throttle.getUnitsPerSecond(), DELTA);
+
+        throttle.reserve(50);
+        assertEquals(TimeUnit.SECONDS.toNanos(1), throttle.reserve(0));
+    }
+
+    @Test
+    void testRecordThrottledStopsAtMinimumRate() {
+        for (int throttled = 0; throttled < 20; throttled++) {
+            throttle.recordThrottled();
+        }
+
+        assertEquals(TEST_MAX_UNITS_PER_SECOND * ConsumedCapacityThrottle.MIN_RATE_FRACTION, throttle.getUnitsPerSecond(), DELTA);
+    }
+
+    @Test
+    void testRateRecoversUpToMaximum() {
+        throttle.recordThrottled();
+        throttle.reserve(0);
+        assertEquals(TEST_MAX_UNITS_PER_SECOND * (0.5 + ConsumedCapacityThrottle.RATE_INCREASE_FRACTION),
+            throttle.getUnitsPerSecond(), DELTA);
+
+        for (int request = 0; request < 100; request++) {
+            throttle.reserve(0);
+        }
+        assertEquals(TEST_MAX_UNITS_PER_SECOND, throttle.getUnitsPerSecond(), DELTA);
+    }
+
+    @Test
+    void testAcquireWithoutWaiting() throws InterruptedException {
+        new ConsumedCapacityThrottle(TEST_MAX_UNITS_PER_SECOND).acquire(0);
+    }
+
+    @Test
+    void testCallWithRetriesRetriesThrottledRequest() throws InterruptedException {
+        final AtomicInteger attempts = new AtomicInteger();
+        final ConsumedCapacity response = throttle.callWithRetries(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw ProvisionedThroughputExceededException.builder().message("Throttled").build();
+            }
+            return ConsumedCapacity.builder().capacityUnits(50.0).build();
+        }, consumedCapacity -> consumedCapacity, "Test request");
+
+        assertEquals(50.0, response.capacityUnits(), DELTA);
+        assertEquals(2, attempts.get());
+        assertEquals(TEST_MAX_UNITS_PER_SECOND * (0.5 + ConsumedCapacityThrottle.RATE_INCREASE_FRACTION),
+            throttle.getUnitsPerSecond(), DELTA);
+        assertEquals(TimeUnit.SECONDS.toNanos(1), throttle.reserve(0));
+    }
+
+    @Test
+    void testCallWithRetriesDoesNotRetryOtherErrors() {
+        final AtomicInteger attempts = new AtomicInteger();
+        assertThrows(ConditionalCheckFailedException.class, () -> throttle.callWithRetries(() -> {
+            attempts.incrementAndGet();
+            throw ConditionalCheckFailedException.builder().message("Condition failed").build();
+        }, consumedCapacity -> null, "Test request"));
+
+        assertEquals(1, attempts.get());
+        assertEquals(TEST_MAX_UNITS_PER_SECOND, throttle.getUnitsPerSecond(), DELTA);
+    }
+
+    @Test
+    void testConstructWithInvalidRate() {
+        assertThrows(IllegalArgumentException.class, () -> new ConsumedCapacityThrottle(0));
+        assertThrows(IllegalArgumentException.class, () -> new ConsumedCapacityThrottle(Double.NaN));
+    }
+}
@@ -0,0 +1,135 @@
+package com.consentframework.consentmanagement.api.infrastructure.exporters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.consentframework.consentmanagement.api.infrastructure.constants.DynamoDbServiceUserConsentAttributeName;
+import com.consentframework.consentmanagement.api.infrastructure.mappers.DynamoDbServiceUserConsentMapper;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.shared.api.infrastructure.entities.DynamoDbServiceUserConsent;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class DynamoDbServiceUserConsentIndexBackfillerTest {
+    private static final double TEST_MAX_UNITS_PER_SECOND = 1_000_000;
+    private static final String SERVICE_USER_ID_ATTRIBUTE = DynamoDbServiceUserConsentAttributeName.SERVICE_USER_ID.getValue();
+    private static final String STATUS_TYPE_ID_ATTRIBUTE = DynamoDbServiceUserConsentAttributeName.STATUS_TYPE_ID.getValue();
+
+    private final DynamoDbClient dynamoDbClient = mock(DynamoDbClient.class);
+    private final ConsumedCapacityThrottle writeThrottle = new ConsumedCapacityThrottle(TEST_MAX_UNITS_PER_SECOND);
+
+    @Test
+    void testBackfillUpdatesOnlyItemsMissingIndexKeys() throws IOException {
+        when(dynamoDbClient.scan(any(ScanRequest.class))).thenReturn(ScanResponse.builder()
+            .items(List.of(buildReconciledItem(), buildLegacyItem()))
+            .build());
+        when(dynamoDbClient.updateItem(any(UpdateItemRequest.class))).thenReturn(UpdateItemResponse.builder().build());
+
+        assertEquals(1, buildBackfiller(1).backfill());
+
+        final ArgumentCaptor<UpdateItemRequest> updateRequestCaptor = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        verify(dynamoDbClient).updateItem(updateRequestCaptor.capture());
+        final UpdateItemRequest updateRequest = updateRequestCaptor.getValue();
+        assertEquals(DynamoDbServiceUserConsent.TABLE_NAME, updateRequest.tableName());
+        assertEquals(ReturnConsumedCapacity.TOTAL, updateRequest.returnConsumedCapacity());
+        assertTrue(updateRequest.updateExpression().contains("serviceUserId = :serviceUserId"));
+        assertTrue(updateRequest.updateExpression().contains("statusTypeId = :statusTypeId"));
+        assertEquals(AttributeValue.fromS(TestConstants.TEST_SERVICE_USER_ID),
+            updateRequest.expressionAttributeValues().get(":serviceUserId"));
+        assertEquals(AttributeValue.fromS(TestConstants.TEST_STATUS_TYPE_ID),
+            updateRequest.expressionAttributeValues().get(":statusTypeId"));
+    }
+
+    @Test
+    void testBackfillAllSegmentsAndPages() throws IOException {
+        final Map<String, AttributeValue> lastEvaluatedKey = Map.of(DynamoDbServiceUserConsentAttributeName.ID.getValue(),
+            AttributeValue.fromS(TestConstants.TEST_PARTITION_KEY));
+        when(dynamoDbClient.scan(any(ScanRequest.class))).thenAnswer(invocation -> {
+            final ScanRequest scanRequest = invocation.getArgument(0);
+            final ScanResponse.Builder scanResponse = ScanResponse.builder().items(List.of(buildLegacyItem()));
+            if (!scanRequest.hasExclusiveStartKey()) {
+                scanResponse.lastEvaluatedKey(lastEvaluatedKey);
+            }
+            return scanResponse.build();
+        });
+        when(dynamoDbClient.updateItem(any(UpdateItemRequest.class))).thenReturn(UpdateItemResponse.builder().build());
+
+        assertEquals(4, buildBackfiller(2).backfill());
+        verify(dynamoDbClient, times(4)).scan(any(ScanRequest.class));
+    }
+
+    @Test
+    void testBackfillSkipsItemsUpdatedSinceScanned() throws IOException {
+        when(dynamoDbClient.scan(any(ScanRequest.class))).thenReturn(ScanResponse.builder()
+            .items(List.of(buildLegacyItem()))
+            .build());
+        when(dynamoDbClient.updateItem(any(UpdateItemRequest.class)))
+            .thenThrow(ConditionalCheckFailedException.builder().message("TestConditionFailed").build());
+
+        assertEquals(0, buildBackfiller(1).backfill());
+        verify(dynamoDbClient).updateItem(any(UpdateItemRequest.class));
+    }
+
+    @Test
+    void testRetryThrottledUpdate() throws IOException {
+        when(dynamoDbClient.scan(any(ScanRequest.class))).thenReturn(ScanResponse.builder()
+            .items(List.of(buildLegacyItem()))
+            .build());
+        when(dynamoDbClient.updateItem(any(UpdateItemRequest.class)))
+            .thenThrow(ProvisionedThroughputExceededException.builder().message("TestThrottled").build())
+            .thenReturn(UpdateItemResponse.builder().build());
+
+        assertEquals(1, buildBackfiller(1).backfill());
+        verify(dynamoDbClient, times(2)).updateItem(any(UpdateItemRequest.class));
+        assertTrue(writeThrottle.getUnitsPerSecond() < TEST_MAX_UNITS_PER_SECOND);
+    }
+
+    @Test
+    void testConstructWithInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> buildBackfiller(0));
+        assertThrows(IllegalArgumentException.class, () -> new DynamoDbServiceUserConsentIndexBackfiller(dynamoDbClient,
+            DynamoDbServiceUserConsent.TABLE_NAME, 1, 0, writeThrottle, writeThrottle));
+    }
+
+    private DynamoDbServiceUserConsentIndexBackfiller buildBackfiller(final int totalSegments) {
+        return new DynamoDbServiceUserConsentIndexBackfiller(dynamoDbClient, DynamoDbServiceUserConsent.TABLE_NAME, totalSegments,
+            DynamoDbServiceUserConsentTableExporter.DEFAULT_SCAN_PAGE_SIZE, new ConsumedCapacityThrottle(TEST_MAX_UNITS_PER_SECOND),
+            writeThrottle);
+    }
+
+    private static Map<String, AttributeValue> buildReconciledItem() {
+        final DynamoDbServiceUserConsent ddbConsent = DynamoDbServiceUserConsentMapper.toDynamoDbServiceUserConsent(
+            TestConstants.TEST_CONSENT_WITH_ALL_FIELDS);
+        final Map<String, AttributeValue> item = new HashMap<String, AttributeValue>(TestConstants.TEST_CONSENT_DDB_ATTRIBUTES);
+        item.put(DynamoDbServiceUserConsentAttributeName.EXPIRY_HOUR.getValue(), AttributeValue.fromS(ddbConsent.expiryHour()));
+        item.put(DynamoDbServiceUserConsentAttributeName.EXPIRY_TIME_ID.getValue(), AttributeValue.fromS(ddbConsent.expiryTimeId()));
+        return item;
+    }
+
+    private static Map<String, AttributeValue> buildLegacyItem() {
+        final Map<String, AttributeValue> item = buildReconciledItem();
+        item.remove(SERVICE_USER_ID_ATTRIBUTE);
+        item.remove(STATUS_TYPE_ID_ATTRIBUTE);
+        return item;
+    }
+}
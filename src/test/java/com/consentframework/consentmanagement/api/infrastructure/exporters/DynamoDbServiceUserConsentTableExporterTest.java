@@ -0,0 +1,238 @@
+package com.consentframework.consentmanagement.api.infrastructure.exporters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.consentframework.consentmanagement.api.infrastructure.constants.DynamoDbServiceUserConsentAttributeName;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
+import com.consentframework.consentmanagement.api.usecases.utils.ConsentManagementApiCodecs;
+import com.consentframework.shared.api.infrastructure.entities.DynamoDbServiceUserConsent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+class DynamoDbServiceUserConsentTableExporterTest {
+    private static final double TEST_MAX_UNITS_PER_SECOND = 1_000_000;
+    private static final String ID_ATTRIBUTE = DynamoDbServiceUserConsentAttributeName.ID.getValue();
+
+    @TempDir
+    private Path outputDirectory;
+
+    private final DynamoDbClient dynamoDbClient = mock(DynamoDbClient.class);
+    private final ConsumedCapacityThrottle throttle = new ConsumedCapacityThrottle(TEST_MAX_UNITS_PER_SECOND);
+
+    @Test
+    void testExportAllSegments() throws IOException {
+        // Segment 0 has two pages of two items, and segment 1 a single page of one item
+        mockTable(List.of(2, 2), List.of(1));
+
+        final long exportedItems = buildExporter(2, 2).export(outputDirectory);
+
+        assertEquals(5, exportedItems);
+        assertEquals(List.of("0-0-0", "0-0-1"), readShardConsentIds(0, 0));
+        assertEquals(List.of("0-1-0", "0-1-1"), readShardConsentIds(0, 1));
+        assertEquals(List.of("1-0-0"), readShardConsentIds(1, 0));
+        assertEquals(new ScanSegmentCheckpoint(2, null, 4, true), readCheckpoint(0));
+        assertEquals(new ScanSegmentCheckpoint(1, null, 1, true), readCheckpoint(1));
+        assertNoInProgressFiles();
+    }
+
+    @Test
+    void testExportSeveralPagesPerShard() throws IOException {
+        mockTable(List.of(2, 2, 1));
+
+        final long exportedItems = buildExporter(1, 3).export(outputDirectory);
+
+        assertEquals(5, exportedItems);
+        assertEquals(List.of("0-0-0", "0-0-1", "0-1-0", "0-1-1"), readShardConsentIds(0, 0));
+        assertEquals(List.of("0-2-0"), readShardConsentIds(0, 1));
+        assertEquals(new ScanSegmentCheckpoint(2, null, 5, true), readCheckpoint(0));
+    }
+
+    @Test
+    void testExportEmptySegment() throws IOException {
+        mockTable(List.of(0));
+
+        assertEquals(0, buildExporter(1, 2).export(outputDirectory));
+        assertFalse(Files.exists(shardPath(0, 0)));
+        assertEquals(new ScanSegmentCheckpoint(0, null, 0, true), readCheckpoint(0));
+    }
+
+    @Test
+    void testScanRequest() throws IOException {
+        mockTable(List.of(1));
+
+        buildExporter(1, 2).export(outputDirectory);
+
+        final ArgumentCaptor<ScanRequest> scanRequestCaptor = ArgumentCaptor.forClass(ScanRequest.class);
+        verify(dynamoDbClient).scan(scanRequestCaptor.capture());
+        final ScanRequest scanRequest = scanRequestCaptor.getValue();
+        assertEquals(DynamoDbServiceUserConsent.TABLE_NAME, scanRequest.tableName());
+        assertEquals(0, scanRequest.segment());
+        assertEquals(1, scanRequest.totalSegments());
+        assertEquals(DynamoDbServiceUserConsentTableExporter.DEFAULT_SCAN_PAGE_SIZE, scanRequest.limit());
+        assertFalse(scanRequest.hasExclusiveStartKey());
+    }
+
+    @Test
+    void testResumeFromCheckpoint() throws IOException {
+        mockTable(List.of(2, 2));
+        final ScanSegmentCheckpoint checkpoint = new ScanSegmentCheckpoint(1, "0-0-1", 2, false);
+        Files.write(checkpointPath(0), ConsentManagementApiCodecs.OBJECT_WRITER.writeValueAsBytes(checkpoint));
+        final Path staleShardPath = outputDirectory.resolve(shardPath(0, 1).getFileName()
+            + DynamoDbServiceUserConsentTableExporter.IN_PROGRESS_SUFFIX);
+        Files.writeString(staleShardPath, "PartiallyWrittenShard");
+
+        final long exportedItems = buildExporter(1, 2).export(outputDirectory);
+
+        assertEquals(4, exportedItems);
+        assertFalse(Files.exists(shardPath(0, 0)));
+        assertEquals(List.of("0-1-0", "0-1-1"), readShardConsentIds(0, 1));
+        assertEquals(new ScanSegmentCheckpoint(2, null, 4, true), readCheckpoint(0));
+        assertNoInProgressFiles();
+
+        final ArgumentCaptor<ScanRequest> scanRequestCaptor = ArgumentCaptor.forClass(ScanRequest.class);
+        verify(dynamoDbClient).scan(scanRequestCaptor.capture());
+        assertEquals("0-0-1", scanRequestCaptor.getValue().exclusiveStartKey().get(ID_ATTRIBUTE).s());
+    }
+
+    @Test
+    void testSkipCompleteSegment() throws IOException {
+        final ScanSegmentCheckpoint checkpoint = new ScanSegmentCheckpoint(3, null, 7, true);
+        Files.write(checkpointPath(0), ConsentManagementApiCodecs.OBJECT_WRITER.writeValueAsBytes(checkpoint));
+
+        assertEquals(7, buildExporter(1, 2).export(outputDirectory));
+        verify(dynamoDbClient, never()).scan(any(ScanRequest.class));
+    }
+
+    @Test
+    void testRetryThrottledScan() throws IOException {
+        final ScanResponse scanResponse = ScanResponse.builder()
+            .items(List.of(buildItem("0-0-0")))
+            .build();
+        when(dynamoDbClient.scan(any(ScanRequest.class)))
+            .thenThrow(ProvisionedThroughputExceededException.builder().message("TestThrottled").build())
+            .thenReturn(scanResponse);
+
+        assertEquals(1, buildExporter(1, 2).export(outputDirectory));
+        verify(dynamoDbClient, times(2)).scan(any(ScanRequest.class));
+        assertTrue(throttle.getUnitsPerSecond() < TEST_MAX_UNITS_PER_SECOND);
+        assertEquals(List.of("0-0-0"), readShardConsentIds(0, 0));
+    }
+
+    @Test
+    void testExportWhenUnableToReadCheckpoint() throws IOException {
+        Files.createDirectory(checkpointPath(0));
+
+        assertThrows(IOException.class, () -> buildExporter(1, 2).export(outputDirectory));
+    }
+
+    @Test
+    void testConstructWithInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> buildExporter(0, 2));
+        assertThrows(IllegalArgumentException.class, () -> buildExporter(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new DynamoDbServiceUserConsentTableExporter(dynamoDbClient,
+            DynamoDbServiceUserConsent.TABLE_NAME, 1, 0, 2, throttle));
+    }
+
+    private DynamoDbServiceUserConsentTableExporter buildExporter(final int totalSegments, final int itemsPerShard) {
+        return new DynamoDbServiceUserConsentTableExporter(dynamoDbClient, DynamoDbServiceUserConsent.TABLE_NAME, totalSegments,
+            DynamoDbServiceUserConsentTableExporter.DEFAULT_SCAN_PAGE_SIZE, itemsPerShard, throttle);
+    }
+
+    /**
+     * Mock scans of a table whose items have ids "segment-page-item", given the number of items in each page of each segment.
+     */
+    @SafeVarargs
+    private void mockTable(final List<Integer>... segmentPageSizes) {
+        when(dynamoDbClient.scan(any(ScanRequest.class))).thenAnswer(invocation -> {
+            final ScanRequest scanRequest = invocation.getArgument(0);
+            final int segment = scanRequest.segment();
+            final int page = scanRequest.hasExclusiveStartKey()
+                ? Integer.parseInt(scanRequest.exclusiveStartKey().get(ID_ATTRIBUTE).s().split("-")[1]) + 1
+                : 0;
+            final List<Integer> pageSizes = segmentPageSizes[segment];
+
+            final List<Map<String, AttributeValue>> items = new ArrayList<Map<String, AttributeValue>>();
+            for (int item = 0; item < pageSizes.get(page); item++) {
+                items.add(buildItem(String.format("%d-%d-%d", segment, page, item)));
+            }
+            final ScanResponse.Builder scanResponse = ScanResponse.builder()
+                .items(items)
+                .consumedCapacity(ConsumedCapacity.builder().capacityUnits((double) items.size()).build());
+            if (page + 1 < pageSizes.size()) {
+                scanResponse.lastEvaluatedKey(Map.of(ID_ATTRIBUTE, items.get(items.size() - 1).get(ID_ATTRIBUTE)));
+            }
+            return scanResponse.build();
+        });
+    }
+
+    private static Map<String, AttributeValue> buildItem(final String consentId) {
+        return Map.of(
+            ID_ATTRIBUTE, AttributeValue.fromS(consentId),
+            DynamoDbServiceUserConsentAttributeName.SERVICE_ID.getValue(), AttributeValue.fromS("TestServiceId"),
+            DynamoDbServiceUserConsentAttributeName.USER_ID.getValue(), AttributeValue.fromS("TestUserId"),
+            DynamoDbServiceUserConsentAttributeName.CONSENT_ID.getValue(), AttributeValue.fromS(consentId),
+            DynamoDbServiceUserConsentAttributeName.CONSENT_VERSION.getValue(), AttributeValue.fromN("1"),
+            DynamoDbServiceUserConsentAttributeName.CONSENT_STATUS.getValue(), AttributeValue.fromS(ConsentStatus.ACTIVE.getValue())
+        );
+    }
+
+    private List<String> readShardConsentIds(final int segment, final int shard) throws IOException {
+        final List<String> consentIds = new ArrayList<String>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(shardPath(segment, shard))), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final Consent consent = ConsentManagementApiCodecs.CONSENT_READER.readValue(line);
+                consentIds.add(consent.getConsentId());
+            }
+        }
+        return consentIds;
+    }
+
+    private ScanSegmentCheckpoint readCheckpoint(final int segment) throws IOException {
+        return ConsentManagementApiCodecs.OBJECT_MAPPER.readValue(checkpointPath(segment).toFile(), ScanSegmentCheckpoint.class);
+    }
+
+    private void assertNoInProgressFiles() throws IOException {
+        try (Stream<Path> files = Files.list(outputDirectory)) {
+            assertTrue(files.noneMatch(file -> file.toString().endsWith(DynamoDbServiceUserConsentTableExporter.IN_PROGRESS_SUFFIX)));
+        }
+    }
+
+    private Path shardPath(final int segment, final int shard) {
+        return outputDirectory.resolve(String.format(DynamoDbServiceUserConsentTableExporter.SHARD_FILE_FORMAT, segment, shard));
+    }
+
+    private Path checkpointPath(final int segment) {
+        return outputDirectory.resolve(String.format(DynamoDbServiceUserConsentTableExporter.CHECKPOINT_FILE_FORMAT, segment));
+    }
+}
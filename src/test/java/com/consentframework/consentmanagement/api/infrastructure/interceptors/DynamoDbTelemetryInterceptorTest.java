@@ -0,0 +1,186 @@
+package com.consentframework.consentmanagement.api.infrastructure.interceptors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiMetrics;
+import com.consentframework.consentmanagement.api.usecases.metrics.DynamoDbOperationStatistics;
+import com.consentframework.consentmanagement.api.usecases.metrics.InvocationMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.SdkResponse;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.DescribeTableRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsResponse;
+
+import java.util.Optional;
+
+class DynamoDbTelemetryInterceptorTest {
+    private static final String TEST_HTTP_METHOD = "GET";
+    private static final String TEST_RESOURCE = "/v1/consent-management/services/{serviceId}/users/{userId}/consents";
+    private static final String TEST_ROUTE = TEST_HTTP_METHOD + " " + TEST_RESOURCE;
+    private static final String QUERY_OPERATION = "Query";
+
+    private DynamoDbTelemetryInterceptor interceptor;
+    private ExecutionAttributes executionAttributes;
+
+    @BeforeEach
+    void setup() {
+        interceptor = new DynamoDbTelemetryInterceptor();
+        executionAttributes = new ExecutionAttributes();
+        ApiMetrics.startInvocation(TEST_HTTP_METHOD, TEST_RESOURCE, null, 0);
+    }
+
+    @AfterEach
+    void finishInvocation() {
+        ApiMetrics.finishInvocation();
+    }
+
+    @Test
+    void testModifyRequestReturnsConsumedCapacity() {
+        final Context.ModifyRequest context = mock(Context.ModifyRequest.class);
+        when(context.request()).thenReturn(QueryRequest.builder().tableName("TestTable").build());
+
+        final SdkRequest modifiedRequest = interceptor.modifyRequest(context, executionAttributes);
+
+        assertEquals(ReturnConsumedCapacity.TOTAL, ((QueryRequest) modifiedRequest).returnConsumedCapacity());
+        assertEquals("TestTable", ((QueryRequest) modifiedRequest).tableName());
+    }
+
+    @Test
+    void testWithConsumedCapacityForItemRequests() {
+        final GetItemRequest getItemRequest = (GetItemRequest) DynamoDbTelemetryInterceptor.withConsumedCapacity(
+            GetItemRequest.builder().build());
+        final PutItemRequest putItemRequest = (PutItemRequest) DynamoDbTelemetryInterceptor.withConsumedCapacity(
+            PutItemRequest.builder().build());
+
+        assertEquals(ReturnConsumedCapacity.TOTAL, getItemRequest.returnConsumedCapacity());
+        assertEquals(ReturnConsumedCapacity.TOTAL, putItemRequest.returnConsumedCapacity());
+    }
+
+    @Test
+    void testWithConsumedCapacityKeepsRequestedConsumedCapacity() {
+        final QueryRequest request = QueryRequest.builder().returnConsumedCapacity(ReturnConsumedCapacity.INDEXES).build();
+        assertSame(request, DynamoDbTelemetryInterceptor.withConsumedCapacity(request));
+    }
+
+    @Test
+    void testWithConsumedCapacityIgnoresUnsupportedRequests() {
+        final DescribeTableRequest request = DescribeTableRequest.builder().build();
+        assertSame(request, DynamoDbTelemetryInterceptor.withConsumedCapacity(request));
+    }
+
+    @Test
+    void testRecordRetriedReadCall() {
+        final InvocationMetrics invocationMetrics = ApiMetrics.currentInvocation();
+        final long previousCalls = getCalls(TEST_ROUTE, QUERY_OPERATION);
+
+        executionAttributes.putAttribute(SdkExecutionAttribute.OPERATION_NAME, QUERY_OPERATION);
+        interceptor.beforeExecution(mock(Context.BeforeExecution.class), executionAttributes);
+        interceptor.beforeTransmission(mock(Context.BeforeTransmission.class), executionAttributes);
+        interceptor.afterTransmission(mock(Context.AfterTransmission.class), executionAttributes);
+        interceptor.beforeTransmission(mock(Context.BeforeTransmission.class), executionAttributes);
+        interceptor.afterTransmission(mock(Context.AfterTransmission.class), executionAttributes);
+        interceptor.afterExecution(buildAfterExecutionContext(QueryResponse.builder()
+            .consumedCapacity(ConsumedCapacity.builder().capacityUnits(0.5).build())
+            .build()), executionAttributes);
+
+        assertEquals(1, invocationMetrics.getDynamoDbCalls());
+        assertEquals(1, invocationMetrics.getDynamoDbRetries());
+        assertEquals(0, invocationMetrics.getDynamoDbThrottles());
+        assertEquals(0.5, invocationMetrics.getConsumedReadCapacityUnits());
+        assertEquals(0, invocationMetrics.getConsumedWriteCapacityUnits());
+        assertEquals(previousCalls + 1, getCalls(TEST_ROUTE, QUERY_OPERATION));
+    }
+
+    @Test
+    void testRecordTransactWriteCall() {
+        final InvocationMetrics invocationMetrics = ApiMetrics.currentInvocation();
+
+        executionAttributes.putAttribute(SdkExecutionAttribute.OPERATION_NAME, "TransactWriteItems");
+        interceptor.beforeExecution(mock(Context.BeforeExecution.class), executionAttributes);
+        interceptor.beforeTransmission(mock(Context.BeforeTransmission.class), executionAttributes);
+        interceptor.afterTransmission(mock(Context.AfterTransmission.class), executionAttributes);
+        interceptor.afterExecution(buildAfterExecutionContext(TransactWriteItemsResponse.builder()
+            .consumedCapacity(
+                ConsumedCapacity.builder().capacityUnits(4.0).build(),
+                ConsumedCapacity.builder().capacityUnits(6.0).readCapacityUnits(2.0).writeCapacityUnits(4.0).build())
+            .build()), executionAttributes);
+
+        assertEquals(1, invocationMetrics.getDynamoDbCalls());
+        assertEquals(0, invocationMetrics.getDynamoDbRetries());
+        assertEquals(2.0, invocationMetrics.getConsumedReadCapacityUnits());
+        assertEquals(8.0, invocationMetrics.getConsumedWriteCapacityUnits());
+    }
+
+    @Test
+    void testRecordThrottledCall() {
+        final InvocationMetrics invocationMetrics = ApiMetrics.currentInvocation();
+        final long previousThrottledCalls = getThrottledCalls(TEST_ROUTE, QUERY_OPERATION);
+
+        executionAttributes.putAttribute(SdkExecutionAttribute.OPERATION_NAME, QUERY_OPERATION);
+        interceptor.beforeExecution(mock(Context.BeforeExecution.class), executionAttributes);
+        interceptor.beforeTransmission(mock(Context.BeforeTransmission.class), executionAttributes);
+        final Context.FailedExecution context = mock(Context.FailedExecution.class);
+        when(context.exception()).thenReturn(ProvisionedThroughputExceededException.builder()
+            .statusCode(400)
+            .awsErrorDetails(AwsErrorDetails.builder()
+                .errorCode("ProvisionedThroughputExceededException")
+                .build())
+            .build());
+        when(context.response()).thenReturn(Optional.empty());
+        interceptor.onExecutionFailure(context, executionAttributes);
+
+        assertEquals(1, invocationMetrics.getDynamoDbCalls());
+        assertEquals(1, invocationMetrics.getDynamoDbThrottles());
+        assertEquals(previousThrottledCalls + 1, getThrottledCalls(TEST_ROUTE, QUERY_OPERATION));
+    }
+
+    @Test
+    void testRecordFailedCallOutsideOfInvocation() {
+        ApiMetrics.finishInvocation();
+        final long previousCalls = getCalls(ApiMetrics.UNATTRIBUTED_ROUTE, "GetItem");
+
+        executionAttributes.putAttribute(SdkExecutionAttribute.OPERATION_NAME, "GetItem");
+        final Context.FailedExecution context = mock(Context.FailedExecution.class);
+        when(context.exception()).thenReturn(new IllegalStateException("Test failure"));
+        when(context.response()).thenReturn(Optional.empty());
+        interceptor.onExecutionFailure(context, executionAttributes);
+
+        assertEquals(previousCalls + 1, getCalls(ApiMetrics.UNATTRIBUTED_ROUTE, "GetItem"));
+    }
+
+    private static Context.AfterExecution buildAfterExecutionContext(final SdkResponse response) {
+        final Context.AfterExecution context = mock(Context.AfterExecution.class);
+        when(context.response()).thenReturn(response);
+        return context;
+    }
+
+    private static long getCalls(final String route, final String operation) {
+        final DynamoDbOperationStatistics statistics = getStatistics(route, operation);
+        return statistics == null ? 0 : statistics.getCalls();
+    }
+
+    private static long getThrottledCalls(final String route, final String operation) {
+        final DynamoDbOperationStatistics statistics = getStatistics(route, operation);
+        return statistics == null ? 0 : statistics.getThrottledCalls();
+    }
+
+    private static DynamoDbOperationStatistics getStatistics(final String route, final String operation) {
+        return ApiMetrics.getDynamoDbStatistics().get(new DynamoDbOperationStatistics.Key(route, operation));
+    }
+}
@@ -0,0 +1,107 @@
+package com.consentframework.consentmanagement.api.infrastructure.localstore;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+class ConsentRecordFilesTest {
+    private static final byte[] FIRST_PAYLOAD = "first".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SECOND_PAYLOAD = "second".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testReadFramedRecords() throws IOException {
+        final Path file = writeFile(ConsentRecordFiles.frame(List.of(FIRST_PAYLOAD, SECOND_PAYLOAD)));
+
+        final List<byte[]> payloads = new ArrayList<byte[]>();
+        assertEquals(Files.size(file), readRecords(file, payloads));
+        assertEquals(2, payloads.size());
+        assertArrayEquals(FIRST_PAYLOAD, payloads.get(0));
+        assertArrayEquals(SECOND_PAYLOAD, payloads.get(1));
+    }
+
+    @Test
+    void testReadStopsAtTornRecord() throws IOException {
+        final ByteBuffer records = ConsentRecordFiles.frame(List.of(FIRST_PAYLOAD, SECOND_PAYLOAD));
+        final int firstRecordBytes = ConsentRecordFiles.HEADER_BYTES + FIRST_PAYLOAD.length;
+        final Path file = writeFile(records.limit(records.limit() - 1));
+
+        final List<byte[]> payloads = new ArrayList<byte[]>();
+        assertEquals(firstRecordBytes, readRecords(file, payloads));
+        assertEquals(1, payloads.size());
+    }
+
+    @Test
+    void testReadStopsAtCorruptRecord() throws IOException {
+        final ByteBuffer records = ConsentRecordFiles.frame(List.of(FIRST_PAYLOAD, SECOND_PAYLOAD));
+        final int firstRecordBytes = ConsentRecordFiles.HEADER_BYTES + FIRST_PAYLOAD.length;
+        records.put(firstRecordBytes + ConsentRecordFiles.HEADER_BYTES, (byte) 'S');
+        final Path file = writeFile(records);
+
+        final List<byte[]> payloads = new ArrayList<byte[]>();
+        assertEquals(firstRecordBytes, readRecords(file, payloads));
+        assertEquals(1, payloads.size());
+    }
+
+    @Test
+    void testReadStopsAtZeroFilledSpace() throws IOException {
+        final ByteBuffer records = ConsentRecordFiles.frame(List.of(FIRST_PAYLOAD));
+        final ByteBuffer zeroFilledRecords = ByteBuffer.allocate(records.remaining() + 64).put(records).position(0);
+        final Path file = writeFile(zeroFilledRecords);
+
+        final List<byte[]> payloads = new ArrayList<byte[]>();
+        assertEquals(ConsentRecordFiles.HEADER_BYTES + FIRST_PAYLOAD.length, readRecords(file, payloads));
+        assertEquals(1, payloads.size());
+    }
+
+    @Test
+    void testReadEmptyFile() throws IOException {
+        final Path file = writeFile(ByteBuffer.allocate(0));
+
+        final List<byte[]> payloads = new ArrayList<byte[]>();
+        assertEquals(0, readRecords(file, payloads));
+        assertEquals(0, payloads.size());
+    }
+
+    @Test
+    void testFrameEmptyPayload() {
+        assertThrows(IllegalArgumentException.class, () -> ConsentRecordFiles.frame(List.of(new byte[0])));
+    }
+
+    @Test
+    void testSyncDirectory() {
+        ConsentRecordFiles.syncDirectory(directory);
+        ConsentRecordFiles.syncDirectory(directory.resolve("missing"));
+    }
+
+    private Path writeFile(final ByteBuffer contents) throws IOException {
+        final Path file = directory.resolve("records.dat");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            while (contents.hasRemaining()) {
+                channel.write(contents);
+            }
+        }
+        return file;
+    }
+
+    private static long readRecords(final Path file, final List<byte[]> payloads) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return ConsentRecordFiles.readRecords(channel, payloads::add);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.consentframework.consentmanagement.api.infrastructure.localstore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+class ConsentSnapshotStoreTest {
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testWriteAndLoadSnapshot() throws IOException {
+        final ConsentSnapshotStore snapshotStore = new ConsentSnapshotStore(directory);
+        final List<String> values = IntStream.range(0, 100_000)
+            .mapToObj(index -> "consent-" + index)
+            .collect(Collectors.toList());
+
+        assertEquals(values.size(), snapshotStore.write(3, values.stream().map(ConsentSnapshotStoreTest::payload).iterator()));
+
+        assertEquals(OptionalLong.of(3), snapshotStore.latestSnapshot());
+        assertEquals(values, load(snapshotStore, 3));
+    }
+
+    @Test
+    void testWriteEmptySnapshot() throws IOException {
+        final ConsentSnapshotStore snapshotStore = new ConsentSnapshotStore(directory);
+
+        assertEquals(0, snapshotStore.write(1, List.<byte[]>of().iterator()));
+
+        assertEquals(OptionalLong.of(1), snapshotStore.latestSnapshot());
+        assertTrue(load(snapshotStore, 1).isEmpty());
+    }
+
+    @Test
+    void testLatestSnapshotWhenNone() throws IOException {
+        Files.createFile(directory.resolve(ConsentSnapshotStore.SNAPSHOT_FILE_PREFIX + "unexpected"
+            + ConsentSnapshotStore.SNAPSHOT_FILE_SUFFIX));
+
+        assertEquals(OptionalLong.empty(), new ConsentSnapshotStore(directory).latestSnapshot());
+    }
+
+    @Test
+    void testLoadCorruptSnapshot() throws IOException {
+        final ConsentSnapshotStore snapshotStore = new ConsentSnapshotStore(directory);
+        snapshotStore.write(1, List.of(payload("first")).iterator());
+        final Path snapshotPath = snapshotStore.snapshotPath(1);
+        final long validBytes = Files.size(snapshotPath);
+        Files.write(snapshotPath, new byte[] {1, 2, 3}, StandardOpenOption.APPEND);
+
+        final IOException thrownException = assertThrows(IOException.class, () -> load(snapshotStore, 1));
+        assertEquals(String.format(ConsentSnapshotStore.CORRUPT_SNAPSHOT_MESSAGE, snapshotPath, validBytes, validBytes + 3),
+            thrownException.getMessage());
+    }
+
+    @Test
+    void testDeleteSnapshotsBefore() throws IOException {
+        final ConsentSnapshotStore snapshotStore = new ConsentSnapshotStore(directory);
+        snapshotStore.write(1, List.of(payload("first")).iterator());
+        snapshotStore.write(2, List.of(payload("second")).iterator());
+        final Path inProgressPath = directory.resolve(snapshotStore.snapshotPath(3).getFileName()
+            + ConsentSnapshotStore.IN_PROGRESS_SUFFIX);
+        Files.createFile(inProgressPath);
+
+        snapshotStore.deleteSnapshotsBefore(2);
+
+        assertFalse(Files.exists(snapshotStore.snapshotPath(1)));
+        assertFalse(Files.exists(inProgressPath));
+        assertEquals(List.of("second"), load(snapshotStore, 2));
+    }
+
+    private static List<String> load(final ConsentSnapshotStore snapshotStore, final long segmentNumber) throws IOException {
+        final List<String> values = new ArrayList<String>();
+        snapshotStore.load(segmentNumber, payload -> values.add(new String(payload, StandardCharsets.UTF_8)));
+        return values;
+    }
+
+    private static byte[] payload(final String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,149 @@
+package com.consentframework.consentmanagement.api.infrastructure.localstore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+class ConsentWriteAheadLogTest {
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testAppendAndRecover() throws IOException {
+        try (ConsentWriteAheadLog log = new ConsentWriteAheadLog(directory, 0)) {
+            log.append(List.of(payload("first"), payload("second")));
+            log.append(List.of(payload("third")));
+            assertEquals(3 * ConsentRecordFiles.HEADER_BYTES + "firstsecondthird".length(), log.segmentBytes());
+        }
+
+        assertEquals(List.of("first", "second", "third"), recover(0));
+    }
+
+    @Test
+    void testRecoverTruncatesTornRecord() throws IOException {
+        try (ConsentWriteAheadLog log = new ConsentWriteAheadLog(directory, 0)) {
+            log.append(List.of(payload("first")));
+        }
+        final Path segment = ConsentWriteAheadLog.segmentPath(directory, 0);
+        final long validBytes = Files.size(segment);
+        Files.write(segment, new byte[] {0, 0, 0, 9, 1, 2}, StandardOpenOption.APPEND);
+
+        assertEquals(List.of("first"), recover(0));
+        assertEquals(validBytes, Files.size(segment));
+
+        try (ConsentWriteAheadLog log = new ConsentWriteAheadLog(directory, 0)) {
+            log.append(List.of(payload("second")));
+        }
+        assertEquals(List.of("first", "second"), recover(0));
+    }
+
+    @Test
+    void testConcurrentAppendsAreAllDurable() throws Exception {
+        final int threads = 8;
+        final int appendsPerThread = 200;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (ConsentWriteAheadLog log = new ConsentWriteAheadLog(directory, 0)) {
+            final List<Future<?>> results = new ArrayList<Future<?>>();
+            for (int thread = 0; thread < threads; thread++) {
+                final int threadIndex = thread;
+                results.add(executor.submit(() -> {
+                    for (int append = 0; append < appendsPerThread; append++) {
+                        log.append(List.of(payload(threadIndex + "-" + append)));
+                    }
+                    return null;
+                }));
+            }
+            for (final Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final List<String> recoveredPayloads = recover(0);
+        assertEquals(threads * appendsPerThread, recoveredPayloads.size());
+        assertEquals(threads * appendsPerThread, new HashSet<String>(recoveredPayloads).size());
+    }
+
+    @Test
+    void testRotateAndDeleteSegments() throws IOException {
+        try (ConsentWriteAheadLog log = new ConsentWriteAheadLog(directory, 0)) {
+            log.append(List.of(payload("first")));
+            assertEquals(1, log.rotate());
+            assertEquals(0, log.segmentBytes());
+            log.append(List.of(payload("second")));
+        }
+
+        assertEquals(List.of(0L, 1L), ConsentWriteAheadLog.listSegmentNumbers(directory));
+        assertEquals(List.of("first", "second"), recover(0));
+        assertEquals(List.of("second"), recover(1));
+
+        ConsentWriteAheadLog.deleteSegmentsBefore(directory, 1);
+        assertEquals(List.of(1L), ConsentWriteAheadLog.listSegmentNumbers(directory));
+    }
+
+    @Test
+    void testRecoverWithoutSegments() throws IOException {
+        final List<String> payloads = new ArrayList<String>();
+
+        assertEquals(3, ConsentWriteAheadLog.recover(directory, 3, payload -> payloads.add(new String(payload, StandardCharsets.UTF_8))));
+        assertTrue(payloads.isEmpty());
+    }
+
+    @Test
+    void testListSegmentsIgnoresUnexpectedFiles() throws IOException {
+        Files.createFile(directory.resolve(ConsentWriteAheadLog.SEGMENT_FILE_PREFIX + "unexpected"
+            + ConsentWriteAheadLog.SEGMENT_FILE_SUFFIX));
+        Files.createFile(ConsentWriteAheadLog.segmentPath(directory, 2));
+
+        assertEquals(List.of(2L), ConsentWriteAheadLog.listSegmentNumbers(directory));
+    }
+
+    @Test
+    void testAppendAfterClose() throws IOException {
+        final ConsentWriteAheadLog log = new ConsentWriteAheadLog(directory, 0);
+        log.close();
+        log.close();
+
+        final IOException thrownException = assertThrows(IOException.class, () -> log.append(List.of(payload("first"))));
+        assertEquals(String.format(ConsentWriteAheadLog.LOG_CLOSED_MESSAGE, directory), thrownException.getMessage());
+        assertThrows(IOException.class, log::rotate);
+    }
+
+    @Test
+    void testRotateFailureFailsLog() throws IOException {
+        try (ConsentWriteAheadLog log = new ConsentWriteAheadLog(directory, 0)) {
+            Files.createDirectory(ConsentWriteAheadLog.segmentPath(directory, 1));
+
+            assertThrows(IOException.class, log::rotate);
+            final IOException thrownException = assertThrows(IOException.class, () -> log.append(List.of(payload("first"))));
+            assertEquals(String.format(ConsentWriteAheadLog.LOG_FAILED_MESSAGE, directory), thrownException.getMessage());
+        }
+    }
+
+    private List<String> recover(final long firstSegmentNumber) throws IOException {
+        final List<String> payloads = new ArrayList<String>();
+        ConsentWriteAheadLog.recover(directory, firstSegmentNumber, payload -> payloads.add(new String(payload, StandardCharsets.UTF_8)));
+        return payloads;
+    }
+
+    private static byte[] payload(final String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -1,8 +1,13 @@
 package com.consentframework.consentmanagement.api.infrastructure.mappers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.consentframework.consentmanagement.api.infrastructure.constants.DynamoDbServiceUserConsentAttributeName;
+import com.consentframework.consentmanagement.api.infrastructure.schemas.DynamoDbServiceUserConsentTableSchema;
 import com.consentframework.consentmanagement.api.models.Consent;
 import com.consentframework.consentmanagement.api.models.ConsentStatus;
 import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
@@ -13,7 +18,11 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
+import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 class DynamoDbServiceUserConsentMapperTest {
@@ -122,5 +131,168 @@ class DynamoDbServiceUserConsentMapperTest {
                 TestConstants.TEST_CONSENT_DDB_ATTRIBUTES);
             assertEquals(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS, parsedConsent);
         }
+
+        @Test
+        void testMapToConsentWhenOnlyRequiredFieldsPresent() {
+            final Map<String, AttributeValue> ddbItemMap = DynamoDbServiceUserConsentTableSchema.TABLE_SCHEMA.itemToMap(
+                TestConstants.TEST_DDB_CONSENT_WITH_ONLY_REQUIRED_FIELDS, true);
+
+            final Consent parsedConsent = DynamoDbServiceUserConsentMapper.dynamoDbAttributeMapToConsent(ddbItemMap);
+
+            assertEquals(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS, parsedConsent);
+        }
+
+        @Test
+        void testMapToConsentWhenLegacyItemFormat() {
+            final Consent parsedConsent = DynamoDbServiceUserConsentMapper.dynamoDbAttributeMapToConsent(
+                TestConstants.TEST_LEGACY_CONSENT_DDB_ATTRIBUTES);
+            assertEquals(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS, parsedConsent);
+        }
+    }
+
+    @Nested
+    class CompactItemFormatTest {
+        @Test
+        void testToConsentId() {
+            assertEquals(TestConstants.TEST_CONSENT_ID, DynamoDbServiceUserConsentMapper.toConsentId(TestConstants.TEST_PARTITION_KEY,
+                TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID));
+            assertEquals("Consent|Id", DynamoDbServiceUserConsentMapper.toConsentId(
+                DynamoDbServiceUserConsentMapper.toDynamoDbId("Service", "User", "Consent|Id"), "Service", "User"));
+        }
+
+        @Test
+        void testToConsentIdWhenIdNotPrefixedByServiceUser() {
+            assertNull(DynamoDbServiceUserConsentMapper.toConsentId(TestConstants.TEST_PARTITION_KEY, "OtherServiceId",
+                TestConstants.TEST_USER_ID));
+            assertNull(DynamoDbServiceUserConsentMapper.toConsentId(null, TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID));
+            assertNull(DynamoDbServiceUserConsentMapper.toConsentId(TestConstants.TEST_PARTITION_KEY, null, TestConstants.TEST_USER_ID));
+        }
+
+        @Test
+        void testIsCompactItemFormat() {
+            assertTrue(DynamoDbServiceUserConsentMapper.isCompactItemFormat(TestConstants.TEST_CONSENT_DDB_ATTRIBUTES));
+
+            final Map<String, AttributeValue> legacyItem = new HashMap<String, AttributeValue>(TestConstants.TEST_CONSENT_DDB_ATTRIBUTES);
+            legacyItem.put(DynamoDbServiceUserConsentAttributeName.CONSENT_ID.getValue(),
+                AttributeValue.fromS(TestConstants.TEST_CONSENT_ID));
+            assertFalse(DynamoDbServiceUserConsentMapper.isCompactItemFormat(legacyItem));
+
+            final Map<String, AttributeValue> unformattedItem =
+                new HashMap<String, AttributeValue>(TestConstants.TEST_CONSENT_DDB_ATTRIBUTES);
+            unformattedItem.remove(DynamoDbServiceUserConsentAttributeName.ITEM_FORMAT.getValue());
+            assertFalse(DynamoDbServiceUserConsentMapper.isCompactItemFormat(unformattedItem));
+            assertFalse(DynamoDbServiceUserConsentMapper.isCompactItemFormat(null));
+        }
+
+        @Test
+        void testExpiryTimeMillis() {
+            final long expiryTimeMillis = TestConstants.TEST_EXPIRY_TIME.toInstant().toEpochMilli();
+            assertEquals(expiryTimeMillis, DynamoDbServiceUserConsentMapper.toExpiryTimeMillis(TestConstants.TEST_EXPIRY_TIME.toString()));
+            assertEquals(expiryTimeMillis, DynamoDbServiceUserConsentMapper.toExpiryTimeMillis(
+                DynamoDbServiceUserConsentMapper.fromExpiryTimeMillis(expiryTimeMillis)));
+            assertNull(DynamoDbServiceUserConsentMapper.toExpiryTimeMillis(null));
+            assertNull(DynamoDbServiceUserConsentMapper.fromExpiryTimeMillis(null));
+        }
+    }
+
+    @Nested
+    class IndexKeyTest {
+        @Test
+        void testToDynamoDbId() {
+            assertEquals(TestConstants.TEST_PARTITION_KEY, DynamoDbServiceUserConsentMapper.toDynamoDbId(TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID));
+            assertEquals("null|User|null", DynamoDbServiceUserConsentMapper.toDynamoDbId(null, "User", null));
+        }
+
+        @Test
+        void testToExpiryHourMatchesConverter() {
+            final OffsetDateTime expiryTime = TestConstants.TEST_EXPIRY_TIME;
+            final OffsetDateTime sameHourExpiryTime = expiryTime.truncatedTo(ChronoUnit.HOURS).plusMinutes(59);
+            final OffsetDateTime collidingExpiryTime = expiryTime.plusHours(DynamoDbServiceUserConsentMapper.EXPIRY_HOUR_CACHE_SIZE);
+            final OffsetDateTime offsetExpiryTime = expiryTime.withOffsetSameInstant(ZoneOffset.ofHours(-7));
+            final OffsetDateTime preEpochExpiryTime = OffsetDateTime.of(1969, 12, 31, 23, 30, 0, 0, ZoneOffset.UTC);
+
+            for (final OffsetDateTime time : List.of(expiryTime, sameHourExpiryTime, collidingExpiryTime, expiryTime, offsetExpiryTime,
+                    preEpochExpiryTime)) {
+                assertEquals(DynamoDbConsentExpiryTimeConverter.toExpiryHour(time.withOffsetSameInstant(ZoneOffset.UTC)),
+                    DynamoDbServiceUserConsentMapper.toExpiryHour(time));
+            }
+            assertSame(DynamoDbServiceUserConsentMapper.toExpiryHour(expiryTime),
+                DynamoDbServiceUserConsentMapper.toExpiryHour(sameHourExpiryTime));
+        }
+
+        @Test
+        void testToExpiryTimeIdMatchesConverter() {
+            final String expiryTimeString = DynamoDbConsentExpiryTimeConverter.toExpiryTimeString(TestConstants.TEST_EXPIRY_TIME);
+            final String expectedExpiryTimeId = DynamoDbConsentExpiryTimeConverter.toExpiryTimeId(TestConstants.TEST_EXPIRY_TIME,
+                TestConstants.TEST_PARTITION_KEY);
+            assertEquals(expectedExpiryTimeId,
+                DynamoDbServiceUserConsentMapper.toExpiryTimeId(expiryTimeString, TestConstants.TEST_PARTITION_KEY));
+        }
+
+        @Test
+        void testNormalizeExpiryTime() {
+            final OffsetDateTime expiryTime = OffsetDateTime.of(2030, 1, 1, 5, 30, 0, 123_456_789, ZoneOffset.ofHours(-7));
+            assertEquals(OffsetDateTime.of(2030, 1, 1, 12, 30, 0, 123_000_000, ZoneOffset.UTC),
+                DynamoDbServiceUserConsentMapper.normalizeExpiryTime(expiryTime));
+        }
+
+        @Test
+        void testExpiryIndexKeysMatchStoredExpiryTime() {
+            final OffsetDateTime expiryTime = TestConstants.TEST_EXPIRY_TIME.plusNanos(123_456_789)
+                .withOffsetSameInstant(ZoneOffset.ofHours(-7));
+            final DynamoDbServiceUserConsent ddbConsent = DynamoDbServiceUserConsentMapper.toDynamoDbServiceUserConsent(
+                TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS).expiryTime(expiryTime));
+
+            final OffsetDateTime storedExpiryTime = OffsetDateTime.parse(DynamoDbServiceUserConsentMapper.fromExpiryTimeMillis(
+                DynamoDbServiceUserConsentMapper.toExpiryTimeMillis(ddbConsent.expiryTime())));
+            final DynamoDbServiceUserConsent reconciledDdbConsent = DynamoDbServiceUserConsentMapper.toDynamoDbServiceUserConsent(
+                TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS).expiryTime(storedExpiryTime));
+
+            assertEquals(reconciledDdbConsent.expiryTime(), ddbConsent.expiryTime());
+            assertEquals(reconciledDdbConsent.expiryHour(), ddbConsent.expiryHour());
+            assertEquals(reconciledDdbConsent.expiryTimeId(), ddbConsent.expiryTimeId());
+        }
+
+        @Test
+        void testToServiceUserId() {
+            assertEquals(TestConstants.TEST_SERVICE_USER_ID,
+                DynamoDbServiceUserConsentMapper.toServiceUserId(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID));
+            assertNull(DynamoDbServiceUserConsentMapper.toServiceUserId(null, TestConstants.TEST_USER_ID));
+        }
+
+        @Test
+        void testToStatusTypeId() {
+            assertEquals(TestConstants.TEST_STATUS_TYPE_ID, DynamoDbServiceUserConsentMapper.toStatusTypeId(
+                TestConstants.TEST_CONSENT_STATUS.getValue(), TestConstants.TEST_CONSENT_TYPE, TestConstants.TEST_CONSENT_ID));
+            assertEquals(ConsentStatus.ACTIVE.getValue() + "||" + TestConstants.TEST_CONSENT_ID,
+                DynamoDbServiceUserConsentMapper.toStatusTypeId(ConsentStatus.ACTIVE.getValue(), null, TestConstants.TEST_CONSENT_ID));
+            assertNull(DynamoDbServiceUserConsentMapper.toStatusTypeId(null, TestConstants.TEST_CONSENT_TYPE,
+                TestConstants.TEST_CONSENT_ID));
+        }
+
+        @Test
+        void testToStatusTypeIdEscapesSeparators() {
+            assertEquals(ConsentStatus.ACTIVE.getValue() + "|Type\\|A\\\\|" + TestConstants.TEST_CONSENT_ID,
+                DynamoDbServiceUserConsentMapper.toStatusTypeId(ConsentStatus.ACTIVE.getValue(), "Type|A\\",
+                    TestConstants.TEST_CONSENT_ID));
+        }
+
+        @Test
+        void testToStatusTypeIdPrefix() {
+            assertEquals(ConsentStatus.REVOKED.getValue() + "|",
+                DynamoDbServiceUserConsentMapper.toStatusTypeIdPrefix(ConsentStatus.REVOKED, null));
+            assertEquals(ConsentStatus.REVOKED.getValue() + "|Type\\|A|",
+                DynamoDbServiceUserConsentMapper.toStatusTypeIdPrefix(ConsentStatus.REVOKED, "Type|A"));
+        }
+
+        @Test
+        void testStatusTypeIdPrefixDoesNotMatchLongerConsentType() {
+            final String prefix = DynamoDbServiceUserConsentMapper.toStatusTypeIdPrefix(ConsentStatus.ACTIVE, "Type");
+            assertTrue(DynamoDbServiceUserConsentMapper.toStatusTypeId(ConsentStatus.ACTIVE.getValue(), "Type",
+                TestConstants.TEST_CONSENT_ID).startsWith(prefix));
+            assertFalse(DynamoDbServiceUserConsentMapper.toStatusTypeId(ConsentStatus.ACTIVE.getValue(), "Type|Extended",
+                TestConstants.TEST_CONSENT_ID).startsWith(prefix));
+        }
     }
 }
@@ -1,20 +1,32 @@
 package com.consentframework.consentmanagement.api.infrastructure.mappers;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentFilter;
+import com.consentframework.consentmanagement.api.infrastructure.constants.DynamoDbServiceUserConsentAttributeName;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
 import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
 import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
 import com.consentframework.shared.api.infrastructure.entities.DynamoDbServiceUserConsent;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
 
 class DynamoDbServiceUserConsentPageTokenMapperTest {
+    private static final String INDEX_NAME = DynamoDbServiceUserConsent.CONSENT_BY_SERVICE_USER_GSI_NAME;
+    private static final ServiceUserConsentFilter FILTER = ServiceUserConsentFilter.NONE;
     private static final Map<String, AttributeValue> ATTRIBUTE_VALUE_MAP_TOKEN = Map.of(
         DynamoDbServiceUserConsent.PARTITION_KEY,
         AttributeValue.fromS(TestConstants.TEST_PARTITION_KEY));
@@ -22,52 +34,167 @@ class DynamoDbServiceUserConsentPageTokenMapperTest {
     @Nested
     class ToDynamoDbPageTokenTest {
         @Test
-        void testMapNullToken() throws BadRequestException {
-            final Map<String, AttributeValue> parsedToken = DynamoDbServiceUserConsentPageTokenMapper.toDynamoDbPageToken(null);
+        void testMapNullToken() throws BadRequestException, InternalServiceException {
+            final Map<String, AttributeValue> parsedToken = toDynamoDbPageToken(null);
             assertNull(parsedToken);
         }
 
         @Test
-        void testMapInvalidToken() throws BadRequestException {
-            final String invalidToken = "NotAJsonString";
-            final BadRequestException throwException = assertThrows(BadRequestException.class, () ->
-                DynamoDbServiceUserConsentPageTokenMapper.toDynamoDbPageToken(invalidToken));
-            final String expectedErrorMessage = String.format(DynamoDbServiceUserConsentPageTokenMapper.INVALID_PAGE_TOKEN_MESSAGE,
-                invalidToken);
-            assertEquals(expectedErrorMessage, throwException.getMessage());
+        void testMapInvalidToken() throws BadRequestException, InternalServiceException {
+            assertInvalidToken("Not+Base64!");
+            assertInvalidToken("");
+            assertInvalidToken("{\"id\":\"TestServiceId|TestUserId|TestConsentId\"}");
+        }
+
+        @Test
+        void testMapTamperedToken() throws BadRequestException, InternalServiceException {
+            final byte[] token = Base64.getUrlDecoder().decode(TestConstants.TEST_DDB_PAGE_TOKEN);
+            token[token.length - DynamoDbServiceUserConsentPageTokenMapper.SIGNATURE_LENGTH - 1] ^= 1;
+
+            assertInvalidToken(Base64.getUrlEncoder().withoutPadding().encodeToString(token));
         }
 
         @Test
-        void testMapValidToken() throws BadRequestException {
-            final Map<String, AttributeValue> parsedToken = DynamoDbServiceUserConsentPageTokenMapper.toDynamoDbPageToken(
-                TestConstants.TEST_DDB_PAGE_TOKEN);
+        void testMapTokenWithUnsupportedVersion() throws BadRequestException, InternalServiceException {
+            final byte[] token = Base64.getUrlDecoder().decode(TestConstants.TEST_DDB_PAGE_TOKEN);
+            token[0] = DynamoDbServiceUserConsentPageTokenMapper.TOKEN_VERSION + 1;
+
+            assertInvalidToken(Base64.getUrlEncoder().withoutPadding().encodeToString(token));
+        }
+
+        @Test
+        void testMapTokenIssuedForAnotherServiceUser() throws BadRequestException, InternalServiceException {
+            final String otherUserToken = DynamoDbServiceUserConsentPageTokenMapper.toPageToken(TestConstants.TEST_SERVICE_ID,
+                "OtherUserId", INDEX_NAME, FILTER, ATTRIBUTE_VALUE_MAP_TOKEN);
+
+            assertInvalidToken(otherUserToken);
+        }
+
+        @Test
+        void testMapTokenIssuedForAnotherQuery() throws BadRequestException, InternalServiceException {
+            assertInvalidToken(DynamoDbServiceUserConsentPageTokenMapper.toPageToken(TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID, "OtherIndexName", FILTER, ATTRIBUTE_VALUE_MAP_TOKEN));
+            assertInvalidToken(DynamoDbServiceUserConsentPageTokenMapper.toPageToken(TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID, INDEX_NAME, new ServiceUserConsentFilter(ConsentStatus.ACTIVE, null),
+                ATTRIBUTE_VALUE_MAP_TOKEN));
+            assertInvalidToken(DynamoDbServiceUserConsentPageTokenMapper.toPageToken(TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID, INDEX_NAME, new ServiceUserConsentFilter(null, "null"), ATTRIBUTE_VALUE_MAP_TOKEN));
+        }
+
+        @Test
+        void testMapValidToken() throws BadRequestException, InternalServiceException {
+            final Map<String, AttributeValue> parsedToken = toDynamoDbPageToken(TestConstants.TEST_DDB_PAGE_TOKEN);
             assertEquals(ATTRIBUTE_VALUE_MAP_TOKEN, parsedToken);
         }
+
+        private void assertInvalidToken(final String invalidToken) {
+            final BadRequestException thrownException = assertThrows(BadRequestException.class, () ->
+                toDynamoDbPageToken(invalidToken));
+            final String expectedErrorMessage = String.format(DynamoDbServiceUserConsentPageTokenMapper.INVALID_PAGE_TOKEN_MESSAGE,
+                invalidToken);
+            assertEquals(expectedErrorMessage, thrownException.getMessage());
+        }
+
+        private Map<String, AttributeValue> toDynamoDbPageToken(final String pageToken)
+                throws BadRequestException, InternalServiceException {
+            return DynamoDbServiceUserConsentPageTokenMapper.toDynamoDbPageToken(TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID, INDEX_NAME, FILTER, pageToken);
+        }
     }
 
     @Nested
-    class ToJsonStringPageTokenTest {
+    class ToPageTokenTest {
         @Test
-        void testMapNullToken() throws BadRequestException {
-            final String parsedToken = DynamoDbServiceUserConsentPageTokenMapper.toJsonStringPageToken(null);
+        void testMapNullToken() throws BadRequestException, InternalServiceException {
+            final String parsedToken = toPageToken(null);
             assertNull(parsedToken);
         }
 
         @Test
-        void testParseInvalidToken() throws BadRequestException {
+        void testParseInvalidToken() throws BadRequestException, InternalServiceException {
             final Map<String, AttributeValue> invalidToken = new HashMap<String, AttributeValue>();
-            invalidToken.put("SomeKey", null);
-            final BadRequestException thrownException = assertThrows(BadRequestException.class, () ->
-                DynamoDbServiceUserConsentPageTokenMapper.toJsonStringPageToken(invalidToken));
+            invalidToken.put(DynamoDbServiceUserConsentAttributeName.ID.getValue(), null);
+            assertInvalidToken(invalidToken);
+        }
+
+        @Test
+        void testParseTokenWithUnknownAttribute() throws BadRequestException, InternalServiceException {
+            assertInvalidToken(Map.of("SomeKey", AttributeValue.fromS("SomeValue")));
+        }
+
+        @Test
+        void testParseTokenWithNonStringAttribute() throws BadRequestException, InternalServiceException {
+            assertInvalidToken(Map.of(DynamoDbServiceUserConsentAttributeName.ID.getValue(), AttributeValue.fromN("1")));
+        }
+
+        @Test
+        void testMapValidToken() throws BadRequestException, InternalServiceException {
+            final String parsedToken = toPageToken(ATTRIBUTE_VALUE_MAP_TOKEN);
+            assertEquals(TestConstants.TEST_DDB_PAGE_TOKEN, parsedToken);
+        }
+
+        @Test
+        void testRoundTripIndexKeyToken() throws BadRequestException, InternalServiceException {
+            final Map<String, AttributeValue> lastEvaluatedKey = Map.of(
+                DynamoDbServiceUserConsentAttributeName.ID.getValue(), AttributeValue.fromS(TestConstants.TEST_PARTITION_KEY),
+                DynamoDbServiceUserConsentAttributeName.SERVICE_USER_ID.getValue(),
+                AttributeValue.fromS(TestConstants.TEST_SERVICE_USER_ID),
+                DynamoDbServiceUserConsentAttributeName.STATUS_TYPE_ID.getValue(),
+                AttributeValue.fromS(TestConstants.TEST_STATUS_TYPE_ID));
+
+            final String pageToken = toPageToken(lastEvaluatedKey);
+
+            assertFalse(pageToken.contains("="));
+            assertTrue(pageToken.matches("[A-Za-z0-9_-]+"));
+            assertEquals(lastEvaluatedKey, DynamoDbServiceUserConsentPageTokenMapper.toDynamoDbPageToken(TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID, INDEX_NAME, FILTER, pageToken));
+        }
+
+        @Test
+        void testTokenIsSignedForServiceUser() throws BadRequestException, InternalServiceException {
+            final String otherServiceToken = DynamoDbServiceUserConsentPageTokenMapper.toPageToken("OtherServiceId",
+                TestConstants.TEST_USER_ID, INDEX_NAME, FILTER, ATTRIBUTE_VALUE_MAP_TOKEN);
+
+            assertNotEquals(toPageToken(ATTRIBUTE_VALUE_MAP_TOKEN), otherServiceToken);
+        }
+
+        private void assertInvalidToken(final Map<String, AttributeValue> invalidToken) {
+            final BadRequestException thrownException = assertThrows(BadRequestException.class, () -> toPageToken(invalidToken));
             final String expectedMessage = String.format(DynamoDbServiceUserConsentPageTokenMapper.INVALID_PAGE_TOKEN_MESSAGE,
                 invalidToken.toString());
             assertEquals(expectedMessage, thrownException.getMessage());
         }
 
+        private String toPageToken(final Map<String, AttributeValue> pageToken) throws BadRequestException, InternalServiceException {
+            return DynamoDbServiceUserConsentPageTokenMapper.toPageToken(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+                INDEX_NAME, FILTER, pageToken);
+        }
+    }
+
+    @Nested
+    class ParseSigningKeyTest {
         @Test
-        void testMapValidToken() throws BadRequestException {
-            final String parsedToken = DynamoDbServiceUserConsentPageTokenMapper.toJsonStringPageToken(ATTRIBUTE_VALUE_MAP_TOKEN);
-            assertEquals(TestConstants.TEST_DDB_PAGE_TOKEN, parsedToken);
+        void testParseConfiguredKey() {
+            final byte[] signingKey = new byte[DynamoDbServiceUserConsentPageTokenMapper.MIN_SIGNING_KEY_LENGTH];
+            signingKey[0] = 1;
+
+            assertArrayEquals(signingKey,
+                DynamoDbServiceUserConsentPageTokenMapper.parseSigningKey(Base64.getEncoder().encodeToString(signingKey)));
+        }
+
+        @Test
+        void testRejectMissingOrInvalidKey() {
+            final String shortKey = Base64.getEncoder().encodeToString(new byte[] {1, 2, 3});
+            for (final String invalidKey : new String[] {null, "Not base64!", shortKey}) {
+                final IllegalStateException thrownException = assertThrows(IllegalStateException.class, () ->
+                    DynamoDbServiceUserConsentPageTokenMapper.parseSigningKey(invalidKey));
+                assertEquals(DynamoDbServiceUserConsentPageTokenMapper.INVALID_SIGNING_KEY_MESSAGE, thrownException.getMessage());
+            }
+        }
+
+        @Test
+        void testVerifyConfiguredKey() {
+            assertDoesNotThrow(DynamoDbServiceUserConsentPageTokenMapper::verifySigningKey);
         }
     }
 }
@@ -0,0 +1,198 @@
+package com.consentframework.consentmanagement.api.infrastructure.mappers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentPatch;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.consentmanagement.api.testcommon.utils.TestUtils;
+import com.consentframework.shared.api.infrastructure.entities.DynamoDbServiceUserConsent;
+import com.consentframework.shared.api.infrastructure.mappers.DynamoDbConsentExpiryTimeConverter;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValuesOnConditionCheckFailure;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+class DynamoDbServiceUserConsentPatchMapperTest {
+    private static final String TEST_TABLE_NAME = "TestTableName";
+
+    @Test
+    void testToUpdateItemRequestSetsAndRemovesPatchedAttributes() {
+        final ServiceUserConsentPatch patch = buildPatch(null, Optional.of("UpdatedType"), Optional.empty());
+
+        final UpdateItemRequest request = DynamoDbServiceUserConsentPatchMapper.toUpdateItemRequest(TEST_TABLE_NAME, patch);
+
+        assertEquals(TEST_TABLE_NAME, request.tableName());
+        assertEquals(Map.of("id", AttributeValue.fromS(TestConstants.TEST_PARTITION_KEY)), request.key());
+        assertEquals("SET v = :v, t = :t REMOVE consentVersion, consentType, d, consentData", request.updateExpression());
+        assertEquals("attribute_exists(id) AND (v = :expectedConsentVersion OR consentVersion = :expectedConsentVersion)",
+            request.conditionExpression());
+        assertEquals(Map.of(
+            ":v", AttributeValue.fromN("2"),
+            ":t", AttributeValue.fromS("UpdatedType"),
+            DynamoDbServiceUserConsentPatchMapper.EXPECTED_CONSENT_VERSION, AttributeValue.fromN("1")
+        ), request.expressionAttributeValues());
+        assertEquals(ReturnValue.ALL_NEW, request.returnValues());
+        assertEquals(ReturnValuesOnConditionCheckFailure.ALL_OLD, request.returnValuesOnConditionCheckFailure());
+    }
+
+    @Test
+    void testToUpdateItemRequestRemovesExpiryIndexKeysWhenDeactivated() {
+        final ServiceUserConsentPatch patch = buildPatch(Optional.of(ConsentStatus.REVOKED), null, null);
+
+        final UpdateItemRequest request = DynamoDbServiceUserConsentPatchMapper.toUpdateItemRequest(TEST_TABLE_NAME, patch);
+
+        assertEquals("SET v = :v, s = :s REMOVE consentVersion, consentStatus, expiryHour, expiryTimeId", request.updateExpression());
+    }
+
+    @Test
+    void testToUpdateItemRequestSetsExpiryIndexKeysWhenActiveWithExpiryTime() {
+        final ServiceUserConsentPatch patch = new ServiceUserConsentPatch(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+            TestConstants.TEST_CONSENT_ID, 2, Optional.of(ConsentStatus.ACTIVE), null, null, Optional.of(TestConstants.TEST_EXPIRY_TIME));
+
+        final UpdateItemRequest request = DynamoDbServiceUserConsentPatchMapper.toUpdateItemRequest(TEST_TABLE_NAME, patch);
+
+        assertTrue(request.updateExpression().contains("expiryHour = :expiryHour"));
+        assertTrue(request.updateExpression().contains("e = :e"));
+        assertEquals(AttributeValue.fromN(Long.toString(TestConstants.TEST_EXPIRY_TIME.toInstant().toEpochMilli())),
+            request.expressionAttributeValues().get(":e"));
+        assertEquals(AttributeValue.fromS(DynamoDbConsentExpiryTimeConverter.toExpiryTimeId(TestConstants.TEST_EXPIRY_TIME,
+            TestConstants.TEST_PARTITION_KEY)), request.expressionAttributeValues().get(":expiryTimeId"));
+    }
+
+    @Test
+    void testToUpdateItemRequestNormalizesExpiryTime() {
+        final OffsetDateTime expiryTime = TestConstants.TEST_EXPIRY_TIME.plusNanos(123_456_789)
+            .withOffsetSameInstant(ZoneOffset.ofHours(-7));
+        final OffsetDateTime normalizedExpiryTime = DynamoDbServiceUserConsentMapper.normalizeExpiryTime(expiryTime);
+        final ServiceUserConsentPatch patch = new ServiceUserConsentPatch(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+            TestConstants.TEST_CONSENT_ID, 2, Optional.of(ConsentStatus.ACTIVE), null, null, Optional.of(expiryTime));
+
+        final UpdateItemRequest request = DynamoDbServiceUserConsentPatchMapper.toUpdateItemRequest(TEST_TABLE_NAME, patch);
+
+        assertEquals(AttributeValue.fromN(Long.toString(normalizedExpiryTime.toInstant().toEpochMilli())),
+            request.expressionAttributeValues().get(":e"));
+        assertEquals(AttributeValue.fromS(DynamoDbConsentExpiryTimeConverter.toExpiryHour(normalizedExpiryTime)),
+            request.expressionAttributeValues().get(":expiryHour"));
+        assertEquals(AttributeValue.fromS(DynamoDbConsentExpiryTimeConverter.toExpiryTimeId(normalizedExpiryTime,
+            TestConstants.TEST_PARTITION_KEY)), request.expressionAttributeValues().get(":expiryTimeId"));
+    }
+
+    @Test
+    void testToUpdateItemRequestSetsStatusTypeIdWhenStatusAndTypePatched() {
+        final ServiceUserConsentPatch patch = buildPatch(Optional.of(ConsentStatus.REVOKED), Optional.of("Updated|Type"), null);
+
+        final UpdateItemRequest request = DynamoDbServiceUserConsentPatchMapper.toUpdateItemRequest(TEST_TABLE_NAME, patch);
+
+        assertTrue(request.updateExpression().contains("statusTypeId = :statusTypeId"));
+        assertEquals(AttributeValue.fromS(ConsentStatus.REVOKED.getValue() + "|Updated\\|Type|" + TestConstants.TEST_CONSENT_ID),
+            request.expressionAttributeValues().get(":statusTypeId"));
+    }
+
+    @Test
+    void testToUpdateItemRequestDoesNotSetStatusTypeIdWhenTypeNotPatched() {
+        final ServiceUserConsentPatch patch = buildPatch(Optional.of(ConsentStatus.REVOKED), null, null);
+
+        final UpdateItemRequest request = DynamoDbServiceUserConsentPatchMapper.toUpdateItemRequest(TEST_TABLE_NAME, patch);
+
+        assertFalse(request.updateExpression().contains("statusTypeId"));
+    }
+
+    @Test
+    void testToReconcileUpdateItemRequestWhenKeysMatch() {
+        final Consent revokedConsent = TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS).status(ConsentStatus.REVOKED);
+        final Map<String, AttributeValue> updatedItem = new HashMap<String, AttributeValue>(TestConstants.TEST_CONSENT_DDB_ATTRIBUTES);
+        updatedItem.put(DynamoDbServiceUserConsentPatchMapper.STATUS_TYPE_ID, AttributeValue.fromS(DynamoDbServiceUserConsentMapper
+            .toStatusTypeId(ConsentStatus.REVOKED.getValue(), TestConstants.TEST_CONSENT_TYPE, TestConstants.TEST_CONSENT_ID)));
+
+        assertFalse(DynamoDbServiceUserConsentPatchMapper.toReconcileUpdateItemRequest(TEST_TABLE_NAME, revokedConsent,
+            updatedItem).isPresent());
+    }
+
+    @Test
+    void testToReconcileUpdateItemRequestWhenStatusTypeIdOutdated() {
+        final Consent revokedConsent = TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS)
+            .consentVersion(2)
+            .status(ConsentStatus.REVOKED);
+
+        final Optional<UpdateItemRequest> request = DynamoDbServiceUserConsentPatchMapper.toReconcileUpdateItemRequest(
+            TEST_TABLE_NAME, revokedConsent, TestConstants.TEST_CONSENT_DDB_ATTRIBUTES);
+
+        assertTrue(request.isPresent());
+        assertEquals("SET statusTypeId = :statusTypeId", request.get().updateExpression());
+        assertEquals(AttributeValue.fromS(DynamoDbServiceUserConsentMapper.toStatusTypeId(ConsentStatus.REVOKED.getValue(),
+            TestConstants.TEST_CONSENT_TYPE, TestConstants.TEST_CONSENT_ID)),
+            request.get().expressionAttributeValues().get(":statusTypeId"));
+    }
+
+    @Test
+    void testToReconcileUpdateItemRequestWhenKeysMissing() {
+        final Consent patchedConsent = TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS).consentVersion(2);
+        final Map<String, AttributeValue> updatedItem = new HashMap<String, AttributeValue>(TestConstants.TEST_CONSENT_DDB_ATTRIBUTES);
+
+        final Optional<UpdateItemRequest> request = DynamoDbServiceUserConsentPatchMapper.toReconcileUpdateItemRequest(
+            TEST_TABLE_NAME, patchedConsent, updatedItem);
+
+        assertTrue(request.isPresent());
+        assertEquals("SET expiryHour = :expiryHour, expiryTimeId = :expiryTimeId", request.get().updateExpression());
+        assertEquals(AttributeValue.fromN("2"),
+            request.get().expressionAttributeValues().get(DynamoDbServiceUserConsentPatchMapper.EXPECTED_CONSENT_VERSION));
+    }
+
+    @Test
+    void testToReconcileUpdateItemRequestWhenServiceUserIdMissing() {
+        final Map<String, AttributeValue> legacyItem = new HashMap<String, AttributeValue>(TestConstants.TEST_CONSENT_DDB_ATTRIBUTES);
+        legacyItem.remove(DynamoDbServiceUserConsentPatchMapper.SERVICE_USER_ID);
+        legacyItem.remove(DynamoDbServiceUserConsentPatchMapper.STATUS_TYPE_ID);
+
+        final Optional<UpdateItemRequest> request = DynamoDbServiceUserConsentPatchMapper.toReconcileUpdateItemRequest(
+            TEST_TABLE_NAME, TestConstants.TEST_CONSENT_WITH_ALL_FIELDS, legacyItem);
+
+        assertTrue(request.isPresent());
+        assertEquals("SET serviceUserId = :serviceUserId, statusTypeId = :statusTypeId", request.get().updateExpression());
+        assertEquals(AttributeValue.fromS(TestConstants.TEST_SERVICE_USER_ID),
+            request.get().expressionAttributeValues().get(":serviceUserId"));
+        assertEquals(AttributeValue.fromS(TestConstants.TEST_STATUS_TYPE_ID),
+            request.get().expressionAttributeValues().get(":statusTypeId"));
+    }
+
+    @Test
+    void testToReconcileUpdateItemRequestMigratesLegacyItem() {
+        final Consent patchedConsent = TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS).consentVersion(2);
+        final Map<String, AttributeValue> updatedItem = new HashMap<String, AttributeValue>(
+            TestConstants.TEST_LEGACY_CONSENT_DDB_ATTRIBUTES);
+        updatedItem.remove(DynamoDbServiceUserConsentPatchMapper.LEGACY_CONSENT_VERSION);
+        updatedItem.put(DynamoDbServiceUserConsentPatchMapper.CONSENT_VERSION, AttributeValue.fromN("2"));
+        final DynamoDbServiceUserConsent expectedItem = DynamoDbServiceUserConsentMapper.toDynamoDbServiceUserConsent(patchedConsent);
+        updatedItem.put(DynamoDbServiceUserConsentPatchMapper.EXPIRY_HOUR, AttributeValue.fromS(expectedItem.expiryHour()));
+        updatedItem.put(DynamoDbServiceUserConsentPatchMapper.EXPIRY_TIME_ID, AttributeValue.fromS(expectedItem.expiryTimeId()));
+
+        final Optional<UpdateItemRequest> request = DynamoDbServiceUserConsentPatchMapper.toReconcileUpdateItemRequest(
+            TEST_TABLE_NAME, patchedConsent, updatedItem);
+
+        assertTrue(request.isPresent());
+        assertEquals("SET f = :f, s = :s, t = :t, d = :d, e = :e REMOVE consentId, consentStatus, consentType, consentData, expiryTime",
+            request.get().updateExpression());
+        assertEquals(AttributeValue.fromN("2"), request.get().expressionAttributeValues().get(":f"));
+        assertEquals(AttributeValue.fromM(TestConstants.TEST_CONSENT_DATA_ATTRIBUTE_MAP),
+            request.get().expressionAttributeValues().get(":d"));
+        assertEquals(AttributeValue.fromN(Long.toString(TestConstants.TEST_EXPIRY_TIME.toInstant().toEpochMilli())),
+            request.get().expressionAttributeValues().get(":e"));
+    }
+
+    private ServiceUserConsentPatch buildPatch(final Optional<ConsentStatus> status, final Optional<String> consentType,
+            final Optional<Map<String, String>> consentData) {
+        return new ServiceUserConsentPatch(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID, 2,
+            status, consentType, consentData, null);
+    }
+}
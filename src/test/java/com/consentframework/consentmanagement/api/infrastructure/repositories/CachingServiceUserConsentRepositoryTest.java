@@ -0,0 +1,262 @@
+package com.consentframework.consentmanagement.api.infrastructure.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentBatchGetResult;
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentFilter;
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentPatch;
+import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.consentmanagement.api.testcommon.utils.TestUtils;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.ConflictingResourceException;
+import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
+import com.consentframework.shared.api.domain.exceptions.ResourceNotFoundException;
+import com.consentframework.shared.api.domain.pagination.ListPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+class CachingServiceUserConsentRepositoryTest {
+    private static final Consent TEST_CONSENT = TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS;
+
+    private ServiceUserConsentRepository backingRepository;
+    private ServiceUserConsentCache consentCache;
+    private CachingServiceUserConsentRepository repository;
+
+    @BeforeEach
+    void setup() {
+        backingRepository = spy(new InMemoryServiceUserConsentRepository());
+        consentCache = new ServiceUserConsentCache(ServiceUserConsentCache.MIN_MAXIMUM_SIZE);
+        repository = new CachingServiceUserConsentRepository(backingRepository, consentCache);
+    }
+
+    @Nested
+    class GetServiceUserConsent {
+        @Test
+        void testGetConsentWhenNotCached() throws BadRequestException, ConflictingResourceException,
+                InternalServiceException, ResourceNotFoundException {
+            backingRepository.createServiceUserConsent(TEST_CONSENT);
+
+            assertEquals(TEST_CONSENT, getTestConsent());
+            assertEquals(TEST_CONSENT, getTestConsent());
+
+            verify(backingRepository, times(1)).getServiceUserConsent(
+                TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID);
+            assertEquals(1, consentCache.stats().hitCount());
+            assertEquals(1, consentCache.stats().missCount());
+        }
+
+        @Test
+        void testGetConsentWhenNotExists() throws InternalServiceException, ResourceNotFoundException {
+            final String expectedErrorMessage = String.format(ServiceUserConsentRepository.CONSENT_NOT_FOUND_MESSAGE,
+                TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID);
+            for (int i = 0; i < 2; i++) {
+                final ResourceNotFoundException thrownException = assertThrows(ResourceNotFoundException.class, () -> getTestConsent());
+                assertEquals(expectedErrorMessage, thrownException.getMessage());
+            }
+
+            verify(backingRepository, times(1)).getServiceUserConsent(
+                TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID);
+        }
+    }
+
+    @Nested
+    class CreateServiceUserConsent {
+        @Test
+        void testCreateConsentPopulatesCache() throws BadRequestException, ConflictingResourceException,
+                InternalServiceException, ResourceNotFoundException {
+            repository.createServiceUserConsent(TEST_CONSENT);
+
+            assertEquals(TEST_CONSENT, getTestConsent());
+            verify(backingRepository, times(0)).getServiceUserConsent(
+                TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID);
+        }
+
+        @Test
+        void testCreateConsentReplacesCachedMissingConsent() throws BadRequestException, ConflictingResourceException,
+                InternalServiceException, ResourceNotFoundException {
+            assertThrows(ResourceNotFoundException.class, () -> getTestConsent());
+
+            repository.createServiceUserConsent(TEST_CONSENT);
+
+            assertEquals(TEST_CONSENT, getTestConsent());
+        }
+
+        @Test
+        void testCreateConsentWhenAlreadyExists() throws BadRequestException, ConflictingResourceException, InternalServiceException {
+            backingRepository.createServiceUserConsent(TEST_CONSENT);
+
+            assertThrows(ConflictingResourceException.class, () -> repository.createServiceUserConsent(TEST_CONSENT));
+            assertNull(consentCache.getIfPresent(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID));
+        }
+
+        @Test
+        void testCreateConsentsPopulatesCache() throws BadRequestException, ConflictingResourceException,
+                InternalServiceException, ResourceNotFoundException {
+            repository.createServiceUserConsents(List.of(TEST_CONSENT));
+
+            assertEquals(TEST_CONSENT, getTestConsent());
+            verify(backingRepository, times(0)).getServiceUserConsent(
+                TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID);
+        }
+    }
+
+    @Nested
+    class UpdateServiceUserConsent {
+        @Test
+        void testUpdateConsentPopulatesCache() throws BadRequestException, ConflictingResourceException,
+                InternalServiceException, ResourceNotFoundException {
+            repository.createServiceUserConsent(TEST_CONSENT);
+            final Consent updatedConsent = TestUtils.clone(TEST_CONSENT).consentVersion(TEST_CONSENT.getConsentVersion() + 1);
+
+            repository.updateServiceUserConsent(updatedConsent);
+
+            assertEquals(updatedConsent, getTestConsent());
+        }
+
+        @Test
+        void testUpdateConsentWhenNotExistsInvalidatesCache() {
+            consentCache.put(TEST_CONSENT);
+            final Consent updatedConsent = TestUtils.clone(TEST_CONSENT).consentVersion(TEST_CONSENT.getConsentVersion() + 1);
+
+            assertThrows(ResourceNotFoundException.class, () -> repository.updateServiceUserConsent(updatedConsent));
+            assertNull(consentCache.getIfPresent(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID));
+        }
+
+        @Test
+        void testUpdateConsentWhenVersionConflictInvalidatesCache() throws BadRequestException, ConflictingResourceException,
+                InternalServiceException {
+            repository.createServiceUserConsent(TEST_CONSENT);
+
+            assertThrows(ConflictingResourceException.class, () -> repository.updateServiceUserConsent(TEST_CONSENT));
+            assertNull(consentCache.getIfPresent(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID));
+        }
+    }
+
+    @Nested
+    class PatchServiceUserConsent {
+        private static final ServiceUserConsentPatch REVOKE_PATCH = new ServiceUserConsentPatch(TestConstants.TEST_SERVICE_ID,
+            TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID, TEST_CONSENT.getConsentVersion() + 1,
+            Optional.of(ConsentStatus.REVOKED), null, null, null);
+
+        @Test
+        void testPatchConsentPopulatesCache() throws BadRequestException, ConflictingResourceException,
+                InternalServiceException, ResourceNotFoundException {
+            repository.createServiceUserConsent(TEST_CONSENT);
+
+            final Consent patchedConsent = repository.patchServiceUserConsent(REVOKE_PATCH);
+
+            assertEquals(ConsentStatus.REVOKED, patchedConsent.getStatus());
+            assertEquals(patchedConsent, getTestConsent());
+            verify(backingRepository, times(1)).patchServiceUserConsent(REVOKE_PATCH);
+        }
+
+        @Test
+        void testPatchConsentWhenNotExistsInvalidatesCache() {
+            consentCache.put(TEST_CONSENT);
+
+            assertThrows(ResourceNotFoundException.class, () -> repository.patchServiceUserConsent(REVOKE_PATCH));
+            assertNull(consentCache.getIfPresent(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID));
+        }
+
+        @Test
+        void testPatchConsentWhenVersionConflictInvalidatesCache() throws BadRequestException, ConflictingResourceException,
+                InternalServiceException, ResourceNotFoundException {
+            repository.createServiceUserConsent(TEST_CONSENT);
+            repository.patchServiceUserConsent(REVOKE_PATCH);
+
+            assertThrows(ConflictingResourceException.class, () -> repository.patchServiceUserConsent(REVOKE_PATCH));
+            assertNull(consentCache.getIfPresent(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID));
+        }
+    }
+
+    @Nested
+    class BatchGetServiceUserConsents {
+        @Test
+        void testBatchGetServesCachedConsentsAndRetrievesOthers() throws BadRequestException, ConflictingResourceException,
+                InternalServiceException {
+            final Consent cachedConsent = TestUtils.clone(TEST_CONSENT).consentId("CachedConsentId");
+            final Consent uncachedConsent = TestUtils.clone(TEST_CONSENT).consentId("UncachedConsentId");
+            repository.createServiceUserConsent(cachedConsent);
+            backingRepository.createServiceUserConsent(uncachedConsent);
+            consentCache.putMissing(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, "CachedMissingConsentId");
+
+            final List<String> consentIds = List.of("CachedMissingConsentId", "UncachedConsentId", "CachedConsentId",
+                "MissingConsentId", "CachedConsentId");
+            final ServiceUserConsentBatchGetResult result = repository.batchGetServiceUserConsents(
+                TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, consentIds);
+
+            assertEquals(List.of(uncachedConsent, cachedConsent), result.consents());
+            assertEquals(List.of("CachedMissingConsentId", "MissingConsentId"), result.missingConsentIds());
+            verify(backingRepository).batchGetServiceUserConsents(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+                List.of("UncachedConsentId", "MissingConsentId"));
+            assertTrue(consentCache.getIfPresent(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, "MissingConsentId")
+                .isMissing());
+            assertEquals(uncachedConsent,
+                consentCache.getIfPresent(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, "UncachedConsentId").consent());
+        }
+
+        @Test
+        void testBatchGetWhenAllCached() throws BadRequestException, ConflictingResourceException, InternalServiceException {
+            repository.createServiceUserConsent(TEST_CONSENT);
+
+            final ServiceUserConsentBatchGetResult result = repository.batchGetServiceUserConsents(
+                TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, List.of(TestConstants.TEST_CONSENT_ID));
+
+            assertEquals(List.of(TEST_CONSENT), result.consents());
+            assertTrue(result.missingConsentIds().isEmpty());
+            verify(backingRepository, times(0)).batchGetServiceUserConsents(
+                TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, List.of(TestConstants.TEST_CONSENT_ID));
+        }
+    }
+
+    @Test
+    void testListConsentsDelegates() throws BadRequestException, ConflictingResourceException, InternalServiceException {
+        repository.createServiceUserConsent(TEST_CONSENT);
+
+        final ListPage<Consent> page = repository.listServiceUserConsents(
+            TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_PAGE_LIMIT, null);
+
+        assertEquals(List.of(TEST_CONSENT), page.resultsOnPage());
+    }
+
+    @Test
+    void testFilteredListConsentsDelegates() throws BadRequestException, ConflictingResourceException, InternalServiceException {
+        repository.createServiceUserConsent(TEST_CONSENT);
+        final ServiceUserConsentFilter filter = new ServiceUserConsentFilter(ConsentStatus.REVOKED, null);
+
+        final ListPage<Consent> page = repository.listServiceUserConsents(
+            TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, filter, TestConstants.TEST_PAGE_LIMIT, null);
+
+        assertTrue(page.resultsOnPage().isEmpty());
+        verify(backingRepository).listServiceUserConsents(
+            TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, filter, TestConstants.TEST_PAGE_LIMIT, null);
+    }
+
+    @Test
+    void testExportConsentsDelegates() throws BadRequestException, ConflictingResourceException, InternalServiceException {
+        repository.createServiceUserConsent(TEST_CONSENT);
+
+        try (Stream<Consent> consents = repository.exportServiceUserConsents(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID)) {
+            assertEquals(List.of(TEST_CONSENT), consents.toList());
+        }
+        verify(backingRepository).exportServiceUserConsents(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID);
+    }
+
+    private Consent getTestConsent() throws InternalServiceException, ResourceNotFoundException {
+        return repository.getServiceUserConsent(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID);
+    }
+}
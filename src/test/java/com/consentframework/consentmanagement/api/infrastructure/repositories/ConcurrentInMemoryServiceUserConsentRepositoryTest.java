@@ -0,0 +1,392 @@
+package com.consentframework.consentmanagement.api.infrastructure.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentFilter;
+import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.domain.validators.ConsentValidator;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.consentmanagement.api.testcommon.utils.TestUtils;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.ConflictingResourceException;
+import com.consentframework.shared.api.domain.exceptions.ResourceNotFoundException;
+import com.consentframework.shared.api.domain.pagination.ListPage;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+class ConcurrentInMemoryServiceUserConsentRepositoryTest {
+    private static final Instant TEST_NOW = Instant.parse("2024-06-01T10:00:00Z");
+
+    private final ConcurrentInMemoryServiceUserConsentRepository repository = new ConcurrentInMemoryServiceUserConsentRepository();
+
+    @Nested
+    class CreateServiceUserConsent {
+        @Test
+        void testCreateAndGetConsent() throws Exception {
+            repository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS);
+
+            assertEquals(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS, repository.getServiceUserConsent(TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID));
+            assertEquals(1, repository.size());
+        }
+
+        @Test
+        void testCreateConsentWhenAlreadyExists() throws Exception {
+            repository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS);
+
+            final ConflictingResourceException thrownException = assertThrows(ConflictingResourceException.class,
+                () -> repository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS));
+            assertEquals(String.format(ServiceUserConsentRepository.CONSENT_ALREADY_EXISTS_MESSAGE, TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID), thrownException.getMessage());
+            assertEquals(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS, repository.getServiceUserConsent(
+                TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID));
+        }
+
+        @Test
+        void testCreateConsentWhenMissingRequiredFields() {
+            final Consent invalidConsent = TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS).status(null);
+
+            final BadRequestException thrownException = assertThrows(BadRequestException.class,
+                () -> repository.createServiceUserConsent(invalidConsent));
+            assertEquals(ConsentValidator.STATUS_NULL_MESSAGE, thrownException.getMessage());
+        }
+    }
+
+    @Nested
+    class CreateServiceUserConsents {
+        @Test
+        void testCreateConsents() throws Exception {
+            final List<Consent> consents = List.of(buildConsent("TestConsentId1"), buildConsent("TestConsentId2"));
+
+            repository.createServiceUserConsents(consents);
+
+            assertEquals(consents, listAllConsents());
+        }
+
+        @Test
+        void testCreateConsentsWhenOneAlreadyExists() throws Exception {
+            final Consent existingConsent = buildConsent("TestConsentId2");
+            repository.createServiceUserConsent(existingConsent);
+
+            assertThrows(ConflictingResourceException.class, () -> repository.createServiceUserConsents(
+                List.of(buildConsent("TestConsentId1"), buildConsent("TestConsentId2"), buildConsent("TestConsentId3"))));
+
+            assertEquals(List.of(existingConsent), listAllConsents());
+        }
+
+        @Test
+        void testCreateConsentsWithDuplicateKeys() {
+            assertThrows(ConflictingResourceException.class, () -> repository.createServiceUserConsents(
+                List.of(buildConsent("TestConsentId1"), buildConsent("TestConsentId1"))));
+
+            assertEquals(0, repository.size());
+        }
+    }
+
+    @Nested
+    class UpdateServiceUserConsent {
+        @Test
+        void testUpdateWhenDoesNotExist() {
+            final ResourceNotFoundException thrownException = assertThrows(ResourceNotFoundException.class,
+                () -> repository.updateServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS));
+            assertEquals(String.format(ServiceUserConsentRepository.CONSENT_NOT_FOUND_MESSAGE, TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID), thrownException.getMessage());
+        }
+
+        @Test
+        void testUpdateWhenVersionConflict() throws Exception {
+            repository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS);
+
+            final ConflictingResourceException thrownException = assertThrows(ConflictingResourceException.class,
+                () -> repository.updateServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS));
+            assertEquals(String.format(ConsentValidator.VERSION_CONFLICT_MESSAGE, 2, 1), thrownException.getMessage());
+        }
+
+        @Test
+        void testUpdateReplacesListedConsent() throws Exception {
+            repository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS);
+            final Consent updatedConsent = TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS)
+                .consentVersion(TestConstants.TEST_CONSENT_VERSION + 1)
+                .consentData(Map.of("TestAttribute", "TestValue"))
+                .status(ConsentStatus.REVOKED);
+
+            repository.updateServiceUserConsent(updatedConsent);
+
+            assertEquals(updatedConsent, repository.getServiceUserConsent(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+                TestConstants.TEST_CONSENT_ID));
+            assertEquals(List.of(updatedConsent), listAllConsents());
+        }
+    }
+
+    @Nested
+    class ListServiceUserConsents {
+        @Test
+        void testListWhenEmpty() throws BadRequestException {
+            final ListPage<Consent> page = repository.listServiceUserConsents(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+                null, null);
+
+            assertTrue(page.resultsOnPage().isEmpty());
+            assertTrue(page.nextPageToken().isEmpty());
+        }
+
+        @Test
+        void testListPagesInConsentIdOrder() throws Exception {
+            final List<Consent> consents = List.of(buildConsent("C"), buildConsent("A"), buildConsent("D"), buildConsent("B"));
+            repository.createServiceUserConsents(consents);
+
+            final ListPage<Consent> firstPage = repository.listServiceUserConsents(TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID, 3, null);
+            assertEquals(List.of("A", "B", "C"), toConsentIds(firstPage.resultsOnPage()));
+            final ListPage<Consent> secondPage = repository.listServiceUserConsents(TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID, 3, firstPage.nextPageToken().get());
+            assertEquals(List.of("D"), toConsentIds(secondPage.resultsOnPage()));
+            assertTrue(secondPage.nextPageToken().isEmpty());
+        }
+
+        @Test
+        void testListPageIsStableUnderConcurrentCreates() throws Exception {
+            repository.createServiceUserConsents(List.of(buildConsent("B"), buildConsent("D")));
+            final ListPage<Consent> firstPage = repository.listServiceUserConsents(TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID, 1, null);
+
+            repository.createServiceUserConsent(buildConsent("A"));
+            repository.createServiceUserConsent(buildConsent("C"));
+
+            final ListPage<Consent> secondPage = repository.listServiceUserConsents(TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID, null, firstPage.nextPageToken().get());
+            assertEquals(List.of("C", "D"), toConsentIds(secondPage.resultsOnPage()));
+        }
+
+        @Test
+        void testListWithFilterFillsPages() throws Exception {
+            repository.createServiceUserConsents(List.of(
+                buildConsent("A").status(ConsentStatus.REVOKED),
+                buildConsent("B"),
+                buildConsent("C").status(ConsentStatus.REVOKED),
+                buildConsent("D")));
+
+            final ListPage<Consent> page = repository.listServiceUserConsents(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+                new ServiceUserConsentFilter(ConsentStatus.ACTIVE, null), 2, null);
+
+            assertEquals(List.of("B", "D"), toConsentIds(page.resultsOnPage()));
+        }
+
+        @Test
+        void testListWithInvalidPageToken() {
+            final BadRequestException thrownException = assertThrows(BadRequestException.class,
+                () -> repository.listServiceUserConsents(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, null, "Invalid*Token"));
+            assertEquals(String.format(ConcurrentInMemoryServiceUserConsentRepository.INVALID_PAGE_TOKEN_MESSAGE, "Invalid*Token"),
+                thrownException.getMessage());
+        }
+
+        @Test
+        void testListWithInvalidLimit() {
+            final BadRequestException thrownException = assertThrows(BadRequestException.class,
+                () -> repository.listServiceUserConsents(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, 0, null));
+            assertEquals(String.format(ConcurrentInMemoryServiceUserConsentRepository.INVALID_LIMIT_MESSAGE, 0),
+                thrownException.getMessage());
+        }
+
+        @Test
+        void testExportConsents() throws Exception {
+            repository.createServiceUserConsents(List.of(buildConsent("B"), buildConsent("A")));
+
+            assertEquals(List.of("A", "B"), toConsentIds(repository.exportServiceUserConsents(TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID).collect(Collectors.toList())));
+            assertEquals(0, repository.exportServiceUserConsents(TestConstants.TEST_SERVICE_ID, "OtherUserId").count());
+        }
+    }
+
+    @Nested
+    class ListActiveConsentsExpiringBy {
+        @Test
+        void testListInExpiryOrder() throws Exception {
+            repository.createServiceUserConsents(List.of(
+                buildConsent("Later").expiryTime(toExpiryTime(TEST_NOW.minusSeconds(10))),
+                buildConsent("Earlier").expiryTime(toExpiryTime(TEST_NOW.minusSeconds(20))),
+                buildConsent("NotDue").expiryTime(toExpiryTime(TEST_NOW.plusSeconds(10))),
+                buildConsent("Revoked").status(ConsentStatus.REVOKED).expiryTime(toExpiryTime(TEST_NOW.minusSeconds(30))),
+                buildConsent("NoExpiry")));
+
+            assertEquals(List.of("Earlier", "Later"), toConsentIds(repository.listActiveConsentsExpiringBy(TEST_NOW, 10)));
+            assertEquals(List.of("Earlier"), toConsentIds(repository.listActiveConsentsExpiringBy(TEST_NOW, 1)));
+        }
+
+        @Test
+        void testUpdateMovesConsentInExpiryIndex() throws Exception {
+            final Consent consent = buildConsent("TestConsentId").expiryTime(toExpiryTime(TEST_NOW.plusSeconds(10)));
+            repository.createServiceUserConsent(consent);
+
+            final Consent updatedConsent = TestUtils.clone(consent)
+                .consentVersion(consent.getConsentVersion() + 1)
+                .expiryTime(toExpiryTime(TEST_NOW.minusSeconds(10)));
+            repository.updateServiceUserConsent(updatedConsent);
+            assertEquals(List.of(updatedConsent), repository.listActiveConsentsExpiringBy(TEST_NOW, 10));
+
+            final Consent expiredConsent = TestUtils.clone(updatedConsent)
+                .consentVersion(updatedConsent.getConsentVersion() + 1)
+                .status(ConsentStatus.EXPIRED);
+            repository.updateServiceUserConsent(expiredConsent);
+            assertTrue(repository.listActiveConsentsExpiringBy(TEST_NOW, 10).isEmpty());
+        }
+    }
+
+    @Nested
+    class ConcurrencyStressTest {
+        private static final int THREADS = 8;
+        private static final int OPERATIONS_PER_THREAD = 500;
+
+        @Test
+        void testConcurrentCreatesOfSameConsent() throws Exception {
+            final AtomicInteger createdConsents = new AtomicInteger();
+
+            runConcurrently(thread -> {
+                for (int operation = 0; operation < OPERATIONS_PER_THREAD; operation++) {
+                    try {
+                        repository.createServiceUserConsent(buildConsent("TestConsentId" + operation));
+                        createdConsents.incrementAndGet();
+                    } catch (final ConflictingResourceException conflictingResourceException) {
+                        // Another thread created the consent first
+                    }
+                }
+            });
+
+            assertEquals(OPERATIONS_PER_THREAD, createdConsents.get());
+            assertEquals(OPERATIONS_PER_THREAD, repository.size());
+            assertEquals(OPERATIONS_PER_THREAD, listAllConsents().size());
+        }
+
+        @Test
+        void testConcurrentUpdatesAreNotLost() throws Exception {
+            repository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS);
+            final AtomicInteger conflicts = new AtomicInteger();
+
+            runConcurrently(thread -> {
+                int updates = 0;
+                while (updates < OPERATIONS_PER_THREAD) {
+                    final Consent storedConsent = repository.getServiceUserConsent(TestConstants.TEST_SERVICE_ID,
+                        TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID);
+                    final Consent updatedConsent = TestUtils.clone(storedConsent)
+                        .consentVersion(storedConsent.getConsentVersion() + 1)
+                        .expiryTime(toExpiryTime(TEST_NOW.plusSeconds(thread * OPERATIONS_PER_THREAD + updates)));
+                    try {
+                        repository.updateServiceUserConsent(updatedConsent);
+                        updates++;
+                    } catch (final ConflictingResourceException conflictingResourceException) {
+                        conflicts.incrementAndGet();
+                    }
+                }
+            });
+
+            final Consent finalConsent = repository.getServiceUserConsent(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+                TestConstants.TEST_CONSENT_ID);
+            assertEquals(TestConstants.TEST_CONSENT_VERSION + THREADS * OPERATIONS_PER_THREAD, finalConsent.getConsentVersion());
+            assertEquals(List.of(finalConsent), listAllConsents());
+            assertEquals(List.of(finalConsent), repository.listActiveConsentsExpiringBy(Instant.MAX, Integer.MAX_VALUE));
+        }
+
+        @Test
+        void testConcurrentListingDuringWrites() throws Exception {
+            final Set<String> expectedConsentIds = new HashSet<String>();
+            for (int operation = 0; operation < OPERATIONS_PER_THREAD; operation++) {
+                expectedConsentIds.add(String.format("TestConsentId%05d", operation));
+            }
+
+            runConcurrently(thread -> {
+                for (int operation = 0; operation < OPERATIONS_PER_THREAD; operation++) {
+                    if (thread % 2 == 0) {
+                        final String consentId = String.format("TestConsentId%05d", operation);
+                        try {
+                            repository.createServiceUserConsent(buildConsent(consentId));
+                        } catch (final ConflictingResourceException conflictingResourceException) {
+                            // Another writer thread created the consent first
+                        }
+                    } else {
+                        final List<String> listedConsentIds = toConsentIds(listAllConsents());
+                        assertEquals(listedConsentIds.size(), new HashSet<String>(listedConsentIds).size());
+                        assertTrue(expectedConsentIds.containsAll(listedConsentIds));
+                    }
+                }
+            });
+
+            assertEquals(expectedConsentIds, new HashSet<String>(toConsentIds(listAllConsents())));
+        }
+    }
+
+    private List<Consent> listAllConsents() throws BadRequestException {
+        final List<Consent> consents = new ArrayList<Consent>();
+        String pageToken = null;
+        do {
+            final ListPage<Consent> page = repository.listServiceUserConsents(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+                7, pageToken);
+            consents.addAll(page.resultsOnPage());
+            pageToken = page.nextPageToken().orElse(null);
+        } while (pageToken != null);
+        return consents;
+    }
+
+    private static void runConcurrently(final ThreadTask task) throws Exception {
+        final int threads = ConcurrencyStressTest.THREADS;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final CountDownLatch startGate = new CountDownLatch(1);
+            final List<Future<Void>> results = new ArrayList<Future<Void>>();
+            for (int thread = 0; thread < threads; thread++) {
+                final int threadIndex = thread;
+                final Callable<Void> threadTask = () -> {
+                    startGate.await();
+                    task.run(threadIndex);
+                    return null;
+                };
+                results.add(executor.submit(threadTask));
+            }
+            startGate.countDown();
+            for (final Future<Void> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Consent buildConsent(final String consentId) {
+        return TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS).consentId(consentId);
+    }
+
+    private static OffsetDateTime toExpiryTime(final Instant expiryTime) {
+        return expiryTime.atOffset(ZoneOffset.UTC);
+    }
+
+    private static List<String> toConsentIds(final List<Consent> consents) {
+        return consents.stream().map(Consent::getConsentId).collect(Collectors.toList());
+    }
+
+    /**
+     * Task run by each of the concurrent threads.
+     */
+    @FunctionalInterface
+    private interface ThreadTask {
+        void run(int thread) throws Exception;
+    }
+}
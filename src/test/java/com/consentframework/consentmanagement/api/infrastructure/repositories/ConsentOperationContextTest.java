@@ -0,0 +1,17 @@
+package com.consentframework.consentmanagement.api.infrastructure.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import org.junit.jupiter.api.Test;
+
+class ConsentOperationContextTest {
+    @Test
+    void testToString() {
+        final ConsentOperationContext consentContext = new ConsentOperationContext("updating", TestConstants.TEST_SERVICE_ID,
+            TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID);
+
+        assertEquals(String.format("updating consent with serviceId: '%s', userId: '%s', consentId: '%s'",
+            TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID), consentContext.toString());
+    }
+}
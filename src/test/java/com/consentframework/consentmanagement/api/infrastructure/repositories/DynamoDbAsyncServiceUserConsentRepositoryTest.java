@@ -0,0 +1,374 @@
+package com.consentframework.consentmanagement.api.infrastructure.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentFilter;
+import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.domain.validators.ConsentValidator;
+import com.consentframework.consentmanagement.api.infrastructure.constants.DynamoDbServiceUserConsentAttributeName;
+import com.consentframework.consentmanagement.api.infrastructure.mappers.DynamoDbServiceUserConsentMapper;
+import com.consentframework.consentmanagement.api.infrastructure.schemas.DynamoDbServiceUserConsentTableSchema;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.consentmanagement.api.testcommon.utils.TestUtils;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.ConflictingResourceException;
+import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
+import com.consentframework.shared.api.domain.exceptions.ResourceNotFoundException;
+import com.consentframework.shared.api.domain.pagination.ListPage;
+import com.consentframework.shared.api.infrastructure.entities.DynamoDbServiceUserConsent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncIndex;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.model.GetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+class DynamoDbAsyncServiceUserConsentRepositoryTest {
+    private DynamoDbAsyncTable<DynamoDbServiceUserConsent> consentTable;
+    private DynamoDbAsyncServiceUserConsentRepository repository;
+
+    private static final ConditionalCheckFailedException CONDITION_FAILED_EXCEPTION = ConditionalCheckFailedException.builder()
+        .awsErrorDetails(AwsErrorDetails.builder().errorMessage("TestConditionalCheckFailedException").build())
+        .build();
+
+    private static final String TEST_DYNAMODB_EXCEPTION_MESSAGE = "TestDynamoDBError";
+    private static final DynamoDbException DYNAMODB_EXCEPTION = (DynamoDbException) DynamoDbException.builder()
+        .message(TEST_DYNAMODB_EXCEPTION_MESSAGE)
+        .build();
+
+    @Mock
+    private DynamoDbAsyncIndex<DynamoDbServiceUserConsent> mockConsentsByServiceUserIndex;
+
+    @Mock
+    private SdkPublisher<Page<DynamoDbServiceUserConsent>> mockQueryResults;
+
+    @SuppressWarnings("unchecked")
+    @BeforeEach
+    void setup() {
+        consentTable = (DynamoDbAsyncTable<DynamoDbServiceUserConsent>) mock(DynamoDbAsyncTable.class);
+        repository = new DynamoDbAsyncServiceUserConsentRepository(consentTable);
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Nested
+    class GetServiceUserConsentTest {
+        @Test
+        void testGetConsentWhenDynamoDbThrowsException() {
+            when(consentTable.getItem(any(GetItemEnhancedRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(new CompletionException(DYNAMODB_EXCEPTION)));
+
+            final InternalServiceException thrownException = assertFailedWith(InternalServiceException.class,
+                repository.getServiceUserConsent(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID));
+
+            final String expectedErrorMessage = String.format(
+                "Received DynamoDbException retrieving consent with serviceId: '%s', userId: '%s', consentId: '%s': %s",
+                TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID, TEST_DYNAMODB_EXCEPTION_MESSAGE);
+            assertEquals(expectedErrorMessage, thrownException.getMessage());
+        }
+
+        @Test
+        void testGetConsentWhenDoesNotExist() {
+            when(consentTable.getItem(any(GetItemEnhancedRequest.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+            final ResourceNotFoundException thrownException = assertFailedWith(ResourceNotFoundException.class,
+                repository.getServiceUserConsent(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID));
+
+            final String expectedErrorMessage = String.format(ServiceUserConsentRepository.CONSENT_NOT_FOUND_MESSAGE,
+                TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID);
+            assertEquals(expectedErrorMessage, thrownException.getMessage());
+        }
+
+        @Test
+        void testGetConsentWhenExists() {
+            when(consentTable.getItem(any(GetItemEnhancedRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(TestConstants.TEST_DDB_CONSENT_WITH_ALL_FIELDS));
+
+            final Consent returnedConsent = repository.getServiceUserConsent(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+                TestConstants.TEST_CONSENT_ID).join();
+            assertEquals(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS, returnedConsent);
+        }
+    }
+
+    @Nested
+    class CreateServiceUserConsentTest {
+        @Test
+        void testCreateNullConsent() {
+            final BadRequestException thrownException = assertFailedWith(BadRequestException.class,
+                repository.createServiceUserConsent(null));
+            assertEquals(ConsentValidator.CONSENT_NULL_MESSAGE, thrownException.getMessage());
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        void testCreateWhenConditionalCheckFailedException() {
+            when(consentTable.putItem(any(PutItemEnhancedRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(new CompletionException(CONDITION_FAILED_EXCEPTION)));
+
+            final ConflictingResourceException thrownException = assertFailedWith(ConflictingResourceException.class,
+                repository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS));
+
+            final String expectedExceptionMessage = String.format(
+                "Error creating consent with serviceId: '%s', userId: '%s', consentId: '%s', consent already exists",
+                TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID);
+            assertEquals(expectedExceptionMessage, thrownException.getMessage());
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        void testCreateWhenUnexpectedDynamoDbException() {
+            when(consentTable.putItem(any(PutItemEnhancedRequest.class))).thenReturn(CompletableFuture.failedFuture(DYNAMODB_EXCEPTION));
+
+            final InternalServiceException thrownException = assertFailedWith(InternalServiceException.class,
+                repository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS));
+
+            final String expectedErrorMessage = String.format(
+                "Received DynamoDbException creating consent with serviceId: '%s', userId: '%s', consentId: '%s': %s",
+                TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID, TEST_DYNAMODB_EXCEPTION_MESSAGE);
+            assertEquals(expectedErrorMessage, thrownException.getMessage());
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        void testCreateWhenUnexpectedException() {
+            final IllegalStateException unexpectedException = new IllegalStateException("TestUnexpectedException");
+            when(consentTable.putItem(any(PutItemEnhancedRequest.class))).thenReturn(CompletableFuture.failedFuture(unexpectedException));
+
+            final IllegalStateException thrownException = assertFailedWith(IllegalStateException.class,
+                repository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS));
+            assertEquals(unexpectedException, thrownException);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        void testCreateConsentWhenDynamoDbPutItemSucceeds() {
+            when(consentTable.putItem(any(PutItemEnhancedRequest.class))).thenReturn(CompletableFuture.completedFuture(null));
+            repository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS).join();
+        }
+    }
+
+    @Nested
+    class UpdateServiceUserConsentTest {
+        @Test
+        void testUpdateWithInvalidConsent() {
+            final Consent incompleteConsent = new Consent()
+                .serviceId(TestConstants.TEST_SERVICE_ID)
+                .userId(TestConstants.TEST_USER_ID)
+                .consentId(TestConstants.TEST_CONSENT_ID)
+                .consentVersion(1);
+            final BadRequestException thrownException = assertFailedWith(BadRequestException.class,
+                repository.updateServiceUserConsent(incompleteConsent));
+            assertEquals(ConsentValidator.STATUS_NULL_MESSAGE, thrownException.getMessage());
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        void testUpdateWhenConsentNotExists() {
+            when(consentTable.putItem(any(PutItemEnhancedRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(CONDITION_FAILED_EXCEPTION));
+
+            final ResourceNotFoundException thrownException = assertFailedWith(ResourceNotFoundException.class,
+                repository.updateServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS));
+
+            final String expectedExceptionMessage = String.format(ServiceUserConsentRepository.CONSENT_NOT_FOUND_MESSAGE,
+                TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID);
+            assertEquals(expectedExceptionMessage, thrownException.getMessage());
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        void testUpdateWhenConsentVersionConflict() {
+            final Map<String, AttributeValue> storedItem = new HashMap<String, AttributeValue>(TestConstants.TEST_CONSENT_DDB_ATTRIBUTES);
+            storedItem.put(DynamoDbServiceUserConsentAttributeName.COMPACT_CONSENT_VERSION.getValue(), AttributeValue.fromN("3"));
+            when(consentTable.putItem(any(PutItemEnhancedRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(CONDITION_FAILED_EXCEPTION.toBuilder().item(storedItem).build()));
+
+            final ConflictingResourceException thrownException = assertFailedWith(ConflictingResourceException.class,
+                repository.updateServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS));
+
+            final String expectedExceptionMessage = String.format(
+                "Error updating consent with serviceId: '%s', userId: '%s', consentId: '%s', %s",
+                TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID,
+                String.format(ConsentValidator.VERSION_CONFLICT_MESSAGE, 4L, TestConstants.TEST_CONSENT_VERSION.longValue()));
+            assertEquals(expectedExceptionMessage, thrownException.getMessage());
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        void testUpdateWhenUnexpectedDynamoDbException() {
+            when(consentTable.putItem(any(PutItemEnhancedRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(DynamoDbException.builder().message("TestDynamoDBError").build()));
+
+            assertFailedWith(InternalServiceException.class,
+                repository.updateServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS));
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        void testUpdateConsentWhenDynamoDbPutItemSucceeds() {
+            when(consentTable.putItem(any(PutItemEnhancedRequest.class))).thenReturn(CompletableFuture.completedFuture(null));
+            repository.updateServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS).join();
+        }
+    }
+
+    @Nested
+    class ListServiceUserConsentsTest {
+        @Test
+        void testListConsentWithInvalidPageToken() {
+            assertFailedWith(BadRequestException.class, repository.listServiceUserConsents(TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID, null, "InvalidPageToken"));
+        }
+
+        @Test
+        void testListConsentWhenNullResults() {
+            when(mockConsentsByServiceUserIndex.query(any(QueryEnhancedRequest.class))).thenReturn(null);
+            when(consentTable.index(any(String.class))).thenReturn(mockConsentsByServiceUserIndex);
+
+            final ListPage<Consent> queryResults = repository.listServiceUserConsents(TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID, null, null).join();
+            assertEquals(DynamoDbServiceUserConsentRepository.EMPTY_CONSENTS_PAGE, queryResults);
+        }
+
+        @Test
+        void testListConsentWhenEmptyResults() {
+            mockQueryResults(null, CompletableFuture.completedFuture(null));
+
+            final ListPage<Consent> queryResults = repository.listServiceUserConsents(TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID, 10, TestConstants.TEST_DDB_PAGE_TOKEN).join();
+            assertEquals(DynamoDbServiceUserConsentRepository.EMPTY_CONSENTS_PAGE, queryResults);
+        }
+
+        @Test
+        void testListConsentWhenQueryThrottled() {
+            final ProvisionedThroughputExceededException throttlingException = ProvisionedThroughputExceededException.builder()
+                .message("Throughput exceeds the current capacity for one or more global secondary indexes")
+                .build();
+            mockQueryResults(null, CompletableFuture.failedFuture(throttlingException));
+
+            final InternalServiceException thrownException = assertFailedWith(InternalServiceException.class,
+                repository.listServiceUserConsents(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, 10, null));
+
+            assertEquals(throttlingException, thrownException.getCause());
+        }
+
+        @Test
+        void testListConsentWhenMultiplePages() {
+            final Page<DynamoDbServiceUserConsent> mockPageConsents = Page.builder(DynamoDbServiceUserConsent.class)
+                .items(List.of(TestConstants.TEST_DDB_CONSENT_WITH_ALL_FIELDS))
+                .lastEvaluatedKey(TestConstants.TEST_DDB_PAGE_TOKEN_ATTRIBUTE_MAP)
+                .build();
+            mockQueryResults(mockPageConsents, CompletableFuture.completedFuture(null));
+
+            final ListPage<Consent> queryResults = repository.listServiceUserConsents(TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID, 10, TestConstants.TEST_DDB_PAGE_TOKEN).join();
+            assertEquals(List.of(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS), queryResults.resultsOnPage());
+            assertEquals(Optional.of(TestConstants.TEST_DDB_PAGE_TOKEN), queryResults.nextPageToken());
+        }
+
+        @Test
+        void testListConsentWhenInvalidLastEvaluatedKey() {
+            final Map<String, AttributeValue> invalidLastEvaluatedKey = new HashMap<String, AttributeValue>();
+            invalidLastEvaluatedKey.put(DynamoDbServiceUserConsent.PARTITION_KEY, null);
+            final Page<DynamoDbServiceUserConsent> mockPageConsents = Page.builder(DynamoDbServiceUserConsent.class)
+                .items(List.of(TestConstants.TEST_DDB_CONSENT_WITH_ALL_FIELDS))
+                .lastEvaluatedKey(invalidLastEvaluatedKey)
+                .build();
+            mockQueryResults(mockPageConsents, CompletableFuture.completedFuture(null));
+
+            assertFailedWith(BadRequestException.class, repository.listServiceUserConsents(TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID, 10, null));
+        }
+
+        @Test
+        void testListConsentWithFilterQueriesStatusTypeIndexWhenBackfilled() {
+            final Page<DynamoDbServiceUserConsent> mockPageConsents = Page.builder(DynamoDbServiceUserConsent.class)
+                .items(List.of(TestConstants.TEST_DDB_CONSENT_WITH_ALL_FIELDS))
+                .build();
+            mockQueryResults(mockPageConsents, CompletableFuture.completedFuture(null));
+            final ServiceUserConsentFilter filter = new ServiceUserConsentFilter(TestConstants.TEST_CONSENT_STATUS,
+                TestConstants.TEST_CONSENT_TYPE);
+
+            final ListPage<Consent> queryResults = new DynamoDbAsyncServiceUserConsentRepository(consentTable, true)
+                .listServiceUserConsents(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, filter, 10, null).join();
+
+            assertEquals(List.of(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS), queryResults.resultsOnPage());
+            verify(consentTable).index(DynamoDbServiceUserConsentTableSchema.CONSENTS_BY_SERVICE_USER_STATUS_TYPE_GSI_NAME);
+            final ArgumentCaptor<QueryEnhancedRequest> queryRequestCaptor = ArgumentCaptor.forClass(QueryEnhancedRequest.class);
+            verify(mockConsentsByServiceUserIndex).query(queryRequestCaptor.capture());
+            final Expression keyCondition = queryRequestCaptor.getValue().queryConditional().expression(
+                DynamoDbServiceUserConsentTableSchema.TABLE_SCHEMA,
+                DynamoDbServiceUserConsentTableSchema.CONSENTS_BY_SERVICE_USER_STATUS_TYPE_GSI_NAME);
+            assertTrue(keyCondition.expressionValues().containsValue(AttributeValue.fromS(TestConstants.TEST_SERVICE_USER_ID)));
+        }
+
+        @Test
+        void testListConsentWithFilterBeforeBackfillFiltersServiceUserIndex() {
+            final Consent revokedConsent = TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS)
+                .consentId("RevokedConsentId")
+                .status(ConsentStatus.REVOKED);
+            final Page<DynamoDbServiceUserConsent> mockPageConsents = Page.builder(DynamoDbServiceUserConsent.class)
+                .items(List.of(TestConstants.TEST_DDB_CONSENT_WITH_ALL_FIELDS,
+                    DynamoDbServiceUserConsentMapper.toDynamoDbServiceUserConsent(revokedConsent)))
+                .lastEvaluatedKey(TestConstants.TEST_DDB_PAGE_TOKEN_ATTRIBUTE_MAP)
+                .build();
+            mockQueryResults(mockPageConsents, CompletableFuture.completedFuture(null));
+            final ServiceUserConsentFilter filter = new ServiceUserConsentFilter(ConsentStatus.REVOKED, null);
+
+            final ListPage<Consent> queryResults = repository.listServiceUserConsents(TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID, filter, 2, null).join();
+
+            assertEquals(List.of(revokedConsent), queryResults.resultsOnPage());
+            verify(consentTable).index(DynamoDbServiceUserConsent.CONSENT_BY_SERVICE_USER_GSI_NAME);
+            assertFailedWith(BadRequestException.class, repository.listServiceUserConsents(TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID, 2, queryResults.nextPageToken().get()));
+        }
+
+        @SuppressWarnings("unchecked")
+        private void mockQueryResults(final Page<DynamoDbServiceUserConsent> firstPage, final CompletableFuture<Void> subscription) {
+            when(mockQueryResults.limit(anyInt())).thenReturn(mockQueryResults);
+            when(mockQueryResults.subscribe(any(Consumer.class))).thenAnswer(invocation -> {
+                if (firstPage != null) {
+                    invocation.getArgument(0, Consumer.class).accept(firstPage);
+                }
+                return subscription;
+            });
+            when(mockConsentsByServiceUserIndex.query(any(QueryEnhancedRequest.class))).thenReturn(mockQueryResults);
+            when(consentTable.index(any(String.class))).thenReturn(mockConsentsByServiceUserIndex);
+        }
+    }
+
+    private static <T extends Throwable> T assertFailedWith(final Class<T> expectedExceptionClass, final CompletableFuture<?> future) {
+        final CompletionException completionException = assertThrows(CompletionException.class, future::join);
+        return assertInstanceOf(expectedExceptionClass, completionException.getCause());
+    }
+}
@@ -1,17 +1,32 @@
 package com.consentframework.consentmanagement.api.infrastructure.repositories;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentBatchGetResult;
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentFilter;
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentPatch;
 import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
 import com.consentframework.consentmanagement.api.domain.validators.ConsentValidator;
+import com.consentframework.consentmanagement.api.domain.validators.ServiceUserConsentPatchValidator;
+import com.consentframework.consentmanagement.api.infrastructure.constants.DynamoDbServiceUserConsentAttributeName;
+import com.consentframework.consentmanagement.api.infrastructure.mappers.DynamoDbServiceUserConsentMapper;
+import com.consentframework.consentmanagement.api.infrastructure.schemas.DynamoDbServiceUserConsentTableSchema;
 import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
 import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.consentmanagement.api.testcommon.utils.TestUtils;
 import com.consentframework.shared.api.domain.exceptions.BadRequestException;
 import com.consentframework.shared.api.domain.exceptions.ConflictingResourceException;
 import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
@@ -21,25 +36,48 @@ import com.consentframework.shared.api.infrastructure.entities.DynamoDbServiceUs
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbIndex;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetResultPage;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetResultPageIterable;
 import software.amazon.awssdk.enhanced.dynamodb.model.GetItemEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.Page;
 import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.TransactWriteItemsEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
 import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
-
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValuesOnConditionCheckFailure;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 
 class DynamoDbServiceUserConsentRepositoryTest {
+    private DynamoDbClient dynamoDbClient;
+    private DynamoDbEnhancedClient dynamoDbEnhancedClient;
     private DynamoDbTable<DynamoDbServiceUserConsent> consentTable;
     private DynamoDbServiceUserConsentRepository repository;
 
@@ -62,8 +100,10 @@ class DynamoDbServiceUserConsentRepositoryTest {
     @SuppressWarnings("unchecked")
     @BeforeEach
     void setup() {
+        dynamoDbClient = mock(DynamoDbClient.class);
+        dynamoDbEnhancedClient = mock(DynamoDbEnhancedClient.class);
         consentTable = (DynamoDbTable<DynamoDbServiceUserConsent>) mock(DynamoDbTable.class);
-        repository = new DynamoDbServiceUserConsentRepository(consentTable);
+        repository = new DynamoDbServiceUserConsentRepository(dynamoDbClient, dynamoDbEnhancedClient, consentTable);
         MockitoAnnotations.openMocks(this);
     }
 
@@ -158,6 +198,94 @@ class DynamoDbServiceUserConsentRepositoryTest {
         }
     }
 
+    @Nested
+    class CreateServiceUserConsentsTest {
+        private static final Consent SECOND_CONSENT = TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS)
+            .consentId("SecondConsentId");
+        private static final List<Consent> CONSENTS = List.of(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS, SECOND_CONSENT);
+        private static final String CONSENTS_CONTEXT = String.format("creating 2 consents with serviceId: '%s', userId: '%s'",
+            TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID);
+
+        @Test
+        void testCreateConsentsWhenTransactionSucceeds() throws BadRequestException, ConflictingResourceException,
+                InternalServiceException {
+            repository.createServiceUserConsents(CONSENTS);
+            verify(dynamoDbEnhancedClient).transactWriteItems(any(TransactWriteItemsEnhancedRequest.class));
+        }
+
+        @Test
+        void testCreateNoConsents() throws BadRequestException, ConflictingResourceException, InternalServiceException {
+            repository.createServiceUserConsents(List.of());
+            verify(dynamoDbEnhancedClient, never()).transactWriteItems(any(TransactWriteItemsEnhancedRequest.class));
+        }
+
+        @Test
+        void testCreateTooManyConsents() {
+            final int consentCount = DynamoDbServiceUserConsentRepository.TRANSACT_WRITE_MAX_ITEMS + 1;
+            final List<Consent> consents = Collections.nCopies(consentCount, TestConstants.TEST_CONSENT_WITH_ALL_FIELDS);
+
+            final BadRequestException thrownException = assertThrows(BadRequestException.class, () ->
+                repository.createServiceUserConsents(consents));
+
+            final String expectedErrorMessage = String.format(DynamoDbServiceUserConsentRepository.TRANSACT_WRITE_TOO_MANY_ITEMS_MESSAGE,
+                consentCount, DynamoDbServiceUserConsentRepository.TRANSACT_WRITE_MAX_ITEMS);
+            assertEquals(expectedErrorMessage, thrownException.getMessage());
+        }
+
+        @Test
+        void testCreateConsentsWithInvalidConsent() {
+            final BadRequestException thrownException = assertThrows(BadRequestException.class, () ->
+                repository.createServiceUserConsents(List.of(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS, buildIncompleteConsent())));
+
+            assertEquals(ConsentValidator.STATUS_NULL_MESSAGE, thrownException.getMessage());
+            verify(dynamoDbEnhancedClient, never()).transactWriteItems(any(TransactWriteItemsEnhancedRequest.class));
+        }
+
+        @Test
+        void testCreateConsentsWhenConsentAlreadyExists() {
+            doThrow(buildTransactionCanceledException("None", DynamoDbServiceUserConsentRepository.CONDITIONAL_CHECK_FAILED_REASON_CODE))
+                .when(dynamoDbEnhancedClient).transactWriteItems(any(TransactWriteItemsEnhancedRequest.class));
+
+            final ConflictingResourceException thrownException = assertThrows(ConflictingResourceException.class, () ->
+                repository.createServiceUserConsents(CONSENTS));
+
+            final String expectedErrorMessage = String.format("Error %s, consents already exist with consentIds: [%s]",
+                CONSENTS_CONTEXT, SECOND_CONSENT.getConsentId());
+            assertEquals(expectedErrorMessage, thrownException.getMessage());
+        }
+
+        @Test
+        void testCreateConsentsWhenTransactionCanceledForOtherReason() {
+            doThrow(buildTransactionCanceledException("None", "TransactionConflict"))
+                .when(dynamoDbEnhancedClient).transactWriteItems(any(TransactWriteItemsEnhancedRequest.class));
+
+            assertThrows(InternalServiceException.class, () -> repository.createServiceUserConsents(CONSENTS));
+        }
+
+        @Test
+        void testCreateConsentsWhenUnexpectedDynamoDbException() {
+            doThrow(DYNAMODB_EXCEPTION).when(dynamoDbEnhancedClient).transactWriteItems(any(TransactWriteItemsEnhancedRequest.class));
+
+            final InternalServiceException thrownException = assertThrows(InternalServiceException.class, () ->
+                repository.createServiceUserConsents(CONSENTS));
+
+            final String expectedErrorMessage = String.format("Received DynamoDbException %s: %s", CONSENTS_CONTEXT,
+                TEST_DYNAMODB_EXCEPTION_MESSAGE);
+            assertEquals(expectedErrorMessage, thrownException.getMessage());
+        }
+
+        private TransactionCanceledException buildTransactionCanceledException(final String... reasonCodes) {
+            final List<CancellationReason> cancellationReasons = new ArrayList<CancellationReason>();
+            for (final String reasonCode : reasonCodes) {
+                cancellationReasons.add(CancellationReason.builder().code(reasonCode).build());
+            }
+            return TransactionCanceledException.builder()
+                .message("TestTransactionCanceledException")
+                .cancellationReasons(cancellationReasons)
+                .build();
+        }
+    }
+
     @Nested
     class UpdateServiceUserConsentTest {
         @Test
@@ -177,13 +305,47 @@ class DynamoDbServiceUserConsentRepositoryTest {
 
         @SuppressWarnings("unchecked")
         @Test
-        void testUpdateWhenConditionalCheckFailedException() {
+        void testUpdateWhenConsentNotExists() {
             doThrow(CONDITION_FAILED_EXCEPTION).when(consentTable).putItem(any(PutItemEnhancedRequest.class));
+            final ResourceNotFoundException thrownException = assertThrows(ResourceNotFoundException.class, () ->
+                repository.updateServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS));
+
+            final String expectedExceptionMessage = String.format(ServiceUserConsentRepository.CONSENT_NOT_FOUND_MESSAGE,
+                TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID);
+            assertEquals(expectedExceptionMessage, thrownException.getMessage());
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        void testUpdateWhenConsentVersionConflict() {
+            final Map<String, AttributeValue> storedItem = new HashMap<String, AttributeValue>(TestConstants.TEST_CONSENT_DDB_ATTRIBUTES);
+            storedItem.put(DynamoDbServiceUserConsentAttributeName.COMPACT_CONSENT_VERSION.getValue(), AttributeValue.fromN("3"));
+            doThrow(CONDITION_FAILED_EXCEPTION.toBuilder().item(storedItem).build())
+                .when(consentTable).putItem(any(PutItemEnhancedRequest.class));
+
             final ConflictingResourceException thrownException = assertThrows(ConflictingResourceException.class, () ->
                 repository.updateServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS));
 
             final String expectedExceptionMessage = String.format(
-                "Error updating consent with serviceId: '%s', userId: '%s', consentId: '%s', consent already exists",
+                "Error updating consent with serviceId: '%s', userId: '%s', consentId: '%s', %s",
+                TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID,
+                String.format(ConsentValidator.VERSION_CONFLICT_MESSAGE, 4L, TestConstants.TEST_CONSENT_VERSION.longValue()));
+            assertEquals(expectedExceptionMessage, thrownException.getMessage());
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        void testUpdateWhenStoredConsentHasNoVersion() {
+            final Map<String, AttributeValue> storedItem = new HashMap<String, AttributeValue>(TestConstants.TEST_CONSENT_DDB_ATTRIBUTES);
+            storedItem.remove(DynamoDbServiceUserConsentAttributeName.COMPACT_CONSENT_VERSION.getValue());
+            doThrow(CONDITION_FAILED_EXCEPTION.toBuilder().item(storedItem).build())
+                .when(consentTable).putItem(any(PutItemEnhancedRequest.class));
+
+            final ConflictingResourceException thrownException = assertThrows(ConflictingResourceException.class, () ->
+                repository.updateServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS));
+
+            final String expectedExceptionMessage = String.format(
+                "Error updating consent with serviceId: '%s', userId: '%s', consentId: '%s', stored consent has no consentVersion",
                 TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID);
             assertEquals(expectedExceptionMessage, thrownException.getMessage());
         }
@@ -207,13 +369,169 @@ class DynamoDbServiceUserConsentRepositoryTest {
                 InternalServiceException, ResourceNotFoundException {
             doNothing().when(consentTable).putItem(any(PutItemEnhancedRequest.class));
             repository.updateServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS);
+
+            final ArgumentCaptor<PutItemEnhancedRequest<DynamoDbServiceUserConsent>> putRequestCaptor =
+                ArgumentCaptor.forClass(PutItemEnhancedRequest.class);
+            verify(consentTable).putItem(putRequestCaptor.capture());
+            final PutItemEnhancedRequest<DynamoDbServiceUserConsent> putRequest = putRequestCaptor.getValue();
+            assertEquals(DynamoDbServiceUserConsentRepository.CONSENT_VERSION_MATCHES_CONDITION,
+                putRequest.conditionExpression().expression());
+            assertEquals(Map.of(DynamoDbServiceUserConsentRepository.EXPECTED_PREVIOUS_CONSENT_VERSION,
+                AttributeValue.fromN(Integer.toString(TestConstants.TEST_CONSENT_VERSION - 1))),
+                putRequest.conditionExpression().expressionValues());
+            assertEquals(ReturnValuesOnConditionCheckFailure.ALL_OLD.toString(), putRequest.returnValuesOnConditionCheckFailureAsString());
+        }
+
+        @Test
+        void testConsentVersionMatchesExpression() {
+            final int prebuiltVersion = DynamoDbServiceUserConsentRepository.PREBUILT_VERSION_EXPRESSIONS - 1;
+            assertSame(DynamoDbServiceUserConsentRepository.consentVersionMatchesExpression(prebuiltVersion),
+                DynamoDbServiceUserConsentRepository.consentVersionMatchesExpression(prebuiltVersion));
+
+            for (final int expectedConsentVersion : List.of(0, prebuiltVersion, prebuiltVersion + 1)) {
+                final Expression expression = DynamoDbServiceUserConsentRepository.consentVersionMatchesExpression(expectedConsentVersion);
+                assertEquals(DynamoDbServiceUserConsentRepository.CONSENT_VERSION_MATCHES_CONDITION, expression.expression());
+                assertEquals(Map.of(DynamoDbServiceUserConsentRepository.EXPECTED_PREVIOUS_CONSENT_VERSION,
+                    AttributeValue.fromN(Integer.toString(expectedConsentVersion))), expression.expressionValues());
+            }
+        }
+    }
+
+    @Nested
+    class PatchServiceUserConsentTest {
+        private static final ServiceUserConsentPatch REVOKE_PATCH = new ServiceUserConsentPatch(TestConstants.TEST_SERVICE_ID,
+            TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID, TestConstants.TEST_CONSENT_VERSION + 1,
+            Optional.of(ConsentStatus.REVOKED), null, null, null);
+
+        @Test
+        void testPatchWithNullPatch() {
+            final BadRequestException thrownException = assertThrows(BadRequestException.class, () ->
+                repository.patchServiceUserConsent(null));
+            assertEquals(ServiceUserConsentPatchValidator.PATCH_NULL_MESSAGE, thrownException.getMessage());
+            verify(dynamoDbClient, never()).updateItem(any(UpdateItemRequest.class));
+        }
+
+        @Test
+        void testPatchWithBlankConsentType() {
+            final ServiceUserConsentPatch blankConsentTypePatch = new ServiceUserConsentPatch(TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID, TestConstants.TEST_CONSENT_VERSION + 1, null,
+                Optional.of(" "), null, null);
+            final BadRequestException thrownException = assertThrows(BadRequestException.class, () ->
+                repository.patchServiceUserConsent(blankConsentTypePatch));
+            assertEquals(ConsentValidator.CONSENT_TYPE_BLANK_MESSAGE, thrownException.getMessage());
+            verify(dynamoDbClient, never()).updateItem(any(UpdateItemRequest.class));
+        }
+
+        @Test
+        void testPatchWhenConsentNotExists() {
+            doThrow(CONDITION_FAILED_EXCEPTION).when(dynamoDbClient).updateItem(any(UpdateItemRequest.class));
+            final ResourceNotFoundException thrownException = assertThrows(ResourceNotFoundException.class, () ->
+                repository.patchServiceUserConsent(REVOKE_PATCH));
+
+            final String expectedExceptionMessage = String.format(ServiceUserConsentRepository.CONSENT_NOT_FOUND_MESSAGE,
+                TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID);
+            assertEquals(expectedExceptionMessage, thrownException.getMessage());
+        }
+
+        @Test
+        void testPatchWhenConsentVersionConflict() {
+            final Map<String, AttributeValue> storedItem = new HashMap<String, AttributeValue>(TestConstants.TEST_CONSENT_DDB_ATTRIBUTES);
+            storedItem.put(DynamoDbServiceUserConsentAttributeName.COMPACT_CONSENT_VERSION.getValue(), AttributeValue.fromN("3"));
+            doThrow(CONDITION_FAILED_EXCEPTION.toBuilder().item(storedItem).build())
+                .when(dynamoDbClient).updateItem(any(UpdateItemRequest.class));
+
+            final ConflictingResourceException thrownException = assertThrows(ConflictingResourceException.class, () ->
+                repository.patchServiceUserConsent(REVOKE_PATCH));
+
+            final String expectedExceptionMessage = String.format(
+                "Error patching consent with serviceId: '%s', userId: '%s', consentId: '%s', %s",
+                TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID,
+                String.format(ConsentValidator.VERSION_CONFLICT_MESSAGE, 4L, 2L));
+            assertEquals(expectedExceptionMessage, thrownException.getMessage());
+        }
+
+        @Test
+        void testPatchWhenUnexpectedDynamoDbException() {
+            doThrow(DYNAMODB_EXCEPTION).when(dynamoDbClient).updateItem(any(UpdateItemRequest.class));
+            final InternalServiceException thrownException = assertThrows(InternalServiceException.class, () ->
+                repository.patchServiceUserConsent(REVOKE_PATCH));
+
+            final String expectedErrorMessage = String.format(
+                "Received DynamoDbException patching consent with serviceId: '%s', userId: '%s', consentId: '%s': %s",
+                TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID, TEST_DYNAMODB_EXCEPTION_MESSAGE);
+            assertEquals(expectedErrorMessage, thrownException.getMessage());
+        }
+
+        @Test
+        void testPatchReturnsUpdatedConsent() throws BadRequestException, ConflictingResourceException,
+                InternalServiceException, ResourceNotFoundException {
+            final Map<String, AttributeValue> updatedItem = new HashMap<String, AttributeValue>(TestConstants.TEST_CONSENT_DDB_ATTRIBUTES);
+            updatedItem.put(DynamoDbServiceUserConsentAttributeName.COMPACT_CONSENT_VERSION.getValue(), AttributeValue.fromN("2"));
+            updatedItem.put(DynamoDbServiceUserConsentAttributeName.COMPACT_CONSENT_STATUS.getValue(),
+                AttributeValue.fromS(ConsentStatus.REVOKED.getValue()));
+            updatedItem.put(DynamoDbServiceUserConsentAttributeName.STATUS_TYPE_ID.getValue(), AttributeValue.fromS(
+                DynamoDbServiceUserConsentMapper.toStatusTypeId(ConsentStatus.REVOKED.getValue(), TestConstants.TEST_CONSENT_TYPE,
+                    TestConstants.TEST_CONSENT_ID)));
+            when(dynamoDbClient.updateItem(any(UpdateItemRequest.class)))
+                .thenReturn(UpdateItemResponse.builder().attributes(updatedItem).build());
+
+            final Consent patchedConsent = repository.patchServiceUserConsent(REVOKE_PATCH);
+
+            final Consent expectedConsent = TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS)
+                .consentVersion(2)
+                .status(ConsentStatus.REVOKED);
+            assertEquals(expectedConsent, patchedConsent);
+            verify(dynamoDbClient, times(1)).updateItem(any(UpdateItemRequest.class));
+        }
+
+        @Test
+        void testPatchReconcilesExpiryIndexKeys() throws BadRequestException, ConflictingResourceException,
+                InternalServiceException, ResourceNotFoundException {
+            final ServiceUserConsentPatch activatePatch = new ServiceUserConsentPatch(TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID, TestConstants.TEST_CONSENT_VERSION + 1,
+                Optional.of(ConsentStatus.ACTIVE), null, null, null);
+            final Map<String, AttributeValue> updatedItem = new HashMap<String, AttributeValue>(TestConstants.TEST_CONSENT_DDB_ATTRIBUTES);
+            updatedItem.put(DynamoDbServiceUserConsentAttributeName.COMPACT_CONSENT_VERSION.getValue(), AttributeValue.fromN("2"));
+            when(dynamoDbClient.updateItem(any(UpdateItemRequest.class)))
+                .thenReturn(UpdateItemResponse.builder().attributes(updatedItem).build())
+                .thenThrow(CONDITION_FAILED_EXCEPTION);
+
+            final Consent patchedConsent = repository.patchServiceUserConsent(activatePatch);
+
+            assertEquals(TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS).consentVersion(2), patchedConsent);
+            final ArgumentCaptor<UpdateItemRequest> updateRequestCaptor = ArgumentCaptor.forClass(UpdateItemRequest.class);
+            verify(dynamoDbClient, times(2)).updateItem(updateRequestCaptor.capture());
+            final UpdateItemRequest indexKeysRequest = updateRequestCaptor.getAllValues().get(1);
+            assertEquals(AttributeValue.fromN("2"),
+                indexKeysRequest.expressionAttributeValues().get(DynamoDbServiceUserConsentRepository.EXPECTED_PREVIOUS_CONSENT_VERSION));
+        }
+
+        @Test
+        void testPatchReconcilesStatusTypeIndexKey() throws BadRequestException, ConflictingResourceException,
+                InternalServiceException, ResourceNotFoundException {
+            final Map<String, AttributeValue> updatedItem = new HashMap<String, AttributeValue>(TestConstants.TEST_CONSENT_DDB_ATTRIBUTES);
+            updatedItem.put(DynamoDbServiceUserConsentAttributeName.COMPACT_CONSENT_VERSION.getValue(), AttributeValue.fromN("2"));
+            updatedItem.put(DynamoDbServiceUserConsentAttributeName.COMPACT_CONSENT_STATUS.getValue(),
+                AttributeValue.fromS(ConsentStatus.REVOKED.getValue()));
+            when(dynamoDbClient.updateItem(any(UpdateItemRequest.class)))
+                .thenReturn(UpdateItemResponse.builder().attributes(updatedItem).build());
+
+            repository.patchServiceUserConsent(REVOKE_PATCH);
+
+            final ArgumentCaptor<UpdateItemRequest> updateRequestCaptor = ArgumentCaptor.forClass(UpdateItemRequest.class);
+            verify(dynamoDbClient, times(2)).updateItem(updateRequestCaptor.capture());
+            final UpdateItemRequest indexKeysRequest = updateRequestCaptor.getAllValues().get(1);
+            assertEquals("SET statusTypeId = :statusTypeId", indexKeysRequest.updateExpression());
+            assertEquals(AttributeValue.fromS(DynamoDbServiceUserConsentMapper.toStatusTypeId(ConsentStatus.REVOKED.getValue(),
+                TestConstants.TEST_CONSENT_TYPE, TestConstants.TEST_CONSENT_ID)),
+                indexKeysRequest.expressionAttributeValues().get(":statusTypeId"));
         }
     }
 
     @Nested
     class ListServiceUserConsentsTest {
         @Test
-        void testListConsentWithoutOptionalParametersWhenNullResults() throws BadRequestException {
+        void testListConsentWithoutOptionalParametersWhenNullResults() throws BadRequestException, InternalServiceException {
             when(mockConsentsByServiceUserIndex.query(any(QueryEnhancedRequest.class))).thenReturn(null);
             when(consentTable.index(any(String.class))).thenReturn(mockConsentsByServiceUserIndex);
 
@@ -223,7 +541,7 @@ class DynamoDbServiceUserConsentRepositoryTest {
         }
 
         @Test
-        void testListConsentWithOptionalParametersWhenNullResults() throws BadRequestException {
+        void testListConsentWithOptionalParametersWhenNullResults() throws BadRequestException, InternalServiceException {
             when(mockConsentsByServiceUserIndex.query(any(QueryEnhancedRequest.class))).thenReturn(null);
             when(consentTable.index(any(String.class))).thenReturn(mockConsentsByServiceUserIndex);
 
@@ -233,7 +551,7 @@ class DynamoDbServiceUserConsentRepositoryTest {
         }
 
         @Test
-        void testListConsentWhenEmptyResults() throws BadRequestException {
+        void testListConsentWhenEmptyResults() throws BadRequestException, InternalServiceException {
             when(mockQueryResults.stream()).thenReturn(Stream.empty());
             when(mockConsentsByServiceUserIndex.query(any(QueryEnhancedRequest.class))).thenReturn(mockQueryResults);
             when(consentTable.index(any(String.class))).thenReturn(mockConsentsByServiceUserIndex);
@@ -244,7 +562,7 @@ class DynamoDbServiceUserConsentRepositoryTest {
         }
 
         @Test
-        void testListConsentWhenMultiplePages() throws BadRequestException {
+        void testListConsentWhenMultiplePages() throws BadRequestException, InternalServiceException {
             final List<DynamoDbServiceUserConsent> mockConsents = List.of(TestConstants.TEST_DDB_CONSENT_WITH_ALL_FIELDS);
             final Page<DynamoDbServiceUserConsent> mockPageConsents = Page.builder(DynamoDbServiceUserConsent.class)
                 .items(mockConsents)
@@ -259,6 +577,258 @@ class DynamoDbServiceUserConsentRepositoryTest {
             assertEquals(List.of(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS), queryResults.resultsOnPage());
             assertEquals(Optional.of(TestConstants.TEST_DDB_PAGE_TOKEN), queryResults.nextPageToken());
         }
+
+        @Test
+        void testListConsentWithFilterQueriesStatusTypeIndexByPrefix() throws BadRequestException, InternalServiceException {
+            final Page<DynamoDbServiceUserConsent> mockPageConsents = Page.builder(DynamoDbServiceUserConsent.class)
+                .items(List.of(TestConstants.TEST_DDB_CONSENT_WITH_ALL_FIELDS))
+                .build();
+            when(mockQueryResults.stream()).thenReturn(List.of(mockPageConsents).stream());
+            when(mockConsentsByServiceUserIndex.query(any(QueryEnhancedRequest.class))).thenReturn(mockQueryResults);
+            when(consentTable.index(any(String.class))).thenReturn(mockConsentsByServiceUserIndex);
+            final ServiceUserConsentFilter filter = new ServiceUserConsentFilter(TestConstants.TEST_CONSENT_STATUS,
+                TestConstants.TEST_CONSENT_TYPE);
+            final DynamoDbServiceUserConsentRepository backfilledRepository = new DynamoDbServiceUserConsentRepository(dynamoDbClient,
+                dynamoDbEnhancedClient, consentTable, true);
+
+            final ListPage<Consent> queryResults = backfilledRepository.listServiceUserConsents(TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID, filter, 10, null);
+
+            assertEquals(List.of(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS), queryResults.resultsOnPage());
+            assertEquals(Optional.empty(), queryResults.nextPageToken());
+            verify(consentTable).index(DynamoDbServiceUserConsentTableSchema.CONSENTS_BY_SERVICE_USER_STATUS_TYPE_GSI_NAME);
+            final ArgumentCaptor<QueryEnhancedRequest> queryRequestCaptor = ArgumentCaptor.forClass(QueryEnhancedRequest.class);
+            verify(mockConsentsByServiceUserIndex).query(queryRequestCaptor.capture());
+            final QueryEnhancedRequest queryRequest = queryRequestCaptor.getValue();
+            assertEquals(10, queryRequest.limit());
+            final Expression keyCondition = queryRequest.queryConditional().expression(
+                DynamoDbServiceUserConsentTableSchema.TABLE_SCHEMA,
+                DynamoDbServiceUserConsentTableSchema.CONSENTS_BY_SERVICE_USER_STATUS_TYPE_GSI_NAME);
+            assertTrue(keyCondition.expressionValues().containsValue(AttributeValue.fromS(TestConstants.TEST_SERVICE_USER_ID)));
+            assertTrue(keyCondition.expressionValues().containsValue(AttributeValue.fromS(DynamoDbServiceUserConsentMapper
+                .toStatusTypeIdPrefix(TestConstants.TEST_CONSENT_STATUS, TestConstants.TEST_CONSENT_TYPE))));
+        }
+
+        @Test
+        void testListConsentWithFilterBeforeBackfillFiltersServiceUserIndex() throws BadRequestException, InternalServiceException {
+            final Consent revokedConsent = TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS)
+                .consentId("RevokedConsentId")
+                .status(ConsentStatus.REVOKED);
+            final Page<DynamoDbServiceUserConsent> mockPageConsents = Page.builder(DynamoDbServiceUserConsent.class)
+                .items(List.of(TestConstants.TEST_DDB_CONSENT_WITH_ALL_FIELDS,
+                    DynamoDbServiceUserConsentMapper.toDynamoDbServiceUserConsent(revokedConsent)))
+                .lastEvaluatedKey(TestConstants.TEST_DDB_PAGE_TOKEN_ATTRIBUTE_MAP)
+                .build();
+            when(mockQueryResults.stream()).thenReturn(List.of(mockPageConsents).stream());
+            when(mockConsentsByServiceUserIndex.query(any(QueryEnhancedRequest.class))).thenReturn(mockQueryResults);
+            when(consentTable.index(any(String.class))).thenReturn(mockConsentsByServiceUserIndex);
+            final ServiceUserConsentFilter filter = new ServiceUserConsentFilter(ConsentStatus.REVOKED, null);
+
+            final ListPage<Consent> queryResults = repository.listServiceUserConsents(TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID, filter, 2, null);
+
+            assertEquals(List.of(revokedConsent), queryResults.resultsOnPage());
+            verify(consentTable).index(DynamoDbServiceUserConsent.CONSENT_BY_SERVICE_USER_GSI_NAME);
+            assertTrue(queryResults.nextPageToken().isPresent());
+            assertThrows(BadRequestException.class, () -> repository.listServiceUserConsents(TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID, 2, queryResults.nextPageToken().get()));
+        }
+
+        @Test
+        void testListConsentWhenQueryThrottled() {
+            final ProvisionedThroughputExceededException throttlingException = ProvisionedThroughputExceededException.builder()
+                .message("Throughput exceeds the current capacity for one or more global secondary indexes")
+                .build();
+            when(mockConsentsByServiceUserIndex.query(any(QueryEnhancedRequest.class))).thenThrow(throttlingException);
+            when(consentTable.index(any(String.class))).thenReturn(mockConsentsByServiceUserIndex);
+
+            final InternalServiceException thrownException = assertThrows(InternalServiceException.class, () ->
+                repository.listServiceUserConsents(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, 10,
+                    TestConstants.TEST_DDB_PAGE_TOKEN));
+            assertSame(throttlingException, thrownException.getCause());
+        }
+
+        @Test
+        void testListConsentWithFilterRejectsUnfilteredPageToken() {
+            final ServiceUserConsentFilter filter = new ServiceUserConsentFilter(TestConstants.TEST_CONSENT_STATUS, null);
+
+            assertThrows(BadRequestException.class, () -> repository.listServiceUserConsents(TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID, filter, 10, TestConstants.TEST_DDB_PAGE_TOKEN));
+            verify(consentTable, never()).index(any(String.class));
+        }
+
+        @Test
+        void testListConsentWithEmptyFilterQueriesServiceUserIndex() throws BadRequestException, InternalServiceException {
+            when(mockConsentsByServiceUserIndex.query(any(QueryEnhancedRequest.class))).thenReturn(null);
+            when(consentTable.index(any(String.class))).thenReturn(mockConsentsByServiceUserIndex);
+
+            final ListPage<Consent> queryResults = repository.listServiceUserConsents(TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID, ServiceUserConsentFilter.NONE, null, null);
+
+            assertEquals(DynamoDbServiceUserConsentRepository.EMPTY_CONSENTS_PAGE, queryResults);
+            verify(consentTable).index(DynamoDbServiceUserConsent.CONSENT_BY_SERVICE_USER_GSI_NAME);
+        }
+    }
+
+    @Nested
+    class ExportServiceUserConsentsTest {
+        @Test
+        void testExportConsentsWhenNullResults() throws BadRequestException {
+            when(mockConsentsByServiceUserIndex.query(any(QueryEnhancedRequest.class))).thenReturn(null);
+            when(consentTable.index(any(String.class))).thenReturn(mockConsentsByServiceUserIndex);
+
+            try (Stream<Consent> consents = repository.exportServiceUserConsents(TestConstants.TEST_SERVICE_ID,
+                    TestConstants.TEST_USER_ID)) {
+                assertTrue(consents.toList().isEmpty());
+            }
+        }
+
+        @Test
+        void testExportConsentsWhenMultiplePages() throws BadRequestException {
+            final Consent secondConsent = TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS).consentId("SecondConsentId");
+            final Page<DynamoDbServiceUserConsent> firstPage = Page.builder(DynamoDbServiceUserConsent.class)
+                .items(List.of(TestConstants.TEST_DDB_CONSENT_WITH_ALL_FIELDS))
+                .lastEvaluatedKey(TestConstants.TEST_DDB_PAGE_TOKEN_ATTRIBUTE_MAP)
+                .build();
+            final Page<DynamoDbServiceUserConsent> secondPage = Page.builder(DynamoDbServiceUserConsent.class)
+                .items(List.of(DynamoDbServiceUserConsentMapper.toDynamoDbServiceUserConsent(secondConsent)))
+                .build();
+            when(mockQueryResults.iterator()).thenReturn(List.of(firstPage, secondPage).iterator());
+            when(mockConsentsByServiceUserIndex.query(any(QueryEnhancedRequest.class))).thenReturn(mockQueryResults);
+            when(consentTable.index(any(String.class))).thenReturn(mockConsentsByServiceUserIndex);
+
+            try (Stream<Consent> consents = repository.exportServiceUserConsents(TestConstants.TEST_SERVICE_ID,
+                    TestConstants.TEST_USER_ID)) {
+                assertEquals(List.of(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS, secondConsent), consents.toList());
+            }
+            verify(consentTable).index(DynamoDbServiceUserConsent.CONSENT_BY_SERVICE_USER_GSI_NAME);
+            final ArgumentCaptor<QueryEnhancedRequest> queryRequestCaptor = ArgumentCaptor.forClass(QueryEnhancedRequest.class);
+            verify(mockConsentsByServiceUserIndex).query(queryRequestCaptor.capture());
+            assertEquals(ServiceUserConsentRepository.EXPORT_PAGE_SIZE, queryRequestCaptor.getValue().limit());
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        void testExportConsentsWhenDynamoDbException() throws BadRequestException {
+            final Iterator<Page<DynamoDbServiceUserConsent>> failingPages = mock(Iterator.class);
+            when(failingPages.hasNext()).thenThrow(DYNAMODB_EXCEPTION);
+            when(mockQueryResults.iterator()).thenReturn(failingPages);
+            when(mockConsentsByServiceUserIndex.query(any(QueryEnhancedRequest.class))).thenReturn(mockQueryResults);
+            when(consentTable.index(any(String.class))).thenReturn(mockConsentsByServiceUserIndex);
+
+            try (Stream<Consent> consents = repository.exportServiceUserConsents(TestConstants.TEST_SERVICE_ID,
+                    TestConstants.TEST_USER_ID)) {
+                final IllegalStateException thrownException = assertThrows(IllegalStateException.class, () -> consents.toList());
+                assertTrue(thrownException.getCause() instanceof InternalServiceException);
+                assertTrue(thrownException.getCause().getMessage().contains(TEST_DYNAMODB_EXCEPTION_MESSAGE));
+            }
+        }
+    }
+
+    @Nested
+    class BatchGetServiceUserConsentsTest {
+        private static final String MISSING_CONSENT_ID = "MissingConsentId";
+
+        @BeforeEach
+        void setupTable() {
+            when(consentTable.tableName()).thenReturn(DynamoDbServiceUserConsent.TABLE_NAME);
+            when(consentTable.tableSchema()).thenReturn(DynamoDbServiceUserConsentTableSchema.TABLE_SCHEMA);
+        }
+
+        @Test
+        void testBatchGetReportsMissingConsents() throws InternalServiceException {
+            mockBatchGetResponses(buildResultPage(List.of(TestConstants.TEST_DDB_CONSENT_WITH_ALL_FIELDS), List.of()));
+
+            final ServiceUserConsentBatchGetResult result = repository.batchGetServiceUserConsents(TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID, List.of(MISSING_CONSENT_ID, TestConstants.TEST_CONSENT_ID, MISSING_CONSENT_ID));
+
+            assertEquals(List.of(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS), result.consents());
+            assertEquals(List.of(MISSING_CONSENT_ID), result.missingConsentIds());
+            verify(dynamoDbEnhancedClient, times(1)).batchGetItem(any(BatchGetItemEnhancedRequest.class));
+        }
+
+        @Test
+        void testBatchGetRetriesUnprocessedKeys() throws InternalServiceException {
+            final Key unprocessedKey = DynamoDbServiceUserConsentMapper.toServiceUserConsentPartitionKey(TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID);
+            mockBatchGetResponses(
+                buildResultPage(List.of(), List.of(unprocessedKey)),
+                buildResultPage(List.of(TestConstants.TEST_DDB_CONSENT_WITH_ALL_FIELDS), List.of()));
+
+            final ServiceUserConsentBatchGetResult result = repository.batchGetServiceUserConsents(TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID, List.of(TestConstants.TEST_CONSENT_ID));
+
+            assertEquals(List.of(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS), result.consents());
+            assertEquals(List.of(), result.missingConsentIds());
+            verify(dynamoDbEnhancedClient, times(2)).batchGetItem(any(BatchGetItemEnhancedRequest.class));
+        }
+
+        @Test
+        void testBatchGetWhenKeysRemainUnprocessed() {
+            final Key unprocessedKey = DynamoDbServiceUserConsentMapper.toServiceUserConsentPartitionKey(TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID);
+            mockBatchGetResponses(buildResultPage(List.of(), List.of(unprocessedKey)));
+
+            final InternalServiceException thrownException = assertThrows(InternalServiceException.class, () ->
+                repository.batchGetServiceUserConsents(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+                    List.of(TestConstants.TEST_CONSENT_ID)));
+
+            final String expectedErrorMessage = String.format(DynamoDbServiceUserConsentRepository.BATCH_GET_UNPROCESSED_KEYS_MESSAGE, 1,
+                TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, DynamoDbServiceUserConsentRepository.BATCH_GET_MAX_ATTEMPTS);
+            assertEquals(expectedErrorMessage, thrownException.getMessage());
+            verify(dynamoDbEnhancedClient, times(DynamoDbServiceUserConsentRepository.BATCH_GET_MAX_ATTEMPTS))
+                .batchGetItem(any(BatchGetItemEnhancedRequest.class));
+            assertFalse(Thread.currentThread().isInterrupted());
+        }
+
+        @Test
+        void testBatchGetSplitsRequestsIntoChunks() throws InternalServiceException {
+            mockBatchGetResponses(buildResultPage(List.of(), List.of()));
+
+            final List<String> consentIds = new ArrayList<String>();
+            for (int i = 0; i <= DynamoDbServiceUserConsentRepository.BATCH_GET_MAX_KEYS; i++) {
+                consentIds.add(String.format("ConsentId%d", i));
+            }
+
+            final ServiceUserConsentBatchGetResult result = repository.batchGetServiceUserConsents(TestConstants.TEST_SERVICE_ID,
+                TestConstants.TEST_USER_ID, consentIds);
+
+            assertEquals(List.of(), result.consents());
+            assertEquals(consentIds, result.missingConsentIds());
+            verify(dynamoDbEnhancedClient, times(2)).batchGetItem(any(BatchGetItemEnhancedRequest.class));
+        }
+
+        @Test
+        void testBatchGetWhenUnexpectedDynamoDbException() {
+            doThrow(DYNAMODB_EXCEPTION).when(dynamoDbEnhancedClient).batchGetItem(any(BatchGetItemEnhancedRequest.class));
+
+            final InternalServiceException thrownException = assertThrows(InternalServiceException.class, () ->
+                repository.batchGetServiceUserConsents(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+                    List.of(TestConstants.TEST_CONSENT_ID)));
+
+            final String expectedErrorMessage = String.format(
+                "Received DynamoDbException batch retrieving consents with serviceId: '%s', userId: '%s': %s",
+                TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TEST_DYNAMODB_EXCEPTION_MESSAGE);
+            assertEquals(expectedErrorMessage, thrownException.getMessage());
+        }
+
+        private BatchGetResultPage buildResultPage(final List<DynamoDbServiceUserConsent> items, final List<Key> unprocessedKeys) {
+            final BatchGetResultPage resultPage = mock(BatchGetResultPage.class);
+            when(resultPage.resultsForTable(consentTable)).thenReturn(items);
+            when(resultPage.unprocessedKeysForTable(consentTable)).thenReturn(unprocessedKeys);
+            return resultPage;
+        }
+
+        private void mockBatchGetResponses(final BatchGetResultPage... pages) {
+            final List<BatchGetResultPageIterable> responses = new ArrayList<BatchGetResultPageIterable>();
+            for (final BatchGetResultPage page : pages) {
+                final BatchGetResultPageIterable pageIterable = mock(BatchGetResultPageIterable.class);
+                when(pageIterable.iterator()).thenAnswer(invocation -> List.of(page).iterator());
+                responses.add(pageIterable);
+            }
+            when(dynamoDbEnhancedClient.batchGetItem(any(BatchGetItemEnhancedRequest.class)))
+                .thenReturn(responses.get(0), responses.subList(1, responses.size()).toArray(new BatchGetResultPageIterable[0]));
+        }
     }
 
     private Consent buildIncompleteConsent() {
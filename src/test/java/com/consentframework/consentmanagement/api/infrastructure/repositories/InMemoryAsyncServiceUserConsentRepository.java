@@ -0,0 +1,89 @@
+package com.consentframework.consentmanagement.api.infrastructure.repositories;
+
+import com.consentframework.consentmanagement.api.domain.repositories.AsyncServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.shared.api.domain.pagination.ListPage;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking in-memory implementation of AsyncServiceUserConsentRepository, backed by a ServiceUserConsentRepository
+ * and returning already completed futures.
+ */
+public class InMemoryAsyncServiceUserConsentRepository implements AsyncServiceUserConsentRepository {
+    private final ServiceUserConsentRepository consentRepository;
+
+    /**
+     * Construct non-blocking repository backed by a new InMemoryServiceUserConsentRepository.
+     */
+    public InMemoryAsyncServiceUserConsentRepository() {
+        this(new InMemoryServiceUserConsentRepository());
+    }
+
+    /**
+     * Construct non-blocking repository backed by the given repository.
+     *
+     * @param consentRepository backing consent repository
+     */
+    public InMemoryAsyncServiceUserConsentRepository(final ServiceUserConsentRepository consentRepository) {
+        this.consentRepository = consentRepository;
+    }
+
+    /**
+     * Return backing consent repository.
+     *
+     * @return backing consent repository
+     */
+    public ServiceUserConsentRepository getConsentRepository() {
+        return consentRepository;
+    }
+
+    /**
+     * Add consent to backing repository if does not yet exist.
+     */
+    @Override
+    public CompletableFuture<Void> createServiceUserConsent(final Consent consent) {
+        return toFuture(() -> {
+            consentRepository.createServiceUserConsent(consent);
+            return null;
+        });
+    }
+
+    /**
+     * Retrieve consent from backing repository if exists.
+     */
+    @Override
+    public CompletableFuture<Consent> getServiceUserConsent(final String serviceId, final String userId, final String consentId) {
+        return toFuture(() -> consentRepository.getServiceUserConsent(serviceId, userId, consentId));
+    }
+
+    /**
+     * Update existing consent in backing repository.
+     */
+    @Override
+    public CompletableFuture<Void> updateServiceUserConsent(final Consent consent) {
+        return toFuture(() -> {
+            consentRepository.updateServiceUserConsent(consent);
+            return null;
+        });
+    }
+
+    /**
+     * List user's consents for a given service from backing repository.
+     */
+    @Override
+    public CompletableFuture<ListPage<Consent>> listServiceUserConsents(final String serviceId, final String userId,
+            final Integer limit, final String pageToken) {
+        return toFuture(() -> consentRepository.listServiceUserConsents(serviceId, userId, limit, pageToken));
+    }
+
+    private static <T> CompletableFuture<T> toFuture(final Callable<T> operation) {
+        try {
+            return CompletableFuture.completedFuture(operation.call());
+        } catch (final Exception exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+    }
+}
@@ -13,6 +13,7 @@ import com.consentframework.shared.api.domain.pagination.ListPaginator;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -45,6 +46,29 @@ public class InMemoryServiceUserConsentRepository implements ServiceUserConsentR
         storeValidatedConsent(key, consent);
     }
 
+    /**
+     * Add consents to in-memory store, only if none of them exist yet.
+     *
+     * @param consents Consent objects to save to the repository
+     * @throws BadRequestException exception thrown if any consent violates model constraints
+     * @throws ConflictingResourceException exception thrown if any consent already exists with same key, in which case none are saved
+     */
+    @Override
+    public void createServiceUserConsents(final List<Consent> consents) throws BadRequestException, ConflictingResourceException {
+        final Map<InMemoryServiceUserConsentKey, Consent> consentsByKey = new LinkedHashMap<InMemoryServiceUserConsentKey, Consent>();
+        for (final Consent consent : consents) {
+            final InMemoryServiceUserConsentKey key = new InMemoryServiceUserConsentKey(
+                consent.getServiceId(), consent.getUserId(), consent.getConsentId());
+            if (inMemoryConsentStore.containsKey(key) || consentsByKey.containsKey(key)) {
+                throw new ConflictingResourceException(String.format(CONSENT_ALREADY_EXISTS_MESSAGE,
+                    consent.getServiceId(), consent.getUserId(), consent.getConsentId()));
+            }
+            ConsentValidator.validate(consent);
+            consentsByKey.put(key, consent);
+        }
+        consentsByKey.forEach(this::storeValidatedConsent);
+    }
+
     /**
      * Retrieve consent from in-memory store if exists.
      *
@@ -110,10 +134,15 @@ public class InMemoryServiceUserConsentRepository implements ServiceUserConsentR
         inMemoryConsentStore.put(key, consent);
 
         final InMemoryServiceUserKey serviceUserIndexKey = new InMemoryServiceUserKey(consent.getServiceId(), consent.getUserId());
-        final List<Consent> serviceUserConsents = inMemoryConsentsByServiceUserIndex.getOrDefault(
-            serviceUserIndexKey, new ArrayList<Consent>());
+        final List<Consent> serviceUserConsents = inMemoryConsentsByServiceUserIndex.computeIfAbsent(
+            serviceUserIndexKey, indexKey -> new ArrayList<Consent>());
+        for (int index = 0; index < serviceUserConsents.size(); index++) {
+            if (serviceUserConsents.get(index).getConsentId().equals(consent.getConsentId())) {
+                serviceUserConsents.set(index, consent);
+                return;
+            }
+        }
         serviceUserConsents.add(consent);
-        inMemoryConsentsByServiceUserIndex.put(serviceUserIndexKey, serviceUserConsents);
     }
 
     private Integer parsePageToken(final String pageToken) throws BadRequestException {
@@ -115,12 +115,27 @@ class InMemoryServiceUserConsentRepositoryTest {
                 TestConstants.TEST_CONSENT_ID);
             assertEquals(inputConsent, retrievedConsent);
         }
+
+        @Test
+        void testUpdateReplacesListedConsent() throws BadRequestException, ConflictingResourceException,
+                InternalServiceException, ResourceNotFoundException {
+            repository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS);
+            final Consent inputConsent = TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS)
+                .consentVersion(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS.getConsentVersion() + 1)
+                .status(ConsentStatus.REVOKED);
+
+            repository.updateServiceUserConsent(inputConsent);
+
+            final ListPage<Consent> page = repository.listServiceUserConsents(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+                null, null);
+            assertEquals(List.of(inputConsent), page.resultsOnPage());
+        }
     }
 
     @Nested
     class ListServiceUserConsent {
         @Test
-        void testListConsentWhenEmpty() throws BadRequestException {
+        void testListConsentWhenEmpty() throws BadRequestException, InternalServiceException {
             final ListPage<Consent> results = repository.listServiceUserConsents(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
                 null, null);
             assertTrue(results.resultsOnPage().isEmpty());
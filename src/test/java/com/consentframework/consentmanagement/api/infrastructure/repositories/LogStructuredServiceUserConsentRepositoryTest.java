@@ -0,0 +1,328 @@
+package com.consentframework.consentmanagement.api.infrastructure.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentFilter;
+import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.infrastructure.localstore.ConsentWriteAheadLog;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.consentmanagement.api.testcommon.utils.TestUtils;
+import com.consentframework.shared.api.domain.exceptions.ConflictingResourceException;
+import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
+import com.consentframework.shared.api.domain.exceptions.ResourceNotFoundException;
+import com.consentframework.shared.api.domain.pagination.ListPage;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+class LogStructuredServiceUserConsentRepositoryTest {
+    @TempDir
+    private Path directory;
+
+    @Nested
+    class ReadsAndWrites {
+        @Test
+        void testCreateUpdateAndGetConsent() throws Exception {
+            try (LogStructuredServiceUserConsentRepository repository = new LogStructuredServiceUserConsentRepository(directory)) {
+                repository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS);
+                final Consent updatedConsent = nextVersion(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS);
+                repository.updateServiceUserConsent(updatedConsent);
+
+                assertEquals(updatedConsent, repository.getServiceUserConsent(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+                    TestConstants.TEST_CONSENT_ID));
+                assertEquals(1, repository.size());
+            }
+        }
+
+        @Test
+        void testWriteConflictsAreNotPersisted() throws Exception {
+            try (LogStructuredServiceUserConsentRepository repository = new LogStructuredServiceUserConsentRepository(directory)) {
+                repository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS);
+
+                assertThrows(ConflictingResourceException.class,
+                    () -> repository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS));
+                assertThrows(ConflictingResourceException.class,
+                    () -> repository.updateServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS));
+                assertThrows(ResourceNotFoundException.class,
+                    () -> repository.getServiceUserConsent(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, "MissingConsentId"));
+            }
+
+            try (LogStructuredServiceUserConsentRepository repository = new LogStructuredServiceUserConsentRepository(directory)) {
+                assertEquals(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS, repository.getServiceUserConsent(
+                    TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID));
+            }
+        }
+
+        @Test
+        void testListAndExportConsents() throws Exception {
+            try (LogStructuredServiceUserConsentRepository repository = new LogStructuredServiceUserConsentRepository(directory)) {
+                repository.createServiceUserConsents(List.of(buildConsent("B"), buildConsent("A").status(ConsentStatus.REVOKED)));
+
+                final ListPage<Consent> page = repository.listServiceUserConsents(TestConstants.TEST_SERVICE_ID,
+                    TestConstants.TEST_USER_ID, 1, null);
+                assertEquals(List.of("A"), toConsentIds(page.resultsOnPage()));
+                assertEquals(List.of("B"), toConsentIds(repository.listServiceUserConsents(TestConstants.TEST_SERVICE_ID,
+                    TestConstants.TEST_USER_ID, 1, page.nextPageToken().get()).resultsOnPage()));
+                assertEquals(List.of("B"), toConsentIds(repository.listServiceUserConsents(TestConstants.TEST_SERVICE_ID,
+                    TestConstants.TEST_USER_ID, new ServiceUserConsentFilter(ConsentStatus.ACTIVE, null), null, null).resultsOnPage()));
+                assertEquals(List.of("A", "B"), toConsentIds(repository.exportServiceUserConsents(TestConstants.TEST_SERVICE_ID,
+                    TestConstants.TEST_USER_ID).collect(Collectors.toList())));
+            }
+        }
+
+        @Test
+        void testWriteAfterClose() throws Exception {
+            final LogStructuredServiceUserConsentRepository repository = new LogStructuredServiceUserConsentRepository(directory);
+            repository.close();
+
+            final InternalServiceException thrownException = assertThrows(InternalServiceException.class,
+                () -> repository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS));
+            assertEquals(String.format(LogStructuredServiceUserConsentRepository.PERSIST_FAILURE_MESSAGE, 1), thrownException.getMessage());
+        }
+
+        @Test
+        void testWritesThatFailToPersistAreNotApplied() throws Exception {
+            final AtomicBoolean failAppends = new AtomicBoolean();
+            try (LogStructuredServiceUserConsentRepository repository = new LogStructuredServiceUserConsentRepository(directory,
+                    LogStructuredServiceUserConsentRepository.DEFAULT_COMPACTION_THRESHOLD_BYTES,
+                    (logDirectory, segmentNumber) -> new FailingConsentWriteAheadLog(logDirectory, segmentNumber, failAppends))) {
+                repository.createServiceUserConsent(buildConsent("A"));
+                failAppends.set(true);
+
+                assertThrows(InternalServiceException.class, () -> repository.createServiceUserConsent(buildConsent("B")));
+                assertThrows(InternalServiceException.class, () -> repository.createServiceUserConsents(List.of(buildConsent("C"))));
+                assertThrows(InternalServiceException.class, () -> repository.updateServiceUserConsent(nextVersion(buildConsent("A"))));
+                assertThrows(ResourceNotFoundException.class,
+                    () -> repository.getServiceUserConsent(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, "B"));
+                assertEquals(List.of(buildConsent("A")), listAllConsents(repository));
+
+                // Retries are not rejected as conflicts with the failed writes
+                failAppends.set(false);
+                repository.createServiceUserConsent(buildConsent("B"));
+                repository.updateServiceUserConsent(nextVersion(buildConsent("A")));
+                assertEquals(List.of(nextVersion(buildConsent("A")), buildConsent("B")), listAllConsents(repository));
+            }
+        }
+    }
+
+    @Nested
+    class Recovery {
+        @Test
+        void testRecoverAfterCrash() throws Exception {
+            final LogStructuredServiceUserConsentRepository crashedRepository = new LogStructuredServiceUserConsentRepository(directory);
+            crashedRepository.createServiceUserConsents(List.of(buildConsent("A"), buildConsent("B")));
+            final Consent updatedConsent = nextVersion(buildConsent("A"));
+            crashedRepository.updateServiceUserConsent(updatedConsent);
+
+            try (LogStructuredServiceUserConsentRepository repository = new LogStructuredServiceUserConsentRepository(directory)) {
+                assertEquals(List.of(updatedConsent, buildConsent("B")), listAllConsents(repository));
+            }
+        }
+
+        @Test
+        void testRecoverAfterTornWrite() throws Exception {
+            try (LogStructuredServiceUserConsentRepository repository = new LogStructuredServiceUserConsentRepository(directory)) {
+                repository.createServiceUserConsent(buildConsent("A"));
+            }
+            final Path segment = onlyFile(".log");
+            Files.write(segment, new byte[] {0, 0, 0, 100, 1, 2, 3, 4, '{'}, StandardOpenOption.APPEND);
+
+            try (LogStructuredServiceUserConsentRepository repository = new LogStructuredServiceUserConsentRepository(directory)) {
+                assertEquals(List.of(buildConsent("A")), listAllConsents(repository));
+                repository.createServiceUserConsent(buildConsent("B"));
+            }
+            try (LogStructuredServiceUserConsentRepository repository = new LogStructuredServiceUserConsentRepository(directory)) {
+                assertEquals(List.of(buildConsent("A"), buildConsent("B")), listAllConsents(repository));
+            }
+        }
+
+        @Test
+        void testRecoverWithUnreadableRecord() throws Exception {
+            try (LogStructuredServiceUserConsentRepository repository = new LogStructuredServiceUserConsentRepository(directory)) {
+                repository.createServiceUserConsent(buildConsent("A"));
+            }
+            try (ConsentWriteAheadLog log = new ConsentWriteAheadLog(directory, 0)) {
+                log.append(List.of("not a consent".getBytes(StandardCharsets.UTF_8)));
+            }
+
+            assertThrows(UncheckedIOException.class, () -> new LogStructuredServiceUserConsentRepository(directory));
+        }
+
+        @Test
+        void testConcurrentWritesDuringCompactionAreRecovered() throws Exception {
+            final int threads = 8;
+            final int consentsPerThread = 100;
+            final ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try (LogStructuredServiceUserConsentRepository repository = new LogStructuredServiceUserConsentRepository(directory,
+                    4 * 1024)) {
+                final List<Future<?>> results = new ArrayList<Future<?>>();
+                for (int thread = 0; thread < threads; thread++) {
+                    final int threadIndex = thread;
+                    results.add(executor.submit(() -> {
+                        for (int index = 0; index < consentsPerThread; index++) {
+                            final Consent consent = buildConsent(String.format("Consent%02d-%03d", threadIndex, index));
+                            repository.createServiceUserConsent(consent);
+                            repository.updateServiceUserConsent(nextVersion(consent));
+                        }
+                        return null;
+                    }));
+                }
+                for (final Future<?> result : results) {
+                    result.get(60, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            try (LogStructuredServiceUserConsentRepository repository = new LogStructuredServiceUserConsentRepository(directory)) {
+                final List<Consent> recoveredConsents = listAllConsents(repository);
+                assertEquals(threads * consentsPerThread, recoveredConsents.size());
+                assertTrue(recoveredConsents.stream()
+                    .allMatch(consent -> consent.getConsentVersion() == TestConstants.TEST_CONSENT_VERSION + 1));
+            }
+        }
+    }
+
+    @Nested
+    class Compaction {
+        @Test
+        void testCompactThenRecover() throws Exception {
+            try (LogStructuredServiceUserConsentRepository repository = new LogStructuredServiceUserConsentRepository(directory)) {
+                repository.createServiceUserConsents(List.of(buildConsent("A"), buildConsent("B")));
+                repository.compact();
+                repository.updateServiceUserConsent(nextVersion(buildConsent("A")));
+            }
+
+            assertEquals(List.of(directory.resolve("consents-00000000000000000001.log"),
+                directory.resolve("snapshot-00000000000000000001.dat")), listFiles());
+            try (LogStructuredServiceUserConsentRepository repository = new LogStructuredServiceUserConsentRepository(directory)) {
+                assertEquals(List.of(nextVersion(buildConsent("A")), buildConsent("B")), listAllConsents(repository));
+            }
+        }
+
+        @Test
+        void testBackgroundCompaction() throws Exception {
+            try (LogStructuredServiceUserConsentRepository repository = new LogStructuredServiceUserConsentRepository(directory, 1)) {
+                for (int index = 0; index < 20; index++) {
+                    repository.createServiceUserConsent(buildConsent("Consent" + index));
+                }
+            }
+
+            assertTrue(listFiles().stream().anyMatch(file -> file.getFileName().toString().startsWith("snapshot-")));
+            try (LogStructuredServiceUserConsentRepository repository = new LogStructuredServiceUserConsentRepository(directory)) {
+                assertEquals(20, repository.size());
+            }
+        }
+
+        @Test
+        void testRecoverAfterCrashDuringCompaction() throws Exception {
+            try (LogStructuredServiceUserConsentRepository repository = new LogStructuredServiceUserConsentRepository(directory)) {
+                repository.createServiceUserConsent(buildConsent("A"));
+                repository.compact();
+                repository.createServiceUserConsent(buildConsent("B"));
+            }
+            // Crash after rotating the log again, while writing the next snapshot
+            Files.createFile(directory.resolve("consents-00000000000000000002.log"));
+            Files.write(directory.resolve("snapshot-00000000000000000002.dat.inprogress"), new byte[] {0, 0, 0, 50, 1});
+
+            try (LogStructuredServiceUserConsentRepository repository = new LogStructuredServiceUserConsentRepository(directory)) {
+                assertEquals(List.of(buildConsent("A"), buildConsent("B")), listAllConsents(repository));
+                repository.createServiceUserConsent(buildConsent("C"));
+            }
+            assertFalse(Files.exists(directory.resolve("snapshot-00000000000000000002.dat.inprogress")));
+            try (LogStructuredServiceUserConsentRepository repository = new LogStructuredServiceUserConsentRepository(directory)) {
+                assertEquals(List.of(buildConsent("A"), buildConsent("B"), buildConsent("C")), listAllConsents(repository));
+            }
+        }
+
+        @Test
+        void testRecoverAfterCrashBeforeDeletingCompactedSegments() throws Exception {
+            try (LogStructuredServiceUserConsentRepository repository = new LogStructuredServiceUserConsentRepository(directory)) {
+                repository.createServiceUserConsent(buildConsent("A"));
+            }
+            final byte[] compactedSegment = Files.readAllBytes(directory.resolve("consents-00000000000000000000.log"));
+            try (LogStructuredServiceUserConsentRepository repository = new LogStructuredServiceUserConsentRepository(directory)) {
+                repository.compact();
+            }
+            Files.write(directory.resolve("consents-00000000000000000000.log"), compactedSegment);
+
+            try (LogStructuredServiceUserConsentRepository repository = new LogStructuredServiceUserConsentRepository(directory)) {
+                assertEquals(List.of(buildConsent("A")), listAllConsents(repository));
+            }
+            assertFalse(Files.exists(directory.resolve("consents-00000000000000000000.log")));
+        }
+    }
+
+    private List<Path> listFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+
+    private Path onlyFile(final String suffix) throws IOException {
+        final List<Path> files = listFiles().stream()
+            .filter(file -> file.getFileName().toString().endsWith(suffix))
+            .collect(Collectors.toList());
+        assertEquals(1, files.size());
+        return files.get(0);
+    }
+
+    /**
+     * Consent log whose appends fail while a flag is set, as when unable to write or sync a segment.
+     */
+    private static class FailingConsentWriteAheadLog extends ConsentWriteAheadLog {
+        private final AtomicBoolean failAppends;
+
+        FailingConsentWriteAheadLog(final Path directory, final long segmentNumber, final AtomicBoolean failAppends) throws IOException {
+            super(directory, segmentNumber);
+            this.failAppends = failAppends;
+        }
+
+        @Override
+        public void append(final List<byte[]> payloads) throws IOException {
+            if (failAppends.get()) {
+                throw new IOException("Unable to sync consent log");
+            }
+            super.append(payloads);
+        }
+    }
+
+    private static List<Consent> listAllConsents(final ServiceUserConsentRepository repository) throws Exception {
+        return repository.exportServiceUserConsents(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID).collect(Collectors.toList());
+    }
+
+    private static Consent buildConsent(final String consentId) {
+        return TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS).consentId(consentId);
+    }
+
+    private static Consent nextVersion(final Consent consent) {
+        return TestUtils.clone(consent)
+            .consentVersion(consent.getConsentVersion() + 1)
+            .status(ConsentStatus.REVOKED);
+    }
+
+    private static List<String> toConsentIds(final List<Consent> consents) {
+        return consents.stream().map(Consent::getConsentId).collect(Collectors.toList());
+    }
+}
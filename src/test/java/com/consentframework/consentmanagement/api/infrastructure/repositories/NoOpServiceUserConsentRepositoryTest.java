@@ -0,0 +1,75 @@
+package com.consentframework.consentmanagement.api.infrastructure.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.consentframework.consentmanagement.api.domain.validators.ConsentValidator;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.pagination.ListPage;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class NoOpServiceUserConsentRepositoryTest {
+    private final NoOpServiceUserConsentRepository repository = new NoOpServiceUserConsentRepository();
+
+    @Test
+    void testCreateValidConsent() {
+        assertDoesNotThrow(() -> repository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS));
+    }
+
+    @Test
+    void testCreateInvalidConsent() {
+        final BadRequestException thrownException = assertThrows(BadRequestException.class, () ->
+            repository.createServiceUserConsent(null));
+        assertEquals(ConsentValidator.CONSENT_NULL_MESSAGE, thrownException.getMessage());
+    }
+
+    @Test
+    void testCreateValidConsents() {
+        assertDoesNotThrow(() -> repository.createServiceUserConsents(List.of(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS,
+            TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS)));
+    }
+
+    @Test
+    void testCreateConsentsWithInvalidConsent() {
+        assertThrows(BadRequestException.class, () -> repository.createServiceUserConsents(List.of(
+            TestConstants.TEST_CONSENT_WITH_ALL_FIELDS, new Consent())));
+    }
+
+    @Test
+    void testGetConsent() {
+        final Consent consent = repository.getServiceUserConsent(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+            TestConstants.TEST_CONSENT_ID);
+        assertEquals(TestConstants.TEST_SERVICE_ID, consent.getServiceId());
+        assertEquals(TestConstants.TEST_USER_ID, consent.getUserId());
+        assertEquals(TestConstants.TEST_CONSENT_ID, consent.getConsentId());
+        assertEquals(1, consent.getConsentVersion());
+        assertEquals(ConsentStatus.ACTIVE, consent.getStatus());
+        assertEquals(NoOpServiceUserConsentRepository.PLACEHOLDER_CONSENT_TYPE, consent.getConsentType());
+    }
+
+    @Test
+    void testUpdateValidConsent() {
+        assertDoesNotThrow(() -> repository.updateServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS));
+    }
+
+    @Test
+    void testUpdateInvalidConsent() {
+        assertThrows(BadRequestException.class, () -> repository.updateServiceUserConsent(new Consent()));
+    }
+
+    @Test
+    void testListConsents() {
+        final ListPage<Consent> consentsPage = repository.listServiceUserConsents(TestConstants.TEST_SERVICE_ID,
+            TestConstants.TEST_USER_ID, TestConstants.TEST_PAGE_LIMIT, null);
+        assertEquals(1, consentsPage.resultsOnPage().size());
+        assertEquals(NoOpServiceUserConsentRepository.PLACEHOLDER_CONSENT_ID, consentsPage.resultsOnPage().get(0).getConsentId());
+        assertTrue(consentsPage.nextPageToken().isEmpty());
+    }
+}
@@ -0,0 +1,87 @@
+package com.consentframework.consentmanagement.api.infrastructure.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiMetrics;
+import com.consentframework.consentmanagement.api.usecases.metrics.ApiStage;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class PrefetchingPageIteratorTest {
+    @Test
+    void testIteratePagesInOrder() {
+        final Iterator<String> pages = List.of("FirstPage", "SecondPage", "ThirdPage").iterator();
+
+        final List<String> iteratedPages = new ArrayList<String>();
+        try (PrefetchingPageIterator<String> prefetchingPages = new PrefetchingPageIterator<String>(
+                () -> pages.hasNext() ? pages.next() : null, Executors.newVirtualThreadPerTaskExecutor())) {
+            prefetchingPages.forEachRemaining(iteratedPages::add);
+
+            assertFalse(prefetchingPages.hasNext());
+            assertThrows(NoSuchElementException.class, () -> prefetchingPages.next());
+        }
+
+        assertEquals(List.of("FirstPage", "SecondPage", "ThirdPage"), iteratedPages);
+    }
+
+    @Test
+    void testFetchesOnePageAhead() {
+        final AtomicInteger fetchedPages = new AtomicInteger();
+
+        try (PrefetchingPageIterator<Integer> prefetchingPages = new PrefetchingPageIterator<Integer>(
+                () -> fetchedPages.incrementAndGet(), Runnable::run)) {
+            assertEquals(1, fetchedPages.get());
+            assertEquals(1, prefetchingPages.next());
+            assertEquals(2, fetchedPages.get());
+            assertTrue(prefetchingPages.hasNext());
+            assertEquals(2, fetchedPages.get());
+        }
+    }
+
+    @Test
+    void testRethrowsFetchException() {
+        final IllegalStateException fetchException = new IllegalStateException("TestFetchFailure");
+
+        try (PrefetchingPageIterator<String> prefetchingPages = new PrefetchingPageIterator<String>(
+                () -> {
+                    throw fetchException;
+                }, Executors.newVirtualThreadPerTaskExecutor())) {
+            assertSame(fetchException, assertThrows(IllegalStateException.class, () -> prefetchingPages.hasNext()));
+        }
+    }
+
+    @Test
+    void testCloseCancelsPendingFetch() {
+        final CompletableFuture<String> blockedPage = new CompletableFuture<String>();
+        final PrefetchingPageIterator<String> prefetchingPages = new PrefetchingPageIterator<String>(
+            () -> blockedPage.join(), Executors.newVirtualThreadPerTaskExecutor());
+
+        prefetchingPages.close();
+        blockedPage.complete("UnusedPage");
+
+        assertThrows(CancellationException.class, () -> prefetchingPages.hasNext());
+    }
+
+    @Test
+    void testFetchesPagesInCurrentInvocation() {
+        ApiMetrics.startInvocation("GET", "TestResource", null, 0);
+        try (PrefetchingPageIterator<String> prefetchingPages = new PrefetchingPageIterator<String>(
+                () -> ApiMetrics.time(ApiStage.MAPPING, () -> "Page"), Executors.newVirtualThreadPerTaskExecutor())) {
+            assertTrue(prefetchingPages.hasNext());
+        } finally {
+            assertEquals(1, ApiMetrics.finishInvocation().getStageCount(ApiStage.MAPPING));
+        }
+    }
+}
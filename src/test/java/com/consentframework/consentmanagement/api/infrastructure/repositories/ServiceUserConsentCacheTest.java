@@ -0,0 +1,216 @@
+package com.consentframework.consentmanagement.api.infrastructure.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.consentmanagement.api.testcommon.utils.TestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+class ServiceUserConsentCacheTest {
+    private static final Instant NOW = Instant.parse("2030-01-01T00:00:00Z");
+
+    private AtomicLong tickerNanos;
+    private ServiceUserConsentCache cache;
+
+    @BeforeEach
+    void setup() {
+        tickerNanos = new AtomicLong();
+        cache = new ServiceUserConsentCache(2, tickerNanos::get, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void testMaximumSizeForMemoryLimit() {
+        assertEquals(ServiceUserConsentCache.MIN_MAXIMUM_SIZE, ServiceUserConsentCache.maximumSizeForMemoryLimit(0));
+        assertEquals(1024 * ServiceUserConsentCache.ENTRIES_PER_MEMORY_MB, ServiceUserConsentCache.maximumSizeForMemoryLimit(1024));
+    }
+
+    @Test
+    void testResizeForMemoryLimit() {
+        cache.resizeForMemoryLimit(1024);
+        assertEquals(ServiceUserConsentCache.maximumSizeForMemoryLimit(1024), cache.maximumSize());
+
+        cache.resizeForMemoryLimit(1024);
+        assertEquals(ServiceUserConsentCache.maximumSizeForMemoryLimit(1024), cache.maximumSize());
+    }
+
+    @Test
+    void testGetWhenNotCached() {
+        assertNull(cache.getIfPresent(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID));
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    void testGetWhenCached() {
+        final Consent consent = TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS;
+        cache.put(consent);
+
+        final ServiceUserConsentCache.Entry entry = getTestEntry();
+        assertEquals(consent, entry.consent());
+        assertEquals(1, cache.stats().hitCount());
+    }
+
+    @Test
+    void testPutCachesCopy() {
+        final Consent consent = TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS)
+            .consentData(new HashMap<String, String>(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS.getConsentData()));
+        cache.put(consent);
+
+        consent.consentType("ModifiedConsentType");
+        consent.getConsentData().put("ModifiedKey", "ModifiedValue");
+        assertEquals(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS, getTestEntry().consent());
+    }
+
+    @Test
+    void testGetReturnsCopy() {
+        cache.put(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS);
+
+        final Consent cachedConsent = getTestEntry().consent();
+        cachedConsent.consentType("ModifiedConsentType");
+        cachedConsent.getConsentData().put("ModifiedKey", "ModifiedValue");
+        assertEquals(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS, getTestEntry().consent());
+    }
+
+    @Test
+    void testGetWhenCachedMissing() {
+        cache.putMissing(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID);
+        assertTrue(getTestEntry().isMissing());
+    }
+
+    @Test
+    void testInvalidate() {
+        cache.put(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS);
+        cache.invalidate(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID);
+        assertNull(getTestEntry());
+    }
+
+    @Test
+    void testInvalidateAll() {
+        cache.put(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS);
+        cache.invalidateAll();
+        assertNull(getTestEntry());
+    }
+
+    @Test
+    void testEvictsWhenFull() {
+        for (int i = 0; i < 5; i++) {
+            cache.put(TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS).consentId("ConsentId" + i));
+        }
+        assertEquals(3, cache.stats().evictionCount());
+    }
+
+    @Nested
+    class Versioning {
+        @Test
+        void testPutNewerVersionReplacesCachedConsent() {
+            final Consent consent = TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS;
+            final Consent updatedConsent = TestUtils.clone(consent).consentVersion(consent.getConsentVersion() + 1);
+            cache.put(consent);
+            cache.put(updatedConsent);
+            assertEquals(updatedConsent, getTestEntry().consent());
+        }
+
+        @Test
+        void testPutOlderVersionKeepsCachedConsent() {
+            final Consent consent = TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS;
+            final Consent updatedConsent = TestUtils.clone(consent).consentVersion(consent.getConsentVersion() + 1);
+            cache.put(updatedConsent);
+            cache.put(consent);
+            assertEquals(updatedConsent, getTestEntry().consent());
+        }
+
+        @Test
+        void testPutReplacesCachedMissingConsent() {
+            cache.putMissing(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID);
+            cache.put(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS);
+            assertEquals(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS, getTestEntry().consent());
+        }
+    }
+
+    @Nested
+    class Expiration {
+        @Test
+        void testConsentExpiresAfterTtl() {
+            cache.put(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS);
+
+            advanceTicker(ServiceUserConsentCache.CONSENT_TTL.minusNanos(1));
+            assertEquals(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS, getTestEntry().consent());
+
+            advanceTicker(Duration.ofNanos(1));
+            assertNull(getTestEntry());
+        }
+
+        @Test
+        void testPutUnchangedConsentKeepsExpiry() {
+            cache.put(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS);
+
+            advanceTicker(ServiceUserConsentCache.CONSENT_TTL.minusNanos(1));
+            cache.put(TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS));
+
+            advanceTicker(Duration.ofNanos(1));
+            assertNull(getTestEntry());
+        }
+
+        @Test
+        void testPutOlderVersionKeepsExpiry() {
+            final Consent consent = TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS;
+            cache.put(TestUtils.clone(consent).consentVersion(consent.getConsentVersion() + 1));
+
+            advanceTicker(ServiceUserConsentCache.CONSENT_TTL.minusNanos(1));
+            cache.put(consent);
+
+            advanceTicker(Duration.ofNanos(1));
+            assertNull(getTestEntry());
+        }
+
+        @Test
+        void testMissingConsentExpiresAfterTtl() {
+            cache.putMissing(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID);
+
+            advanceTicker(ServiceUserConsentCache.MISSING_CONSENT_TTL);
+            assertNull(getTestEntry());
+        }
+
+        @Test
+        void testConsentExpiresAtExpiryTime() {
+            final Duration untilExpiry = ServiceUserConsentCache.CONSENT_TTL.dividedBy(2);
+            cache.put(TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS)
+                .expiryTime(NOW.plus(untilExpiry).atOffset(ZoneOffset.UTC)));
+
+            advanceTicker(untilExpiry);
+            assertNull(getTestEntry());
+        }
+
+        @Test
+        void testExpiredConsentNotCached() {
+            cache.put(TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS)
+                .expiryTime(NOW.minusSeconds(1).atOffset(ZoneOffset.UTC)));
+            assertNull(getTestEntry());
+        }
+
+        @Test
+        void testConsentExpiringAfterTtl() {
+            cache.put(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS);
+            assertEquals(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS, getTestEntry().consent());
+        }
+    }
+
+    private ServiceUserConsentCache.Entry getTestEntry() {
+        return cache.getIfPresent(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID);
+    }
+
+    private void advanceTicker(final Duration duration) {
+        tickerNanos.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,104 @@
+package com.consentframework.consentmanagement.api.infrastructure.schemas;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import com.consentframework.consentmanagement.api.infrastructure.constants.DynamoDbServiceUserConsentAttributeName;
+import com.consentframework.consentmanagement.api.infrastructure.mappers.DynamoDbServiceUserConsentMapper;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.shared.api.infrastructure.entities.DynamoDbServiceUserConsent;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.enhanced.dynamodb.TableMetadata;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class DynamoDbServiceUserConsentTableSchemaTest {
+    private static final TableSchema<DynamoDbServiceUserConsent> TABLE_SCHEMA = DynamoDbServiceUserConsentTableSchema.TABLE_SCHEMA;
+
+    @Test
+    void testItemToMap() {
+        final Map<String, AttributeValue> attributes = TABLE_SCHEMA.itemToMap(TestConstants.TEST_DDB_CONSENT_WITH_ALL_FIELDS, true);
+        assertEquals(TestConstants.TEST_CONSENT_DDB_ATTRIBUTES, attributes);
+    }
+
+    @Test
+    void testMapToItem() {
+        final DynamoDbServiceUserConsent item = TABLE_SCHEMA.mapToItem(TestConstants.TEST_CONSENT_DDB_ATTRIBUTES);
+        assertEquals(TestConstants.TEST_CONSENT_ID, item.consentId());
+        assertEquals(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS.getConsentVersion(), item.consentVersion());
+        assertEquals(TestConstants.TEST_CONSENT_DDB_ATTRIBUTES, TABLE_SCHEMA.itemToMap(item, true));
+    }
+
+    @Test
+    void testMapLegacyItemToItem() {
+        final DynamoDbServiceUserConsent item = TABLE_SCHEMA.mapToItem(TestConstants.TEST_LEGACY_CONSENT_DDB_ATTRIBUTES);
+        assertEquals(TestConstants.TEST_DDB_CONSENT_WITH_ALL_FIELDS, item);
+        assertEquals(TestConstants.TEST_CONSENT_DDB_ATTRIBUTES, TABLE_SCHEMA.itemToMap(item, true));
+    }
+
+    @Test
+    void testReadsReflectiveSchemaItems() {
+        final DynamoDbServiceUserConsent item = DynamoDbServiceUserConsentMapper.toDynamoDbServiceUserConsent(
+            TestConstants.TEST_CONSENT_WITH_ALL_FIELDS);
+        final TableSchema<DynamoDbServiceUserConsent> reflectiveSchema = TableSchema.fromImmutableClass(DynamoDbServiceUserConsent.class);
+
+        assertEquals(item, TABLE_SCHEMA.mapToItem(reflectiveSchema.itemToMap(item, true)));
+    }
+
+    @Test
+    void testCompactItemAttributes() {
+        final Map<String, AttributeValue> attributes = TABLE_SCHEMA.itemToMap(DynamoDbServiceUserConsentMapper.toDynamoDbServiceUserConsent(
+            TestConstants.TEST_CONSENT_WITH_ALL_FIELDS), true);
+
+        final List<String> legacyAttributeNames = DynamoDbServiceUserConsentMapper.LEGACY_ATTRIBUTE_NAMES;
+        assertEquals(DynamoDbServiceUserConsentAttributeName.values().length - legacyAttributeNames.size(), attributes.size());
+        legacyAttributeNames.forEach(legacyAttributeName ->
+            assertFalse(attributes.containsKey(legacyAttributeName)));
+        assertEquals(AttributeValue.fromN(Integer.toString(DynamoDbServiceUserConsentMapper.COMPACT_ITEM_FORMAT)),
+            attributes.get(DynamoDbServiceUserConsentAttributeName.ITEM_FORMAT.getValue()));
+    }
+
+    @Test
+    void testTableMetadata() {
+        final TableMetadata tableMetadata = TABLE_SCHEMA.tableMetadata();
+        assertEquals(DynamoDbServiceUserConsent.PARTITION_KEY, tableMetadata.primaryPartitionKey());
+        assertEquals(DynamoDbServiceUserConsentAttributeName.USER_ID.getValue(),
+            tableMetadata.indexPartitionKey(DynamoDbServiceUserConsent.CONSENT_BY_SERVICE_USER_GSI_NAME));
+        assertEquals(DynamoDbServiceUserConsentAttributeName.SERVICE_ID.getValue(),
+            tableMetadata.indexSortKey(DynamoDbServiceUserConsent.CONSENT_BY_SERVICE_USER_GSI_NAME).get());
+        assertEquals(DynamoDbServiceUserConsentAttributeName.EXPIRY_HOUR.getValue(),
+            tableMetadata.indexPartitionKey(DynamoDbServiceUserConsentTableSchema.ACTIVE_CONSENTS_BY_EXPIRY_HOUR_GSI_NAME));
+        assertEquals(DynamoDbServiceUserConsentAttributeName.EXPIRY_TIME_ID.getValue(),
+            tableMetadata.indexSortKey(DynamoDbServiceUserConsentTableSchema.ACTIVE_CONSENTS_BY_EXPIRY_HOUR_GSI_NAME).get());
+        assertEquals(DynamoDbServiceUserConsentAttributeName.SERVICE_USER_ID.getValue(),
+            tableMetadata.indexPartitionKey(DynamoDbServiceUserConsentTableSchema.CONSENTS_BY_SERVICE_USER_STATUS_TYPE_GSI_NAME));
+        assertEquals(DynamoDbServiceUserConsentAttributeName.STATUS_TYPE_ID.getValue(),
+            tableMetadata.indexSortKey(DynamoDbServiceUserConsentTableSchema.CONSENTS_BY_SERVICE_USER_STATUS_TYPE_GSI_NAME).get());
+    }
+
+    @Test
+    void testDerivedIndexKeysIgnoredOnRead() {
+        final Map<String, AttributeValue> attributes = new HashMap<String, AttributeValue>(TestConstants.TEST_CONSENT_DDB_ATTRIBUTES);
+        attributes.put(DynamoDbServiceUserConsentAttributeName.STATUS_TYPE_ID.getValue(), AttributeValue.fromS("StaleStatusTypeId"));
+
+        final DynamoDbServiceUserConsent item = TABLE_SCHEMA.mapToItem(attributes);
+
+        assertEquals(TestConstants.TEST_CONSENT_DDB_ATTRIBUTES, TABLE_SCHEMA.itemToMap(item, true));
+    }
+
+    @Test
+    void testCompactAttributesPreferredOverLegacyAttributes() {
+        final Map<String, AttributeValue> attributes = new HashMap<String, AttributeValue>(TestConstants.TEST_CONSENT_DDB_ATTRIBUTES);
+        attributes.put(DynamoDbServiceUserConsentAttributeName.CONSENT_VERSION.getValue(), AttributeValue.fromN("99"));
+        attributes.put(DynamoDbServiceUserConsentAttributeName.CONSENT_TYPE.getValue(), AttributeValue.fromS("StaleConsentType"));
+
+        final DynamoDbServiceUserConsent item = TABLE_SCHEMA.mapToItem(attributes);
+
+        assertEquals(TestConstants.TEST_CONSENT_VERSION, item.consentVersion());
+        assertEquals(TestConstants.TEST_CONSENT_TYPE, item.consentType());
+    }
+}
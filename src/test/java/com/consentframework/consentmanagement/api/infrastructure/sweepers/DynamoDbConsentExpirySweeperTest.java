@@ -0,0 +1,360 @@
+package com.consentframework.consentmanagement.api.infrastructure.sweepers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.consentframework.consentmanagement.api.infrastructure.constants.DynamoDbServiceUserConsentAttributeName;
+import com.consentframework.consentmanagement.api.infrastructure.exporters.ConsumedCapacityThrottle;
+import com.consentframework.consentmanagement.api.infrastructure.mappers.DynamoDbServiceUserConsentMapper;
+import com.consentframework.consentmanagement.api.infrastructure.mappers.DynamoDbServiceUserConsentPatchMapper;
+import com.consentframework.consentmanagement.api.infrastructure.schemas.DynamoDbServiceUserConsentTableSchema;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
+import com.consentframework.shared.api.infrastructure.entities.DynamoDbServiceUserConsent;
+import com.consentframework.shared.api.infrastructure.mappers.DynamoDbConsentExpiryTimeConverter;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+class DynamoDbConsentExpirySweeperTest {
+    private static final String TEST_SERVICE_ID = "TestServiceId";
+    private static final String TEST_USER_ID = "TestUserId";
+    private static final String TEST_CONSENT_TYPE = "TestConsentType";
+    private static final Instant NOW = Instant.parse("2024-06-01T10:30:00Z");
+    private static final Instant CURRENT_HOUR = NOW.truncatedTo(ChronoUnit.HOURS);
+    private static final Instant PREVIOUS_HOUR = CURRENT_HOUR.minus(1, ChronoUnit.HOURS);
+    private static final double TEST_MAX_UNITS_PER_SECOND = 1_000_000;
+    private static final int TEST_MAX_CATCH_UP_HOURS = 2;
+
+    private final DynamoDbClient dynamoDbClient = mock(DynamoDbClient.class);
+    private final DynamoDbExpirySweepCheckpointStore checkpointStore = mock(DynamoDbExpirySweepCheckpointStore.class);
+    private final ConsumedCapacityThrottle readThrottle = new ConsumedCapacityThrottle(TEST_MAX_UNITS_PER_SECOND);
+    private final Map<String, List<Map<String, AttributeValue>>> expiryHourBuckets =
+        new ConcurrentHashMap<String, List<Map<String, AttributeValue>>>();
+    private final DynamoDbConsentExpirySweeper sweeper = new DynamoDbConsentExpirySweeper(dynamoDbClient,
+        DynamoDbServiceUserConsent.TABLE_NAME, checkpointStore, readThrottle, new ConsumedCapacityThrottle(TEST_MAX_UNITS_PER_SECOND),
+        4, TEST_MAX_CATCH_UP_HOURS, Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void testSweepHoursSinceCheckpoint() {
+        when(checkpointStore.load()).thenReturn(Optional.of(PREVIOUS_HOUR.minus(1, ChronoUnit.HOURS)));
+        addConsent(PREVIOUS_HOUR, "PastConsent1", PREVIOUS_HOUR.plus(15, ChronoUnit.MINUTES));
+        addConsent(PREVIOUS_HOUR, "PastConsent2", PREVIOUS_HOUR.plus(45, ChronoUnit.MINUTES));
+        addConsent(CURRENT_HOUR, "DueConsent", CURRENT_HOUR.plus(10, ChronoUnit.MINUTES));
+        addConsent(CURRENT_HOUR, "NotDueConsent", CURRENT_HOUR.plus(45, ChronoUnit.MINUTES));
+        mockQueries();
+        when(dynamoDbClient.updateItem(any(UpdateItemRequest.class))).thenReturn(UpdateItemResponse.builder()
+            .consumedCapacity(ConsumedCapacity.builder().capacityUnits(3.0).build())
+            .build());
+
+        final ExpirySweepResult result = sweeper.sweep(() -> true);
+
+        assertEquals(new ExpirySweepResult(2, 0, 3, 0, PREVIOUS_HOUR), result);
+        verify(dynamoDbClient, times(2)).query(any(QueryRequest.class));
+        verify(dynamoDbClient, times(3)).updateItem(any(UpdateItemRequest.class));
+        verify(checkpointStore).save(PREVIOUS_HOUR);
+    }
+
+    @Test
+    void testExpireConsentWithVersionCondition() {
+        when(checkpointStore.load()).thenReturn(Optional.of(PREVIOUS_HOUR));
+        addConsent(CURRENT_HOUR, "DueConsent", CURRENT_HOUR.plus(10, ChronoUnit.MINUTES));
+        mockQueries();
+        when(dynamoDbClient.updateItem(any(UpdateItemRequest.class))).thenReturn(UpdateItemResponse.builder().build());
+
+        sweeper.sweep(() -> true);
+
+        final UpdateItemRequest updateItemRequest = captureUpdateItemRequest();
+        assertEquals(DynamoDbServiceUserConsentPatchMapper.VERSION_MATCHES_CONDITION, updateItemRequest.conditionExpression());
+        assertEquals(AttributeValue.fromS(DynamoDbServiceUserConsentMapper.toDynamoDbId(TEST_SERVICE_ID, TEST_USER_ID, "DueConsent")),
+            updateItemRequest.key().get(DynamoDbServiceUserConsentAttributeName.ID.getValue()));
+        assertEquals("SET v = :v, s = :s, statusTypeId = :statusTypeId REMOVE expiryHour, expiryTimeId",
+            updateItemRequest.updateExpression());
+        final Map<String, AttributeValue> values = updateItemRequest.expressionAttributeValues();
+        assertEquals(AttributeValue.fromN("1"), values.get(DynamoDbServiceUserConsentPatchMapper.EXPECTED_CONSENT_VERSION));
+        assertEquals(AttributeValue.fromN("2"), values.get(":v"));
+        assertEquals(AttributeValue.fromS(ConsentStatus.EXPIRED.getValue()), values.get(":s"));
+        assertEquals(AttributeValue.fromS(DynamoDbServiceUserConsentMapper.toStatusTypeId(ConsentStatus.EXPIRED.getValue(),
+            TEST_CONSENT_TYPE, "DueConsent")), values.get(":statusTypeId"));
+        verify(dynamoDbClient, never()).getItem(any(GetItemRequest.class));
+    }
+
+    @Test
+    void testExpireLegacyConsentMigratesFullItem() {
+        when(checkpointStore.load()).thenReturn(Optional.of(PREVIOUS_HOUR));
+        final Instant expiryTime = CURRENT_HOUR.plus(10, ChronoUnit.MINUTES);
+        final Map<String, AttributeValue> legacyItem = buildLegacyItem("DueConsent", expiryTime, 1);
+        expiryHourBuckets.put(toExpiryHour(CURRENT_HOUR), List.of(legacyItem));
+        mockQueries();
+        when(dynamoDbClient.getItem(any(GetItemRequest.class))).thenReturn(GetItemResponse.builder().item(legacyItem).build());
+        when(dynamoDbClient.updateItem(any(UpdateItemRequest.class))).thenReturn(UpdateItemResponse.builder().build());
+
+        final ExpirySweepResult result = sweeper.sweep(() -> true);
+
+        assertEquals(1, result.expiredConsents());
+        final ArgumentCaptor<GetItemRequest> getItemRequestCaptor = ArgumentCaptor.forClass(GetItemRequest.class);
+        verify(dynamoDbClient).getItem(getItemRequestCaptor.capture());
+        assertTrue(getItemRequestCaptor.getValue().consistentRead());
+        assertEquals(Map.of(DynamoDbServiceUserConsentAttributeName.ID.getValue(),
+            legacyItem.get(DynamoDbServiceUserConsentAttributeName.ID.getValue())), getItemRequestCaptor.getValue().key());
+
+        final UpdateItemRequest updateItemRequest = captureUpdateItemRequest();
+        assertEquals("SET v = :v, serviceUserId = :serviceUserId, statusTypeId = :statusTypeId, f = :f, s = :s, t = :t, d = :d, "
+            + "e = :e REMOVE expiryHour, expiryTimeId, consentId, consentVersion, consentStatus, consentType, consentData, expiryTime",
+            updateItemRequest.updateExpression());
+        final Map<String, AttributeValue> values = updateItemRequest.expressionAttributeValues();
+        assertEquals(AttributeValue.fromN("1"), values.get(DynamoDbServiceUserConsentPatchMapper.EXPECTED_CONSENT_VERSION));
+        assertEquals(AttributeValue.fromN("2"), values.get(":v"));
+        assertEquals(AttributeValue.fromS(ConsentStatus.EXPIRED.getValue()), values.get(":s"));
+        assertEquals(AttributeValue.fromM(Map.of("TestKey", AttributeValue.fromS("TestValue"))), values.get(":d"));
+        assertEquals(AttributeValue.fromN(Long.toString(expiryTime.toEpochMilli())), values.get(":e"));
+    }
+
+    @Test
+    void testSkipLegacyConsentUpdatedSinceQueried() {
+        when(checkpointStore.load()).thenReturn(Optional.of(PREVIOUS_HOUR));
+        final Instant expiryTime = CURRENT_HOUR.plus(10, ChronoUnit.MINUTES);
+        expiryHourBuckets.put(toExpiryHour(CURRENT_HOUR), List.of(buildLegacyItem("UpdatedConsent", expiryTime, 1),
+            buildLegacyItem("DeletedConsent", expiryTime, 1)));
+        mockQueries();
+        when(dynamoDbClient.getItem(any(GetItemRequest.class))).thenAnswer(invocation -> {
+            final GetItemRequest getItemRequest = invocation.getArgument(0);
+            final String id = getItemRequest.key().get(DynamoDbServiceUserConsentAttributeName.ID.getValue()).s();
+            return id.endsWith("UpdatedConsent")
+                ? GetItemResponse.builder().item(buildLegacyItem("UpdatedConsent", expiryTime, 2)).build()
+                : GetItemResponse.builder().build();
+        });
+
+        final ExpirySweepResult result = sweeper.sweep(() -> true);
+
+        assertEquals(new ExpirySweepResult(1, 0, 0, 2, PREVIOUS_HOUR), result);
+        verify(dynamoDbClient, times(2)).getItem(any(GetItemRequest.class));
+        verify(dynamoDbClient, never()).updateItem(any(UpdateItemRequest.class));
+    }
+
+    @Test
+    void testQueryExpiryHourIndex() {
+        when(checkpointStore.load()).thenReturn(Optional.of(PREVIOUS_HOUR));
+        mockQueries();
+
+        sweeper.sweep(() -> true);
+
+        final ArgumentCaptor<QueryRequest> queryRequestCaptor = ArgumentCaptor.forClass(QueryRequest.class);
+        verify(dynamoDbClient).query(queryRequestCaptor.capture());
+        final QueryRequest queryRequest = queryRequestCaptor.getValue();
+        assertEquals(DynamoDbServiceUserConsentTableSchema.ACTIVE_CONSENTS_BY_EXPIRY_HOUR_GSI_NAME, queryRequest.indexName());
+        assertEquals(DynamoDbConsentExpirySweeper.EXPIRY_HOUR_KEY_CONDITION, queryRequest.keyConditionExpression());
+        assertEquals(DynamoDbConsentExpirySweeper.PROJECTION_EXPRESSION, queryRequest.projectionExpression());
+        assertEquals(AttributeValue.fromS(toExpiryHour(CURRENT_HOUR)),
+            queryRequest.expressionAttributeValues().get(DynamoDbConsentExpirySweeper.EXPIRY_HOUR_VALUE));
+    }
+
+    @Test
+    void testSkipConcurrentlyUpdatedConsent() {
+        when(checkpointStore.load()).thenReturn(Optional.of(PREVIOUS_HOUR));
+        addConsent(CURRENT_HOUR, "DueConsent", CURRENT_HOUR.plus(10, ChronoUnit.MINUTES));
+        mockQueries();
+        when(dynamoDbClient.updateItem(any(UpdateItemRequest.class)))
+            .thenThrow(ConditionalCheckFailedException.builder().message("TestConditionFailed").build());
+
+        final ExpirySweepResult result = sweeper.sweep(() -> true);
+
+        assertEquals(new ExpirySweepResult(1, 0, 0, 1, PREVIOUS_HOUR), result);
+    }
+
+    @Test
+    void testSweepCatchUpWindowWithoutCheckpoint() {
+        when(checkpointStore.load()).thenReturn(Optional.empty());
+        mockQueries();
+
+        final ExpirySweepResult result = sweeper.sweep(() -> true);
+
+        assertEquals(new ExpirySweepResult(TEST_MAX_CATCH_UP_HOURS + 1, 0, 0, 0, PREVIOUS_HOUR), result);
+        verify(dynamoDbClient, times(TEST_MAX_CATCH_UP_HOURS + 1)).query(any(QueryRequest.class));
+        verify(checkpointStore).save(PREVIOUS_HOUR);
+    }
+
+    @Test
+    void testSweepCatchUpWindowWhenCheckpointTooOld() {
+        when(checkpointStore.load()).thenReturn(Optional.of(CURRENT_HOUR.minus(30, ChronoUnit.DAYS)));
+        mockQueries();
+
+        final ExpirySweepResult result = sweeper.sweep(() -> true);
+
+        assertEquals(TEST_MAX_CATCH_UP_HOURS + 1, result.sweptHours());
+        verify(dynamoDbClient, times(TEST_MAX_CATCH_UP_HOURS + 1)).query(any(QueryRequest.class));
+    }
+
+    @Test
+    void testSweepPaginatedHour() {
+        when(checkpointStore.load()).thenReturn(Optional.of(PREVIOUS_HOUR));
+        final Map<String, AttributeValue> lastEvaluatedKey = Map.of(DynamoDbServiceUserConsentAttributeName.ID.getValue(),
+            AttributeValue.fromS("LastEvaluatedId"));
+        when(dynamoDbClient.query(any(QueryRequest.class)))
+            .thenReturn(QueryResponse.builder()
+                .items(List.of(buildItem("DueConsent1", CURRENT_HOUR)))
+                .lastEvaluatedKey(lastEvaluatedKey)
+                .build())
+            .thenReturn(QueryResponse.builder()
+                .items(List.of(buildItem("DueConsent2", CURRENT_HOUR)))
+                .build());
+        when(dynamoDbClient.updateItem(any(UpdateItemRequest.class))).thenReturn(UpdateItemResponse.builder().build());
+
+        final ExpirySweepResult result = sweeper.sweep(() -> true);
+
+        assertEquals(2, result.expiredConsents());
+        final ArgumentCaptor<QueryRequest> queryRequestCaptor = ArgumentCaptor.forClass(QueryRequest.class);
+        verify(dynamoDbClient, times(2)).query(queryRequestCaptor.capture());
+        assertEquals(lastEvaluatedKey, queryRequestCaptor.getAllValues().get(1).exclusiveStartKey());
+    }
+
+    @Test
+    void testRetryThrottledQuery() {
+        when(checkpointStore.load()).thenReturn(Optional.of(PREVIOUS_HOUR));
+        when(dynamoDbClient.query(any(QueryRequest.class)))
+            .thenThrow(ProvisionedThroughputExceededException.builder().message("TestThrottled").build())
+            .thenReturn(QueryResponse.builder().build());
+
+        final ExpirySweepResult result = sweeper.sweep(() -> true);
+
+        assertEquals(1, result.sweptHours());
+        verify(dynamoDbClient, times(2)).query(any(QueryRequest.class));
+        assertTrue(readThrottle.getUnitsPerSecond() < TEST_MAX_UNITS_PER_SECOND);
+    }
+
+    @Test
+    void testFailedHourHoldsBackCheckpoint() {
+        final Instant checkpoint = PREVIOUS_HOUR.minus(1, ChronoUnit.HOURS);
+        when(checkpointStore.load()).thenReturn(Optional.of(checkpoint));
+        final String failingExpiryHour = toExpiryHour(PREVIOUS_HOUR);
+        when(dynamoDbClient.query(any(QueryRequest.class))).thenAnswer(invocation -> {
+            final QueryRequest queryRequest = invocation.getArgument(0);
+            final String expiryHour = queryRequest.expressionAttributeValues().get(DynamoDbConsentExpirySweeper.EXPIRY_HOUR_VALUE).s();
+            if (failingExpiryHour.equals(expiryHour)) {
+                throw DynamoDbException.builder().message("TestFailure").build();
+            }
+            return QueryResponse.builder().build();
+        });
+
+        final ExpirySweepResult result = sweeper.sweep(() -> true);
+
+        assertEquals(new ExpirySweepResult(1, 1, 0, 0, checkpoint), result);
+        verify(checkpointStore, never()).save(any(Instant.class));
+    }
+
+    @Test
+    void testStopWhenNoTimeRemaining() {
+        when(checkpointStore.load()).thenReturn(Optional.of(PREVIOUS_HOUR.minus(1, ChronoUnit.HOURS)));
+
+        final ExpirySweepResult result = sweeper.sweep(() -> false);
+
+        assertEquals(0, result.sweptHours());
+        assertEquals(0, result.failedHours());
+        verify(dynamoDbClient, never()).query(any(QueryRequest.class));
+        verify(checkpointStore, never()).save(any(Instant.class));
+    }
+
+    @Test
+    void testConstructWithInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new DynamoDbConsentExpirySweeper(dynamoDbClient,
+            DynamoDbServiceUserConsent.TABLE_NAME, checkpointStore, readThrottle, readThrottle, 0, 1, Clock.systemUTC()));
+        assertThrows(IllegalArgumentException.class, () -> new DynamoDbConsentExpirySweeper(dynamoDbClient,
+            DynamoDbServiceUserConsent.TABLE_NAME, checkpointStore, readThrottle, readThrottle, 1, -1, Clock.systemUTC()));
+    }
+
+    private void addConsent(final Instant expiryHour, final String consentId, final Instant expiryTime) {
+        expiryHourBuckets.computeIfAbsent(toExpiryHour(expiryHour), hour -> new ArrayList<Map<String, AttributeValue>>())
+            .add(buildItem(consentId, expiryTime));
+    }
+
+    private void mockQueries() {
+        when(dynamoDbClient.query(any(QueryRequest.class))).thenAnswer(invocation -> {
+            final QueryRequest queryRequest = invocation.getArgument(0);
+            final String expiryHour = queryRequest.expressionAttributeValues().get(DynamoDbConsentExpirySweeper.EXPIRY_HOUR_VALUE).s();
+            return QueryResponse.builder()
+                .items(expiryHourBuckets.getOrDefault(expiryHour, List.of()))
+                .build();
+        });
+    }
+
+    private UpdateItemRequest captureUpdateItemRequest() {
+        final ArgumentCaptor<UpdateItemRequest> updateItemRequestCaptor = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        verify(dynamoDbClient).updateItem(updateItemRequestCaptor.capture());
+        return updateItemRequestCaptor.getValue();
+    }
+
+    private static Map<String, AttributeValue> buildItem(final String consentId, final Instant expiryTime) {
+        final Map<String, AttributeValue> item = buildIndexKeys(consentId, expiryTime);
+        item.put(DynamoDbServiceUserConsentAttributeName.ITEM_FORMAT.getValue(),
+            AttributeValue.fromN(Integer.toString(DynamoDbServiceUserConsentMapper.COMPACT_ITEM_FORMAT)));
+        item.put(DynamoDbServiceUserConsentAttributeName.COMPACT_CONSENT_VERSION.getValue(), AttributeValue.fromN("1"));
+        item.put(DynamoDbServiceUserConsentAttributeName.COMPACT_CONSENT_TYPE.getValue(), AttributeValue.fromS(TEST_CONSENT_TYPE));
+        item.put(DynamoDbServiceUserConsentAttributeName.COMPACT_EXPIRY_TIME.getValue(),
+            AttributeValue.fromN(Long.toString(expiryTime.toEpochMilli())));
+        item.put(DynamoDbServiceUserConsentAttributeName.SERVICE_USER_ID.getValue(),
+            AttributeValue.fromS(DynamoDbServiceUserConsentMapper.toServiceUserId(TEST_SERVICE_ID, TEST_USER_ID)));
+        item.put(DynamoDbServiceUserConsentAttributeName.STATUS_TYPE_ID.getValue(), AttributeValue.fromS(
+            DynamoDbServiceUserConsentMapper.toStatusTypeId(ConsentStatus.ACTIVE.getValue(), TEST_CONSENT_TYPE, consentId)));
+        return item;
+    }
+
+    private static Map<String, AttributeValue> buildLegacyItem(final String consentId, final Instant expiryTime,
+            final int consentVersion) {
+        final Map<String, AttributeValue> item = buildIndexKeys(consentId, expiryTime);
+        item.put(DynamoDbServiceUserConsentAttributeName.CONSENT_ID.getValue(), AttributeValue.fromS(consentId));
+        item.put(DynamoDbServiceUserConsentAttributeName.CONSENT_VERSION.getValue(),
+            AttributeValue.fromN(Integer.toString(consentVersion)));
+        item.put(DynamoDbServiceUserConsentAttributeName.CONSENT_STATUS.getValue(), AttributeValue.fromS(ConsentStatus.ACTIVE.getValue()));
+        item.put(DynamoDbServiceUserConsentAttributeName.CONSENT_TYPE.getValue(), AttributeValue.fromS(TEST_CONSENT_TYPE));
+        item.put(DynamoDbServiceUserConsentAttributeName.CONSENT_DATA.getValue(),
+            AttributeValue.fromM(Map.of("TestKey", AttributeValue.fromS("TestValue"))));
+        item.put(DynamoDbServiceUserConsentAttributeName.EXPIRY_TIME.getValue(),
+            AttributeValue.fromS(DynamoDbConsentExpiryTimeConverter.toExpiryTimeString(expiryTime.atOffset(ZoneOffset.UTC))));
+        return item;
+    }
+
+    private static Map<String, AttributeValue> buildIndexKeys(final String consentId, final Instant expiryTime) {
+        final String id = DynamoDbServiceUserConsentMapper.toDynamoDbId(TEST_SERVICE_ID, TEST_USER_ID, consentId);
+        final Map<String, AttributeValue> item = new HashMap<String, AttributeValue>();
+        item.put(DynamoDbServiceUserConsentAttributeName.ID.getValue(), AttributeValue.fromS(id));
+        item.put(DynamoDbServiceUserConsentAttributeName.SERVICE_ID.getValue(), AttributeValue.fromS(TEST_SERVICE_ID));
+        item.put(DynamoDbServiceUserConsentAttributeName.USER_ID.getValue(), AttributeValue.fromS(TEST_USER_ID));
+        item.put(DynamoDbServiceUserConsentAttributeName.EXPIRY_HOUR.getValue(),
+            AttributeValue.fromS(toExpiryHour(expiryTime.truncatedTo(ChronoUnit.HOURS))));
+        item.put(DynamoDbServiceUserConsentAttributeName.EXPIRY_TIME_ID.getValue(), AttributeValue.fromS(
+            DynamoDbConsentExpiryTimeConverter.toExpiryTimeId(expiryTime.atOffset(ZoneOffset.UTC), id)));
+        return item;
+    }
+
+    private static String toExpiryHour(final Instant hour) {
+        return DynamoDbConsentExpiryTimeConverter.toExpiryHour(hour.atOffset(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,79 @@
+package com.consentframework.consentmanagement.api.infrastructure.sweepers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+class DynamoDbExpirySweepCheckpointStoreTest {
+    private static final String TEST_TABLE_NAME = "TestCheckpointTable";
+    private static final Instant TEST_SWEPT_THROUGH_HOUR = Instant.parse("2024-06-01T09:00:00Z");
+
+    private final DynamoDbClient dynamoDbClient = mock(DynamoDbClient.class);
+    private final DynamoDbExpirySweepCheckpointStore checkpointStore = new DynamoDbExpirySweepCheckpointStore(dynamoDbClient,
+        TEST_TABLE_NAME);
+
+    @Test
+    void testLoadCheckpoint() {
+        when(dynamoDbClient.getItem(any(GetItemRequest.class))).thenReturn(GetItemResponse.builder()
+            .item(Map.of(
+                DynamoDbExpirySweepCheckpointStore.ID, AttributeValue.fromS(DynamoDbExpirySweepCheckpointStore.CHECKPOINT_ID),
+                DynamoDbExpirySweepCheckpointStore.SWEPT_THROUGH_HOUR,
+                    AttributeValue.fromN(Long.toString(TEST_SWEPT_THROUGH_HOUR.getEpochSecond()))))
+            .build());
+
+        assertEquals(Optional.of(TEST_SWEPT_THROUGH_HOUR), checkpointStore.load());
+
+        final ArgumentCaptor<GetItemRequest> getItemRequestCaptor = ArgumentCaptor.forClass(GetItemRequest.class);
+        verify(dynamoDbClient).getItem(getItemRequestCaptor.capture());
+        assertEquals(TEST_TABLE_NAME, getItemRequestCaptor.getValue().tableName());
+        assertTrue(getItemRequestCaptor.getValue().consistentRead());
+    }
+
+    @Test
+    void testLoadMissingCheckpoint() {
+        when(dynamoDbClient.getItem(any(GetItemRequest.class))).thenReturn(GetItemResponse.builder().build());
+
+        assertEquals(Optional.empty(), checkpointStore.load());
+    }
+
+    @Test
+    void testSaveCheckpoint() {
+        checkpointStore.save(TEST_SWEPT_THROUGH_HOUR);
+
+        final ArgumentCaptor<PutItemRequest> putItemRequestCaptor = ArgumentCaptor.forClass(PutItemRequest.class);
+        verify(dynamoDbClient).putItem(putItemRequestCaptor.capture());
+        final PutItemRequest putItemRequest = putItemRequestCaptor.getValue();
+        final AttributeValue sweptThroughHour = AttributeValue.fromN(Long.toString(TEST_SWEPT_THROUGH_HOUR.getEpochSecond()));
+        assertEquals(TEST_TABLE_NAME, putItemRequest.tableName());
+        assertEquals(sweptThroughHour, putItemRequest.item().get(DynamoDbExpirySweepCheckpointStore.SWEPT_THROUGH_HOUR));
+        assertEquals(DynamoDbExpirySweepCheckpointStore.ADVANCES_CHECKPOINT_CONDITION, putItemRequest.conditionExpression());
+        assertEquals(sweptThroughHour,
+            putItemRequest.expressionAttributeValues().get(DynamoDbExpirySweepCheckpointStore.NEW_SWEPT_THROUGH_HOUR));
+    }
+
+    @Test
+    void testSaveCheckpointWhenLaterHourSaved() {
+        when(dynamoDbClient.putItem(any(PutItemRequest.class)))
+            .thenThrow(ConditionalCheckFailedException.builder().message("TestConditionFailed").build());
+
+        checkpointStore.save(TEST_SWEPT_THROUGH_HOUR);
+
+        verify(dynamoDbClient).putItem(any(PutItemRequest.class));
+    }
+}
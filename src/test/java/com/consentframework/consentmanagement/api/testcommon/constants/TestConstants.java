@@ -2,15 +2,19 @@ package com.consentframework.consentmanagement.api.testcommon.constants;
 
 import com.consentframework.consentmanagement.api.domain.constants.ApiPathParameterName;
 import com.consentframework.consentmanagement.api.domain.constants.ApiQueryStringParameterName;
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentFilter;
 import com.consentframework.consentmanagement.api.infrastructure.constants.DynamoDbServiceUserConsentAttributeName;
+import com.consentframework.consentmanagement.api.infrastructure.mappers.DynamoDbServiceUserConsentPageTokenMapper;
 import com.consentframework.consentmanagement.api.models.Consent;
 import com.consentframework.consentmanagement.api.models.ConsentStatus;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
 import com.consentframework.shared.api.infrastructure.entities.DynamoDbServiceUserConsent;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
 import java.time.Instant;
 import java.time.OffsetDateTime;
-import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 import java.util.Map;
 
@@ -27,12 +31,10 @@ public final class TestConstants {
     public static final String TEST_CONSENT_TYPE = "TestConsentType";
     public static final Integer TEST_PAGE_LIMIT = 2;
     public static final String TEST_PAGE_TOKEN = "1";
-    public static final String TEST_DDB_PAGE_TOKEN = String.format("{\"%s\":\"%s\"}",
-        DynamoDbServiceUserConsent.PARTITION_KEY,
-        TEST_PARTITION_KEY);
     public static final Map<String, AttributeValue> TEST_DDB_PAGE_TOKEN_ATTRIBUTE_MAP = Map.of(
         DynamoDbServiceUserConsent.PARTITION_KEY,
         AttributeValue.fromS(TEST_PARTITION_KEY));
+    public static final String TEST_DDB_PAGE_TOKEN = toTestPageToken(TEST_DDB_PAGE_TOKEN_ATTRIBUTE_MAP);
 
     public static final String TEST_CONSENTS_PATH = String.format(
         "/v1/consent-management/services/%s/users/%s/consents",
@@ -46,8 +48,8 @@ public final class TestConstants {
     );
 
     public static final OffsetDateTime TEST_EXPIRY_TIME = OffsetDateTime.ofInstant(
-        Instant.now().plus(30, ChronoUnit.DAYS),
-        ZoneId.systemDefault());
+        Instant.now().plus(30, ChronoUnit.DAYS).truncatedTo(ChronoUnit.MILLIS),
+        ZoneOffset.UTC);
 
     public static final Map<String, String> TEST_CONSENT_DATA_MAP = Map.of(
         "TestKey1", "TestValue1",
@@ -93,16 +95,41 @@ public final class TestConstants {
         .expiryTime(TEST_EXPIRY_TIME.toString())
         .build();
 
-    public static final Map<String, AttributeValue> TEST_CONSENT_DDB_ATTRIBUTES = Map.of(
-        DynamoDbServiceUserConsentAttributeName.ID.getValue(), AttributeValue.fromS(TEST_PARTITION_KEY),
-        DynamoDbServiceUserConsentAttributeName.SERVICE_ID.getValue(), AttributeValue.fromS(TEST_SERVICE_ID),
-        DynamoDbServiceUserConsentAttributeName.USER_ID.getValue(), AttributeValue.fromS(TEST_USER_ID),
-        DynamoDbServiceUserConsentAttributeName.CONSENT_ID.getValue(), AttributeValue.fromS(TEST_CONSENT_ID),
-        DynamoDbServiceUserConsentAttributeName.CONSENT_VERSION.getValue(), AttributeValue.fromN(TEST_CONSENT_VERSION.toString()),
-        DynamoDbServiceUserConsentAttributeName.CONSENT_STATUS.getValue(), AttributeValue.fromS(TEST_CONSENT_STATUS.getValue()),
-        DynamoDbServiceUserConsentAttributeName.CONSENT_TYPE.getValue(), AttributeValue.fromS(TEST_CONSENT_TYPE),
-        DynamoDbServiceUserConsentAttributeName.CONSENT_DATA.getValue(), AttributeValue.fromM(TEST_CONSENT_DATA_ATTRIBUTE_MAP),
-        DynamoDbServiceUserConsentAttributeName.EXPIRY_TIME.getValue(), AttributeValue.fromS(TEST_EXPIRY_TIME.toString())
+    public static final String TEST_SERVICE_USER_ID = String.format("%s|%s", TEST_SERVICE_ID, TEST_USER_ID);
+    public static final String TEST_STATUS_TYPE_ID = String.format("%s|%s|%s", TEST_CONSENT_STATUS.getValue(), TEST_CONSENT_TYPE,
+        TEST_CONSENT_ID);
+
+    public static final Map<String, AttributeValue> TEST_CONSENT_DDB_ATTRIBUTES = Map.ofEntries(
+        Map.entry(DynamoDbServiceUserConsentAttributeName.ID.getValue(), AttributeValue.fromS(TEST_PARTITION_KEY)),
+        Map.entry(DynamoDbServiceUserConsentAttributeName.SERVICE_ID.getValue(), AttributeValue.fromS(TEST_SERVICE_ID)),
+        Map.entry(DynamoDbServiceUserConsentAttributeName.USER_ID.getValue(), AttributeValue.fromS(TEST_USER_ID)),
+        Map.entry(DynamoDbServiceUserConsentAttributeName.ITEM_FORMAT.getValue(), AttributeValue.fromN("2")),
+        Map.entry(DynamoDbServiceUserConsentAttributeName.COMPACT_CONSENT_VERSION.getValue(),
+            AttributeValue.fromN(TEST_CONSENT_VERSION.toString())),
+        Map.entry(DynamoDbServiceUserConsentAttributeName.COMPACT_CONSENT_STATUS.getValue(),
+            AttributeValue.fromS(TEST_CONSENT_STATUS.getValue())),
+        Map.entry(DynamoDbServiceUserConsentAttributeName.COMPACT_CONSENT_TYPE.getValue(), AttributeValue.fromS(TEST_CONSENT_TYPE)),
+        Map.entry(DynamoDbServiceUserConsentAttributeName.COMPACT_CONSENT_DATA.getValue(),
+            AttributeValue.fromM(TEST_CONSENT_DATA_ATTRIBUTE_MAP)),
+        Map.entry(DynamoDbServiceUserConsentAttributeName.COMPACT_EXPIRY_TIME.getValue(),
+            AttributeValue.fromN(Long.toString(TEST_EXPIRY_TIME.toInstant().toEpochMilli()))),
+        Map.entry(DynamoDbServiceUserConsentAttributeName.SERVICE_USER_ID.getValue(), AttributeValue.fromS(TEST_SERVICE_USER_ID)),
+        Map.entry(DynamoDbServiceUserConsentAttributeName.STATUS_TYPE_ID.getValue(), AttributeValue.fromS(TEST_STATUS_TYPE_ID))
+    );
+
+    public static final Map<String, AttributeValue> TEST_LEGACY_CONSENT_DDB_ATTRIBUTES = Map.ofEntries(
+        Map.entry(DynamoDbServiceUserConsentAttributeName.ID.getValue(), AttributeValue.fromS(TEST_PARTITION_KEY)),
+        Map.entry(DynamoDbServiceUserConsentAttributeName.SERVICE_ID.getValue(), AttributeValue.fromS(TEST_SERVICE_ID)),
+        Map.entry(DynamoDbServiceUserConsentAttributeName.USER_ID.getValue(), AttributeValue.fromS(TEST_USER_ID)),
+        Map.entry(DynamoDbServiceUserConsentAttributeName.CONSENT_ID.getValue(), AttributeValue.fromS(TEST_CONSENT_ID)),
+        Map.entry(DynamoDbServiceUserConsentAttributeName.CONSENT_VERSION.getValue(),
+            AttributeValue.fromN(TEST_CONSENT_VERSION.toString())),
+        Map.entry(DynamoDbServiceUserConsentAttributeName.CONSENT_STATUS.getValue(), AttributeValue.fromS(TEST_CONSENT_STATUS.getValue())),
+        Map.entry(DynamoDbServiceUserConsentAttributeName.CONSENT_TYPE.getValue(), AttributeValue.fromS(TEST_CONSENT_TYPE)),
+        Map.entry(DynamoDbServiceUserConsentAttributeName.CONSENT_DATA.getValue(), AttributeValue.fromM(TEST_CONSENT_DATA_ATTRIBUTE_MAP)),
+        Map.entry(DynamoDbServiceUserConsentAttributeName.EXPIRY_TIME.getValue(), AttributeValue.fromS(TEST_EXPIRY_TIME.toString())),
+        Map.entry(DynamoDbServiceUserConsentAttributeName.SERVICE_USER_ID.getValue(), AttributeValue.fromS(TEST_SERVICE_USER_ID)),
+        Map.entry(DynamoDbServiceUserConsentAttributeName.STATUS_TYPE_ID.getValue(), AttributeValue.fromS(TEST_STATUS_TYPE_ID))
     );
 
     public static final Map<String, String> TEST_CONSENTS_PATH_PARAMS = Map.of(
@@ -119,4 +146,13 @@ public final class TestConstants {
     public static final String CONSENTS_PATH_MISSING_PATH_PARAMS_MESSAGE = "Missing required path parameters, expected serviceId, userId";
     public static final String CONSENT_PATH_MISSING_PATH_PARAMS_MESSAGE =
         "Missing required path parameters, expected serviceId, userId, consentId";
+
+    private static String toTestPageToken(final Map<String, AttributeValue> lastEvaluatedKey) {
+        try {
+            return DynamoDbServiceUserConsentPageTokenMapper.toPageToken(TEST_SERVICE_ID, TEST_USER_ID,
+                DynamoDbServiceUserConsent.CONSENT_BY_SERVICE_USER_GSI_NAME, ServiceUserConsentFilter.NONE, lastEvaluatedKey);
+        } catch (final BadRequestException | InternalServiceException pageTokenException) {
+            throw new IllegalStateException(pageTokenException);
+        }
+    }
 }
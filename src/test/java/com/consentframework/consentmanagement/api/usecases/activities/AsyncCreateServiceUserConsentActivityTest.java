@@ -0,0 +1,71 @@
+package com.consentframework.consentmanagement.api.usecases.activities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import com.consentframework.consentmanagement.api.domain.validators.CreateServiceUserConsentRequestValidator;
+import com.consentframework.consentmanagement.api.infrastructure.repositories.InMemoryAsyncServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
+import com.consentframework.consentmanagement.api.models.CreateServiceUserConsentRequestContent;
+import com.consentframework.consentmanagement.api.models.CreateServiceUserConsentResponseContent;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.consentmanagement.api.testcommon.matchers.CreatedConsentMatcher;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletionException;
+
+class AsyncCreateServiceUserConsentActivityTest {
+    private AsyncCreateServiceUserConsentActivity activity;
+    private InMemoryAsyncServiceUserConsentRepository consentRepository;
+
+    @BeforeEach
+    void setup() {
+        this.consentRepository = spy(new InMemoryAsyncServiceUserConsentRepository());
+        this.activity = new AsyncCreateServiceUserConsentActivity(consentRepository);
+    }
+
+    @Test
+    void testHandleInvalidRequest() {
+        final CompletionException thrownException = assertThrows(CompletionException.class, () ->
+            activity.handleRequest(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+                new CreateServiceUserConsentRequestContent()).join());
+
+        assertInstanceOf(BadRequestException.class, thrownException.getCause());
+        assertEquals(CreateServiceUserConsentRequestValidator.MISSING_REQUIRED_FIELDS_MESSAGE, thrownException.getCause().getMessage());
+        verify(this.consentRepository, never()).createServiceUserConsent(any(Consent.class));
+    }
+
+    @Test
+    void testHandleValidRequest() {
+        final CreateServiceUserConsentRequestContent requestContent = new CreateServiceUserConsentRequestContent()
+            .status(ConsentStatus.ACTIVE)
+            .consentType(TestConstants.TEST_CONSENT_TYPE)
+            .consentData(TestConstants.TEST_CONSENT_DATA_MAP)
+            .expiryTime(TestConstants.TEST_EXPIRY_TIME);
+
+        final CreateServiceUserConsentResponseContent response = activity.handleRequest(TestConstants.TEST_SERVICE_ID,
+            TestConstants.TEST_USER_ID, requestContent).join();
+
+        final Consent expectedConsent = new Consent()
+            .serviceId(TestConstants.TEST_SERVICE_ID)
+            .userId(TestConstants.TEST_USER_ID)
+            .consentVersion(1)
+            .consentType(TestConstants.TEST_CONSENT_TYPE)
+            .consentData(requestContent.getConsentData())
+            .expiryTime(requestContent.getExpiryTime())
+            .status(requestContent.getStatus());
+        verify(this.consentRepository).createServiceUserConsent(argThat(new CreatedConsentMatcher(expectedConsent)));
+        assertNotNull(consentRepository.getServiceUserConsent(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+            response.getConsentId()).join());
+    }
+}
@@ -0,0 +1,48 @@
+package com.consentframework.consentmanagement.api.usecases.activities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.infrastructure.repositories.InMemoryAsyncServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.GetServiceUserConsentResponseContent;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.shared.api.domain.exceptions.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletionException;
+
+class AsyncGetServiceUserConsentActivityTest {
+    private AsyncGetServiceUserConsentActivity activity;
+    private InMemoryAsyncServiceUserConsentRepository consentRepository;
+
+    @BeforeEach
+    void setup() {
+        this.consentRepository = new InMemoryAsyncServiceUserConsentRepository();
+        this.activity = new AsyncGetServiceUserConsentActivity(this.consentRepository);
+    }
+
+    @Test
+    void testRetrieveNonExistingConsent() {
+        final CompletionException thrownException = assertThrows(CompletionException.class, () ->
+            activity.handleRequest(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID).join());
+        assertInstanceOf(ResourceNotFoundException.class, thrownException.getCause());
+
+        final String expectedErrorMessage = String.format(ServiceUserConsentRepository.CONSENT_NOT_FOUND_MESSAGE,
+            TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID);
+        assertEquals(expectedErrorMessage, thrownException.getCause().getMessage());
+    }
+
+    @Test
+    void testRetrieveExistingConsent() {
+        final Consent createdConsent = TestConstants.TEST_CONSENT_WITH_ALL_FIELDS;
+        consentRepository.createServiceUserConsent(createdConsent).join();
+
+        final GetServiceUserConsentResponseContent response = activity.handleRequest(TestConstants.TEST_SERVICE_ID,
+            TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID).join();
+        assertEquals(createdConsent, response.getData());
+    }
+}
@@ -0,0 +1,95 @@
+package com.consentframework.consentmanagement.api.usecases.activities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentFilter;
+import com.consentframework.consentmanagement.api.domain.validators.ServiceUserConsentFilterValidator;
+import com.consentframework.consentmanagement.api.infrastructure.repositories.InMemoryAsyncServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
+import com.consentframework.consentmanagement.api.models.ListServiceUserConsentResponseContent;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.consentmanagement.api.testcommon.utils.TestUtils;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+class AsyncListServiceUserConsentsActivityTest {
+    private static final Integer PAGE_LIMIT = 1;
+    private static final Integer FILTERED_PAGE_LIMIT = 10;
+
+    private AsyncListServiceUserConsentsActivity activity;
+    private InMemoryAsyncServiceUserConsentRepository consentRepository;
+
+    @BeforeEach
+    void setup() {
+        this.consentRepository = new InMemoryAsyncServiceUserConsentRepository();
+        this.activity = new AsyncListServiceUserConsentsActivity(this.consentRepository);
+    }
+
+    @Test
+    void testListWhenNoResults() {
+        final ListServiceUserConsentResponseContent response = activity.handleRequest(TestConstants.TEST_SERVICE_ID,
+            TestConstants.TEST_USER_ID, PAGE_LIMIT, null).join();
+
+        assertTrue(response.getData().isEmpty());
+        assertNull(response.getNextPageToken());
+    }
+
+    @Test
+    void testListWhenMultiplePagesOfResults() {
+        final Consent firstConsent = TestConstants.TEST_CONSENT_WITH_ALL_FIELDS;
+        final Consent secondConsent = TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS).consentId("SecondConsentId");
+        consentRepository.createServiceUserConsent(firstConsent).join();
+        consentRepository.createServiceUserConsent(secondConsent).join();
+
+        final ListServiceUserConsentResponseContent firstPaginatedResponse = activity.handleRequest(TestConstants.TEST_SERVICE_ID,
+            TestConstants.TEST_USER_ID, PAGE_LIMIT, null).join();
+        assertEquals(List.of(firstConsent), firstPaginatedResponse.getData());
+        assertEquals("1", firstPaginatedResponse.getNextPageToken());
+
+        final ListServiceUserConsentResponseContent secondPaginatedResponse = activity.handleRequest(TestConstants.TEST_SERVICE_ID,
+            TestConstants.TEST_USER_ID, PAGE_LIMIT, firstPaginatedResponse.getNextPageToken()).join();
+        assertEquals(List.of(secondConsent), secondPaginatedResponse.getData());
+        assertNull(secondPaginatedResponse.getNextPageToken());
+    }
+
+    @Test
+    void testListWithFilter() {
+        final Consent activeConsent = TestConstants.TEST_CONSENT_WITH_ALL_FIELDS;
+        final Consent revokedConsent = TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS)
+            .consentId("SecondConsentId")
+            .status(ConsentStatus.REVOKED);
+        final Consent otherTypeConsent = TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS)
+            .consentId("ThirdConsentId")
+            .consentType("OtherConsentType");
+        for (final Consent consent : List.of(activeConsent, revokedConsent, otherTypeConsent)) {
+            consentRepository.createServiceUserConsent(consent).join();
+        }
+
+        final ListServiceUserConsentResponseContent activeResponse = activity.handleRequest(TestConstants.TEST_SERVICE_ID,
+            TestConstants.TEST_USER_ID, new ServiceUserConsentFilter(ConsentStatus.ACTIVE, null), FILTERED_PAGE_LIMIT, null).join();
+        assertEquals(List.of(activeConsent, otherTypeConsent), activeResponse.getData());
+
+        final ListServiceUserConsentResponseContent activeTypeResponse = activity.handleRequest(TestConstants.TEST_SERVICE_ID,
+            TestConstants.TEST_USER_ID, new ServiceUserConsentFilter(ConsentStatus.ACTIVE, TestConstants.TEST_CONSENT_TYPE),
+            FILTERED_PAGE_LIMIT, null).join();
+        assertEquals(List.of(activeConsent), activeTypeResponse.getData());
+    }
+
+    @Test
+    void testListWithConsentTypeFilterWithoutStatus() {
+        final CompletionException thrownException = assertThrows(CompletionException.class, () -> activity.handleRequest(
+            TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, new ServiceUserConsentFilter(null, TestConstants.TEST_CONSENT_TYPE),
+            PAGE_LIMIT, null).join());
+        assertInstanceOf(BadRequestException.class, thrownException.getCause());
+        assertEquals(ServiceUserConsentFilterValidator.CONSENT_TYPE_WITHOUT_STATUS_MESSAGE, thrownException.getCause().getMessage());
+    }
+}
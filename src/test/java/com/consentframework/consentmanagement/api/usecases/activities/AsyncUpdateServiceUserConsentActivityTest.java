@@ -0,0 +1,69 @@
+package com.consentframework.consentmanagement.api.usecases.activities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.infrastructure.repositories.InMemoryAsyncServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
+import com.consentframework.consentmanagement.api.models.UpdateServiceUserConsentRequestContent;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletionException;
+
+class AsyncUpdateServiceUserConsentActivityTest {
+    private AsyncUpdateServiceUserConsentActivity activity;
+    private InMemoryAsyncServiceUserConsentRepository consentRepository;
+
+    @BeforeEach
+    void setup() {
+        this.consentRepository = new InMemoryAsyncServiceUserConsentRepository();
+        activity = new AsyncUpdateServiceUserConsentActivity(this.consentRepository);
+    }
+
+    @Test
+    void testHandleNullConsentData() {
+        final CompletionException thrownException = assertThrows(CompletionException.class, () ->
+            activity.handleRequest(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID, null).join());
+        assertInstanceOf(BadRequestException.class, thrownException.getCause());
+        assertEquals(UpdateServiceUserConsentActivity.MISSING_CONSENT_DATA_MESSAGE, thrownException.getCause().getMessage());
+    }
+
+    @Test
+    void testHandleRequestForNonExistingConsent() {
+        final UpdateServiceUserConsentRequestContent requestContent = new UpdateServiceUserConsentRequestContent()
+            .consentVersion(1)
+            .status(ConsentStatus.REVOKED);
+
+        final CompletionException thrownException = assertThrows(CompletionException.class, () ->
+            activity.handleRequest(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+                TestConstants.TEST_CONSENT_ID, requestContent).join());
+
+        assertInstanceOf(ResourceNotFoundException.class, thrownException.getCause());
+        final String expectedErrorMessage = String.format(ServiceUserConsentRepository.CONSENT_NOT_FOUND_MESSAGE,
+            TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID);
+        assertEquals(expectedErrorMessage, thrownException.getCause().getMessage());
+    }
+
+    @Test
+    void testHandleValidRequest() {
+        consentRepository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS).join();
+
+        final UpdateServiceUserConsentRequestContent requestContent = new UpdateServiceUserConsentRequestContent()
+            .consentVersion(2)
+            .status(ConsentStatus.REVOKED);
+        activity.handleRequest(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID,
+            requestContent).join();
+
+        final Consent storedConsent = consentRepository.getServiceUserConsent(TestConstants.TEST_SERVICE_ID,
+            TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID).join();
+        assertEquals(2, storedConsent.getConsentVersion());
+        assertEquals(ConsentStatus.REVOKED, storedConsent.getStatus());
+    }
+}
@@ -0,0 +1,67 @@
+package com.consentframework.consentmanagement.api.usecases.activities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.consentframework.consentmanagement.api.domain.entities.BatchCreateServiceUserConsentsRequestContent;
+import com.consentframework.consentmanagement.api.domain.entities.BatchCreateServiceUserConsentsResponseContent;
+import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.domain.validators.BatchCreateServiceUserConsentsRequestValidator;
+import com.consentframework.consentmanagement.api.infrastructure.repositories.InMemoryServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.CreateServiceUserConsentRequestContent;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.consentmanagement.api.testcommon.utils.TestUtils;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.ConflictingResourceException;
+import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
+import com.consentframework.shared.api.domain.exceptions.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class BatchCreateServiceUserConsentsActivityTest {
+    private BatchCreateServiceUserConsentsActivity activity;
+    private ServiceUserConsentRepository consentRepository;
+
+    @BeforeEach
+    void setup() {
+        this.consentRepository = new InMemoryServiceUserConsentRepository();
+        this.activity = new BatchCreateServiceUserConsentsActivity(this.consentRepository);
+    }
+
+    @Test
+    void testBatchCreateWithInvalidRequest() {
+        final BadRequestException thrownException = assertThrows(BadRequestException.class, () ->
+            activity.handleRequest(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, null));
+
+        assertEquals(BatchCreateServiceUserConsentsRequestValidator.MISSING_CONSENTS_MESSAGE, thrownException.getMessage());
+    }
+
+    @Test
+    void testBatchCreateConsents() throws BadRequestException, ConflictingResourceException, InternalServiceException,
+            ResourceNotFoundException {
+        final CreateServiceUserConsentRequestContent firstConsentContent = TestUtils.toCreateRequestContent(
+            TestConstants.TEST_CONSENT_WITH_ALL_FIELDS);
+        final CreateServiceUserConsentRequestContent secondConsentContent = TestUtils.toCreateRequestContent(
+            TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS);
+
+        final BatchCreateServiceUserConsentsResponseContent response = activity.handleRequest(TestConstants.TEST_SERVICE_ID,
+            TestConstants.TEST_USER_ID, new BatchCreateServiceUserConsentsRequestContent(List.of(firstConsentContent,
+                secondConsentContent)));
+
+        assertEquals(2, response.consentIds().size());
+        assertNotEquals(response.consentIds().get(0), response.consentIds().get(1));
+
+        final Consent firstConsent = consentRepository.getServiceUserConsent(TestConstants.TEST_SERVICE_ID,
+            TestConstants.TEST_USER_ID, response.consentIds().get(0));
+        assertEquals(1, firstConsent.getConsentVersion());
+        assertEquals(firstConsentContent.getConsentData(), firstConsent.getConsentData());
+
+        final Consent secondConsent = consentRepository.getServiceUserConsent(TestConstants.TEST_SERVICE_ID,
+            TestConstants.TEST_USER_ID, response.consentIds().get(1));
+        assertEquals(secondConsentContent.getStatus(), secondConsent.getStatus());
+    }
+}
@@ -0,0 +1,57 @@
+package com.consentframework.consentmanagement.api.usecases.activities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.consentframework.consentmanagement.api.domain.entities.BatchGetServiceUserConsentsRequestContent;
+import com.consentframework.consentmanagement.api.domain.entities.BatchGetServiceUserConsentsResponseContent;
+import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.domain.validators.BatchGetServiceUserConsentsRequestValidator;
+import com.consentframework.consentmanagement.api.infrastructure.repositories.InMemoryServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.consentmanagement.api.testcommon.utils.TestUtils;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.ConflictingResourceException;
+import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class BatchGetServiceUserConsentsActivityTest {
+    private BatchGetServiceUserConsentsActivity activity;
+    private ServiceUserConsentRepository consentRepository;
+
+    @BeforeEach
+    void setup() {
+        this.consentRepository = new InMemoryServiceUserConsentRepository();
+        this.activity = new BatchGetServiceUserConsentsActivity(this.consentRepository);
+    }
+
+    @Test
+    void testBatchGetWithInvalidRequest() {
+        final BadRequestException thrownException = assertThrows(BadRequestException.class, () ->
+            activity.handleRequest(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+                new BatchGetServiceUserConsentsRequestContent(List.of())));
+
+        assertEquals(BatchGetServiceUserConsentsRequestValidator.MISSING_CONSENT_IDS_MESSAGE, thrownException.getMessage());
+    }
+
+    @Test
+    void testBatchGetReportsMissingConsents() throws BadRequestException, ConflictingResourceException, InternalServiceException {
+        final Consent firstConsent = TestConstants.TEST_CONSENT_WITH_ALL_FIELDS;
+        final Consent secondConsent = TestUtils.clone(firstConsent).consentId("SecondConsentId");
+        consentRepository.createServiceUserConsent(firstConsent);
+        consentRepository.createServiceUserConsent(secondConsent);
+
+        final String missingConsentId = "MissingConsentId";
+        final BatchGetServiceUserConsentsRequestContent requestContent = new BatchGetServiceUserConsentsRequestContent(List.of(
+            secondConsent.getConsentId(), missingConsentId, firstConsent.getConsentId(), secondConsent.getConsentId()));
+
+        final BatchGetServiceUserConsentsResponseContent response = activity.handleRequest(TestConstants.TEST_SERVICE_ID,
+            TestConstants.TEST_USER_ID, requestContent);
+        assertEquals(List.of(secondConsent, firstConsent), response.data());
+        assertEquals(List.of(missingConsentId), response.missingConsentIds());
+    }
+}
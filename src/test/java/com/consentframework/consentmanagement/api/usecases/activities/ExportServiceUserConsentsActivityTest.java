@@ -0,0 +1,51 @@
+package com.consentframework.consentmanagement.api.usecases.activities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.infrastructure.repositories.InMemoryServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.consentmanagement.api.testcommon.utils.TestUtils;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.ConflictingResourceException;
+import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+class ExportServiceUserConsentsActivityTest {
+    private ExportServiceUserConsentsActivity activity;
+    private ServiceUserConsentRepository consentRepository;
+
+    @BeforeEach
+    void setup() {
+        this.consentRepository = new InMemoryServiceUserConsentRepository();
+        this.activity = new ExportServiceUserConsentsActivity(this.consentRepository);
+    }
+
+    @Test
+    void testExportWhenNoResults() throws BadRequestException {
+        try (Stream<Consent> consents = activity.handleRequest(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID)) {
+            assertTrue(consents.toList().isEmpty());
+        }
+    }
+
+    @Test
+    void testExportWhenMultiplePagesOfResults() throws BadRequestException, ConflictingResourceException, InternalServiceException {
+        final List<Consent> expectedConsents = new ArrayList<Consent>();
+        for (int i = 0; i < ServiceUserConsentRepository.EXPORT_PAGE_SIZE * 2 + 1; i++) {
+            final Consent consent = TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS).consentId("ConsentId" + i);
+            consentRepository.createServiceUserConsent(consent);
+            expectedConsents.add(consent);
+        }
+
+        try (Stream<Consent> consents = activity.handleRequest(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID)) {
+            assertEquals(expectedConsents, consents.toList());
+        }
+    }
+}
@@ -3,9 +3,12 @@ package com.consentframework.consentmanagement.api.usecases.activities;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentFilter;
 import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.domain.validators.ServiceUserConsentFilterValidator;
 import com.consentframework.consentmanagement.api.infrastructure.repositories.InMemoryServiceUserConsentRepository;
 import com.consentframework.consentmanagement.api.models.Consent;
 import com.consentframework.consentmanagement.api.models.ConsentStatus;
@@ -25,6 +28,7 @@ import java.util.Map;
 
 class ListServiceUserConsentsActivityTest {
     private static final Integer PAGE_LIMIT = 2;
+    private static final Integer FILTERED_PAGE_LIMIT = 10;
 
     private ListServiceUserConsentsActivity activity;
     private ServiceUserConsentRepository consentRepository;
@@ -36,7 +40,7 @@ class ListServiceUserConsentsActivityTest {
     }
 
     @Test
-    void testListWhenNoResults() throws BadRequestException {
+    void testListWhenNoResults() throws BadRequestException, InternalServiceException {
         final ListServiceUserConsentResponseContent response = activity.handleRequest(TestConstants.TEST_SERVICE_ID,
             TestConstants.TEST_USER_ID, PAGE_LIMIT, null);
 
@@ -74,4 +78,35 @@ class ListServiceUserConsentsActivityTest {
         assertEquals(List.of(thirdConsent), secondPaginatedResponse.getData());
         assertNull(secondPaginatedResponse.getNextPageToken());
     }
+
+    @Test
+    void testListWithFilter() throws BadRequestException, ConflictingResourceException, InternalServiceException {
+        final Consent activeConsent = TestConstants.TEST_CONSENT_WITH_ALL_FIELDS;
+        final Consent revokedConsent = TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS)
+            .consentId("SecondConsentId")
+            .status(ConsentStatus.REVOKED);
+        final Consent otherTypeConsent = TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS)
+            .consentId("ThirdConsentId")
+            .consentType("OtherConsentType");
+        consentRepository.createServiceUserConsent(activeConsent);
+        consentRepository.createServiceUserConsent(revokedConsent);
+        consentRepository.createServiceUserConsent(otherTypeConsent);
+
+        final ListServiceUserConsentResponseContent activeResponse = activity.handleRequest(TestConstants.TEST_SERVICE_ID,
+            TestConstants.TEST_USER_ID, new ServiceUserConsentFilter(ConsentStatus.ACTIVE, null), FILTERED_PAGE_LIMIT, null);
+        assertEquals(List.of(activeConsent, otherTypeConsent), activeResponse.getData());
+
+        final ListServiceUserConsentResponseContent activeTypeResponse = activity.handleRequest(TestConstants.TEST_SERVICE_ID,
+            TestConstants.TEST_USER_ID, new ServiceUserConsentFilter(ConsentStatus.ACTIVE, TestConstants.TEST_CONSENT_TYPE),
+            FILTERED_PAGE_LIMIT, null);
+        assertEquals(List.of(activeConsent), activeTypeResponse.getData());
+    }
+
+    @Test
+    void testListWithConsentTypeFilterWithoutStatus() {
+        final BadRequestException thrownException = assertThrows(BadRequestException.class, () -> activity.handleRequest(
+            TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, new ServiceUserConsentFilter(null, TestConstants.TEST_CONSENT_TYPE),
+            PAGE_LIMIT, null));
+        assertEquals(ServiceUserConsentFilterValidator.CONSENT_TYPE_WITHOUT_STATUS_MESSAGE, thrownException.getMessage());
+    }
 }
@@ -0,0 +1,86 @@
+package com.consentframework.consentmanagement.api.usecases.activities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentPatch;
+import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.domain.validators.ConsentValidator;
+import com.consentframework.consentmanagement.api.domain.validators.ServiceUserConsentPatchValidator;
+import com.consentframework.consentmanagement.api.infrastructure.repositories.InMemoryServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.consentmanagement.api.testcommon.utils.TestUtils;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.ConflictingResourceException;
+import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
+import com.consentframework.shared.api.domain.exceptions.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Optional;
+
+class PatchServiceUserConsentActivityTest {
+    private PatchServiceUserConsentActivity activity;
+    private ServiceUserConsentRepository consentRepository;
+
+    @BeforeEach
+    void setup() {
+        this.consentRepository = new InMemoryServiceUserConsentRepository();
+        activity = new PatchServiceUserConsentActivity(this.consentRepository);
+    }
+
+    @Test
+    void testHandleNullPatch() {
+        final BadRequestException thrownException = assertThrows(BadRequestException.class, () -> activity.handleRequest(null));
+        assertEquals(ServiceUserConsentPatchValidator.PATCH_NULL_MESSAGE, thrownException.getMessage());
+    }
+
+    @Test
+    void testHandleRequestForNonExistingConsent() {
+        final ResourceNotFoundException thrownException = assertThrows(ResourceNotFoundException.class, () ->
+            activity.handleRequest(buildRevokePatch(2)));
+
+        final String expectedErrorMessage = String.format(ServiceUserConsentRepository.CONSENT_NOT_FOUND_MESSAGE,
+            TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID);
+        assertEquals(expectedErrorMessage, thrownException.getMessage());
+    }
+
+    @Test
+    void testHandleRequestWithConflictingVersion() throws BadRequestException, ConflictingResourceException, InternalServiceException {
+        this.consentRepository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS);
+
+        final ConflictingResourceException thrownException = assertThrows(ConflictingResourceException.class, () ->
+            activity.handleRequest(buildRevokePatch(TestConstants.TEST_CONSENT_VERSION)));
+
+        final String expectedMessage = String.format(ConsentValidator.VERSION_CONFLICT_MESSAGE,
+            TestConstants.TEST_CONSENT_VERSION + 1, TestConstants.TEST_CONSENT_VERSION);
+        assertEquals(expectedMessage, thrownException.getMessage());
+    }
+
+    @Test
+    void testHandleValidRequest() throws BadRequestException, ConflictingResourceException,
+            InternalServiceException, ResourceNotFoundException {
+        this.consentRepository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS);
+        final Map<String, String> updatedConsentData = Map.of("UpdatedKey", "UpdatedValue");
+        final ServiceUserConsentPatch patch = new ServiceUserConsentPatch(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+            TestConstants.TEST_CONSENT_ID, 2, null, Optional.empty(), Optional.of(updatedConsentData), null);
+
+        final Consent patchedConsent = activity.handleRequest(patch);
+
+        final Consent expectedConsent = TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS)
+            .consentVersion(2)
+            .consentType(null)
+            .consentData(updatedConsentData);
+        assertEquals(expectedConsent, patchedConsent);
+        assertEquals(expectedConsent, this.consentRepository.getServiceUserConsent(TestConstants.TEST_SERVICE_ID,
+            TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID));
+    }
+
+    private ServiceUserConsentPatch buildRevokePatch(final Integer consentVersion) {
+        return new ServiceUserConsentPatch(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID,
+            consentVersion, Optional.of(ConsentStatus.REVOKED), null, null, null);
+    }
+}
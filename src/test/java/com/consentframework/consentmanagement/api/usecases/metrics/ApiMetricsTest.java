@@ -0,0 +1,152 @@
+package com.consentframework.consentmanagement.api.usecases.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.consentframework.shared.api.domain.constants.ApiResponseParameterName;
+import com.consentframework.shared.api.domain.constants.HttpStatusCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+class ApiMetricsTest {
+    private static final String TEST_HTTP_METHOD = "GET";
+    private static final String TEST_RESOURCE = "/v1/consent-management/services/{serviceId}/users/{userId}/consents";
+    private static final String TEST_REQUEST_ID = "testRequestId";
+
+    @AfterEach
+    void finishInvocation() {
+        ApiMetrics.finishInvocation();
+    }
+
+    @Test
+    void testRecordingWithoutInvocationIsNoOp() {
+        assertEquals("result", ApiMetrics.time(ApiStage.DYNAMODB, () -> "result"));
+        ApiMetrics.run(ApiStage.MAPPING, () -> { });
+        ApiMetrics.recordStage(ApiStage.ACTIVITY, ApiMetrics.startTimer());
+        ApiMetrics.recordResponse(HttpStatusCode.SUCCESS.getValue(), 10);
+        ApiMetrics.recordResponse(Map.of(ApiResponseParameterName.STATUS_CODE.getValue(), HttpStatusCode.SUCCESS.getValue()));
+
+        assertNull(ApiMetrics.finishInvocation());
+    }
+
+    @Test
+    void testRecordInvocation() {
+        ApiMetrics.startInvocation(TEST_HTTP_METHOD, TEST_RESOURCE, TEST_REQUEST_ID, 0);
+
+        final long startNanos = ApiMetrics.startTimer();
+        assertEquals("result", ApiMetrics.time(ApiStage.DYNAMODB, () -> "result"));
+        ApiMetrics.run(ApiStage.DYNAMODB, () -> { });
+        ApiMetrics.run(ApiStage.MAPPING, () -> { });
+        ApiMetrics.recordStage(ApiStage.ACTIVITY, startNanos);
+        ApiMetrics.recordResponse(Map.of(
+            ApiResponseParameterName.STATUS_CODE.getValue(), HttpStatusCode.SUCCESS.getValue(),
+            ApiResponseParameterName.BODY.getValue(), "{}"));
+
+        final InvocationMetrics invocationMetrics = ApiMetrics.finishInvocation();
+        assertNotNull(invocationMetrics);
+        assertEquals(TEST_HTTP_METHOD + " " + TEST_RESOURCE, invocationMetrics.getRoute());
+        assertEquals(HttpStatusCode.SUCCESS.getValue(), invocationMetrics.getStatusCode());
+        assertEquals(1, invocationMetrics.getStageCount(ApiStage.ACTIVITY));
+        assertEquals(2, invocationMetrics.getStageCount(ApiStage.DYNAMODB));
+        assertEquals(1, invocationMetrics.getStageCount(ApiStage.MAPPING));
+        assertEquals(0, invocationMetrics.getStageCount(ApiStage.VALIDATION));
+        assertNull(ApiMetrics.finishInvocation());
+    }
+
+    @Test
+    void testInCurrentInvocationRecordsOnOtherThread() {
+        ApiMetrics.startInvocation(TEST_HTTP_METHOD, TEST_RESOURCE, TEST_REQUEST_ID, 0);
+
+        final Supplier<String> operation = ApiMetrics.inCurrentInvocation(() -> ApiMetrics.time(ApiStage.DYNAMODB, () -> "result"));
+        assertEquals("result", CompletableFuture.supplyAsync(operation).join());
+
+        assertEquals(1, ApiMetrics.finishInvocation().getStageCount(ApiStage.DYNAMODB));
+    }
+
+    @Test
+    void testInCurrentInvocationWithoutInvocation() {
+        final Supplier<String> operation = () -> "result";
+
+        assertSame(operation, ApiMetrics.inCurrentInvocation(operation));
+    }
+
+    @Test
+    void testRecordStageWhenOperationThrows() {
+        ApiMetrics.startInvocation(TEST_HTTP_METHOD, TEST_RESOURCE, null, 0);
+
+        try {
+            ApiMetrics.run(ApiStage.DYNAMODB, () -> {
+                throw new IllegalStateException("Test failure");
+            });
+        } catch (final IllegalStateException exception) {
+            // Expected, stage is still recorded.
+        }
+
+        assertEquals(1, ApiMetrics.finishInvocation().getStageCount(ApiStage.DYNAMODB));
+    }
+
+    @Test
+    void testDefaultStatusCodeWhenNoResponseRecorded() {
+        ApiMetrics.startInvocation(TEST_HTTP_METHOD, TEST_RESOURCE, TEST_REQUEST_ID, 0);
+        ApiMetrics.recordResponse(null);
+
+        assertEquals(InvocationMetrics.UNHANDLED_ERROR_STATUS_CODE, ApiMetrics.finishInvocation().getStatusCode());
+    }
+
+    @Test
+    void testRecordResponseWithoutStatusCode() {
+        ApiMetrics.startInvocation(TEST_HTTP_METHOD, TEST_RESOURCE, TEST_REQUEST_ID, 0);
+        ApiMetrics.recordResponse(Map.of());
+
+        assertEquals(InvocationMetrics.UNHANDLED_ERROR_STATUS_CODE, ApiMetrics.finishInvocation().getStatusCode());
+    }
+
+    @Test
+    void testMarkColdStart() {
+        ApiMetrics.markColdStart();
+        ApiMetrics.startInvocation(TEST_HTTP_METHOD, TEST_RESOURCE, TEST_REQUEST_ID, 0);
+        assertTrue(ApiMetrics.finishInvocation().isColdStart());
+
+        ApiMetrics.startInvocation(TEST_HTTP_METHOD, TEST_RESOURCE, TEST_REQUEST_ID, 0);
+        assertFalse(ApiMetrics.finishInvocation().isColdStart());
+    }
+
+    @Test
+    void testRecordDynamoDbCall() {
+        final DynamoDbOperationStatistics.Key key = new DynamoDbOperationStatistics.Key(TEST_HTTP_METHOD + " " + TEST_RESOURCE, "Query");
+        final long previousCalls = getCalls(key);
+        ApiMetrics.startInvocation(TEST_HTTP_METHOD, TEST_RESOURCE, TEST_REQUEST_ID, 0);
+
+        ApiMetrics.recordDynamoDbCall(ApiMetrics.currentInvocation(), new DynamoDbCall("Query", 2, 1_000_000, false, 0.5, 0));
+
+        final InvocationMetrics invocationMetrics = ApiMetrics.finishInvocation();
+        assertEquals(1, invocationMetrics.getDynamoDbCalls());
+        assertEquals(1, invocationMetrics.getDynamoDbRetries());
+        assertEquals(2, invocationMetrics.getStageCount(ApiStage.DYNAMODB_ATTEMPT));
+        assertEquals(previousCalls + 1, getCalls(key));
+    }
+
+    @Test
+    void testRecordDynamoDbCallOutsideOfInvocation() {
+        final DynamoDbOperationStatistics.Key key = new DynamoDbOperationStatistics.Key(ApiMetrics.UNATTRIBUTED_ROUTE, "GetItem");
+        final long previousCalls = getCalls(key);
+
+        assertNull(ApiMetrics.currentInvocation());
+        ApiMetrics.recordDynamoDbCall(null, new DynamoDbCall("GetItem", 1, 1_000_000, false, 0.5, 0));
+
+        assertEquals(previousCalls + 1, getCalls(key));
+    }
+
+    private static long getCalls(final DynamoDbOperationStatistics.Key key) {
+        final DynamoDbOperationStatistics statistics = ApiMetrics.getDynamoDbStatistics().get(key);
+        return statistics == null ? 0 : statistics.getCalls();
+    }
+}
@@ -0,0 +1,28 @@
+package com.consentframework.consentmanagement.api.usecases.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class DynamoDbOperationStatisticsTest {
+    @Test
+    void testRecord() {
+        final DynamoDbOperationStatistics statistics = new DynamoDbOperationStatistics();
+        statistics.record(new DynamoDbCall("PutItem", 1, 2_000_000, false, 0, 1.0));
+        statistics.record(new DynamoDbCall("PutItem", 3, 4_000_000, true, 0, 0));
+
+        assertEquals(2, statistics.getCalls());
+        assertEquals(4, statistics.getAttempts());
+        assertEquals(1, statistics.getThrottledCalls());
+        assertEquals(1.5, statistics.getAverageAttemptLatencyMillis());
+        assertEquals(0, statistics.getConsumedReadCapacityUnits());
+        assertEquals(1.0, statistics.getConsumedWriteCapacityUnits());
+        assertTrue(statistics.toString().contains("throttledCalls=1"));
+    }
+
+    @Test
+    void testAverageAttemptLatencyWithoutAttempts() {
+        assertEquals(0, new DynamoDbOperationStatistics().getAverageAttemptLatencyMillis());
+    }
+}
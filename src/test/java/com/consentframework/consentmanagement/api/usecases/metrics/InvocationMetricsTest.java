@@ -0,0 +1,97 @@
+package com.consentframework.consentmanagement.api.usecases.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class InvocationMetricsTest {
+    private static final String TEST_ROUTE = "GET /v1/consent-management/services/{serviceId}/users/{userId}/consents/{consentId}";
+    private static final String TEST_REQUEST_ID = "testRequestId";
+    private static final long TEST_TIMESTAMP = 1700000000000L;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Test
+    void testToEmfJson() throws Exception {
+        final InvocationMetrics invocationMetrics = new InvocationMetrics(TEST_ROUTE, TEST_REQUEST_ID, true, 12);
+        invocationMetrics.recordStage(ApiStage.ACTIVITY, 3_000_000);
+        invocationMetrics.recordStage(ApiStage.DYNAMODB, 1_000_000);
+        invocationMetrics.recordStage(ApiStage.DYNAMODB, 500_000);
+        invocationMetrics.recordResponse(200, 34);
+
+        final JsonNode emf = OBJECT_MAPPER.readTree(invocationMetrics.toEmfJson(new JsonFactory(), TEST_TIMESTAMP));
+
+        final JsonNode metadata = emf.get("_aws");
+        assertEquals(TEST_TIMESTAMP, metadata.get("Timestamp").asLong());
+        final JsonNode metricDirective = metadata.get("CloudWatchMetrics").get(0);
+        assertEquals(InvocationMetrics.NAMESPACE, metricDirective.get("Namespace").asText());
+        assertEquals(InvocationMetrics.ROUTE_DIMENSION, metricDirective.get("Dimensions").get(0).get(0).asText());
+        final List<String> metricNames = getMetricNames(metricDirective);
+        assertTrue(metricNames.contains(InvocationMetrics.LATENCY_METRIC));
+        assertTrue(metricNames.contains(ApiStage.ACTIVITY.getValue()));
+        assertTrue(metricNames.contains(ApiStage.DYNAMODB.getValue()));
+        assertFalse(metricNames.contains(ApiStage.VALIDATION.getValue()));
+
+        assertEquals(TEST_ROUTE, emf.get(InvocationMetrics.ROUTE_DIMENSION).asText());
+        assertEquals(TEST_REQUEST_ID, emf.get(InvocationMetrics.REQUEST_ID_PROPERTY).asText());
+        assertEquals(200, emf.get(InvocationMetrics.STATUS_CODE_PROPERTY).asInt());
+        assertTrue(emf.get(InvocationMetrics.LATENCY_METRIC).asDouble() >= 0);
+        assertEquals(1, emf.get(InvocationMetrics.COLD_START_METRIC).asInt());
+        assertEquals(12, emf.get(InvocationMetrics.REQUEST_BODY_SIZE_METRIC).asLong());
+        assertEquals(34, emf.get(InvocationMetrics.RESPONSE_BODY_SIZE_METRIC).asLong());
+        assertEquals(1, emf.get("Status2xx").asInt());
+        assertEquals(0, emf.get("Status4xx").asInt());
+        assertEquals(0, emf.get("Status5xx").asInt());
+        assertEquals(3.0, emf.get(ApiStage.ACTIVITY.getValue()).asDouble());
+        assertEquals(1.5, emf.get(ApiStage.DYNAMODB.getValue()).asDouble());
+        assertFalse(emf.has(ApiStage.VALIDATION.getValue()));
+        assertFalse(emf.has(InvocationMetrics.DYNAMODB_CALLS_METRIC));
+    }
+
+    @Test
+    void testToEmfJsonWithDynamoDbCalls() throws Exception {
+        final InvocationMetrics invocationMetrics = new InvocationMetrics(TEST_ROUTE, TEST_REQUEST_ID, false, 0);
+        invocationMetrics.recordDynamoDbCall(new DynamoDbCall("GetItem", 1, 1_000_000, false, 0.5, 0));
+        invocationMetrics.recordDynamoDbCall(new DynamoDbCall("PutItem", 3, 2_000_000, true, 0, 0));
+
+        final JsonNode emf = OBJECT_MAPPER.readTree(invocationMetrics.toEmfJson(new JsonFactory(), TEST_TIMESTAMP));
+
+        final List<String> metricNames = getMetricNames(emf.get("_aws").get("CloudWatchMetrics").get(0));
+        assertTrue(metricNames.contains(InvocationMetrics.DYNAMODB_CALLS_METRIC));
+        assertTrue(metricNames.contains(InvocationMetrics.CONSUMED_READ_CAPACITY_METRIC));
+        assertTrue(metricNames.contains(ApiStage.DYNAMODB_ATTEMPT.getValue()));
+        assertEquals(2, emf.get(InvocationMetrics.DYNAMODB_CALLS_METRIC).asInt());
+        assertEquals(2, emf.get(InvocationMetrics.DYNAMODB_RETRIES_METRIC).asInt());
+        assertEquals(1, emf.get(InvocationMetrics.DYNAMODB_THROTTLES_METRIC).asInt());
+        assertEquals(0.5, emf.get(InvocationMetrics.CONSUMED_READ_CAPACITY_METRIC).asDouble());
+        assertEquals(0, emf.get(InvocationMetrics.CONSUMED_WRITE_CAPACITY_METRIC).asDouble());
+        assertEquals(3.0, emf.get(ApiStage.DYNAMODB_ATTEMPT.getValue()).asDouble());
+        assertEquals(4, invocationMetrics.getStageCount(ApiStage.DYNAMODB_ATTEMPT));
+    }
+
+    @Test
+    void testToEmfJsonWithoutResponseOrRequestId() throws Exception {
+        final InvocationMetrics invocationMetrics = new InvocationMetrics(TEST_ROUTE, null, false, 0);
+
+        final JsonNode emf = OBJECT_MAPPER.readTree(invocationMetrics.toEmfJson(new JsonFactory(), TEST_TIMESTAMP));
+
+        assertFalse(emf.has(InvocationMetrics.REQUEST_ID_PROPERTY));
+        assertEquals(InvocationMetrics.UNHANDLED_ERROR_STATUS_CODE, emf.get(InvocationMetrics.STATUS_CODE_PROPERTY).asInt());
+        assertEquals(0, emf.get(InvocationMetrics.COLD_START_METRIC).asInt());
+        assertEquals(1, emf.get("Status5xx").asInt());
+        assertEquals(0, emf.get("Status2xx").asInt());
+    }
+
+    private static List<String> getMetricNames(final JsonNode metricDirective) {
+        final List<String> metricNames = new ArrayList<String>();
+        metricDirective.get("Metrics").forEach(metric -> metricNames.add(metric.get("Name").asText()));
+        return metricNames;
+    }
+}
@@ -0,0 +1,68 @@
+package com.consentframework.consentmanagement.api.usecases.requesthandlers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.consentframework.consentmanagement.api.domain.entities.BatchGetServiceUserConsentsRequestContent;
+import com.consentframework.consentmanagement.api.usecases.utils.ConsentManagementApiCodecs;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+class ApiRequestBodyTest {
+    private static final String TEST_BODY = "{\"consentIds\":[\"TestConsentId\"]}";
+
+    @Test
+    void testReadValueFromString() throws JsonProcessingException {
+        final ApiRequestBody body = ApiRequestBody.of(TEST_BODY);
+
+        assertFalse(body.isEmpty());
+        assertEquals(List.of("TestConsentId"), readContent(body).consentIds());
+    }
+
+    @Test
+    void testReadValueFromCharacters() throws JsonProcessingException {
+        final char[] characters = ("[" + TEST_BODY + "]").toCharArray();
+        final ApiRequestBody body = ApiRequestBody.of(characters, 1, TEST_BODY.length());
+
+        assertEquals(List.of("TestConsentId"), readContent(body).consentIds());
+        assertEquals(ConsentManagementApiCodecs.OBJECT_MAPPER.readTree(TEST_BODY), readTree(body));
+    }
+
+    @Test
+    void testReadValueFromBytes() throws JsonProcessingException {
+        final ApiRequestBody body = ApiRequestBody.of(TEST_BODY.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(List.of("TestConsentId"), readContent(body).consentIds());
+        assertEquals(ConsentManagementApiCodecs.OBJECT_MAPPER.readTree(TEST_BODY), readTree(body));
+    }
+
+    @Test
+    void testReadInvalidContent() {
+        final ApiRequestBody body = ApiRequestBody.of("{\"consentIds\":".toCharArray(), 0, 14);
+
+        assertThrows(JsonProcessingException.class, () -> readContent(body));
+        assertThrows(JsonProcessingException.class, () -> readTree(body));
+    }
+
+    @Test
+    void testReadEmptyBody() {
+        final ApiRequestBody body = ApiRequestBody.of((String) null);
+
+        assertTrue(body.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> readContent(body));
+    }
+
+    private static BatchGetServiceUserConsentsRequestContent readContent(final ApiRequestBody body) throws JsonProcessingException {
+        return body.readValue(ConsentManagementApiCodecs.BATCH_GET_REQUEST_CONTENT_READER);
+    }
+
+    private static JsonNode readTree(final ApiRequestBody body) throws JsonProcessingException {
+        return body.readValue(ConsentManagementApiCodecs.JSON_NODE_READER);
+    }
+}
@@ -0,0 +1,106 @@
+package com.consentframework.consentmanagement.api.usecases.requesthandlers;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.consentframework.consentmanagement.api.JSON;
+import com.consentframework.consentmanagement.api.domain.constants.ApiHttpResource;
+import com.consentframework.consentmanagement.api.domain.constants.ApiPathParameterName;
+import com.consentframework.consentmanagement.api.domain.repositories.AsyncServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.infrastructure.repositories.InMemoryAsyncServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.CreateServiceUserConsentResponseContent;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.consentmanagement.api.testcommon.utils.TestUtils;
+import com.consentframework.consentmanagement.api.usecases.activities.AsyncCreateServiceUserConsentActivity;
+import com.consentframework.shared.api.domain.constants.HttpMethod;
+import com.consentframework.shared.api.domain.constants.HttpStatusCode;
+import com.consentframework.shared.api.domain.entities.ApiRequest;
+import com.consentframework.shared.api.domain.exceptions.ConflictingResourceException;
+import com.consentframework.shared.api.domain.requesthandlers.ApiRequestHandler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+class AsyncCreateServiceUserConsentRequestHandlerTest extends RequestHandlerTest {
+    private static final Map<String, String> VALID_PATH_PARAMETERS = Map.of(
+        ApiPathParameterName.SERVICE_ID.getValue(), TestConstants.TEST_SERVICE_ID,
+        ApiPathParameterName.USER_ID.getValue(), TestConstants.TEST_USER_ID
+    );
+
+    private AsyncCreateServiceUserConsentRequestHandler handler;
+
+    @BeforeEach
+    void setup() {
+        final AsyncServiceUserConsentRepository consentRepository = new InMemoryAsyncServiceUserConsentRepository();
+        this.handler = new AsyncCreateServiceUserConsentRequestHandler(new AsyncCreateServiceUserConsentActivity(consentRepository));
+    }
+
+    @Test
+    void testHandleRequestWhenConsentAlreadyExists() throws JsonProcessingException {
+        final AsyncServiceUserConsentRepository mockRepository = mock(AsyncServiceUserConsentRepository.class);
+        final String testExceptionMessage = "TestConflictException";
+        when(mockRepository.createServiceUserConsent(any(Consent.class)))
+            .thenReturn(CompletableFuture.failedFuture(new ConflictingResourceException(testExceptionMessage)));
+        final AsyncCreateServiceUserConsentRequestHandler mockRepositoryHandler = new AsyncCreateServiceUserConsentRequestHandler(
+            new AsyncCreateServiceUserConsentActivity(mockRepository));
+
+        final String requestContentString = TestUtils.toCreateRequestContentString(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS);
+        final Map<String, Object> response = mockRepositoryHandler.handleRequest(
+            buildApiRequest(VALID_PATH_PARAMETERS, requestContentString));
+        assertExceptionResponse(HttpStatusCode.CONFLICT, testExceptionMessage, response);
+    }
+
+    @Test
+    void testHandleValidRequest() throws JsonProcessingException {
+        final String requestContentString = TestUtils.toCreateRequestContentString(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS);
+        final ApiRequest request = buildApiRequest(VALID_PATH_PARAMETERS, requestContentString);
+
+        final Map<String, Object> response = handler.handleRequestAsync(request).join();
+        assertSuccessResponse(response);
+
+        final Object responseBody = getResponseBody(response);
+        assertTrue(responseBody instanceof String);
+
+        final CreateServiceUserConsentResponseContent parsedResponse = new JSON().getMapper()
+            .readValue((String) responseBody, CreateServiceUserConsentResponseContent.class);
+        assertNotNull(parsedResponse.getConsentId());
+    }
+
+    @Test
+    protected void testHandleNullRequest() {
+        final Map<String, Object> response = handler.handleRequest(null);
+        assertMissingConsentsPathParametersResponse(response);
+    }
+
+    @Test
+    protected void testHandleRequestMissingPathParameters() throws JsonProcessingException {
+        final Map<String, String> incompletePathParameters = Map.of(
+            ApiPathParameterName.SERVICE_ID.getValue(), TestConstants.TEST_SERVICE_ID
+        );
+        final String requestContentString = TestUtils.toCreateRequestContentString(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS);
+        final ApiRequest request = buildApiRequest(incompletePathParameters, requestContentString);
+
+        final Map<String, Object> response = handler.handleRequest(request);
+        assertMissingConsentsPathParametersResponse(response);
+    }
+
+    @Test
+    void testHandleRequestWithInvalidBody() {
+        final ApiRequest request = buildApiRequest(VALID_PATH_PARAMETERS, "Invalid request body");
+
+        final Map<String, Object> response = handler.handleRequest(request);
+        assertExceptionResponse(HttpStatusCode.BAD_REQUEST, ApiRequestHandler.REQUEST_PARSE_FAILURE_MESSAGE, response);
+    }
+
+    private ApiRequest buildApiRequest(final Map<String, String> pathParameters, final String body) {
+        return new ApiRequest(HttpMethod.POST.name(), ApiHttpResource.SERVICE_USER_CONSENTS.getValue(), TestConstants.TEST_CONSENTS_PATH,
+            pathParameters, null, null, false, body);
+    }
+}
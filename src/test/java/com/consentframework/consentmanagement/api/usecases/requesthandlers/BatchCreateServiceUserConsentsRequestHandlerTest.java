@@ -0,0 +1,118 @@
+package com.consentframework.consentmanagement.api.usecases.requesthandlers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+import com.consentframework.consentmanagement.api.JSON;
+import com.consentframework.consentmanagement.api.domain.constants.ApiHttpResource;
+import com.consentframework.consentmanagement.api.domain.constants.ApiPathParameterName;
+import com.consentframework.consentmanagement.api.domain.entities.BatchCreateServiceUserConsentsRequestContent;
+import com.consentframework.consentmanagement.api.domain.entities.BatchCreateServiceUserConsentsResponseContent;
+import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.domain.validators.BatchCreateServiceUserConsentsRequestValidator;
+import com.consentframework.consentmanagement.api.infrastructure.repositories.InMemoryServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.consentmanagement.api.testcommon.utils.TestUtils;
+import com.consentframework.consentmanagement.api.usecases.activities.BatchCreateServiceUserConsentsActivity;
+import com.consentframework.shared.api.domain.constants.HttpMethod;
+import com.consentframework.shared.api.domain.constants.HttpStatusCode;
+import com.consentframework.shared.api.domain.entities.ApiRequest;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.ConflictingResourceException;
+import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
+import com.consentframework.shared.api.domain.requesthandlers.ApiRequestHandler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+class BatchCreateServiceUserConsentsRequestHandlerTest extends RequestHandlerTest {
+    private static final String TEST_BATCH_CREATE_PATH = String.format("%s/batch-create", TestConstants.TEST_CONSENTS_PATH);
+
+    private BatchCreateServiceUserConsentsRequestHandler handler;
+
+    @BeforeEach
+    void setup() {
+        final ServiceUserConsentRepository consentRepository = new InMemoryServiceUserConsentRepository();
+        this.handler = new BatchCreateServiceUserConsentsRequestHandler(new BatchCreateServiceUserConsentsActivity(consentRepository));
+    }
+
+    @Test
+    void testHandleValidRequest() throws JsonProcessingException {
+        final ApiRequest request = buildApiRequest(TestConstants.TEST_CONSENTS_PATH_PARAMS, buildValidRequestContentString());
+
+        final Map<String, Object> response = handler.handleRequest(request);
+        assertSuccessResponse(response);
+
+        final Object responseBody = getResponseBody(response);
+        assertTrue(responseBody instanceof String);
+
+        final BatchCreateServiceUserConsentsResponseContent parsedResponse = new JSON().getMapper()
+            .readValue((String) responseBody, BatchCreateServiceUserConsentsResponseContent.class);
+        assertEquals(2, parsedResponse.consentIds().size());
+    }
+
+    @Test
+    void testHandleRequestWhenConsentAlreadyExists() throws BadRequestException, ConflictingResourceException,
+            InternalServiceException, JsonProcessingException {
+        final ServiceUserConsentRepository mockRepository = mock(ServiceUserConsentRepository.class);
+        final String testExceptionMessage = "TestConflictException";
+        doThrow(new ConflictingResourceException(testExceptionMessage)).when(mockRepository).createServiceUserConsents(anyList());
+        final BatchCreateServiceUserConsentsRequestHandler mockRepositoryHandler = new BatchCreateServiceUserConsentsRequestHandler(
+            new BatchCreateServiceUserConsentsActivity(mockRepository));
+
+        final ApiRequest request = buildApiRequest(TestConstants.TEST_CONSENTS_PATH_PARAMS, buildValidRequestContentString());
+        final Map<String, Object> response = mockRepositoryHandler.handleRequest(request);
+        assertExceptionResponse(HttpStatusCode.CONFLICT, testExceptionMessage, response);
+    }
+
+    @Test
+    void testHandleRequestWithoutConsents() {
+        final ApiRequest request = buildApiRequest(TestConstants.TEST_CONSENTS_PATH_PARAMS, "{\"consents\":[]}");
+
+        final Map<String, Object> response = handler.handleRequest(request);
+        assertExceptionResponse(HttpStatusCode.BAD_REQUEST, BatchCreateServiceUserConsentsRequestValidator.MISSING_CONSENTS_MESSAGE,
+            response);
+    }
+
+    @Test
+    void testHandleRequestWithInvalidBody() {
+        final ApiRequest request = buildApiRequest(TestConstants.TEST_CONSENTS_PATH_PARAMS, "Invalid request body");
+
+        final Map<String, Object> response = handler.handleRequest(request);
+        assertExceptionResponse(HttpStatusCode.BAD_REQUEST, ApiRequestHandler.REQUEST_PARSE_FAILURE_MESSAGE, response);
+    }
+
+    @Test
+    protected void testHandleNullRequest() {
+        final Map<String, Object> response = handler.handleRequest(null);
+        assertMissingConsentsPathParametersResponse(response);
+    }
+
+    @Test
+    protected void testHandleRequestMissingPathParameters() throws JsonProcessingException {
+        final Map<String, String> incompletePathParameters = Map.of(
+            ApiPathParameterName.SERVICE_ID.getValue(), TestConstants.TEST_SERVICE_ID);
+        final ApiRequest request = buildApiRequest(incompletePathParameters, buildValidRequestContentString());
+
+        final Map<String, Object> response = handler.handleRequest(request);
+        assertMissingConsentsPathParametersResponse(response);
+    }
+
+    private String buildValidRequestContentString() throws JsonProcessingException {
+        final BatchCreateServiceUserConsentsRequestContent requestContent = new BatchCreateServiceUserConsentsRequestContent(List.of(
+            TestUtils.toCreateRequestContent(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS),
+            TestUtils.toCreateRequestContent(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS)));
+        return new JSON().getMapper().writeValueAsString(requestContent);
+    }
+
+    private ApiRequest buildApiRequest(final Map<String, String> pathParameters, final String body) {
+        return new ApiRequest(HttpMethod.POST.name(), ApiHttpResource.SERVICE_USER_CONSENTS_BATCH_CREATE.getValue(),
+            TEST_BATCH_CREATE_PATH, pathParameters, null, null, false, body);
+    }
+}
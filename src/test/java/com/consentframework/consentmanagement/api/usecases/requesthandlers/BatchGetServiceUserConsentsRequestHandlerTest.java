@@ -0,0 +1,120 @@
+package com.consentframework.consentmanagement.api.usecases.requesthandlers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.consentframework.consentmanagement.api.JSON;
+import com.consentframework.consentmanagement.api.domain.constants.ApiHttpResource;
+import com.consentframework.consentmanagement.api.domain.constants.ApiPathParameterName;
+import com.consentframework.consentmanagement.api.domain.entities.BatchGetServiceUserConsentsResponseContent;
+import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.domain.validators.BatchGetServiceUserConsentsRequestValidator;
+import com.consentframework.consentmanagement.api.infrastructure.repositories.InMemoryServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.consentmanagement.api.usecases.activities.BatchGetServiceUserConsentsActivity;
+import com.consentframework.shared.api.domain.constants.HttpMethod;
+import com.consentframework.shared.api.domain.constants.HttpStatusCode;
+import com.consentframework.shared.api.domain.entities.ApiRequest;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.ConflictingResourceException;
+import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
+import com.consentframework.shared.api.domain.requesthandlers.ApiRequestHandler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+class BatchGetServiceUserConsentsRequestHandlerTest extends RequestHandlerTest {
+    private static final String TEST_BATCH_GET_PATH = String.format("%s/batch-get", TestConstants.TEST_CONSENTS_PATH);
+    private static final String MISSING_CONSENT_ID = "MissingConsentId";
+
+    private BatchGetServiceUserConsentsRequestHandler handler;
+    private ServiceUserConsentRepository consentRepository;
+
+    @BeforeEach
+    void setup() {
+        this.consentRepository = new InMemoryServiceUserConsentRepository();
+        this.handler = new BatchGetServiceUserConsentsRequestHandler(new BatchGetServiceUserConsentsActivity(this.consentRepository));
+    }
+
+    @Test
+    void testHandleValidRequest() throws BadRequestException, ConflictingResourceException, InternalServiceException,
+            JsonProcessingException {
+        final Consent existingConsent = TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS;
+        consentRepository.createServiceUserConsent(existingConsent);
+
+        final ApiRequest request = buildApiRequest(TestConstants.TEST_CONSENTS_PATH_PARAMS,
+            String.format("{\"consentIds\":[\"%s\",\"%s\"]}", existingConsent.getConsentId(), MISSING_CONSENT_ID));
+        final Map<String, Object> response = handler.handleRequest(request);
+        assertSuccessResponse(response);
+
+        final Object responseBody = getResponseBody(response);
+        assertTrue(responseBody instanceof String);
+
+        final BatchGetServiceUserConsentsResponseContent parsedResponse = new JSON().getMapper()
+            .readValue((String) responseBody, BatchGetServiceUserConsentsResponseContent.class);
+        assertEquals(List.of(existingConsent), parsedResponse.data());
+        assertEquals(List.of(MISSING_CONSENT_ID), parsedResponse.missingConsentIds());
+    }
+
+    @Test
+    void testHandleRequestWithoutConsentIds() {
+        final ApiRequest request = buildApiRequest(TestConstants.TEST_CONSENTS_PATH_PARAMS, "{\"consentIds\":[]}");
+
+        final Map<String, Object> response = handler.handleRequest(request);
+        assertExceptionResponse(HttpStatusCode.BAD_REQUEST, BatchGetServiceUserConsentsRequestValidator.MISSING_CONSENT_IDS_MESSAGE,
+            response);
+    }
+
+    @Test
+    void testHandleRequestWithInvalidBody() {
+        final ApiRequest request = buildApiRequest(TestConstants.TEST_CONSENTS_PATH_PARAMS, "Invalid request body");
+
+        final Map<String, Object> response = handler.handleRequest(request);
+        assertExceptionResponse(HttpStatusCode.BAD_REQUEST, ApiRequestHandler.REQUEST_PARSE_FAILURE_MESSAGE, response);
+    }
+
+    @Test
+    void testHandleRequestWhenInternalServiceException() throws InternalServiceException {
+        final ServiceUserConsentRepository mockRepository = mock(ServiceUserConsentRepository.class);
+        final String testExceptionMessage = "TestInternalServiceException";
+        when(mockRepository.batchGetServiceUserConsents(eq(TestConstants.TEST_SERVICE_ID), eq(TestConstants.TEST_USER_ID), anyList()))
+            .thenThrow(new InternalServiceException(testExceptionMessage));
+        final BatchGetServiceUserConsentsRequestHandler mockRepositoryHandler = new BatchGetServiceUserConsentsRequestHandler(
+            new BatchGetServiceUserConsentsActivity(mockRepository));
+
+        final ApiRequest request = buildApiRequest(TestConstants.TEST_CONSENTS_PATH_PARAMS,
+            String.format("{\"consentIds\":[\"%s\"]}", TestConstants.TEST_CONSENT_ID));
+        final Map<String, Object> response = mockRepositoryHandler.handleRequest(request);
+        assertExceptionResponse(HttpStatusCode.INTERNAL_SERVER_ERROR, testExceptionMessage, response);
+    }
+
+    @Test
+    protected void testHandleNullRequest() {
+        final Map<String, Object> response = handler.handleRequest(null);
+        assertMissingConsentsPathParametersResponse(response);
+    }
+
+    @Test
+    protected void testHandleRequestMissingPathParameters() {
+        final Map<String, String> incompletePathParameters = Map.of(
+            ApiPathParameterName.SERVICE_ID.getValue(), TestConstants.TEST_SERVICE_ID);
+        final ApiRequest request = buildApiRequest(incompletePathParameters,
+            String.format("{\"consentIds\":[\"%s\"]}", TestConstants.TEST_CONSENT_ID));
+
+        final Map<String, Object> response = handler.handleRequest(request);
+        assertMissingConsentsPathParametersResponse(response);
+    }
+
+    private ApiRequest buildApiRequest(final Map<String, String> pathParameters, final String body) {
+        return new ApiRequest(HttpMethod.POST.name(), ApiHttpResource.SERVICE_USER_CONSENTS_BATCH_GET.getValue(), TEST_BATCH_GET_PATH,
+            pathParameters, null, null, false, body);
+    }
+}
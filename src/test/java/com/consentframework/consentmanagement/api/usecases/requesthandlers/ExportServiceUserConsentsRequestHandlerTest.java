@@ -0,0 +1,152 @@
+package com.consentframework.consentmanagement.api.usecases.requesthandlers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.consentframework.consentmanagement.api.JSON;
+import com.consentframework.consentmanagement.api.domain.constants.ApiHttpResource;
+import com.consentframework.consentmanagement.api.domain.constants.ApiPathParameterName;
+import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.infrastructure.repositories.InMemoryServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.consentmanagement.api.usecases.activities.ExportServiceUserConsentsActivity;
+import com.consentframework.consentmanagement.api.usecases.utils.ApiGatewayProxyResponseWriter;
+import com.consentframework.shared.api.domain.constants.HttpMethod;
+import com.consentframework.shared.api.domain.constants.HttpStatusCode;
+import com.consentframework.shared.api.domain.entities.ApiRequest;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.ConflictingResourceException;
+import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.stream.Stream;
+
+class ExportServiceUserConsentsRequestHandlerTest extends RequestHandlerTest {
+    private static final ObjectMapper OBJECT_MAPPER = new JSON().getMapper();
+
+    private ExportServiceUserConsentsRequestHandler handler;
+    private ServiceUserConsentRepository consentRepository;
+
+    @BeforeEach
+    void setup() {
+        this.consentRepository = new InMemoryServiceUserConsentRepository();
+        this.handler = new ExportServiceUserConsentsRequestHandler(new ExportServiceUserConsentsActivity(consentRepository));
+    }
+
+    @Test
+    protected void testHandleNullRequest() {
+        final Map<String, Object> response = handler.handleRequest(null);
+        assertMissingConsentsPathParametersResponse(response);
+    }
+
+    @Test
+    protected void testHandleRequestMissingPathParameters() {
+        final Map<String, String> incompletePathParameters = Map.of(
+            ApiPathParameterName.SERVICE_ID.getValue(), TestConstants.TEST_SERVICE_ID);
+
+        final Map<String, Object> response = handler.handleRequest(buildApiRequest(incompletePathParameters));
+        assertMissingConsentsPathParametersResponse(response);
+    }
+
+    @Test
+    void testHandleRequestWhenNoResults() {
+        final Map<String, Object> response = handler.handleRequest(buildApiRequest(TestConstants.TEST_CONSENTS_PATH_PARAMS));
+
+        assertSuccessResponse(response);
+        assertEquals("", getResponseBody(response));
+    }
+
+    @Test
+    void testHandleRequest() throws BadRequestException, ConflictingResourceException, InternalServiceException, IOException {
+        consentRepository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS);
+        consentRepository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS);
+
+        final Map<String, Object> response = handler.handleRequest(buildApiRequest(TestConstants.TEST_CONSENTS_PATH_PARAMS));
+
+        assertSuccessResponse(response);
+        assertEquals(buildExpectedBody(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS, TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS),
+            getResponseBody(response));
+    }
+
+    @Test
+    void testHandleRequestWritingToStream() throws BadRequestException, ConflictingResourceException, InternalServiceException,
+            IOException {
+        consentRepository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS);
+        final ApiRequest request = buildApiRequest(TestConstants.TEST_CONSENTS_PATH_PARAMS);
+
+        final Map<String, Object> streamedResponse = handleRequestWritingToStream(handler, request);
+
+        assertSuccessResponse(streamedResponse);
+        assertEquals(buildExpectedBody(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS), getResponseBody(streamedResponse));
+        assertEquals(getResponseBody(handler.handleRequest(request)), getResponseBody(streamedResponse));
+    }
+
+    @Test
+    void testHandleInvalidRequestWritingToStream() throws IOException {
+        final Map<String, Object> streamedResponse = handleRequestWritingToStream(handler, buildApiRequest(Map.of()));
+
+        assertMissingConsentsPathParametersResponse(streamedResponse);
+    }
+
+    @Test
+    void testHandleRequestWhenExportFails() throws BadRequestException, IOException {
+        final String testExceptionMessage = "TestInternalServiceException";
+        final ServiceUserConsentRepository mockRepository = mock(ServiceUserConsentRepository.class);
+        when(mockRepository.exportServiceUserConsents(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID))
+            .thenAnswer(invocation -> Stream.<Consent>generate(() -> {
+                throw new IllegalStateException(new InternalServiceException(testExceptionMessage));
+            }));
+        final ExportServiceUserConsentsRequestHandler mockRepositoryHandler = new ExportServiceUserConsentsRequestHandler(
+            new ExportServiceUserConsentsActivity(mockRepository));
+        final ApiRequest request = buildApiRequest(TestConstants.TEST_CONSENTS_PATH_PARAMS);
+
+        assertExceptionResponse(HttpStatusCode.INTERNAL_SERVER_ERROR, testExceptionMessage, mockRepositoryHandler.handleRequest(request));
+        assertExceptionResponse(HttpStatusCode.INTERNAL_SERVER_ERROR, testExceptionMessage,
+            handleRequestWritingToStream(mockRepositoryHandler, request));
+    }
+
+    @Test
+    void testHandleRequestWhenExportFailsWithUnexpectedCause() throws BadRequestException {
+        final ServiceUserConsentRepository mockRepository = mock(ServiceUserConsentRepository.class);
+        when(mockRepository.exportServiceUserConsents(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID))
+            .thenAnswer(invocation -> Stream.<Consent>generate(() -> {
+                throw new IllegalStateException("TestUnexpectedFailure");
+            }));
+        final ExportServiceUserConsentsRequestHandler mockRepositoryHandler = new ExportServiceUserConsentsRequestHandler(
+            new ExportServiceUserConsentsActivity(mockRepository));
+
+        final Map<String, Object> response = mockRepositoryHandler.handleRequest(buildApiRequest(TestConstants.TEST_CONSENTS_PATH_PARAMS));
+
+        final String expectedErrorMessage = String.format(ExportServiceUserConsentsRequestHandler.EXPORT_FAILURE_MESSAGE,
+            TestConstants.TEST_CONSENTS_PATH + "/export");
+        assertExceptionResponse(HttpStatusCode.INTERNAL_SERVER_ERROR, expectedErrorMessage, response);
+    }
+
+    private static String buildExpectedBody(final Consent... consents) throws IOException {
+        final StringBuilder expectedBody = new StringBuilder();
+        for (final Consent consent : consents) {
+            expectedBody.append(OBJECT_MAPPER.writeValueAsString(consent)).append('\n');
+        }
+        return expectedBody.toString();
+    }
+
+    private static Map<String, Object> handleRequestWritingToStream(final ExportServiceUserConsentsRequestHandler requestHandler,
+            final ApiRequest request) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        requestHandler.handleRequest(request, new ApiGatewayProxyResponseWriter(OBJECT_MAPPER), outputStream);
+        return OBJECT_MAPPER.readValue(outputStream.toByteArray(), new TypeReference<Map<String, Object>>() {});
+    }
+
+    private ApiRequest buildApiRequest(final Map<String, String> pathParameters) {
+        return new ApiRequest(HttpMethod.GET.name(), ApiHttpResource.SERVICE_USER_CONSENTS_EXPORT.getValue(),
+            TestConstants.TEST_CONSENTS_PATH + "/export", pathParameters, null, null, false, null);
+    }
+}
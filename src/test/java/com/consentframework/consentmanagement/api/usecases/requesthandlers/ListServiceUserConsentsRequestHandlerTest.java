@@ -8,12 +8,15 @@ import com.consentframework.consentmanagement.api.domain.constants.ApiHttpResour
 import com.consentframework.consentmanagement.api.domain.constants.ApiPathParameterName;
 import com.consentframework.consentmanagement.api.domain.constants.ApiQueryStringParameterName;
 import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.domain.validators.ServiceUserConsentFilterValidator;
 import com.consentframework.consentmanagement.api.infrastructure.repositories.InMemoryServiceUserConsentRepository;
 import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
 import com.consentframework.consentmanagement.api.models.ListServiceUserConsentResponseContent;
 import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
 import com.consentframework.consentmanagement.api.testcommon.utils.TestUtils;
 import com.consentframework.consentmanagement.api.usecases.activities.ListServiceUserConsentsActivity;
+import com.consentframework.consentmanagement.api.usecases.utils.ApiGatewayProxyResponseWriter;
 import com.consentframework.shared.api.domain.constants.HttpMethod;
 import com.consentframework.shared.api.domain.constants.HttpStatusCode;
 import com.consentframework.shared.api.domain.entities.ApiRequest;
@@ -22,9 +25,13 @@ import com.consentframework.shared.api.domain.exceptions.ConflictingResourceExce
 import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
 import com.consentframework.shared.api.domain.parsers.ApiQueryStringParameterParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -118,6 +125,83 @@ class ListServiceUserConsentsRequestHandlerTest extends RequestHandlerTest {
         assertSuccessResponse(secondResponse, List.of(fourthConsent), null);
     }
 
+    @Test
+    void testHandleRequestWithStatusAndConsentTypeFilters() throws BadRequestException, ConflictingResourceException,
+            InternalServiceException, JsonProcessingException {
+        final Consent activeConsent = TestConstants.TEST_CONSENT_WITH_ALL_FIELDS;
+        final Consent revokedConsent = TestUtils.clone(activeConsent).consentId("SecondConsentId").status(ConsentStatus.REVOKED);
+        final Consent otherTypeConsent = TestUtils.clone(activeConsent).consentId("ThirdConsentId").consentType("OtherConsentType");
+        for (final Consent consent : List.of(activeConsent, revokedConsent, otherTypeConsent)) {
+            consentRepository.createServiceUserConsent(consent);
+        }
+
+        final Map<String, Object> revokedResponse = handler.handleRequest(buildApiRequest(TestConstants.TEST_CONSENTS_PATH_PARAMS, Map.of(
+            ApiQueryStringParameterName.LIMIT.getValue(), 10,
+            ApiQueryStringParameterName.STATUS.getValue(), ConsentStatus.REVOKED.getValue()
+        )));
+        assertSuccessResponse(revokedResponse, List.of(revokedConsent), null);
+
+        final Map<String, Object> activeTypeResponse = handler.handleRequest(buildApiRequest(TestConstants.TEST_CONSENTS_PATH_PARAMS,
+            Map.of(
+                ApiQueryStringParameterName.LIMIT.getValue(), 10,
+                ApiQueryStringParameterName.STATUS.getValue(), ConsentStatus.ACTIVE.getValue(),
+                ApiQueryStringParameterName.CONSENT_TYPE.getValue(), "OtherConsentType"
+            )));
+        assertSuccessResponse(activeTypeResponse, List.of(otherTypeConsent), null);
+    }
+
+    @Test
+    void testHandleRequestWithInvalidStatusFilter() {
+        final ApiRequest request = buildApiRequest(TestConstants.TEST_CONSENTS_PATH_PARAMS, Map.of(
+            ApiQueryStringParameterName.STATUS.getValue(), "InvalidStatus"));
+
+        final Map<String, Object> response = handler.handleRequest(request);
+        final String expectedErrorMessage = String.format(ListServiceUserConsentsRequestHandler.INVALID_STATUS_MESSAGE, "InvalidStatus");
+        assertExceptionResponse(HttpStatusCode.BAD_REQUEST, expectedErrorMessage, response);
+    }
+
+    @Test
+    void testHandleRequestWithConsentTypeFilterWithoutStatus() {
+        final ApiRequest request = buildApiRequest(TestConstants.TEST_CONSENTS_PATH_PARAMS, Map.of(
+            ApiQueryStringParameterName.CONSENT_TYPE.getValue(), TestConstants.TEST_CONSENT_TYPE));
+
+        final Map<String, Object> response = handler.handleRequest(request);
+        assertExceptionResponse(HttpStatusCode.BAD_REQUEST, ServiceUserConsentFilterValidator.CONSENT_TYPE_WITHOUT_STATUS_MESSAGE,
+            response);
+    }
+
+    @Test
+    void testHandleRequestWritingToStream() throws BadRequestException, ConflictingResourceException, InternalServiceException,
+            IOException {
+        consentRepository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS);
+        final ApiRequest request = buildApiRequest(TestConstants.TEST_CONSENTS_PATH_PARAMS,
+            TestConstants.TEST_PAGINATION_QUERY_PARAMETERS);
+
+        final Map<String, Object> streamedResponse = handleRequestWritingToStream(request);
+
+        assertSuccessResponse(streamedResponse, List.of(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS), null);
+        assertEquals(getResponseBody(handler.handleRequest(request)), getResponseBody(streamedResponse));
+    }
+
+    @Test
+    void testHandleInvalidRequestWritingToStream() throws IOException {
+        final ApiRequest request = buildApiRequest(TestConstants.TEST_CONSENTS_PATH_PARAMS, Map.of(
+            ApiQueryStringParameterName.PAGE_TOKEN.getValue(), "InvalidPageToken"));
+
+        final Map<String, Object> streamedResponse = handleRequestWritingToStream(request);
+
+        final String expectedErrorMessage = String.format(InMemoryServiceUserConsentRepository.INVALID_PAGE_TOKEN_MESSAGE,
+            "InvalidPageToken");
+        assertExceptionResponse(HttpStatusCode.BAD_REQUEST, expectedErrorMessage, streamedResponse);
+    }
+
+    private Map<String, Object> handleRequestWritingToStream(final ApiRequest request) throws IOException {
+        final ObjectMapper objectMapper = new JSON().getMapper();
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        handler.handleRequest(request, new ApiGatewayProxyResponseWriter(objectMapper), outputStream);
+        return objectMapper.readValue(outputStream.toByteArray(), new TypeReference<Map<String, Object>>() {});
+    }
+
     private void assertSuccessResponse(final Map<String, Object> response, final List<Consent> expectedConsents,
             final String expectedNextPageToken) throws JsonProcessingException {
         super.assertSuccessResponse(response);
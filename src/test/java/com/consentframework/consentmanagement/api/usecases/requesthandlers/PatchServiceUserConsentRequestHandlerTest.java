@@ -0,0 +1,135 @@
+package com.consentframework.consentmanagement.api.usecases.requesthandlers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.consentframework.consentmanagement.api.JSON;
+import com.consentframework.consentmanagement.api.domain.constants.ApiHttpResource;
+import com.consentframework.consentmanagement.api.domain.constants.ApiPathParameterName;
+import com.consentframework.consentmanagement.api.domain.repositories.ServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.domain.validators.ConsentValidator;
+import com.consentframework.consentmanagement.api.domain.validators.ServiceUserConsentPatchValidator;
+import com.consentframework.consentmanagement.api.infrastructure.repositories.InMemoryServiceUserConsentRepository;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.consentmanagement.api.testcommon.utils.TestUtils;
+import com.consentframework.consentmanagement.api.usecases.activities.PatchServiceUserConsentActivity;
+import com.consentframework.consentmanagement.api.usecases.utils.ServiceUserConsentPatchParser;
+import com.consentframework.shared.api.domain.constants.HttpStatusCode;
+import com.consentframework.shared.api.domain.entities.ApiRequest;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.consentframework.shared.api.domain.exceptions.ConflictingResourceException;
+import com.consentframework.shared.api.domain.exceptions.InternalServiceException;
+import com.consentframework.shared.api.domain.exceptions.ResourceNotFoundException;
+import com.consentframework.shared.api.domain.requesthandlers.ApiRequestHandler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+class PatchServiceUserConsentRequestHandlerTest extends RequestHandlerTest {
+    private static final String REVOKE_PATCH_CONTENT = "{\"consentVersion\":2,\"status\":\"REVOKED\",\"expiryTime\":null}";
+
+    private PatchServiceUserConsentRequestHandler handler;
+    private ServiceUserConsentRepository consentRepository;
+
+    @BeforeEach
+    void setup() {
+        this.consentRepository = new InMemoryServiceUserConsentRepository();
+        this.handler = new PatchServiceUserConsentRequestHandler(new PatchServiceUserConsentActivity(consentRepository));
+    }
+
+    @Test
+    protected void testHandleNullRequest() {
+        final Map<String, Object> response = handler.handleRequest(null);
+        assertMissingConsentPathParametersResponse(response);
+    }
+
+    @Test
+    protected void testHandleRequestMissingPathParameters() {
+        final Map<String, String> incompletePathParameters = Map.of(
+            ApiPathParameterName.SERVICE_ID.getValue(), TestConstants.TEST_SERVICE_ID,
+            ApiPathParameterName.USER_ID.getValue(), TestConstants.TEST_USER_ID);
+        final ApiRequest request = buildApiRequest(incompletePathParameters, REVOKE_PATCH_CONTENT);
+
+        final Map<String, Object> response = handler.handleRequest(request);
+        assertMissingConsentPathParametersResponse(response);
+    }
+
+    @Test
+    void testHandleRequestWithInvalidJson() {
+        final ApiRequest request = buildApiRequest(TestConstants.TEST_CONSENT_PATH_PARAMS, "{\"consentVersion\":");
+        final Map<String, Object> response = handler.handleRequest(request);
+        assertExceptionResponse(HttpStatusCode.BAD_REQUEST, ApiRequestHandler.REQUEST_PARSE_FAILURE_MESSAGE, response);
+    }
+
+    @Test
+    void testHandleRequestWithoutBody() {
+        final ApiRequest request = buildApiRequest(TestConstants.TEST_CONSENT_PATH_PARAMS, null);
+        final Map<String, Object> response = handler.handleRequest(request);
+        assertExceptionResponse(HttpStatusCode.BAD_REQUEST, ServiceUserConsentPatchParser.CONTENT_NOT_OBJECT_MESSAGE, response);
+    }
+
+    @Test
+    void testHandleRequestForNonExistingConsent() {
+        final ApiRequest request = buildApiRequest(TestConstants.TEST_CONSENT_PATH_PARAMS, REVOKE_PATCH_CONTENT);
+        final Map<String, Object> response = handler.handleRequest(request);
+        final String expectedErrorMessage = String.format(ServiceUserConsentRepository.CONSENT_NOT_FOUND_MESSAGE,
+            TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID);
+        assertExceptionResponse(HttpStatusCode.NOT_FOUND, expectedErrorMessage, response);
+    }
+
+    @Test
+    void testHandleRequestReactivatingExpiredConsent() throws BadRequestException, ConflictingResourceException,
+            InternalServiceException, ResourceNotFoundException {
+        final Consent expiredConsent = TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS)
+            .status(ConsentStatus.EXPIRED)
+            .expiryTime(OffsetDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+        consentRepository.createServiceUserConsent(expiredConsent);
+
+        final ApiRequest request = buildApiRequest(TestConstants.TEST_CONSENT_PATH_PARAMS, "{\"consentVersion\":2,\"status\":\"ACTIVE\"}");
+        final Map<String, Object> response = handler.handleRequest(request);
+        assertExceptionResponse(HttpStatusCode.BAD_REQUEST, ServiceUserConsentPatchValidator.EXPIRY_TIME_PAST_MESSAGE, response);
+
+        final Consent storedConsent = consentRepository.getServiceUserConsent(TestConstants.TEST_SERVICE_ID,
+            TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID);
+        assertEquals(expiredConsent, storedConsent);
+    }
+
+    @Test
+    void testHandleRequestWithBlankConsentType() {
+        final ApiRequest request = buildApiRequest(TestConstants.TEST_CONSENT_PATH_PARAMS, "{\"consentVersion\":2,\"consentType\":\" \"}");
+        final Map<String, Object> response = handler.handleRequest(request);
+        assertExceptionResponse(HttpStatusCode.BAD_REQUEST, ConsentValidator.CONSENT_TYPE_BLANK_MESSAGE, response);
+    }
+
+    @Test
+    void testHandleValidRequest() throws BadRequestException, ConflictingResourceException, InternalServiceException,
+            JsonProcessingException, ResourceNotFoundException {
+        consentRepository.createServiceUserConsent(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS);
+
+        final ApiRequest request = buildApiRequest(TestConstants.TEST_CONSENT_PATH_PARAMS, REVOKE_PATCH_CONTENT);
+        final Map<String, Object> response = handler.handleRequest(request);
+        assertSuccessResponse(response);
+
+        final Consent storedConsent = consentRepository.getServiceUserConsent(TestConstants.TEST_SERVICE_ID,
+            TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID);
+        assertEquals(2, storedConsent.getConsentVersion());
+        assertEquals(ConsentStatus.REVOKED, storedConsent.getStatus());
+        assertEquals(TestConstants.TEST_CONSENT_TYPE, storedConsent.getConsentType());
+        assertEquals(TestConstants.TEST_CONSENT_DATA_MAP, storedConsent.getConsentData());
+        assertNull(storedConsent.getExpiryTime());
+
+        final Consent responseConsent = new JSON().getMapper().readValue((String) getResponseBody(response), Consent.class);
+        assertEquals(storedConsent, responseConsent);
+    }
+
+    private ApiRequest buildApiRequest(final Map<String, String> pathParameters, final String body) {
+        return new ApiRequest("PATCH", ApiHttpResource.SERVICE_USER_CONSENT.getValue(), TestConstants.TEST_CONSENT_PATH,
+            pathParameters, null, null, false, body);
+    }
+}
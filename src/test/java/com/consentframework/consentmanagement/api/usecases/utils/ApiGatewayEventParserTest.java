@@ -0,0 +1,142 @@
+package com.consentframework.consentmanagement.api.usecases.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.consentframework.consentmanagement.api.JSON;
+import com.consentframework.consentmanagement.api.domain.constants.ApiHttpResource;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.shared.api.domain.constants.HttpMethod;
+import com.consentframework.shared.api.domain.entities.ApiRequest;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class ApiGatewayEventParserTest {
+    private static final String TEST_BODY = "{\"consentType\":\"quoted \\\"type\\\" \u00e9\"}";
+
+    private final ObjectMapper objectMapper = new JSON().getMapper();
+    private final ApiGatewayEventParser parser = new ApiGatewayEventParser(objectMapper.getFactory());
+
+    @Test
+    void testParse() throws IOException {
+        final Map<String, Object> event = buildEvent(TEST_BODY);
+        event.put(ApiGatewayEventParser.QUERY_STRING_PARAMETERS, Map.of("limit", 2, "pageToken", "TestPageToken"));
+
+        final ApiGatewayEventParser.Event parsedEvent = parser.parse(toInputStream(event));
+
+        final ApiRequest request = parsedEvent.request();
+        assertEquals(HttpMethod.POST.name(), request.httpMethod());
+        assertEquals(ApiHttpResource.SERVICE_USER_CONSENTS.getValue(), request.resource());
+        assertEquals(TestConstants.TEST_CONSENTS_PATH, request.path());
+        assertEquals(TestConstants.TEST_CONSENTS_PATH_PARAMS, request.pathParameters());
+        assertEquals(Map.of("limit", 2, "pageToken", "TestPageToken"), request.queryStringParameters());
+        assertNull(request.body());
+        assertEquals(objectMapper.readTree(TEST_BODY), parsedEvent.body().readValue(ConsentManagementApiCodecs.JSON_NODE_READER));
+    }
+
+    @Test
+    void testParseWithoutOptionalFields() throws IOException {
+        final Map<String, Object> event = buildEvent(null);
+        event.put(ApiGatewayEventParser.PATH_PARAMETERS, null);
+
+        final ApiGatewayEventParser.Event parsedEvent = parser.parse(toInputStream(event));
+
+        assertNull(parsedEvent.request().pathParameters());
+        assertNull(parsedEvent.request().queryStringParameters());
+        assertTrue(parsedEvent.body().isEmpty());
+    }
+
+    @Test
+    void testParseBase64EncodedBody() throws IOException {
+        final Map<String, Object> event = buildEvent(Base64.getEncoder().encodeToString(TEST_BODY.getBytes(StandardCharsets.UTF_8)));
+        event.put(ApiGatewayEventParser.IS_BASE64_ENCODED, true);
+
+        final ApiGatewayEventParser.Event parsedEvent = parser.parse(toInputStream(event));
+
+        assertEquals(objectMapper.readTree(TEST_BODY), parsedEvent.body().readValue(ConsentManagementApiCodecs.JSON_NODE_READER));
+    }
+
+    @Test
+    void testParseInvalidBase64EncodedBody() throws IOException {
+        final Map<String, Object> event = buildEvent("not base64!");
+        event.put(ApiGatewayEventParser.IS_BASE64_ENCODED, true);
+        final InputStream inputStream = toInputStream(event);
+
+        final JsonParseException exception = assertThrows(JsonParseException.class, () -> parser.parse(inputStream));
+        assertEquals(ApiGatewayEventParser.INVALID_BASE64_BODY_MESSAGE, exception.getOriginalMessage());
+    }
+
+    @Test
+    void testParseWhenEventNotObject() {
+        final InputStream inputStream = new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8));
+
+        final JsonParseException exception = assertThrows(JsonParseException.class, () -> parser.parse(inputStream));
+        assertEquals(ApiGatewayEventParser.EVENT_NOT_OBJECT_MESSAGE, exception.getOriginalMessage());
+    }
+
+    @Test
+    void testParseWhenParametersNotObject() throws IOException {
+        final Map<String, Object> event = buildEvent(null);
+        event.put(ApiGatewayEventParser.PATH_PARAMETERS, List.of(TestConstants.TEST_SERVICE_ID));
+        final InputStream inputStream = toInputStream(event);
+
+        final JsonParseException exception = assertThrows(JsonParseException.class, () -> parser.parse(inputStream));
+        assertEquals(String.format(ApiGatewayEventParser.FIELD_NOT_OBJECT_MESSAGE, ApiGatewayEventParser.PATH_PARAMETERS),
+            exception.getOriginalMessage());
+    }
+
+    @Test
+    void testParseLeavesInputStreamOpen() throws IOException {
+        final TrackingInputStream inputStream = new TrackingInputStream(objectMapper.writeValueAsBytes(buildEvent(null)));
+
+        parser.parse(inputStream);
+
+        assertFalse(inputStream.closed);
+    }
+
+    private Map<String, Object> buildEvent(final String body) {
+        final Map<String, Object> event = new HashMap<String, Object>();
+        event.put(ApiGatewayEventParser.RESOURCE, ApiHttpResource.SERVICE_USER_CONSENTS.getValue());
+        event.put(ApiGatewayEventParser.PATH, TestConstants.TEST_CONSENTS_PATH);
+        event.put(ApiGatewayEventParser.HTTP_METHOD, HttpMethod.POST.name());
+        event.put("headers", Map.of("Content-Type", "application/json"));
+        event.put("multiValueQueryStringParameters", Map.of("limit", List.of("2")));
+        event.put("requestContext", Map.of("stage", "test", "identity", Map.of("sourceIp", "127.0.0.1")));
+        event.put(ApiGatewayEventParser.PATH_PARAMETERS, TestConstants.TEST_CONSENTS_PATH_PARAMS);
+        event.put(ApiGatewayEventParser.QUERY_STRING_PARAMETERS, null);
+        event.put(ApiGatewayEventParser.BODY, body);
+        event.put(ApiGatewayEventParser.IS_BASE64_ENCODED, false);
+        return event;
+    }
+
+    private InputStream toInputStream(final Map<String, Object> event) throws IOException {
+        return new ByteArrayInputStream(objectMapper.writeValueAsBytes(event));
+    }
+
+    private static final class TrackingInputStream extends ByteArrayInputStream {
+        private boolean closed;
+
+        TrackingInputStream(final byte[] bytes) {
+            super(bytes);
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+}
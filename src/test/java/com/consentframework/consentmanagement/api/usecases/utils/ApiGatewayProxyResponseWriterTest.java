@@ -0,0 +1,133 @@
+package com.consentframework.consentmanagement.api.usecases.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.consentframework.consentmanagement.api.JSON;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.ListServiceUserConsentResponseContent;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.consentmanagement.api.testcommon.utils.TestUtils;
+import com.consentframework.shared.api.domain.constants.ApiResponseParameterName;
+import com.consentframework.shared.api.domain.constants.HttpStatusCode;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class ApiGatewayProxyResponseWriterTest {
+    private final ObjectMapper objectMapper = new JSON().getMapper();
+    private final ApiGatewayProxyResponseWriter writer = new ApiGatewayProxyResponseWriter(objectMapper);
+
+    @Test
+    void testWriteSuccessResponse() throws IOException {
+        final Consent consent = TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS)
+            .consentData(Map.of("quoted \"key\"", "line\nbreak \u00e9\u4e2d\ud83d\ude00"));
+        final ListServiceUserConsentResponseContent content = new ListServiceUserConsentResponseContent().data(List.of(consent));
+
+        final Map<String, Object> response = writeSuccessResponse(content);
+
+        assertEquals(HttpStatusCode.SUCCESS.getValue(), response.get(ApiResponseParameterName.STATUS_CODE.getValue()));
+        assertEquals(objectMapper.writeValueAsString(content), response.get(ApiResponseParameterName.BODY.getValue()));
+    }
+
+    @Test
+    void testWriteSuccessResponseWithoutContent() throws IOException {
+        final Map<String, Object> response = writeSuccessResponse(null);
+
+        assertEquals(HttpStatusCode.SUCCESS.getValue(), response.get(ApiResponseParameterName.STATUS_CODE.getValue()));
+        assertNull(response.get(ApiResponseParameterName.BODY.getValue()));
+    }
+
+    @Test
+    void testWriteSuccessResponseReusesBufferAcrossResponses() throws IOException {
+        final Map<String, String> largeConsentData = new HashMap<String, String>();
+        for (int i = 0; i < 20_000; i++) {
+            largeConsentData.put("Key" + i, "Value" + i);
+        }
+        final Consent largeConsent = TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS).consentData(largeConsentData);
+
+        writeSuccessResponse(largeConsent);
+        final Map<String, Object> response = writeSuccessResponse(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS);
+
+        assertEquals(objectMapper.writeValueAsString(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS),
+            response.get(ApiResponseParameterName.BODY.getValue()));
+    }
+
+    @Test
+    void testWriteSuccessResponseWhenContentNotSerializable() {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        assertThrows(JsonMappingException.class, () -> writer.writeSuccessResponse(new UnserializableContent(), outputStream));
+        assertEquals(0, outputStream.size());
+    }
+
+    @Test
+    void testWriteNdjsonSuccessResponse() throws IOException {
+        final Consent unicodeConsent = TestUtils.clone(TestConstants.TEST_CONSENT_WITH_ALL_FIELDS)
+            .consentData(Map.of("quoted \"key\"", "line\nbreak \u00e9\u4e2d\ud83d\ude00"));
+        final List<Consent> consents = List.of(unicodeConsent, TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS);
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        writer.writeNdjsonSuccessResponse(consents.iterator(), objectMapper.writerFor(Consent.class), outputStream);
+
+        final Map<String, Object> response = parseResponse(outputStream);
+        assertEquals(HttpStatusCode.SUCCESS.getValue(), response.get(ApiResponseParameterName.STATUS_CODE.getValue()));
+        assertEquals(Map.of(ApiGatewayProxyResponseWriter.CONTENT_TYPE_HEADER, ApiGatewayProxyResponseWriter.NDJSON_CONTENT_TYPE),
+            response.get(ApiGatewayProxyResponseWriter.HEADERS));
+        final String expectedBody = objectMapper.writeValueAsString(unicodeConsent) + "\n"
+            + objectMapper.writeValueAsString(TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS) + "\n";
+        assertEquals(expectedBody, response.get(ApiResponseParameterName.BODY.getValue()));
+    }
+
+    @Test
+    void testWriteNdjsonSuccessResponseWithoutItems() throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        writer.writeNdjsonSuccessResponse(List.of().iterator(), objectMapper.writer(), outputStream);
+
+        assertEquals("", parseResponse(outputStream).get(ApiResponseParameterName.BODY.getValue()));
+    }
+
+    @Test
+    void testWriteResponse() throws IOException {
+        final Map<String, Object> errorResponse = Map.of(
+            ApiResponseParameterName.STATUS_CODE.getValue(), HttpStatusCode.BAD_REQUEST.getValue(),
+            ApiResponseParameterName.BODY.getValue(), "{\"message\":\"TestErrorMessage\"}");
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        writer.writeResponse(errorResponse, outputStream);
+
+        assertEquals(errorResponse, parseResponse(outputStream));
+    }
+
+    private Map<String, Object> writeSuccessResponse(final Object content) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writer.writeSuccessResponse(content, outputStream);
+        return parseResponse(outputStream);
+    }
+
+    /**
+     * Response content whose serialization fails partway through.
+     */
+    private static final class UnserializableContent {
+        public String getFirstField() {
+            return "FirstValue";
+        }
+
+        public String getSecondField() {
+            throw new IllegalStateException("TestSerializationFailure");
+        }
+    }
+
+    private Map<String, Object> parseResponse(final ByteArrayOutputStream outputStream) throws IOException {
+        return objectMapper.readValue(outputStream.toByteArray(), new TypeReference<Map<String, Object>>() {});
+    }
+}
@@ -0,0 +1,46 @@
+package com.consentframework.consentmanagement.api.usecases.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.consentframework.consentmanagement.api.domain.constants.ApiHttpResource;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.shared.api.domain.constants.HttpMethod;
+import com.consentframework.shared.api.domain.entities.ApiRequest;
+import org.junit.jupiter.api.Test;
+
+class ApiRequestLogFormatterTest {
+    private static final String TEST_BODY = "{\"consentData\":{\"secret\":\"value\"}}";
+
+    @Test
+    void testFormatRedactsBody() {
+        final ApiRequest request = new ApiRequest(HttpMethod.POST.name(), ApiHttpResource.SERVICE_USER_CONSENTS.getValue(),
+            TestConstants.TEST_CONSENTS_PATH, TestConstants.TEST_CONSENTS_PATH_PARAMS, null,
+            null, false, TEST_BODY);
+
+        final String formattedRequest = ApiRequestLogFormatter.format(request);
+
+        assertTrue(formattedRequest.contains(TestConstants.TEST_CONSENTS_PATH));
+        assertTrue(formattedRequest.contains(TestConstants.TEST_SERVICE_ID));
+        assertTrue(formattedRequest.contains(String.format(ApiRequestLogFormatter.REDACTED_BODY_FORMAT, TEST_BODY.length())));
+        assertFalse(formattedRequest.contains("secret"));
+    }
+
+    @Test
+    void testFormatWithoutBody() {
+        final ApiRequest request = new ApiRequest(HttpMethod.GET.name(), ApiHttpResource.SERVICE_USER_CONSENTS.getValue(),
+            TestConstants.TEST_CONSENTS_PATH, TestConstants.TEST_CONSENTS_PATH_PARAMS, TestConstants.TEST_PAGINATION_QUERY_PARAMETERS,
+            null, false, null);
+
+        final String formattedRequest = ApiRequestLogFormatter.format(request);
+
+        assertTrue(formattedRequest.endsWith("body=null]"));
+        assertTrue(formattedRequest.contains(TestConstants.TEST_PAGINATION_QUERY_PARAMETERS.toString()));
+    }
+
+    @Test
+    void testFormatNullRequest() {
+        assertEquals("null", ApiRequestLogFormatter.format(null));
+    }
+}
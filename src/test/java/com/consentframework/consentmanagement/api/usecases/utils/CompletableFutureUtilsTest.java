@@ -0,0 +1,37 @@
+package com.consentframework.consentmanagement.api.usecases.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+class CompletableFutureUtilsTest {
+    private static final IllegalStateException TEST_EXCEPTION = new IllegalStateException("TestException");
+
+    @Test
+    void testUnwrapUnwrappedException() {
+        assertSame(TEST_EXCEPTION, CompletableFutureUtils.unwrap(TEST_EXCEPTION));
+    }
+
+    @Test
+    void testUnwrapNestedWrappers() {
+        final Throwable wrappedException = new CompletionException(new ExecutionException(new CompletionException(TEST_EXCEPTION)));
+        assertSame(TEST_EXCEPTION, CompletableFutureUtils.unwrap(wrappedException));
+    }
+
+    @Test
+    void testUnwrapWrapperWithoutCause() {
+        final CompletionException wrapperWithoutCause = new CompletionException("TestMessage", null);
+        assertSame(wrapperWithoutCause, CompletableFutureUtils.unwrap(wrapperWithoutCause));
+    }
+
+    @Test
+    void testWrapAddsSingleWrapper() {
+        final CompletionException wrappedException = CompletableFutureUtils.wrap(new CompletionException(TEST_EXCEPTION));
+        assertSame(TEST_EXCEPTION, wrappedException.getCause());
+        assertEquals(CompletionException.class, wrappedException.getClass());
+    }
+}
@@ -0,0 +1,37 @@
+package com.consentframework.consentmanagement.api.usecases.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+class ConsentIdGeneratorTest {
+    @Test
+    void testNextConsentIdIsRandomUuid() {
+        final UUID consentId = UUID.fromString(ConsentIdGenerator.nextConsentId());
+        assertEquals(4, consentId.version());
+        assertEquals(2, consentId.variant());
+    }
+
+    @Test
+    void testNextConsentIdIsUnique() {
+        final Set<String> consentIds = new HashSet<String>();
+        for (int i = 0; i < 1000; i++) {
+            consentIds.add(ConsentIdGenerator.nextConsentId());
+        }
+        assertEquals(1000, consentIds.size());
+    }
+
+    @Test
+    void testReseed() {
+        final String consentIdBeforeReseed = ConsentIdGenerator.nextConsentId();
+        ConsentIdGenerator.reseed();
+        final String consentIdAfterReseed = ConsentIdGenerator.nextConsentId();
+        assertNotEquals(consentIdBeforeReseed, consentIdAfterReseed);
+        assertEquals(4, UUID.fromString(consentIdAfterReseed).version());
+    }
+}
@@ -0,0 +1,58 @@
+package com.consentframework.consentmanagement.api.usecases.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.consentframework.consentmanagement.api.JSON;
+import com.consentframework.consentmanagement.api.models.Consent;
+import com.consentframework.consentmanagement.api.models.CreateServiceUserConsentRequestContent;
+import com.consentframework.consentmanagement.api.models.CreateServiceUserConsentResponseContent;
+import com.consentframework.consentmanagement.api.models.GetServiceUserConsentResponseContent;
+import com.consentframework.consentmanagement.api.models.ListServiceUserConsentResponseContent;
+import com.consentframework.consentmanagement.api.models.UpdateServiceUserConsentRequestContent;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.consentmanagement.api.testcommon.utils.TestUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class ConsentManagementApiCodecsTest {
+    private final ObjectMapper objectMapper = new JSON().getMapper();
+
+    @Test
+    void testWritersMatchModelMapper() throws JsonProcessingException {
+        final Consent consent = TestConstants.TEST_CONSENT_WITH_ALL_FIELDS;
+        final CreateServiceUserConsentResponseContent createResponseContent = new CreateServiceUserConsentResponseContent()
+            .consentId(TestConstants.TEST_CONSENT_ID);
+        final GetServiceUserConsentResponseContent getResponseContent = new GetServiceUserConsentResponseContent().data(consent);
+        final ListServiceUserConsentResponseContent listResponseContent = new ListServiceUserConsentResponseContent()
+            .data(List.of(consent, TestConstants.TEST_CONSENT_WITH_ONLY_REQUIRED_FIELDS))
+            .nextPageToken(TestConstants.TEST_PAGE_TOKEN);
+
+        assertEquals(objectMapper.writeValueAsString(createResponseContent),
+            ConsentManagementApiCodecs.CREATE_RESPONSE_CONTENT_WRITER.writeValueAsString(createResponseContent));
+        assertEquals(objectMapper.writeValueAsString(getResponseContent),
+            ConsentManagementApiCodecs.GET_RESPONSE_CONTENT_WRITER.writeValueAsString(getResponseContent));
+        assertEquals(objectMapper.writeValueAsString(listResponseContent),
+            ConsentManagementApiCodecs.LIST_RESPONSE_CONTENT_WRITER.writeValueAsString(listResponseContent));
+        assertEquals(objectMapper.writeValueAsString(consent), ConsentManagementApiCodecs.CONSENT_WRITER.writeValueAsString(consent));
+        assertEquals(objectMapper.writeValueAsString(consent), ConsentManagementApiCodecs.OBJECT_WRITER.writeValueAsString(consent));
+    }
+
+    @Test
+    void testReadersMatchModelMapper() throws JsonProcessingException {
+        final Consent consent = TestConstants.TEST_CONSENT_WITH_ALL_FIELDS;
+        final String createRequestContentString = TestUtils.toCreateRequestContentString(consent);
+        final String updateRequestContentString = TestUtils.toUpdateRequestContentString(consent);
+        final String consentString = objectMapper.writeValueAsString(consent);
+
+        assertEquals(objectMapper.readValue(createRequestContentString, CreateServiceUserConsentRequestContent.class),
+            ConsentManagementApiCodecs.CREATE_REQUEST_CONTENT_READER.readValue(createRequestContentString));
+        assertEquals(objectMapper.readValue(updateRequestContentString, UpdateServiceUserConsentRequestContent.class),
+            ConsentManagementApiCodecs.UPDATE_REQUEST_CONTENT_READER.readValue(updateRequestContentString));
+        assertEquals(objectMapper.readValue(consentString, Consent.class),
+            ConsentManagementApiCodecs.CONSENT_READER.readValue(consentString));
+        assertEquals(objectMapper.readTree(consentString), ConsentManagementApiCodecs.JSON_NODE_READER.readValue(consentString));
+    }
+}
@@ -0,0 +1,93 @@
+package com.consentframework.consentmanagement.api.usecases.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.consentframework.consentmanagement.api.JSON;
+import com.consentframework.consentmanagement.api.domain.entities.ServiceUserConsentPatch;
+import com.consentframework.consentmanagement.api.models.ConsentStatus;
+import com.consentframework.consentmanagement.api.testcommon.constants.TestConstants;
+import com.consentframework.shared.api.domain.exceptions.BadRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+class ServiceUserConsentPatchParserTest {
+    private static final ObjectMapper objectMapper = new JSON().getMapper();
+
+    @Test
+    void testParseAbsentFieldsAsUnchanged() throws BadRequestException, JsonProcessingException {
+        final ServiceUserConsentPatch patch = parse("{\"consentVersion\":2}");
+
+        assertEquals(new ServiceUserConsentPatch(TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID, TestConstants.TEST_CONSENT_ID,
+            2, null, null, null, null), patch);
+    }
+
+    @Test
+    void testParseNullFieldsAsRemoved() throws BadRequestException, JsonProcessingException {
+        final ServiceUserConsentPatch patch = parse(
+            "{\"consentVersion\":2,\"consentType\":null,\"consentData\":null,\"expiryTime\":null}");
+
+        assertEquals(Optional.empty(), patch.consentType());
+        assertEquals(Optional.empty(), patch.consentData());
+        assertEquals(Optional.empty(), patch.expiryTime());
+        assertNull(patch.status());
+    }
+
+    @Test
+    void testParsePresentFields() throws BadRequestException, JsonProcessingException {
+        final ServiceUserConsentPatch patch = parse("{\"consentVersion\":2,\"status\":\"REVOKED\",\"consentType\":\"UpdatedType\","
+            + "\"consentData\":{\"UpdatedKey\":\"UpdatedValue\"},\"expiryTime\":\"2100-01-01T00:00:00Z\"}");
+
+        assertEquals(2, patch.consentVersion());
+        assertEquals(Optional.of(ConsentStatus.REVOKED), patch.status());
+        assertEquals(Optional.of("UpdatedType"), patch.consentType());
+        assertEquals(Optional.of(Map.of("UpdatedKey", "UpdatedValue")), patch.consentData());
+        assertEquals(OffsetDateTime.parse("2100-01-01T00:00:00Z").toInstant(), patch.expiryTime().get().toInstant());
+    }
+
+    @Test
+    void testParseNonObjectContent() {
+        final BadRequestException thrownException = assertThrows(BadRequestException.class, () -> parse("[]"));
+        assertEquals(ServiceUserConsentPatchParser.CONTENT_NOT_OBJECT_MESSAGE, thrownException.getMessage());
+    }
+
+    @Test
+    void testParseNullContent() {
+        final BadRequestException thrownException = assertThrows(BadRequestException.class, () ->
+            ServiceUserConsentPatchParser.parse(objectMapper, TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+                TestConstants.TEST_CONSENT_ID, null));
+        assertEquals(ServiceUserConsentPatchParser.CONTENT_NOT_OBJECT_MESSAGE, thrownException.getMessage());
+    }
+
+    @Test
+    void testParseUnsupportedField() {
+        final BadRequestException thrownException = assertThrows(BadRequestException.class, () ->
+            parse("{\"consentVersion\":2,\"consentId\":\"OtherConsentId\"}"));
+        assertEquals(String.format(ServiceUserConsentPatchParser.UNSUPPORTED_FIELD_MESSAGE, "consentId"), thrownException.getMessage());
+    }
+
+    @Test
+    void testParseInvalidConsentVersion() {
+        final BadRequestException thrownException = assertThrows(BadRequestException.class, () ->
+            parse("{\"consentVersion\":\"two\"}"));
+        assertEquals(String.format(ServiceUserConsentPatchParser.INVALID_FIELD_MESSAGE, "consentVersion"), thrownException.getMessage());
+    }
+
+    @Test
+    void testParseInvalidStatus() {
+        final BadRequestException thrownException = assertThrows(BadRequestException.class, () ->
+            parse("{\"consentVersion\":2,\"status\":\"UNKNOWN\"}"));
+        assertEquals(String.format(ServiceUserConsentPatchParser.INVALID_FIELD_MESSAGE, "status"), thrownException.getMessage());
+    }
+
+    private ServiceUserConsentPatch parse(final String content) throws BadRequestException, JsonProcessingException {
+        return ServiceUserConsentPatchParser.parse(objectMapper, TestConstants.TEST_SERVICE_ID, TestConstants.TEST_USER_ID,
+            TestConstants.TEST_CONSENT_ID, objectMapper.readTree(content));
+    }
+}
@@ -0,0 +1,52 @@
+package com.consentframework.consentmanagement.api.usecases.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class SuccessLogSamplerTest {
+    @Test
+    void testShouldLogEverySuccessByDefault() {
+        final SuccessLogSampler sampler = new SuccessLogSampler(SuccessLogSampler.DEFAULT_SAMPLE_INTERVAL);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(sampler.shouldLog());
+        }
+    }
+
+    @Test
+    void testShouldLogEveryNthSuccess() {
+        final SuccessLogSampler sampler = new SuccessLogSampler(3);
+
+        assertTrue(sampler.shouldLog());
+        assertFalse(sampler.shouldLog());
+        assertFalse(sampler.shouldLog());
+        assertTrue(sampler.shouldLog());
+        assertFalse(sampler.shouldLog());
+    }
+
+    @Test
+    void testConstructWithInvalidSampleInterval() {
+        assertThrows(IllegalArgumentException.class, () -> new SuccessLogSampler(0));
+    }
+
+    @Test
+    void testFromEnvironment() {
+        final SuccessLogSampler sampler = SuccessLogSampler.fromEnvironment();
+
+        assertEquals(SuccessLogSampler.parseSampleInterval(System.getenv(SuccessLogSampler.SAMPLE_INTERVAL_ENVIRONMENT_VARIABLE)),
+            sampler.getSampleInterval());
+    }
+
+    @Test
+    void testParseSampleInterval() {
+        assertEquals(10, SuccessLogSampler.parseSampleInterval(" 10 "));
+        assertEquals(SuccessLogSampler.DEFAULT_SAMPLE_INTERVAL, SuccessLogSampler.parseSampleInterval(null));
+        assertEquals(SuccessLogSampler.DEFAULT_SAMPLE_INTERVAL, SuccessLogSampler.parseSampleInterval("0"));
+        assertEquals(SuccessLogSampler.DEFAULT_SAMPLE_INTERVAL, SuccessLogSampler.parseSampleInterval("-5"));
+        assertEquals(SuccessLogSampler.DEFAULT_SAMPLE_INTERVAL, SuccessLogSampler.parseSampleInterval("often"));
+    }
+}